@@ -0,0 +1,35 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.models;
+
+import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Account;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.Money;
+
+/**
+ * AccountSummary Service Model
+ * <p>
+ * Account as shown to adapters, with its status by name so that they do not
+ * depend on the domain value objects.
+ *
+ * @param id       The UUID of the account
+ * @param clientId The UUID of the owning client
+ * @param balance  The posted balance
+ * @param currency The account currency
+ * @param status   Name of the account status
+ * @param openedAt When the account was opened
+ */
+public record AccountSummary(
+        UUID id,
+        UUID clientId,
+        Money balance,
+        Currency currency,
+        String status,
+        LocalDateTime openedAt) {
+
+    public static AccountSummary of(Account account) {
+        return new AccountSummary(account.getId(), account.getClientId(), account.getBalance(),
+                account.getCurrency(), account.getStatus().name(), account.getOpenedAt());
+    }
+}
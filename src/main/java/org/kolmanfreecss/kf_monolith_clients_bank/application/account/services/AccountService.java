@@ -0,0 +1,89 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.services;
+
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.posting.services.LedgerService;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.velocity.services.VelocityLimitService;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Account;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.ClientRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Service class for the account lifecycle: opening, lookup and status
+ * changes. Balance changes go through {@link LedgerService}, and status
+ * changes run under the same per-account lock as postings.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ * @category Account
+ */
+@Service
+@RequiredArgsConstructor
+public class AccountService {
+
+    private final AccountRepository accountRepository;
+    private final ClientRepository clientRepository;
+    private final LedgerService ledgerService;
+    private final VelocityLimitService velocityLimitService;
+
+    /**
+     * Opens a new account for an existing client. Not transactional on purpose:
+     * the client lookup and the insert run as separate repository transactions,
+     * so with sharding enabled the client check does not pin the insert to the
+     * client's shard. The client's type is cached for the velocity limits
+     * here, rather than on the account's first debit.
+     *
+     * @param clientId The UUID of the owning client
+     * @param currency The account currency
+     * @return The opened account
+     * @throws IllegalArgumentException if the client does not exist or the currency is missing
+     */
+    public Account openAccount(UUID clientId, Currency currency) {
+        if (clientId == null || !clientRepository.existsById(clientId)) {
+            throw new IllegalArgumentException("Client " + clientId + " does not exist");
+        }
+        Account account = accountRepository.save(new Account(clientId, currency));
+        velocityLimitService.track(account);
+        return account;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Account> getAccount(UUID id) {
+        return accountRepository.findById(id).map(ledgerService::withLatestBalance);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Account> getClientAccounts(UUID clientId) {
+        return accountRepository.findByClientIdOrderByOpenedAtAsc(clientId).stream()
+                .map(ledgerService::withLatestBalance)
+                .toList();
+    }
+
+    /**
+     * @throws IllegalStateException if the account is not active
+     */
+    public Optional<Account> freezeAccount(UUID id) {
+        return ledgerService.changeStatus(id, Account::freeze);
+    }
+
+    /**
+     * @throws IllegalStateException if the account is not frozen
+     */
+    public Optional<Account> activateAccount(UUID id) {
+        return ledgerService.changeStatus(id, Account::activate);
+    }
+
+    /**
+     * @throws IllegalStateException if the account is closed or still holds money
+     */
+    public Optional<Account> closeAccount(UUID id) {
+        return ledgerService.changeStatus(id, Account::close);
+    }
+}
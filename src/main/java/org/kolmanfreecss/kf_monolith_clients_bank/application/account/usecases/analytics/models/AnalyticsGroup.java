@@ -0,0 +1,29 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.analytics.models;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Transaction.TransactionType;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.Money;
+
+/**
+ * AnalyticsGroup Service Model
+ * <p>
+ * One group of an analytics query result. Dimensions the query did not group
+ * by are null.
+ *
+ * @param accountId        The UUID of the account
+ * @param type             The transaction type
+ * @param clientType       Name of the current type of the account holder, null also if the holder is unknown
+ * @param periodStart      Start of the hour or day
+ * @param transactionCount Number of transactions
+ * @param amount           Sum of their amounts
+ */
+public record AnalyticsGroup(
+        UUID accountId,
+        TransactionType type,
+        String clientType,
+        LocalDateTime periodStart,
+        long transactionCount,
+        Money amount) {
+}
@@ -0,0 +1,62 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.analytics.models;
+
+import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.Set;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Transaction.TransactionType;
+
+/**
+ * AnalyticsQuery Service Model
+ * <p>
+ * Filter, group-by and ordering of an ad-hoc transaction analytics query,
+ * e.g. the ten accounts with the largest outflow this week: withdrawals,
+ * outgoing transfers and fees, grouped by account, ordered by amount.
+ * Groups are always split by currency, since amounts of different
+ * currencies are not summed.
+ *
+ * @param from        Only transactions posted at or after this instant, null for no lower bound
+ * @param to          Only transactions posted before this instant, null for no upper bound
+ * @param types       Only transactions of these types, empty for all
+ * @param clientTypes Only transactions of accounts whose holder is of these types, by name, empty for all
+ * @param currency    Only transactions in this currency, null for all
+ * @param groupBy     Dimensions to group by besides the currency, empty for one total per currency
+ * @param orderBy     Measure the groups are ordered by, largest first
+ * @param limit       Maximum number of groups returned
+ */
+public record AnalyticsQuery(
+        LocalDateTime from,
+        LocalDateTime to,
+        Set<TransactionType> types,
+        Set<String> clientTypes,
+        Currency currency,
+        Set<Dimension> groupBy,
+        Measure orderBy,
+        int limit) {
+
+    /**
+     * Dimension transactions can be grouped by.
+     */
+    public enum Dimension {
+        /** The account */
+        ACCOUNT,
+        /** The transaction type */
+        TYPE,
+        /** The current type of the account holder */
+        CLIENT_TYPE,
+        /** The hour the transaction was posted in */
+        HOUR,
+        /** The day the transaction was posted on */
+        DAY
+    }
+
+    /**
+     * Measure groups can be ordered by.
+     */
+    public enum Measure {
+        /** Number of transactions */
+        COUNT,
+        /** Sum of their amounts */
+        AMOUNT
+    }
+}
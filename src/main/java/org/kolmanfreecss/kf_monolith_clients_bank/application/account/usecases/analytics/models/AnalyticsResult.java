@@ -0,0 +1,27 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.analytics.models;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * AnalyticsResult Service Model
+ * <p>
+ * Result of an analytics query over the transactions loaded in the
+ * analytics store, which covers the transactions posted from
+ * {@code coveredFrom} until {@code coveredTo}.
+ *
+ * @param groups       The largest groups by the ordering measure
+ * @param totalGroups  Number of groups before the limit
+ * @param scannedRows  Transactions scanned
+ * @param coveredFrom  Posting time of the oldest transaction loaded, null if none is
+ * @param coveredTo    Transactions posted from this instant on are not loaded yet
+ * @param elapsedNanos Time taken by the scan
+ */
+public record AnalyticsResult(
+        List<AnalyticsGroup> groups,
+        int totalGroups,
+        long scannedRows,
+        LocalDateTime coveredFrom,
+        LocalDateTime coveredTo,
+        long elapsedNanos) {
+}
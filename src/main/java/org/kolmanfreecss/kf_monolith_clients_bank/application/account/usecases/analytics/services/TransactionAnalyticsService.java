@@ -0,0 +1,247 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.analytics.services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.analytics.models.AnalyticsQuery;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.analytics.models.AnalyticsResult;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.TransactionRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.ClientRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.events.ClientTypeChangedEvent;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.vo.ClientType;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics.LedgerMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service answering ad-hoc analytics queries over the ledger's transactions,
+ * e.g. the top accounts by outflow, fee totals by client type or hourly
+ * volume, from a {@link TransactionColumnStore} instead of the OLTP tables.
+ * <p>
+ * The store is loaded from the {@code transactions} table in keyset pages
+ * of {@code bank.analytics.page-size} on {@code (timestamp, id)}, then
+ * refreshed incrementally every {@code bank.analytics.refresh-interval-ms}
+ * with the transactions posted since. A transaction is stamped before it
+ * commits, so a refresh only reads up to {@code bank.analytics.settle-ms}
+ * ago, leaving postings still committing to the next refresh. In journal
+ * mode transactions reach the table when projected, so the settle delay must
+ * exceed the projection lag.
+ * <p>
+ * Accounts join the store's account dimension with the type of their
+ * holder, kept current from {@link ClientTypeChangedEvent}s: transactions
+ * are grouped by the holder's current type, not the type it had when they
+ * were posted. Queries scan {@code bank.analytics.parallelism} tasks in
+ * parallel and never wait for a refresh.
+ *
+ * Features:
+ * - Time range, transaction type, client type and currency filters
+ * - Group by account, type, client type, and hour or day, always split by currency
+ * - Refresh and query metrics ({@code bank.ledger.analytics.*})
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Slf4j
+@Service
+public class TransactionAnalyticsService {
+
+    private final TransactionRepository transactionRepository;
+    private final AccountRepository accountRepository;
+    private final ClientRepository clientRepository;
+    private final LedgerMetrics ledgerMetrics;
+    private final TransactionTemplate readTemplate;
+    private final TransactionColumnStore store;
+    private final ExecutorService scanners;
+    private final boolean enabled;
+    private final Duration settle;
+    private final int pageSize;
+    private final int parallelism;
+    private final int maxLimit;
+
+    /**
+     * Held while an account's holder type is read and the account added, so
+     * that a type change committed meanwhile is applied after it
+     */
+    private final Object dimensionLock = new Object();
+
+    // Keyset position of the last transaction loaded, guarded by this
+    private LocalDateTime lastTimestamp;
+    private UUID lastId;
+
+    public TransactionAnalyticsService(
+            TransactionRepository transactionRepository,
+            AccountRepository accountRepository,
+            ClientRepository clientRepository,
+            LedgerMetrics ledgerMetrics,
+            PlatformTransactionManager transactionManager,
+            @Value("${bank.analytics.enabled:true}") boolean enabled,
+            @Value("${bank.analytics.settle-ms:5000}") long settleMillis,
+            @Value("${bank.analytics.page-size:10000}") int pageSize,
+            @Value("${bank.analytics.segment-rows:65536}") int segmentRows,
+            @Value("${bank.analytics.max-rows:10000000}") long maxRows,
+            @Value("${bank.analytics.parallelism:4}") int parallelism,
+            @Value("${bank.analytics.max-limit:1000}") int maxLimit) {
+        if (settleMillis < 0 || pageSize <= 0 || parallelism <= 0 || maxLimit <= 0) {
+            throw new IllegalArgumentException(
+                    "Analytics page size, parallelism and limit must be positive and the settle delay not negative");
+        }
+        this.transactionRepository = transactionRepository;
+        this.accountRepository = accountRepository;
+        this.clientRepository = clientRepository;
+        this.ledgerMetrics = ledgerMetrics;
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setReadOnly(true);
+        this.store = new TransactionColumnStore(segmentRows, maxRows);
+        AtomicInteger sequence = new AtomicInteger();
+        // The calling thread runs one of the scan tasks
+        this.scanners = Executors.newFixedThreadPool(Math.max(1, parallelism - 1), runnable -> {
+            Thread thread = new Thread(runnable, "analytics-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.enabled = enabled;
+        this.settle = Duration.ofMillis(settleMillis);
+        this.pageSize = pageSize;
+        this.parallelism = parallelism;
+        this.maxLimit = maxLimit;
+        ledgerMetrics.monitorAnalytics(store::rows);
+    }
+
+    /**
+     * Loads the transactions posted since the last refresh. Runs shortly
+     * after startup, loading the whole ledger, and then on a fixed delay.
+     */
+    @Scheduled(initialDelayString = "${bank.analytics.initial-delay-ms:10000}", fixedDelayString = "${bank.analytics.refresh-interval-ms:5000}")
+    public void refreshStore() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.error("Analytics store refresh failed, retrying on the next refresh", e);
+        }
+    }
+
+    /**
+     * Loads the transactions posted from the last one loaded until the
+     * settle delay ago.
+     *
+     * @return Number of transactions loaded
+     */
+    public synchronized long refresh() {
+        long start = System.nanoTime();
+        LocalDateTime until = LocalDateTime.now().minus(settle).truncatedTo(ChronoUnit.MICROS);
+        long loaded = 0;
+        while (true) {
+            List<TransactionRepository.FeedRow> page = readTemplate.execute(status -> lastTimestamp == null
+                    ? transactionRepository.findFeedPage(until, Limit.of(pageSize))
+                    : transactionRepository.findFeedPageAfter(lastTimestamp, lastId, until, Limit.of(pageSize)));
+            boolean last = page.size() < pageSize;
+            if (!page.isEmpty()) {
+                addAccounts(page);
+                TransactionRepository.FeedRow lastRow = page.get(page.size() - 1);
+                lastTimestamp = lastRow.timestamp();
+                lastId = lastRow.id();
+            }
+            loaded += store.append(page, last ? until : lastTimestamp);
+            if (last) {
+                break;
+            }
+        }
+        ledgerMetrics.recordAnalyticsRefresh(loaded, System.nanoTime() - start);
+        if (loaded > 0) {
+            log.debug("Loaded {} transactions into the analytics store in {} ms", loaded,
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+        return loaded;
+    }
+
+    /**
+     * Runs an analytics query over the transactions loaded.
+     *
+     * @param query The query
+     * @return The result
+     * @throws IllegalArgumentException if the range is inverted, the limit out of range or the grouping too fine
+     * @throws IllegalStateException    if the analytics store is disabled
+     */
+    public AnalyticsResult query(AnalyticsQuery query) {
+        if (!enabled) {
+            throw new IllegalStateException("The analytics store is disabled");
+        }
+        if (query.from() != null && query.to() != null && !query.from().isBefore(query.to())) {
+            throw new IllegalArgumentException("Analytics range must have from < to");
+        }
+        if (query.limit() <= 0 || query.limit() > maxLimit) {
+            throw new IllegalArgumentException("Analytics limit must be between 1 and " + maxLimit);
+        }
+        AnalyticsQuery normalized = new AnalyticsQuery(query.from(), query.to(),
+                query.types() == null ? Set.of() : query.types(),
+                query.clientTypes() == null ? Set.of() : query.clientTypes(), query.currency(),
+                query.groupBy() == null || query.groupBy().isEmpty() ? EnumSet.noneOf(AnalyticsQuery.Dimension.class)
+                        : EnumSet.copyOf(query.groupBy()),
+                query.orderBy() == null ? AnalyticsQuery.Measure.AMOUNT : query.orderBy(), query.limit());
+        AnalyticsResult result = store.query(normalized, scanners, parallelism);
+        ledgerMetrics.recordAnalyticsQuery(result.scannedRows(), result.elapsedNanos());
+        return result;
+    }
+
+    /**
+     * Keeps the holder type of the client's accounts up to date in the store.
+     *
+     * @param event The type change
+     */
+    @TransactionalEventListener
+    public void onClientTypeChanged(ClientTypeChangedEvent event) {
+        synchronized (dimensionLock) {
+            store.updateClientType(event.clientId(), event.newType());
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        scanners.shutdownNow();
+    }
+
+    /**
+     * Adds the accounts of a page that are not in the account dimension yet,
+     * with the type of their holder.
+     */
+    private void addAccounts(List<TransactionRepository.FeedRow> page) {
+        Set<UUID> unknown = store.unknownAccounts(page.stream().map(TransactionRepository.FeedRow::accountId)
+                .distinct().toList());
+        if (unknown.isEmpty()) {
+            return;
+        }
+        synchronized (dimensionLock) {
+            List<AccountRepository.AccountOwner> owners = readTemplate
+                    .execute(status -> accountRepository.findOwnersByIdIn(unknown));
+            Map<UUID, ClientType> types = new HashMap<>();
+            readTemplate.execute(status -> clientRepository.findTypesByIdIn(
+                    owners.stream().map(AccountRepository.AccountOwner::clientId).distinct().toList()))
+                    .forEach(client -> types.put(client.id(), client.type()));
+            for (AccountRepository.AccountOwner owner : owners) {
+                store.addAccount(owner.id(), owner.clientId(), owner.currency(), types.get(owner.clientId()));
+            }
+        }
+    }
+}
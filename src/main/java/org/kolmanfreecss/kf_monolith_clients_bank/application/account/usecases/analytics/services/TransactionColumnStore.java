@@ -0,0 +1,548 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.analytics.services;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.analytics.models.AnalyticsGroup;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.analytics.models.AnalyticsQuery;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.analytics.models.AnalyticsQuery.Dimension;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.analytics.models.AnalyticsQuery.Measure;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.analytics.models.AnalyticsResult;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Transaction.TransactionType;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.TransactionRepository.FeedRow;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.vo.ClientType;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.Money;
+
+/**
+ * In-memory column store of the ledger's transactions for ad-hoc analytics.
+ * <p>
+ * Each transaction is four primitive columns: the index of its account, its
+ * type ordinal, its amount in minor units and its posting time in epoch
+ * seconds (UTC), about 21 bytes a row. Accounts are a dimension table
+ * indexed the same way, holding the currency and the current type of the
+ * holder, so a transaction is grouped by client type or currency through its
+ * account without storing either per row.
+ * <p>
+ * Rows are appended in posting time order to segments of a fixed number of
+ * rows. A query scans the segments in parallel, each task aggregating the
+ * segments it claims into its own open-addressing table of primitive group
+ * keys, and the tables are merged at the end. Segments record the range of
+ * their posting times, so a time filter skips whole segments. Once the store
+ * holds more than its maximum number of rows, the oldest segments are dropped.
+ * <p>
+ * A single writer appends; queries read a snapshot published after each
+ * append and never block it. Full segments never change, and the rows of the
+ * last one beyond the snapshot are not read.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public final class TransactionColumnStore {
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final ClientType[] CLIENT_TYPES = ClientType.values();
+    private static final int SECONDS_PER_HOUR = 3600;
+    private static final int SECONDS_PER_DAY = 86_400;
+
+    private final int segmentRows;
+    private final long maxRows;
+
+    // Writer state, guarded by this
+    private final Map<UUID, Integer> accountIndexes = new HashMap<>();
+    private final Map<UUID, int[]> accountsByClient = new HashMap<>();
+    private final Map<Currency, Integer> currencyIndexes = new HashMap<>();
+    private final List<Segment> segments = new ArrayList<>();
+    private UUID[] accountIds = new UUID[1024];
+    private byte[] clientTypes = new byte[1024];
+    private short[] accountCurrencies = new short[1024];
+    private Currency[] currencies = new Currency[0];
+    private int accountCount;
+
+    private volatile Snapshot snapshot = new Snapshot(new Segment[0], 0, new UUID[0], new byte[0], new short[0],
+            new Currency[0], 0, null);
+
+    /**
+     * @param segmentRows Rows per segment, the unit of parallel scans and of eviction
+     * @param maxRows     Rows kept before the oldest segments are dropped
+     * @throws IllegalArgumentException if either is not positive
+     */
+    public TransactionColumnStore(int segmentRows, long maxRows) {
+        if (segmentRows <= 0 || maxRows <= 0) {
+            throw new IllegalArgumentException("Segment rows and maximum rows must be positive");
+        }
+        this.segmentRows = segmentRows;
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * @param accountIds Accounts of rows about to be appended
+     * @return Those not in the account dimension yet
+     */
+    public synchronized Set<UUID> unknownAccounts(Collection<UUID> accountIds) {
+        Set<UUID> unknown = new LinkedHashSet<>();
+        for (UUID accountId : accountIds) {
+            if (!accountIndexes.containsKey(accountId)) {
+                unknown.add(accountId);
+            }
+        }
+        return unknown;
+    }
+
+    /**
+     * Adds an account to the account dimension, unless it is already there.
+     *
+     * @param accountId  The UUID of the account
+     * @param clientId   The UUID of the account holder
+     * @param currency   The currency of the account
+     * @param clientType The type of the holder, null if unknown
+     */
+    public synchronized void addAccount(UUID accountId, UUID clientId, Currency currency, ClientType clientType) {
+        if (accountIndexes.containsKey(accountId)) {
+            return;
+        }
+        if (accountCount == accountIds.length) {
+            int capacity = accountIds.length * 2;
+            accountIds = Arrays.copyOf(accountIds, capacity);
+            clientTypes = Arrays.copyOf(clientTypes, capacity);
+            accountCurrencies = Arrays.copyOf(accountCurrencies, capacity);
+        }
+        Integer currencyIndex = currencyIndexes.get(currency);
+        if (currencyIndex == null) {
+            currencyIndex = currencies.length;
+            currencyIndexes.put(currency, currencyIndex);
+            currencies = Arrays.copyOf(currencies, currencyIndex + 1);
+            currencies[currencyIndex] = currency;
+        }
+        int index = accountCount++;
+        accountIds[index] = accountId;
+        clientTypes[index] = clientTypeCode(clientType);
+        accountCurrencies[index] = currencyIndex.shortValue();
+        accountIndexes.put(accountId, index);
+        accountsByClient.merge(clientId, new int[] { index }, (indexes, added) -> {
+            int[] merged = Arrays.copyOf(indexes, indexes.length + 1);
+            merged[indexes.length] = added[0];
+            return merged;
+        });
+    }
+
+    /**
+     * Changes the type of an account holder, for the transactions already
+     * loaded too.
+     *
+     * @param clientId   The UUID of the client
+     * @param clientType Its new type
+     */
+    public synchronized void updateClientType(UUID clientId, ClientType clientType) {
+        int[] indexes = accountsByClient.get(clientId);
+        if (indexes == null) {
+            return;
+        }
+        for (int index : indexes) {
+            clientTypes[index] = clientTypeCode(clientType);
+        }
+        publish(snapshot.loadedUntil());
+    }
+
+    /**
+     * Appends transactions, which must be posted no earlier than those
+     * already loaded, then publishes them to queries.
+     *
+     * @param rows        The transactions, in posting time order; those of accounts not in the dimension are skipped
+     * @param loadedUntil Every transaction posted before this instant is now loaded
+     * @return Number of rows appended
+     */
+    public synchronized int append(List<FeedRow> rows, LocalDateTime loadedUntil) {
+        int appended = 0;
+        for (FeedRow row : rows) {
+            Integer account = accountIndexes.get(row.accountId());
+            if (account == null) {
+                continue;
+            }
+            Segment tail = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+            if (tail == null || tail.rows == segmentRows) {
+                tail = new Segment(segmentRows);
+                segments.add(tail);
+            }
+            tail.add(account, row.type().ordinal(), row.amountMinorUnits(),
+                    row.timestamp().toEpochSecond(ZoneOffset.UTC));
+            appended++;
+        }
+        while (segments.size() > 1 && (long) (segments.size() - 1) * segmentRows
+                + segments.get(segments.size() - 1).rows > maxRows) {
+            segments.remove(0);
+        }
+        publish(loadedUntil);
+        return appended;
+    }
+
+    /**
+     * @return Number of transactions loaded
+     */
+    public long rows() {
+        Snapshot current = snapshot;
+        return current.segments().length == 0 ? 0
+                : (long) (current.segments().length - 1) * segmentRows + current.tailRows();
+    }
+
+    /**
+     * @return Every transaction posted before this instant is loaded, null before the first load
+     */
+    public LocalDateTime loadedUntil() {
+        return snapshot.loadedUntil();
+    }
+
+    /**
+     * Runs a query over the transactions loaded, in parallel tasks.
+     *
+     * @param query       The query
+     * @param executor    Runs all tasks but one, which runs on the calling thread
+     * @param parallelism Number of tasks
+     * @return The result
+     * @throws IllegalArgumentException if the query groups by both hour and day, or by more dimensions than a group
+     *                                  key can hold
+     */
+    public AnalyticsResult query(AnalyticsQuery query, ExecutorService executor, int parallelism) {
+        long start = System.nanoTime();
+        Snapshot current = snapshot;
+        Scan scan = Scan.of(query, current);
+        Segment[] scanned = Arrays.stream(current.segments())
+                .filter(segment -> segment.rows > 0 && segment.maxSecond >= scan.fromSecond
+                        && segment.minSecond < scan.toSecond)
+                .toArray(Segment[]::new);
+        AtomicInteger next = new AtomicInteger();
+        Callable<GroupTable> task = () -> {
+            GroupTable table = new GroupTable();
+            for (int i = next.getAndIncrement(); i < scanned.length; i = next.getAndIncrement()) {
+                Segment segment = scanned[i];
+                int rows = segment == current.tail() ? current.tailRows() : segment.rows;
+                scan.aggregate(segment, rows, current, table);
+            }
+            return table;
+        };
+        int tasks = Math.max(1, Math.min(parallelism, scanned.length));
+        List<Future<GroupTable>> futures = new ArrayList<>(tasks - 1);
+        for (int i = 1; i < tasks; i++) {
+            futures.add(executor.submit(task));
+        }
+        GroupTable merged;
+        try {
+            merged = task.call();
+            for (Future<GroupTable> future : futures) {
+                merged.addAll(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Interrupted while running an analytics query", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Analytics query failed", e.getCause());
+        } catch (Exception e) {
+            throw new IllegalStateException("Analytics query failed", e);
+        }
+        long scannedRows = 0;
+        for (Segment segment : scanned) {
+            scannedRows += segment == current.tail() ? current.tailRows() : segment.rows;
+        }
+        LocalDateTime coveredFrom = current.segments().length == 0 || current.segments()[0].rows == 0 ? null
+                : LocalDateTime.ofEpochSecond(current.segments()[0].minSecond, 0, ZoneOffset.UTC);
+        return new AnalyticsResult(scan.top(merged, query, current), merged.size, scannedRows, coveredFrom,
+                current.loadedUntil(), System.nanoTime() - start);
+    }
+
+    private void publish(LocalDateTime loadedUntil) {
+        Segment[] published = segments.toArray(Segment[]::new);
+        snapshot = new Snapshot(published, published.length == 0 ? 0 : published[published.length - 1].rows,
+                accountIds, clientTypes, accountCurrencies, currencies, accountCount, loadedUntil);
+    }
+
+    private static byte clientTypeCode(ClientType clientType) {
+        return (byte) (clientType == null ? 0 : clientType.ordinal() + 1);
+    }
+
+    /**
+     * Rows of the store as seen by queries.
+     */
+    private record Snapshot(Segment[] segments, int tailRows, UUID[] accountIds, byte[] clientTypes,
+            short[] accountCurrencies, Currency[] currencies, int accountCount, LocalDateTime loadedUntil) {
+
+        Segment tail() {
+            return segments.length == 0 ? null : segments[segments.length - 1];
+        }
+    }
+
+    /**
+     * Fixed-capacity run of rows, one array per column.
+     */
+    private static final class Segment {
+
+        private final int[] accounts;
+        private final byte[] types;
+        private final long[] amounts;
+        private final long[] seconds;
+        private int rows;
+        private long minSecond = Long.MAX_VALUE;
+        private long maxSecond = Long.MIN_VALUE;
+
+        Segment(int capacity) {
+            this.accounts = new int[capacity];
+            this.types = new byte[capacity];
+            this.amounts = new long[capacity];
+            this.seconds = new long[capacity];
+        }
+
+        void add(int account, int type, long amount, long second) {
+            accounts[rows] = account;
+            types[rows] = (byte) type;
+            amounts[rows] = amount;
+            seconds[rows] = second;
+            minSecond = Math.min(minSecond, second);
+            maxSecond = Math.max(maxSecond, second);
+            rows++;
+        }
+    }
+
+    /**
+     * A query compiled against a snapshot: filters as bit masks and ranges,
+     * and the group key as bit fields of one {@code long}, in the order
+     * account, type, client type, currency, period. Dimensions not grouped by
+     * take no bits.
+     */
+    private record Scan(long fromSecond, long toSecond, int typeMask, int clientTypeMask, int currency,
+            int accountMask, int typeShift, int typeKeyMask, int clientTypeShift, int clientTypeKeyMask,
+            int currencyShift, int periodShift, long periodOrigin, long periodSeconds) {
+
+        static Scan of(AnalyticsQuery query, Snapshot snapshot) {
+            long fromSecond = query.from() == null ? Long.MIN_VALUE : query.from().toEpochSecond(ZoneOffset.UTC);
+            long toSecond = query.to() == null ? Long.MAX_VALUE : query.to().toEpochSecond(ZoneOffset.UTC);
+            int typeMask = 0;
+            for (TransactionType type : query.types().isEmpty() ? List.of(TYPES) : query.types()) {
+                typeMask |= 1 << type.ordinal();
+            }
+            int clientTypeMask = query.clientTypes().isEmpty() ? -1 : 0;
+            for (String type : query.clientTypes()) {
+                clientTypeMask |= 1 << clientTypeCode(ClientType.valueOf(type));
+            }
+            int currency = -2;
+            if (query.currency() == null) {
+                currency = -1;
+            } else {
+                for (int i = 0; i < snapshot.currencies().length; i++) {
+                    if (snapshot.currencies()[i].equals(query.currency())) {
+                        currency = i;
+                    }
+                }
+            }
+
+            Set<Dimension> groupBy = query.groupBy();
+            if (groupBy.contains(Dimension.HOUR) && groupBy.contains(Dimension.DAY)) {
+                throw new IllegalArgumentException("Analytics queries group by hour or by day, not both");
+            }
+            long periodSeconds = groupBy.contains(Dimension.HOUR) ? SECONDS_PER_HOUR
+                    : groupBy.contains(Dimension.DAY) ? SECONDS_PER_DAY : Long.MAX_VALUE;
+            long minSecond = Long.MAX_VALUE;
+            long maxSecond = Long.MIN_VALUE;
+            for (Segment segment : snapshot.segments()) {
+                if (segment.rows > 0) {
+                    minSecond = Math.min(minSecond, segment.minSecond);
+                    maxSecond = Math.max(maxSecond, segment.maxSecond);
+                }
+            }
+            long periodOrigin = Math.max(fromSecond, minSecond);
+            int periodBits = 0;
+            if (periodSeconds != Long.MAX_VALUE && minSecond <= maxSecond) {
+                periodOrigin = Math.floorDiv(periodOrigin, periodSeconds) * periodSeconds;
+                long last = Math.min(maxSecond, toSecond - 1);
+                periodBits = last < periodOrigin ? 0 : bits((last - periodOrigin) / periodSeconds + 1);
+            }
+
+            int accountBits = groupBy.contains(Dimension.ACCOUNT) ? bits(snapshot.accountCount()) : 0;
+            int typeBits = groupBy.contains(Dimension.TYPE) ? bits(TYPES.length) : 0;
+            int clientTypeBits = groupBy.contains(Dimension.CLIENT_TYPE) ? bits(CLIENT_TYPES.length + 1) : 0;
+            int currencyBits = bits(snapshot.currencies().length);
+            int typeShift = accountBits;
+            int clientTypeShift = typeShift + typeBits;
+            int currencyShift = clientTypeShift + clientTypeBits;
+            int periodShift = currencyShift + currencyBits;
+            if (periodShift + periodBits > Long.SIZE - 1) {
+                throw new IllegalArgumentException(
+                        "Analytics query has too many groups; narrow the period or group by fewer dimensions");
+            }
+            return new Scan(fromSecond, toSecond, typeMask, clientTypeMask, currency,
+                    groupBy.contains(Dimension.ACCOUNT) ? -1 : 0, typeShift, typeBits == 0 ? 0 : -1,
+                    clientTypeShift, clientTypeBits == 0 ? 0 : -1, currencyShift, periodShift, periodOrigin,
+                    periodSeconds);
+        }
+
+        /**
+         * Aggregates the rows of a segment that pass the filters. The loop
+         * reads each column sequentially and allocates nothing.
+         */
+        void aggregate(Segment segment, int rows, Snapshot snapshot, GroupTable table) {
+            int[] accounts = segment.accounts;
+            byte[] types = segment.types;
+            long[] amounts = segment.amounts;
+            long[] seconds = segment.seconds;
+            byte[] clientTypes = snapshot.clientTypes();
+            short[] accountCurrencies = snapshot.accountCurrencies();
+            for (int row = 0; row < rows; row++) {
+                long second = seconds[row];
+                int type = types[row];
+                if (second < fromSecond || second >= toSecond || (typeMask >>> type & 1) == 0) {
+                    continue;
+                }
+                int account = accounts[row];
+                int clientType = clientTypes[account];
+                int accountCurrency = accountCurrencies[account];
+                if ((clientTypeMask >>> clientType & 1) == 0 || currency >= 0 && accountCurrency != currency
+                        || currency == -2) {
+                    continue;
+                }
+                long key = (account & accountMask)
+                        | (long) (type & typeKeyMask) << typeShift
+                        | (long) (clientType & clientTypeKeyMask) << clientTypeShift
+                        | (long) accountCurrency << currencyShift
+                        | (second - periodOrigin) / periodSeconds << periodShift;
+                table.add(key, 1, amounts[row]);
+            }
+        }
+
+        /**
+         * Orders the groups by a measure, largest first, and decodes the
+         * first ones.
+         */
+        List<AnalyticsGroup> top(GroupTable table, AnalyticsQuery query, Snapshot snapshot) {
+            long[] measure = query.orderBy() == Measure.COUNT ? table.counts : table.sums;
+            // Ties are broken by key, so that results are stable
+            Comparator<Integer> order = Comparator.<Integer>comparingLong(slot -> measure[slot])
+                    .thenComparing(Comparator.<Integer>comparingLong(slot -> table.keys[slot]).reversed());
+            PriorityQueue<Integer> largest = new PriorityQueue<>(order);
+            for (int slot = 0; slot < table.keys.length; slot++) {
+                if (table.keys[slot] == GroupTable.EMPTY) {
+                    continue;
+                }
+                largest.add(slot);
+                if (largest.size() > query.limit()) {
+                    largest.poll();
+                }
+            }
+            List<AnalyticsGroup> groups = new ArrayList<>(largest.size());
+            while (!largest.isEmpty()) {
+                groups.add(decode(largest.poll(), table, query.groupBy(), snapshot));
+            }
+            return groups.reversed();
+        }
+
+        private AnalyticsGroup decode(int slot, GroupTable table, Set<Dimension> groupBy, Snapshot snapshot) {
+            long key = table.keys[slot];
+            int account = (int) (key & (typeShift == 0 ? 0 : (1L << typeShift) - 1));
+            int type = (int) (key >>> typeShift & (1L << (clientTypeShift - typeShift)) - 1);
+            int clientType = (int) (key >>> clientTypeShift & (1L << (currencyShift - clientTypeShift)) - 1);
+            int currencyIndex = (int) (key >>> currencyShift & (1L << (periodShift - currencyShift)) - 1);
+            long period = key >>> periodShift;
+            boolean byPeriod = groupBy.contains(Dimension.HOUR) || groupBy.contains(Dimension.DAY);
+            return new AnalyticsGroup(
+                    groupBy.contains(Dimension.ACCOUNT) ? snapshot.accountIds()[account] : null,
+                    groupBy.contains(Dimension.TYPE) ? TYPES[type] : null,
+                    groupBy.contains(Dimension.CLIENT_TYPE) && clientType > 0 ? CLIENT_TYPES[clientType - 1].name() : null,
+                    byPeriod ? LocalDateTime.ofEpochSecond(periodOrigin + period * periodSeconds, 0, ZoneOffset.UTC)
+                            : null,
+                    table.counts[slot],
+                    new Money(table.sums[slot], snapshot.currencies()[currencyIndex]));
+        }
+
+        /**
+         * @return Bits needed to number {@code values} values
+         */
+        private static int bits(long values) {
+            return values <= 1 ? 0 : Long.SIZE - Long.numberOfLeadingZeros(values - 1);
+        }
+    }
+
+    /**
+     * Open-addressing hash table from non-negative group keys to a count and
+     * a sum, in parallel primitive arrays.
+     */
+    private static final class GroupTable {
+
+        static final long EMPTY = -1;
+
+        private long[] keys = emptyKeys(64);
+        private long[] counts = new long[64];
+        private long[] sums = new long[64];
+        private int size;
+
+        void add(long key, long count, long amount) {
+            int mask = keys.length - 1;
+            int slot = hash(key) & mask;
+            while (true) {
+                long current = keys[slot];
+                if (current == key) {
+                    counts[slot] += count;
+                    sums[slot] = Math.addExact(sums[slot], amount);
+                    return;
+                }
+                if (current == EMPTY) {
+                    keys[slot] = key;
+                    counts[slot] = count;
+                    sums[slot] = amount;
+                    if (++size * 2 > keys.length) {
+                        grow();
+                    }
+                    return;
+                }
+                slot = slot + 1 & mask;
+            }
+        }
+
+        void addAll(GroupTable other) {
+            for (int slot = 0; slot < other.keys.length; slot++) {
+                if (other.keys[slot] != EMPTY) {
+                    add(other.keys[slot], other.counts[slot], other.sums[slot]);
+                }
+            }
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            long[] oldCounts = counts;
+            long[] oldSums = sums;
+            keys = emptyKeys(oldKeys.length * 2);
+            counts = new long[oldKeys.length * 2];
+            sums = new long[oldKeys.length * 2];
+            size = 0;
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                if (oldKeys[slot] != EMPTY) {
+                    add(oldKeys[slot], oldCounts[slot], oldSums[slot]);
+                }
+            }
+        }
+
+        private static long[] emptyKeys(int capacity) {
+            long[] keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+
+        private static int hash(long key) {
+            long mixed = key * 0x9E3779B97F4A7C15L;
+            return (int) (mixed ^ mixed >>> 32);
+        }
+    }
+}
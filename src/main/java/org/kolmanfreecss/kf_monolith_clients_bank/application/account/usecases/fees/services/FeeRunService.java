@@ -0,0 +1,343 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.fees.services;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.posting.services.LedgerService;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Account;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.FeeCharge;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.FeeChargeRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.FeeRun;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.FeeRunRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Transaction;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.vo.AccountStatus;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.ClientRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.vo.ClientType;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.Money;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics.LedgerMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service charging the monthly maintenance fee of {@link ClientType} to
+ * every account.
+ * <p>
+ * A run charges one billing month, once it has ended. The accounts opened
+ * before the end of the month and not closed are read in keyset chunks of
+ * {@code bank.fees.chunk-size}, with the types of their clients resolved in
+ * one query per chunk. Each chunk is split by posting lock stripe into
+ * {@code bank.fees.parallelism} batches, which the workers post in parallel
+ * without ever waiting on each other's locks, each batch in one transaction
+ * with batched inserts.
+ * <p>
+ * A {@link FeeCharge} is saved with every {@code FEE} posting, so an account
+ * is never charged twice for a month. Chunks are checkpointed in
+ * {@link FeeRun} in id order, once every earlier chunk is charged too, and an
+ * interrupted run resumes after the checkpoint on the next schedule. Accounts
+ * without the funds to pay are counted and skipped; the fee is not carried
+ * over.
+ * <p>
+ * The scheduled run only charges the previous month. Fee runs need the
+ * database ledger, so they are disabled in journal mode.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Slf4j
+@Service
+public class FeeRunService {
+
+    private static final UUID FIRST_ID = new UUID(0, 0);
+
+    private final AccountRepository accountRepository;
+    private final ClientRepository clientRepository;
+    private final FeeChargeRepository chargeRepository;
+    private final FeeRunRepository runRepository;
+    private final LedgerService ledgerService;
+    private final LedgerMetrics ledgerMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int chunkSize;
+    private final int parallelism;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong handled = new AtomicLong();
+    private volatile long total;
+    private volatile boolean stopping;
+
+    public FeeRunService(
+            AccountRepository accountRepository,
+            ClientRepository clientRepository,
+            FeeChargeRepository chargeRepository,
+            FeeRunRepository runRepository,
+            LedgerService ledgerService,
+            LedgerMetrics ledgerMetrics,
+            PlatformTransactionManager transactionManager,
+            @Value("${bank.fees.enabled:false}") boolean enabled,
+            @Value("${bank.ledger.journal.enabled:false}") boolean journalMode,
+            @Value("${bank.fees.chunk-size:1000}") int chunkSize,
+            @Value("${bank.fees.parallelism:4}") int parallelism) {
+        if (chunkSize <= 0 || parallelism <= 0) {
+            throw new IllegalArgumentException("Fee run chunk size and parallelism must be positive");
+        }
+        this.accountRepository = accountRepository;
+        this.clientRepository = clientRepository;
+        this.chargeRepository = chargeRepository;
+        this.runRepository = runRepository;
+        this.ledgerService = ledgerService;
+        this.ledgerMetrics = ledgerMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        if (enabled && journalMode) {
+            log.warn("Monthly fee runs need the database ledger and are disabled in journal mode");
+        }
+        this.enabled = enabled && !journalMode;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        ledgerMetrics.monitorFeeRun(this::progress);
+    }
+
+    /**
+     * Charges the fees of the previous month, resuming its run if it was
+     * interrupted. Runs shortly after startup and then on a fixed delay;
+     * once the month's run is complete, later schedules do nothing.
+     */
+    @Scheduled(initialDelayString = "${bank.fees.initial-delay-ms:60000}", fixedDelayString = "${bank.fees.interval-ms:3600000}")
+    public void chargeMonthlyFees() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            run(YearMonth.now().minusMonths(1));
+        } catch (RuntimeException e) {
+            log.error("Monthly fee run failed, resuming on the next run", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Charges the fees of one billing month, resuming its run if it was
+     * interrupted.
+     *
+     * @param period The billing month; it must have ended
+     * @return Whether the run completed now, false if it was already complete or is stopping
+     * @throws IllegalArgumentException if the month has not ended yet
+     * @throws IllegalStateException    if a chunk could not be charged; the run can be resumed
+     */
+    public boolean run(YearMonth period) {
+        LocalDateTime end = period.plusMonths(1).atDay(1).atStartOfDay();
+        if (!end.isBefore(LocalDateTime.now())) {
+            throw new IllegalArgumentException("Cannot charge fees for " + period + " before it has ended");
+        }
+        LocalDate month = period.atDay(1);
+        Optional<FeeRun> existing = transactionTemplate.execute(status -> runRepository.findById(month));
+        if (existing.isPresent() && existing.get().isComplete()) {
+            return false;
+        }
+        FeeRun run = existing.orElseGet(
+                () -> transactionTemplate.execute(status -> runRepository.save(new FeeRun(period))));
+        total = transactionTemplate
+                .execute(status -> accountRepository.countByOpenedAtBeforeAndStatusNot(end, AccountStatus.CLOSED));
+        handled.set(run.getAccounts());
+        long start = System.nanoTime();
+        AtomicInteger sequence = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "fee-run-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Deque<Chunk> pending = new ArrayDeque<>();
+            UUID after = run.getLastAccountId() == null ? FIRST_ID : run.getLastAccountId();
+            while (!stopping) {
+                UUID from = after;
+                List<AccountRepository.AccountRef> accounts = transactionTemplate.execute(status -> accountRepository
+                        .findRefsAfter(from, end, AccountStatus.CLOSED, Limit.of(chunkSize)));
+                if (accounts.isEmpty()) {
+                    break;
+                }
+                after = accounts.get(accounts.size() - 1).id();
+                Map<UUID, ClientType> types = clientTypes(accounts);
+                pending.add(new Chunk(after, submit(workers, period, accounts, types)));
+                // Bounded read-ahead; checkpoints advance in id order
+                if (pending.size() >= 2) {
+                    checkpoint(month, pending.poll());
+                }
+            }
+            while (!pending.isEmpty()) {
+                checkpoint(month, pending.poll());
+            }
+        } finally {
+            workers.shutdownNow();
+            total = 0;
+        }
+        if (stopping) {
+            return false;
+        }
+        FeeRun completed = transactionTemplate.execute(status -> {
+            FeeRun current = runRepository.findById(month).orElseThrow();
+            current.complete();
+            return current;
+        });
+        long elapsed = System.nanoTime() - start;
+        ledgerMetrics.recordFeeRun(elapsed);
+        log.info("Maintenance fees for {} charged in {} ms: {} charged, {} with insufficient funds, {} exempt, "
+                + "{} already charged", period, elapsed / 1_000_000, completed.getCharged(),
+                completed.getInsufficientFunds(), completed.getExempt(), completed.getAlreadyCharged());
+        return true;
+    }
+
+    /**
+     * Lets in-flight chunks finish and leaves the run to be resumed.
+     */
+    @PreDestroy
+    void stop() {
+        stopping = true;
+    }
+
+    private double progress() {
+        long accounts = total;
+        return accounts == 0 ? 1.0 : Math.min(1.0, (double) handled.get() / accounts);
+    }
+
+    private Map<UUID, ClientType> clientTypes(List<AccountRepository.AccountRef> accounts) {
+        Set<UUID> clientIds = new HashSet<>();
+        accounts.forEach(account -> clientIds.add(account.clientId()));
+        Map<UUID, ClientType> typeByClient = new HashMap<>();
+        transactionTemplate.execute(status -> clientRepository.findTypesByIdIn(clientIds))
+                .forEach(client -> typeByClient.put(client.id(), client.type()));
+        Map<UUID, ClientType> types = new HashMap<>();
+        for (AccountRepository.AccountRef account : accounts) {
+            ClientType type = typeByClient.get(account.clientId());
+            if (type != null) {
+                types.put(account.id(), type);
+            }
+        }
+        return types;
+    }
+
+    /**
+     * Splits a chunk by lock stripe, so that its batches hold disjoint locks,
+     * and submits one batch per worker.
+     */
+    private List<Future<Tally>> submit(ExecutorService workers, YearMonth period,
+            List<AccountRepository.AccountRef> accounts, Map<UUID, ClientType> types) {
+        List<List<UUID>> batches = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            batches.add(new ArrayList<>());
+        }
+        for (AccountRepository.AccountRef account : accounts) {
+            batches.get(ledgerService.lockStripe(account.id()) % parallelism).add(account.id());
+        }
+        List<Future<Tally>> futures = new ArrayList<>(parallelism);
+        for (List<UUID> batch : batches) {
+            if (!batch.isEmpty()) {
+                futures.add(workers.submit(() -> charge(period, batch, types)));
+            }
+        }
+        return futures;
+    }
+
+    private Tally charge(YearMonth period, List<UUID> accountIds, Map<UUID, ClientType> types) {
+        long start = System.nanoTime();
+        String description = "Monthly maintenance fee " + period;
+        int[] outcomes = new int[4];
+        ledgerService.postBulk(accountIds, accounts -> {
+            Set<UUID> alreadyCharged = new HashSet<>(chargeRepository.findChargedAccountIds(period.atDay(1),
+                    accountIds));
+            List<Transaction> transactions = new ArrayList<>(accountIds.size());
+            List<FeeCharge> charges = new ArrayList<>(accountIds.size());
+            for (UUID accountId : accountIds) {
+                Account account = accounts.get(accountId);
+                ClientType type = types.get(accountId);
+                if (alreadyCharged.contains(accountId)) {
+                    outcomes[3]++;
+                } else if (account == null || type == null || type.getMonthlyMaintenanceFee() == 0
+                        || !account.getStatus().canBeCharged()) {
+                    // No fee due, or the account was closed after the chunk was read
+                    outcomes[2]++;
+                } else {
+                    try {
+                        Transaction fee = account.chargeFee(
+                                Money.of(BigDecimal.valueOf(type.getMonthlyMaintenanceFee()), account.getCurrency()),
+                                description);
+                        transactions.add(fee);
+                        charges.add(new FeeCharge(period, fee));
+                        outcomes[0]++;
+                    } catch (IllegalStateException e) {
+                        outcomes[1]++;
+                    }
+                }
+            }
+            chargeRepository.saveAll(charges);
+            return transactions;
+        });
+        return new Tally(outcomes[0], outcomes[1], outcomes[2], outcomes[3], System.nanoTime() - start);
+    }
+
+    private void checkpoint(LocalDate month, Chunk chunk) {
+        Tally tally = new Tally(0, 0, 0, 0, 0);
+        for (Future<Tally> batch : chunk.batches()) {
+            try {
+                tally = tally.plus(batch.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while charging fees for " + YearMonth.from(month), e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Could not charge fees for " + YearMonth.from(month), e.getCause());
+            }
+        }
+        Tally chunkTally = tally;
+        transactionTemplate.executeWithoutResult(status -> runRepository.findById(month).orElseThrow()
+                .advance(chunk.lastAccountId(), chunkTally.charged(), chunkTally.insufficientFunds(),
+                        chunkTally.exempt(), chunkTally.alreadyCharged()));
+        handled.addAndGet(chunkTally.accounts());
+        ledgerMetrics.recordFeeChunk(chunkTally.charged(), chunkTally.insufficientFunds(), chunkTally.exempt(),
+                chunkTally.alreadyCharged(), chunkTally.elapsedNanos());
+    }
+
+    private record Chunk(UUID lastAccountId, List<Future<Tally>> batches) {
+    }
+
+    /**
+     * Outcomes of a batch or chunk; the elapsed time of a chunk is that of its slowest batch.
+     */
+    private record Tally(int charged, int insufficientFunds, int exempt, int alreadyCharged, long elapsedNanos) {
+
+        int accounts() {
+            return charged + insufficientFunds + exempt + alreadyCharged;
+        }
+
+        Tally plus(Tally other) {
+            return new Tally(charged + other.charged, insufficientFunds + other.insufficientFunds,
+                    exempt + other.exempt, alreadyCharged + other.alreadyCharged,
+                    Math.max(elapsedNanos, other.elapsedNanos));
+        }
+    }
+}
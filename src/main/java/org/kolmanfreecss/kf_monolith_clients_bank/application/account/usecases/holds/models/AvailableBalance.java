@@ -0,0 +1,23 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.holds.models;
+
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.Money;
+
+/**
+ * AvailableBalance Service Model
+ * <p>
+ * Balance of an account, and the part of it free for debits: the balance
+ * minus the funds reserved by its active holds.
+ *
+ * @param accountId The UUID of the account
+ * @param balance   The posted balance
+ * @param held      Funds reserved by active holds
+ * @param available Funds available for withdrawals, transfers and new holds
+ */
+public record AvailableBalance(
+        UUID accountId,
+        Money balance,
+        Money held,
+        Money available) {
+}
@@ -0,0 +1,155 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.holds.services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Hold;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.HoldRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.util.TimingWheel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory book of the active holds: the amount held on each account, and
+ * the expiry of each hold on a {@link TimingWheel}.
+ * <p>
+ * The ledger reads the held amount of an account on every debit, so it is
+ * kept as a running total per account rather than summed from the holds.
+ * Adding and removing a hold are {@code O(1)}: they update the total and
+ * schedule or cancel the expiry. The book is only changed after the hold
+ * commits, and under the posting lock of its account, so the total read by a
+ * posting holding that lock is always the committed one.
+ * <p>
+ * The active holds are loaded before the application starts serving
+ * requests, so that no debit runs against a book missing holds.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Slf4j
+@Component
+public class HeldFunds {
+
+    private final HoldRepository holdRepository;
+    private final TimingWheel<UUID> expiries;
+    private final Map<UUID, Entry> holds = new ConcurrentHashMap<>();
+    private final Map<UUID, Long> heldByAccount = new ConcurrentHashMap<>();
+
+    public HeldFunds(
+            HoldRepository holdRepository,
+            @Value("${bank.holds.tick-ms:1000}") long tickMillis,
+            @Value("${bank.holds.wheel-slots:4096}") int wheelSlots) {
+        this.holdRepository = holdRepository;
+        this.expiries = new TimingWheel<>(Duration.ofMillis(tickMillis), wheelSlots, System.currentTimeMillis());
+    }
+
+    @PostConstruct
+    void load() {
+        List<HoldRepository.ActiveHold> active = holdRepository.findActive();
+        active.forEach(hold -> add(hold.id(), hold.accountId(), hold.amountMinorUnits(), hold.expiresAt()));
+        log.info("Loaded {} active holds", active.size());
+    }
+
+    /**
+     * @param accountId The account
+     * @return Amount reserved by its active holds, in minor units
+     */
+    public long held(UUID accountId) {
+        Long held = heldByAccount.get(accountId);
+        return held == null ? 0 : held;
+    }
+
+    /**
+     * @param holdId The hold
+     * @return Its account, empty if the hold is not active
+     */
+    public Optional<UUID> accountOf(UUID holdId) {
+        Entry entry = holds.get(holdId);
+        return entry == null ? Optional.empty() : Optional.of(entry.accountId);
+    }
+
+    /**
+     * Adds a committed active hold.
+     *
+     * @param hold The hold
+     */
+    public void add(Hold hold) {
+        add(hold.getId(), hold.getAccountId(), hold.getAmountMinorUnits(), hold.getExpiresAt());
+    }
+
+    /**
+     * Removes a hold resolved by a committed capture, release or expiry.
+     *
+     * @param holdId The hold
+     */
+    public void remove(UUID holdId) {
+        Entry entry = holds.remove(holdId);
+        if (entry == null) {
+            return;
+        }
+        expiries.cancel(entry.expiry);
+        heldByAccount.computeIfPresent(entry.accountId,
+                (accountId, held) -> held == entry.amountMinorUnits ? null : held - entry.amountMinorUnits);
+    }
+
+    /**
+     * Takes the holds whose expiry passed off the wheel. They stay held until
+     * removed once their expiry commits, or are scheduled again with
+     * {@link #retry} if it fails.
+     *
+     * @param nowMillis Current time in milliseconds
+     * @return The holds to expire
+     */
+    public List<UUID> due(long nowMillis) {
+        return expiries.advance(nowMillis);
+    }
+
+    /**
+     * Schedules the expiry of an active hold again.
+     *
+     * @param holdId   The hold
+     * @param atMillis When to retry, in milliseconds
+     */
+    public void retry(UUID holdId, long atMillis) {
+        holds.computeIfPresent(holdId, (id, entry) -> {
+            expiries.cancel(entry.expiry);
+            return new Entry(entry.accountId, entry.amountMinorUnits, expiries.schedule(id, atMillis));
+        });
+    }
+
+    /**
+     * @return Number of active holds
+     */
+    public int size() {
+        return holds.size();
+    }
+
+    /**
+     * @return Number of accounts with active holds
+     */
+    public int accounts() {
+        return heldByAccount.size();
+    }
+
+    private void add(UUID holdId, UUID accountId, long amountMinorUnits, LocalDateTime expiresAt) {
+        long deadline = expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        Entry entry = new Entry(accountId, amountMinorUnits, expiries.schedule(holdId, deadline));
+        if (holds.putIfAbsent(holdId, entry) != null) {
+            expiries.cancel(entry.expiry);
+            return;
+        }
+        heldByAccount.merge(accountId, amountMinorUnits, Long::sum);
+    }
+
+    private record Entry(UUID accountId, long amountMinorUnits, TimingWheel.Timeout<UUID> expiry) {
+    }
+}
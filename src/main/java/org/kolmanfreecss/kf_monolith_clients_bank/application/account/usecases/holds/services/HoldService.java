@@ -0,0 +1,280 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.holds.services;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.holds.models.AvailableBalance;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.posting.services.LedgerService;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.velocity.services.VelocityLimitService;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Account;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Hold;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.HoldRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Transaction;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.Money;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics.LedgerMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service managing holds: reservations of account funds for pending
+ * authorizations, e.g. card payments, that post no transaction until
+ * captured.
+ * <p>
+ * Every change to a hold runs under the posting lock of its account, in its
+ * own transaction, and updates the in-memory {@link HeldFunds} once
+ * committed. The ledger checks debits against the available balance (the
+ * balance minus the held funds) from that book, without a query. Capturing
+ * or releasing a hold finds its account in the book and the hold by primary
+ * key, so it costs the same however many holds there are.
+ * <p>
+ * Placing a hold counts as a debit for the velocity limits; capturing it
+ * later does not count again. Holds expire on a {@link HeldFunds} timing
+ * wheel ticked every {@code bank.holds.tick-ms}, at most a tick late.
+ * <p>
+ * Like bulk jobs, holds need the database ledger and are refused in journal
+ * mode. As the book is per instance, holds also assume a single writing
+ * instance, like journal mode does.
+ *
+ * Features:
+ * - Place, capture (fully or partly), release and look up holds
+ * - Available balances from the in-memory book
+ * - Expiry on a timing wheel, surviving restarts
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Slf4j
+@Service
+public class HoldService {
+
+    private final LedgerService ledgerService;
+    private final AccountRepository accountRepository;
+    private final HoldRepository holdRepository;
+    private final HeldFunds heldFunds;
+    private final VelocityLimitService velocityLimits;
+    private final LedgerMetrics ledgerMetrics;
+    private final Duration defaultTtl;
+    private final Duration maxTtl;
+    private final long tickMillis;
+    private final int expiryBatchSize;
+
+    public HoldService(
+            LedgerService ledgerService,
+            AccountRepository accountRepository,
+            HoldRepository holdRepository,
+            HeldFunds heldFunds,
+            VelocityLimitService velocityLimits,
+            LedgerMetrics ledgerMetrics,
+            @Value("${bank.holds.default-ttl-ms:604800000}") long defaultTtlMillis,
+            @Value("${bank.holds.max-ttl-ms:2592000000}") long maxTtlMillis,
+            @Value("${bank.holds.tick-ms:1000}") long tickMillis,
+            @Value("${bank.holds.expiry-batch-size:500}") int expiryBatchSize) {
+        this.ledgerService = ledgerService;
+        this.accountRepository = accountRepository;
+        this.holdRepository = holdRepository;
+        this.heldFunds = heldFunds;
+        this.velocityLimits = velocityLimits;
+        this.ledgerMetrics = ledgerMetrics;
+        this.defaultTtl = Duration.ofMillis(defaultTtlMillis);
+        this.maxTtl = Duration.ofMillis(maxTtlMillis);
+        this.tickMillis = tickMillis;
+        this.expiryBatchSize = expiryBatchSize;
+        ledgerMetrics.monitorHolds(heldFunds::size, heldFunds::accounts);
+    }
+
+    /**
+     * Reserves funds of an account.
+     *
+     * @param accountId   The UUID of the account
+     * @param amount      The amount to reserve
+     * @param description A description of the authorization
+     * @param ttl         How long the hold lasts if not captured or released, null for the default
+     * @return The active hold, empty if the account does not exist
+     * @throws IllegalArgumentException if the amount or lifetime is invalid
+     * @throws IllegalStateException    if the account does not allow withdrawals, lacks available funds or exceeds a
+     *                                  velocity limit, or in journal mode
+     */
+    public Optional<Hold> placeHold(UUID accountId, BigDecimal amount, String description, Duration ttl) {
+        Duration lifetime = ttl == null ? defaultTtl : ttl;
+        if (lifetime.isNegative() || lifetime.isZero() || lifetime.compareTo(maxTtl) > 0) {
+            throw new IllegalArgumentException("Hold lifetime must be positive and at most " + maxTtl);
+        }
+        return ledgerService.withPostingLocks(List.of(accountId), () -> accountRepository.findById(accountId)
+                .map(ledgerService::withLatestBalance)
+                .map(account -> {
+                    Hold hold = account.placeHold(amount, heldFunds.held(accountId), description,
+                            LocalDateTime.now().plus(lifetime));
+                    velocityLimits.admit(account, hold.getAmount());
+                    holdRepository.save(hold);
+                    afterCommit(() -> {
+                        heldFunds.add(hold);
+                        ledgerMetrics.recordHolds("placed", 1);
+                    });
+                    return hold;
+                }));
+    }
+
+    /**
+     * Withdraws the funds reserved by an active hold.
+     *
+     * @param holdId The UUID of the hold
+     * @param amount The amount to withdraw, at most the reserved amount; null for all of it
+     * @return The captured hold, with its withdrawal; empty if the hold does not exist
+     * @throws IllegalArgumentException if the amount is invalid or exceeds the hold
+     * @throws IllegalStateException    if the hold is not active, the account does not allow withdrawals or lacks
+     *                                  funds, or in journal mode
+     */
+    public Optional<Hold> captureHold(UUID holdId, BigDecimal amount) {
+        Optional<UUID> accountId = heldFunds.accountOf(holdId);
+        if (accountId.isEmpty()) {
+            return inactive(holdId);
+        }
+        AtomicReference<Hold> captured = new AtomicReference<>();
+        ledgerService.postBulk(List.of(accountId.get()), accounts -> {
+            Account account = accounts.get(accountId.get());
+            Hold hold = holdRepository.findById(holdId).orElse(null);
+            if (account == null || hold == null) {
+                return List.of();
+            }
+            Transaction withdrawal = account.captureHold(hold,
+                    amount == null ? hold.getAmount().toBigDecimal() : amount);
+            holdRepository.save(hold);
+            afterCommit(() -> {
+                heldFunds.remove(holdId);
+                ledgerMetrics.recordHolds("captured", 1);
+            });
+            captured.set(hold);
+            return List.of(withdrawal);
+        });
+        return Optional.ofNullable(captured.get());
+    }
+
+    /**
+     * Cancels an active hold, freeing its funds.
+     *
+     * @param holdId The UUID of the hold
+     * @return The released hold, empty if it does not exist
+     * @throws IllegalStateException if the hold is not active, or in journal mode
+     */
+    public Optional<Hold> releaseHold(UUID holdId) {
+        Optional<UUID> accountId = heldFunds.accountOf(holdId);
+        if (accountId.isEmpty()) {
+            return inactive(holdId);
+        }
+        return ledgerService.withPostingLocks(List.of(accountId.get()), () -> holdRepository.findById(holdId)
+                .map(hold -> {
+                    hold.release();
+                    holdRepository.save(hold);
+                    afterCommit(() -> {
+                        heldFunds.remove(holdId);
+                        ledgerMetrics.recordHolds("released", 1);
+                    });
+                    return hold;
+                }));
+    }
+
+    /**
+     * @param holdId The UUID of the hold
+     * @return The hold, empty if it does not exist
+     */
+    public Optional<Hold> getHold(UUID holdId) {
+        return holdRepository.findById(holdId);
+    }
+
+    /**
+     * @param accountId The UUID of the account
+     * @return Its active holds, latest first
+     */
+    public List<Hold> getActiveHolds(UUID accountId) {
+        return holdRepository.findByAccountIdAndStatusOrderByCreatedAtDesc(accountId, Hold.Status.ACTIVE);
+    }
+
+    /**
+     * @param accountId The UUID of the account
+     * @return Its balance, held and available funds, empty if the account does not exist
+     */
+    public Optional<AvailableBalance> getAvailableBalance(UUID accountId) {
+        return accountRepository.findById(accountId).map(ledgerService::withLatestBalance).map(account -> {
+            Money held = new Money(heldFunds.held(accountId), account.getCurrency());
+            return new AvailableBalance(accountId, account.getBalance(), held, account.getBalance().minus(held));
+        });
+    }
+
+    /**
+     * Expires the holds whose expiry passed since the previous tick, in
+     * batches locking their accounts. A failed batch is retried on the next
+     * tick.
+     */
+    @Scheduled(initialDelayString = "${bank.holds.tick-ms:1000}", fixedDelayString = "${bank.holds.tick-ms:1000}")
+    public void expireHolds() {
+        long now = System.currentTimeMillis();
+        List<UUID> due = heldFunds.due(now);
+        for (int from = 0; from < due.size(); from += expiryBatchSize) {
+            List<UUID> batch = due.subList(from, Math.min(due.size(), from + expiryBatchSize));
+            try {
+                expire(batch);
+            } catch (RuntimeException e) {
+                log.warn("Failed to expire {} holds, retrying on the next tick", batch.size(), e);
+                batch.forEach(holdId -> heldFunds.retry(holdId, now + tickMillis));
+            }
+        }
+    }
+
+    private void expire(List<UUID> holdIds) {
+        Set<UUID> accountIds = new HashSet<>();
+        holdIds.forEach(holdId -> heldFunds.accountOf(holdId).ifPresent(accountIds::add));
+        ledgerService.withPostingLocks(accountIds, () -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<UUID> resolved = new ArrayList<>(holdIds);
+            for (Hold hold : holdRepository.findAllById(holdIds)) {
+                if (hold.getStatus().isActive() && hold.getExpiresAt().isAfter(now)) {
+                    // Taken off the wheel early, e.g. after the wall clock was set back
+                    resolved.remove(hold.getId());
+                    heldFunds.retry(hold.getId(), hold.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant()
+                            .toEpochMilli());
+                } else if (hold.getStatus().isActive()) {
+                    hold.expire();
+                }
+            }
+            afterCommit(() -> {
+                resolved.forEach(heldFunds::remove);
+                ledgerMetrics.recordHolds("expired", resolved.size());
+            });
+            return null;
+        });
+    }
+
+    /**
+     * Answers for a hold missing from the book: empty if it does not exist,
+     * otherwise it cannot change.
+     */
+    private Optional<Hold> inactive(UUID holdId) {
+        return holdRepository.findById(holdId).map(hold -> {
+            throw new IllegalStateException("Hold " + holdId + " is " + hold.getStatus());
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
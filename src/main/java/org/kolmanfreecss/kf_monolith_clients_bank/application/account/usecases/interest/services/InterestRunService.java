@@ -0,0 +1,417 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.interest.services;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.posting.services.LedgerService;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Account;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.BalanceSnapshotRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.BalanceSnapshotRunRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.InterestAccrual;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.InterestPosting;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.InterestPostingRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.InterestRun;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.InterestRunRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Transaction;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.vo.AccountStatus;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.ClientRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.vo.ClientType;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.Money;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics.LedgerMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service crediting the interest accrued by every account over a month.
+ * <p>
+ * Interest accrues daily on the closing balances of the daily balance
+ * snapshots, at the annual rate of the client's {@link ClientType}
+ * ({@code bank.interest.annual-rates-bps}), and is credited once the month
+ * ended and all its snapshots are written. See {@link InterestAccrual} for the
+ * arithmetic. The client type at the time of the run applies to the whole
+ * month.
+ * <p>
+ * Accounts are read in keyset chunks of {@code bank.interest.chunk-size}. The
+ * snapshots of a chunk are loaded with one range scan into one
+ * {@code long[]} column per day and accrued in a vectorizable loop. Only
+ * accounts owed at least one minor unit are then posted, split by lock stripe
+ * into batches for the {@code bank.interest.parallelism} workers, like the
+ * {@code FeeRunService} does.
+ * <p>
+ * An {@link InterestPosting} is saved with every {@code INTEREST} posting, so
+ * a month is never credited twice, and chunks are checkpointed in
+ * {@link InterestRun} in id order for interrupted runs to resume. Interest
+ * runs need the database ledger, so they are disabled in journal mode.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Slf4j
+@Service
+public class InterestRunService {
+
+    private static final UUID FIRST_ID = new UUID(0, 0);
+
+    private final AccountRepository accountRepository;
+    private final ClientRepository clientRepository;
+    private final BalanceSnapshotRepository snapshotRepository;
+    private final BalanceSnapshotRunRepository snapshotRunRepository;
+    private final InterestPostingRepository postingRepository;
+    private final InterestRunRepository runRepository;
+    private final LedgerService ledgerService;
+    private final LedgerMetrics ledgerMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<ClientType, Long> ratesBps = new EnumMap<>(ClientType.class);
+    private final boolean enabled;
+    private final int chunkSize;
+    private final int parallelism;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong handled = new AtomicLong();
+    private volatile long total;
+    private volatile boolean stopping;
+
+    public InterestRunService(
+            AccountRepository accountRepository,
+            ClientRepository clientRepository,
+            BalanceSnapshotRepository snapshotRepository,
+            BalanceSnapshotRunRepository snapshotRunRepository,
+            InterestPostingRepository postingRepository,
+            InterestRunRepository runRepository,
+            LedgerService ledgerService,
+            LedgerMetrics ledgerMetrics,
+            PlatformTransactionManager transactionManager,
+            @Value("#{${bank.interest.annual-rates-bps:{:}}}") Map<String, Integer> ratesBps,
+            @Value("${bank.interest.enabled:false}") boolean enabled,
+            @Value("${bank.ledger.journal.enabled:false}") boolean journalMode,
+            @Value("${bank.interest.chunk-size:1000}") int chunkSize,
+            @Value("${bank.interest.parallelism:4}") int parallelism) {
+        if (chunkSize <= 0 || parallelism <= 0) {
+            throw new IllegalArgumentException("Interest run chunk size and parallelism must be positive");
+        }
+        for (ClientType type : ClientType.values()) {
+            this.ratesBps.put(type, 0L);
+        }
+        ratesBps.forEach((type, rate) -> {
+            InterestAccrual.requireRate(rate);
+            this.ratesBps.put(ClientType.valueOf(type), rate.longValue());
+        });
+        this.accountRepository = accountRepository;
+        this.clientRepository = clientRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.snapshotRunRepository = snapshotRunRepository;
+        this.postingRepository = postingRepository;
+        this.runRepository = runRepository;
+        this.ledgerService = ledgerService;
+        this.ledgerMetrics = ledgerMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        if (enabled && journalMode) {
+            log.warn("Monthly interest runs need the database ledger and are disabled in journal mode");
+        }
+        this.enabled = enabled && !journalMode;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        ledgerMetrics.monitorInterestRun(this::progress);
+    }
+
+    /**
+     * Credits the interest of the previous month once all its balance
+     * snapshots are written, resuming its run if it was interrupted. Runs
+     * shortly after startup and then on a fixed delay; once the month's run
+     * is complete, later schedules do nothing.
+     */
+    @Scheduled(initialDelayString = "${bank.interest.initial-delay-ms:120000}", fixedDelayString = "${bank.interest.interval-ms:3600000}")
+    public void creditMonthlyInterest() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            YearMonth period = YearMonth.now().minusMonths(1);
+            if (snapshotsComplete(period)) {
+                run(period);
+            } else {
+                log.debug("Balance snapshots for {} are not complete yet, interest run postponed", period);
+            }
+        } catch (RuntimeException e) {
+            log.error("Monthly interest run failed, resuming on the next run", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Credits the interest of one month, resuming its run if it was
+     * interrupted.
+     *
+     * @param period The month; it must have ended
+     * @return Whether the run completed now, false if it was already complete or is stopping
+     * @throws IllegalArgumentException if the month has not ended yet
+     * @throws IllegalStateException    if the month's balance snapshots are not complete, or a chunk could not
+     *                                  be credited; the run can be resumed
+     */
+    public boolean run(YearMonth period) {
+        LocalDateTime end = period.plusMonths(1).atDay(1).atStartOfDay();
+        if (!end.isBefore(LocalDateTime.now())) {
+            throw new IllegalArgumentException("Cannot credit interest for " + period + " before it has ended");
+        }
+        LocalDate month = period.atDay(1);
+        Optional<InterestRun> existing = transactionTemplate.execute(status -> runRepository.findById(month));
+        if (existing.isPresent() && existing.get().isComplete()) {
+            return false;
+        }
+        if (!snapshotsComplete(period)) {
+            throw new IllegalStateException("Balance snapshots for " + period + " are not complete");
+        }
+        InterestRun run = existing.orElseGet(
+                () -> transactionTemplate.execute(status -> runRepository.save(new InterestRun(period))));
+        total = transactionTemplate
+                .execute(status -> accountRepository.countByOpenedAtBeforeAndStatusNot(end, AccountStatus.CLOSED));
+        handled.set(run.getAccounts());
+        long start = System.nanoTime();
+        AtomicInteger sequence = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "interest-run-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Deque<Chunk> pending = new ArrayDeque<>();
+            UUID after = run.getLastAccountId() == null ? FIRST_ID : run.getLastAccountId();
+            while (!stopping) {
+                UUID from = after;
+                List<AccountRepository.AccountRef> accounts = transactionTemplate.execute(status -> accountRepository
+                        .findRefsAfter(from, end, AccountStatus.CLOSED, Limit.of(chunkSize)));
+                if (accounts.isEmpty()) {
+                    break;
+                }
+                after = accounts.get(accounts.size() - 1).id();
+                long[] interest = accrue(period, from, after, accounts);
+                pending.add(submit(workers, period, after, accounts, interest));
+                // Bounded read-ahead; checkpoints advance in id order
+                if (pending.size() >= 2) {
+                    checkpoint(month, pending.poll());
+                }
+            }
+            while (!pending.isEmpty()) {
+                checkpoint(month, pending.poll());
+            }
+        } finally {
+            workers.shutdownNow();
+            total = 0;
+        }
+        if (stopping) {
+            return false;
+        }
+        InterestRun completed = transactionTemplate.execute(status -> {
+            InterestRun current = runRepository.findById(month).orElseThrow();
+            current.complete();
+            return current;
+        });
+        long elapsed = System.nanoTime() - start;
+        ledgerMetrics.recordInterestRun(elapsed);
+        log.info("Interest for {} credited in {} ms: {} accounts credited {} minor units, {} with nothing due, "
+                + "{} already credited", period, elapsed / 1_000_000, completed.getCredited(),
+                completed.getInterestMinorUnits(), completed.getNothingDue(), completed.getAlreadyCredited());
+        return true;
+    }
+
+    /**
+     * Lets in-flight chunks finish and leaves the run to be resumed.
+     */
+    @PreDestroy
+    void stop() {
+        stopping = true;
+    }
+
+    private boolean snapshotsComplete(YearMonth period) {
+        long days = transactionTemplate.execute(status -> snapshotRunRepository
+                .countByCompletedAtIsNotNullAndSnapshotDateBetween(period.atDay(1), period.atEndOfMonth()));
+        return days == period.lengthOfMonth();
+    }
+
+    private double progress() {
+        long accounts = total;
+        return accounts == 0 ? 1.0 : Math.min(1.0, (double) handled.get() / accounts);
+    }
+
+    /**
+     * Loads the daily closing balances of a chunk into columns and accrues
+     * the month's interest of every account.
+     *
+     * @return The interest of each account of the chunk, in whole minor units
+     */
+    private long[] accrue(YearMonth period, UUID afterId, UUID lastId, List<AccountRepository.AccountRef> accounts) {
+        int size = accounts.size();
+        Map<UUID, Integer> index = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            index.put(accounts.get(i).id(), i);
+        }
+        // Missing snapshots, e.g. before the account was opened, leave a zero balance
+        long[][] balances = new long[period.lengthOfMonth()][size];
+        transactionTemplate.execute(status -> snapshotRepository.findChunkBalances(afterId, lastId,
+                period.atDay(1), period.atEndOfMonth())).forEach(snapshot -> {
+                    Integer i = index.get(snapshot.accountId());
+                    // Snapshots of accounts closed since are in the range too
+                    if (i != null) {
+                        InterestAccrual.requireBalance(snapshot.balanceMinorUnits());
+                        balances[snapshot.snapshotDate().getDayOfMonth() - 1][i] = snapshot.balanceMinorUnits();
+                    }
+                });
+        Map<UUID, ClientType> types = clientTypes(accounts);
+        long[] rates = new long[size];
+        for (int i = 0; i < size; i++) {
+            ClientType type = types.get(accounts.get(i).clientId());
+            rates[i] = type == null ? 0 : ratesBps.get(type);
+        }
+        long start = System.nanoTime();
+        long[] accrued = new long[size];
+        for (long[] day : balances) {
+            InterestAccrual.accrueDay(day, rates, accrued, 0, size);
+        }
+        for (int i = 0; i < size; i++) {
+            accrued[i] = InterestAccrual.toMinorUnits(accrued[i]);
+        }
+        ledgerMetrics.recordInterestAccrual(System.nanoTime() - start);
+        return accrued;
+    }
+
+    private Map<UUID, ClientType> clientTypes(List<AccountRepository.AccountRef> accounts) {
+        Set<UUID> clientIds = new HashSet<>();
+        accounts.forEach(account -> clientIds.add(account.clientId()));
+        Map<UUID, ClientType> types = new HashMap<>();
+        transactionTemplate.execute(status -> clientRepository.findTypesByIdIn(clientIds))
+                .forEach(client -> types.put(client.id(), client.type()));
+        return types;
+    }
+
+    /**
+     * Splits the accounts owed interest by lock stripe, so that the batches
+     * hold disjoint locks, and submits one batch per worker.
+     */
+    private Chunk submit(ExecutorService workers, YearMonth period, UUID lastAccountId,
+            List<AccountRepository.AccountRef> accounts, long[] interest) {
+        List<Map<UUID, Long>> batches = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            batches.add(new HashMap<>());
+        }
+        int nothingDue = 0;
+        for (int i = 0; i < accounts.size(); i++) {
+            UUID accountId = accounts.get(i).id();
+            if (interest[i] == 0) {
+                nothingDue++;
+            } else {
+                batches.get(ledgerService.lockStripe(accountId) % parallelism).put(accountId, interest[i]);
+            }
+        }
+        List<Future<Tally>> futures = new ArrayList<>(parallelism);
+        for (Map<UUID, Long> batch : batches) {
+            if (!batch.isEmpty()) {
+                futures.add(workers.submit(() -> credit(period, batch)));
+            }
+        }
+        return new Chunk(lastAccountId, new Tally(0, nothingDue, 0, 0, 0), futures);
+    }
+
+    private Tally credit(YearMonth period, Map<UUID, Long> interest) {
+        long start = System.nanoTime();
+        String description = "Interest " + period;
+        int[] outcomes = new int[3];
+        long[] credited = new long[1];
+        ledgerService.postBulk(interest.keySet(), accounts -> {
+            Set<UUID> alreadyCredited = new HashSet<>(
+                    postingRepository.findPostedAccountIds(period.atDay(1), interest.keySet()));
+            List<Transaction> transactions = new ArrayList<>(interest.size());
+            List<InterestPosting> postings = new ArrayList<>(interest.size());
+            interest.forEach((accountId, amount) -> {
+                Account account = accounts.get(accountId);
+                if (alreadyCredited.contains(accountId)) {
+                    outcomes[2]++;
+                } else if (account == null || !account.getStatus().canDeposit()) {
+                    // Closed after the chunk was read
+                    outcomes[1]++;
+                } else {
+                    Transaction posted = account.payInterest(new Money(amount, account.getCurrency()), description);
+                    transactions.add(posted);
+                    postings.add(new InterestPosting(period, posted));
+                    outcomes[0]++;
+                    credited[0] += amount;
+                }
+            });
+            postingRepository.saveAll(postings);
+            return transactions;
+        });
+        return new Tally(outcomes[0], outcomes[1], outcomes[2], credited[0], System.nanoTime() - start);
+    }
+
+    private void checkpoint(LocalDate month, Chunk chunk) {
+        Tally tally = chunk.accrued();
+        for (Future<Tally> batch : chunk.batches()) {
+            try {
+                tally = tally.plus(batch.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while crediting interest for " + YearMonth.from(month),
+                        e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Could not credit interest for " + YearMonth.from(month),
+                        e.getCause());
+            }
+        }
+        Tally chunkTally = tally;
+        transactionTemplate.executeWithoutResult(status -> runRepository.findById(month).orElseThrow()
+                .advance(chunk.lastAccountId(), chunkTally.credited(), chunkTally.nothingDue(),
+                        chunkTally.alreadyCredited(), chunkTally.interestMinorUnits()));
+        handled.addAndGet(chunkTally.accounts());
+        ledgerMetrics.recordInterestChunk(chunkTally.credited(), chunkTally.nothingDue(),
+                chunkTally.alreadyCredited(), chunkTally.interestMinorUnits(), chunkTally.elapsedNanos());
+    }
+
+    /**
+     * A chunk being credited: the accounts found to owe nothing, and the batches posting the others.
+     */
+    private record Chunk(UUID lastAccountId, Tally accrued, List<Future<Tally>> batches) {
+    }
+
+    /**
+     * Outcomes of a batch or chunk; the elapsed time of a chunk is that of its slowest batch.
+     */
+    private record Tally(int credited, int nothingDue, int alreadyCredited, long interestMinorUnits,
+            long elapsedNanos) {
+
+        int accounts() {
+            return credited + nothingDue + alreadyCredited;
+        }
+
+        Tally plus(Tally other) {
+            return new Tally(credited + other.credited, nothingDue + other.nothingDue,
+                    alreadyCredited + other.alreadyCredited, interestMinorUnits + other.interestMinorUnits,
+                    Math.max(elapsedNanos, other.elapsedNanos));
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.posting.models;
+
+import java.time.LocalDateTime;
+
+/**
+ * JournaledBalance Service Model
+ * <p>
+ * Balance of an account according to its latest journal record.
+ *
+ * @param balanceMinorUnits Balance after the latest record, in minor units of the account currency
+ * @param lastPostedAt      Timestamp of the latest record
+ */
+public record JournaledBalance(long balanceMinorUnits, LocalDateTime lastPostedAt) {
+}
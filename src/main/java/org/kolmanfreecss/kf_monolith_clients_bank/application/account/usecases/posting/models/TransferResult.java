@@ -0,0 +1,14 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.posting.models;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Transaction;
+
+/**
+ * TransferResult Service Model
+ * <p>
+ * Both legs of a transfer, committed atomically.
+ *
+ * @param debit  The {@code TRANSFER_OUT} transaction on the source account
+ * @param credit The {@code TRANSFER_IN} transaction on the target account
+ */
+public record TransferResult(Transaction debit, Transaction credit) {
+}
@@ -0,0 +1,41 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.posting.ports;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.posting.models.JournaledBalance;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Transaction;
+
+/**
+ * Port interface for the append-only transaction journal.
+ * When a journal is configured, postings are made durable by appending them
+ * to the journal instead of inserting them through JPA; the journal is
+ * projected into the {@code transactions} table in the background.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public interface TransactionJournalPort {
+
+    /**
+     * Appends transactions as one atomic group: after a crash either all of
+     * them are recovered or none is. The caller must serialize appends per
+     * account.
+     *
+     * @param transactions The transactions to append, in posting order
+     * @return Future completed with the sequence of the last record once the group is durable
+     * @throws IllegalStateException if the journal has failed or is closed
+     */
+    CompletableFuture<Long> append(List<Transaction> transactions);
+
+    /**
+     * Latest journaled balance of an account, including appends that are not
+     * projected yet.
+     *
+     * @param accountId The UUID of the account
+     * @return The balance, empty if the retained journal has no record for the account
+     */
+    Optional<JournaledBalance> balanceOf(UUID accountId);
+}
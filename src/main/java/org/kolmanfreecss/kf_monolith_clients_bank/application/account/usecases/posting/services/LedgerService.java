@@ -0,0 +1,536 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.posting.services;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.holds.services.HeldFunds;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.posting.models.TransferResult;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.posting.ports.TransactionJournalPort;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.rollups.ports.AccountRollupPort;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.velocity.services.VelocityLimitService;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Account;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRollupDeltas;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Transaction;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.TransactionRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.Money;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics.LedgerMetrics;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.util.StripedLocks;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Service posting money movements to accounts.
+ * <p>
+ * Postings on the same account are serialized by a striped lock keyed on the
+ * account id, while postings on unrelated accounts run in parallel. Each
+ * posting runs in its own transaction that commits before the lock is
+ * released, so the next posting on the account always starts from the
+ * committed balance. A transfer takes the locks of both accounts through
+ * {@link StripedLocks#withLocks}, which acquires them in ascending stripe
+ * order: two opposite transfers between the same accounts can never deadlock.
+ * <p>
+ * The locks only coordinate postings inside this instance. The
+ * {@code @Version} of {@link Account} still rejects a concurrent posting from
+ * another instance with an {@link OptimisticLockingFailureException}.
+ * <p>
+ * When a {@link TransactionJournalPort} is configured (journal mode), the
+ * database transaction only reads the account and is rolled back: postings
+ * are made durable by the journal, the account balance is taken from the
+ * journal, and the {@code transactions} and {@code accounts} tables are
+ * updated later by the journal projection. Journal mode assumes a single
+ * writing instance.
+ * <p>
+ * Recorded postings also update the daily and monthly account rollups
+ * through the {@link AccountRollupPort}, in the same transaction and under
+ * the same locks. In journal mode the journal projection updates them.
+ * <p>
+ * Withdrawals and outgoing transfers accepted by the domain must also leave
+ * the funds reserved by active holds ({@link HeldFunds}) in the account, and
+ * are then admitted by the {@link VelocityLimitService} before being
+ * recorded, under the same locks and without querying the database; a debit
+ * failing either check is rejected like one the domain refuses.
+ * <p>
+ * With the posting pipeline enabled ({@code bank.ledger.pipeline.enabled}),
+ * postings are queued instead of each opening its own transaction: a drainer
+ * posts them in micro-batches, one transaction (or one journal append) per
+ * batch, holding the locks of every account in the batch. Callers of the
+ * blocking methods wait for their batch to commit; the {@code submit*}
+ * methods return a future per posting instead.
+ *
+ * Features:
+ * - Per-account concurrency through lock striping ({@code bank.ledger.lock-stripes})
+ * - Deadlock-free, atomic transfers
+ * - Optional group commit of postings ({@code bank.ledger.pipeline.*})
+ * - Optional journal mode ({@code bank.ledger.journal.enabled})
+ * - Per-account velocity limits on debits ({@code bank.velocity.*})
+ * - Posting, latency and lock contention metrics
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Service
+public class LedgerService {
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final LedgerMetrics ledgerMetrics;
+    private final TransactionJournalPort journal;
+    private final AccountRollupPort rollups;
+    private final VelocityLimitService velocityLimits;
+    private final HeldFunds heldFunds;
+    private final TransactionTemplate transactionTemplate;
+    private final StripedLocks locks;
+    private final PostingPipeline pipeline;
+
+    public LedgerService(
+            AccountRepository accountRepository,
+            TransactionRepository transactionRepository,
+            LedgerMetrics ledgerMetrics,
+            ObjectProvider<TransactionJournalPort> journal,
+            AccountRollupPort rollups,
+            VelocityLimitService velocityLimits,
+            HeldFunds heldFunds,
+            PlatformTransactionManager transactionManager,
+            @Value("${bank.ledger.lock-stripes:1024}") int lockStripes,
+            @Value("${bank.ledger.pipeline.enabled:false}") boolean pipelineEnabled,
+            @Value("${bank.ledger.pipeline.queue-capacity:10000}") int pipelineCapacity,
+            @Value("${bank.ledger.pipeline.max-batch-size:100}") int pipelineBatchSize,
+            @Value("${bank.ledger.pipeline.max-wait-micros:0}") long pipelineMaxWaitMicros,
+            @Value("${bank.ledger.pipeline.offer-timeout-ms:100}") long pipelineOfferTimeoutMillis,
+            @Value("${bank.ledger.pipeline.drainers:1}") int pipelineDrainers) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.ledgerMetrics = ledgerMetrics;
+        this.journal = journal.getIfAvailable();
+        this.rollups = rollups;
+        this.velocityLimits = velocityLimits;
+        this.heldFunds = heldFunds;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Always commit before releasing the lock, even when called inside another transaction
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.locks = new StripedLocks(lockStripes);
+        ledgerMetrics.monitorLocks(locks);
+        this.pipeline = pipelineEnabled
+                ? new PostingPipeline(pipelineCapacity, pipelineBatchSize, pipelineMaxWaitMicros,
+                        pipelineOfferTimeoutMillis, pipelineDrainers, this::postBatch, ledgerMetrics)
+                : null;
+    }
+
+    /**
+     * Deposits money into an account.
+     *
+     * @param accountId   The UUID of the account
+     * @param amount      The amount to deposit
+     * @param description A description of the deposit
+     * @return The recorded transaction, empty if the account does not exist
+     * @throws IllegalArgumentException   if the amount is invalid
+     * @throws IllegalStateException      if the account does not accept deposits
+     * @throws RejectedExecutionException if the posting pipeline is full
+     */
+    public Optional<Transaction> deposit(UUID accountId, BigDecimal amount, String description) {
+        return await(submitDeposit(accountId, amount, description));
+    }
+
+    /**
+     * Withdraws money from an account.
+     *
+     * @param accountId   The UUID of the account
+     * @param amount      The amount to withdraw
+     * @param description A description of the withdrawal
+     * @return The recorded transaction, empty if the account does not exist
+     * @throws IllegalArgumentException   if the amount is invalid
+     * @throws IllegalStateException      if the account does not allow withdrawals, lacks available funds or exceeds
+     *                                    a velocity limit
+     * @throws RejectedExecutionException if the posting pipeline is full
+     */
+    public Optional<Transaction> withdraw(UUID accountId, BigDecimal amount, String description) {
+        return await(submitWithdrawal(accountId, amount, description));
+    }
+
+    /**
+     * Moves money between two accounts of the same currency. Both legs are
+     * committed in one transaction.
+     *
+     * @param fromAccountId The UUID of the debited account
+     * @param toAccountId   The UUID of the credited account
+     * @param amount        The amount to transfer
+     * @param description   A description of the transfer
+     * @return Both legs of the transfer, empty if either account does not exist
+     * @throws IllegalArgumentException   if the accounts are the same, their currencies differ or the amount is invalid
+     * @throws IllegalStateException      if the source lacks available funds or exceeds a velocity limit, or either
+     *                                    account's status forbids the transfer
+     * @throws RejectedExecutionException if the posting pipeline is full
+     */
+    public Optional<TransferResult> transfer(UUID fromAccountId, UUID toAccountId, BigDecimal amount, String description) {
+        return await(submitTransfer(fromAccountId, toAccountId, amount, description));
+    }
+
+    /**
+     * Deposits money into an account without waiting for the commit. With
+     * the posting pipeline disabled the deposit is posted before returning.
+     *
+     * @param accountId   The UUID of the account
+     * @param amount      The amount to deposit
+     * @param description A description of the deposit
+     * @return Future of the recorded transaction, empty if the account does not exist; fails with
+     *         {@link IllegalArgumentException} or {@link IllegalStateException} like {@link #deposit}
+     * @throws RejectedExecutionException if the posting pipeline is full
+     */
+    public CompletableFuture<Optional<Transaction>> submitDeposit(UUID accountId, BigDecimal amount, String description) {
+        return submit("deposit", List.of(accountId), accounts -> accounts.get(accountId).deposit(amount, description),
+                List::of);
+    }
+
+    /**
+     * Withdraws money from an account without waiting for the commit. With
+     * the posting pipeline disabled the withdrawal is posted before returning.
+     *
+     * @param accountId   The UUID of the account
+     * @param amount      The amount to withdraw
+     * @param description A description of the withdrawal
+     * @return Future of the recorded transaction, empty if the account does not exist; fails with
+     *         {@link IllegalArgumentException} or {@link IllegalStateException} like {@link #withdraw}
+     * @throws RejectedExecutionException if the posting pipeline is full
+     */
+    public CompletableFuture<Optional<Transaction>> submitWithdrawal(UUID accountId, BigDecimal amount,
+            String description) {
+        return submit("withdrawal", List.of(accountId),
+                accounts -> admitDebit(accounts.get(accountId), accounts.get(accountId).withdraw(amount, description)),
+                List::of);
+    }
+
+    /**
+     * Transfers money without waiting for the commit. With the posting
+     * pipeline disabled the transfer is posted before returning.
+     *
+     * @param fromAccountId The UUID of the debited account
+     * @param toAccountId   The UUID of the credited account
+     * @param amount        The amount to transfer
+     * @param description   A description of the transfer
+     * @return Future of both legs, empty if either account does not exist; fails with
+     *         {@link IllegalArgumentException} or {@link IllegalStateException} like {@link #transfer}
+     * @throws IllegalArgumentException   if the accounts are the same
+     * @throws RejectedExecutionException if the posting pipeline is full
+     */
+    public CompletableFuture<Optional<TransferResult>> submitTransfer(UUID fromAccountId, UUID toAccountId,
+            BigDecimal amount, String description) {
+        if (fromAccountId.equals(toAccountId)) {
+            throw new IllegalArgumentException("Cannot transfer to the same account");
+        }
+        return submit("transfer", List.of(fromAccountId, toAccountId),
+                accounts -> transfer(accounts.get(fromAccountId), accounts.get(toAccountId), amount, description),
+                result -> List.of(result.debit(), result.credit()));
+    }
+
+    /**
+     * Applies a status change to an account under its posting lock, so that
+     * the change sees the latest balance and cannot interleave with a posting.
+     *
+     * @param accountId The UUID of the account
+     * @param change    The domain method to apply
+     * @return The changed account, empty if it does not exist
+     * @throws IllegalStateException if the account's state does not allow the change
+     */
+    public Optional<Account> changeStatus(UUID accountId, Consumer<Account> change) {
+        return locks.withLock(accountId, () -> transactionTemplate.execute(status -> load(accountId).map(account -> {
+            change.accept(account);
+            return account;
+        })));
+    }
+
+    /**
+     * Brings a loaded account up to its latest balance. In journal mode the
+     * {@code accounts} table lags behind the journal until the next
+     * projection; otherwise the account is returned unchanged.
+     *
+     * @param account An account loaded from the repository
+     * @return The same account, with the latest journaled balance if any
+     */
+    public Account withLatestBalance(Account account) {
+        if (journal != null) {
+            journal.balanceOf(account.getId()).ifPresent(balance -> account.restoreLedgerState(
+                    new Money(balance.balanceMinorUnits(), account.getCurrency()), balance.lastPostedAt()));
+        }
+        return account;
+    }
+
+    /**
+     * Posts to many accounts at once for a bulk job such as the fee run: one
+     * transaction holding the locks of every account, bypassing the pipeline.
+     * The operation may save other rows too, e.g. an idempotency record, which
+     * then commit or roll back together with the postings. Bulk postings are
+     * measured by the job that makes them rather than by
+     * {@code bank.ledger.postings}.
+     *
+     * @param accountIds The accounts to post to
+     * @param operation  Applies the postings to the loaded accounts (missing ones are left out) and returns the transactions to record
+     * @return The recorded transactions
+     * @throws IllegalStateException in journal mode, where the other rows could not commit with the postings
+     */
+    public List<Transaction> postBulk(Collection<UUID> accountIds,
+            Function<Map<UUID, Account>, List<Transaction>> operation) {
+        if (journal != null) {
+            throw new IllegalStateException("Bulk postings need the database ledger, journal mode is enabled");
+        }
+        return locks.withLocks(accountIds, () -> transactionTemplate.execute(status -> {
+            List<Transaction> transactions = operation.apply(loadAll(accountIds));
+            record(status, transactions);
+            return transactions;
+        }));
+    }
+
+    /**
+     * Runs an operation in its own transaction while holding the posting
+     * locks of some accounts, so that no posting on them can interleave, e.g.
+     * to rebuild data derived from their transactions.
+     *
+     * @param accountIds The accounts to lock
+     * @param operation  The operation
+     * @param <T>        The type of its result
+     * @return Its result
+     * @throws IllegalStateException in journal mode, where postings reach the database without these locks
+     */
+    public <T> T withPostingLocks(Collection<UUID> accountIds, Supplier<T> operation) {
+        if (journal != null) {
+            throw new IllegalStateException("Journal mode is enabled, postings are projected without posting locks");
+        }
+        return locks.withLocks(accountIds, () -> transactionTemplate.execute(status -> operation.get()));
+    }
+
+    /**
+     * Returns the posting lock stripe of an account. Bulk jobs posting in
+     * parallel split their accounts by stripe, so that their batches never
+     * wait on each other's locks.
+     *
+     * @param accountId The UUID of the account
+     * @return The stripe, between 0 and {@link #lockStripes()} exclusive
+     */
+    public int lockStripe(UUID accountId) {
+        return locks.stripeFor(accountId);
+    }
+
+    /**
+     * @return The number of posting lock stripes
+     */
+    public int lockStripes() {
+        return locks.stripes();
+    }
+
+    /**
+     * Admits a debit accepted by the domain against the holds and velocity
+     * limits of its account. Debits made through {@link #postBulk} that must
+     * honour them like a withdrawal, e.g. a transfer saga's, call it before
+     * recording the debit.
+     *
+     * @param account The debited account
+     * @param debit   The debit, already applied to the account
+     * @return The same debit
+     * @throws IllegalStateException if the debit would use held funds or exceeds a velocity limit
+     */
+    public Transaction admitDebit(Account account, Transaction debit) {
+        if (debit.getBalanceAfterMinorUnits() < heldFunds.held(account.getId())) {
+            throw new IllegalStateException("Insufficient available funds");
+        }
+        velocityLimits.admit(account, new Money(debit.getAmountMinorUnits(), debit.getCurrency()));
+        return debit;
+    }
+
+    /**
+     * @return true in journal mode, where postings reach the database through the journal projection
+     */
+    public boolean journalMode() {
+        return journal != null;
+    }
+
+    @PreDestroy
+    void closePipeline() {
+        if (pipeline != null) {
+            pipeline.close();
+        }
+    }
+
+    private TransferResult transfer(Account from, Account to, BigDecimal amount, String description) {
+        if (!from.getCurrency().equals(to.getCurrency())) {
+            throw new IllegalArgumentException("Cannot transfer between " + from.getCurrency()
+                    + " and " + to.getCurrency() + " accounts");
+        }
+        Transaction debit = from.transferOut(amount, description);
+        Transaction credit = to.transferIn(amount, description);
+        admitDebit(from, debit);
+        return new TransferResult(debit, credit);
+    }
+
+    private <T> CompletableFuture<Optional<T>> submit(String type, List<UUID> accountIds,
+            Function<Map<UUID, Account>, T> operation, Function<T, List<Transaction>> transactions) {
+        if (pipeline == null) {
+            try {
+                return CompletableFuture.completedFuture(
+                        measure(type, () -> postNow(accountIds, operation, transactions)));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        long start = System.nanoTime();
+        try {
+            return pipeline.submit(new PostingPipeline.Posting<>(accountIds, operation, transactions))
+                    .whenComplete((posted, failure) -> ledgerMetrics.recordPosting(type, outcome(posted, failure),
+                            System.nanoTime() - start));
+        } catch (RejectedExecutionException e) {
+            ledgerMetrics.recordPosting(type, "overloaded", System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    /**
+     * Posts right away in its own transaction, holding the locks of the
+     * accounts until it commits.
+     */
+    private <T> Optional<T> postNow(List<UUID> accountIds, Function<Map<UUID, Account>, T> operation,
+            Function<T, List<Transaction>> transactions) {
+        return locks.withLocks(accountIds, () -> transactionTemplate.execute(status -> {
+            Map<UUID, Account> accounts = loadAll(accountIds);
+            if (accounts.size() < accountIds.size()) {
+                return Optional.<T>empty();
+            }
+            T outcome = operation.apply(accounts);
+            record(status, transactions.apply(outcome));
+            return Optional.of(outcome);
+        }));
+    }
+
+    /**
+     * Posts a pipeline batch in one transaction, holding the locks of all its
+     * accounts. A posting rejected by the domain is undone and failed on its
+     * own; the others are recorded together and completed after the commit.
+     */
+    private void postBatch(List<PostingPipeline.Posting<?>> batch) {
+        Set<UUID> accountIds = new HashSet<>();
+        batch.forEach(posting -> accountIds.addAll(posting.accountIds));
+        List<Runnable> outcomes = new ArrayList<>(batch.size());
+        locks.withLocks(accountIds, () -> transactionTemplate.execute(status -> {
+            Map<UUID, Account> accounts = loadAll(accountIds);
+            List<Transaction> recorded = new ArrayList<>();
+            for (PostingPipeline.Posting<?> posting : batch) {
+                if (!accounts.keySet().containsAll(posting.accountIds)) {
+                    outcomes.add(posting::notFound);
+                    continue;
+                }
+                List<Account> touched = posting.accountIds.stream().map(accounts::get).toList();
+                List<Money> balances = touched.stream().map(Account::getBalance).toList();
+                List<LocalDateTime> postedAt = touched.stream().map(Account::getLastPostedAt).toList();
+                try {
+                    recorded.addAll(posting.apply(accounts));
+                    outcomes.add(posting::succeed);
+                } catch (RuntimeException e) {
+                    // Undo a partly applied posting, e.g. a transfer whose credit leg was refused
+                    for (int i = 0; i < touched.size(); i++) {
+                        touched.get(i).restoreLedgerState(balances.get(i), postedAt.get(i));
+                    }
+                    outcomes.add(() -> posting.fail(e));
+                }
+            }
+            if (!recorded.isEmpty()) {
+                record(status, recorded);
+            }
+            return null;
+        }));
+        outcomes.forEach(Runnable::run);
+    }
+
+    private Optional<Account> load(UUID accountId) {
+        return accountRepository.findById(accountId).map(this::withLatestBalance);
+    }
+
+    private Map<UUID, Account> loadAll(Collection<UUID> accountIds) {
+        Map<UUID, Account> accounts = new HashMap<>();
+        for (Account account : accountRepository.findAllById(accountIds)) {
+            accounts.put(account.getId(), withLatestBalance(account));
+        }
+        return accounts;
+    }
+
+    private void record(TransactionStatus status, List<Transaction> transactions) {
+        if (journal == null) {
+            transactionRepository.saveAll(transactions);
+            rollups.add(AccountRollupDeltas.of(transactions));
+            return;
+        }
+        // The journal is the system of record; discard the in-memory changes to the account
+        status.setRollbackOnly();
+        awaitDurable(journal.append(transactions));
+    }
+
+    private static void awaitDurable(CompletableFuture<Long> append) {
+        try {
+            append.join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Journal append failed", e.getCause());
+        }
+    }
+
+    private <T> Optional<T> measure(String type, Supplier<Optional<T>> posting) {
+        long start = System.nanoTime();
+        Optional<T> posted = null;
+        Throwable failure = null;
+        try {
+            posted = posting.get();
+            return posted;
+        } catch (RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            ledgerMetrics.recordPosting(type, outcome(posted, failure), System.nanoTime() - start);
+        }
+    }
+
+    private static String outcome(Optional<?> posted, Throwable failure) {
+        if (failure == null) {
+            return posted.isPresent() ? "ok" : "not_found";
+        }
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause()
+                : failure;
+        if (cause instanceof IllegalArgumentException || cause instanceof IllegalStateException) {
+            return "rejected";
+        }
+        if (cause instanceof OptimisticLockingFailureException) {
+            return "conflict";
+        }
+        return "error";
+    }
+
+    private static <T> T await(CompletableFuture<T> posting) {
+        try {
+            return posting.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
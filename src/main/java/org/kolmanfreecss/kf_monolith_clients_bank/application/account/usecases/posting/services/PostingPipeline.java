@@ -0,0 +1,217 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.posting.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Account;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Transaction;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics.LedgerMetrics;
+
+/**
+ * Bounded queue of postings drained in micro-batches (group commit).
+ * <p>
+ * Drainer threads take the oldest posting, then keep collecting until the
+ * batch holds {@code maxBatchSize} postings or the oldest one has waited
+ * {@code maxWaitMicros}, and hand the batch to a {@link Consumer} that posts
+ * it in a single database transaction. A {@code maxWaitMicros} of 0 adds no
+ * latency: a batch is whatever queued up while the previous one was being
+ * committed, so batches grow with the load.
+ * <p>
+ * When the queue is full, producers wait up to {@code offerTimeoutMillis}
+ * and are then rejected with a {@link RejectedExecutionException}. On close,
+ * the postings already queued are still drained.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+final class PostingPipeline implements AutoCloseable {
+
+    private final BlockingQueue<Posting<?>> queue;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final long offerTimeoutNanos;
+    private final Consumer<List<Posting<?>>> batchPoster;
+    private final LedgerMetrics metrics;
+    private final List<Thread> drainers = new ArrayList<>();
+    private volatile boolean closed;
+
+    /**
+     * @param capacity           Maximum number of queued postings
+     * @param maxBatchSize       Maximum number of postings per batch
+     * @param maxWaitMicros      Longest time the oldest posting waits for its batch to fill up
+     * @param offerTimeoutMillis Longest time a producer waits for room in a full queue
+     * @param drainerCount       Number of drainer threads, each committing its own batches
+     * @param batchPoster        Posts a batch and completes each of its postings
+     * @param metrics            The ledger metrics
+     * @throws IllegalArgumentException if a size or count is not positive or a time is negative
+     */
+    PostingPipeline(int capacity, int maxBatchSize, long maxWaitMicros, long offerTimeoutMillis, int drainerCount,
+            Consumer<List<Posting<?>>> batchPoster, LedgerMetrics metrics) {
+        if (capacity <= 0 || maxBatchSize <= 0 || drainerCount <= 0) {
+            throw new IllegalArgumentException("Pipeline capacity, batch size and drainers must be positive");
+        }
+        if (maxWaitMicros < 0 || offerTimeoutMillis < 0) {
+            throw new IllegalArgumentException("Pipeline wait times cannot be negative");
+        }
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = TimeUnit.MICROSECONDS.toNanos(maxWaitMicros);
+        this.offerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(offerTimeoutMillis);
+        this.batchPoster = batchPoster;
+        this.metrics = metrics;
+        metrics.monitorPipeline(queue, capacity);
+        for (int i = 0; i < drainerCount; i++) {
+            Thread drainer = new Thread(this::drain, "posting-pipeline-" + i);
+            drainer.setDaemon(true);
+            drainer.start();
+            drainers.add(drainer);
+        }
+    }
+
+    /**
+     * Queues a posting.
+     *
+     * @param posting The posting
+     * @return Future completed once the posting's batch is committed or the posting is rejected
+     * @throws RejectedExecutionException if the pipeline is closed or stays full for the offer timeout
+     */
+    <T> CompletableFuture<Optional<T>> submit(Posting<T> posting) {
+        if (closed) {
+            throw new RejectedExecutionException("Posting pipeline is closed");
+        }
+        boolean queued;
+        try {
+            queued = queue.offer(posting, offerTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+        if (!queued) {
+            metrics.recordPipelineRejection();
+            throw new RejectedExecutionException("Posting queue is full");
+        }
+        return posting.result;
+    }
+
+    /**
+     * Stops accepting postings and waits for the queued ones to be posted.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Thread drainer : drainers) {
+            try {
+                drainer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Postings that slipped in while the drainers were stopping
+        RejectedExecutionException rejection = new RejectedExecutionException("Posting pipeline is closed");
+        for (Posting<?> posting = queue.poll(); posting != null; posting = queue.poll()) {
+            posting.fail(rejection);
+        }
+    }
+
+    private void drain() {
+        List<Posting<?>> batch = new ArrayList<>(maxBatchSize);
+        while (!closed || !queue.isEmpty()) {
+            try {
+                Posting<?> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - batch.size());
+                long deadline = first.enqueuedNanos + maxWaitNanos;
+                while (batch.size() < maxBatchSize) {
+                    long wait = deadline - System.nanoTime();
+                    Posting<?> next = wait > 0 ? queue.poll(wait, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                }
+            } catch (InterruptedException e) {
+                // Only close() stops the drainers; post what was collected
+            }
+            if (batch.isEmpty()) {
+                continue;
+            }
+            long start = System.nanoTime();
+            for (Posting<?> posting : batch) {
+                metrics.recordPipelineWait(start - posting.enqueuedNanos);
+            }
+            String result = "ok";
+            try {
+                batchPoster.accept(batch);
+            } catch (RuntimeException e) {
+                result = "failed";
+                batch.forEach(posting -> posting.fail(e));
+            }
+            metrics.recordPipelineBatch(batch.size(), result, System.nanoTime() - start);
+            batch.clear();
+        }
+    }
+
+    /**
+     * A queued posting on one or two accounts.
+     *
+     * @param <T> What the posting returns, e.g. a {@link Transaction}
+     */
+    static final class Posting<T> {
+
+        final List<UUID> accountIds;
+        private final Function<Map<UUID, Account>, T> operation;
+        private final Function<T, List<Transaction>> transactions;
+        private final CompletableFuture<Optional<T>> result = new CompletableFuture<>();
+        private final long enqueuedNanos = System.nanoTime();
+        private T outcome;
+
+        /**
+         * @param accountIds   The accounts the posting touches
+         * @param operation    Applies the posting to the loaded accounts
+         * @param transactions Extracts the transactions to record from the outcome
+         */
+        Posting(List<UUID> accountIds, Function<Map<UUID, Account>, T> operation,
+                Function<T, List<Transaction>> transactions) {
+            this.accountIds = accountIds;
+            this.operation = operation;
+            this.transactions = transactions;
+        }
+
+        /**
+         * Applies the posting; the outcome is only published by {@link #succeed()}.
+         *
+         * @param accounts The loaded accounts of the batch
+         * @return The transactions to record
+         */
+        List<Transaction> apply(Map<UUID, Account> accounts) {
+            outcome = operation.apply(accounts);
+            return transactions.apply(outcome);
+        }
+
+        void succeed() {
+            result.complete(Optional.of(outcome));
+        }
+
+        void notFound() {
+            result.complete(Optional.empty());
+        }
+
+        void fail(Throwable cause) {
+            result.completeExceptionally(cause);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.reconciliation.models;
+
+import java.util.List;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.LedgerDiscrepancy;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.ReconciliationRun;
+
+/**
+ * ReconciliationReport Service Model
+ * <p>
+ * State of a ledger reconciliation run and the discrepancies it found so far.
+ *
+ * @param run           The run and its checkpoint
+ * @param running       Whether the run is in progress on this instance
+ * @param progress      Fraction of the accounts verified
+ * @param discrepancies The first discrepancies found, in account order
+ */
+public record ReconciliationReport(
+        ReconciliationRun run,
+        boolean running,
+        double progress,
+        List<LedgerDiscrepancy> discrepancies) {
+}
@@ -0,0 +1,463 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.reconciliation.services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.posting.services.LedgerService;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.reconciliation.models.ReconciliationReport;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.BalanceChain;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.LedgerDiscrepancy;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.LedgerDiscrepancyRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.ReconciliationRun;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.ReconciliationRunRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.TransactionRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics.LedgerMetrics;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.util.RateBudget;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service reconciling the ledger: it verifies the
+ * {@code balanceAfterTransaction} chain of every account with a
+ * {@link BalanceChain}, and that the account balance is the balance after
+ * its latest transaction, and reports the {@link LedgerDiscrepancy
+ * discrepancies} it finds without correcting them.
+ * <p>
+ * Account ids are read in keyset chunks of {@code bank.reconciliation.chunk-size}
+ * and each chunk is split by posting lock stripe into
+ * {@code bank.reconciliation.parallelism} batches verified in parallel, like
+ * the fee run. A batch reads the balances of its accounts in one query, then
+ * streams the transactions of each account in {@code (timestamp, id)} order,
+ * in keyset pages of {@code bank.reconciliation.page-size} read straight from
+ * the composite index, so memory stays flat however long a chain is. Reads
+ * run in read-only transactions, served by the read replica when one is
+ * configured.
+ * <p>
+ * The workers share a budget of {@code bank.reconciliation.max-rows-per-second}
+ * transaction rows: each page read is charged to it and the next read waits
+ * until the budget allows it, which caps the load the run puts on the
+ * database whatever the parallelism.
+ * <p>
+ * Postings keep flowing during a run, so a chain read without locks can end
+ * before a posting the account balance already includes. An account found
+ * inconsistent is verified once more under its posting lock, on the primary,
+ * and only what that second pass finds is reported. In journal mode, where
+ * the {@code accounts} table lags behind the journal and there are no
+ * posting locks to take, only the chains are verified, in one pass.
+ * <p>
+ * Chunks are checkpointed in {@link ReconciliationRun} in id order, with the
+ * discrepancies found in them, once every earlier chunk is verified too, and
+ * an interrupted run resumes after the checkpoint.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Slf4j
+@Service
+public class ReconciliationService {
+
+    private static final UUID FIRST_ID = new UUID(0, 0);
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final LedgerDiscrepancyRepository discrepancyRepository;
+    private final ReconciliationRunRepository runRepository;
+    private final LedgerService ledgerService;
+    private final LedgerMetrics ledgerMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readTemplate;
+    private final RateBudget rowBudget;
+    private final ExecutorService coordinator;
+    private final boolean enabled;
+    private final boolean journalMode;
+    private final Duration interval;
+    private final int chunkSize;
+    private final int pageSize;
+    private final int parallelism;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong verified = new AtomicLong();
+    private volatile long total;
+    private volatile boolean stopping;
+
+    public ReconciliationService(
+            AccountRepository accountRepository,
+            TransactionRepository transactionRepository,
+            LedgerDiscrepancyRepository discrepancyRepository,
+            ReconciliationRunRepository runRepository,
+            LedgerService ledgerService,
+            LedgerMetrics ledgerMetrics,
+            PlatformTransactionManager transactionManager,
+            @Value("${bank.reconciliation.enabled:false}") boolean enabled,
+            @Value("${bank.ledger.journal.enabled:false}") boolean journalMode,
+            @Value("${bank.reconciliation.interval-ms:86400000}") long intervalMillis,
+            @Value("${bank.reconciliation.chunk-size:1000}") int chunkSize,
+            @Value("${bank.reconciliation.page-size:1000}") int pageSize,
+            @Value("${bank.reconciliation.parallelism:4}") int parallelism,
+            @Value("${bank.reconciliation.max-rows-per-second:50000}") int maxRowsPerSecond) {
+        if (chunkSize <= 0 || pageSize <= 0 || parallelism <= 0 || maxRowsPerSecond <= 0) {
+            throw new IllegalArgumentException(
+                    "Reconciliation chunk size, page size, parallelism and row budget must be positive");
+        }
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.discrepancyRepository = discrepancyRepository;
+        this.runRepository = runRepository;
+        this.ledgerService = ledgerService;
+        this.ledgerMetrics = ledgerMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setReadOnly(true);
+        // Up to a second of unused budget, so that short pauses do not waste it
+        this.rowBudget = new RateBudget(maxRowsPerSecond, Duration.ofSeconds(1));
+        this.coordinator = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reconciliation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.enabled = enabled;
+        this.journalMode = journalMode;
+        this.interval = Duration.ofMillis(intervalMillis);
+        this.chunkSize = chunkSize;
+        this.pageSize = pageSize;
+        this.parallelism = parallelism;
+        ledgerMetrics.monitorReconciliation(this::progress);
+    }
+
+    /**
+     * Resumes an interrupted run, or starts a new one once the latest run
+     * completed {@code bank.reconciliation.interval-ms} ago. Runs shortly
+     * after startup and then on a fixed delay.
+     */
+    @Scheduled(initialDelayString = "${bank.reconciliation.initial-delay-ms:300000}", fixedDelayString = "${bank.reconciliation.interval-ms:86400000}")
+    public void reconcileLedger() {
+        if (!enabled) {
+            return;
+        }
+        Optional<ReconciliationRun> latest = transactionTemplate
+                .execute(status -> runRepository.findFirstByOrderByStartedAtDesc());
+        if (latest.isPresent() && latest.get().isComplete()
+                && latest.get().getCompletedAt().isAfter(LocalDateTime.now().minus(interval))) {
+            return;
+        }
+        try {
+            reconcile();
+        } catch (IllegalStateException e) {
+            log.error("Ledger reconciliation failed, resuming on the next run", e);
+        }
+    }
+
+    /**
+     * Starts {@link #reconcile()} in the background.
+     *
+     * @return Whether it started, false if a run is already running
+     */
+    public boolean start() {
+        if (running.get()) {
+            return false;
+        }
+        coordinator.execute(() -> {
+            try {
+                reconcile();
+            } catch (IllegalStateException e) {
+                log.error("Ledger reconciliation failed, it can be resumed", e);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Verifies every account, resuming the latest run if it was interrupted.
+     *
+     * @return The run, complete unless the application is stopping
+     * @throws IllegalStateException if a run is already running, or a chunk could not be verified; the run can be
+     *                               resumed
+     */
+    public ReconciliationRun reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A ledger reconciliation is already running");
+        }
+        try {
+            ReconciliationRun run = transactionTemplate.execute(status -> runRepository
+                    .findFirstByOrderByStartedAtDesc()
+                    .filter(latest -> !latest.isComplete())
+                    .orElseGet(() -> runRepository.save(ReconciliationRun.start())));
+            return run(run);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * @param limit Maximum number of discrepancies to list
+     * @return The latest run with its first discrepancies, empty if there never was one
+     */
+    public Optional<ReconciliationReport> getLatest(int limit) {
+        return readTemplate.execute(status -> runRepository.findFirstByOrderByStartedAtDesc()
+                .map(run -> new ReconciliationReport(run, running.get() && !run.isComplete(), progress(run),
+                        limit <= 0 ? List.of()
+                                : discrepancyRepository.findByRunIdOrderByAccountIdAscDetectedAtAsc(run.getId(),
+                                        Limit.of(limit)))));
+    }
+
+    /**
+     * Lets in-flight chunks finish and leaves the run to be resumed.
+     */
+    @PreDestroy
+    void stop() {
+        stopping = true;
+        coordinator.shutdown();
+    }
+
+    private ReconciliationRun run(ReconciliationRun run) {
+        UUID runId = run.getId();
+        total = readTemplate.execute(status -> accountRepository.count());
+        verified.set(run.getAccounts());
+        long start = System.nanoTime();
+        AtomicInteger sequence = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "reconciliation-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Deque<Chunk> pending = new ArrayDeque<>();
+            UUID after = run.getLastAccountId() == null ? FIRST_ID : run.getLastAccountId();
+            while (!stopping) {
+                UUID from = after;
+                List<UUID> chunk = readTemplate
+                        .execute(status -> accountRepository.findIdsAfter(from, Limit.of(chunkSize)));
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                after = chunk.get(chunk.size() - 1);
+                pending.add(new Chunk(after, submit(workers, runId, chunk)));
+                // Bounded read-ahead; checkpoints advance in id order
+                if (pending.size() >= 2) {
+                    checkpoint(runId, pending.poll());
+                }
+            }
+            while (!pending.isEmpty()) {
+                checkpoint(runId, pending.poll());
+            }
+        } finally {
+            workers.shutdownNow();
+            total = 0;
+        }
+        if (stopping) {
+            return transactionTemplate.execute(status -> runRepository.findById(runId).orElseThrow());
+        }
+        ReconciliationRun completed = transactionTemplate.execute(status -> {
+            ReconciliationRun current = runRepository.findById(runId).orElseThrow();
+            current.complete();
+            return current;
+        });
+        long elapsed = System.nanoTime() - start;
+        ledgerMetrics.recordReconciliationRun(elapsed);
+        if (completed.getDiscrepancies() > 0) {
+            log.warn("Ledger reconciliation {} found {} discrepancies in {} accounts, {} transactions", runId,
+                    completed.getDiscrepancies(), completed.getAccounts(), completed.getTransactions());
+        } else {
+            log.info("Ledger reconciled in {} ms: {} accounts, {} transactions, no discrepancies",
+                    elapsed / 1_000_000, completed.getAccounts(), completed.getTransactions());
+        }
+        return completed;
+    }
+
+    private double progress(ReconciliationRun run) {
+        if (run.isComplete()) {
+            return 1.0;
+        }
+        if (running.get()) {
+            return progress();
+        }
+        // Interrupted, waiting to be resumed
+        long accounts = accountRepository.count();
+        return accounts == 0 ? 0.0 : Math.min(1.0, (double) run.getAccounts() / accounts);
+    }
+
+    private double progress() {
+        long accounts = total;
+        return accounts == 0 ? 1.0 : Math.min(1.0, (double) verified.get() / accounts);
+    }
+
+    /**
+     * Splits a chunk by lock stripe, so that rechecks of its batches take
+     * disjoint locks, and submits one batch per worker.
+     */
+    private List<Future<Tally>> submit(ExecutorService workers, UUID runId, List<UUID> chunk) {
+        List<List<UUID>> batches = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            batches.add(new ArrayList<>());
+        }
+        for (UUID accountId : chunk) {
+            batches.get(ledgerService.lockStripe(accountId) % parallelism).add(accountId);
+        }
+        List<Future<Tally>> futures = new ArrayList<>(parallelism);
+        for (List<UUID> batch : batches) {
+            if (!batch.isEmpty()) {
+                futures.add(workers.submit(() -> verify(runId, batch)));
+            }
+        }
+        return futures;
+    }
+
+    private Tally verify(UUID runId, List<UUID> accountIds) {
+        long start = System.nanoTime();
+        Verification first = verify(runId, accountIds, false);
+        List<LedgerDiscrepancy> found = new ArrayList<>();
+        if (journalMode) {
+            found.addAll(first.discrepancies());
+        } else {
+            for (UUID accountId : first.suspects()) {
+                found.addAll(ledgerService.withPostingLocks(List.of(accountId),
+                        () -> verify(runId, List.of(accountId), true).discrepancies()));
+            }
+        }
+        return new Tally(accountIds.size(), first.transactions(), found, System.nanoTime() - start);
+    }
+
+    /**
+     * Verifies the chains of some accounts and, outside journal mode, their
+     * balances.
+     *
+     * @param locked Whether the accounts' posting locks are held, in a transaction
+     */
+    private Verification verify(UUID runId, Collection<UUID> accountIds, boolean locked) {
+        Map<UUID, AccountRepository.AccountBalance> balances = new HashMap<>();
+        if (!journalMode) {
+            read(locked, () -> accountRepository.findBalancesByIdIn(accountIds))
+                    .forEach(balance -> balances.put(balance.id(), balance));
+        }
+        List<LedgerDiscrepancy> discrepancies = new ArrayList<>();
+        Set<UUID> suspects = new LinkedHashSet<>();
+        long transactions = 0;
+        for (UUID accountId : accountIds) {
+            BalanceChain chain = new BalanceChain(accountId);
+            List<TransactionRepository.ChainLink> page = read(locked,
+                    () -> transactionRepository.findChainPage(accountId, Limit.of(pageSize)));
+            while (true) {
+                for (TransactionRepository.ChainLink link : page) {
+                    long expected = chain.append(link.type(), link.amountMinorUnits(),
+                            link.balanceAfterMinorUnits());
+                    if (expected != link.balanceAfterMinorUnits()) {
+                        discrepancies.add(LedgerDiscrepancy.brokenChain(runId, link, expected));
+                        suspects.add(accountId);
+                    }
+                }
+                if (page.size() < pageSize) {
+                    break;
+                }
+                TransactionRepository.ChainLink last = page.get(page.size() - 1);
+                page = read(locked, () -> transactionRepository.findChainPageAfter(accountId, last.timestamp(),
+                        last.id(), Limit.of(pageSize)));
+            }
+            transactions += chain.getLinks();
+            AccountRepository.AccountBalance balance = balances.get(accountId);
+            if (balance != null && balance.balanceMinorUnits() != chain.getBalanceMinorUnits()) {
+                discrepancies.add(LedgerDiscrepancy.balanceMismatch(runId, balance, chain.getBalanceMinorUnits()));
+                suspects.add(accountId);
+            }
+        }
+        return new Verification(transactions, discrepancies, suspects);
+    }
+
+    /**
+     * Runs a read in the current transaction under posting locks, or else in
+     * a read-only transaction of its own, charging the rows it returned to the
+     * shared budget. Rechecks under posting locks are not throttled, to hold
+     * the locks as briefly as possible.
+     */
+    private <T extends Collection<?>> T read(boolean locked, Supplier<T> query) {
+        if (locked) {
+            return query.get();
+        }
+        T rows = readTemplate.execute(status -> query.get());
+        try {
+            long waited = rowBudget.spend(rows.size());
+            if (waited > 0) {
+                ledgerMetrics.recordReconciliationThrottle(waited);
+            }
+            return rows;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reconciling the ledger", e);
+        }
+    }
+
+    private void checkpoint(UUID runId, Chunk chunk) {
+        int accounts = 0;
+        long transactions = 0;
+        long elapsed = 0;
+        List<LedgerDiscrepancy> found = new ArrayList<>();
+        for (Future<Tally> batch : chunk.batches()) {
+            try {
+                Tally tally = batch.get();
+                accounts += tally.accounts();
+                transactions += tally.transactions();
+                found.addAll(tally.discrepancies());
+                elapsed = Math.max(elapsed, tally.elapsedNanos());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while reconciling the ledger", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Could not reconcile the ledger", e.getCause());
+            }
+        }
+        int chunkAccounts = accounts;
+        long chunkTransactions = transactions;
+        transactionTemplate.executeWithoutResult(status -> {
+            discrepancyRepository.saveAll(found);
+            runRepository.findById(runId).orElseThrow()
+                    .advance(chunk.lastAccountId(), chunkAccounts, chunkTransactions, found.size());
+        });
+        verified.addAndGet(chunkAccounts);
+        int brokenChains = (int) found.stream()
+                .filter(discrepancy -> discrepancy.getKind() == LedgerDiscrepancy.Kind.BROKEN_CHAIN)
+                .count();
+        ledgerMetrics.recordReconciliationChunk(chunkAccounts, chunkTransactions, brokenChains,
+                found.size() - brokenChains, elapsed);
+    }
+
+    private record Chunk(UUID lastAccountId, List<Future<Tally>> batches) {
+    }
+
+    /**
+     * Outcome of a batch; the elapsed time includes the rechecks and throttling.
+     */
+    private record Tally(int accounts, long transactions, List<LedgerDiscrepancy> discrepancies,
+            long elapsedNanos) {
+    }
+
+    /**
+     * Outcome of one pass over some accounts, with the accounts it found inconsistent.
+     */
+    private record Verification(long transactions, List<LedgerDiscrepancy> discrepancies, Set<UUID> suspects) {
+    }
+}
@@ -0,0 +1,25 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.rollups.models;
+
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * AccountActivity Service Model
+ * <p>
+ * Activity of an account over a date range, per transaction type.
+ *
+ * @param accountId The UUID of the account
+ * @param currency  The currency of the account
+ * @param from      First day of the range
+ * @param to        Last day of the range, inclusive
+ * @param totals    Totals per transaction type with activity, in type order
+ */
+public record AccountActivity(
+        UUID accountId,
+        Currency currency,
+        LocalDate from,
+        LocalDate to,
+        List<ActivityTotal> totals) {
+}
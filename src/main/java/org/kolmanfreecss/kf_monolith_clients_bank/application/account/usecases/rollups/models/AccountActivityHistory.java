@@ -0,0 +1,30 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.rollups.models;
+
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRollup.Granularity;
+
+/**
+ * AccountActivityHistory Service Model
+ * <p>
+ * Activity of an account broken down by day or month. Periods without any
+ * transaction are left out.
+ *
+ * @param accountId   The UUID of the account
+ * @param currency    The currency of the account
+ * @param granularity The length of the periods
+ * @param from        Start of the first period
+ * @param to          Start of the last period
+ * @param periods     The periods with activity, oldest first
+ */
+public record AccountActivityHistory(
+        UUID accountId,
+        Currency currency,
+        Granularity granularity,
+        LocalDate from,
+        LocalDate to,
+        List<ActivityPeriod> periods) {
+}
@@ -0,0 +1,17 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.rollups.models;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * ActivityPeriod Service Model
+ * <p>
+ * Activity of an account over one day or month, per transaction type.
+ *
+ * @param periodStart The day, or the first day of the month
+ * @param totals      Totals per transaction type with activity, in type order
+ */
+public record ActivityPeriod(
+        LocalDate periodStart,
+        List<ActivityTotal> totals) {
+}
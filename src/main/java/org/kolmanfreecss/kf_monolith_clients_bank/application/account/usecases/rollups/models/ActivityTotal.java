@@ -0,0 +1,19 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.rollups.models;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Transaction.TransactionType;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.Money;
+
+/**
+ * ActivityTotal Service Model
+ * <p>
+ * Number and sum of the transactions of one type.
+ *
+ * @param type             The transaction type
+ * @param transactionCount Number of transactions
+ * @param amount           Sum of their amounts
+ */
+public record ActivityTotal(
+        TransactionType type,
+        long transactionCount,
+        Money amount) {
+}
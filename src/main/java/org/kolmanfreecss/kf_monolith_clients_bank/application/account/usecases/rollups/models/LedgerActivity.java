@@ -0,0 +1,24 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.rollups.models;
+
+import java.time.LocalDate;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Transaction.TransactionType;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.Money;
+
+/**
+ * LedgerActivity Service Model
+ * <p>
+ * Activity of all the accounts of one currency over a day or month, for one
+ * transaction type.
+ *
+ * @param periodStart      The day, or the first day of the month
+ * @param type             The transaction type
+ * @param transactionCount Number of transactions
+ * @param amount           Sum of their amounts, in the currency of the accounts
+ */
+public record LedgerActivity(
+        LocalDate periodStart,
+        TransactionType type,
+        long transactionCount,
+        Money amount) {
+}
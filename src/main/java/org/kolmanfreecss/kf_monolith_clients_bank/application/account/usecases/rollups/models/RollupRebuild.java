@@ -0,0 +1,16 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.rollups.models;
+
+/**
+ * RollupRebuild Service Model
+ * <p>
+ * Outcome of rebuilding the rollups of every account.
+ *
+ * @param accounts      Number of accounts whose rollups were replaced
+ * @param rows          Number of rollup rows written
+ * @param elapsedMillis Time taken
+ */
+public record RollupRebuild(
+        long accounts,
+        long rows,
+        long elapsedMillis) {
+}
@@ -0,0 +1,35 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.rollups.ports;
+
+import java.util.Collection;
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRollup;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRollupDeltas;
+
+/**
+ * Port interface for writing the {@link AccountRollup}s. Both operations
+ * join the current database transaction, so rollups commit or roll back
+ * together with the postings they count.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public interface AccountRollupPort {
+
+    /**
+     * Adds increments to the rollups, creating the rows that do not exist
+     * yet. The caller must serialize writes per account.
+     *
+     * @param deltas The increments
+     */
+    void add(AccountRollupDeltas deltas);
+
+    /**
+     * Replaces every rollup of some accounts.
+     *
+     * @param accountIds The accounts whose rollups are replaced
+     * @param deltas     Their complete rollups; every account must be one of {@code accountIds}
+     * @return Number of rollup rows written
+     */
+    int replace(Collection<UUID> accountIds, AccountRollupDeltas deltas);
+}
@@ -0,0 +1,223 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.rollups.services;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.rollups.models.AccountActivity;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.rollups.models.AccountActivityHistory;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.rollups.models.ActivityPeriod;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.rollups.models.ActivityTotal;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.rollups.models.LedgerActivity;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.fx.services.ExchangeRateService;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRollup;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRollup.Granularity;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRollupRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Transaction.TransactionType;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.Money;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.RateMatrix;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service answering activity questions ("how much did this account deposit
+ * this quarter") from the materialized {@link AccountRollup}s instead of
+ * scanning transactions.
+ * <p>
+ * A range total is decomposed into the whole months it covers, read from the
+ * monthly rollups, and the days before and after them, read from the daily
+ * rollups: a year costs at most twelve monthly rows and sixty daily rows per
+ * transaction type, however many transactions were posted.
+ * <p>
+ * Bank-wide activity can be totalled across currencies in a reporting
+ * currency: each per-currency total is converted once, rounded half to even,
+ * and the converted totals are summed, all at the same snapshot of the
+ * exchange rates.
+ * <p>
+ * In journal mode rollups are updated by the journal projection, so they
+ * trail postings by up to one projection interval, like statements.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Service
+public class AccountActivityService {
+
+    private final AccountRepository accountRepository;
+    private final AccountRollupRepository rollupRepository;
+    private final ExchangeRateService exchangeRateService;
+    private final int maxPeriods;
+
+    public AccountActivityService(
+            AccountRepository accountRepository,
+            AccountRollupRepository rollupRepository,
+            ExchangeRateService exchangeRateService,
+            @Value("${bank.rollups.max-periods:400}") int maxPeriods) {
+        if (maxPeriods <= 0) {
+            throw new IllegalArgumentException("Maximum number of activity periods must be positive");
+        }
+        this.accountRepository = accountRepository;
+        this.rollupRepository = rollupRepository;
+        this.exchangeRateService = exchangeRateService;
+        this.maxPeriods = maxPeriods;
+    }
+
+    /**
+     * Returns the activity of an account over a date range, per transaction
+     * type.
+     *
+     * @param accountId The UUID of the account
+     * @param from      First day of the range
+     * @param to        Last day of the range, inclusive
+     * @return The activity, empty if the account does not exist
+     * @throws IllegalArgumentException if the range is missing or inverted
+     */
+    @Transactional(readOnly = true)
+    public Optional<AccountActivity> getActivity(UUID accountId, LocalDate from, LocalDate to) {
+        requireRange(from, to);
+        return accountRepository.findById(accountId).map(account -> {
+            Map<TransactionType, long[]> totals = new EnumMap<>(TransactionType.class);
+            LocalDate firstMonth = from.getDayOfMonth() == 1 ? from : from.withDayOfMonth(1).plusMonths(1);
+            LocalDate afterLastMonth = to.plusDays(1).withDayOfMonth(1);
+            if (firstMonth.isBefore(afterLastMonth)) {
+                sum(totals, accountId, Granularity.DAY, from, firstMonth.minusDays(1));
+                sum(totals, accountId, Granularity.MONTH, firstMonth, afterLastMonth.minusMonths(1));
+                sum(totals, accountId, Granularity.DAY, afterLastMonth, to);
+            } else {
+                sum(totals, accountId, Granularity.DAY, from, to);
+            }
+            return new AccountActivity(accountId, account.getCurrency(), from, to,
+                    toTotals(totals, account.getCurrency()));
+        });
+    }
+
+    /**
+     * Returns the activity of an account broken down by day or month. By
+     * month, the months overlapping the range are returned whole.
+     *
+     * @param accountId   The UUID of the account
+     * @param from        First day of the range
+     * @param to          Last day of the range, inclusive
+     * @param granularity The length of the periods
+     * @return The activity per period, empty if the account does not exist
+     * @throws IllegalArgumentException if the range is missing, inverted or spans too many periods
+     */
+    @Transactional(readOnly = true)
+    public Optional<AccountActivityHistory> getActivityHistory(UUID accountId, LocalDate from, LocalDate to,
+            Granularity granularity) {
+        LocalDate first = periodOf(granularity, from);
+        LocalDate last = periodOf(granularity, to);
+        requirePeriods(granularity, first, last);
+        return accountRepository.findById(accountId).map(account -> {
+            Map<LocalDate, Map<TransactionType, long[]>> periods = new LinkedHashMap<>();
+            for (AccountRollup rollup : rollupRepository
+                    .findByAccountIdAndGranularityAndPeriodStartBetweenOrderByPeriodStartAscTypeAsc(accountId,
+                            granularity, first, last)) {
+                periods.computeIfAbsent(rollup.getPeriodStart(), period -> new EnumMap<>(TransactionType.class))
+                        .put(rollup.getType(),
+                                new long[] { rollup.getTransactionCount(), rollup.getAmountMinorUnits() });
+            }
+            List<ActivityPeriod> activity = new ArrayList<>(periods.size());
+            periods.forEach((period, totals) -> activity
+                    .add(new ActivityPeriod(period, toTotals(totals, account.getCurrency()))));
+            return new AccountActivityHistory(accountId, account.getCurrency(), granularity, first, last, activity);
+        });
+    }
+
+    /**
+     * Returns the activity of all accounts per day or month, currency and
+     * transaction type, e.g. the deposits the bank took each month. By month,
+     * the months overlapping the range are returned whole.
+     *
+     * @param from        First day of the range
+     * @param to          Last day of the range, inclusive
+     * @param granularity The length of the periods
+     * @param reporting   Currency to total all currencies in, null to keep one total per currency
+     * @return The activity by period, currency and type, or by period and type in the reporting currency
+     * @throws IllegalArgumentException if the range is missing, inverted or spans too many periods, or a
+     *                                  currency has no exchange rate
+     */
+    @Transactional(readOnly = true)
+    public List<LedgerActivity> getLedgerActivity(LocalDate from, LocalDate to, Granularity granularity,
+            Currency reporting) {
+        LocalDate first = periodOf(granularity, from);
+        LocalDate last = periodOf(granularity, to);
+        requirePeriods(granularity, first, last);
+        List<AccountRollupRepository.PeriodTotal> totals = rollupRepository.sumByPeriod(granularity, first, last);
+        if (reporting == null) {
+            return totals.stream()
+                    .map(total -> new LedgerActivity(total.periodStart(), total.type(), total.transactionCount(),
+                            new Money(total.amountMinorUnits(), total.currency())))
+                    .toList();
+        }
+        RateMatrix rates = exchangeRateService.current();
+        // Totals come ordered by period, so the periods keep their order
+        Map<LocalDate, Map<TransactionType, long[]>> periods = new LinkedHashMap<>();
+        for (AccountRollupRepository.PeriodTotal total : totals) {
+            long converted = rates.convert(new Money(total.amountMinorUnits(), total.currency()), reporting)
+                    .minorUnits();
+            long[] sums = periods.computeIfAbsent(total.periodStart(), period -> new EnumMap<>(TransactionType.class))
+                    .computeIfAbsent(total.type(), type -> new long[2]);
+            sums[0] += total.transactionCount();
+            sums[1] = Math.addExact(sums[1], converted);
+        }
+        List<LedgerActivity> activity = new ArrayList<>();
+        periods.forEach((period, byType) -> byType.forEach((type, sums) -> activity
+                .add(new LedgerActivity(period, type, sums[0], new Money(sums[1], reporting)))));
+        return activity;
+    }
+
+    private void sum(Map<TransactionType, long[]> totals, UUID accountId, Granularity granularity, LocalDate from,
+            LocalDate to) {
+        if (from.isAfter(to)) {
+            return;
+        }
+        for (AccountRollupRepository.TypeTotal total : rollupRepository.sumByType(accountId, granularity, from, to)) {
+            long[] sums = totals.computeIfAbsent(total.type(), type -> new long[2]);
+            sums[0] += total.transactionCount();
+            sums[1] += total.amountMinorUnits();
+        }
+    }
+
+    private static List<ActivityTotal> toTotals(Map<TransactionType, long[]> totals, Currency currency) {
+        List<ActivityTotal> activity = new ArrayList<>(totals.size());
+        totals.forEach((type, sums) -> activity.add(new ActivityTotal(type, sums[0], new Money(sums[1], currency))));
+        return activity;
+    }
+
+    private static LocalDate periodOf(Granularity granularity, LocalDate day) {
+        if (granularity == null) {
+            throw new IllegalArgumentException("Granularity is required");
+        }
+        if (day == null) {
+            throw new IllegalArgumentException("Activity range is required");
+        }
+        return granularity.periodOf(day);
+    }
+
+    private void requirePeriods(Granularity granularity, LocalDate first, LocalDate last) {
+        requireRange(first, last);
+        long periods = (granularity == Granularity.DAY ? ChronoUnit.DAYS : ChronoUnit.MONTHS).between(first, last) + 1;
+        if (periods > maxPeriods) {
+            throw new IllegalArgumentException("Activity range spans more than " + maxPeriods + " periods");
+        }
+    }
+
+    private static void requireRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Activity range is required");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Activity range must have from <= to");
+        }
+    }
+}
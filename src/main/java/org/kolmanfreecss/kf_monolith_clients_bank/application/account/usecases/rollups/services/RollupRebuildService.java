@@ -0,0 +1,209 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.rollups.services;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.posting.services.LedgerService;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.rollups.models.RollupRebuild;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.rollups.ports.AccountRollupPort;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRollup;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRollupDeltas;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.TransactionRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics.LedgerMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service rebuilding the {@link AccountRollup}s of every account from its
+ * transactions, e.g. after the rollups were introduced on an existing ledger
+ * or after a manual correction of the {@code transactions} table.
+ * <p>
+ * Accounts are read in keyset chunks of {@code bank.rollups.rebuild.chunk-size}
+ * and each chunk is split by posting lock stripe into
+ * {@code bank.rollups.rebuild.parallelism} batches rebuilt in parallel, like
+ * the fee run. A batch counts and sums its accounts' transactions per day and
+ * type in the database and replaces their rollups, in one transaction holding
+ * their posting locks: postings keep flowing during a rebuild and are never
+ * counted twice or lost. A rebuild is idempotent, so an interrupted one is
+ * simply started again.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Slf4j
+@Service
+public class RollupRebuildService {
+
+    private static final UUID FIRST_ID = new UUID(0, 0);
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final AccountRollupPort rollups;
+    private final LedgerService ledgerService;
+    private final LedgerMetrics ledgerMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int parallelism;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean stopping;
+
+    public RollupRebuildService(
+            AccountRepository accountRepository,
+            TransactionRepository transactionRepository,
+            AccountRollupPort rollups,
+            LedgerService ledgerService,
+            LedgerMetrics ledgerMetrics,
+            PlatformTransactionManager transactionManager,
+            @Value("${bank.rollups.rebuild.chunk-size:1000}") int chunkSize,
+            @Value("${bank.rollups.rebuild.parallelism:4}") int parallelism) {
+        if (chunkSize <= 0 || parallelism <= 0) {
+            throw new IllegalArgumentException("Rollup rebuild chunk size and parallelism must be positive");
+        }
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.rollups = rollups;
+        this.ledgerService = ledgerService;
+        this.ledgerMetrics = ledgerMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Rebuilds the rollups of every account.
+     *
+     * @return The outcome of the rebuild
+     * @throws IllegalStateException if a rebuild is already running, the application is stopping,
+     *                               journal mode is enabled, or a batch could not be rebuilt
+     */
+    public RollupRebuild rebuild() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A rollup rebuild is already running");
+        }
+        long start = System.nanoTime();
+        AtomicInteger sequence = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "rollup-rebuild-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            long accounts = 0;
+            long rows = 0;
+            Deque<List<Future<Batch>>> pending = new ArrayDeque<>();
+            UUID after = FIRST_ID;
+            while (!stopping) {
+                UUID from = after;
+                List<UUID> chunk = transactionTemplate
+                        .execute(status -> accountRepository.findIdsAfter(from, Limit.of(chunkSize)));
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                after = chunk.get(chunk.size() - 1);
+                pending.add(submit(workers, chunk));
+                // Bounded read-ahead
+                if (pending.size() >= 2) {
+                    Batch done = await(pending.poll());
+                    accounts += done.accounts();
+                    rows += done.rows();
+                }
+            }
+            while (!pending.isEmpty()) {
+                Batch done = await(pending.poll());
+                accounts += done.accounts();
+                rows += done.rows();
+            }
+            if (stopping) {
+                throw new IllegalStateException("Rollup rebuild stopped before it completed");
+            }
+            long elapsed = System.nanoTime() - start;
+            ledgerMetrics.recordRollupRebuild(elapsed);
+            log.info("Account rollups rebuilt: {} accounts, {} rows in {} ms", accounts, rows, elapsed / 1_000_000);
+            return new RollupRebuild(accounts, rows, elapsed / 1_000_000);
+        } finally {
+            workers.shutdownNow();
+            running.set(false);
+        }
+    }
+
+    /**
+     * Lets in-flight batches finish and abandons the rebuild.
+     */
+    @PreDestroy
+    void stop() {
+        stopping = true;
+    }
+
+    /**
+     * Splits a chunk by lock stripe, so that its batches hold disjoint locks,
+     * and submits one batch per worker.
+     */
+    private List<Future<Batch>> submit(ExecutorService workers, List<UUID> chunk) {
+        List<List<UUID>> batches = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            batches.add(new ArrayList<>());
+        }
+        for (UUID accountId : chunk) {
+            batches.get(ledgerService.lockStripe(accountId) % parallelism).add(accountId);
+        }
+        List<Future<Batch>> futures = new ArrayList<>(parallelism);
+        for (List<UUID> batch : batches) {
+            if (!batch.isEmpty()) {
+                futures.add(workers.submit(() -> rebuild(batch)));
+            }
+        }
+        return futures;
+    }
+
+    private Batch rebuild(List<UUID> accountIds) {
+        long start = System.nanoTime();
+        int rows = ledgerService.withPostingLocks(accountIds, () -> {
+            AccountRollupDeltas deltas = new AccountRollupDeltas();
+            for (TransactionRepository.DailyTotal total : transactionRepository.sumByDay(accountIds)) {
+                deltas.add(total.accountId(), total.currency(), total.type(), total.day(), total.transactionCount(),
+                        total.amountMinorUnits());
+            }
+            return rollups.replace(accountIds, deltas);
+        });
+        long elapsed = System.nanoTime() - start;
+        ledgerMetrics.recordRollupBatch(accountIds.size(), rows, elapsed);
+        return new Batch(accountIds.size(), rows);
+    }
+
+    private static Batch await(List<Future<Batch>> chunk) {
+        int accounts = 0;
+        int rows = 0;
+        for (Future<Batch> batch : chunk) {
+            try {
+                Batch done = batch.get();
+                accounts += done.accounts();
+                rows += done.rows();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while rebuilding account rollups", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Could not rebuild account rollups", e.getCause());
+            }
+        }
+        return new Batch(accounts, rows);
+    }
+
+    private record Batch(int accounts, int rows) {
+    }
+}
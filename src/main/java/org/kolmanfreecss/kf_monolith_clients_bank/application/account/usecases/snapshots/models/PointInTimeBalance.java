@@ -0,0 +1,25 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.snapshots.models;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.Money;
+
+/**
+ * PointInTimeBalance Service Model
+ * <p>
+ * Balance of an account at an instant: the balance after every transaction
+ * stamped before it.
+ *
+ * @param accountId    The UUID of the account
+ * @param at           The instant
+ * @param balance      The balance at the instant
+ * @param snapshotDate Day of the balance snapshot the lookup started from, null if none
+ */
+public record PointInTimeBalance(
+        UUID accountId,
+        LocalDateTime at,
+        Money balance,
+        LocalDate snapshotDate) {
+}
@@ -0,0 +1,263 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.snapshots.services;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Account;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.BalanceSnapshot;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.BalanceSnapshotRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.BalanceSnapshotRun;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.BalanceSnapshotRunRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.TransactionRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics.LedgerMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service writing the daily {@link BalanceSnapshot} of every account.
+ * <p>
+ * A run snapshots one day. The accounts opened before the end of the day are
+ * read in keyset chunks of {@code bank.ledger.snapshots.chunk-size} and the
+ * chunks are written in parallel by {@code bank.ledger.snapshots.parallelism}
+ * workers, each chunk in its own transaction with batched inserts. Most
+ * closing balances need no transaction lookup at all: an account whose last
+ * posting is before the end of the day still holds its closing balance. Only
+ * accounts that posted since then are probed for their last transaction of
+ * the day.
+ * <p>
+ * Chunks are checkpointed in {@link BalanceSnapshotRun} in id order, once
+ * every earlier chunk is written too. An interrupted run resumes after the
+ * checkpoint on the next schedule; chunks written past it are replaced.
+ * <p>
+ * A day is only snapshotted once it ended {@code bank.ledger.snapshots.settle-minutes}
+ * ago, so that postings stamped just before midnight have committed (and, in
+ * journal mode, have been projected). Days missed while the application was
+ * down are caught up, up to {@code bank.ledger.snapshots.max-catch-up-days}.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Slf4j
+@Service
+public class BalanceSnapshotService {
+
+    private static final UUID FIRST_ID = new UUID(0, 0);
+    private static final Limit ONE = Limit.of(1);
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final BalanceSnapshotRepository snapshotRepository;
+    private final BalanceSnapshotRunRepository runRepository;
+    private final LedgerMetrics ledgerMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int chunkSize;
+    private final int parallelism;
+    private final Duration settle;
+    private final int maxCatchUpDays;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean stopping;
+
+    public BalanceSnapshotService(
+            AccountRepository accountRepository,
+            TransactionRepository transactionRepository,
+            BalanceSnapshotRepository snapshotRepository,
+            BalanceSnapshotRunRepository runRepository,
+            LedgerMetrics ledgerMetrics,
+            PlatformTransactionManager transactionManager,
+            @Value("${bank.ledger.snapshots.enabled:true}") boolean enabled,
+            @Value("${bank.ledger.snapshots.chunk-size:1000}") int chunkSize,
+            @Value("${bank.ledger.snapshots.parallelism:4}") int parallelism,
+            @Value("${bank.ledger.snapshots.settle-minutes:5}") long settleMinutes,
+            @Value("${bank.ledger.snapshots.max-catch-up-days:31}") int maxCatchUpDays) {
+        if (chunkSize <= 0 || parallelism <= 0 || maxCatchUpDays <= 0) {
+            throw new IllegalArgumentException("Snapshot chunk size, parallelism and catch-up days must be positive");
+        }
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.runRepository = runRepository;
+        this.ledgerMetrics = ledgerMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.settle = Duration.ofMinutes(settleMinutes);
+        this.maxCatchUpDays = maxCatchUpDays;
+    }
+
+    /**
+     * Snapshots every settled day after the latest completed run, resuming an
+     * interrupted run first. Runs shortly after startup and then on a fixed
+     * delay.
+     */
+    @Scheduled(initialDelayString = "${bank.ledger.snapshots.initial-delay-ms:60000}", fixedDelayString = "${bank.ledger.snapshots.interval-ms:3600000}")
+    public void takeSnapshots() {
+        if (!enabled || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            LocalDate last = LocalDateTime.now().minus(settle).toLocalDate().minusDays(1);
+            LocalDate first = runRepository.findFirstByCompletedAtIsNotNullOrderBySnapshotDateDesc()
+                    .map(run -> run.getSnapshotDate().plusDays(1))
+                    .orElse(last);
+            LocalDate earliest = last.minusDays(maxCatchUpDays - 1L);
+            if (first.isBefore(earliest)) {
+                log.warn("Balance snapshots are {} days behind, skipping to {}",
+                        ChronoUnit.DAYS.between(first, earliest), earliest);
+                first = earliest;
+            }
+            for (LocalDate day = first; !day.isAfter(last) && !stopping; day = day.plusDays(1)) {
+                snapshot(day);
+            }
+        } catch (RuntimeException e) {
+            log.error("Balance snapshot run failed, resuming on the next run", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Writes the snapshots of one day, resuming its run if it was interrupted.
+     *
+     * @param day The day to snapshot; it must have ended, or later postings would be missed
+     * @return Whether the run completed now, false if it was already complete or is stopping
+     * @throws IllegalArgumentException if the day has not ended yet
+     * @throws IllegalStateException    if a chunk could not be written; the run can be resumed
+     */
+    public boolean snapshot(LocalDate day) {
+        LocalDateTime end = day.plusDays(1).atStartOfDay();
+        if (!end.isBefore(LocalDateTime.now())) {
+            throw new IllegalArgumentException("Cannot snapshot " + day + " before it has ended");
+        }
+        Optional<BalanceSnapshotRun> existing = transactionTemplate.execute(status -> runRepository.findById(day));
+        if (existing.isPresent() && existing.get().isComplete()) {
+            return false;
+        }
+        // A resumed run may have written chunks past its checkpoint before it stopped
+        boolean resumed = existing.isPresent();
+        BalanceSnapshotRun run = existing.orElseGet(
+                () -> transactionTemplate.execute(status -> runRepository.save(new BalanceSnapshotRun(day))));
+        long start = System.nanoTime();
+        AtomicInteger sequence = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "balance-snapshot-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Deque<Future<Chunk>> pending = new ArrayDeque<>();
+            UUID after = run.getLastAccountId() == null ? FIRST_ID : run.getLastAccountId();
+            while (!stopping) {
+                UUID from = after;
+                List<Account> accounts = transactionTemplate
+                        .execute(status -> accountRepository.findChunkAfter(from, end, Limit.of(chunkSize)));
+                if (accounts.isEmpty()) {
+                    break;
+                }
+                after = accounts.get(accounts.size() - 1).getId();
+                pending.add(workers.submit(() -> writeChunk(day, end, accounts, resumed)));
+                // Bounded read-ahead; checkpoints advance in id order
+                if (pending.size() >= parallelism * 2) {
+                    checkpoint(day, pending.poll());
+                }
+            }
+            while (!pending.isEmpty()) {
+                checkpoint(day, pending.poll());
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+        if (stopping) {
+            return false;
+        }
+        BalanceSnapshotRun completed = transactionTemplate.execute(status -> {
+            BalanceSnapshotRun current = runRepository.findById(day).orElseThrow();
+            current.complete();
+            return current;
+        });
+        long elapsed = System.nanoTime() - start;
+        ledgerMetrics.recordSnapshotRun(elapsed);
+        log.info("Balance snapshots for {} written: {} accounts in {} ms", day, completed.getAccounts(),
+                elapsed / 1_000_000);
+        return true;
+    }
+
+    /**
+     * Lets in-flight chunks finish and leaves the run to be resumed.
+     */
+    @PreDestroy
+    void stop() {
+        stopping = true;
+    }
+
+    private Chunk writeChunk(LocalDate day, LocalDateTime end, List<Account> accounts, boolean resumed) {
+        long start = System.nanoTime();
+        int probes = transactionTemplate.execute(status -> {
+            List<BalanceSnapshot> snapshots = new ArrayList<>(accounts.size());
+            int probed = 0;
+            for (Account account : accounts) {
+                LocalDateTime lastPostedAt = account.getLastPostedAt();
+                long balance;
+                if (lastPostedAt == null) {
+                    balance = 0;
+                } else if (lastPostedAt.isBefore(end)) {
+                    // Nothing posted since the day ended: the current balance is the closing one
+                    balance = account.getBalance().minorUnits();
+                } else {
+                    probed++;
+                    List<Long> closing = transactionRepository.findBalanceBefore(account.getId(), end, ONE);
+                    balance = closing.isEmpty() ? 0 : closing.get(0);
+                }
+                snapshots.add(new BalanceSnapshot(account.getId(), day, balance));
+            }
+            if (resumed) {
+                snapshotRepository.deleteChunk(day, accounts.stream().map(Account::getId).toList());
+            }
+            snapshotRepository.saveAll(snapshots);
+            return probed;
+        });
+        return new Chunk(accounts.get(accounts.size() - 1).getId(), accounts.size(), probes,
+                System.nanoTime() - start);
+    }
+
+    private void checkpoint(LocalDate day, Future<Chunk> pending) {
+        Chunk chunk;
+        try {
+            chunk = pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while writing balance snapshots for " + day, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not write balance snapshots for " + day, e.getCause());
+        }
+        transactionTemplate.executeWithoutResult(status -> runRepository.findById(day).orElseThrow()
+                .advance(chunk.lastAccountId(), chunk.accounts()));
+        ledgerMetrics.recordSnapshotChunk(chunk.accounts(), chunk.probes(), chunk.elapsedNanos());
+    }
+
+    private record Chunk(UUID lastAccountId, int accounts, int probes, long elapsedNanos) {
+    }
+}
@@ -0,0 +1,81 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.snapshots.services;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.snapshots.models.PointInTimeBalance;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.BalanceSnapshot;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.BalanceSnapshotRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.TransactionRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.Money;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service answering "what was the balance of this account at that time".
+ * <p>
+ * The lookup starts from the latest daily {@link BalanceSnapshot} before the
+ * instant and only looks at the transactions between the end of that
+ * snapshot and the instant: the last of them carries the balance, and without
+ * any the snapshot balance still holds. Both steps are single backward index
+ * probes, and the transaction probe never reaches back past the snapshot day.
+ * Accounts without a snapshot yet fall back to a probe over all their
+ * transactions.
+ * <p>
+ * In journal mode the {@code transactions} table trails the journal by one
+ * projection interval, so balances at the last second may miss the newest
+ * postings.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Service
+public class PointInTimeBalanceService {
+
+    private static final Limit ONE = Limit.of(1);
+
+    private final AccountRepository accountRepository;
+    private final BalanceSnapshotRepository snapshotRepository;
+    private final TransactionRepository transactionRepository;
+
+    public PointInTimeBalanceService(
+            AccountRepository accountRepository,
+            BalanceSnapshotRepository snapshotRepository,
+            TransactionRepository transactionRepository) {
+        this.accountRepository = accountRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.transactionRepository = transactionRepository;
+    }
+
+    /**
+     * Returns the balance of an account at an instant.
+     *
+     * @param accountId The UUID of the account
+     * @param at        The instant; transactions stamped at or after it are not included
+     * @return The balance, empty if the account does not exist
+     * @throws IllegalArgumentException if the instant is missing
+     */
+    @Transactional(readOnly = true)
+    public Optional<PointInTimeBalance> getBalanceAt(UUID accountId, LocalDateTime at) {
+        if (at == null) {
+            throw new IllegalArgumentException("Instant is required");
+        }
+        return accountRepository.findById(accountId).map(account -> {
+            // Snapshots of earlier days end at or before midnight of the instant's day
+            Optional<BalanceSnapshot> snapshot = snapshotRepository
+                    .findFirstByAccountIdAndSnapshotDateLessThanOrderBySnapshotDateDesc(accountId, at.toLocalDate());
+            List<Long> latest = snapshot.isPresent()
+                    ? transactionRepository.findBalanceBetween(accountId, snapshot.get().endsAt(), at, ONE)
+                    : transactionRepository.findBalanceBefore(accountId, at, ONE);
+            long balance = latest.isEmpty()
+                    ? snapshot.map(BalanceSnapshot::getBalanceMinorUnits).orElse(0L)
+                    : latest.get(0);
+            return new PointInTimeBalance(accountId, at, new Money(balance, account.getCurrency()),
+                    snapshot.map(BalanceSnapshot::getSnapshotDate).orElse(null));
+        });
+    }
+}
@@ -0,0 +1,24 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.statements.models;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.Money;
+
+/**
+ * StatementConversion Service Model
+ * <p>
+ * Balances of a statement converted to a reporting currency, all at the same
+ * rates.
+ *
+ * @param rate           Units of the reporting currency worth one unit of the account currency
+ * @param ratesAsOf      When the rates used were quoted
+ * @param openingBalance Balance at the start of the period, in the reporting currency
+ * @param closingBalance Balance at the end of the period, in the reporting currency
+ */
+public record StatementConversion(
+        BigDecimal rate,
+        Instant ratesAsOf,
+        Money openingBalance,
+        Money closingBalance) {
+}
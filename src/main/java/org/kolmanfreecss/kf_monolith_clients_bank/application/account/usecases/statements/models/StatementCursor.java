@@ -0,0 +1,47 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.statements.models;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * StatementCursor Service Model
+ * <p>
+ * Keyset position in an account statement: the {@code (timestamp, id)} of the
+ * last transaction returned. Exchanged with clients as an opaque URL-safe
+ * string.
+ *
+ * @param timestamp Timestamp of the last transaction returned
+ * @param id        Id of the last transaction returned
+ */
+public record StatementCursor(LocalDateTime timestamp, UUID id) {
+
+    /**
+     * @return The opaque form of the cursor
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((timestamp + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor The opaque form of a cursor
+     * @return The decoded cursor
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static StatementCursor decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Malformed statement cursor");
+            }
+            return new StatementCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    UUID.fromString(value.substring(separator + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed statement cursor", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.statements.models;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Transaction;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.Money;
+
+/**
+ * StatementPage Service Model
+ * <p>
+ * One page of an account statement. The opening and closing balances cover
+ * the whole period and are the same on every page.
+ *
+ * @param accountId      The UUID of the account
+ * @param from           First day of the period
+ * @param to             Last day of the period, inclusive
+ * @param openingBalance Balance at the start of the period
+ * @param closingBalance Balance at the end of the period
+ * @param transactions   Transactions of this page in posting order
+ * @param nextCursor     Position of the next page, null on the last page
+ * @param conversion     Balances in the requested reporting currency, null if none was requested
+ */
+public record StatementPage(
+        UUID accountId,
+        LocalDate from,
+        LocalDate to,
+        Money openingBalance,
+        Money closingBalance,
+        List<Transaction> transactions,
+        StatementCursor nextCursor,
+        StatementConversion conversion) {
+}
@@ -0,0 +1,117 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.statements.services;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.statements.models.StatementConversion;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.statements.models.StatementCursor;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.statements.models.StatementPage;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.fx.services.ExchangeRateService;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Transaction;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.TransactionRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.Money;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.RateMatrix;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service building account statements.
+ * <p>
+ * Pages are keyset pages over {@code (timestamp, id)}: the cursor of a page
+ * is its last row, and the next page seeks past it through the
+ * {@code (account_id, timestamp, id)} index, so deep pages cost the same as
+ * the first one. One extra row is fetched to know whether a next page exists,
+ * instead of counting the period.
+ * <p>
+ * Opening and closing balances are read from the {@code balanceAfterTransaction}
+ * of the last transaction before the period and before its end: two backward
+ * index probes, whatever the number of transactions in the period.
+ * <p>
+ * On request, both balances are also converted to a reporting currency, at
+ * the same snapshot of the exchange rates.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Service
+public class StatementService {
+
+    private static final Limit ONE = Limit.of(1);
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final ExchangeRateService exchangeRateService;
+    private final int maxPageSize;
+
+    public StatementService(
+            AccountRepository accountRepository,
+            TransactionRepository transactionRepository,
+            ExchangeRateService exchangeRateService,
+            @Value("${bank.statements.max-page-size:500}") int maxPageSize) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.exchangeRateService = exchangeRateService;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Returns one page of the statement of an account for a period.
+     *
+     * @param accountId The UUID of the account
+     * @param from      First day of the period
+     * @param to        Last day of the period, inclusive
+     * @param cursor    Cursor returned with the previous page, null for the first page
+     * @param size      Maximum number of transactions in the page
+     * @param reporting Currency to also express the balances in, null for none
+     * @return The statement page, empty if the account does not exist
+     * @throws IllegalArgumentException if the period is inverted, the size is out of range, the cursor is
+     *                                  malformed or there is no exchange rate for the reporting currency
+     */
+    @Transactional(readOnly = true)
+    public Optional<StatementPage> getStatement(UUID accountId, LocalDate from, LocalDate to, String cursor, int size,
+            Currency reporting) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("Statement period must have from <= to");
+        }
+        if (size < 1 || size > maxPageSize) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + maxPageSize);
+        }
+        StatementCursor after = cursor == null || cursor.isBlank() ? null : StatementCursor.decode(cursor);
+        return accountRepository.findById(accountId).map(account -> {
+            LocalDateTime start = from.atStartOfDay();
+            LocalDateTime end = to.plusDays(1).atStartOfDay();
+            Limit limit = Limit.of(size + 1);
+            List<Transaction> rows = after == null
+                    ? transactionRepository.findStatementPage(accountId, start, end, limit)
+                    : transactionRepository.findStatementPageAfter(accountId, start, end, after.timestamp(), after.id(), limit);
+            StatementCursor next = null;
+            if (rows.size() > size) {
+                rows = rows.subList(0, size);
+                Transaction last = rows.get(size - 1);
+                next = new StatementCursor(last.getTimestamp(), last.getId());
+            }
+            Currency currency = account.getCurrency();
+            Money opening = balanceBefore(accountId, start, currency);
+            Money closing = balanceBefore(accountId, end, currency);
+            StatementConversion conversion = null;
+            if (reporting != null) {
+                RateMatrix rates = exchangeRateService.current();
+                conversion = new StatementConversion(rates.rate(currency, reporting), rates.asOf(),
+                        rates.convert(opening, reporting), rates.convert(closing, reporting));
+            }
+            return new StatementPage(accountId, from, to, opening, closing, rows, next, conversion);
+        });
+    }
+
+    private Money balanceBefore(UUID accountId, LocalDateTime instant, Currency currency) {
+        List<Long> balance = transactionRepository.findBalanceBefore(accountId, instant, ONE);
+        return new Money(balance.isEmpty() ? 0 : balance.get(0), currency);
+    }
+}
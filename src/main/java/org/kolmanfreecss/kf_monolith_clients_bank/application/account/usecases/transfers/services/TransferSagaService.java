@@ -0,0 +1,344 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.transfers.services;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.posting.services.LedgerService;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Account;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Transaction;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.TransferSaga;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.TransferSagaRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.Money;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics.LedgerMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service running transfers asynchronously as sagas ({@link TransferSaga}).
+ * <p>
+ * A transfer is accepted once its saga is persisted, and then runs in steps
+ * that each post to a single account through {@link LedgerService#postBulk},
+ * under that account's posting lock and in one transaction with the new
+ * status of the saga: the debit of the source account, then the credit of
+ * the target account, or the reversal of the debit if the target refuses
+ * it. No transaction ever spans both accounts, so the accounts may live in
+ * different databases. The debit honours holds and velocity limits like a
+ * withdrawal does.
+ * <p>
+ * Steps run on {@code bank.transfers.saga.workers} threads
+ * ({@link TransferSagaWorkers}), routed by the posting lock stripe of their
+ * account. A worker runs all the queued steps on the same account in one
+ * transaction, so a burst of transfers out of one account commits in a few
+ * transactions instead of one each. A step that fails, or finds the queue
+ * full, is retried by a sweep every {@code bank.transfers.saga.sweep-interval-ms}
+ * resuming the sagas whose last step is older than
+ * {@code bank.transfers.saga.stall-ms}; the sweep also resumes the sagas left
+ * in flight by a restart. A step running twice is harmless: it only applies
+ * to a saga still waiting for it.
+ * <p>
+ * Clients poll a saga, or wait up to {@code bank.transfers.saga.max-wait-ms}
+ * for its outcome. Like holds and bulk jobs, sagas need the database ledger
+ * and are refused in journal mode.
+ *
+ * Features:
+ * - Persisted state machine: initiated, debited, then completed, rejected or compensated
+ * - Per-account batching of saga steps
+ * - Polling and waiting for the outcome
+ * - End-to-end latency by outcome, sagas in flight, steps queued and step batches
+ * ({@code bank.ledger.transfers.saga.*})
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Slf4j
+@Service
+public class TransferSagaService {
+
+    private final LedgerService ledgerService;
+    private final AccountRepository accountRepository;
+    private final TransferSagaRepository sagaRepository;
+    private final LedgerMetrics ledgerMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final TransferSagaWorkers workers;
+    private final Duration stall;
+    private final int sweepBatchSize;
+    private final Duration maxWait;
+    private final AtomicLong inFlight = new AtomicLong();
+
+    /**
+     * Futures of the callers waiting for the outcome of a saga, one per
+     * caller; a future leaves once completed or once its wait is over
+     */
+    private final Map<UUID, List<CompletableFuture<TransferSaga>>> outcomes = new ConcurrentHashMap<>();
+
+    public TransferSagaService(
+            LedgerService ledgerService,
+            AccountRepository accountRepository,
+            TransferSagaRepository sagaRepository,
+            LedgerMetrics ledgerMetrics,
+            PlatformTransactionManager transactionManager,
+            @Value("${bank.transfers.saga.workers:4}") int workerCount,
+            @Value("${bank.transfers.saga.queue-capacity:10000}") int queueCapacity,
+            @Value("${bank.transfers.saga.max-batch-size:100}") int maxBatchSize,
+            @Value("${bank.transfers.saga.stall-ms:30000}") long stallMillis,
+            @Value("${bank.transfers.saga.sweep-batch-size:1000}") int sweepBatchSize,
+            @Value("${bank.transfers.saga.max-wait-ms:20000}") long maxWaitMillis) {
+        if (sweepBatchSize <= 0 || stallMillis < 0 || maxWaitMillis < 0) {
+            throw new IllegalArgumentException(
+                    "Saga sweep batch size must be positive and the stall and wait times not negative");
+        }
+        this.ledgerService = ledgerService;
+        this.accountRepository = accountRepository;
+        this.sagaRepository = sagaRepository;
+        this.ledgerMetrics = ledgerMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workers = new TransferSagaWorkers(workerCount, queueCapacity, maxBatchSize, ledgerService::lockStripe,
+                this::runSteps);
+        this.stall = Duration.ofMillis(stallMillis);
+        this.sweepBatchSize = sweepBatchSize;
+        this.maxWait = Duration.ofMillis(maxWaitMillis);
+        ledgerMetrics.monitorTransferSagas(inFlight::get, workers::queued);
+    }
+
+    /**
+     * Starts a transfer between two accounts of the same currency.
+     *
+     * @param fromAccountId The UUID of the debited account
+     * @param toAccountId   The UUID of the credited account
+     * @param amount        The amount to transfer
+     * @param description   A description of the transfer
+     * @return The initiated saga, empty if either account does not exist
+     * @throws IllegalArgumentException if the accounts are the same, their currencies differ or the amount is invalid
+     * @throws IllegalStateException    in journal mode
+     */
+    public Optional<TransferSaga> initiate(UUID fromAccountId, UUID toAccountId, BigDecimal amount,
+            String description) {
+        if (ledgerService.journalMode()) {
+            throw new IllegalStateException("Transfer sagas need the database ledger, journal mode is enabled");
+        }
+        if (fromAccountId.equals(toAccountId)) {
+            throw new IllegalArgumentException("Cannot transfer to the same account");
+        }
+        Optional<TransferSaga> initiated = transactionTemplate.execute(status -> {
+            Optional<Account> from = accountRepository.findById(fromAccountId);
+            Optional<Account> to = accountRepository.findById(toAccountId);
+            if (from.isEmpty() || to.isEmpty()) {
+                return Optional.<TransferSaga>empty();
+            }
+            if (!from.get().getCurrency().equals(to.get().getCurrency())) {
+                throw new IllegalArgumentException("Cannot transfer between " + from.get().getCurrency()
+                        + " and " + to.get().getCurrency() + " accounts");
+            }
+            return Optional.of(sagaRepository.save(new TransferSaga(fromAccountId, toAccountId,
+                    Money.of(amount, from.get().getCurrency()), description)));
+        });
+        initiated.ifPresent(saga -> {
+            inFlight.incrementAndGet();
+            submit(saga);
+        });
+        return initiated;
+    }
+
+    /**
+     * Looks up a saga, waiting for it to reach its outcome if asked to.
+     *
+     * @param sagaId The UUID of the saga
+     * @param wait   How long to wait at most, zero to answer right away
+     * @return Future of the saga, completed with its outcome or, once the wait is over, its current state; empty if
+     *         it does not exist
+     * @throws IllegalArgumentException if the wait is negative or longer than the maximum
+     */
+    public CompletableFuture<Optional<TransferSaga>> awaitTransfer(UUID sagaId, Duration wait) {
+        if (wait.isNegative() || wait.compareTo(maxWait) > 0) {
+            throw new IllegalArgumentException("Wait must be between 0 and " + maxWait.toMillis() + " ms");
+        }
+        Optional<TransferSaga> current = sagaRepository.findById(sagaId);
+        if (current.isEmpty() || current.get().getStatus().isTerminal() || wait.isZero()) {
+            return CompletableFuture.completedFuture(current);
+        }
+        CompletableFuture<TransferSaga> outcome = new CompletableFuture<>();
+        outcomes.compute(sagaId, (id, waiting) -> {
+            List<CompletableFuture<TransferSaga>> futures = waiting != null ? waiting : new ArrayList<>();
+            futures.add(outcome);
+            return futures;
+        });
+        // The saga may have finished before the future was registered
+        sagaRepository.findById(sagaId).filter(saga -> saga.getStatus().isTerminal()).ifPresent(this::finish);
+        return outcome
+                .completeOnTimeout(null, wait.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((saga, failure) -> forget(sagaId, outcome))
+                .thenApply(saga -> saga != null ? Optional.of(saga) : sagaRepository.findById(sagaId));
+    }
+
+    /**
+     * Resumes the sagas in flight whose last step is older than the stall
+     * time: their step failed, was dropped by a full queue, or was lost in a
+     * restart.
+     */
+    @Scheduled(initialDelayString = "${bank.transfers.saga.sweep-interval-ms:10000}", fixedDelayString = "${bank.transfers.saga.sweep-interval-ms:10000}")
+    public void resumeStalled() {
+        try {
+            List<UUID> stalled = sagaRepository.findStalledIds(LocalDateTime.now().minus(stall),
+                    Limit.of(sweepBatchSize));
+            if (stalled.isEmpty()) {
+                return;
+            }
+            sagaRepository.findAllById(stalled).forEach(this::submit);
+            log.info("Resumed {} stalled transfer sagas", stalled.size());
+        } catch (RuntimeException e) {
+            log.error("Failed to resume stalled transfer sagas, retrying on the next sweep", e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void countInFlightOnStartup() {
+        inFlight.set(sagaRepository.countInFlight());
+    }
+
+    @PreDestroy
+    void stop() {
+        workers.close();
+    }
+
+    /**
+     * Runs the next step of some sagas on one account, in one transaction
+     * under the account's posting lock. A step the account refuses is undone
+     * and recorded on its saga; once committed, the sagas that moved on are
+     * submitted for their next step or finished.
+     */
+    private void runSteps(UUID accountId, List<UUID> sagaIds) {
+        long start = System.nanoTime();
+        List<TransferSaga> advanced = new ArrayList<>(sagaIds.size());
+        List<TransferSaga> stuck = new ArrayList<>();
+        String result = "ok";
+        try {
+            ledgerService.postBulk(List.of(accountId), accounts -> {
+                Account account = accounts.get(accountId);
+                List<Transaction> posted = new ArrayList<>();
+                for (TransferSaga saga : sagaRepository.findAllById(sagaIds)) {
+                    // A duplicate of a step that already ran
+                    if (!accountId.equals(saga.nextAccountId())) {
+                        continue;
+                    }
+                    Money balance = account == null ? null : account.getBalance();
+                    LocalDateTime postedAt = account == null ? null : account.getLastPostedAt();
+                    TransferSaga.Status before = saga.getStatus();
+                    try {
+                        posted.add(step(saga, account));
+                    } catch (IllegalArgumentException | IllegalStateException e) {
+                        if (account != null) {
+                            account.restoreLedgerState(balance, postedAt);
+                        }
+                        saga.refused(e.getMessage());
+                    }
+                    (saga.getStatus() == before ? stuck : advanced).add(saga);
+                }
+                afterCommit(() -> {
+                    advanced.forEach(this::advanced);
+                    // A refused reversal, e.g. on a closed account, is retried by the sweep
+                    stuck.forEach(saga -> log.warn("Reversal of transfer {} refused: {}", saga.getId(),
+                            saga.getFailureReason()));
+                });
+                return posted;
+            });
+        } catch (RuntimeException e) {
+            result = "failed";
+            throw e;
+        } finally {
+            ledgerMetrics.recordTransferSagaBatch(advanced.size() + stuck.size(), result, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Posts the next step of a saga to its loaded account.
+     *
+     * @throws IllegalStateException if the account is missing or refuses the step
+     */
+    private Transaction step(TransferSaga saga, Account account) {
+        if (account == null) {
+            throw new IllegalStateException("Account " + saga.nextAccountId() + " not found");
+        }
+        String description = saga.getDescription();
+        return switch (saga.getStatus()) {
+            case INITIATED -> {
+                Transaction debit = ledgerService.admitDebit(account,
+                        account.transferOut(saga.getAmount(), description));
+                saga.debited(debit);
+                yield debit;
+            }
+            case DEBITED -> {
+                Transaction credit = account.transferIn(saga.getAmount(), description);
+                saga.credited(credit);
+                yield credit;
+            }
+            default -> {
+                Transaction reversal = account.transferIn(saga.getAmount(), "Reversal of transfer " + saga.getId());
+                saga.compensated(reversal);
+                yield reversal;
+            }
+        };
+    }
+
+    private void advanced(TransferSaga saga) {
+        if (!saga.getStatus().isTerminal()) {
+            submit(saga);
+            return;
+        }
+        inFlight.decrementAndGet();
+        ledgerMetrics.recordTransferSaga(saga.getStatus().name().toLowerCase(),
+                Duration.between(saga.getCreatedAt(), saga.getCompletedAt()).toNanos());
+        finish(saga);
+    }
+
+    private void submit(TransferSaga saga) {
+        UUID accountId = saga.nextAccountId();
+        if (accountId != null && !workers.submit(saga.getId(), accountId)) {
+            log.debug("Transfer saga queue full, saga {} left to the stalled saga sweep", saga.getId());
+        }
+    }
+
+    private void finish(TransferSaga saga) {
+        List<CompletableFuture<TransferSaga>> waiting = outcomes.remove(saga.getId());
+        if (waiting != null) {
+            waiting.forEach(outcome -> outcome.complete(saga));
+        }
+    }
+
+    private void forget(UUID sagaId, CompletableFuture<TransferSaga> outcome) {
+        outcomes.computeIfPresent(sagaId, (id, waiting) -> {
+            waiting.remove(outcome);
+            return waiting.isEmpty() ? null : waiting;
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
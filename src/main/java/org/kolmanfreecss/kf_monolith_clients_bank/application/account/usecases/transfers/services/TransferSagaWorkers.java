@@ -0,0 +1,135 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.transfers.services;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.ToIntFunction;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Worker threads running the steps of transfer sagas.
+ * <p>
+ * Each worker owns a bounded queue and the steps of a set of posting lock
+ * stripes, so steps on the same account always run on the same worker and
+ * workers never wait on each other's locks. A worker takes whatever queued
+ * up, at most {@code maxBatchSize} steps, groups them by account, and hands
+ * each account's steps to a {@link BiConsumer} that runs them in a single
+ * database transaction on that account.
+ * <p>
+ * A step that finds its queue full is dropped: its saga is persisted, and
+ * is picked up again by the sweep for stalled sagas. On close, the steps
+ * already queued are still run.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Slf4j
+final class TransferSagaWorkers implements AutoCloseable {
+
+    private final List<BlockingQueue<Step>> queues = new ArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private final int maxBatchSize;
+    private final ToIntFunction<UUID> stripeOf;
+    private final BiConsumer<UUID, List<UUID>> stepRunner;
+    private volatile boolean closed;
+
+    /**
+     * @param workerCount  Number of worker threads
+     * @param capacity     Maximum number of queued steps per worker
+     * @param maxBatchSize Maximum number of steps per batch
+     * @param stripeOf     Posting lock stripe of an account
+     * @param stepRunner   Runs the steps of some sagas on an account
+     * @throws IllegalArgumentException if a count or size is not positive
+     */
+    TransferSagaWorkers(int workerCount, int capacity, int maxBatchSize, ToIntFunction<UUID> stripeOf,
+            BiConsumer<UUID, List<UUID>> stepRunner) {
+        if (workerCount <= 0 || capacity <= 0 || maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Saga workers, queue capacity and batch size must be positive");
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.stripeOf = stripeOf;
+        this.stepRunner = stepRunner;
+        for (int i = 0; i < workerCount; i++) {
+            BlockingQueue<Step> queue = new ArrayBlockingQueue<>(capacity);
+            queues.add(queue);
+            Thread worker = new Thread(() -> work(queue), "transfer-saga-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    /**
+     * Queues the next step of a saga.
+     *
+     * @param sagaId    The saga
+     * @param accountId The account its next step posts to
+     * @return false if the pipeline is closed or the worker's queue is full
+     */
+    boolean submit(UUID sagaId, UUID accountId) {
+        return !closed && queues.get(stripeOf.applyAsInt(accountId) % queues.size())
+                .offer(new Step(sagaId, accountId));
+    }
+
+    /**
+     * @return Number of queued steps
+     */
+    int queued() {
+        return queues.stream().mapToInt(BlockingQueue::size).sum();
+    }
+
+    /**
+     * Stops accepting steps and waits for the queued ones to run.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void work(BlockingQueue<Step> queue) {
+        List<Step> batch = new ArrayList<>(maxBatchSize);
+        while (!closed || !queue.isEmpty()) {
+            try {
+                Step first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+            } catch (InterruptedException e) {
+                // Only close() stops the workers; run what was collected
+            }
+            Map<UUID, Set<UUID>> byAccount = new LinkedHashMap<>();
+            batch.forEach(step -> byAccount.computeIfAbsent(step.accountId, id -> new LinkedHashSet<>())
+                    .add(step.sagaId));
+            byAccount.forEach((accountId, sagaIds) -> {
+                try {
+                    stepRunner.accept(accountId, List.copyOf(sagaIds));
+                } catch (RuntimeException e) {
+                    log.warn("Failed to run {} transfer saga steps on account {}, left to the stalled saga sweep",
+                            sagaIds.size(), accountId, e);
+                }
+            });
+            batch.clear();
+        }
+    }
+
+    private record Step(UUID sagaId, UUID accountId) {
+    }
+}
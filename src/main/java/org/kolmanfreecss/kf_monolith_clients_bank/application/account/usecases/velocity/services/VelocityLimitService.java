@@ -0,0 +1,294 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.velocity.services;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.fx.services.ExchangeRateService;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Account;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.vo.AccountStatus;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.ClientRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.events.ClientCreatedEvent;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.events.ClientDeletedEvent;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.events.ClientTypeChangedEvent;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.vo.ClientType;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.Money;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.RateMatrix;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics.LedgerMetrics;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.util.SlidingWindowCounters;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service enforcing velocity limits on account debits: at most so many
+ * withdrawals and outgoing transfers, and so much money, per account in the
+ * last minute and in the last hour, by {@link ClientType}.
+ * <p>
+ * The ledger admits each debit once the domain accepted it, under the
+ * account's posting lock and before it is recorded. Debits are counted in
+ * memory by {@link SlidingWindowCounters}, so the check costs no query:
+ * the type of every client with an open account is loaded at startup and
+ * kept up to date from the client events and as accounts are opened, and
+ * only a client missed by all of those, e.g. one created on another
+ * instance, is looked up on its first debit. Amounts are counted in
+ * {@code bank.velocity.currency} at the current exchange rates.
+ * <p>
+ * Debits that cannot be checked are rejected rather than let through: those
+ * of an account whose client is not found, and those in a currency without
+ * a rate when the client type has an amount limit (otherwise they only count
+ * towards the number of debits). Both are recorded in
+ * {@code bank.ledger.velocity.unchecked}.
+ * <p>
+ * Limits are per instance: with several instances each enforces them on the
+ * debits it posts. A debit admitted inside a transaction is taken back if
+ * the transaction rolls back; one admitted outside of any, e.g. in journal
+ * mode, stays counted until it leaves the window, which errs on the side of
+ * rejecting.
+ *
+ * Features:
+ * - Per client type count and amount limits per minute and per hour ({@code bank.velocity.*})
+ * - Lock-free sliding windows, idle account counters evicted every {@code bank.velocity.eviction-interval-ms}
+ * - Counts of rolled back debits released
+ * - Rejection metrics by client type and window, and of unchecked debits by reason
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Slf4j
+@Service
+public class VelocityLimitService {
+
+    private static final String[] WINDOWS = { "minute", "hour" };
+    private static final long UNLIMITED = Long.MAX_VALUE;
+    private static final UUID FIRST_ID = new UUID(0, 0);
+    private static final int WARM_UP_PAGE_SIZE = 1000;
+
+    private final AccountRepository accountRepository;
+    private final ClientRepository clientRepository;
+    private final ExchangeRateService exchangeRates;
+    private final LedgerMetrics ledgerMetrics;
+    private final boolean enabled;
+    private final Currency currency;
+    private final Map<ClientType, long[]> maxCounts = new EnumMap<>(ClientType.class);
+    private final Map<ClientType, long[]> maxAmounts = new EnumMap<>(ClientType.class);
+    private final SlidingWindowCounters<UUID> counters;
+
+    /**
+     * Type of each client with accounts, so that the hot path needs no query
+     */
+    private final Map<UUID, ClientType> clientTypes = new ConcurrentHashMap<>();
+
+    public VelocityLimitService(
+            AccountRepository accountRepository,
+            ClientRepository clientRepository,
+            ExchangeRateService exchangeRates,
+            LedgerMetrics ledgerMetrics,
+            @Value("${bank.velocity.enabled:true}") boolean enabled,
+            @Value("${bank.velocity.currency:EUR}") Currency currency,
+            @Value("#{${bank.velocity.minute.max-count:{:}}}") Map<String, Integer> minuteCounts,
+            @Value("#{${bank.velocity.minute.max-amount:{:}}}") Map<String, Integer> minuteAmounts,
+            @Value("#{${bank.velocity.hour.max-count:{:}}}") Map<String, Integer> hourCounts,
+            @Value("#{${bank.velocity.hour.max-amount:{:}}}") Map<String, Integer> hourAmounts,
+            @Value("${bank.velocity.buckets:12}") int buckets) {
+        this.accountRepository = accountRepository;
+        this.clientRepository = clientRepository;
+        this.exchangeRates = exchangeRates;
+        this.ledgerMetrics = ledgerMetrics;
+        this.enabled = enabled;
+        this.currency = currency;
+        for (ClientType type : ClientType.values()) {
+            maxCounts.put(type, new long[] { UNLIMITED, UNLIMITED });
+            maxAmounts.put(type, new long[] { UNLIMITED, UNLIMITED });
+        }
+        putLimits(maxCounts, 0, minuteCounts, 1);
+        putLimits(maxAmounts, 0, minuteAmounts, BigDecimal.ONE.movePointRight(currency.getDefaultFractionDigits())
+                .longValueExact());
+        putLimits(maxCounts, 1, hourCounts, 1);
+        putLimits(maxAmounts, 1, hourAmounts, BigDecimal.ONE.movePointRight(currency.getDefaultFractionDigits())
+                .longValueExact());
+        this.counters = new SlidingWindowCounters<>(List.of(
+                new SlidingWindowCounters.Window(Duration.ofMinutes(1), buckets),
+                new SlidingWindowCounters.Window(Duration.ofHours(1), buckets)));
+        ledgerMetrics.monitorVelocity(counters::size);
+    }
+
+    /**
+     * Counts a debit of an account against its velocity limits.
+     *
+     * @param account The debited account
+     * @param amount  The debited amount
+     * @throws IllegalStateException if the debit would exceed a limit or cannot be checked, in which case it is not
+     *                               counted
+     */
+    public void admit(Account account, Money amount) {
+        if (!enabled) {
+            return;
+        }
+        ClientType type = clientTypes.get(account.getClientId());
+        if (type == null) {
+            type = loadClientType(account.getClientId());
+        }
+        if (type == null) {
+            ledgerMetrics.recordVelocityUnchecked("unknown_client");
+            throw new IllegalStateException("Velocity limits cannot be checked for account " + account.getId()
+                    + ": client " + account.getClientId() + " not found");
+        }
+        long[] counts = maxCounts.get(type);
+        long[] amounts = maxAmounts.get(type);
+        long weight = weight(amount);
+        if (weight < 0) {
+            if (amounts[0] != UNLIMITED || amounts[1] != UNLIMITED) {
+                ledgerMetrics.recordVelocityUnchecked("no_rate");
+                throw new IllegalStateException("Velocity limits cannot be checked for account " + account.getId()
+                        + ": no exchange rate from " + amount.currency() + " to " + currency);
+            }
+            weight = 0;
+        }
+        long now = counters.now();
+        int exceeded = counters.tryAcquire(account.getId(), now, weight, counts, amounts);
+        if (exceeded >= 0) {
+            ledgerMetrics.recordVelocityRejection(type.name(), WINDOWS[exceeded]);
+            throw new IllegalStateException("Velocity limit per " + WINDOWS[exceeded] + " exceeded for account "
+                    + account.getId());
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            releaseOnRollback(account.getId(), now, weight);
+        }
+    }
+
+    /**
+     * Caches the client type of a newly opened account, so that its first
+     * debit finds it. Opening an account for a client already cached costs
+     * nothing.
+     *
+     * @param account The opened account
+     */
+    public void track(Account account) {
+        if (enabled && !clientTypes.containsKey(account.getClientId())) {
+            loadClientType(account.getClientId());
+        }
+    }
+
+    /**
+     * Loads the type of every client with an account that is not closed,
+     * page by page, before debits start flowing.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime openedBefore = LocalDateTime.now();
+        UUID after = FIRST_ID;
+        while (true) {
+            List<AccountRepository.AccountRef> accounts = accountRepository.findRefsAfter(after, openedBefore,
+                    AccountStatus.CLOSED, Limit.of(WARM_UP_PAGE_SIZE));
+            if (accounts.isEmpty()) {
+                break;
+            }
+            after = accounts.get(accounts.size() - 1).id();
+            List<UUID> missing = accounts.stream()
+                    .map(AccountRepository.AccountRef::clientId)
+                    .filter(clientId -> !clientTypes.containsKey(clientId))
+                    .distinct()
+                    .toList();
+            if (!missing.isEmpty()) {
+                // Events received meanwhile are newer than this read
+                clientRepository.findTypesByIdIn(missing)
+                        .forEach(ref -> clientTypes.putIfAbsent(ref.id(), ref.type()));
+            }
+        }
+        log.info("Velocity limits loaded the type of {} clients", clientTypes.size());
+    }
+
+    @TransactionalEventListener
+    public void onClientCreated(ClientCreatedEvent event) {
+        clientTypes.put(event.clientId(), event.type());
+    }
+
+    @TransactionalEventListener
+    public void onClientTypeChanged(ClientTypeChangedEvent event) {
+        clientTypes.put(event.clientId(), event.newType());
+    }
+
+    @TransactionalEventListener
+    public void onClientDeleted(ClientDeletedEvent event) {
+        clientTypes.remove(event.clientId());
+    }
+
+    /**
+     * Drops the counters of accounts without debits in the last hour. Client
+     * types are kept: they are only dropped with their client.
+     */
+    @Scheduled(initialDelayString = "${bank.velocity.eviction-interval-ms:60000}", fixedDelayString = "${bank.velocity.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        int evicted = counters.evictIdle();
+        if (evicted > 0) {
+            log.debug("Evicted velocity counters of {} idle accounts", evicted);
+        }
+    }
+
+    private ClientType loadClientType(UUID clientId) {
+        ClientType type = clientRepository.findTypesByIdIn(List.of(clientId)).stream()
+                .map(ClientRepository.ClientTypeRef::type)
+                .findFirst()
+                .orElse(null);
+        if (type != null) {
+            // An event received meanwhile is newer than this read
+            clientTypes.putIfAbsent(clientId, type);
+        }
+        return type;
+    }
+
+    private void releaseOnRollback(UUID accountId, long now, long weight) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    counters.release(accountId, now, weight);
+                }
+            }
+        });
+    }
+
+    /**
+     * Converts an amount to minor units of the limit currency, -1 if there
+     * is no rate for it.
+     */
+    private long weight(Money amount) {
+        if (amount.currency().equals(currency)) {
+            return Math.min(SlidingWindowCounters.MAX_WEIGHT, amount.minorUnits());
+        }
+        RateMatrix rates = exchangeRates.current();
+        if (!rates.supports(amount.currency()) || !rates.supports(currency)) {
+            return -1;
+        }
+        return Math.min(SlidingWindowCounters.MAX_WEIGHT, rates.convert(amount, currency).minorUnits());
+    }
+
+    private static void putLimits(Map<ClientType, long[]> limits, int window, Map<String, Integer> byType,
+            long unit) {
+        byType.forEach((type, limit) -> {
+            if (limit == null || limit < 0) {
+                throw new IllegalArgumentException("Velocity limits cannot be negative");
+            }
+            limits.get(ClientType.valueOf(type))[window] = Math.multiplyExact(limit.longValue(), unit);
+        });
+    }
+}
@@ -4,10 +4,18 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
+import org.kolmanfreecss.kf_monolith_clients_bank.application.client.usecases.onboarding.services.DocumentIdRegistryService;
 import org.kolmanfreecss.kf_monolith_clients_bank.application.client.usecases.permissions.services.ClientCenterRightsService;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.client.usecases.statistics.models.ClientCountsSummary;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.client.usecases.statistics.services.ClientCountersService;
 import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.Client;
 import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.ClientRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.events.ClientCreatedEvent;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.events.ClientDeletedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,6 +36,9 @@ public class ClientService {
 
     private final ClientRepository clientRepository;
     private final ClientCenterRightsService clientCenterRightsService;
+    private final ClientCountersService clientCountersService;
+    private final DocumentIdRegistryService documentIdRegistryService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public List<Client> getAllClients() {
@@ -39,24 +50,151 @@ public class ClientService {
         return Optional.ofNullable(clientRepository.findByIdCached(id));
     }
 
+    /**
+     * Returns only the optimistic-locking version of a client. Used by
+     * conditional requests so that unchanged resources can be answered without
+     * loading the full aggregate.
+     *
+     * @param id The UUID of the client
+     * @return The current version, empty if the client does not exist
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> getClientVersion(UUID id) {
+        return clientRepository.findVersionById(id);
+    }
+
+    /**
+     * Registers a new client. The aggregate is always built through its
+     * constructor, so identity, initial status and creation date are assigned by
+     * the domain and not taken from the request payload.
+     *
+     * @param client The client data to register
+     * @return The persisted client
+     * @throws IllegalArgumentException if the personal information is missing
+     * @throws IllegalStateException    if a client with the same document id exists
+     */
     @Transactional
     public Client createClient(Client client) {
-        return clientRepository.save(client);
+        if (client.getPersonalInformation() == null) {
+            throw new IllegalArgumentException("Personal information cannot be null");
+        }
+        String documentId = client.getPersonalInformation().documentId();
+        documentIdRegistryService.assertAvailable(documentId);
+        Client saved = clientRepository.save(new Client(
+                client.getPersonalInformation(), client.getAddress(), client.getContactDetails(), client.getType()));
+        documentIdRegistryService.register(documentId);
+        eventPublisher.publishEvent(new ClientCreatedEvent(saved.getId(), saved.getStatus().getStatus(), saved.getType()));
+        return saved;
     }
 
     @Transactional
     public Optional<Client> updateClient(UUID id, Client updatedClient) {
+        return updateClient(id, updatedClient, null);
+    }
+
+    /**
+     * Updates a client only if its current version is one of the expected ones.
+     * The version is checked with a version-only lookup first, so stale writes
+     * are rejected without loading the aggregate. The entity {@code @Version}
+     * still guards against a concurrent write between the check and the flush.
+     *
+     * @param id               The UUID of the client
+     * @param updatedClient    The client data to apply
+     * @param expectedVersions The versions the caller accepts, or null to skip the check
+     * @return The updated client, empty if the client does not exist
+     * @throws ObjectOptimisticLockingFailureException if the version does not match
+     */
+    @Transactional
+    public Optional<Client> updateClient(UUID id, Client updatedClient, Set<Long> expectedVersions) {
+        if (expectedVersions != null) {
+            Optional<Long> currentVersion = clientRepository.findVersionById(id);
+            if (currentVersion.isEmpty()) {
+                return Optional.empty();
+            }
+            if (!expectedVersions.contains(currentVersion.get())) {
+                throw new ObjectOptimisticLockingFailureException(Client.class, id);
+            }
+        }
         return clientRepository.findById(id).map(existingClient -> {
+            if (expectedVersions != null && !expectedVersions.contains(existingClient.getVersion())) {
+                throw new ObjectOptimisticLockingFailureException(Client.class, id);
+            }
             existingClient.updateAddress(updatedClient.getAddress());
             existingClient.updateContactDetails(updatedClient.getContactDetails());
             existingClient.updateType(updatedClient.getType());
-            return clientRepository.save(existingClient);
+            // Flush so the returned entity carries the incremented version for the new ETag
+            return clientRepository.saveAndFlush(existingClient);
         });
     }
 
     @Transactional
     public void deleteClient(UUID id) {
-        clientRepository.deleteById(id);
+        clientRepository.findById(id).ifPresent(client -> {
+            clientRepository.delete(client);
+            eventPublisher.publishEvent(new ClientDeletedEvent(
+                    id, client.getStatus() == null ? null : client.getStatus().getStatus(), client.getType()));
+        });
+    }
+
+    /**
+     * Verifies a client pending verification.
+     *
+     * @param id The UUID of the client
+     * @return The updated client, empty if the client does not exist
+     * @throws IllegalStateException if the client is not pending verification
+     */
+    @Transactional
+    public Optional<Client> verifyClient(UUID id) {
+        return transition(id, Client::verify);
+    }
+
+    /**
+     * Suspends a client.
+     *
+     * @param id     The UUID of the client
+     * @param reason The reason for the suspension
+     * @return The updated client, empty if the client does not exist
+     * @throws IllegalStateException if the client is already suspended
+     */
+    @Transactional
+    public Optional<Client> suspendClient(UUID id, String reason) {
+        return transition(id, client -> client.suspend(reason));
+    }
+
+    /**
+     * Blocks a client.
+     *
+     * @param id     The UUID of the client
+     * @param reason The reason for the block
+     * @return The updated client, empty if the client does not exist
+     * @throws IllegalStateException if the client is already blocked
+     */
+    @Transactional
+    public Optional<Client> blockClient(UUID id, String reason) {
+        return transition(id, client -> client.block(reason));
+    }
+
+    /**
+     * Activates a client.
+     *
+     * @param id     The UUID of the client
+     * @param reason The reason for the activation
+     * @return The updated client, empty if the client does not exist
+     * @throws IllegalStateException if the client is already active
+     */
+    @Transactional
+    public Optional<Client> activateClient(UUID id, String reason) {
+        return transition(id, client -> client.activate(reason));
+    }
+
+    /**
+     * Returns client counts per status and type from the event-maintained
+     * counters. Never scans the clients table.
+     *
+     * @return The current client counts
+     */
+    public ClientCountsSummary getClientSummary() {
+        return clientCountersService.getSummary();
     }
 
     @Transactional(readOnly = true)
@@ -68,4 +206,16 @@ public class ClientService {
     public Set<String> updateClientRights(UUID clientId, Set<String> newRights) {
         return clientCenterRightsService.updateClientRights(clientId, newRights);
     }
+
+    /**
+     * Applies a status transition and saves the aggregate so that its domain
+     * events are published. The client version is force-incremented because the
+     * change only touches the cascaded status entity.
+     */
+    private Optional<Client> transition(UUID id, Consumer<Client> change) {
+        return clientRepository.findForStatusChangeById(id).map(client -> {
+            change.accept(client);
+            return clientRepository.saveAndFlush(client);
+        });
+    }
 }
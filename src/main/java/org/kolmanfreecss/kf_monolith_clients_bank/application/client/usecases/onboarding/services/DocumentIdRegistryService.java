@@ -0,0 +1,194 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.client.usecases.onboarding.services;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.ClientRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.events.ClientDeletedEvent;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics.ClientMetrics;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.util.ScalableBloomFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service guarding the uniqueness of client document ids at onboarding.
+ * <p>
+ * A {@link ScalableBloomFilter} over every existing document id answers most
+ * checks without touching the database: a negative answer is definitive, and
+ * only possible duplicates are confirmed with an indexed existence query.
+ * <p>
+ * The filter is rebuilt from a streaming scan at startup. New document ids are
+ * added once their client is committed. Until then a concurrent onboarding
+ * with the same document id may pass the check, and is refused by the unique
+ * index on insert. Bloom filters cannot forget, so deletions only leave
+ * stale bits that raise the false-positive rate; once the share of deleted
+ * entries exceeds the configured ratio the filter is rebuilt in the
+ * background. Until the first build completes every check goes to the
+ * database.
+ *
+ * Features:
+ * - Lock-free membership checks on the onboarding path
+ * - Indexed confirmation of possible duplicates only
+ * - Background rebuilds that do not lose registrations committed during the scan
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Slf4j
+@Service
+public class DocumentIdRegistryService {
+
+    private final ClientRepository clientRepository;
+    private final ClientMetrics clientMetrics;
+    private final long expectedInsertions;
+    private final double falsePositiveProbability;
+    private final double rebuildStaleRatio;
+
+    private volatile ScalableBloomFilter filter;
+    private volatile boolean ready;
+
+    /**
+     * Document ids registered while a rebuild scan is running, replayed into the
+     * new filter before it is published
+     */
+    private volatile Queue<String> registeredDuringRebuild;
+
+    private final AtomicLong deletedSinceRebuild = new AtomicLong();
+
+    public DocumentIdRegistryService(
+            ClientRepository clientRepository,
+            ClientMetrics clientMetrics,
+            @Value("${bank.clients.document-id-filter.expected-insertions:100000}") long expectedInsertions,
+            @Value("${bank.clients.document-id-filter.false-positive-probability:0.001}") double falsePositiveProbability,
+            @Value("${bank.clients.document-id-filter.rebuild-stale-ratio:0.2}") double rebuildStaleRatio) {
+        this.clientRepository = clientRepository;
+        this.clientMetrics = clientMetrics;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.rebuildStaleRatio = rebuildStaleRatio;
+        this.filter = new ScalableBloomFilter(expectedInsertions, falsePositiveProbability);
+        clientMetrics.registerDocumentIdFilterGauges(
+                () -> filter.expectedFalsePositiveProbability(),
+                () -> filter.memoryBytes(),
+                () -> filter.approximateElementCount());
+    }
+
+    /**
+     * Checks that no client is registered with the given document id.
+     *
+     * @param documentId The document id of the client being onboarded
+     * @throws IllegalStateException if a client with this document id already exists
+     */
+    @Transactional(readOnly = true)
+    public void assertAvailable(String documentId) {
+        boolean filterReady = ready;
+        if (filterReady && !filter.mightContain(documentId)) {
+            clientMetrics.recordDocumentIdCheck("negative");
+            return;
+        }
+        boolean exists = clientRepository.existsByDocumentId(documentId);
+        if (!filterReady) {
+            clientMetrics.recordDocumentIdCheck("unfiltered");
+        } else {
+            clientMetrics.recordDocumentIdCheck(exists ? "duplicate" : "false_positive");
+        }
+        if (exists) {
+            throw new IllegalStateException("A client with this document id already exists");
+        }
+    }
+
+    /**
+     * Adds a newly registered document id to the filter once the creating
+     * transaction commits, so a rolled back client leaves nothing behind and a
+     * rebuild scan that misses the client sees its registration.
+     *
+     * @param documentId The document id of the new client
+     */
+    public void register(String documentId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            add(documentId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                add(documentId);
+            }
+        });
+    }
+
+    private void add(String documentId) {
+        Queue<String> pending = registeredDuringRebuild;
+        if (pending != null) {
+            pending.add(documentId);
+        }
+        filter.put(documentId);
+    }
+
+    @TransactionalEventListener
+    public void onClientDeleted(ClientDeletedEvent event) {
+        deletedSinceRebuild.incrementAndGet();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * Rebuilds the filter when deletions have left too many stale entries.
+     */
+    @Scheduled(fixedDelayString = "${bank.clients.document-id-filter.stale-check-interval-ms:60000}")
+    @Transactional(readOnly = true)
+    public void rebuildIfStale() {
+        long elements = filter.approximateElementCount();
+        if (ready && elements > 0 && (double) deletedSinceRebuild.get() / elements > rebuildStaleRatio) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Builds a fresh filter from a streaming scan of all document ids and
+     * publishes it. Must run inside a read-only transaction because the scan
+     * is streamed.
+     * <p>
+     * Registrations are added after their commit, and the queue collecting
+     * them is installed before the scan query starts. A client committed
+     * before the queue exists is therefore seen by the scan, and one committed
+     * later is queued and replayed into the new filter. Neither is lost.
+     */
+    private synchronized void rebuild() {
+        long start = System.nanoTime();
+        registeredDuringRebuild = new ConcurrentLinkedQueue<>();
+        long deletedBefore = deletedSinceRebuild.get();
+        ScalableBloomFilter fresh = new ScalableBloomFilter(expectedInsertions, falsePositiveProbability);
+        try (Stream<String> documentIds = clientRepository.streamAllDocumentIds()) {
+            documentIds.forEach(fresh::put);
+        } catch (RuntimeException e) {
+            registeredDuringRebuild = null;
+            log.error("Document id filter rebuild failed, keeping the previous filter", e);
+            return;
+        }
+        Queue<String> pending = registeredDuringRebuild;
+        filter = fresh;
+        registeredDuringRebuild = null;
+        // Registrations that raced with the swap may be in the queue but not yet in the new filter
+        pending.forEach(fresh::put);
+        deletedSinceRebuild.addAndGet(-deletedBefore);
+        ready = true;
+        log.info("Document id filter rebuilt with {} entries ({} bytes) in {} ms",
+                fresh.approximateElementCount(), fresh.memoryBytes(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,24 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.client.usecases.statistics.models;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.ClientStatus;
+
+/**
+ * ClientCountsSummary Service Model
+ * <p>
+ * Point-in-time view of the event-maintained client counters. Built from
+ * in-memory counters, never from a table scan.
+ *
+ * @param total            Total number of clients
+ * @param byStatus         Number of clients per status
+ * @param byType           Number of clients per type name
+ * @param lastReconciledAt When the counters were last reconciled against the database, null if never
+ */
+public record ClientCountsSummary(
+        long total,
+        Map<ClientStatus.Status, Long> byStatus,
+        Map<String, Long> byType,
+        LocalDateTime lastReconciledAt) {
+}
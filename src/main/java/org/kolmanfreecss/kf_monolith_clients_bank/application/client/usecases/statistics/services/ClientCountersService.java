@@ -0,0 +1,259 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.client.usecases.statistics.services;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.client.usecases.statistics.models.ClientCountsSummary;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.ClientRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.ClientStatus;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.events.ClientCreatedEvent;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.events.ClientDeletedEvent;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.events.ClientStatusChangedEvent;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.events.ClientTypeChangedEvent;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.vo.ClientType;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics.ClientMetrics;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service maintaining client counts per status and per type.
+ * <p>
+ * Counts are kept in memory as a status x type matrix and updated
+ * incrementally from client domain events once the originating transaction has
+ * committed. Reading them never touches the database. A periodic
+ * reconciliation corrects the matrix with the result of a single
+ * {@code GROUP BY} query, which bounds any drift (events lost on a crash,
+ * writes made outside the service) to one reconciliation interval.
+ * <p>
+ * The correction is applied as a delta from the counts read before the
+ * query, not by overwriting them, so that the events applied while the query
+ * runs are kept. An event is tracked from just before its transaction commits
+ * until it is applied; a query result is only used if no event was applied
+ * while it ran and none was still pending when it returned, as the query may
+ * or may not have seen their commits. Otherwise the query is retried, and
+ * after {@value #RECONCILE_ATTEMPTS} attempts the correction waits for the
+ * next reconciliation.
+ *
+ * Features:
+ * - Lock-free incremental updates from domain events
+ * - Per-status and per-type gauges
+ * - Periodic reconciliation with one aggregate query
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Slf4j
+@Service
+public class ClientCountersService {
+
+    private static final ClientStatus.Status[] STATUSES = ClientStatus.Status.values();
+    private static final ClientType[] TYPES = ClientType.values();
+    private static final int RECONCILE_ATTEMPTS = 3;
+
+    private final ClientRepository clientRepository;
+    private final ClientMetrics clientMetrics;
+
+    /**
+     * Counts indexed by {@code status.ordinal() * TYPES.length + type.ordinal()}
+     */
+    private final AtomicLongArray counts = new AtomicLongArray(STATUSES.length * TYPES.length);
+    /**
+     * Events whose transaction is committing and that are not applied yet
+     */
+    private final AtomicLong pendingEvents = new AtomicLong();
+    /**
+     * Events applied so far, including those of rolled back transactions
+     */
+    private final AtomicLong appliedEvents = new AtomicLong();
+
+    private volatile LocalDateTime lastReconciledAt;
+
+    public ClientCountersService(ClientRepository clientRepository, ClientMetrics clientMetrics) {
+        this.clientRepository = clientRepository;
+        this.clientMetrics = clientMetrics;
+        Map<String, LongSupplier> byStatus = new LinkedHashMap<>();
+        for (ClientStatus.Status status : STATUSES) {
+            byStatus.put(status.name(), () -> countByStatus(status));
+        }
+        Map<String, LongSupplier> byType = new LinkedHashMap<>();
+        for (ClientType type : TYPES) {
+            byType.put(type.name(), () -> countByType(type));
+        }
+        clientMetrics.registerClientCountGauges(byStatus, byType);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onClientCreated(ClientCreatedEvent event) {
+        afterCommit(() -> apply(event.status(), event.type(), 1));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onClientDeleted(ClientDeletedEvent event) {
+        afterCommit(() -> apply(event.status(), event.type(), -1));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onClientStatusChanged(ClientStatusChangedEvent event) {
+        afterCommit(() -> {
+            apply(event.previousStatus(), event.type(), -1);
+            apply(event.newStatus(), event.type(), 1);
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onClientTypeChanged(ClientTypeChangedEvent event) {
+        afterCommit(() -> {
+            apply(event.status(), event.previousType(), -1);
+            apply(event.status(), event.newType(), 1);
+        });
+    }
+
+    /**
+     * Corrects the in-memory counts with a fresh {@code GROUP BY} over the
+     * clients table. Runs at startup and then on a fixed delay.
+     * <p>
+     * Each count moves by {@code fresh - before}, {@code before} being its
+     * value when the query started: an event applied concurrently stays on
+     * top of the fresh count instead of being overwritten. The query is
+     * retried while events are applied or pending around it.
+     */
+    @Scheduled(initialDelayString = "${bank.clients.counters.reconcile-initial-delay-ms:0}", fixedDelayString = "${bank.clients.counters.reconcile-interval-ms:300000}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        for (int attempt = 1; attempt <= RECONCILE_ATTEMPTS; attempt++) {
+            long applied = appliedEvents.get();
+            long[] before = new long[counts.length()];
+            for (int i = 0; i < before.length; i++) {
+                before[i] = counts.get(i);
+            }
+            List<ClientRepository.StatusTypeCount> rows = clientRepository.countByStatusAndType();
+            // Pending first: an event applied between the two reads shows in the second
+            if (pendingEvents.get() == 0 && appliedEvents.get() == applied) {
+                correct(before, rows);
+                return;
+            }
+        }
+        log.debug("Client counters not reconciled, clients kept changing during {} attempts", RECONCILE_ATTEMPTS);
+    }
+
+    /**
+     * @param status The client status
+     * @return Number of clients currently in the given status
+     */
+    public long countByStatus(ClientStatus.Status status) {
+        long total = 0;
+        int base = status.ordinal() * TYPES.length;
+        for (int t = 0; t < TYPES.length; t++) {
+            total += counts.get(base + t);
+        }
+        return total;
+    }
+
+    /**
+     * @param type The client type
+     * @return Number of clients currently of the given type
+     */
+    public long countByType(ClientType type) {
+        long total = 0;
+        for (int s = 0; s < STATUSES.length; s++) {
+            total += counts.get(s * TYPES.length + type.ordinal());
+        }
+        return total;
+    }
+
+    /**
+     * Builds a summary of the current counters without querying the database.
+     *
+     * @return The current client counts
+     */
+    public ClientCountsSummary getSummary() {
+        Map<ClientStatus.Status, Long> byStatus = new EnumMap<>(ClientStatus.Status.class);
+        Map<String, Long> byType = new LinkedHashMap<>();
+        long total = 0;
+        for (ClientStatus.Status status : STATUSES) {
+            long count = countByStatus(status);
+            byStatus.put(status, count);
+            total += count;
+        }
+        for (ClientType type : TYPES) {
+            byType.put(type.name(), countByType(type));
+        }
+        return new ClientCountsSummary(total, byStatus, byType, lastReconciledAt);
+    }
+
+    private void correct(long[] before, List<ClientRepository.StatusTypeCount> rows) {
+        long[] fresh = new long[counts.length()];
+        for (ClientRepository.StatusTypeCount row : rows) {
+            // Summed because sharded storage returns one row per combination and shard
+            if (row.getStatus() != null && row.getType() != null) {
+                fresh[index(row.getStatus(), row.getType())] += row.getTotal();
+            }
+        }
+        long drift = 0;
+        for (int i = 0; i < fresh.length; i++) {
+            long delta = fresh[i] - before[i];
+            if (delta != 0) {
+                counts.addAndGet(i, delta);
+                drift += Math.abs(delta);
+            }
+        }
+        lastReconciledAt = LocalDateTime.now();
+        publishActive();
+        if (drift > 0) {
+            log.warn("Client counters reconciled with a drift of {} clients", drift);
+        }
+    }
+
+    /**
+     * Applies an update once the current transaction has committed, keeping
+     * it pending from now until then.
+     */
+    private void afterCommit(Runnable update) {
+        pendingEvents.incrementAndGet();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        update.run();
+                    }
+                } finally {
+                    appliedEvents.incrementAndGet();
+                    pendingEvents.decrementAndGet();
+                }
+            }
+        });
+    }
+
+    private void apply(ClientStatus.Status status, ClientType type, long delta) {
+        // Clients persisted without status or type are not counted until reconciled
+        if (status == null || type == null) {
+            return;
+        }
+        counts.addAndGet(index(status, type), delta);
+        if (status == ClientStatus.Status.ACTIVE) {
+            publishActive();
+        }
+    }
+
+    private void publishActive() {
+        clientMetrics.setActiveClients((int) countByStatus(ClientStatus.Status.ACTIVE));
+    }
+
+    private static int index(ClientStatus.Status status, ClientType type) {
+        return status.ordinal() * TYPES.length + type.ordinal();
+    }
+}
@@ -0,0 +1,22 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.fx.models;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.Map;
+
+/**
+ * RateSheet Service Model
+ * <p>
+ * Exchange rates as published by a rate source: the rate of each currency
+ * against one base currency.
+ *
+ * @param base  The base currency
+ * @param asOf  When the rates were quoted
+ * @param rates Units of each currency worth one unit of the base currency
+ */
+public record RateSheet(
+        Currency base,
+        Instant asOf,
+        Map<Currency, BigDecimal> rates) {
+}
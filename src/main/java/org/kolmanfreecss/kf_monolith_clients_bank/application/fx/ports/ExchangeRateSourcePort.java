@@ -0,0 +1,20 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.fx.ports;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.fx.models.RateSheet;
+
+/**
+ * Port interface for the source of exchange rates.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public interface ExchangeRateSourcePort {
+
+    /**
+     * Fetches the latest rates.
+     *
+     * @return The rate sheet
+     * @throws IllegalStateException if the rates cannot be read or are malformed
+     */
+    RateSheet load();
+}
@@ -0,0 +1,97 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.fx.services;
+
+import java.util.Currency;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.fx.models.RateSheet;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.fx.ports.ExchangeRateSourcePort;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.Money;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.RateMatrix;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service holding the current exchange rates.
+ * <p>
+ * The rates are an immutable {@link RateMatrix} published through a volatile
+ * field: a reload builds a complete new matrix off to the side and swaps it
+ * in with a single write, so conversions never lock and never see a
+ * half-updated table. Callers converting several amounts that must agree,
+ * like the totals of one statement, take the matrix once with
+ * {@link #current()} and convert them all against it.
+ * <p>
+ * Rates are loaded at startup, so the application does not start without
+ * them, and reloaded every {@code bank.fx.refresh-interval-ms}; a failed
+ * reload keeps the previous rates.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Slf4j
+@Service
+public class ExchangeRateService {
+
+    private final ExchangeRateSourcePort source;
+    private volatile RateMatrix rates;
+
+    public ExchangeRateService(ExchangeRateSourcePort source) {
+        this.source = source;
+        this.rates = build(source.load());
+        log.info("Exchange rates loaded: {} currencies against {} as of {}", rates.currencies().size(),
+                rates.base().getCurrencyCode(), rates.asOf());
+    }
+
+    /**
+     * @return The current rates
+     */
+    public RateMatrix current() {
+        return rates;
+    }
+
+    /**
+     * Converts an amount at the current rates, rounding half to even.
+     *
+     * @param amount The amount
+     * @param to     Target currency
+     * @return The amount in the target currency
+     * @throws IllegalArgumentException if there is no rate for a currency
+     */
+    public Money convert(Money amount, Currency to) {
+        return rates.convert(amount, to);
+    }
+
+    /**
+     * Loads the rates from the source and makes them current.
+     *
+     * @return The new rates
+     * @throws IllegalStateException if the rates cannot be read or are invalid
+     */
+    public synchronized RateMatrix reload() {
+        RateMatrix loaded = build(source.load());
+        RateMatrix previous = rates;
+        rates = loaded;
+        if (!loaded.asOf().equals(previous.asOf())) {
+            log.info("Exchange rates updated: {} currencies against {} as of {}", loaded.currencies().size(),
+                    loaded.base().getCurrencyCode(), loaded.asOf());
+        }
+        return loaded;
+    }
+
+    @Scheduled(initialDelayString = "${bank.fx.refresh-interval-ms:300000}", fixedDelayString = "${bank.fx.refresh-interval-ms:300000}")
+    void refresh() {
+        try {
+            reload();
+        } catch (IllegalStateException e) {
+            log.warn("Could not reload exchange rates, keeping those as of {}: {}", rates.asOf(), e.getMessage());
+        }
+    }
+
+    private static RateMatrix build(RateSheet sheet) {
+        try {
+            return RateMatrix.of(sheet.base(), sheet.asOf(), sheet.rates());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid exchange rates: " + e.getMessage(), e);
+        }
+    }
+}
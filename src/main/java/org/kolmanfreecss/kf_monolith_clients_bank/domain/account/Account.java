@@ -0,0 +1,416 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.domain.account;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Currency;
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.vo.AccountStatus;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.Money;
+
+import jakarta.persistence.AttributeOverride;
+import jakarta.persistence.AttributeOverrides;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embedded;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Account Aggregate Root Entity
+ * <p>
+ * A single-currency bank account owned by a client. Every balance change goes
+ * through a domain method that enforces the {@link AccountStatus} rules and
+ * returns the {@link Transaction} recording it, with the resulting balance in
+ * {@code balanceAfterTransaction}. The balance is kept as {@link Money} minor
+ * units; decimal amounts are converted once, without rounding, when they
+ * enter the aggregate.
+ * <p>
+ * Postings get strictly increasing timestamps per account (microsecond
+ * precision, as stored), so ordering an account's transactions by timestamp
+ * is their posting order and the last one of a period carries its closing
+ * balance.
+ * <p>
+ * Rules:
+ * - Amounts must be positive and fit the currency's minor units
+ * - Withdrawals and outgoing transfers require {@link AccountStatus#canWithdraw()}
+ * and may not overdraw the account
+ * - Deposits, incoming transfers and interest require {@link AccountStatus#canDeposit()}
+ * - Fees require {@link AccountStatus#canBeCharged()} and may not overdraw the account
+ * - Holds require {@link AccountStatus#canWithdraw()} and may not exceed the available balance, the balance minus
+ * the active holds; capturing one withdraws at most its amount
+ * - Only accounts with a zero balance can be closed
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "accounts", indexes = {
+        @Index(name = "idx_accounts_client_id", columnList = "client_id") })
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED) // JPA
+public class Account {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "client_id", nullable = false)
+    private UUID clientId;
+
+    @Embedded
+    @AttributeOverrides({
+            @AttributeOverride(name = "minorUnits", column = @Column(name = "balance_minor_units", nullable = false)),
+            @AttributeOverride(name = "currency", column = @Column(name = "balance_currency", nullable = false, length = 3)) })
+    private Money balance;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AccountStatus status;
+
+    @Column(nullable = false)
+    private LocalDateTime openedAt;
+
+    /**
+     * Timestamp of the latest posting, null before the first one
+     */
+    private LocalDateTime lastPostedAt;
+
+    /**
+     * Version field for optimistic locking
+     */
+    @Version
+    private Long version;
+
+    /**
+     * Opens a new active account with a zero balance.
+     *
+     * @param clientId The UUID of the owning client
+     * @param currency The currency of the account
+     * @throws IllegalArgumentException if the client or currency is missing
+     */
+    public Account(UUID clientId, Currency currency) {
+        if (clientId == null) {
+            throw new IllegalArgumentException("Client id cannot be null");
+        }
+        this.id = UUID.randomUUID();
+        this.clientId = clientId;
+        this.balance = Money.zero(currency);
+        this.status = AccountStatus.ACTIVE;
+        this.openedAt = LocalDateTime.now();
+    }
+
+    // Domain methods
+
+    /**
+     * Deposits money into the account.
+     *
+     * @param amount      The amount to deposit
+     * @param description A description of the deposit
+     * @return The transaction recording the deposit
+     * @throws IllegalArgumentException if the amount is invalid
+     * @throws IllegalStateException    if the account does not accept deposits
+     */
+    public Transaction deposit(BigDecimal amount, String description) {
+        return deposit(toMoney(amount), description);
+    }
+
+    /**
+     * Deposits money into the account.
+     *
+     * @param amount      The amount to deposit, in the account currency
+     * @param description A description of the deposit
+     * @return The transaction recording the deposit
+     * @throws IllegalArgumentException if the amount is not positive or in another currency
+     * @throws IllegalStateException    if the account does not accept deposits
+     */
+    public Transaction deposit(Money amount, String description) {
+        requireDeposits();
+        return credit(Transaction.TransactionType.DEPOSIT, amount, description);
+    }
+
+    /**
+     * Withdraws money from the account.
+     *
+     * @param amount      The amount to withdraw
+     * @param description A description of the withdrawal
+     * @return The transaction recording the withdrawal
+     * @throws IllegalArgumentException if the amount is invalid
+     * @throws IllegalStateException    if the account does not allow withdrawals or lacks funds
+     */
+    public Transaction withdraw(BigDecimal amount, String description) {
+        return withdraw(toMoney(amount), description);
+    }
+
+    /**
+     * Withdraws money from the account.
+     *
+     * @param amount      The amount to withdraw, in the account currency
+     * @param description A description of the withdrawal
+     * @return The transaction recording the withdrawal
+     * @throws IllegalArgumentException if the amount is not positive or in another currency
+     * @throws IllegalStateException    if the account does not allow withdrawals or lacks funds
+     */
+    public Transaction withdraw(Money amount, String description) {
+        requireWithdrawals();
+        return debit(Transaction.TransactionType.WITHDRAWAL, amount, description);
+    }
+
+    /**
+     * Debits the outgoing leg of a transfer.
+     *
+     * @param amount      The amount to transfer
+     * @param description A description of the transfer
+     * @return The {@code TRANSFER_OUT} transaction
+     * @throws IllegalArgumentException if the amount is invalid
+     * @throws IllegalStateException    if the account does not allow withdrawals or lacks funds
+     */
+    public Transaction transferOut(BigDecimal amount, String description) {
+        return transferOut(toMoney(amount), description);
+    }
+
+    /**
+     * Debits the outgoing leg of a transfer.
+     *
+     * @param amount      The amount to transfer, in the account currency
+     * @param description A description of the transfer
+     * @return The {@code TRANSFER_OUT} transaction
+     * @throws IllegalArgumentException if the amount is not positive or in another currency
+     * @throws IllegalStateException    if the account does not allow withdrawals or lacks funds
+     */
+    public Transaction transferOut(Money amount, String description) {
+        requireWithdrawals();
+        return debit(Transaction.TransactionType.TRANSFER_OUT, amount, description);
+    }
+
+    /**
+     * Credits the incoming leg of a transfer.
+     *
+     * @param amount      The amount to transfer
+     * @param description A description of the transfer
+     * @return The {@code TRANSFER_IN} transaction
+     * @throws IllegalArgumentException if the amount is invalid
+     * @throws IllegalStateException    if the account does not accept deposits
+     */
+    public Transaction transferIn(BigDecimal amount, String description) {
+        return transferIn(toMoney(amount), description);
+    }
+
+    /**
+     * Credits the incoming leg of a transfer.
+     *
+     * @param amount      The amount to transfer, in the account currency
+     * @param description A description of the transfer
+     * @return The {@code TRANSFER_IN} transaction
+     * @throws IllegalArgumentException if the amount is not positive or in another currency
+     * @throws IllegalStateException    if the account does not accept deposits
+     */
+    public Transaction transferIn(Money amount, String description) {
+        requireDeposits();
+        return credit(Transaction.TransactionType.TRANSFER_IN, amount, description);
+    }
+
+    /**
+     * Credits interest earned on the balance.
+     *
+     * @param amount      The interest, in the account currency
+     * @param description A description of the interest period
+     * @return The {@code INTEREST} transaction
+     * @throws IllegalArgumentException if the amount is not positive or in another currency
+     * @throws IllegalStateException    if the account does not accept deposits
+     */
+    public Transaction payInterest(Money amount, String description) {
+        requireDeposits();
+        return credit(Transaction.TransactionType.INTEREST, amount, description);
+    }
+
+    /**
+     * Charges a fee, e.g. the monthly maintenance fee. Fees are charged to
+     * frozen accounts too, but never overdraw the account.
+     *
+     * @param amount      The fee, in the account currency
+     * @param description A description of the fee
+     * @return The {@code FEE} transaction
+     * @throws IllegalArgumentException if the amount is not positive or in another currency
+     * @throws IllegalStateException    if the account is closed or lacks funds
+     */
+    public Transaction chargeFee(Money amount, String description) {
+        if (!status.canBeCharged()) {
+            throw new IllegalStateException("Account " + id + " cannot be charged in status " + status);
+        }
+        return debit(Transaction.TransactionType.FEE, amount, description);
+    }
+
+    /**
+     * Reserves funds for a pending authorization. The balance is unchanged;
+     * the hold lowers the available balance until it is resolved.
+     *
+     * @param amount         The amount to reserve
+     * @param heldMinorUnits Amount already reserved by the active holds of the account, in minor units
+     * @param description    A description of the authorization
+     * @param expiresAt      When the hold lapses if not captured or released
+     * @return The active hold
+     * @throws IllegalArgumentException if the amount is invalid
+     * @throws IllegalStateException    if the account does not allow withdrawals or lacks available funds
+     */
+    public Hold placeHold(BigDecimal amount, long heldMinorUnits, String description, LocalDateTime expiresAt) {
+        requireWithdrawals();
+        Money reserved = toMoney(amount);
+        validateAmount(reserved);
+        if (balance.minus(new Money(heldMinorUnits, balance.currency())).minus(reserved).isNegative()) {
+            throw new IllegalStateException("Insufficient available funds");
+        }
+        return new Hold(id, reserved, description, expiresAt);
+    }
+
+    /**
+     * Withdraws funds reserved by an active hold of this account, resolving
+     * the hold as captured. Capturing less than the reserved amount frees
+     * the rest.
+     *
+     * @param hold   The hold
+     * @param amount The amount to withdraw, at most the reserved amount
+     * @return The {@code WITHDRAWAL} transaction
+     * @throws IllegalArgumentException if the hold belongs to another account or the amount is invalid or exceeds it
+     * @throws IllegalStateException    if the hold is not active, or the account does not allow withdrawals or lacks
+     *                                  funds
+     */
+    public Transaction captureHold(Hold hold, BigDecimal amount) {
+        if (!hold.getAccountId().equals(id)) {
+            throw new IllegalArgumentException("Hold " + hold.getId() + " belongs to another account");
+        }
+        Money captured = toMoney(amount);
+        validateAmount(captured);
+        if (captured.minorUnits() > hold.getAmountMinorUnits()) {
+            throw new IllegalArgumentException("Cannot capture more than the held " + hold.getAmount());
+        }
+        if (!hold.getStatus().isActive()) {
+            throw new IllegalStateException("Hold " + hold.getId() + " is already " + hold.getStatus());
+        }
+        requireWithdrawals();
+        Transaction withdrawal = debit(Transaction.TransactionType.WITHDRAWAL, captured, hold.getDescription());
+        hold.capture(withdrawal);
+        return withdrawal;
+    }
+
+    /**
+     * Freezes the account; only deposits are accepted until it is reactivated.
+     *
+     * @throws IllegalStateException if the account is not active
+     */
+    public void freeze() {
+        if (status != AccountStatus.ACTIVE) {
+            throw new IllegalStateException("Only active accounts can be frozen");
+        }
+        status = AccountStatus.FROZEN;
+    }
+
+    /**
+     * Reactivates a frozen account.
+     *
+     * @throws IllegalStateException if the account is not frozen
+     */
+    public void activate() {
+        if (status != AccountStatus.FROZEN) {
+            throw new IllegalStateException("Only frozen accounts can be activated");
+        }
+        status = AccountStatus.ACTIVE;
+    }
+
+    /**
+     * Closes the account.
+     *
+     * @throws IllegalStateException if the account is already closed or its balance is not zero
+     */
+    public void close() {
+        if (!status.canClose()) {
+            throw new IllegalStateException("Account is already closed");
+        }
+        if (!balance.isZero()) {
+            throw new IllegalStateException("Only accounts with a zero balance can be closed");
+        }
+        status = AccountStatus.CLOSED;
+    }
+
+    /**
+     * Replaces the balance with one recorded outside this entity, e.g. by a
+     * transaction journal that is ahead of the {@code accounts} table.
+     *
+     * @param balance      The recorded balance
+     * @param lastPostedAt Timestamp of the latest recorded posting
+     * @throws IllegalArgumentException if the balance is in another currency
+     */
+    public void restoreLedgerState(Money balance, LocalDateTime lastPostedAt) {
+        if (!balance.currency().equals(this.balance.currency())) {
+            throw new IllegalArgumentException("Balance currency " + balance.currency().getCurrencyCode()
+                    + " does not match account currency " + this.balance.currency().getCurrencyCode());
+        }
+        this.balance = balance;
+        this.lastPostedAt = lastPostedAt;
+    }
+
+    /**
+     * @return The currency of the account
+     */
+    public Currency getCurrency() {
+        return balance.currency();
+    }
+
+    private Transaction credit(Transaction.TransactionType type, Money amount, String description) {
+        validateAmount(amount);
+        balance = balance.plus(amount);
+        return new Transaction(id, type, amount, description, balance, nextPostingTime());
+    }
+
+    private Transaction debit(Transaction.TransactionType type, Money amount, String description) {
+        validateAmount(amount);
+        Money after = balance.minus(amount);
+        if (after.isNegative()) {
+            throw new IllegalStateException("Insufficient funds");
+        }
+        balance = after;
+        return new Transaction(id, type, amount, description, balance, nextPostingTime());
+    }
+
+    private void requireDeposits() {
+        if (!status.canDeposit()) {
+            throw new IllegalStateException("Account " + id + " does not accept deposits in status " + status);
+        }
+    }
+
+    private void requireWithdrawals() {
+        if (!status.canWithdraw()) {
+            throw new IllegalStateException("Account " + id + " does not allow withdrawals in status " + status);
+        }
+    }
+
+    private LocalDateTime nextPostingTime() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        if (lastPostedAt != null && !now.isAfter(lastPostedAt)) {
+            now = lastPostedAt.plus(1, ChronoUnit.MICROS);
+        }
+        lastPostedAt = now;
+        return now;
+    }
+
+    private Money toMoney(BigDecimal amount) {
+        return Money.of(amount, balance.currency());
+    }
+
+    private void validateAmount(Money amount) {
+        if (amount == null || !amount.isPositive()) {
+            throw new IllegalArgumentException("Amount must be positive");
+        }
+        if (!amount.currency().equals(balance.currency())) {
+            throw new IllegalArgumentException("Amount currency " + amount.currency().getCurrencyCode()
+                    + " does not match account currency " + balance.currency().getCurrencyCode());
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.domain.account;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.vo.AccountStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for Account aggregate operations.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Repository
+public interface AccountRepository extends JpaRepository<Account, UUID> {
+
+    /**
+     * @param clientId The UUID of the owning client
+     * @return The accounts of the client, oldest first
+     */
+    List<Account> findByClientIdOrderByOpenedAtAsc(UUID clientId);
+
+    /**
+     * Keyset chunk of the accounts opened before an instant, in id order.
+     * Start from the nil UUID, then pass the last id of the previous chunk.
+     *
+     * @param afterId      Id of the last account already read, exclusive
+     * @param openedBefore Only accounts opened before this instant
+     * @param limit        Maximum number of accounts
+     * @return Accounts in ascending id order
+     */
+    @Query("""
+            SELECT a FROM Account a
+            WHERE a.id > :afterId AND a.openedAt < :openedBefore
+            ORDER BY a.id""")
+    List<Account> findChunkAfter(UUID afterId, LocalDateTime openedBefore, Limit limit);
+
+    /**
+     * Keyset chunk like {@link #findChunkAfter(UUID, LocalDateTime, Limit)},
+     * reading only the ids of the accounts not in a status. Rows are built by
+     * a constructor expression rather than proxied one by one.
+     *
+     * @param afterId      Id of the last account already read, exclusive
+     * @param openedBefore Only accounts opened before this instant
+     * @param excluded     Accounts in this status are left out
+     * @param limit        Maximum number of accounts
+     * @return Account and client ids in ascending account id order
+     */
+    @Query("""
+            SELECT new org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRepository$AccountRef(a.id, a.clientId)
+            FROM Account a
+            WHERE a.id > :afterId AND a.openedAt < :openedBefore AND a.status <> :excluded
+            ORDER BY a.id""")
+    List<AccountRef> findRefsAfter(UUID afterId, LocalDateTime openedBefore, AccountStatus excluded, Limit limit);
+
+    /**
+     * Keyset chunk of the ids of all accounts, whatever their status or age.
+     * Start from the nil UUID, then pass the last id of the previous chunk.
+     *
+     * @param afterId Id of the last account already read, exclusive
+     * @param limit   Maximum number of accounts
+     * @return Account ids in ascending order
+     */
+    @Query("SELECT a.id FROM Account a WHERE a.id > :afterId ORDER BY a.id")
+    List<UUID> findIdsAfter(UUID afterId, Limit limit);
+
+    /**
+     * Reads the balances of some accounts, without loading the accounts.
+     *
+     * @param accountIds The accounts
+     * @return The balance of each account that exists
+     */
+    @Query("""
+            SELECT new org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRepository$AccountBalance(
+                a.id, a.balance.minorUnits, a.balance.currency)
+            FROM Account a
+            WHERE a.id IN :accountIds""")
+    List<AccountBalance> findBalancesByIdIn(Collection<UUID> accountIds);
+
+    /**
+     * Reads the holder and currency of some accounts, without loading the
+     * accounts.
+     *
+     * @param accountIds The accounts
+     * @return The holder and currency of each account that exists
+     */
+    @Query("""
+            SELECT new org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRepository$AccountOwner(
+                a.id, a.clientId, a.balance.currency)
+            FROM Account a
+            WHERE a.id IN :accountIds""")
+    List<AccountOwner> findOwnersByIdIn(Collection<UUID> accountIds);
+
+    /**
+     * @param openedBefore Only accounts opened before this instant
+     * @param excluded     Accounts in this status are left out
+     * @return Number of accounts {@link #findRefsAfter} reads in total
+     */
+    long countByOpenedAtBeforeAndStatusNot(LocalDateTime openedBefore, AccountStatus excluded);
+
+    /**
+     * Row of {@link #findRefsAfter}.
+     *
+     * @param id       The UUID of the account
+     * @param clientId The UUID of the account holder
+     */
+    record AccountRef(UUID id, UUID clientId) {
+    }
+
+    /**
+     * Row of {@link #findBalancesByIdIn}.
+     *
+     * @param id                The UUID of the account
+     * @param balanceMinorUnits Its balance in minor units
+     * @param currency          The currency of the account
+     */
+    record AccountBalance(UUID id, long balanceMinorUnits, Currency currency) {
+    }
+
+    /**
+     * Row of {@link #findOwnersByIdIn}.
+     *
+     * @param id       The UUID of the account
+     * @param clientId The UUID of the account holder
+     * @param currency The currency of the account
+     */
+    record AccountOwner(UUID id, UUID clientId, Currency currency) {
+    }
+}
@@ -0,0 +1,110 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.domain.account;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Transaction.TransactionType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Materialized activity of an account over a day or a month: the number and
+ * the sum of its transactions of one type.
+ * <p>
+ * Rollups are maintained incrementally in the transaction that records the
+ * postings (see {@link AccountRollupDeltas}), so they are always consistent
+ * with the {@code transactions} table. They are only ever incremented through
+ * batched upserts and are never loaded for update, so the entity is
+ * read-only. The primary key {@code (account_id, granularity, period_start,
+ * type)} serves the range reads of one account; the index on
+ * {@code (granularity, period_start, account_id, type)} serves bank-wide
+ * aggregations; it holds the whole key so that a rollup increment is a point
+ * lookup whichever of the two indexes the database picks for it.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "account_rollups", indexes = {
+        @Index(name = "idx_account_rollups_period", columnList = "granularity, period_start, account_id, type") })
+@IdClass(AccountRollup.Key.class)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED) // JPA
+public class AccountRollup {
+
+    @Id
+    @Column(name = "account_id")
+    private UUID accountId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 8)
+    private Granularity granularity;
+
+    /**
+     * The day, or the first day of the month
+     */
+    @Id
+    @Column(name = "period_start")
+    private LocalDate periodStart;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private TransactionType type;
+
+    @Column(nullable = false)
+    private Currency currency;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+    @Column(name = "amount_minor_units", nullable = false)
+    private long amountMinorUnits;
+
+    /**
+     * Length of the period a rollup covers.
+     */
+    public enum Granularity {
+        /** One calendar day */
+        DAY,
+        /** One calendar month */
+        MONTH;
+
+        /**
+         * @param day A day
+         * @return The start of the period of this granularity containing the day
+         */
+        public LocalDate periodOf(LocalDate day) {
+            return this == DAY ? day : day.withDayOfMonth(1);
+        }
+    }
+
+    /**
+     * Composite key of a rollup: one per account, period and transaction type.
+     */
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        private UUID accountId;
+        private Granularity granularity;
+        private LocalDate periodStart;
+        private TransactionType type;
+    }
+}
@@ -0,0 +1,146 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.domain.account;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRollup.Granularity;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Transaction.TransactionType;
+
+/**
+ * Increments to apply to the {@link AccountRollup}s, aggregated from a batch
+ * of transactions.
+ * <p>
+ * Every transaction counts towards the rollup of its day and of its month.
+ * Aggregating first means a batch touches each rollup row once, however many
+ * of its transactions fall into the same period: a busy account posting a
+ * hundred times in a batch still costs two upserts per transaction type.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public final class AccountRollupDeltas {
+
+    private static final Granularity[] GRANULARITIES = Granularity.values();
+
+    private final Map<Period, Delta> deltas = new HashMap<>();
+
+    /**
+     * @param transactions The transactions to roll up
+     * @return Their aggregated increments
+     */
+    public static AccountRollupDeltas of(Collection<Transaction> transactions) {
+        AccountRollupDeltas deltas = new AccountRollupDeltas();
+        transactions.forEach(deltas::add);
+        return deltas;
+    }
+
+    /**
+     * Adds one transaction.
+     *
+     * @param transaction The transaction
+     */
+    public void add(Transaction transaction) {
+        add(transaction.getAccountId(), transaction.getCurrency(), transaction.getType(),
+                transaction.getTimestamp().toLocalDate(), 1, transaction.getAmountMinorUnits());
+    }
+
+    /**
+     * Adds transactions of one account, type and day that are already
+     * counted and summed.
+     *
+     * @param accountId        The UUID of the account
+     * @param currency         The currency of the account
+     * @param type             The transaction type
+     * @param day              The day the transactions were posted on
+     * @param transactionCount Number of transactions
+     * @param amountMinorUnits Sum of their amounts in minor units
+     */
+    public void add(UUID accountId, Currency currency, TransactionType type, LocalDate day, long transactionCount,
+            long amountMinorUnits) {
+        for (Granularity granularity : GRANULARITIES) {
+            deltas.computeIfAbsent(new Period(accountId, granularity, granularity.periodOf(day), type),
+                    period -> new Delta(period, currency))
+                    .add(transactionCount, amountMinorUnits);
+        }
+    }
+
+    /**
+     * @return Whether there is nothing to apply
+     */
+    public boolean isEmpty() {
+        return deltas.isEmpty();
+    }
+
+    /**
+     * @return The increments, one per rollup row
+     */
+    public List<Delta> deltas() {
+        return new ArrayList<>(deltas.values());
+    }
+
+    /**
+     * Rollup row an increment applies to.
+     *
+     * @param accountId   The UUID of the account
+     * @param granularity The length of the period
+     * @param periodStart The day, or the first day of the month
+     * @param type        The transaction type
+     */
+    public record Period(UUID accountId, Granularity granularity, LocalDate periodStart, TransactionType type) {
+    }
+
+    /**
+     * Increment of one rollup row.
+     */
+    public static final class Delta {
+
+        private final Period period;
+        private final Currency currency;
+        private long transactionCount;
+        private long amountMinorUnits;
+
+        private Delta(Period period, Currency currency) {
+            this.period = period;
+            this.currency = currency;
+        }
+
+        private void add(long count, long amount) {
+            transactionCount += count;
+            amountMinorUnits = Math.addExact(amountMinorUnits, amount);
+        }
+
+        /**
+         * @return The rollup row
+         */
+        public Period period() {
+            return period;
+        }
+
+        /**
+         * @return The currency of the account
+         */
+        public Currency currency() {
+            return currency;
+        }
+
+        /**
+         * @return Number of transactions to add
+         */
+        public long transactionCount() {
+            return transactionCount;
+        }
+
+        /**
+         * @return Amount to add, in minor units
+         */
+        public long amountMinorUnits() {
+            return amountMinorUnits;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.domain.account;
+
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRollup.Granularity;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Transaction.TransactionType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for the materialized account rollups. Rollups are
+ * written by the {@code AccountRollupPort}; this repository only reads them.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Repository
+public interface AccountRollupRepository extends JpaRepository<AccountRollup, AccountRollup.Key> {
+
+    /**
+     * Totals per transaction type of an account over the periods of one
+     * granularity starting in a range, as one range scan of the primary key.
+     *
+     * @param accountId   The UUID of the account
+     * @param granularity The granularity of the rollups to sum
+     * @param from        Start of the first period, inclusive
+     * @param to          Start of the last period, inclusive
+     * @return One row per transaction type with activity
+     */
+    @Query("""
+            SELECT new org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRollupRepository$TypeTotal(
+                r.type, SUM(r.transactionCount), SUM(r.amountMinorUnits))
+            FROM AccountRollup r
+            WHERE r.accountId = :accountId AND r.granularity = :granularity AND r.periodStart BETWEEN :from AND :to
+            GROUP BY r.type""")
+    List<TypeTotal> sumByType(UUID accountId, Granularity granularity, LocalDate from, LocalDate to);
+
+    /**
+     * Rollups of an account over the periods of one granularity starting in a
+     * range.
+     *
+     * @param accountId   The UUID of the account
+     * @param granularity The granularity
+     * @param from        Start of the first period, inclusive
+     * @param to          Start of the last period, inclusive
+     * @return The rollups by period, then type
+     */
+    List<AccountRollup> findByAccountIdAndGranularityAndPeriodStartBetweenOrderByPeriodStartAscTypeAsc(
+            UUID accountId, Granularity granularity, LocalDate from, LocalDate to);
+
+    /**
+     * Activity of all accounts per period, currency and transaction type,
+     * read through the {@code (granularity, period_start)} index.
+     *
+     * @param granularity The granularity
+     * @param from        Start of the first period, inclusive
+     * @param to          Start of the last period, inclusive
+     * @return The totals by period, currency and type
+     */
+    @Query("""
+            SELECT new org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRollupRepository$PeriodTotal(
+                r.periodStart, r.currency, r.type, SUM(r.transactionCount), SUM(r.amountMinorUnits))
+            FROM AccountRollup r
+            WHERE r.granularity = :granularity AND r.periodStart BETWEEN :from AND :to
+            GROUP BY r.periodStart, r.currency, r.type
+            ORDER BY r.periodStart, r.currency, r.type""")
+    List<PeriodTotal> sumByPeriod(Granularity granularity, LocalDate from, LocalDate to);
+
+    /**
+     * Row of {@link #sumByType}.
+     *
+     * @param type             The transaction type
+     * @param transactionCount Number of transactions
+     * @param amountMinorUnits Sum of their amounts in minor units
+     */
+    record TypeTotal(TransactionType type, long transactionCount, long amountMinorUnits) {
+    }
+
+    /**
+     * Row of {@link #sumByPeriod}.
+     *
+     * @param periodStart      The day, or the first day of the month
+     * @param currency         The currency of the accounts
+     * @param type             The transaction type
+     * @param transactionCount Number of transactions
+     * @param amountMinorUnits Sum of their amounts in minor units
+     */
+    record PeriodTotal(LocalDate periodStart, Currency currency, TransactionType type, long transactionCount,
+            long amountMinorUnits) {
+    }
+}
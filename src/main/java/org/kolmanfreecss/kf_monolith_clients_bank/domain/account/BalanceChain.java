@@ -0,0 +1,80 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.domain.account;
+
+import java.util.UUID;
+
+/**
+ * Verifier of the {@code balanceAfterTransaction} chain of one account.
+ * <p>
+ * An account opens with a zero balance, and each of its transactions, in
+ * {@code (timestamp, id)} order, must record the previous balance plus its
+ * amount for credits, or minus it for debits. Timestamps strictly increase
+ * per account, so that order is the posting order. A link that does not hold
+ * is a break; the chain then continues from the recorded balance, so one
+ * wrong row is reported once or twice rather than for every later row.
+ * <p>
+ * Links are appended one at a time, so an account's transactions are
+ * verified while they are streamed, without holding them in memory.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public final class BalanceChain {
+
+    private final UUID accountId;
+    private long balanceMinorUnits;
+    private int links;
+    private int breaks;
+
+    /**
+     * Starts the chain of an account at its opening balance of zero.
+     *
+     * @param accountId The UUID of the account
+     */
+    public BalanceChain(UUID accountId) {
+        this.accountId = accountId;
+    }
+
+    /**
+     * Verifies the next transaction of the account.
+     *
+     * @param type                   The transaction type
+     * @param amountMinorUnits       Its amount, in minor units
+     * @param balanceAfterMinorUnits The balance it recorded, in minor units
+     * @return The balance the transaction should have recorded, equal to {@code balanceAfterMinorUnits} unless the
+     *         link is broken
+     */
+    public long append(Transaction.TransactionType type, long amountMinorUnits, long balanceAfterMinorUnits) {
+        long expected = type.isCredit() ? balanceMinorUnits + amountMinorUnits : balanceMinorUnits - amountMinorUnits;
+        if (expected != balanceAfterMinorUnits) {
+            breaks++;
+        }
+        balanceMinorUnits = balanceAfterMinorUnits;
+        links++;
+        return expected;
+    }
+
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    /**
+     * @return The balance recorded by the latest transaction, zero before the first one
+     */
+    public long getBalanceMinorUnits() {
+        return balanceMinorUnits;
+    }
+
+    /**
+     * @return Number of transactions verified
+     */
+    public int getLinks() {
+        return links;
+    }
+
+    /**
+     * @return Number of broken links
+     */
+    public int getBreaks() {
+        return breaks;
+    }
+}
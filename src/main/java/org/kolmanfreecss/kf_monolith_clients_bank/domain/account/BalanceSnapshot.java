@@ -0,0 +1,110 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.domain.account;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Closing balance of an account on a day.
+ * <p>
+ * A snapshot for day {@code D} holds the balance after every transaction
+ * stamped before {@code D + 1} at midnight, in minor units of the account
+ * currency. Point-in-time balances start from the latest snapshot before the
+ * requested instant and only look at the transactions after it.
+ * <p>
+ * Snapshots are written in bulk by the snapshot job and never updated, so like
+ * {@link Transaction} they are {@link Persistable} to be saved with batched
+ * inserts.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "account_balance_snapshots")
+@IdClass(BalanceSnapshot.Key.class)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED) // JPA
+public class BalanceSnapshot implements Persistable<BalanceSnapshot.Key> {
+
+    @Id
+    @Column(name = "account_id")
+    private UUID accountId;
+
+    @Id
+    @Column(name = "snapshot_date")
+    private LocalDate snapshotDate;
+
+    @Column(name = "balance_minor_units", nullable = false)
+    private long balanceMinorUnits;
+
+    @Column(nullable = false)
+    private LocalDateTime takenAt;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private boolean persisted;
+
+    /**
+     * @param accountId         The UUID of the account
+     * @param snapshotDate      The day the balance closes
+     * @param balanceMinorUnits The closing balance in minor units
+     */
+    public BalanceSnapshot(UUID accountId, LocalDate snapshotDate, long balanceMinorUnits) {
+        this.accountId = accountId;
+        this.snapshotDate = snapshotDate;
+        this.balanceMinorUnits = balanceMinorUnits;
+        this.takenAt = LocalDateTime.now();
+    }
+
+    /**
+     * @return The instant the snapshot balance holds at: midnight after the snapshot day
+     */
+    public LocalDateTime endsAt() {
+        return snapshotDate.plusDays(1).atStartOfDay();
+    }
+
+    @Override
+    public Key getId() {
+        return new Key(accountId, snapshotDate);
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+
+    /**
+     * Composite key of a snapshot: one per account and day.
+     */
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        private UUID accountId;
+        private LocalDate snapshotDate;
+    }
+}
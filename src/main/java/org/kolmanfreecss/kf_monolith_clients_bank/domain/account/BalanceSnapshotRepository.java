@@ -0,0 +1,75 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.domain.account;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for daily account balance snapshots.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Repository
+public interface BalanceSnapshotRepository extends JpaRepository<BalanceSnapshot, BalanceSnapshot.Key> {
+
+    /**
+     * Latest snapshot of an account taken for a day before the given one,
+     * found by a backward probe of the primary key.
+     *
+     * @param accountId The UUID of the account
+     * @param before    The day, exclusive
+     * @return The snapshot, empty if the account has none before the day
+     */
+    Optional<BalanceSnapshot> findFirstByAccountIdAndSnapshotDateLessThanOrderBySnapshotDateDesc(UUID accountId,
+            LocalDate before);
+
+    /**
+     * Reads the snapshots of a keyset chunk of accounts over a range of days,
+     * as one range scan of the primary key and without hydrating them. Rows
+     * are built by a constructor expression: an interface projection would
+     * proxy each of the thousands of rows.
+     *
+     * @param afterId Id of the last account of the previous chunk, exclusive
+     * @param lastId  Id of the last account of the chunk, inclusive
+     * @param from    The first day, inclusive
+     * @param to      The last day, inclusive
+     * @return One row per account and day with a snapshot
+     */
+    @Query("""
+            SELECT new org.kolmanfreecss.kf_monolith_clients_bank.domain.account.BalanceSnapshotRepository$DailyBalance(
+                s.accountId, s.snapshotDate, s.balanceMinorUnits)
+            FROM BalanceSnapshot s
+            WHERE s.accountId > :afterId AND s.accountId <= :lastId AND s.snapshotDate BETWEEN :from AND :to""")
+    List<DailyBalance> findChunkBalances(UUID afterId, UUID lastId, LocalDate from, LocalDate to);
+
+    /**
+     * Removes the snapshots of some accounts for a day, so that a chunk
+     * interrupted after its commit but before the checkpoint can be written
+     * again.
+     *
+     * @param snapshotDate The day
+     * @param accountIds   The accounts of the chunk
+     * @return Number of snapshots removed
+     */
+    @Modifying
+    @Query("DELETE FROM BalanceSnapshot s WHERE s.snapshotDate = :snapshotDate AND s.accountId IN :accountIds")
+    int deleteChunk(LocalDate snapshotDate, Collection<UUID> accountIds);
+
+    /**
+     * Row of {@link #findChunkBalances}.
+     *
+     * @param accountId         The UUID of the account
+     * @param snapshotDate      The day
+     * @param balanceMinorUnits The closing balance in minor units
+     */
+    record DailyBalance(UUID accountId, LocalDate snapshotDate, long balanceMinorUnits) {
+    }
+}
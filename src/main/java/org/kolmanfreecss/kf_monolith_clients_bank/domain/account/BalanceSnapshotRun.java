@@ -0,0 +1,84 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.domain.account;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of the snapshot run for one day.
+ * <p>
+ * Accounts are snapshotted in ascending id order. {@code lastAccountId} is
+ * the checkpoint: every account up to it has its snapshot, so an interrupted
+ * run resumes right after it. A run is complete once {@code completedAt} is
+ * set.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "balance_snapshot_runs")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED) // JPA
+public class BalanceSnapshotRun {
+
+    @Id
+    @Column(name = "snapshot_date")
+    private LocalDate snapshotDate;
+
+    /**
+     * Highest account id snapshotted so far, null before the first chunk
+     */
+    private UUID lastAccountId;
+
+    @Column(nullable = false)
+    private long accounts;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    private LocalDateTime completedAt;
+
+    /**
+     * Starts the run of a day.
+     *
+     * @param snapshotDate The day to snapshot
+     */
+    public BalanceSnapshotRun(LocalDate snapshotDate) {
+        this.snapshotDate = snapshotDate;
+        this.startedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Moves the checkpoint past a chunk of snapshotted accounts.
+     *
+     * @param lastAccountId Highest account id of the chunk
+     * @param chunkAccounts Number of accounts in the chunk
+     * @throws IllegalStateException if the run is already complete
+     */
+    public void advance(UUID lastAccountId, int chunkAccounts) {
+        if (completedAt != null) {
+            throw new IllegalStateException("Snapshot run for " + snapshotDate + " is already complete");
+        }
+        this.lastAccountId = lastAccountId;
+        this.accounts += chunkAccounts;
+    }
+
+    /**
+     * Marks every account as snapshotted.
+     */
+    public void complete() {
+        this.completedAt = LocalDateTime.now();
+    }
+
+    public boolean isComplete() {
+        return completedAt != null;
+    }
+}
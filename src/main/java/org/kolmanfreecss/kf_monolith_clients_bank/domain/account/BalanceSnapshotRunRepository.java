@@ -0,0 +1,29 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.domain.account;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for the progress of daily snapshot runs.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Repository
+public interface BalanceSnapshotRunRepository extends JpaRepository<BalanceSnapshotRun, LocalDate> {
+
+    /**
+     * @return The run of the latest day whose snapshots are all written
+     */
+    Optional<BalanceSnapshotRun> findFirstByCompletedAtIsNotNullOrderBySnapshotDateDesc();
+
+    /**
+     * @param from The first day, inclusive
+     * @param to   The last day, inclusive
+     * @return Number of days in the range whose snapshots are all written
+     */
+    long countByCompletedAtIsNotNullAndSnapshotDateBetween(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,108 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.domain.account;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.UUID;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Record of the maintenance fee charged to an account for a billing month.
+ * <p>
+ * The primary key makes charging idempotent: a charge is saved in the same
+ * transaction as its {@code FEE} posting, so an account is charged at most
+ * once per month even when a fee run is interrupted and repeated.
+ * <p>
+ * Like {@link Transaction}, charges are written in bulk and never updated,
+ * so they are {@link Persistable} to be saved with batched inserts.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "fee_charges")
+@IdClass(FeeCharge.Key.class)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED) // JPA
+public class FeeCharge implements Persistable<FeeCharge.Key> {
+
+    @Id
+    @Column(name = "account_id")
+    private UUID accountId;
+
+    /**
+     * First day of the billing month
+     */
+    @Id
+    @Column(name = "billing_month")
+    private LocalDate billingMonth;
+
+    @Column(nullable = false)
+    private UUID transactionId;
+
+    @Column(name = "amount_minor_units", nullable = false)
+    private long amountMinorUnits;
+
+    @Column(nullable = false)
+    private LocalDateTime chargedAt;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private boolean persisted;
+
+    /**
+     * @param period      The billing month
+     * @param transaction The {@code FEE} transaction charging it
+     */
+    public FeeCharge(YearMonth period, Transaction transaction) {
+        this.accountId = transaction.getAccountId();
+        this.billingMonth = period.atDay(1);
+        this.transactionId = transaction.getId();
+        this.amountMinorUnits = transaction.getAmountMinorUnits();
+        this.chargedAt = transaction.getTimestamp();
+    }
+
+    @Override
+    public Key getId() {
+        return new Key(accountId, billingMonth);
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+
+    /**
+     * Composite key of a charge: one per account and billing month.
+     */
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        private UUID accountId;
+        private LocalDate billingMonth;
+    }
+}
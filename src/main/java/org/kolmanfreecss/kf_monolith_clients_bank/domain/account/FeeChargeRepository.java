@@ -0,0 +1,30 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.domain.account;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for the maintenance fees charged to accounts.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Repository
+public interface FeeChargeRepository extends JpaRepository<FeeCharge, FeeCharge.Key> {
+
+    /**
+     * Finds which of some accounts were already charged for a billing month.
+     *
+     * @param billingMonth First day of the billing month
+     * @param accountIds   The accounts to check
+     * @return The ids of the accounts already charged
+     */
+    @Query("SELECT f.accountId FROM FeeCharge f WHERE f.billingMonth = :billingMonth AND f.accountId IN :accountIds")
+    List<UUID> findChargedAccountIds(LocalDate billingMonth, Collection<UUID> accountIds);
+}
@@ -0,0 +1,110 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.domain.account;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of the maintenance fee run for one billing month.
+ * <p>
+ * Accounts are charged in ascending id order. {@code lastAccountId} is the
+ * checkpoint: every account up to it has been handled, so an interrupted run
+ * resumes right after it. The counters add up the outcomes of the handled
+ * accounts. A run is complete once {@code completedAt} is set.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "fee_runs")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED) // JPA
+public class FeeRun {
+
+    /**
+     * First day of the billing month
+     */
+    @Id
+    @Column(name = "billing_month")
+    private LocalDate billingMonth;
+
+    /**
+     * Highest account id handled so far, null before the first chunk
+     */
+    private UUID lastAccountId;
+
+    @Column(nullable = false)
+    private long charged;
+
+    @Column(nullable = false)
+    private long insufficientFunds;
+
+    @Column(nullable = false)
+    private long exempt;
+
+    @Column(nullable = false)
+    private long alreadyCharged;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    private LocalDateTime completedAt;
+
+    /**
+     * Starts the run of a billing month.
+     *
+     * @param period The billing month
+     */
+    public FeeRun(YearMonth period) {
+        this.billingMonth = period.atDay(1);
+        this.startedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Moves the checkpoint past a chunk of handled accounts.
+     *
+     * @param lastAccountId     Highest account id of the chunk
+     * @param charged           Accounts charged
+     * @param insufficientFunds Accounts that could not pay the fee
+     * @param exempt            Accounts without a fee, e.g. of VIP clients
+     * @param alreadyCharged    Accounts charged by an earlier, interrupted attempt
+     * @throws IllegalStateException if the run is already complete
+     */
+    public void advance(UUID lastAccountId, int charged, int insufficientFunds, int exempt, int alreadyCharged) {
+        if (completedAt != null) {
+            throw new IllegalStateException("Fee run for " + YearMonth.from(billingMonth) + " is already complete");
+        }
+        this.lastAccountId = lastAccountId;
+        this.charged += charged;
+        this.insufficientFunds += insufficientFunds;
+        this.exempt += exempt;
+        this.alreadyCharged += alreadyCharged;
+    }
+
+    /**
+     * Marks every account as handled.
+     */
+    public void complete() {
+        this.completedAt = LocalDateTime.now();
+    }
+
+    public boolean isComplete() {
+        return completedAt != null;
+    }
+
+    /**
+     * @return Number of accounts handled so far
+     */
+    public long getAccounts() {
+        return charged + insufficientFunds + exempt + alreadyCharged;
+    }
+}
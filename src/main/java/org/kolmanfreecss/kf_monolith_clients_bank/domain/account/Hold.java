@@ -0,0 +1,162 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.domain.account;
+
+import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.Money;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Reservation of account funds for a pending authorization, e.g. a card
+ * payment, without posting a {@link Transaction}.
+ * <p>
+ * An active hold lowers the available balance of its account until it is
+ * captured (the reserved amount, or part of it, is withdrawn), released, or
+ * expires. Holds are placed through {@link Account#placeHold}, which checks
+ * the available balance, and captured through {@link Account#captureHold}.
+ * <p>
+ * Rules:
+ * - Only active holds can be captured, released or expired
+ * - A capture withdraws at most the reserved amount; the rest is freed
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "holds", indexes = {
+        @Index(name = "idx_holds_account_status", columnList = "account_id, status"),
+        @Index(name = "idx_holds_status_expires_at", columnList = "status, expires_at") })
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED) // JPA
+public class Hold {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "account_id", nullable = false)
+    private UUID accountId;
+
+    @Column(name = "amount_minor_units", nullable = false)
+    private long amountMinorUnits;
+
+    @Column(nullable = false)
+    private Currency currency;
+
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    /**
+     * Timestamp of the capture, release or expiry, null while active
+     */
+    private LocalDateTime resolvedAt;
+
+    /**
+     * The withdrawal of a captured hold
+     */
+    private UUID transactionId;
+
+    /**
+     * Amount withdrawn by the capture, in minor units
+     */
+    private Long capturedMinorUnits;
+
+    /**
+     * Version field for optimistic locking
+     */
+    @Version
+    private Long version;
+
+    /**
+     * Enumeration of the lifecycle of a hold.
+     */
+    public enum Status {
+        /** Funds are reserved and not available for debits */
+        ACTIVE,
+        /** Funds were debited by a withdrawal */
+        CAPTURED,
+        /** Reservation was cancelled */
+        RELEASED,
+        /** Reservation lapsed without being captured */
+        EXPIRED;
+
+        /**
+         * Checks if the hold still reserves funds.
+         *
+         * @return true if the hold is active, false otherwise
+         */
+        public boolean isActive() {
+            return this == ACTIVE;
+        }
+    }
+
+    Hold(UUID accountId, Money amount, String description, LocalDateTime expiresAt) {
+        this.id = UUID.randomUUID();
+        this.accountId = accountId;
+        this.amountMinorUnits = amount.minorUnits();
+        this.currency = amount.currency();
+        this.description = description;
+        this.status = Status.ACTIVE;
+        this.createdAt = LocalDateTime.now();
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * @return The reserved amount
+     */
+    public Money getAmount() {
+        return new Money(amountMinorUnits, currency);
+    }
+
+    /**
+     * Releases the reserved funds.
+     *
+     * @throws IllegalStateException if the hold is not active
+     */
+    public void release() {
+        resolve(Status.RELEASED);
+    }
+
+    /**
+     * Lets the hold lapse once its expiry passed.
+     *
+     * @throws IllegalStateException if the hold is not active
+     */
+    public void expire() {
+        resolve(Status.EXPIRED);
+    }
+
+    void capture(Transaction withdrawal) {
+        resolve(Status.CAPTURED);
+        this.transactionId = withdrawal.getId();
+        this.capturedMinorUnits = withdrawal.getAmountMinorUnits();
+    }
+
+    private void resolve(Status resolution) {
+        if (!status.isActive()) {
+            throw new IllegalStateException("Hold " + id + " is already " + status);
+        }
+        this.status = resolution;
+        this.resolvedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,45 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.domain.account;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for holds on account funds.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Repository
+public interface HoldRepository extends JpaRepository<Hold, UUID> {
+
+    /**
+     * Lists the active holds, lightweight, to rebuild the held amounts at startup.
+     *
+     * @return Every active hold
+     */
+    @Query("SELECT new org.kolmanfreecss.kf_monolith_clients_bank.domain.account.HoldRepository$ActiveHold(h.id, h.accountId, h.amountMinorUnits, h.expiresAt) FROM Hold h WHERE h.status = org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Hold$Status.ACTIVE")
+    List<ActiveHold> findActive();
+
+    /**
+     * @param accountId The account
+     * @param status    The status
+     * @return The holds of the account in the status, latest first
+     */
+    List<Hold> findByAccountIdAndStatusOrderByCreatedAtDesc(UUID accountId, Hold.Status status);
+
+    /**
+     * Row of {@link #findActive()}.
+     *
+     * @param id               The hold
+     * @param accountId        Its account
+     * @param amountMinorUnits The reserved amount
+     * @param expiresAt        When it expires
+     */
+    record ActiveHold(UUID id, UUID accountId, long amountMinorUnits, LocalDateTime expiresAt) {
+    }
+}
@@ -0,0 +1,106 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.domain.account;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.UUID;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Record of the interest credited to an account for a month.
+ * <p>
+ * Like {@link FeeCharge}, the primary key makes crediting idempotent: the
+ * record is saved in the same transaction as its {@code INTEREST} posting, so
+ * a month's interest is credited at most once even when an interest run is
+ * interrupted and repeated. Records are written in bulk and never updated.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "interest_postings")
+@IdClass(InterestPosting.Key.class)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED) // JPA
+public class InterestPosting implements Persistable<InterestPosting.Key> {
+
+    @Id
+    @Column(name = "account_id")
+    private UUID accountId;
+
+    /**
+     * First day of the month the interest accrued in
+     */
+    @Id
+    @Column(name = "accrual_month")
+    private LocalDate accrualMonth;
+
+    @Column(nullable = false)
+    private UUID transactionId;
+
+    @Column(name = "amount_minor_units", nullable = false)
+    private long amountMinorUnits;
+
+    @Column(nullable = false)
+    private LocalDateTime postedAt;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private boolean persisted;
+
+    /**
+     * @param period      The month the interest accrued in
+     * @param transaction The {@code INTEREST} transaction crediting it
+     */
+    public InterestPosting(YearMonth period, Transaction transaction) {
+        this.accountId = transaction.getAccountId();
+        this.accrualMonth = period.atDay(1);
+        this.transactionId = transaction.getId();
+        this.amountMinorUnits = transaction.getAmountMinorUnits();
+        this.postedAt = transaction.getTimestamp();
+    }
+
+    @Override
+    public Key getId() {
+        return new Key(accountId, accrualMonth);
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+
+    /**
+     * Composite key of a posting: one per account and month.
+     */
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        private UUID accountId;
+        private LocalDate accrualMonth;
+    }
+}
@@ -0,0 +1,30 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.domain.account;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for the interest credited to accounts.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Repository
+public interface InterestPostingRepository extends JpaRepository<InterestPosting, InterestPosting.Key> {
+
+    /**
+     * Finds which of some accounts were already credited for a month.
+     *
+     * @param accrualMonth First day of the month
+     * @param accountIds   The accounts to check
+     * @return The ids of the accounts already credited
+     */
+    @Query("SELECT p.accountId FROM InterestPosting p WHERE p.accrualMonth = :accrualMonth AND p.accountId IN :accountIds")
+    List<UUID> findPostedAccountIds(LocalDate accrualMonth, Collection<UUID> accountIds);
+}
@@ -0,0 +1,116 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.domain.account;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of the interest run for one month.
+ * <p>
+ * Accounts are credited in ascending id order. {@code lastAccountId} is the
+ * checkpoint: every account up to it has been handled, so an interrupted run
+ * resumes right after it. A run is complete once {@code completedAt} is set.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "interest_runs")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED) // JPA
+public class InterestRun {
+
+    /**
+     * First day of the month the interest accrued in
+     */
+    @Id
+    @Column(name = "accrual_month")
+    private LocalDate accrualMonth;
+
+    /**
+     * Highest account id handled so far, null before the first chunk
+     */
+    private UUID lastAccountId;
+
+    @Column(nullable = false)
+    private long credited;
+
+    /**
+     * Accounts whose accrued interest was less than one minor unit
+     */
+    @Column(nullable = false)
+    private long nothingDue;
+
+    @Column(nullable = false)
+    private long alreadyCredited;
+
+    /**
+     * Total interest credited, in minor units of the account currencies
+     */
+    @Column(name = "interest_minor_units", nullable = false)
+    private long interestMinorUnits;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    private LocalDateTime completedAt;
+
+    /**
+     * Starts the run of a month.
+     *
+     * @param period The month the interest accrued in
+     */
+    public InterestRun(YearMonth period) {
+        this.accrualMonth = period.atDay(1);
+        this.startedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Moves the checkpoint past a chunk of handled accounts.
+     *
+     * @param lastAccountId      Highest account id of the chunk
+     * @param credited           Accounts credited
+     * @param nothingDue         Accounts that accrued less than one minor unit
+     * @param alreadyCredited    Accounts credited by an earlier, interrupted attempt
+     * @param interestMinorUnits Interest credited in the chunk
+     * @throws IllegalStateException if the run is already complete
+     */
+    public void advance(UUID lastAccountId, int credited, int nothingDue, int alreadyCredited,
+            long interestMinorUnits) {
+        if (completedAt != null) {
+            throw new IllegalStateException("Interest run for " + YearMonth.from(accrualMonth) + " is already complete");
+        }
+        this.lastAccountId = lastAccountId;
+        this.credited += credited;
+        this.nothingDue += nothingDue;
+        this.alreadyCredited += alreadyCredited;
+        this.interestMinorUnits += interestMinorUnits;
+    }
+
+    /**
+     * Marks every account as handled.
+     */
+    public void complete() {
+        this.completedAt = LocalDateTime.now();
+    }
+
+    public boolean isComplete() {
+        return completedAt != null;
+    }
+
+    /**
+     * @return Number of accounts handled so far
+     */
+    public long getAccounts() {
+        return credited + nothingDue + alreadyCredited;
+    }
+}
@@ -0,0 +1,117 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.domain.account;
+
+import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.UUID;
+
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Inconsistency of the ledger found by a {@link ReconciliationRun}: a broken
+ * link of an account's {@link BalanceChain}, or an account balance that is
+ * not the balance after its latest transaction. Discrepancies are reported,
+ * never corrected.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "ledger_discrepancies", indexes = {
+        @Index(name = "idx_ledger_discrepancies_run_account", columnList = "run_id, account_id") })
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED) // JPA
+public class LedgerDiscrepancy {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "run_id", nullable = false)
+    private UUID runId;
+
+    @Column(name = "account_id", nullable = false)
+    private UUID accountId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Kind kind;
+
+    /**
+     * The transaction whose link is broken, null for a balance mismatch
+     */
+    private UUID transactionId;
+
+    /**
+     * Balance the chain leads to, in minor units
+     */
+    @Column(nullable = false)
+    private long expectedMinorUnits;
+
+    /**
+     * Balance recorded by the transaction or the account, in minor units
+     */
+    @Column(nullable = false)
+    private long actualMinorUnits;
+
+    @Column(nullable = false)
+    private Currency currency;
+
+    @Column(nullable = false)
+    private LocalDateTime detectedAt;
+
+    /**
+     * Enumeration of the ledger inconsistencies a reconciliation run reports.
+     */
+    public enum Kind {
+        /** A transaction's balance after it is not the previous one plus or minus its amount */
+        BROKEN_CHAIN,
+        /** The account balance is not the balance after its latest transaction */
+        BALANCE_MISMATCH
+    }
+
+    private LedgerDiscrepancy(UUID runId, UUID accountId, Kind kind, UUID transactionId,
+            long expectedMinorUnits, long actualMinorUnits, Currency currency) {
+        this.id = UUID.randomUUID();
+        this.runId = runId;
+        this.accountId = accountId;
+        this.kind = kind;
+        this.transactionId = transactionId;
+        this.expectedMinorUnits = expectedMinorUnits;
+        this.actualMinorUnits = actualMinorUnits;
+        this.currency = currency;
+        this.detectedAt = LocalDateTime.now();
+    }
+
+    /**
+     * @param runId       The reconciliation run
+     * @param transaction The transaction recording a wrong balance
+     * @param expected    The balance it should have recorded, in minor units
+     * @return The discrepancy
+     */
+    public static LedgerDiscrepancy brokenChain(UUID runId, TransactionRepository.ChainLink transaction,
+            long expected) {
+        return new LedgerDiscrepancy(runId, transaction.accountId(), Kind.BROKEN_CHAIN, transaction.id(),
+                expected, transaction.balanceAfterMinorUnits(), transaction.currency());
+    }
+
+    /**
+     * @param runId    The reconciliation run
+     * @param account  The account whose balance differs
+     * @param expected The balance after its latest transaction, in minor units
+     * @return The discrepancy
+     */
+    public static LedgerDiscrepancy balanceMismatch(UUID runId, AccountRepository.AccountBalance account,
+            long expected) {
+        return new LedgerDiscrepancy(runId, account.id(), Kind.BALANCE_MISMATCH, null, expected,
+                account.balanceMinorUnits(), account.currency());
+    }
+}
@@ -0,0 +1,25 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.domain.account;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for the ledger discrepancies found by reconciliation runs.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Repository
+public interface LedgerDiscrepancyRepository extends JpaRepository<LedgerDiscrepancy, UUID> {
+
+    /**
+     * @param runId The reconciliation run
+     * @param limit Maximum number of discrepancies
+     * @return The discrepancies found by the run, in account order
+     */
+    List<LedgerDiscrepancy> findByRunIdOrderByAccountIdAscDetectedAtAsc(UUID runId, Limit limit);
+}
@@ -0,0 +1,95 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.domain.account;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of a ledger reconciliation run, verifying the balance chain of
+ * every account.
+ * <p>
+ * Accounts are verified in ascending id order. {@code lastAccountId} is the
+ * checkpoint: every account up to it has been verified and its
+ * {@link LedgerDiscrepancy discrepancies} saved, so an interrupted run
+ * resumes right after it. A run is complete once {@code completedAt} is set.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "reconciliation_runs")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED) // JPA
+public class ReconciliationRun {
+
+    @Id
+    private UUID id;
+
+    /**
+     * Highest account id verified so far, null before the first chunk
+     */
+    private UUID lastAccountId;
+
+    @Column(nullable = false)
+    private long accounts;
+
+    @Column(nullable = false)
+    private long transactions;
+
+    @Column(nullable = false)
+    private long discrepancies;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    private LocalDateTime completedAt;
+
+    /**
+     * Starts a run.
+     *
+     * @return The run, before its first chunk
+     */
+    public static ReconciliationRun start() {
+        ReconciliationRun run = new ReconciliationRun();
+        run.id = UUID.randomUUID();
+        run.startedAt = LocalDateTime.now();
+        return run;
+    }
+
+    /**
+     * Moves the checkpoint past a chunk of verified accounts.
+     *
+     * @param lastAccountId Highest account id of the chunk
+     * @param accounts      Accounts verified
+     * @param transactions  Transactions verified
+     * @param discrepancies Discrepancies found
+     * @throws IllegalStateException if the run is already complete
+     */
+    public void advance(UUID lastAccountId, int accounts, long transactions, int discrepancies) {
+        if (completedAt != null) {
+            throw new IllegalStateException("Reconciliation run " + id + " is already complete");
+        }
+        this.lastAccountId = lastAccountId;
+        this.accounts += accounts;
+        this.transactions += transactions;
+        this.discrepancies += discrepancies;
+    }
+
+    /**
+     * Marks every account as verified.
+     */
+    public void complete() {
+        this.completedAt = LocalDateTime.now();
+    }
+
+    public boolean isComplete() {
+        return completedAt != null;
+    }
+}
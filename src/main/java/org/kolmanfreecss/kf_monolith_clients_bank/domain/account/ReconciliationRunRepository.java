@@ -0,0 +1,22 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.domain.account;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for the progress of ledger reconciliation runs.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Repository
+public interface ReconciliationRunRepository extends JpaRepository<ReconciliationRun, UUID> {
+
+    /**
+     * @return The latest run, complete or not
+     */
+    Optional<ReconciliationRun> findFirstByOrderByStartedAtDesc();
+}
@@ -2,48 +2,75 @@ package org.kolmanfreecss.kf_monolith_clients_bank.domain.account;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Currency;
 import java.util.UUID;
 
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.Money;
+
+import org.springframework.data.domain.Persistable;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 
 /**
  * Entity representing a financial transaction in the system.
  * Records all movements of money within accounts, including deposits,
  * withdrawals, transfers, fees, and interest payments.
+ * Amounts are stored as minor units of the transaction currency (see
+ * {@link Money}).
+ * <p>
+ * Statements read an account's transactions in {@code (timestamp, id)} order
+ * through the composite index on {@code (account_id, timestamp, id)}, which
+ * serves both keyset pages and the balance lookups before and at the end of a
+ * period. The {@code (timestamp, id)} index serves the analytics feed, which
+ * reads the transactions of all accounts in posting time order.
+ * <p>
+ * Transactions are immutable once recorded. As {@link Persistable} they tell
+ * Spring Data that a freshly created one is new despite its assigned id, so
+ * saving it is a plain (batchable) insert instead of a merge that first
+ * selects the row.
  *
  * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
  * @version 1.0.0
  */
 @Entity
-@Table(name = "transactions")
-public class Transaction {
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_account_timestamp_id", columnList = "account_id, timestamp, id"),
+        @Index(name = "idx_transactions_timestamp_id", columnList = "timestamp, id") })
+public class Transaction implements Persistable<UUID> {
 
     @Id
     private UUID id;
 
-    @Column(nullable = false)
+    @Column(name = "account_id", nullable = false)
     private UUID accountId;
 
     @Column(nullable = false)
     private TransactionType type;
 
-    @Column(nullable = false)
-    private BigDecimal amount;
+    @Column(name = "amount_minor_units", nullable = false)
+    private long amountMinorUnits;
 
     @Column(nullable = false)
     private Currency currency;
 
-    @Column(nullable = false)
+    @Column(name = "timestamp", nullable = false)
     private LocalDateTime timestamp;
 
     private String description;
 
-    @Column(nullable = false)
-    private BigDecimal balanceAfterTransaction;
+    @Column(name = "balance_after_minor_units", nullable = false)
+    private long balanceAfterMinorUnits;
+
+    @Transient
+    private boolean persisted;
 
     /**
      * Enumeration of possible transaction types.
@@ -60,7 +87,14 @@ public class Transaction {
         /** Service or maintenance fee */
         FEE,
         /** Interest earned on balance */
-        INTEREST
+        INTEREST;
+
+        /**
+         * @return Whether transactions of this type add to the balance, rather than subtract from it
+         */
+        public boolean isCredit() {
+            return this == DEPOSIT || this == TRANSFER_IN || this == INTEREST;
+        }
     }
 
     protected Transaction() {
@@ -73,30 +107,56 @@ public class Transaction {
      *                                to
      * @param type                    The type of transaction
      * @param amount                  The monetary amount of the transaction
-     * @param currency                The currency of the transaction
      * @param description             A description of the transaction
      * @param balanceAfterTransaction The account balance after this transaction
+     * @throws IllegalArgumentException if the amount and balance currencies differ
+     */
+    public Transaction(
+            UUID accountId,
+            TransactionType type,
+            Money amount,
+            String description,
+            Money balanceAfterTransaction) {
+        this(accountId, type, amount, description, balanceAfterTransaction,
+                LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+    }
+
+    /**
+     * Creates a new transaction posted at the given time.
+     *
+     * @param accountId               The ID of the account this transaction belongs
+     *                                to
+     * @param type                    The type of transaction
+     * @param amount                  The monetary amount of the transaction
+     * @param description             A description of the transaction
+     * @param balanceAfterTransaction The account balance after this transaction
+     * @param timestamp               When the transaction was posted, at most microsecond precision
+     * @throws IllegalArgumentException if the amount and balance currencies differ
      */
     public Transaction(
             UUID accountId,
             TransactionType type,
-            BigDecimal amount,
-            Currency currency,
+            Money amount,
             String description,
-            BigDecimal balanceAfterTransaction) {
+            Money balanceAfterTransaction,
+            LocalDateTime timestamp) {
+        if (!amount.currency().equals(balanceAfterTransaction.currency())) {
+            throw new IllegalArgumentException("Amount and balance currencies differ");
+        }
         this.id = UUID.randomUUID();
         this.accountId = accountId;
         this.type = type;
-        this.amount = amount;
-        this.currency = currency;
+        this.amountMinorUnits = amount.minorUnits();
+        this.currency = amount.currency();
         this.description = description;
-        this.timestamp = LocalDateTime.now();
-        this.balanceAfterTransaction = balanceAfterTransaction;
+        this.timestamp = timestamp;
+        this.balanceAfterMinorUnits = balanceAfterTransaction.minorUnits();
     }
 
     /**
      * @return The unique identifier of this transaction
      */
+    @Override
     public UUID getId() {
         return id;
     }
@@ -119,7 +179,14 @@ public class Transaction {
      * @return The monetary amount of this transaction
      */
     public BigDecimal getAmount() {
-        return amount;
+        return BigDecimal.valueOf(amountMinorUnits, currency.getDefaultFractionDigits());
+    }
+
+    /**
+     * @return The monetary amount of this transaction in minor units of its currency
+     */
+    public long getAmountMinorUnits() {
+        return amountMinorUnits;
     }
 
     /**
@@ -147,6 +214,27 @@ public class Transaction {
      * @return The account balance after this transaction was applied
      */
     public BigDecimal getBalanceAfterTransaction() {
-        return balanceAfterTransaction;
+        return BigDecimal.valueOf(balanceAfterMinorUnits, currency.getDefaultFractionDigits());
+    }
+
+    /**
+     * @return The account balance after this transaction, in minor units of its currency
+     */
+    public long getBalanceAfterMinorUnits() {
+        return balanceAfterMinorUnits;
+    }
+
+    /**
+     * @return Whether this transaction has not been stored yet
+     */
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
     }
 }
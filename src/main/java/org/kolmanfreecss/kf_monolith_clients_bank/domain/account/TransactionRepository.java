@@ -0,0 +1,228 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.domain.account;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Transaction.TransactionType;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for the append-only ledger of account transactions.
+ * <p>
+ * Statement queries are keyset queries on {@code (accountId, timestamp, id)}:
+ * every page seeks directly to its first row through the composite index
+ * instead of skipping the rows of earlier pages. The analytics feed pages
+ * through all accounts the same way on {@code (timestamp, id)}.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Repository
+public interface TransactionRepository extends JpaRepository<Transaction, UUID> {
+
+    /**
+     * First page of an account's transactions in a period.
+     *
+     * @param accountId The UUID of the account
+     * @param from      Start of the period, inclusive
+     * @param to        End of the period, exclusive
+     * @param limit     Maximum number of rows
+     * @return Transactions in (timestamp, id) order
+     */
+    @Query("""
+            SELECT t FROM Transaction t
+            WHERE t.accountId = :accountId AND t.timestamp >= :from AND t.timestamp < :to
+            ORDER BY t.timestamp, t.id""")
+    List<Transaction> findStatementPage(UUID accountId, LocalDateTime from, LocalDateTime to, Limit limit);
+
+    /**
+     * Next page of an account's transactions in a period, starting right after
+     * the last row of the previous page.
+     *
+     * @param accountId     The UUID of the account
+     * @param from          Start of the period, inclusive
+     * @param to            End of the period, exclusive
+     * @param lastTimestamp Timestamp of the last row already returned
+     * @param lastId        Id of the last row already returned
+     * @param limit         Maximum number of rows
+     * @return Transactions in (timestamp, id) order
+     */
+    @Query("""
+            SELECT t FROM Transaction t
+            WHERE t.accountId = :accountId AND t.timestamp >= :from AND t.timestamp < :to
+              AND (t.timestamp > :lastTimestamp OR (t.timestamp = :lastTimestamp AND t.id > :lastId))
+            ORDER BY t.timestamp, t.id""")
+    List<Transaction> findStatementPageAfter(UUID accountId, LocalDateTime from, LocalDateTime to,
+            LocalDateTime lastTimestamp, UUID lastId, Limit limit);
+
+    /**
+     * Balance of an account right before an instant, read from the
+     * {@code balanceAfterTransaction} of the latest transaction before it.
+     * Call with {@link Limit#of(int) Limit.of(1)}; the index is scanned
+     * backwards from the instant, so no rows are summed.
+     *
+     * @param accountId The UUID of the account
+     * @param before    The instant, exclusive
+     * @param limit     Always one row
+     * @return The balance in minor units, empty if the account had no transactions before the instant
+     */
+    @Query("""
+            SELECT t.balanceAfterMinorUnits FROM Transaction t
+            WHERE t.accountId = :accountId AND t.timestamp < :before
+            ORDER BY t.timestamp DESC, t.id DESC""")
+    List<Long> findBalanceBefore(UUID accountId, LocalDateTime before, Limit limit);
+
+    /**
+     * Balance of an account right before an instant, looking only at the
+     * transactions from a lower bound on, e.g. the end of a balance snapshot.
+     * Call with {@link Limit#of(int) Limit.of(1)}.
+     *
+     * @param accountId The UUID of the account
+     * @param from      Lower bound, inclusive
+     * @param before    The instant, exclusive
+     * @param limit     Always one row
+     * @return The balance in minor units, empty if the account had no transactions in the range
+     */
+    @Query("""
+            SELECT t.balanceAfterMinorUnits FROM Transaction t
+            WHERE t.accountId = :accountId AND t.timestamp >= :from AND t.timestamp < :before
+            ORDER BY t.timestamp DESC, t.id DESC""")
+    List<Long> findBalanceBetween(UUID accountId, LocalDateTime from, LocalDateTime before, Limit limit);
+
+    /**
+     * Counts and sums the transactions of some accounts per day and type, the
+     * source rollups are rebuilt from. Each account is read through the
+     * composite index.
+     *
+     * @param accountIds The accounts
+     * @return One row per account, type and day with transactions
+     */
+    @Query("""
+            SELECT new org.kolmanfreecss.kf_monolith_clients_bank.domain.account.TransactionRepository$DailyTotal(
+                t.accountId, t.currency, t.type, CAST(t.timestamp AS LocalDate), COUNT(t), SUM(t.amountMinorUnits))
+            FROM Transaction t
+            WHERE t.accountId IN :accountIds
+            GROUP BY t.accountId, t.currency, t.type, CAST(t.timestamp AS LocalDate)""")
+    List<DailyTotal> sumByDay(Collection<UUID> accountIds);
+
+    /**
+     * First page of the balance chain of an account: its transactions,
+     * lightweight, in {@code (timestamp, id)} order, read straight from the
+     * composite index without sorting.
+     *
+     * @param accountId The UUID of the account
+     * @param limit     Maximum number of rows
+     * @return Transactions in (timestamp, id) order
+     */
+    @Query("""
+            SELECT new org.kolmanfreecss.kf_monolith_clients_bank.domain.account.TransactionRepository$ChainLink(
+                t.accountId, t.id, t.timestamp, t.type, t.amountMinorUnits, t.balanceAfterMinorUnits, t.currency)
+            FROM Transaction t
+            WHERE t.accountId = :accountId
+            ORDER BY t.timestamp, t.id""")
+    List<ChainLink> findChainPage(UUID accountId, Limit limit);
+
+    /**
+     * Next page of the balance chain of an account, starting right after the
+     * last row of the previous page.
+     *
+     * @param accountId     The UUID of the account
+     * @param lastTimestamp Timestamp of the last row already returned
+     * @param lastId        Id of the last row already returned
+     * @param limit         Maximum number of rows
+     * @return Transactions in (timestamp, id) order
+     */
+    @Query("""
+            SELECT new org.kolmanfreecss.kf_monolith_clients_bank.domain.account.TransactionRepository$ChainLink(
+                t.accountId, t.id, t.timestamp, t.type, t.amountMinorUnits, t.balanceAfterMinorUnits, t.currency)
+            FROM Transaction t
+            WHERE t.accountId = :accountId
+              AND (t.timestamp > :lastTimestamp OR (t.timestamp = :lastTimestamp AND t.id > :lastId))
+            ORDER BY t.timestamp, t.id""")
+    List<ChainLink> findChainPageAfter(UUID accountId, LocalDateTime lastTimestamp, UUID lastId, Limit limit);
+
+    /**
+     * First page of the transactions of all accounts posted before an
+     * instant, lightweight, in {@code (timestamp, id)} order, read from the
+     * {@code (timestamp, id)} index.
+     *
+     * @param before The instant, exclusive
+     * @param limit  Maximum number of rows
+     * @return Transactions in (timestamp, id) order
+     */
+    @Query("""
+            SELECT new org.kolmanfreecss.kf_monolith_clients_bank.domain.account.TransactionRepository$FeedRow(
+                t.accountId, t.id, t.timestamp, t.type, t.amountMinorUnits)
+            FROM Transaction t
+            WHERE t.timestamp < :before
+            ORDER BY t.timestamp, t.id""")
+    List<FeedRow> findFeedPage(LocalDateTime before, Limit limit);
+
+    /**
+     * Next page of the transactions of all accounts posted before an
+     * instant, starting right after the last row already read.
+     *
+     * @param lastTimestamp Timestamp of the last row already read
+     * @param lastId        Id of the last row already read
+     * @param before        The instant, exclusive
+     * @param limit         Maximum number of rows
+     * @return Transactions in (timestamp, id) order
+     */
+    @Query("""
+            SELECT new org.kolmanfreecss.kf_monolith_clients_bank.domain.account.TransactionRepository$FeedRow(
+                t.accountId, t.id, t.timestamp, t.type, t.amountMinorUnits)
+            FROM Transaction t
+            WHERE (t.timestamp > :lastTimestamp OR (t.timestamp = :lastTimestamp AND t.id > :lastId))
+              AND t.timestamp < :before
+            ORDER BY t.timestamp, t.id""")
+    List<FeedRow> findFeedPageAfter(LocalDateTime lastTimestamp, UUID lastId, LocalDateTime before, Limit limit);
+
+    /**
+     * Row of {@link #findChainPage}: one link of an account's {@link BalanceChain}.
+     *
+     * @param accountId              The UUID of the account
+     * @param id                     The UUID of the transaction
+     * @param timestamp              When it was posted
+     * @param type                   The transaction type
+     * @param amountMinorUnits       Its amount in minor units
+     * @param balanceAfterMinorUnits The balance it recorded, in minor units
+     * @param currency               The currency of the transaction
+     */
+    record ChainLink(UUID accountId, UUID id, LocalDateTime timestamp, TransactionType type, long amountMinorUnits,
+            long balanceAfterMinorUnits, Currency currency) {
+    }
+
+    /**
+     * Row of {@link #findFeedPage}.
+     *
+     * @param accountId        The UUID of the account
+     * @param id               The UUID of the transaction
+     * @param timestamp        When it was posted
+     * @param type             The transaction type
+     * @param amountMinorUnits Its amount in minor units
+     */
+    record FeedRow(UUID accountId, UUID id, LocalDateTime timestamp, TransactionType type, long amountMinorUnits) {
+    }
+
+    /**
+     * Row of {@link #sumByDay}.
+     *
+     * @param accountId        The UUID of the account
+     * @param currency         The currency of the transactions
+     * @param type             The transaction type
+     * @param day              The day the transactions were posted on
+     * @param transactionCount Number of transactions
+     * @param amountMinorUnits Sum of their amounts in minor units
+     */
+    record DailyTotal(UUID accountId, Currency currency, TransactionType type, LocalDate day, long transactionCount,
+            long amountMinorUnits) {
+    }
+}
@@ -0,0 +1,235 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.domain.account;
+
+import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.Money;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Asynchronous transfer between two accounts, run as a saga of steps that
+ * each post to a single account.
+ * <p>
+ * The source account is debited with a {@code TRANSFER_OUT} first, then the
+ * target account is credited with a {@code TRANSFER_IN}. Each step commits on
+ * its own together with the new status of the saga, so a transfer never
+ * needs a transaction spanning both accounts. If the target refuses the
+ * credit, e.g. because it was closed meanwhile, the debit is reversed with a
+ * {@code TRANSFER_IN} on the source account.
+ * <p>
+ * Rules:
+ * - Steps only run in order: debit, then credit or compensation
+ * - A refused debit rejects the transfer without posting anything
+ * - A refused compensation keeps the saga compensating, to be retried
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "transfer_sagas", indexes = {
+        @Index(name = "idx_transfer_sagas_status_updated_at", columnList = "status, updated_at") })
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED) // JPA
+public class TransferSaga {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "from_account_id", nullable = false)
+    private UUID fromAccountId;
+
+    @Column(name = "to_account_id", nullable = false)
+    private UUID toAccountId;
+
+    @Column(name = "amount_minor_units", nullable = false)
+    private long amountMinorUnits;
+
+    @Column(nullable = false)
+    private Currency currency;
+
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * When the last step ran, to find the sagas left behind by a failure
+     */
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * When the saga reached its outcome, null while in flight
+     */
+    private LocalDateTime completedAt;
+
+    private UUID debitTransactionId;
+
+    private UUID creditTransactionId;
+
+    /**
+     * The reversal of the debit, if compensated
+     */
+    private UUID compensationTransactionId;
+
+    /**
+     * Why the debit, the credit or the compensation was refused
+     */
+    private String failureReason;
+
+    /**
+     * Version field for optimistic locking
+     */
+    @Version
+    private Long version;
+
+    /**
+     * Enumeration of the steps of an asynchronous transfer.
+     */
+    public enum Status {
+        /** Accepted, the source account is not debited yet */
+        INITIATED,
+        /** The source account is debited, the target not credited yet */
+        DEBITED,
+        /** The target account is credited */
+        COMPLETED,
+        /** The source account refused the debit, nothing was posted */
+        REJECTED,
+        /** The target account refused the credit, the debit is being reversed */
+        COMPENSATING,
+        /** The debit was reversed on the source account */
+        COMPENSATED;
+
+        /**
+         * Checks if the transfer reached its outcome.
+         *
+         * @return true if no step is left, false otherwise
+         */
+        public boolean isTerminal() {
+            return this == COMPLETED || this == REJECTED || this == COMPENSATED;
+        }
+    }
+
+    /**
+     * Creates an initiated transfer.
+     *
+     * @param fromAccountId The debited account
+     * @param toAccountId   The credited account
+     * @param amount        The amount to transfer
+     * @param description   A description of the transfer
+     * @throws IllegalArgumentException if the accounts are the same or the amount is not positive
+     */
+    public TransferSaga(UUID fromAccountId, UUID toAccountId, Money amount, String description) {
+        if (fromAccountId.equals(toAccountId)) {
+            throw new IllegalArgumentException("Cannot transfer to the same account");
+        }
+        if (!amount.isPositive()) {
+            throw new IllegalArgumentException("Amount must be positive");
+        }
+        this.id = UUID.randomUUID();
+        this.fromAccountId = fromAccountId;
+        this.toAccountId = toAccountId;
+        this.amountMinorUnits = amount.minorUnits();
+        this.currency = amount.currency();
+        this.description = description;
+        this.status = Status.INITIATED;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = createdAt;
+    }
+
+    /**
+     * @return The amount transferred
+     */
+    public Money getAmount() {
+        return new Money(amountMinorUnits, currency);
+    }
+
+    /**
+     * @return The account the next step posts to, null once the saga reached its outcome
+     */
+    public UUID nextAccountId() {
+        return switch (status) {
+            case INITIATED, COMPENSATING -> fromAccountId;
+            case DEBITED -> toAccountId;
+            default -> null;
+        };
+    }
+
+    /**
+     * Records the debit of the source account.
+     *
+     * @param debit The {@code TRANSFER_OUT} transaction
+     * @throws IllegalStateException if the saga is not initiated
+     */
+    public void debited(Transaction debit) {
+        advance(Status.INITIATED, Status.DEBITED);
+        this.debitTransactionId = debit.getId();
+    }
+
+    /**
+     * Records the credit of the target account, completing the transfer.
+     *
+     * @param credit The {@code TRANSFER_IN} transaction
+     * @throws IllegalStateException if the source account is not debited
+     */
+    public void credited(Transaction credit) {
+        advance(Status.DEBITED, Status.COMPLETED);
+        this.creditTransactionId = credit.getId();
+    }
+
+    /**
+     * Records the reversal of the debit on the source account.
+     *
+     * @param reversal The {@code TRANSFER_IN} transaction
+     * @throws IllegalStateException if the saga is not compensating
+     */
+    public void compensated(Transaction reversal) {
+        advance(Status.COMPENSATING, Status.COMPENSATED);
+        this.compensationTransactionId = reversal.getId();
+    }
+
+    /**
+     * Records that the account of the next step refused it: a refused debit
+     * rejects the transfer, a refused credit starts the compensation, and a
+     * refused compensation is kept for a retry.
+     *
+     * @param reason Why the step was refused
+     * @throws IllegalStateException if the saga already reached its outcome
+     */
+    public void refused(String reason) {
+        switch (status) {
+            case INITIATED -> advance(Status.INITIATED, Status.REJECTED);
+            case DEBITED -> advance(Status.DEBITED, Status.COMPENSATING);
+            case COMPENSATING -> this.updatedAt = LocalDateTime.now();
+            default -> throw new IllegalStateException("Transfer " + id + " is already " + status);
+        }
+        this.failureReason = reason;
+    }
+
+    private void advance(Status from, Status to) {
+        if (status != from) {
+            throw new IllegalStateException("Transfer " + id + " is " + status + ", not " + from);
+        }
+        this.status = to;
+        this.updatedAt = LocalDateTime.now();
+        if (to.isTerminal()) {
+            this.completedAt = updatedAt;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.domain.account;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for {@link TransferSaga} entities.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Repository
+public interface TransferSagaRepository extends JpaRepository<TransferSaga, UUID> {
+
+    /**
+     * Finds the sagas in flight whose last step ran before a point in time,
+     * oldest first, to resume them.
+     *
+     * @param before The point in time
+     * @param limit  Maximum number of sagas
+     * @return Their ids
+     */
+    @Query("SELECT s.id FROM TransferSaga s WHERE s.status IN (org.kolmanfreecss.kf_monolith_clients_bank.domain.account.TransferSaga$Status.INITIATED, org.kolmanfreecss.kf_monolith_clients_bank.domain.account.TransferSaga$Status.DEBITED, org.kolmanfreecss.kf_monolith_clients_bank.domain.account.TransferSaga$Status.COMPENSATING) AND s.updatedAt < :before ORDER BY s.updatedAt")
+    List<UUID> findStalledIds(LocalDateTime before, Limit limit);
+
+    /**
+     * @return The number of sagas in flight
+     */
+    @Query("SELECT COUNT(s) FROM TransferSaga s WHERE s.status IN (org.kolmanfreecss.kf_monolith_clients_bank.domain.account.TransferSaga$Status.INITIATED, org.kolmanfreecss.kf_monolith_clients_bank.domain.account.TransferSaga$Status.DEBITED, org.kolmanfreecss.kf_monolith_clients_bank.domain.account.TransferSaga$Status.COMPENSATING)")
+    long countInFlight();
+}
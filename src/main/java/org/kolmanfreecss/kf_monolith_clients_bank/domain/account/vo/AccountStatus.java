@@ -8,7 +8,7 @@ package org.kolmanfreecss.kf_monolith_clients_bank.domain.account.vo;
  * Available statuses:
  * <ul>
  * <li>ACTIVE - Normal operational state, all operations allowed</li>
- * <li>FROZEN - Limited operations, only deposits allowed</li>
+ * <li>FROZEN - Limited operations, only deposits (and fees) allowed</li>
  * <li>CLOSED - No operations allowed</li>
  * </ul>
  *
@@ -38,6 +38,15 @@ public enum AccountStatus {
         return this == ACTIVE || this == FROZEN;
     }
 
+    /**
+     * Checks if fees can be charged to an account in this status.
+     *
+     * @return true if fees can be charged, false otherwise
+     */
+    public boolean canBeCharged() {
+        return this == ACTIVE || this == FROZEN;
+    }
+
     /**
      * Checks if the account can be closed from this status.
      *
@@ -5,10 +5,13 @@ import java.util.UUID;
 
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.events.ClientStatusChangedEvent;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.events.ClientTypeChangedEvent;
 import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.vo.ClientType;
 import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.Address;
 import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.ContactDetails;
 import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.PersonalInformation;
+import org.springframework.data.domain.AbstractAggregateRoot;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
@@ -17,6 +20,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
@@ -36,17 +40,21 @@ import lombok.NoArgsConstructor;
  * The client aggregate includes: - Personal Information (Value Object) -
  * Address (Value Object) - Contact Details
  * (Value Object) - Client Status (Entity) - Client Type (Value Object)
+ * <p>
+ * Status transitions and type changes register domain events that are
+ * published when the aggregate is saved through the repository.
  *
  * @author Kolman-Freecss
  * @version 1.0
  * @since 1.0
  */
 @Entity
-@Table(name = "clients")
+@Table(name = "clients", indexes = {
+        @Index(name = "uk_clients_document_id", columnList = "document_id", unique = true) })
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED) // JPA
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
-public class Client {
+public class Client extends AbstractAggregateRoot<Client> {
 
     @Id
     private UUID id;
@@ -124,6 +132,9 @@ public class Client {
      * @param newType The new client type to set
      */
     public void updateType(ClientType newType) {
+        if (newType != this.type) {
+            registerEvent(new ClientTypeChangedEvent(id, currentStatus(), this.type, newType));
+        }
         this.type = newType;
     }
 
@@ -138,7 +149,7 @@ public class Client {
         if (status.getStatus() != ClientStatus.Status.PENDING_VERIFICATION) {
             throw new IllegalStateException("Client is not pending verification");
         }
-        status.updateStatus(ClientStatus.Status.ACTIVE, "Client verified successfully");
+        changeStatus(ClientStatus.Status.ACTIVE, "Client verified successfully");
     }
 
     /**
@@ -151,7 +162,7 @@ public class Client {
         if (status.getStatus() == ClientStatus.Status.SUSPENDED) {
             throw new IllegalStateException("Client is already suspended");
         }
-        status.updateStatus(ClientStatus.Status.SUSPENDED, reason);
+        changeStatus(ClientStatus.Status.SUSPENDED, reason);
     }
 
     /**
@@ -164,7 +175,7 @@ public class Client {
         if (status.getStatus() == ClientStatus.Status.BLOCKED) {
             throw new IllegalStateException("Client is already blocked");
         }
-        status.updateStatus(ClientStatus.Status.BLOCKED, reason);
+        changeStatus(ClientStatus.Status.BLOCKED, reason);
     }
 
     /**
@@ -177,7 +188,17 @@ public class Client {
         if (status.getStatus() == ClientStatus.Status.ACTIVE) {
             throw new IllegalStateException("Client is already active");
         }
-        status.updateStatus(ClientStatus.Status.ACTIVE, reason);
+        changeStatus(ClientStatus.Status.ACTIVE, reason);
+    }
+
+    private void changeStatus(ClientStatus.Status newStatus, String reason) {
+        ClientStatus.Status previousStatus = status.getStatus();
+        status.updateStatus(newStatus, reason);
+        registerEvent(new ClientStatusChangedEvent(id, previousStatus, newStatus, type));
+    }
+
+    private ClientStatus.Status currentStatus() {
+        return status == null ? null : status.getStatus();
     }
 
 }
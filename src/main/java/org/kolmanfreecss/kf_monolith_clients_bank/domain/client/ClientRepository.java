@@ -1,13 +1,19 @@
 package org.kolmanfreecss.kf_monolith_clients_bank.domain.client;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.vo.ClientType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
 import jakarta.persistence.QueryHint;
 
 /**
@@ -24,7 +30,121 @@ public interface ClientRepository extends JpaRepository<Client, UUID> {
     @Query("SELECT c FROM Client c")
     List<Client> findAllCached();
 
+    /**
+     * Loads a client, through the query cache when it is enabled.
+     * <p>
+     * With sharding enabled, a client read from another shard than the
+     * caller's transaction (the previous owner while a shard joins, or the
+     * owner when the transaction is bound elsewhere) is loaded on another
+     * thread and returned detached.
+     *
+     * @param id The UUID of the client
+     * @return The client, null if it does not exist
+     */
     @QueryHints({ @QueryHint(name = "org.hibernate.cacheable", value = "true") })
     @Query("SELECT c FROM Client c WHERE c.id = ?1")
     Client findByIdCached(UUID id);
+
+    /**
+     * Loads a client.
+     * <p>
+     * With sharding enabled, a client read from another shard than the
+     * caller's transaction is loaded on another thread and returned detached:
+     * changes to it are not flushed, and saving it merges a copy into the
+     * caller's transaction, which is rejected unless that transaction is on the
+     * client's shard.
+     *
+     * @param id The UUID of the client
+     * @return The client, empty if it does not exist
+     */
+    @Override
+    Optional<Client> findById(UUID id);
+
+    /**
+     * Version-only lookup used to answer conditional requests without hydrating
+     * the aggregate.
+     *
+     * @param id The UUID of the client
+     * @return The current optimistic-locking version, empty if the client does not exist
+     */
+    @Query("SELECT c.version FROM Client c WHERE c.id = ?1")
+    Optional<Long> findVersionById(UUID id);
+
+    /**
+     * Loads a client and forces its version to be incremented on commit even if
+     * only the cascaded {@link ClientStatus} changes, so status transitions
+     * invalidate the client's ETag.
+     * <p>
+     * With sharding enabled, a client read from another shard than the
+     * caller's transaction is loaded on another thread and returned detached,
+     * and the version increment does not apply to it.
+     *
+     * @param id The UUID of the client
+     * @return The client, empty if it does not exist
+     */
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT c FROM Client c WHERE c.id = ?1")
+    Optional<Client> findForStatusChangeById(UUID id);
+
+    /**
+     * Indexed existence check on the document id. Only used to confirm the
+     * possible duplicates reported by the document id Bloom filter.
+     *
+     * @param documentId The document id to look up
+     * @return true if a client with this document id exists
+     */
+    @Query("SELECT COUNT(c) > 0 FROM Client c WHERE c.personalInformation.documentId = ?1")
+    boolean existsByDocumentId(String documentId);
+
+    /**
+     * Streams every document id without materializing clients. Must be consumed
+     * inside a transaction and closed after use.
+     *
+     * @return Stream over all document ids
+     */
+    @QueryHints({ @QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true") })
+    @Query("SELECT c.personalInformation.documentId FROM Client c")
+    Stream<String> streamAllDocumentIds();
+
+    /**
+     * Counts clients per status and type in a single aggregate query. Used to
+     * reconcile the event-maintained client counters.
+     *
+     * @return One row per (status, type) combination present in the table
+     */
+    @Query("SELECT s.status AS status, c.type AS type, COUNT(c) AS total FROM Client c JOIN c.status s GROUP BY s.status, c.type")
+    List<StatusTypeCount> countByStatusAndType();
+
+    /**
+     * Reads the type of many clients without hydrating them, e.g. to price
+     * a chunk of accounts in one query. Rows are built by a constructor
+     * expression rather than proxied one by one.
+     *
+     * @param ids The UUIDs of the clients
+     * @return One row per existing client
+     */
+    @Query("SELECT new org.kolmanfreecss.kf_monolith_clients_bank.domain.client.ClientRepository$ClientTypeRef(c.id, c.type) FROM Client c WHERE c.id IN ?1")
+    List<ClientTypeRef> findTypesByIdIn(Collection<UUID> ids);
+
+    /**
+     * Row of {@link #findTypesByIdIn(Collection)}.
+     *
+     * @param id   The UUID of the client
+     * @param type The client type
+     */
+    record ClientTypeRef(UUID id, ClientType type) {
+    }
+
+    /**
+     * Projection for {@link #countByStatusAndType()} rows.
+     */
+    interface StatusTypeCount {
+
+        ClientStatus.Status getStatus();
+
+        ClientType getType();
+
+        long getTotal();
+    }
 }
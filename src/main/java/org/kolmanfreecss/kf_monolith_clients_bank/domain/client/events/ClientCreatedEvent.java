@@ -0,0 +1,18 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.domain.client.events;
+
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.ClientStatus;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.vo.ClientType;
+
+/**
+ * Domain event raised when a client has been registered.
+ *
+ * @param clientId The UUID of the new client
+ * @param status   The status the client was registered with
+ * @param type     The type of the client
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public record ClientCreatedEvent(UUID clientId, ClientStatus.Status status, ClientType type) {
+}
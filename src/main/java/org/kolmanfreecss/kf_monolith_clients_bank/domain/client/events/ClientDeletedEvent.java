@@ -0,0 +1,18 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.domain.client.events;
+
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.ClientStatus;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.vo.ClientType;
+
+/**
+ * Domain event raised when a client has been removed.
+ *
+ * @param clientId The UUID of the removed client
+ * @param status   The status the client had when it was removed
+ * @param type     The type the client had when it was removed
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public record ClientDeletedEvent(UUID clientId, ClientStatus.Status status, ClientType type) {
+}
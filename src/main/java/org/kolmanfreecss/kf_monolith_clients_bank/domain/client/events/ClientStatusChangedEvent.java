@@ -0,0 +1,21 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.domain.client.events;
+
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.ClientStatus;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.vo.ClientType;
+
+/**
+ * Domain event raised by the {@code Client} aggregate on every status
+ * transition (verify, suspend, block, activate).
+ *
+ * @param clientId       The UUID of the client
+ * @param previousStatus The status before the transition
+ * @param newStatus      The status after the transition
+ * @param type           The type of the client
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public record ClientStatusChangedEvent(
+        UUID clientId, ClientStatus.Status previousStatus, ClientStatus.Status newStatus, ClientType type) {
+}
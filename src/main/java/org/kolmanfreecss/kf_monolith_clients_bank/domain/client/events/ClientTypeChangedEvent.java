@@ -0,0 +1,20 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.domain.client.events;
+
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.ClientStatus;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.vo.ClientType;
+
+/**
+ * Domain event raised by the {@code Client} aggregate when its type changes.
+ *
+ * @param clientId     The UUID of the client
+ * @param status       The current status of the client
+ * @param previousType The type before the change
+ * @param newType      The type after the change
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public record ClientTypeChangedEvent(
+        UUID clientId, ClientStatus.Status status, ClientType previousType, ClientType newType) {
+}
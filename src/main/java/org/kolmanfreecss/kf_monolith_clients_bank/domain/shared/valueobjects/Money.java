@@ -0,0 +1,164 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+
+/**
+ * Value object representing an amount of money as a whole number of minor
+ * units (cents for EUR, yen for JPY) of a currency.
+ * <p>
+ * The scale always comes from {@link Currency#getDefaultFractionDigits()}, so
+ * arithmetic is plain {@code long} arithmetic with no rounding and no
+ * {@link BigDecimal} allocation. All operations are overflow-checked and throw
+ * {@link ArithmeticException} instead of wrapping around.
+ * <p>
+ * {@link BigDecimal} is only used at the API boundary: {@link #of} rejects
+ * amounts with more decimals than the currency allows instead of rounding
+ * them, and {@link #toBigDecimal()} is exact, so a round trip never changes
+ * the value.
+ * <p>
+ * Mapped with {@code @Embedded} as a minor units column plus a currency column.
+ * Bulk loops can accumulate {@link #minorUnits()} with {@link Math#addExact}
+ * and build a single instance at the end.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public record Money(long minorUnits, Currency currency) implements Comparable<Money> {
+
+    /**
+     * Creates a new Money with validation.
+     *
+     * @param minorUnits The amount in minor units of the currency
+     * @param currency   The currency
+     * @throws IllegalArgumentException if the currency is null or has no minor unit definition
+     */
+    public Money {
+        if (currency == null) {
+            throw new IllegalArgumentException("Currency cannot be null");
+        }
+        if (currency.getDefaultFractionDigits() < 0) {
+            throw new IllegalArgumentException("Currency " + currency.getCurrencyCode() + " has no minor units");
+        }
+    }
+
+    /**
+     * Converts a decimal amount without rounding.
+     *
+     * @param amount   The decimal amount
+     * @param currency The currency
+     * @return The amount in minor units
+     * @throws IllegalArgumentException if the amount is null, has more decimals than the
+     *                                  currency allows or does not fit in a long
+     */
+    public static Money of(BigDecimal amount, Currency currency) {
+        if (amount == null) {
+            throw new IllegalArgumentException("Amount cannot be null");
+        }
+        if (currency == null) {
+            throw new IllegalArgumentException("Currency cannot be null");
+        }
+        try {
+            return new Money(amount.setScale(currency.getDefaultFractionDigits(), RoundingMode.UNNECESSARY)
+                    .unscaledValue().longValueExact(), currency);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount " + amount.toPlainString() + " is not representable in "
+                    + currency.getCurrencyCode() + " minor units", e);
+        }
+    }
+
+    /**
+     * @param currency The currency
+     * @return Zero in the currency
+     */
+    public static Money zero(Currency currency) {
+        return new Money(0, currency);
+    }
+
+    /**
+     * @param other Amount to add, in the same currency
+     * @return The sum
+     * @throws IllegalArgumentException if the currencies differ
+     * @throws ArithmeticException      on overflow
+     */
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    /**
+     * @param other Amount to subtract, in the same currency
+     * @return The difference
+     * @throws IllegalArgumentException if the currencies differ
+     * @throws ArithmeticException      on overflow
+     */
+    public Money minus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits), currency);
+    }
+
+    /**
+     * @param factor Whole multiplier
+     * @return The product
+     * @throws ArithmeticException on overflow
+     */
+    public Money times(long factor) {
+        return new Money(Math.multiplyExact(minorUnits, factor), currency);
+    }
+
+    /**
+     * @return The amount with the opposite sign
+     * @throws ArithmeticException on overflow
+     */
+    public Money negate() {
+        return new Money(Math.negateExact(minorUnits), currency);
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0;
+    }
+
+    public boolean isPositive() {
+        return minorUnits > 0;
+    }
+
+    /**
+     * @return The number of decimals of the currency
+     */
+    public int scale() {
+        return currency.getDefaultFractionDigits();
+    }
+
+    /**
+     * @return The exact decimal amount
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, scale());
+    }
+
+    /**
+     * @throws IllegalArgumentException if the currencies differ
+     */
+    @Override
+    public int compareTo(Money other) {
+        requireSameCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString() + " " + currency.getCurrencyCode();
+    }
+
+    private void requireSameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency.getCurrencyCode()
+                    + " vs " + other.currency.getCurrencyCode());
+        }
+    }
+}
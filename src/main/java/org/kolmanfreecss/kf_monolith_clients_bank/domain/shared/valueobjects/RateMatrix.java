@@ -0,0 +1,257 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable table of exchange rates between every pair of a set of
+ * currencies, precomputed from their rates against a base currency.
+ * <p>
+ * Currencies are numbered by position and looked up through their ISO 4217
+ * numeric code, so a conversion is a few array reads, a multiplication and a
+ * division by a constant, with no map lookup and no allocation besides the
+ * result. The
+ * matrix is a dense {@code long[]} of <em>minor unit factors</em>: the cell
+ * {@code (from, to)} holds the minor units of {@code to} worth one minor unit
+ * of {@code from}, as a fixed-point number with {@link #FACTOR_SCALE}
+ * decimals. The decimals of both currencies are folded into the factor, so
+ * EUR cents convert straight to JPY yen.
+ * <p>
+ * Conversions are exact and deterministic: the product of the amount and
+ * the factor is computed on 128 bits and rounded once to the target minor
+ * unit, half to even, so the same amount always converts to the same result
+ * on every node and matches a {@link BigDecimal} computation. Cross rates are
+ * derived once from the base rates with {@link BigDecimal} and rounded to
+ * {@link #FACTOR_SCALE} decimals; a round trip through another currency may
+ * therefore differ by the rounding of the two conversions.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public final class RateMatrix {
+
+    /**
+     * Decimals of the minor unit factors
+     */
+    public static final int FACTOR_SCALE = 12;
+
+    private static final long ONE = 1_000_000_000_000L;
+    private static final int NUMERIC_CODES = 1000;
+
+    private final Currency base;
+    private final Instant asOf;
+    private final Currency[] currencies;
+    /** Position of each currency by ISO 4217 numeric code, -1 if absent */
+    private final short[] positions;
+    /** Minor unit factors, row-major: {@code factors[from * n + to]} */
+    private final long[] factors;
+
+    private RateMatrix(Currency base, Instant asOf, Currency[] currencies, short[] positions, long[] factors) {
+        this.base = base;
+        this.asOf = asOf;
+        this.currencies = currencies;
+        this.positions = positions;
+        this.factors = factors;
+    }
+
+    /**
+     * Builds the matrix from the rates of each currency against a base
+     * currency.
+     *
+     * @param base  The base currency, which has a rate of exactly one
+     * @param asOf  When the rates were quoted
+     * @param rates Units of each currency worth one unit of the base currency
+     * @return The matrix over the base currency and the quoted ones
+     * @throws IllegalArgumentException if a rate is missing or not positive, a currency has no
+     *                                  minor units or numeric code, or a cross rate is out of range
+     */
+    public static RateMatrix of(Currency base, Instant asOf, Map<Currency, BigDecimal> rates) {
+        if (base == null || asOf == null || rates == null) {
+            throw new IllegalArgumentException("Base currency, quote time and rates are required");
+        }
+        Map<Currency, BigDecimal> quoted = new LinkedHashMap<>();
+        quoted.put(base, BigDecimal.ONE);
+        rates.forEach((currency, rate) -> {
+            if (currency == null || rate == null || rate.signum() <= 0) {
+                throw new IllegalArgumentException("Exchange rates must be positive");
+            }
+            if (currency.equals(base) && rate.compareTo(BigDecimal.ONE) != 0) {
+                throw new IllegalArgumentException("The rate of the base currency must be 1");
+            }
+            quoted.put(currency, rate);
+        });
+        int n = quoted.size();
+        Currency[] currencies = quoted.keySet().toArray(Currency[]::new);
+        BigDecimal[] perBase = quoted.values().toArray(BigDecimal[]::new);
+        short[] positions = new short[NUMERIC_CODES];
+        Arrays.fill(positions, (short) -1);
+        for (int i = 0; i < n; i++) {
+            Currency currency = currencies[i];
+            if (currency.getDefaultFractionDigits() < 0) {
+                throw new IllegalArgumentException("Currency " + currency.getCurrencyCode() + " has no minor units");
+            }
+            int code = currency.getNumericCode();
+            if (code <= 0 || code >= NUMERIC_CODES) {
+                throw new IllegalArgumentException("Currency " + currency.getCurrencyCode() + " has no numeric code");
+            }
+            positions[code] = (short) i;
+        }
+        long[] factors = new long[n * n];
+        for (int from = 0; from < n; from++) {
+            for (int to = 0; to < n; to++) {
+                factors[from * n + to] = from == to ? ONE : factor(currencies[from], perBase[from], currencies[to],
+                        perBase[to]);
+            }
+        }
+        return new RateMatrix(base, asOf, currencies, positions, factors);
+    }
+
+    public Currency base() {
+        return base;
+    }
+
+    public Instant asOf() {
+        return asOf;
+    }
+
+    /**
+     * @return The currencies of the matrix, base currency first
+     */
+    public List<Currency> currencies() {
+        return Collections.unmodifiableList(Arrays.asList(currencies));
+    }
+
+    /**
+     * @param currency A currency
+     * @return Whether amounts in the currency can be converted
+     */
+    public boolean supports(Currency currency) {
+        return currency != null && position(currency) >= 0;
+    }
+
+    /**
+     * @param from Source currency
+     * @param to   Target currency
+     * @return Units of the target currency worth one unit of the source currency, to
+     *         {@link #FACTOR_SCALE} decimals of their minor units
+     * @throws IllegalArgumentException if a currency is not in the matrix
+     */
+    public BigDecimal rate(Currency from, Currency to) {
+        return BigDecimal.valueOf(factors[require(from) * currencies.length + require(to)], FACTOR_SCALE)
+                .movePointLeft(to.getDefaultFractionDigits() - from.getDefaultFractionDigits())
+                .stripTrailingZeros();
+    }
+
+    /**
+     * Converts an amount, rounding half to even to the minor unit of the
+     * target currency.
+     *
+     * @param amount The amount
+     * @param to     Target currency
+     * @return The amount in the target currency, the same instance if it already is in it
+     * @throws IllegalArgumentException if a currency is not in the matrix
+     * @throws ArithmeticException      if the result does not fit in a long
+     */
+    public Money convert(Money amount, Currency to) {
+        int target = require(to);
+        int source = require(amount.currency());
+        if (source == target) {
+            return amount;
+        }
+        return new Money(convert(amount.minorUnits(), factors[source * currencies.length + target]), to);
+    }
+
+    /**
+     * Computes {@code minorUnits * factor / 10^12}, exactly and rounded half
+     * to even. Products that fit in a long are divided directly; larger ones,
+     * the usual case with 12-decimal factors, are divided with a floating
+     * point estimate of the quotient corrected exactly in integers, and only
+     * quotients close to the long range take a full 128-bit long division.
+     */
+    static long convert(long minorUnits, long factor) {
+        long magnitude = Math.absExact(minorUnits);
+        long high = Math.multiplyHigh(magnitude, factor);
+        long low = magnitude * factor;
+        long quotient;
+        long remainder;
+        if (high == 0 && low >= 0) {
+            quotient = low / ONE;
+            remainder = low % ONE;
+        } else {
+            double estimate = (high * 0x1p64 + (low >>> 1) * 2.0) / ONE;
+            if (estimate < 0x1p62) {
+                // The estimate is off by a few thousand at most, so the error it leaves is below
+                // 2^52 in magnitude and exact in the low 64 bits of the product
+                quotient = (long) estimate;
+                long error = low - quotient * ONE;
+                quotient += Math.floorDiv(error, ONE);
+                remainder = Math.floorMod(error, ONE);
+            } else {
+                // Long division of the unsigned 128-bit product by 16-bit digits: the remainder stays
+                // below 10^12 < 2^40, so each step divides a number below 2^56
+                long quotientHigh = 0;
+                quotient = 0;
+                remainder = 0;
+                for (int shift = 112; shift >= 0; shift -= 16) {
+                    long digit = (shift >= 64 ? high >>> (shift - 64) : low >>> shift) & 0xFFFF;
+                    long dividend = remainder << 16 | digit;
+                    quotientHigh = quotientHigh << 16 | quotient >>> 48;
+                    quotient = quotient << 16 | dividend / ONE;
+                    remainder = dividend % ONE;
+                }
+                if (quotientHigh != 0 || quotient < 0) {
+                    throw new ArithmeticException("Converted amount overflows");
+                }
+            }
+        }
+        long twice = remainder * 2;
+        if (twice > ONE || (twice == ONE && (quotient & 1) == 1)) {
+            quotient = Math.incrementExact(quotient);
+        }
+        return minorUnits < 0 ? -quotient : quotient;
+    }
+
+    private int position(Currency currency) {
+        int code = currency.getNumericCode();
+        if (code <= 0 || code >= NUMERIC_CODES) {
+            return -1;
+        }
+        int position = positions[code];
+        // The numeric code of a currency may be reused by a later ISO 4217 revision
+        return position >= 0 && currencies[position].equals(currency) ? position : -1;
+    }
+
+    private int require(Currency currency) {
+        if (currency == null) {
+            throw new IllegalArgumentException("Currency cannot be null");
+        }
+        int position = position(currency);
+        if (position < 0) {
+            throw new IllegalArgumentException("No exchange rate for " + currency.getCurrencyCode());
+        }
+        return position;
+    }
+
+    private static long factor(Currency from, BigDecimal fromPerBase, Currency to, BigDecimal toPerBase) {
+        BigDecimal factor = toPerBase
+                .movePointRight(to.getDefaultFractionDigits() - from.getDefaultFractionDigits())
+                .divide(fromPerBase, FACTOR_SCALE, RoundingMode.HALF_EVEN);
+        try {
+            long unscaled = factor.unscaledValue().longValueExact();
+            if (unscaled == 0) {
+                throw new ArithmeticException("Rate underflow");
+            }
+            return unscaled;
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Exchange rate from " + from.getCurrencyCode() + " to "
+                    + to.getCurrencyCode() + " is out of range", e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.actuator;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.fx.services.ExchangeRateService;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.RateMatrix;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint exposing the current exchange rates.
+ *
+ * - GET /actuator/fx - Rates of every currency against the base currency
+ * - POST /actuator/fx - Reloads the rates from {@code bank.fx.rates-location}
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Component
+@Endpoint(id = "fx")
+public class FxEndpoint {
+
+    private final ExchangeRateService exchangeRateService;
+
+    public FxEndpoint(ExchangeRateService exchangeRateService) {
+        this.exchangeRateService = exchangeRateService;
+    }
+
+    @ReadOperation
+    public Rates rates() {
+        return Rates.of(exchangeRateService.current());
+    }
+
+    @WriteOperation
+    public Rates reload() {
+        return Rates.of(exchangeRateService.reload());
+    }
+
+    /**
+     * @param base  ISO 4217 code of the base currency
+     * @param asOf  When the rates were quoted
+     * @param rates Units of each currency worth one unit of the base currency
+     */
+    public record Rates(String base, Instant asOf, Map<String, BigDecimal> rates) {
+
+        static Rates of(RateMatrix matrix) {
+            Map<String, BigDecimal> rates = new LinkedHashMap<>();
+            for (Currency currency : matrix.currencies()) {
+                rates.put(currency.getCurrencyCode(), matrix.rate(matrix.base(), currency));
+            }
+            return new Rates(matrix.base().getCurrencyCode(), matrix.asOf(), rates);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.actuator;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.reconciliation.models.ReconciliationReport;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.reconciliation.services.ReconciliationService;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.LedgerDiscrepancy;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.ReconciliationRun;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint running ledger reconciliations, which verify the
+ * {@code balanceAfterTransaction} chain and balance of every account.
+ *
+ * - GET /actuator/reconciliation?limit= - Latest run, its progress and its first discrepancies (100 by default)
+ * - POST /actuator/reconciliation - Resumes the latest run if it was interrupted, or starts a new one, in the
+ * background
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Component
+@Endpoint(id = "reconciliation")
+public class ReconciliationEndpoint {
+
+    private static final int DEFAULT_LIMIT = 100;
+
+    private final ReconciliationService reconciliationService;
+
+    public ReconciliationEndpoint(ReconciliationService reconciliationService) {
+        this.reconciliationService = reconciliationService;
+    }
+
+    @ReadOperation
+    public Report report(@Nullable Integer limit) {
+        return reconciliationService.getLatest(limit == null ? DEFAULT_LIMIT : Math.max(0, limit))
+                .map(Report::of)
+                .orElse(null);
+    }
+
+    @WriteOperation
+    public Started start() {
+        return new Started(reconciliationService.start());
+    }
+
+    /**
+     * @param started Whether a run started, false if one was already running
+     */
+    public record Started(boolean started) {
+    }
+
+    /**
+     * @param runId         The run
+     * @param running       Whether it is in progress
+     * @param progress      Fraction of the accounts verified
+     * @param accounts      Accounts verified
+     * @param transactions  Transactions verified
+     * @param discrepancies Discrepancies found
+     * @param lastAccountId Checkpoint, the highest account id verified
+     * @param startedAt     When the run started
+     * @param completedAt   When it completed, null if it did not
+     * @param found         The first discrepancies, in account order
+     */
+    public record Report(UUID runId, boolean running, double progress, long accounts, long transactions,
+            long discrepancies, UUID lastAccountId, LocalDateTime startedAt, LocalDateTime completedAt,
+            List<Discrepancy> found) {
+
+        static Report of(ReconciliationReport report) {
+            ReconciliationRun run = report.run();
+            return new Report(run.getId(), report.running(), report.progress(), run.getAccounts(),
+                    run.getTransactions(), run.getDiscrepancies(), run.getLastAccountId(), run.getStartedAt(),
+                    run.getCompletedAt(), report.discrepancies().stream().map(Discrepancy::of).toList());
+        }
+    }
+
+    /**
+     * @param accountId     The account
+     * @param kind          {@code BROKEN_CHAIN} or {@code BALANCE_MISMATCH}
+     * @param transactionId The transaction recording a wrong balance, null for a balance mismatch
+     * @param expected      The balance the chain leads to
+     * @param actual        The balance recorded by the transaction or the account
+     * @param currency      ISO 4217 code of the currency
+     * @param detectedAt    When it was found
+     */
+    public record Discrepancy(UUID accountId, String kind, UUID transactionId, BigDecimal expected,
+            BigDecimal actual, String currency, LocalDateTime detectedAt) {
+
+        static Discrepancy of(LedgerDiscrepancy discrepancy) {
+            int digits = discrepancy.getCurrency().getDefaultFractionDigits();
+            return new Discrepancy(discrepancy.getAccountId(), discrepancy.getKind().name(),
+                    discrepancy.getTransactionId(), BigDecimal.valueOf(discrepancy.getExpectedMinorUnits(), digits),
+                    BigDecimal.valueOf(discrepancy.getActualMinorUnits(), digits),
+                    discrepancy.getCurrency().getCurrencyCode(), discrepancy.getDetectedAt());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.actuator;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.rollups.models.RollupRebuild;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.rollups.services.RollupRebuildService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint rebuilding the account rollups from the transactions.
+ *
+ * - POST /actuator/rollups - Replaces the rollups of every account, in parallel
+ * batches that hold the posting locks of their accounts; postings continue meanwhile
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Component
+@Endpoint(id = "rollups")
+public class RollupsEndpoint {
+
+    private final RollupRebuildService rebuildService;
+
+    public RollupsEndpoint(RollupRebuildService rebuildService) {
+        this.rebuildService = rebuildService;
+    }
+
+    @WriteOperation
+    public RollupRebuild rebuild() {
+        return rebuildService.rebuild();
+    }
+}
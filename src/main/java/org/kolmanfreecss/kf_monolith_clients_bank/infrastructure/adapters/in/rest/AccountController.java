@@ -0,0 +1,316 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.models.AccountSummary;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.services.AccountService;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.posting.services.LedgerService;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.rollups.services.AccountActivityService;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.snapshots.services.PointInTimeBalanceService;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.statements.services.StatementService;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Account;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRollup.Granularity;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.dto.account.AccountActivityDTO;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.dto.account.AccountActivityHistoryDTO;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.dto.account.AccountDTO;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.dto.account.BalanceAtDTO;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.dto.account.LedgerActivityDTO;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.dto.account.OpenAccountRequestDTO;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.dto.account.PostingRequestDTO;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.dto.account.StatementDTO;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.dto.account.TransactionDTO;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.dto.account.TransferDTO;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.dto.account.TransferRequestDTO;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * REST Controller for bank accounts: opening, status changes, deposits,
+ * withdrawals, transfers, statements, point-in-time balances and activity
+ * totals.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ * @category Account
+ */
+@RestController
+@RequestMapping("/api/v1/accounts")
+@RequiredArgsConstructor
+@Tag(name = "Account Management", description = "APIs for managing accounts and posting money movements")
+public class AccountController {
+
+    private final AccountService accountService;
+    private final LedgerService ledgerService;
+    private final StatementService statementService;
+    private final PointInTimeBalanceService pointInTimeBalanceService;
+    private final AccountActivityService accountActivityService;
+
+    @Operation(summary = "Open account", description = "Opens an empty, active account for an existing client")
+    @ApiResponse(responseCode = "200", description = "Account opened successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = AccountDTO.class)))
+    @ApiResponse(responseCode = "400", description = "Unknown client or invalid currency", content = @Content)
+    @PostMapping
+    public ResponseEntity<AccountDTO> openAccount(
+            @Parameter(description = "Owning client and currency", required = true) @RequestBody OpenAccountRequestDTO request) {
+        try {
+            if (request.currency() == null) {
+                throw new IllegalArgumentException("Currency is required");
+            }
+            Account account = accountService.openAccount(request.clientId(), Currency.getInstance(request.currency()));
+            return ResponseEntity.ok(toDTO(account));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Get client accounts", description = "Lists the accounts of a client, oldest first")
+    @ApiResponse(responseCode = "200", description = "Accounts returned successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = AccountDTO.class)))
+    @GetMapping
+    public ResponseEntity<List<AccountDTO>> getClientAccounts(
+            @Parameter(description = "UUID of the owning client") @RequestParam UUID clientId) {
+        return ResponseEntity.ok(accountService.getClientAccounts(clientId).stream().map(AccountController::toDTO).toList());
+    }
+
+    @Operation(summary = "Get account by ID", description = "Retrieves an account and its current balance")
+    @ApiResponse(responseCode = "200", description = "Account found and returned successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = AccountDTO.class)))
+    @ApiResponse(responseCode = "404", description = "Account not found", content = @Content)
+    @GetMapping("/{id}")
+    public ResponseEntity<AccountDTO> getAccountById(
+            @Parameter(description = "UUID of the account to retrieve") @PathVariable UUID id) {
+        return accountService.getAccount(id)
+                .map(account -> ResponseEntity.ok(toDTO(account)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Get account statement", description = """
+            Returns the transactions of an account for a date range, in posting order,
+            with the opening and closing balances of the period.
+
+            Pages are keyset pages: pass the nextCursor of a page to get the following one.
+            Every page costs the same regardless of its depth, and the balances are read
+            from the stored balance after each transaction, not summed.
+
+            With a reporting currency, the balances are also converted at the current
+            exchange rates, rounded half to even to its minor unit.
+
+            Example request:
+            GET /api/v1/accounts/{id}/statement?from=2026-01-01&to=2026-01-31&size=50&currency=USD
+            """)
+    @ApiResponse(responseCode = "200", description = "Statement page returned successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StatementDTO.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid period, page size, cursor or reporting currency", content = @Content)
+    @ApiResponse(responseCode = "404", description = "Account not found", content = @Content)
+    @GetMapping("/{id}/statement")
+    public ResponseEntity<StatementDTO> getStatement(
+            @Parameter(description = "UUID of the account") @PathVariable UUID id,
+            @Parameter(description = "First day of the period (ISO date)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day of the period, inclusive (ISO date)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Cursor returned with the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "50") int size,
+            @Parameter(description = "ISO 4217 code of a reporting currency") @RequestParam(required = false) Currency currency) {
+        return respond(() -> statementService.getStatement(id, from, to, cursor, size, currency),
+                StatementDTO::from);
+    }
+
+    @Operation(summary = "Get balance at an instant", description = """
+            Returns the balance of an account at a past instant: the balance after every
+            transaction stamped before it.
+
+            The lookup starts from the latest daily balance snapshot before the instant and
+            only reads the transactions after that snapshot.
+
+            Example request:
+            GET /api/v1/accounts/{id}/balance?at=2026-01-31T18:00:00
+            """)
+    @ApiResponse(responseCode = "200", description = "Balance returned successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BalanceAtDTO.class)))
+    @ApiResponse(responseCode = "404", description = "Account not found", content = @Content)
+    @GetMapping("/{id}/balance")
+    public ResponseEntity<BalanceAtDTO> getBalanceAt(
+            @Parameter(description = "UUID of the account") @PathVariable UUID id,
+            @Parameter(description = "The instant (ISO date-time)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        return respond(() -> pointInTimeBalanceService.getBalanceAt(id, at), BalanceAtDTO::from);
+    }
+
+    @Operation(summary = "Get account activity", description = """
+            Returns the number and the sum of an account's transactions per type over a
+            date range, e.g. the deposits of a quarter.
+
+            Totals are read from the daily and monthly rollups maintained on posting: the
+            whole months of the range are read from the monthly rollups and the remaining
+            days from the daily ones, so the cost does not grow with the number of transactions.
+
+            Example request:
+            GET /api/v1/accounts/{id}/activity?from=2026-01-01&to=2026-03-31
+            """)
+    @ApiResponse(responseCode = "200", description = "Activity returned successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = AccountActivityDTO.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid range", content = @Content)
+    @ApiResponse(responseCode = "404", description = "Account not found", content = @Content)
+    @GetMapping("/{id}/activity")
+    public ResponseEntity<AccountActivityDTO> getActivity(
+            @Parameter(description = "UUID of the account") @PathVariable UUID id,
+            @Parameter(description = "First day of the range (ISO date)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day of the range, inclusive (ISO date)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return respond(() -> accountActivityService.getActivity(id, from, to), AccountActivityDTO::from);
+    }
+
+    @Operation(summary = "Get account activity history", description = """
+            Returns the activity of an account per day or per month, read from the rollups.
+            By month, the months overlapping the range are returned whole. Periods without
+            transactions are left out.
+
+            Example request:
+            GET /api/v1/accounts/{id}/activity/history?from=2026-01-01&to=2026-12-31&granularity=MONTH
+            """)
+    @ApiResponse(responseCode = "200", description = "Activity returned successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = AccountActivityHistoryDTO.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid range or too many periods", content = @Content)
+    @ApiResponse(responseCode = "404", description = "Account not found", content = @Content)
+    @GetMapping("/{id}/activity/history")
+    public ResponseEntity<AccountActivityHistoryDTO> getActivityHistory(
+            @Parameter(description = "UUID of the account") @PathVariable UUID id,
+            @Parameter(description = "First day of the range (ISO date)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day of the range, inclusive (ISO date)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Length of the periods, DAY or MONTH") @RequestParam(defaultValue = "DAY") Granularity granularity) {
+        return respond(() -> accountActivityService.getActivityHistory(id, from, to, granularity),
+                AccountActivityHistoryDTO::from);
+    }
+
+    @Operation(summary = "Get ledger activity", description = """
+            Returns the activity of all accounts per day or month, currency and transaction
+            type, aggregated from the rollups. By month, the months overlapping the range are
+            returned whole.
+
+            With a reporting currency, the totals of every currency are converted at the
+            current exchange rates and summed into one total per period and type.
+
+            Example request:
+            GET /api/v1/accounts/activity?from=2026-01-01&to=2026-12-31&granularity=MONTH&currency=EUR
+            """)
+    @ApiResponse(responseCode = "200", description = "Activity returned successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = LedgerActivityDTO.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid range, too many periods or no exchange rate", content = @Content)
+    @GetMapping("/activity")
+    public ResponseEntity<List<LedgerActivityDTO>> getLedgerActivity(
+            @Parameter(description = "First day of the range (ISO date)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day of the range, inclusive (ISO date)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Length of the periods, DAY or MONTH") @RequestParam(defaultValue = "MONTH") Granularity granularity,
+            @Parameter(description = "ISO 4217 code of a currency to total all currencies in") @RequestParam(required = false) Currency currency) {
+        return respond(() -> Optional.of(accountActivityService.getLedgerActivity(from, to, granularity, currency)),
+                activity -> activity.stream().map(LedgerActivityDTO::from).toList());
+    }
+
+    @Operation(summary = "Deposit", description = "Deposits money into an active or frozen account")
+    @ApiResponse(responseCode = "200", description = "Deposit posted", content = @Content(mediaType = "application/json", schema = @Schema(implementation = TransactionDTO.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid amount", content = @Content)
+    @ApiResponse(responseCode = "404", description = "Account not found", content = @Content)
+    @ApiResponse(responseCode = "409", description = "Account does not accept deposits, or was modified concurrently", content = @Content)
+    @ApiResponse(responseCode = "503", description = "Posting queue is full, retry later", content = @Content)
+    @PostMapping("/{id}/deposit")
+    public ResponseEntity<TransactionDTO> deposit(
+            @Parameter(description = "UUID of the account") @PathVariable UUID id,
+            @Parameter(description = "Amount and description", required = true) @RequestBody PostingRequestDTO request) {
+        return respond(() -> ledgerService.deposit(id, request.amount(), request.description()), TransactionDTO::from);
+    }
+
+    @Operation(summary = "Withdraw", description = "Withdraws money from an active account")
+    @ApiResponse(responseCode = "200", description = "Withdrawal posted", content = @Content(mediaType = "application/json", schema = @Schema(implementation = TransactionDTO.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid amount", content = @Content)
+    @ApiResponse(responseCode = "404", description = "Account not found", content = @Content)
+    @ApiResponse(responseCode = "409", description = "Insufficient funds, velocity limit exceeded, account does not allow withdrawals, or was modified concurrently", content = @Content)
+    @ApiResponse(responseCode = "503", description = "Posting queue is full, retry later", content = @Content)
+    @PostMapping("/{id}/withdraw")
+    public ResponseEntity<TransactionDTO> withdraw(
+            @Parameter(description = "UUID of the account") @PathVariable UUID id,
+            @Parameter(description = "Amount and description", required = true) @RequestBody PostingRequestDTO request) {
+        return respond(() -> ledgerService.withdraw(id, request.amount(), request.description()), TransactionDTO::from);
+    }
+
+    @Operation(summary = "Transfer", description = """
+            Moves money between two accounts of the same currency.
+
+            Both legs are committed atomically: the source is debited with a TRANSFER_OUT
+            transaction and the target credited with a TRANSFER_IN transaction.
+            """)
+    @ApiResponse(responseCode = "200", description = "Transfer posted", content = @Content(mediaType = "application/json", schema = @Schema(implementation = TransferDTO.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid amount, same account or different currencies", content = @Content)
+    @ApiResponse(responseCode = "404", description = "Either account not found", content = @Content)
+    @ApiResponse(responseCode = "409", description = "Insufficient funds, velocity limit exceeded, account status forbids the transfer, or an account was modified concurrently", content = @Content)
+    @ApiResponse(responseCode = "503", description = "Posting queue is full, retry later", content = @Content)
+    @PostMapping("/transfers")
+    public ResponseEntity<TransferDTO> transfer(
+            @Parameter(description = "Accounts, amount and description", required = true) @RequestBody TransferRequestDTO request) {
+        if (request.fromAccountId() == null || request.toAccountId() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return respond(() -> ledgerService.transfer(request.fromAccountId(), request.toAccountId(), request.amount(),
+                request.description()),
+                result -> new TransferDTO(TransactionDTO.from(result.debit()), TransactionDTO.from(result.credit())));
+    }
+
+    @Operation(summary = "Freeze account", description = "Blocks withdrawals and outgoing transfers; deposits are still accepted")
+    @ApiResponse(responseCode = "200", description = "Account frozen", content = @Content(mediaType = "application/json", schema = @Schema(implementation = AccountDTO.class)))
+    @ApiResponse(responseCode = "404", description = "Account not found", content = @Content)
+    @ApiResponse(responseCode = "409", description = "Account is not active", content = @Content)
+    @PostMapping("/{id}/freeze")
+    public ResponseEntity<AccountDTO> freezeAccount(
+            @Parameter(description = "UUID of the account") @PathVariable UUID id) {
+        return respond(() -> accountService.freezeAccount(id), AccountController::toDTO);
+    }
+
+    @Operation(summary = "Activate account", description = "Re-activates a frozen account")
+    @ApiResponse(responseCode = "200", description = "Account activated", content = @Content(mediaType = "application/json", schema = @Schema(implementation = AccountDTO.class)))
+    @ApiResponse(responseCode = "404", description = "Account not found", content = @Content)
+    @ApiResponse(responseCode = "409", description = "Account is not frozen", content = @Content)
+    @PostMapping("/{id}/activate")
+    public ResponseEntity<AccountDTO> activateAccount(
+            @Parameter(description = "UUID of the account") @PathVariable UUID id) {
+        return respond(() -> accountService.activateAccount(id), AccountController::toDTO);
+    }
+
+    @Operation(summary = "Close account", description = "Closes an account with a zero balance")
+    @ApiResponse(responseCode = "200", description = "Account closed", content = @Content(mediaType = "application/json", schema = @Schema(implementation = AccountDTO.class)))
+    @ApiResponse(responseCode = "404", description = "Account not found", content = @Content)
+    @ApiResponse(responseCode = "409", description = "Account is already closed or still holds money", content = @Content)
+    @PostMapping("/{id}/close")
+    public ResponseEntity<AccountDTO> closeAccount(
+            @Parameter(description = "UUID of the account") @PathVariable UUID id) {
+        return respond(() -> accountService.closeAccount(id), AccountController::toDTO);
+    }
+
+    private static AccountDTO toDTO(Account account) {
+        return AccountDTO.from(AccountSummary.of(account));
+    }
+
+    private <T, R> ResponseEntity<R> respond(Supplier<Optional<T>> operation, Function<T, R> mapper) {
+        try {
+            return operation.get().map(mapper).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException | OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest;
+
+import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.analytics.models.AnalyticsQuery;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.analytics.services.TransactionAnalyticsService;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Transaction.TransactionType;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.dto.analytics.AnalyticsResultDTO;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * REST Controller for ad-hoc transaction analytics, answered from the
+ * in-memory column store rather than the OLTP tables.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ * @category Account
+ */
+@RestController
+@RequestMapping("/api/v1/analytics")
+@RequiredArgsConstructor
+@Tag(name = "Transaction Analytics", description = "APIs for ad-hoc filter, group-by and aggregate queries over transactions")
+public class AnalyticsController {
+
+    private final TransactionAnalyticsService analyticsService;
+
+    @Operation(summary = "Query transactions", description = """
+            Filters the transactions, groups them and returns the number and sum of each group,
+            largest first. Groups are always split by currency.
+
+            Queries scan an in-memory column store refreshed every few seconds, in parallel;
+            coveredTo tells up to when transactions are loaded. Posting times have second
+            resolution and client types are the holders' current types.
+
+            Example requests:
+            Top accounts by outflow:
+            GET /api/v1/analytics/transactions?types=WITHDRAWAL,TRANSFER_OUT,FEE&groupBy=ACCOUNT&limit=10
+            Fee totals by client type:
+            GET /api/v1/analytics/transactions?types=FEE&groupBy=CLIENT_TYPE
+            Hourly volume:
+            GET /api/v1/analytics/transactions?from=2026-01-01T00:00:00&to=2026-01-02T00:00:00&groupBy=HOUR&orderBy=COUNT&limit=24
+            """)
+    @ApiResponse(responseCode = "200", description = "Query answered", content = @Content(mediaType = "application/json", schema = @Schema(implementation = AnalyticsResultDTO.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid range or limit, or too many groups", content = @Content)
+    @ApiResponse(responseCode = "409", description = "The analytics store is disabled", content = @Content)
+    @GetMapping("/transactions")
+    public ResponseEntity<AnalyticsResultDTO> queryTransactions(
+            @Parameter(description = "Only transactions posted at or after this instant (ISO date-time)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Only transactions posted before this instant (ISO date-time)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Only transactions of these types") @RequestParam(required = false) List<TransactionType> types,
+            @Parameter(description = "Only transactions of accounts whose holder is of these types: INDIVIDUAL, BUSINESS or VIP") @RequestParam(required = false) List<String> clientTypes,
+            @Parameter(description = "Only transactions in this ISO 4217 currency") @RequestParam(required = false) Currency currency,
+            @Parameter(description = "Dimensions to group by: ACCOUNT, TYPE, CLIENT_TYPE, and HOUR or DAY") @RequestParam(required = false) List<AnalyticsQuery.Dimension> groupBy,
+            @Parameter(description = "Measure to order the groups by, COUNT or AMOUNT") @RequestParam(defaultValue = "AMOUNT") AnalyticsQuery.Measure orderBy,
+            @Parameter(description = "Maximum number of groups") @RequestParam(defaultValue = "100") int limit) {
+        try {
+            AnalyticsQuery query = new AnalyticsQuery(from, to, toSet(types, TransactionType.class),
+                    clientTypes == null ? Set.of() : Set.copyOf(clientTypes), currency, toSet(groupBy, AnalyticsQuery.Dimension.class),
+                    orderBy, limit);
+            return ResponseEntity.ok(AnalyticsResultDTO.from(analyticsService.query(query)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    private static <E extends Enum<E>> Set<E> toSet(List<E> values, Class<E> type) {
+        return values == null || values.isEmpty() ? EnumSet.noneOf(type) : EnumSet.copyOf(values);
+    }
+}
@@ -1,20 +1,31 @@
 package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import org.kolmanfreecss.kf_monolith_clients_bank.application.client.services.ClientService;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.client.usecases.statistics.models.ClientCountsSummary;
 import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.Client;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.dto.client.ClientSummaryDTO;
 import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.dto.client.PagedClientRightsDTO;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -51,33 +62,100 @@ public class ClientController {
         return ResponseEntity.ok(clientService.getAllClients());
     }
 
-    @Operation(summary = "Get client by ID", description = "Retrieves a specific client by their UUID")
+    @Operation(summary = "Get client counts", description = """
+            Returns the number of clients per status and per type.
+
+            Counts are maintained incrementally from client domain events and
+            periodically reconciled with the database; this endpoint never scans the
+            clients table.
+            """)
+    @ApiResponse(responseCode = "200", description = "Client counts returned successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ClientSummaryDTO.class)))
+    @GetMapping("/summary")
+    public ResponseEntity<ClientSummaryDTO> getClientSummary() {
+        ClientCountsSummary summary = clientService.getClientSummary();
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        summary.byStatus().forEach((status, count) -> byStatus.put(status.name(), count));
+        return ResponseEntity.ok(
+                new ClientSummaryDTO(summary.total(), byStatus, summary.byType(), summary.lastReconciledAt()));
+    }
+
+    @Operation(summary = "Get client by ID", description = """
+            Retrieves a specific client by their UUID.
+
+            The response carries a strong ETag derived from the client id and version.
+            Sending it back in If-None-Match returns 304 Not Modified, answered from a
+            version-only lookup without loading the client.
+            """)
     @ApiResponse(responseCode = "200", description = "Client found and returned successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Client.class)))
+    @ApiResponse(responseCode = "304", description = "Client not modified since the given ETag", content = @Content)
     @ApiResponse(responseCode = "404", description = "Client not found", content = @Content)
     @GetMapping("/{id}")
     public ResponseEntity<Client> getClientById(
-            @Parameter(description = "UUID of the client to retrieve") @PathVariable UUID id) {
-        return clientService.getClientById(id).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+            @Parameter(description = "UUID of the client to retrieve") @PathVariable UUID id,
+            @Parameter(description = "ETag(s) of the representation already held by the caller") @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            Optional<Long> version = clientService.getClientVersion(id);
+            if (version.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            String eTag = ClientETag.of(id, version.get());
+            if (ClientETag.matchesIfNoneMatch(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+        }
+        return clientService.getClientById(id)
+                .map(client -> ResponseEntity.ok().eTag(ClientETag.of(id, client.getVersion())).body(client))
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @Operation(summary = "Create new client", description = "Creates a new client in the system")
     @ApiResponse(responseCode = "200", description = "Client created successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Client.class)))
     @ApiResponse(responseCode = "400", description = "Invalid client data provided", content = @Content)
+    @ApiResponse(responseCode = "409", description = "A client with the same document id already exists", content = @Content)
     @PostMapping
     public ResponseEntity<Client> createClient(
             @Parameter(description = "Client data to create", required = true) @RequestBody Client client) {
-        return ResponseEntity.ok(clientService.createClient(client));
+        try {
+            return ResponseEntity.ok(clientService.createClient(client));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException | DataIntegrityViolationException e) {
+            // A concurrent onboarding of the same document id passes the check but not the unique index
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
     }
 
-    @Operation(summary = "Update client", description = "Updates an existing client's information")
+    @Operation(summary = "Update client", description = """
+            Updates an existing client's information.
+
+            When If-Match carries the client's ETag, or a list of ETags, the update is
+            only applied if the client is still at one of those versions; stale writes are rejected with 412 before the
+            client is loaded. If-Match: * only requires the client to exist.
+            """)
     @ApiResponse(responseCode = "200", description = "Client updated successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Client.class)))
     @ApiResponse(responseCode = "404", description = "Client not found", content = @Content)
     @ApiResponse(responseCode = "400", description = "Invalid client data provided", content = @Content)
+    @ApiResponse(responseCode = "412", description = "Client was modified since the given ETag", content = @Content)
     @PutMapping("/{id}")
     public ResponseEntity<Client> updateClient(
             @Parameter(description = "UUID of the client to update") @PathVariable UUID id,
+            @Parameter(description = "ETag of the client version being replaced") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Parameter(description = "Updated client data", required = true) @RequestBody Client client) {
-        return clientService.updateClient(id, client).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+        Set<Long> expectedVersions = null;
+        if (ifMatch != null && !"*".equals(ifMatch.trim())) {
+            expectedVersions = ClientETag.parseVersions(ifMatch, id);
+            if (expectedVersions.isEmpty()) {
+                // Tags that do not belong to this client can never match
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+            }
+        }
+        try {
+            return clientService.updateClient(id, client, expectedVersions)
+                    .map(updated -> ResponseEntity.ok().eTag(ClientETag.of(id, updated.getVersion())).body(updated))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
     }
 
     @Operation(summary = "Delete client", description = "Deletes a client from the system")
@@ -90,6 +168,49 @@ public class ClientController {
         return ResponseEntity.noContent().build();
     }
 
+    @Operation(summary = "Verify client", description = "Moves a client from PENDING_VERIFICATION to ACTIVE")
+    @ApiResponse(responseCode = "200", description = "Client verified successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Client.class)))
+    @ApiResponse(responseCode = "404", description = "Client not found", content = @Content)
+    @ApiResponse(responseCode = "409", description = "Client is not pending verification", content = @Content)
+    @PostMapping("/{id}/verify")
+    public ResponseEntity<Client> verifyClient(
+            @Parameter(description = "UUID of the client to verify") @PathVariable UUID id) {
+        return statusTransition(() -> clientService.verifyClient(id));
+    }
+
+    @Operation(summary = "Suspend client", description = "Temporarily restricts a client")
+    @ApiResponse(responseCode = "200", description = "Client suspended successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Client.class)))
+    @ApiResponse(responseCode = "404", description = "Client not found", content = @Content)
+    @ApiResponse(responseCode = "409", description = "Client is already suspended", content = @Content)
+    @PostMapping("/{id}/suspend")
+    public ResponseEntity<Client> suspendClient(
+            @Parameter(description = "UUID of the client to suspend") @PathVariable UUID id,
+            @Parameter(description = "Reason for the suspension") @RequestParam String reason) {
+        return statusTransition(() -> clientService.suspendClient(id, reason));
+    }
+
+    @Operation(summary = "Block client", description = "Permanently restricts a client")
+    @ApiResponse(responseCode = "200", description = "Client blocked successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Client.class)))
+    @ApiResponse(responseCode = "404", description = "Client not found", content = @Content)
+    @ApiResponse(responseCode = "409", description = "Client is already blocked", content = @Content)
+    @PostMapping("/{id}/block")
+    public ResponseEntity<Client> blockClient(
+            @Parameter(description = "UUID of the client to block") @PathVariable UUID id,
+            @Parameter(description = "Reason for the block") @RequestParam String reason) {
+        return statusTransition(() -> clientService.blockClient(id, reason));
+    }
+
+    @Operation(summary = "Activate client", description = "Re-activates a suspended or blocked client")
+    @ApiResponse(responseCode = "200", description = "Client activated successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Client.class)))
+    @ApiResponse(responseCode = "404", description = "Client not found", content = @Content)
+    @ApiResponse(responseCode = "409", description = "Client is already active", content = @Content)
+    @PostMapping("/{id}/activate")
+    public ResponseEntity<Client> activateClient(
+            @Parameter(description = "UUID of the client to activate") @PathVariable UUID id,
+            @Parameter(description = "Reason for the activation") @RequestParam String reason) {
+        return statusTransition(() -> clientService.activateClient(id, reason));
+    }
+
     @Operation(summary = "Get client rights", description = """
             Retrieves the rights and permissions associated with a specific client
 
@@ -187,4 +308,12 @@ public class ClientController {
         }
     }
 
+    private ResponseEntity<Client> statusTransition(Supplier<Optional<Client>> transition) {
+        try {
+            return transition.get().map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
 }
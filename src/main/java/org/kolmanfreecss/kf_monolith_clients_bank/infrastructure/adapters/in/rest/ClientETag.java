@@ -0,0 +1,93 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Helper for building and matching strong entity tags for client resources.
+ * <p>
+ * The tag is derived from the client id and its optimistic-locking version, so
+ * it changes on every successful write and can be computed from a version-only
+ * lookup without loading the aggregate.
+ * <p>
+ * {@code If-None-Match} uses weak comparison as in RFC 9110 (a {@code W/}
+ * prefix is ignored) and accepts {@code *} and comma-separated lists.
+ * {@code If-Match} uses strong comparison and accepts comma-separated lists:
+ * it is resolved to the versions of this client it carries, which the service
+ * checks before loading the aggregate.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+final class ClientETag {
+
+    private static final String WILDCARD = "*";
+    private static final String WEAK_PREFIX = "W/";
+
+    private ClientETag() {
+    }
+
+    /**
+     * Builds the quoted strong entity tag for a client version.
+     *
+     * @param id      The UUID of the client
+     * @param version The optimistic-locking version of the client
+     * @return The quoted entity tag, e.g. {@code "123e4567-...-3"}
+     */
+    static String of(UUID id, Long version) {
+        return "\"" + id + "-" + (version == null ? 0L : version) + "\"";
+    }
+
+    /**
+     * Evaluates an {@code If-None-Match} header value (weak comparison).
+     *
+     * @param header  The raw header value, may be null
+     * @param current The current entity tag
+     * @return true if the client already holds the current representation
+     */
+    static boolean matchesIfNoneMatch(String header, String current) {
+        if (header == null || header.isBlank()) {
+            return false;
+        }
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith(WEAK_PREFIX)) {
+                tag = tag.substring(WEAK_PREFIX.length());
+            }
+            if (WILDCARD.equals(tag) || tag.equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Extracts the versions from the strong entity tags of this client in an
+     * {@code If-Match} header. Weak, malformed and foreign tags are skipped,
+     * as strong comparison can never match them.
+     *
+     * @param header The raw {@code If-Match} header value, may be null
+     * @param id     The UUID of the client the tags must belong to
+     * @return The versions carried by the tags, empty if none belongs to the client
+     */
+    static Set<Long> parseVersions(String header, UUID id) {
+        Set<Long> versions = new LinkedHashSet<>();
+        if (header == null) {
+            return versions;
+        }
+        String prefix = "\"" + id + "-";
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (!tag.startsWith(prefix) || !tag.endsWith("\"") || tag.length() <= prefix.length() + 1) {
+                continue;
+            }
+            try {
+                versions.add(Long.parseLong(tag.substring(prefix.length(), tag.length() - 1)));
+            } catch (NumberFormatException e) {
+                // Not a tag of ours
+            }
+        }
+        return versions;
+    }
+}
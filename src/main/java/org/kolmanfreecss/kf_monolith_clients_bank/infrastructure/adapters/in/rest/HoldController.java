@@ -0,0 +1,128 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.holds.services.HoldService;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.dto.account.AvailableBalanceDTO;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.dto.account.CaptureHoldRequestDTO;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.dto.account.HoldDTO;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.dto.account.HoldRequestDTO;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * REST Controller for holds on account funds: placing, capturing and
+ * releasing them, and available balances.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ * @category Account
+ */
+@RestController
+@RequestMapping("/api/v1/accounts")
+@RequiredArgsConstructor
+@Tag(name = "Account Holds", description = "APIs for reserving account funds for pending authorizations")
+public class HoldController {
+
+    private final HoldService holdService;
+
+    @Operation(summary = "Place hold", description = """
+            Reserves funds of an active account for a pending authorization, e.g. a card payment.
+
+            No transaction is posted: the hold lowers the available balance until it is captured,
+            released, or lapses after ttlSeconds. Placing a hold counts against the velocity limits.
+            """)
+    @ApiResponse(responseCode = "200", description = "Hold placed", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HoldDTO.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid amount or lifetime", content = @Content)
+    @ApiResponse(responseCode = "404", description = "Account not found", content = @Content)
+    @ApiResponse(responseCode = "409", description = "Insufficient available funds, velocity limit exceeded, account does not allow withdrawals, or journal mode", content = @Content)
+    @PostMapping("/{id}/holds")
+    public ResponseEntity<HoldDTO> placeHold(
+            @Parameter(description = "UUID of the account") @PathVariable UUID id,
+            @Parameter(description = "Amount, description and lifetime", required = true) @RequestBody HoldRequestDTO request) {
+        Duration ttl = request.ttlSeconds() == null ? null : Duration.ofSeconds(request.ttlSeconds());
+        return respond(() -> holdService.placeHold(id, request.amount(), request.description(), ttl), HoldDTO::from);
+    }
+
+    @Operation(summary = "Get active holds", description = "Lists the active holds of an account, latest first")
+    @ApiResponse(responseCode = "200", description = "Holds returned successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HoldDTO.class)))
+    @GetMapping("/{id}/holds")
+    public ResponseEntity<List<HoldDTO>> getActiveHolds(
+            @Parameter(description = "UUID of the account") @PathVariable UUID id) {
+        return ResponseEntity.ok(holdService.getActiveHolds(id).stream().map(HoldDTO::from).toList());
+    }
+
+    @Operation(summary = "Get available balance", description = "Returns the balance of an account, the funds reserved by its active holds and the rest, available for debits")
+    @ApiResponse(responseCode = "200", description = "Available balance returned successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = AvailableBalanceDTO.class)))
+    @ApiResponse(responseCode = "404", description = "Account not found", content = @Content)
+    @GetMapping("/{id}/available-balance")
+    public ResponseEntity<AvailableBalanceDTO> getAvailableBalance(
+            @Parameter(description = "UUID of the account") @PathVariable UUID id) {
+        return respond(() -> holdService.getAvailableBalance(id), AvailableBalanceDTO::from);
+    }
+
+    @Operation(summary = "Get hold", description = "Retrieves a hold in any status")
+    @ApiResponse(responseCode = "200", description = "Hold found and returned successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HoldDTO.class)))
+    @ApiResponse(responseCode = "404", description = "Hold not found", content = @Content)
+    @GetMapping("/holds/{holdId}")
+    public ResponseEntity<HoldDTO> getHold(
+            @Parameter(description = "UUID of the hold") @PathVariable UUID holdId) {
+        return respond(() -> holdService.getHold(holdId), HoldDTO::from);
+    }
+
+    @Operation(summary = "Capture hold", description = """
+            Withdraws the funds reserved by an active hold, all of them or a smaller amount,
+            with a WITHDRAWAL transaction. Whatever is not captured is freed.
+            """)
+    @ApiResponse(responseCode = "200", description = "Hold captured", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HoldDTO.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid amount, or more than the reserved amount", content = @Content)
+    @ApiResponse(responseCode = "404", description = "Hold not found", content = @Content)
+    @ApiResponse(responseCode = "409", description = "Hold is not active, account does not allow withdrawals or lacks funds, or was modified concurrently", content = @Content)
+    @PostMapping("/holds/{holdId}/capture")
+    public ResponseEntity<HoldDTO> captureHold(
+            @Parameter(description = "UUID of the hold") @PathVariable UUID holdId,
+            @Parameter(description = "Amount to capture") @RequestBody(required = false) CaptureHoldRequestDTO request) {
+        return respond(() -> holdService.captureHold(holdId, request == null ? null : request.amount()),
+                HoldDTO::from);
+    }
+
+    @Operation(summary = "Release hold", description = "Cancels an active hold, freeing its funds")
+    @ApiResponse(responseCode = "200", description = "Hold released", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HoldDTO.class)))
+    @ApiResponse(responseCode = "404", description = "Hold not found", content = @Content)
+    @ApiResponse(responseCode = "409", description = "Hold is not active, or was modified concurrently", content = @Content)
+    @PostMapping("/holds/{holdId}/release")
+    public ResponseEntity<HoldDTO> releaseHold(
+            @Parameter(description = "UUID of the hold") @PathVariable UUID holdId) {
+        return respond(() -> holdService.releaseHold(holdId), HoldDTO::from);
+    }
+
+    private <T, R> ResponseEntity<R> respond(Supplier<Optional<T>> operation, Function<T, R> mapper) {
+        try {
+            return operation.get().map(mapper).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException | OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+}
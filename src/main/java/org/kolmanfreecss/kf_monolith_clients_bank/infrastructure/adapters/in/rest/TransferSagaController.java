@@ -0,0 +1,96 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.transfers.services.TransferSagaService;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.dto.account.TransferRequestDTO;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.dto.account.TransferSagaDTO;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * REST Controller for asynchronous transfers: starting them and following
+ * them to their outcome.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ * @category Account
+ */
+@RestController
+@RequestMapping("/api/v1/accounts")
+@RequiredArgsConstructor
+@Tag(name = "Asynchronous Transfers", description = "APIs for transfers run as sagas of single-account steps")
+public class TransferSagaController {
+
+    private final TransferSagaService transferSagaService;
+
+    @Operation(summary = "Start asynchronous transfer", description = """
+            Accepts a transfer between two accounts of the same currency and returns right away.
+
+            The source is debited with a TRANSFER_OUT transaction, then the target credited with a
+            TRANSFER_IN transaction, each step committing on its own. If the source refuses the debit
+            the transfer is REJECTED; if the target refuses the credit the debit is reversed and the
+            transfer COMPENSATED. Follow it at the returned location.
+            """)
+    @ApiResponse(responseCode = "202", description = "Transfer initiated", content = @Content(mediaType = "application/json", schema = @Schema(implementation = TransferSagaDTO.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid amount, same account or different currencies", content = @Content)
+    @ApiResponse(responseCode = "404", description = "Either account not found", content = @Content)
+    @ApiResponse(responseCode = "409", description = "Journal mode is enabled", content = @Content)
+    @PostMapping("/transfers/async")
+    public ResponseEntity<TransferSagaDTO> initiateTransfer(
+            @Parameter(description = "Accounts, amount and description", required = true) @RequestBody TransferRequestDTO request) {
+        if (request.fromAccountId() == null || request.toAccountId() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return transferSagaService.initiate(request.fromAccountId(), request.toAccountId(), request.amount(),
+                    request.description())
+                    .map(saga -> ResponseEntity.accepted()
+                            .location(URI.create("/api/v1/accounts/transfers/" + saga.getId()))
+                            .body(TransferSagaDTO.from(saga)))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @Operation(summary = "Get asynchronous transfer", description = """
+            Retrieves an asynchronous transfer. With waitMillis, waits up to that long for the transfer
+            to be completed, rejected or compensated before answering with its state.
+            """)
+    @ApiResponse(responseCode = "200", description = "Transfer found and returned successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = TransferSagaDTO.class)))
+    @ApiResponse(responseCode = "400", description = "Wait is negative or too long", content = @Content)
+    @ApiResponse(responseCode = "404", description = "Transfer not found", content = @Content)
+    @GetMapping("/transfers/{transferId}")
+    public CompletableFuture<ResponseEntity<TransferSagaDTO>> getTransfer(
+            @Parameter(description = "UUID of the transfer") @PathVariable UUID transferId,
+            @Parameter(description = "Longest time to wait for the outcome, in milliseconds") @RequestParam(defaultValue = "0") long waitMillis) {
+        try {
+            return transferSagaService.awaitTransfer(transferId, Duration.ofMillis(waitMillis))
+                    .thenApply(saga -> saga.map(TransferSagaDTO::from).map(ResponseEntity::ok)
+                            .orElse(ResponseEntity.notFound().build()));
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.dto.account;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.rollups.models.AccountActivity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Data Transfer Object for the activity of an account over a date range.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Schema(description = "Activity of an account over a date range, per transaction type")
+public record AccountActivityDTO(
+        @Schema(description = "Account id") UUID accountId,
+
+        @Schema(description = "ISO 4217 currency code", example = "EUR") String currency,
+
+        @Schema(description = "First day of the range") LocalDate from,
+
+        @Schema(description = "Last day of the range, inclusive") LocalDate to,
+
+        @Schema(description = "Totals per transaction type with activity") List<ActivityTotalDTO> totals) {
+
+    public static AccountActivityDTO from(AccountActivity activity) {
+        return new AccountActivityDTO(activity.accountId(), activity.currency().getCurrencyCode(), activity.from(),
+                activity.to(), activity.totals().stream().map(ActivityTotalDTO::from).toList());
+    }
+}
@@ -0,0 +1,51 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.dto.account;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.rollups.models.AccountActivityHistory;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.rollups.models.ActivityPeriod;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Data Transfer Object for the activity of an account per day or month.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Schema(description = "Activity of an account per day or month")
+public record AccountActivityHistoryDTO(
+        @Schema(description = "Account id") UUID accountId,
+
+        @Schema(description = "ISO 4217 currency code", example = "EUR") String currency,
+
+        @Schema(description = "Length of the periods", example = "MONTH") String granularity,
+
+        @Schema(description = "Start of the first period") LocalDate from,
+
+        @Schema(description = "Start of the last period") LocalDate to,
+
+        @Schema(description = "Periods with activity, oldest first") List<Period> periods) {
+
+    public static AccountActivityHistoryDTO from(AccountActivityHistory history) {
+        return new AccountActivityHistoryDTO(history.accountId(), history.currency().getCurrencyCode(),
+                history.granularity().name(), history.from(), history.to(),
+                history.periods().stream().map(Period::from).toList());
+    }
+
+    /**
+     * Activity of one day or month.
+     */
+    @Schema(description = "Activity of one day or month")
+    public record Period(
+            @Schema(description = "The day, or the first day of the month") LocalDate periodStart,
+
+            @Schema(description = "Totals per transaction type with activity") List<ActivityTotalDTO> totals) {
+
+        static Period from(ActivityPeriod period) {
+            return new Period(period.periodStart(), period.totals().stream().map(ActivityTotalDTO::from).toList());
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.dto.account;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.models.AccountSummary;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Data Transfer Object for an account and its current balance.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Schema(description = "Bank account")
+public record AccountDTO(
+        @Schema(description = "Account id") UUID id,
+
+        @Schema(description = "Owning client id") UUID clientId,
+
+        @Schema(description = "Current balance") BigDecimal balance,
+
+        @Schema(description = "ISO 4217 currency code", example = "EUR") String currency,
+
+        @Schema(description = "Account status", example = "ACTIVE") String status,
+
+        @Schema(description = "When the account was opened") LocalDateTime openedAt) {
+
+    public static AccountDTO from(AccountSummary account) {
+        return new AccountDTO(account.id(), account.clientId(), account.balance().toBigDecimal(),
+                account.currency().getCurrencyCode(), account.status(), account.openedAt());
+    }
+}
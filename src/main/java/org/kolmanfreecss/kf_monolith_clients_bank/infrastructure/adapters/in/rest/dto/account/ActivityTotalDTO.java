@@ -0,0 +1,26 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.dto.account;
+
+import java.math.BigDecimal;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.rollups.models.ActivityTotal;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Data Transfer Object for the transactions of one type over a period.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Schema(description = "Number and sum of the transactions of one type")
+public record ActivityTotalDTO(
+        @Schema(description = "Transaction type", example = "DEPOSIT") String type,
+
+        @Schema(description = "Number of transactions") long transactionCount,
+
+        @Schema(description = "Sum of their amounts") BigDecimal amount) {
+
+    public static ActivityTotalDTO from(ActivityTotal total) {
+        return new ActivityTotalDTO(total.type().name(), total.transactionCount(), total.amount().toBigDecimal());
+    }
+}
@@ -0,0 +1,32 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.dto.account;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.holds.models.AvailableBalance;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Data Transfer Object for the available balance of an account.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Schema(description = "Balance of an account and the part of it not reserved by holds")
+public record AvailableBalanceDTO(
+        @Schema(description = "Account id") UUID accountId,
+
+        @Schema(description = "ISO 4217 currency code", example = "EUR") String currency,
+
+        @Schema(description = "Posted balance") BigDecimal balance,
+
+        @Schema(description = "Funds reserved by active holds") BigDecimal held,
+
+        @Schema(description = "Funds available for withdrawals, transfers and new holds") BigDecimal available) {
+
+    public static AvailableBalanceDTO from(AvailableBalance balance) {
+        return new AvailableBalanceDTO(balance.accountId(), balance.balance().currency().getCurrencyCode(),
+                balance.balance().toBigDecimal(), balance.held().toBigDecimal(), balance.available().toBigDecimal());
+    }
+}
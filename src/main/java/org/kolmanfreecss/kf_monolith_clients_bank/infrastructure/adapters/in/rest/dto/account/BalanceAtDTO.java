@@ -0,0 +1,34 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.dto.account;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.snapshots.models.PointInTimeBalance;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Data Transfer Object for the balance of an account at an instant.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Schema(description = "Balance of an account at an instant")
+public record BalanceAtDTO(
+        @Schema(description = "Account id") UUID accountId,
+
+        @Schema(description = "ISO 4217 currency code", example = "EUR") String currency,
+
+        @Schema(description = "The instant; transactions stamped at or after it are not included") LocalDateTime at,
+
+        @Schema(description = "Balance at the instant") BigDecimal balance,
+
+        @Schema(description = "Day of the balance snapshot the lookup started from, null if none") LocalDate snapshotDate) {
+
+    public static BalanceAtDTO from(PointInTimeBalance balance) {
+        return new BalanceAtDTO(balance.accountId(), balance.balance().currency().getCurrencyCode(), balance.at(),
+                balance.balance().toBigDecimal(), balance.snapshotDate());
+    }
+}
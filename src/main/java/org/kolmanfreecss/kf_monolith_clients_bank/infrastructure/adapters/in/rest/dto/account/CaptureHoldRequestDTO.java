@@ -0,0 +1,16 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.dto.account;
+
+import java.math.BigDecimal;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Request body to capture a hold.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Schema(description = "Hold capture request")
+public record CaptureHoldRequestDTO(
+        @Schema(description = "Amount to withdraw, at most the reserved amount; all of it if missing", example = "40.00") BigDecimal amount) {
+}
@@ -0,0 +1,48 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.dto.account;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Hold;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Data Transfer Object for a hold on account funds.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Schema(description = "Hold reserving account funds")
+public record HoldDTO(
+        @Schema(description = "Hold id") UUID id,
+
+        @Schema(description = "Account id") UUID accountId,
+
+        @Schema(description = "Reserved amount") BigDecimal amount,
+
+        @Schema(description = "ISO 4217 currency code", example = "EUR") String currency,
+
+        @Schema(description = "Hold status", example = "ACTIVE") String status,
+
+        @Schema(description = "Description of the authorization") String description,
+
+        @Schema(description = "When the hold was placed") LocalDateTime createdAt,
+
+        @Schema(description = "When the hold lapses if still active") LocalDateTime expiresAt,
+
+        @Schema(description = "When the hold was captured, released or expired") LocalDateTime resolvedAt,
+
+        @Schema(description = "Amount withdrawn by the capture") BigDecimal capturedAmount,
+
+        @Schema(description = "Withdrawal posted by the capture") UUID transactionId) {
+
+    public static HoldDTO from(Hold hold) {
+        BigDecimal captured = hold.getCapturedMinorUnits() == null ? null
+                : BigDecimal.valueOf(hold.getCapturedMinorUnits(), hold.getCurrency().getDefaultFractionDigits());
+        return new HoldDTO(hold.getId(), hold.getAccountId(), hold.getAmount().toBigDecimal(),
+                hold.getCurrency().getCurrencyCode(), hold.getStatus().name(), hold.getDescription(),
+                hold.getCreatedAt(), hold.getExpiresAt(), hold.getResolvedAt(), captured, hold.getTransactionId());
+    }
+}
@@ -0,0 +1,20 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.dto.account;
+
+import java.math.BigDecimal;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Request body to place a hold.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Schema(description = "Hold request")
+public record HoldRequestDTO(
+        @Schema(description = "Positive amount to reserve in the account currency", example = "42.50", requiredMode = Schema.RequiredMode.REQUIRED) BigDecimal amount,
+
+        @Schema(description = "Description of the authorization") String description,
+
+        @Schema(description = "Seconds until the hold lapses, the configured default if missing", example = "604800") Long ttlSeconds) {
+}
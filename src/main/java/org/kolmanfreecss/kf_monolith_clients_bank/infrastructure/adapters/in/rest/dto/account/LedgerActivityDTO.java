@@ -0,0 +1,34 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.dto.account;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.rollups.models.LedgerActivity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Data Transfer Object for the activity of all accounts of a currency, or of
+ * all currencies totalled in a reporting currency, over a day or month, for
+ * one transaction type.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Schema(description = "Activity of all accounts of a currency, or of all currencies in a reporting currency, over a day or month, for one transaction type")
+public record LedgerActivityDTO(
+        @Schema(description = "The day, or the first day of the month") LocalDate periodStart,
+
+        @Schema(description = "ISO 4217 currency code", example = "EUR") String currency,
+
+        @Schema(description = "Transaction type", example = "DEPOSIT") String type,
+
+        @Schema(description = "Number of transactions") long transactionCount,
+
+        @Schema(description = "Sum of their amounts") BigDecimal amount) {
+
+    public static LedgerActivityDTO from(LedgerActivity activity) {
+        return new LedgerActivityDTO(activity.periodStart(), activity.amount().currency().getCurrencyCode(),
+                activity.type().name(), activity.transactionCount(), activity.amount().toBigDecimal());
+    }
+}
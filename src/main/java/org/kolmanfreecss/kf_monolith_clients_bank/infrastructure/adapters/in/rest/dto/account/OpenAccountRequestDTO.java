@@ -0,0 +1,18 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.dto.account;
+
+import java.util.UUID;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Request body for opening an account.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Schema(description = "Account opening request")
+public record OpenAccountRequestDTO(
+        @Schema(description = "Owning client id", requiredMode = Schema.RequiredMode.REQUIRED) UUID clientId,
+
+        @Schema(description = "ISO 4217 currency code", example = "EUR", requiredMode = Schema.RequiredMode.REQUIRED) String currency) {
+}
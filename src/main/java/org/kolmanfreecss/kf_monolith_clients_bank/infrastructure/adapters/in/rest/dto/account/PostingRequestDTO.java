@@ -0,0 +1,18 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.dto.account;
+
+import java.math.BigDecimal;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Request body for a deposit or withdrawal.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Schema(description = "Deposit or withdrawal request")
+public record PostingRequestDTO(
+        @Schema(description = "Positive amount in the account currency", example = "100.00", requiredMode = Schema.RequiredMode.REQUIRED) BigDecimal amount,
+
+        @Schema(description = "Description of the posting") String description) {
+}
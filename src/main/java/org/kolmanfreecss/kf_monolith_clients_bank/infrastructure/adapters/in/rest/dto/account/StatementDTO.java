@@ -0,0 +1,68 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.dto.account;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.statements.models.StatementConversion;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.statements.models.StatementPage;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Data Transfer Object for one page of an account statement.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Schema(description = "One page of an account statement")
+public record StatementDTO(
+        @Schema(description = "Account id") UUID accountId,
+
+        @Schema(description = "ISO 4217 currency code", example = "EUR") String currency,
+
+        @Schema(description = "First day of the period") LocalDate from,
+
+        @Schema(description = "Last day of the period, inclusive") LocalDate to,
+
+        @Schema(description = "Balance at the start of the period") BigDecimal openingBalance,
+
+        @Schema(description = "Balance at the end of the period") BigDecimal closingBalance,
+
+        @Schema(description = "Transactions of this page in posting order") List<TransactionDTO> transactions,
+
+        @Schema(description = "Cursor of the next page, null on the last page") String nextCursor,
+
+        @Schema(description = "Whether another page follows") boolean hasNext,
+
+        @Schema(description = "Balances in the requested reporting currency, null if none was requested") Conversion conversion) {
+
+    public static StatementDTO from(StatementPage page) {
+        return new StatementDTO(page.accountId(), page.openingBalance().currency().getCurrencyCode(), page.from(),
+                page.to(), page.openingBalance().toBigDecimal(), page.closingBalance().toBigDecimal(),
+                page.transactions().stream().map(TransactionDTO::from).toList(),
+                page.nextCursor() == null ? null : page.nextCursor().encode(), page.nextCursor() != null,
+                page.conversion() == null ? null : Conversion.from(page.conversion()));
+    }
+
+    @Schema(description = "Balances of a statement converted to a reporting currency")
+    public record Conversion(
+            @Schema(description = "ISO 4217 code of the reporting currency", example = "USD") String currency,
+
+            @Schema(description = "Units of the reporting currency worth one unit of the account currency") BigDecimal rate,
+
+            @Schema(description = "When the rates used were quoted") Instant ratesAsOf,
+
+            @Schema(description = "Balance at the start of the period, in the reporting currency") BigDecimal openingBalance,
+
+            @Schema(description = "Balance at the end of the period, in the reporting currency") BigDecimal closingBalance) {
+
+        static Conversion from(StatementConversion conversion) {
+            return new Conversion(conversion.openingBalance().currency().getCurrencyCode(), conversion.rate(),
+                    conversion.ratesAsOf(), conversion.openingBalance().toBigDecimal(),
+                    conversion.closingBalance().toBigDecimal());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.dto.account;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Transaction;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Data Transfer Object for a posted account transaction.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Schema(description = "Posted account transaction")
+public record TransactionDTO(
+        @Schema(description = "Transaction id") UUID id,
+
+        @Schema(description = "Account id") UUID accountId,
+
+        @Schema(description = "Transaction type", example = "DEPOSIT") String type,
+
+        @Schema(description = "Amount moved") BigDecimal amount,
+
+        @Schema(description = "ISO 4217 currency code", example = "EUR") String currency,
+
+        @Schema(description = "Account balance after the transaction") BigDecimal balanceAfterTransaction,
+
+        @Schema(description = "Description of the transaction") String description,
+
+        @Schema(description = "When the transaction was posted") LocalDateTime timestamp) {
+
+    public static TransactionDTO from(Transaction transaction) {
+        return new TransactionDTO(transaction.getId(), transaction.getAccountId(), transaction.getType().name(),
+                transaction.getAmount(), transaction.getCurrency().getCurrencyCode(),
+                transaction.getBalanceAfterTransaction(), transaction.getDescription(), transaction.getTimestamp());
+    }
+}
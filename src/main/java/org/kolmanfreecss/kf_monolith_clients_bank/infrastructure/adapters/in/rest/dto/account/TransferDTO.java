@@ -0,0 +1,16 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.dto.account;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Data Transfer Object for both legs of a transfer.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Schema(description = "Committed transfer")
+public record TransferDTO(
+        @Schema(description = "TRANSFER_OUT leg on the source account") TransactionDTO debit,
+
+        @Schema(description = "TRANSFER_IN leg on the target account") TransactionDTO credit) {
+}
@@ -0,0 +1,23 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.dto.account;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Request body for a transfer between two accounts.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Schema(description = "Transfer request")
+public record TransferRequestDTO(
+        @Schema(description = "Debited account id", requiredMode = Schema.RequiredMode.REQUIRED) UUID fromAccountId,
+
+        @Schema(description = "Credited account id", requiredMode = Schema.RequiredMode.REQUIRED) UUID toAccountId,
+
+        @Schema(description = "Positive amount in the accounts' currency", example = "25.00", requiredMode = Schema.RequiredMode.REQUIRED) BigDecimal amount,
+
+        @Schema(description = "Description of the transfer") String description) {
+}
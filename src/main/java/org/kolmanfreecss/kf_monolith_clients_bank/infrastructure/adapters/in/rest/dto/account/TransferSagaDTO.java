@@ -0,0 +1,54 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.dto.account;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.TransferSaga;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Data Transfer Object for an asynchronous transfer.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Schema(description = "Asynchronous transfer between two accounts")
+public record TransferSagaDTO(
+        @Schema(description = "Transfer id") UUID id,
+
+        @Schema(description = "Debited account id") UUID fromAccountId,
+
+        @Schema(description = "Credited account id") UUID toAccountId,
+
+        @Schema(description = "Amount transferred") BigDecimal amount,
+
+        @Schema(description = "ISO 4217 currency code", example = "EUR") String currency,
+
+        @Schema(description = "Description of the transfer") String description,
+
+        @Schema(description = "Transfer status", example = "COMPLETED") String status,
+
+        @Schema(description = "When the transfer was initiated") LocalDateTime createdAt,
+
+        @Schema(description = "When the last step ran") LocalDateTime updatedAt,
+
+        @Schema(description = "When the transfer was completed, rejected or compensated") LocalDateTime completedAt,
+
+        @Schema(description = "TRANSFER_OUT posted on the debited account") UUID debitTransactionId,
+
+        @Schema(description = "TRANSFER_IN posted on the credited account") UUID creditTransactionId,
+
+        @Schema(description = "TRANSFER_IN reversing the debit, if compensated") UUID compensationTransactionId,
+
+        @Schema(description = "Why a step was refused") String failureReason) {
+
+    public static TransferSagaDTO from(TransferSaga saga) {
+        return new TransferSagaDTO(saga.getId(), saga.getFromAccountId(), saga.getToAccountId(),
+                saga.getAmount().toBigDecimal(), saga.getCurrency().getCurrencyCode(), saga.getDescription(),
+                saga.getStatus().name(), saga.getCreatedAt(), saga.getUpdatedAt(), saga.getCompletedAt(),
+                saga.getDebitTransactionId(), saga.getCreditTransactionId(), saga.getCompensationTransactionId(),
+                saga.getFailureReason());
+    }
+}
@@ -0,0 +1,60 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.dto.analytics;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.analytics.models.AnalyticsGroup;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.analytics.models.AnalyticsResult;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Data Transfer Object for the result of a transaction analytics query.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Schema(description = "Result of a transaction analytics query")
+public record AnalyticsResultDTO(
+        @Schema(description = "The largest groups, largest first") List<Group> groups,
+
+        @Schema(description = "Number of groups before the limit") int totalGroups,
+
+        @Schema(description = "Transactions scanned") long scannedRows,
+
+        @Schema(description = "Posting time of the oldest transaction loaded, null if none is") LocalDateTime coveredFrom,
+
+        @Schema(description = "Transactions posted from this instant on are not loaded yet") LocalDateTime coveredTo,
+
+        @Schema(description = "Time taken by the scan, in microseconds") long elapsedMicros) {
+
+    public static AnalyticsResultDTO from(AnalyticsResult result) {
+        return new AnalyticsResultDTO(result.groups().stream().map(Group::from).toList(), result.totalGroups(),
+                result.scannedRows(), result.coveredFrom(), result.coveredTo(), result.elapsedNanos() / 1000);
+    }
+
+    @Schema(description = "One group of transactions; dimensions not grouped by are null")
+    public record Group(
+            @Schema(description = "Account id") UUID accountId,
+
+            @Schema(description = "Transaction type", example = "WITHDRAWAL") String type,
+
+            @Schema(description = "Current type of the account holder", example = "BUSINESS") String clientType,
+
+            @Schema(description = "Start of the hour or day") LocalDateTime periodStart,
+
+            @Schema(description = "ISO 4217 currency code", example = "EUR") String currency,
+
+            @Schema(description = "Number of transactions") long transactionCount,
+
+            @Schema(description = "Sum of their amounts") BigDecimal amount) {
+
+        public static Group from(AnalyticsGroup group) {
+            return new Group(group.accountId(), group.type() == null ? null : group.type().name(), group.clientType(),
+                    group.periodStart(), group.amount().currency().getCurrencyCode(), group.transactionCount(),
+                    group.amount().toBigDecimal());
+        }
+    }
+}
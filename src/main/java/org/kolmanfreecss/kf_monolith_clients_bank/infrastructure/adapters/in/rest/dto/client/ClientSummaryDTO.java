@@ -0,0 +1,24 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.dto.client;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Data Transfer Object for the client counts summary.
+ * Values come from event-maintained counters, not from a table scan.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Schema(description = "Client counts per status and per type")
+public record ClientSummaryDTO(
+        @Schema(description = "Total number of clients") long total,
+
+        @Schema(description = "Number of clients per status") Map<String, Long> byStatus,
+
+        @Schema(description = "Number of clients per type") Map<String, Long> byType,
+
+        @Schema(description = "When the counters were last reconciled with the database") LocalDateTime lastReconciledAt) {
+}
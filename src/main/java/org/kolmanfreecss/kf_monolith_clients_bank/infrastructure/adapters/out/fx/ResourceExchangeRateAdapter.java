@@ -0,0 +1,86 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.out.fx;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeSet;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.fx.models.RateSheet;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.fx.ports.ExchangeRateSourcePort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adapter reading the exchange rates from a properties resource at
+ * {@code bank.fx.rates-location}: a {@code classpath:} or {@code file:}
+ * location, or an {@code http(s):} URL serving the same format in place of
+ * a market data feed.
+ * <p>
+ * The resource holds the base currency, the quote time and one rate per
+ * ISO 4217 code, in units of the currency worth one unit of the base:
+ * <pre>
+ * base=EUR
+ * as-of=2026-10-16T16:00:00Z
+ * USD=1.0842
+ * JPY=162.37
+ * </pre>
+ * The resource is read again on every load, so rates are updated by
+ * replacing it.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Component
+public class ResourceExchangeRateAdapter implements ExchangeRateSourcePort {
+
+    private static final String BASE = "base";
+    private static final String AS_OF = "as-of";
+
+    private final Resource resource;
+
+    public ResourceExchangeRateAdapter(
+            ResourceLoader resourceLoader,
+            @Value("${bank.fx.rates-location:classpath:fx/rates.properties}") String location) {
+        this.resource = resourceLoader.getResource(location);
+    }
+
+    @Override
+    public RateSheet load() {
+        Properties properties = new Properties();
+        try (InputStream in = resource.getInputStream()) {
+            properties.load(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read exchange rates from " + resource.getDescription(), e);
+        }
+        try {
+            Currency base = Currency.getInstance(require(properties, BASE));
+            Instant asOf = Instant.parse(require(properties, AS_OF));
+            Map<Currency, BigDecimal> rates = new LinkedHashMap<>();
+            // Sorted, so that currencies keep the same positions from one load to the next
+            for (String code : new TreeSet<>(properties.stringPropertyNames())) {
+                if (!code.equals(BASE) && !code.equals(AS_OF)) {
+                    rates.put(Currency.getInstance(code), new BigDecimal(properties.getProperty(code).trim()));
+                }
+            }
+            return new RateSheet(base, asOf, rates);
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Malformed exchange rates in " + resource.getDescription() + ": "
+                    + e.getMessage(), e);
+        }
+    }
+
+    private static String require(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing " + key);
+        }
+        return value.trim();
+    }
+}
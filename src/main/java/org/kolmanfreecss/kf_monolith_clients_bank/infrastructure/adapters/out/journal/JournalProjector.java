@@ -0,0 +1,135 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.out.journal;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.rollups.ports.AccountRollupPort;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRollupDeltas;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics.JournalMetrics;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Projects the transaction journal into the {@code transactions} and
+ * {@code accounts} tables.
+ * <p>
+ * Each batch inserts the postings with one JDBC batch, sets the balance of
+ * every touched account to its latest posting, adds the postings to the
+ * account rollups and advances the checkpoint in
+ * {@code ledger_journal_checkpoint}, all in one database transaction: a batch
+ * is projected exactly once even if the application stops halfway. Segments
+ * whose postings are all projected are then deleted from the journal.
+ * <p>
+ * Statements and account listings read the database, so they trail postings
+ * by up to one projection interval; the account balance itself is always
+ * read from the journal.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Slf4j
+public class JournalProjector {
+
+    private static final String INSERT_TRANSACTION = "INSERT INTO transactions (id, account_id, type, "
+            + "amount_minor_units, currency, timestamp, description, balance_after_minor_units) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    // The version is left alone: the journal is the only writer of balances, and a status change
+    // committed concurrently would otherwise fail its optimistic lock for no reason
+    private static final String UPDATE_BALANCE = "UPDATE accounts SET balance_minor_units = ?, last_posted_at = ? "
+            + "WHERE id = ?";
+
+    private final MappedTransactionJournal journal;
+    private final JdbcTemplate jdbcTemplate;
+    private final AccountRollupPort rollups;
+    private final TransactionTemplate transactionTemplate;
+    private final JournalMetrics metrics;
+    private final int batchSize;
+    private volatile boolean checkpointReady;
+
+    public JournalProjector(MappedTransactionJournal journal, JdbcTemplate jdbcTemplate, AccountRollupPort rollups,
+            TransactionTemplate transactionTemplate, JournalMetrics metrics, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Projection batch size must be positive");
+        }
+        this.journal = journal;
+        this.jdbcTemplate = jdbcTemplate;
+        this.rollups = rollups;
+        this.transactionTemplate = transactionTemplate;
+        this.metrics = metrics;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Projects every durable posting not projected yet, batch by batch.
+     */
+    @Scheduled(initialDelayString = "${bank.ledger.journal.projection-interval-ms:1000}",
+            fixedDelayString = "${bank.ledger.journal.projection-interval-ms:1000}")
+    public void project() {
+        try {
+            long checkpoint = transactionTemplate.execute(status -> checkpoint());
+            while (true) {
+                long from = checkpoint + 1;
+                long last = transactionTemplate.execute(status -> projectBatch(from));
+                if (last < from) {
+                    break;
+                }
+                checkpoint = last;
+            }
+            metrics.recordProjected(checkpoint);
+            journal.release(checkpoint);
+        } catch (RuntimeException e) {
+            log.error("Journal projection failed, retrying on the next run", e);
+        }
+    }
+
+    /**
+     * @param from First journal sequence not projected yet
+     * @return The new checkpoint, {@code from - 1} if there was nothing to project
+     */
+    private long projectBatch(long from) {
+        List<Object[]> inserts = new ArrayList<>(batchSize);
+        Map<UUID, Object[]> balances = new LinkedHashMap<>();
+        AccountRollupDeltas deltas = new AccountRollupDeltas();
+        long last = journal.read(from, batchSize, record -> {
+            Timestamp timestamp = Timestamp.valueOf(record.timestamp());
+            inserts.add(new Object[] { record.id(), record.accountId(), record.type().ordinal(),
+                    record.amountMinorUnits(), record.currencyCode(), timestamp, record.description(),
+                    record.balanceAfterMinorUnits() });
+            balances.put(record.accountId(), new Object[] { record.balanceAfterMinorUnits(), timestamp,
+                    record.accountId() });
+            deltas.add(record.accountId(), Currency.getInstance(record.currencyCode()), record.type(),
+                    record.timestamp().toLocalDate(), 1, record.amountMinorUnits());
+        });
+        if (last < from) {
+            return last;
+        }
+        jdbcTemplate.batchUpdate(INSERT_TRANSACTION, inserts);
+        jdbcTemplate.batchUpdate(UPDATE_BALANCE, new ArrayList<>(balances.values()));
+        rollups.add(deltas);
+        jdbcTemplate.update("UPDATE ledger_journal_checkpoint SET projected_sequence = ? WHERE id = 1", last);
+        return last;
+    }
+
+    private long checkpoint() {
+        if (!checkpointReady) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS ledger_journal_checkpoint "
+                    + "(id INT PRIMARY KEY, projected_sequence BIGINT NOT NULL)");
+            Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ledger_journal_checkpoint", Integer.class);
+            if (rows == null || rows == 0) {
+                jdbcTemplate.update("INSERT INTO ledger_journal_checkpoint (id, projected_sequence) VALUES (1, 0)");
+            }
+            checkpointReady = true;
+        }
+        Long projected = jdbcTemplate.queryForObject(
+                "SELECT projected_sequence FROM ledger_journal_checkpoint WHERE id = 1", Long.class);
+        return projected == null ? 0 : projected;
+    }
+}
@@ -0,0 +1,31 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.out.journal;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Transaction;
+
+/**
+ * A posting read back from the transaction journal.
+ *
+ * @param sequence               Journal sequence of the last slot of the posting
+ * @param id                     The transaction id
+ * @param accountId              The account id
+ * @param type                   The transaction type
+ * @param amountMinorUnits       The amount in minor units
+ * @param currencyCode           ISO 4217 code of the currency
+ * @param timestamp              When the transaction was posted
+ * @param description            The description, may be null
+ * @param balanceAfterMinorUnits The account balance after the posting, in minor units
+ */
+public record JournalRecord(
+        long sequence,
+        UUID id,
+        UUID accountId,
+        Transaction.TransactionType type,
+        long amountMinorUnits,
+        String currencyCode,
+        LocalDateTime timestamp,
+        String description,
+        long balanceAfterMinorUnits) {
+}
@@ -0,0 +1,615 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.out.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.posting.models.JournaledBalance;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.posting.ports.TransactionJournalPort;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Transaction;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics.JournalMetrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Transaction journal on memory-mapped segment files.
+ * <p>
+ * The journal is a sequence of fixed-size 128 byte slots, numbered from 1.
+ * Segment {@code journal-<n>.seg} holds the slots starting at sequence
+ * {@code n}. A posting takes one slot, plus continuation slots when its
+ * description does not fit inline. Slot layout (big endian):
+ * <pre>
+ *   0  sequence                    long
+ *   8  kind (1 posting, 2 description continuation)
+ *   9  flags (bit 0: last slot of an append group)
+ *  posting slot:
+ *  10  transaction type ordinal    byte
+ *  11  currency code               3 ASCII bytes
+ *  14  description length in bytes short, -1 when null
+ *  16  transaction id              2 longs
+ *  32  account id                  2 longs
+ *  48  amount, minor units         long
+ *  56  balance after, minor units  long
+ *  64  timestamp, epoch micros     long (wall clock read as UTC)
+ *  72  description, first 52 bytes
+ *  continuation slot:
+ *  10  description, next 114 bytes
+ * 124  CRC32C of bytes 0..123      int
+ * </pre>
+ * Appends are written by the calling thread under one lock; a flusher thread
+ * fsyncs everything written since its previous pass with a single
+ * {@link MappedByteBuffer#force(int, int)} per segment (group commit) and
+ * then completes the waiting appends. {@code flushDelayMicros} makes the
+ * flusher wait before each pass to gather bigger groups.
+ * <p>
+ * On start the journal is replayed: slots are read in sequence until the
+ * first one with a wrong sequence or checksum, groups without their last
+ * slot are discarded, the rest of the log is zeroed, and the balance of every
+ * account is rebuilt from its latest posting. Fully projected segments are
+ * deleted through {@link #release(long)}, so replay only covers postings that
+ * may still be missing from the database.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Slf4j
+public class MappedTransactionJournal implements TransactionJournalPort, AutoCloseable {
+
+    /**
+     * Longest description accepted, the length of the {@code transactions.description} column
+     */
+    public static final int MAX_DESCRIPTION_LENGTH = 255;
+
+    static final int SLOT_SIZE = 128;
+
+    private static final byte KIND_POSTING = 1;
+    private static final byte KIND_DESCRIPTION = 2;
+    private static final byte FLAG_GROUP_END = 1;
+    private static final int POSTING_DESCRIPTION_OFFSET = 72;
+    private static final int CONTINUATION_DESCRIPTION_OFFSET = 10;
+    private static final int CRC_OFFSET = SLOT_SIZE - Integer.BYTES;
+    private static final int INLINE_DESCRIPTION_BYTES = CRC_OFFSET - POSTING_DESCRIPTION_OFFSET;
+    private static final int CONTINUATION_DESCRIPTION_BYTES = CRC_OFFSET - CONTINUATION_DESCRIPTION_OFFSET;
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final Transaction.TransactionType[] TYPES = Transaction.TransactionType.values();
+
+    private final Path directory;
+    private final int slotsPerSegment;
+    private final long flushDelayNanos;
+    private final JournalMetrics metrics;
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final Map<UUID, JournaledBalance> balances = new ConcurrentHashMap<>();
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Condition written = writeLock.newCondition();
+    // Guarded by writeLock
+    private final ArrayDeque<PendingGroup> pending = new ArrayDeque<>();
+    private final ByteBuffer writeSlot = ByteBuffer.allocate(SLOT_SIZE);
+    private final CRC32C writeCrc = new CRC32C();
+    private Segment active;
+    private boolean closed;
+
+    private volatile long writtenSequence;
+    private volatile long durableSequence;
+    private volatile Throwable failure;
+    private final Thread flusher;
+
+    /**
+     * Opens the journal in a directory, replaying the segments found there.
+     *
+     * @param directory        The directory holding the segment files, created if missing
+     * @param segmentBytes     Size of new segment files, rounded down to whole slots
+     * @param flushDelayMicros Time the flusher waits before each fsync to gather more appends, 0 for none
+     * @param metrics          The journal metrics
+     * @throws IllegalArgumentException if the segment size is out of range
+     * @throws IllegalStateException    if a segment is missing in the middle of the journal
+     * @throws IOException              if the segments cannot be read or repaired
+     */
+    public MappedTransactionJournal(Path directory, long segmentBytes, long flushDelayMicros, JournalMetrics metrics)
+            throws IOException {
+        if (segmentBytes < SLOT_SIZE * 16L || segmentBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Segment size must be between " + SLOT_SIZE * 16
+                    + " and " + Integer.MAX_VALUE + " bytes");
+        }
+        this.directory = directory;
+        this.slotsPerSegment = (int) (segmentBytes / SLOT_SIZE);
+        this.flushDelayNanos = TimeUnit.MICROSECONDS.toNanos(flushDelayMicros);
+        this.metrics = metrics;
+        Files.createDirectories(directory);
+        recover();
+        metrics.monitorSequences(() -> durableSequence);
+        this.flusher = new Thread(this::flushLoop, "journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    public CompletableFuture<Long> append(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to append");
+        }
+        byte[][] descriptions = new byte[transactions.size()][];
+        for (int i = 0; i < descriptions.length; i++) {
+            descriptions[i] = encodeDescription(transactions.get(i).getDescription());
+        }
+        CompletableFuture<Long> durable = new CompletableFuture<>();
+        writeLock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Journal is closed");
+            }
+            if (failure != null) {
+                throw new IllegalStateException("Journal has failed", failure);
+            }
+            long sequence = writtenSequence;
+            for (int i = 0; i < descriptions.length; i++) {
+                sequence = writePosting(sequence + 1, transactions.get(i), descriptions[i],
+                        i == descriptions.length - 1);
+            }
+            writtenSequence = sequence;
+            pending.add(new PendingGroup(sequence, List.copyOf(transactions), durable));
+            written.signal();
+        } catch (IOException | UncheckedIOException e) {
+            fail(e);
+            throw new IllegalStateException("Journal append failed", e);
+        } finally {
+            writeLock.unlock();
+        }
+        metrics.recordAppend(transactions.size());
+        return durable;
+    }
+
+    @Override
+    public Optional<JournaledBalance> balanceOf(UUID accountId) {
+        return Optional.ofNullable(balances.get(accountId));
+    }
+
+    /**
+     * Reads durable postings in sequence order.
+     *
+     * @param fromSequence First sequence to read, raised to the oldest retained one
+     * @param maxPostings  Maximum number of postings to read
+     * @param consumer     Receives each posting
+     * @return Sequence of the last slot read, {@code fromSequence - 1} if nothing was read
+     * @throws IllegalStateException if a durable slot is damaged
+     */
+    public long read(long fromSequence, int maxPostings, Consumer<JournalRecord> consumer) {
+        long limit = durableSequence;
+        long sequence = segments.isEmpty() ? fromSequence : Math.max(fromSequence, segments.firstKey());
+        long last = sequence - 1;
+        ByteBuffer slot = ByteBuffer.allocate(SLOT_SIZE);
+        CRC32C crc = new CRC32C();
+        for (int postings = 0; postings < maxPostings && sequence <= limit; postings++) {
+            requireSlot(sequence, slot, crc, KIND_POSTING);
+            UUID id = new UUID(slot.getLong(16), slot.getLong(24));
+            UUID accountId = new UUID(slot.getLong(32), slot.getLong(40));
+            Transaction.TransactionType type = TYPES[slot.get(10)];
+            String currencyCode = new String(slot.array(), 11, 3, StandardCharsets.US_ASCII);
+            long amount = slot.getLong(48);
+            long balanceAfter = slot.getLong(56);
+            LocalDateTime timestamp = fromEpochMicros(slot.getLong(64));
+            int length = slot.getShort(14);
+            String description = null;
+            if (length >= 0) {
+                byte[] bytes = new byte[length];
+                int copied = Math.min(length, INLINE_DESCRIPTION_BYTES);
+                slot.get(POSTING_DESCRIPTION_OFFSET, bytes, 0, copied);
+                while (copied < length) {
+                    requireSlot(++sequence, slot, crc, KIND_DESCRIPTION);
+                    int chunk = Math.min(length - copied, CONTINUATION_DESCRIPTION_BYTES);
+                    slot.get(CONTINUATION_DESCRIPTION_OFFSET, bytes, copied, chunk);
+                    copied += chunk;
+                }
+                description = new String(bytes, StandardCharsets.UTF_8);
+            }
+            consumer.accept(new JournalRecord(sequence, id, accountId, type, amount, currencyCode, timestamp,
+                    description, balanceAfter));
+            last = sequence++;
+        }
+        return last;
+    }
+
+    /**
+     * Deletes the segments whose slots are all at or below a sequence. The
+     * segment being written is always kept, so the journal never loses its
+     * position.
+     *
+     * @param sequence Last sequence that is no longer needed, e.g. the last projected one
+     * @return Number of segments deleted
+     */
+    public int release(long sequence) {
+        long activeFirst;
+        writeLock.lock();
+        try {
+            activeFirst = active == null ? Long.MAX_VALUE : active.firstSequence();
+        } finally {
+            writeLock.unlock();
+        }
+        int deleted = 0;
+        for (Segment segment : segments.headMap(activeFirst).values()) {
+            if (segment.lastSequence() > sequence) {
+                break;
+            }
+            segments.remove(segment.firstSequence());
+            try {
+                segment.delete();
+                deleted++;
+            } catch (IOException e) {
+                log.warn("Could not delete journal segment {}", segment.path(), e);
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * @return Last sequence known to be on disk
+     */
+    public long durableSequence() {
+        return durableSequence;
+    }
+
+    /**
+     * Stops accepting appends, waits for the written ones to become durable
+     * and closes the segment files.
+     */
+    @Override
+    public void close() throws IOException {
+        writeLock.lock();
+        try {
+            closed = true;
+            written.signal();
+        } finally {
+            writeLock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Segment segment : segments.values()) {
+            segment.channel().close();
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(MappedTransactionJournal::isSegment)
+                    .sorted(Comparator.comparingLong(MappedTransactionJournal::firstSequenceOf))
+                    .toList();
+        }
+        long start = System.nanoTime();
+        long expected = files.isEmpty() ? 1 : firstSequenceOf(files.get(0));
+        long committed = expected - 1;
+        long postings = 0;
+        List<JournaledBalanceUpdate> updates = new ArrayList<>();
+        ByteBuffer slot = ByteBuffer.allocate(SLOT_SIZE);
+        CRC32C crc = new CRC32C();
+        boolean endOfLog = false;
+        for (Path file : files) {
+            long first = firstSequenceOf(file);
+            if (!endOfLog && first != expected) {
+                throw new IllegalStateException("Journal segment missing before " + file + ", expected sequence "
+                        + expected);
+            }
+            Segment segment = Segment.open(file, first, 0);
+            segments.put(first, segment);
+            for (long sequence = first; !endOfLog && sequence <= segment.lastSequence(); sequence++) {
+                if (!readSlot(segment, sequence, slot, crc)) {
+                    endOfLog = true;
+                    break;
+                }
+                expected = sequence + 1;
+                if (slot.get(8) == KIND_POSTING) {
+                    updates.add(new JournaledBalanceUpdate(new UUID(slot.getLong(32), slot.getLong(40)),
+                            new JournaledBalance(slot.getLong(56), fromEpochMicros(slot.getLong(64)))));
+                }
+                if ((slot.get(9) & FLAG_GROUP_END) != 0) {
+                    for (JournaledBalanceUpdate update : updates) {
+                        balances.put(update.accountId(), update.balance());
+                    }
+                    postings += updates.size();
+                    updates.clear();
+                    committed = sequence;
+                }
+            }
+        }
+        truncateAfter(committed);
+        writtenSequence = committed;
+        durableSequence = committed;
+        log.info("Replayed transaction journal in {}: {} postings, {} accounts, {} segments, next sequence {} in {} ms",
+                directory, postings, balances.size(), segments.size(), committed + 1,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Removes everything after the last complete group: later segments are
+     * deleted and the written slots in the rest of the segment holding the
+     * next sequence are zeroed and forced, so no stale slot can ever be taken
+     * for a new one. Slots with a zero sequence can never be valid and are
+     * left alone, which keeps the untouched tail of a segment sparse.
+     */
+    private void truncateAfter(long committed) throws IOException {
+        long next = committed + 1;
+        for (Segment segment : List.copyOf(segments.descendingMap().values())) {
+            if (segment.firstSequence() > next) {
+                segments.remove(segment.firstSequence());
+                segment.delete();
+                log.warn("Discarded journal segment {} past the last complete group", segment.path());
+            } else if (segment.lastSequence() >= next) {
+                zeroWrittenSlots(segment, next);
+                active = segment;
+            }
+        }
+    }
+
+    private static void zeroWrittenSlots(Segment segment, long from) {
+        MappedByteBuffer buffer = segment.buffer();
+        byte[] empty = new byte[SLOT_SIZE];
+        int first = -1;
+        int last = -1;
+        int discarded = 0;
+        for (int offset = segment.offset(from); offset < buffer.capacity(); offset += SLOT_SIZE) {
+            if (buffer.getLong(offset) != 0) {
+                buffer.put(offset, empty);
+                first = first < 0 ? offset : first;
+                last = offset;
+                discarded++;
+            }
+        }
+        if (first >= 0) {
+            buffer.force(first, last - first + SLOT_SIZE);
+            log.warn("Discarded {} journal slots past the last complete group in {}",
+                    discarded, segment.path());
+        }
+    }
+
+    private long writePosting(long sequence, Transaction transaction, byte[] description, boolean lastOfGroup)
+            throws IOException {
+        int length = description == null ? 0 : description.length;
+        int continuations = Math.max(0, length - INLINE_DESCRIPTION_BYTES + CONTINUATION_DESCRIPTION_BYTES - 1)
+                / CONTINUATION_DESCRIPTION_BYTES;
+        ByteBuffer slot = writeSlot;
+        clear(slot);
+        slot.put(8, KIND_POSTING);
+        slot.put(9, lastOfGroup && continuations == 0 ? FLAG_GROUP_END : 0);
+        slot.put(10, (byte) transaction.getType().ordinal());
+        slot.put(11, transaction.getCurrency().getCurrencyCode().getBytes(StandardCharsets.US_ASCII));
+        slot.putShort(14, (short) (description == null ? -1 : length));
+        slot.putLong(16, transaction.getId().getMostSignificantBits());
+        slot.putLong(24, transaction.getId().getLeastSignificantBits());
+        slot.putLong(32, transaction.getAccountId().getMostSignificantBits());
+        slot.putLong(40, transaction.getAccountId().getLeastSignificantBits());
+        slot.putLong(48, transaction.getAmountMinorUnits());
+        slot.putLong(56, transaction.getBalanceAfterMinorUnits());
+        slot.putLong(64, toEpochMicros(transaction.getTimestamp()));
+        int copied = Math.min(length, INLINE_DESCRIPTION_BYTES);
+        if (copied > 0) {
+            slot.put(POSTING_DESCRIPTION_OFFSET, description, 0, copied);
+        }
+        writeSlot(sequence, slot);
+        for (int i = 1; i <= continuations; i++) {
+            int chunk = Math.min(length - copied, CONTINUATION_DESCRIPTION_BYTES);
+            clear(slot);
+            slot.put(8, KIND_DESCRIPTION);
+            slot.put(9, lastOfGroup && i == continuations ? FLAG_GROUP_END : 0);
+            slot.put(CONTINUATION_DESCRIPTION_OFFSET, description, copied, chunk);
+            copied += chunk;
+            writeSlot(sequence + i, slot);
+        }
+        return sequence + continuations;
+    }
+
+    private void writeSlot(long sequence, ByteBuffer slot) throws IOException {
+        slot.putLong(0, sequence);
+        writeCrc.reset();
+        writeCrc.update(slot.array(), 0, CRC_OFFSET);
+        slot.putInt(CRC_OFFSET, (int) writeCrc.getValue());
+        if (active == null || sequence > active.lastSequence()) {
+            active = Segment.open(directory.resolve(SEGMENT_PREFIX + sequence + SEGMENT_SUFFIX), sequence,
+                    slotsPerSegment);
+            segments.put(sequence, active);
+        }
+        active.buffer().put(active.offset(sequence), slot.array());
+    }
+
+    private void flushLoop() {
+        while (true) {
+            writeLock.lock();
+            try {
+                while (writtenSequence == durableSequence && !closed && failure == null) {
+                    written.awaitUninterruptibly();
+                }
+                if (writtenSequence == durableSequence || failure != null) {
+                    return;
+                }
+            } finally {
+                writeLock.unlock();
+            }
+            if (flushDelayNanos > 0) {
+                LockSupport.parkNanos(flushDelayNanos);
+            }
+            long target = writtenSequence;
+            long start = System.nanoTime();
+            try {
+                force(durableSequence + 1, target);
+            } catch (IOException | UncheckedIOException e) {
+                fail(e);
+                return;
+            }
+            durableSequence = target;
+            List<PendingGroup> done = new ArrayList<>();
+            writeLock.lock();
+            try {
+                while (!pending.isEmpty() && pending.peek().lastSequence() <= target) {
+                    done.add(pending.poll());
+                }
+            } finally {
+                writeLock.unlock();
+            }
+            long postings = 0;
+            for (PendingGroup group : done) {
+                // Published once durable: a balance read never runs ahead of what survives a crash
+                for (Transaction transaction : group.transactions()) {
+                    balances.put(transaction.getAccountId(), new JournaledBalance(
+                            transaction.getBalanceAfterMinorUnits(), transaction.getTimestamp()));
+                }
+                postings += group.transactions().size();
+                group.durable().complete(group.lastSequence());
+            }
+            metrics.recordFsync(postings, System.nanoTime() - start);
+        }
+    }
+
+    private void force(long from, long to) throws IOException {
+        for (Segment segment : segments.subMap(segments.floorKey(from), true, to, true).values()) {
+            long first = Math.max(from, segment.firstSequence());
+            long last = Math.min(to, segment.lastSequence());
+            if (first <= last) {
+                segment.buffer().force(segment.offset(first), (int) (last - first + 1) * SLOT_SIZE);
+            }
+        }
+    }
+
+    private void fail(Throwable cause) {
+        log.error("Transaction journal failed, rejecting further appends", cause);
+        List<PendingGroup> failed;
+        writeLock.lock();
+        try {
+            if (failure == null) {
+                failure = cause;
+            }
+            failed = new ArrayList<>(pending);
+            pending.clear();
+            written.signal();
+        } finally {
+            writeLock.unlock();
+        }
+        failed.forEach(group -> group.durable().completeExceptionally(cause));
+    }
+
+    private void requireSlot(long sequence, ByteBuffer slot, CRC32C crc, byte kind) {
+        Map.Entry<Long, Segment> entry = segments.floorEntry(sequence);
+        if (entry == null || !readSlot(entry.getValue(), sequence, slot, crc) || slot.get(8) != kind) {
+            throw new IllegalStateException("Journal slot " + sequence + " is damaged");
+        }
+    }
+
+    private static boolean readSlot(Segment segment, long sequence, ByteBuffer slot, CRC32C crc) {
+        segment.buffer().get(segment.offset(sequence), slot.array());
+        crc.reset();
+        crc.update(slot.array(), 0, CRC_OFFSET);
+        byte kind = slot.get(8);
+        return slot.getLong(0) == sequence && slot.getInt(CRC_OFFSET) == (int) crc.getValue()
+                && (kind == KIND_POSTING || kind == KIND_DESCRIPTION);
+    }
+
+    private static byte[] encodeDescription(String description) {
+        if (description == null) {
+            return null;
+        }
+        if (description.length() > MAX_DESCRIPTION_LENGTH) {
+            throw new IllegalArgumentException("Description cannot exceed " + MAX_DESCRIPTION_LENGTH + " characters");
+        }
+        return description.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void clear(ByteBuffer slot) {
+        Arrays.fill(slot.array(), (byte) 0);
+    }
+
+    private static long toEpochMicros(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + timestamp.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromEpochMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static boolean isSegment(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static long firstSequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static void forceDirectory(Path directory) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    private record PendingGroup(long lastSequence, List<Transaction> transactions, CompletableFuture<Long> durable) {
+    }
+
+    private record JournaledBalanceUpdate(UUID accountId, JournaledBalance balance) {
+    }
+
+    /**
+     * A mapped segment file. New segments are created at their full size and
+     * made durable, directory entry included, before the first slot is written.
+     */
+    private record Segment(long firstSequence, Path path, FileChannel channel, MappedByteBuffer buffer) {
+
+        static Segment open(Path path, long firstSequence, int slots) throws IOException {
+            boolean created = !Files.exists(path);
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            long size = created ? (long) slots * SLOT_SIZE : channel.size() / SLOT_SIZE * SLOT_SIZE;
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            if (created) {
+                channel.force(true);
+                forceDirectory(path.getParent());
+            }
+            return new Segment(firstSequence, path, channel, buffer);
+        }
+
+        long lastSequence() {
+            return firstSequence + buffer.capacity() / SLOT_SIZE - 1;
+        }
+
+        int offset(long sequence) {
+            return (int) (sequence - firstSequence) * SLOT_SIZE;
+        }
+
+        /**
+         * Deletes the file; the mapping itself is released when the buffer is
+         * garbage collected.
+         */
+        void delete() throws IOException {
+            channel.close();
+            Files.deleteIfExists(path);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.out.rollups;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.rollups.ports.AccountRollupPort;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRollupDeltas;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * JDBC adapter writing the account rollups.
+ * <p>
+ * Increments are applied with one batched {@code UPDATE} per rollup row, in
+ * the database and without reading the rows first; the rows the batch did not
+ * find are then inserted with a second batch. Most postings land in a day
+ * already posted to, so updating the rollups usually costs one round trip per
+ * posting batch. Inserting a missing row cannot race with another writer
+ * because rollup writes are serialized per account.
+ * <p>
+ * JDBC statements run on the connection of the current Spring transaction,
+ * so the rollups commit together with the postings whether these are saved
+ * through JPA or projected from the journal.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Component
+public class JdbcAccountRollupAdapter implements AccountRollupPort {
+
+    private static final String INCREMENT_ROLLUP = "UPDATE account_rollups "
+            + "SET transaction_count = transaction_count + ?, amount_minor_units = amount_minor_units + ? "
+            + "WHERE account_id = ? AND granularity = ? AND period_start = ? AND type = ?";
+    private static final String INSERT_ROLLUP = "INSERT INTO account_rollups (account_id, granularity, period_start, "
+            + "type, currency, transaction_count, amount_minor_units) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String DELETE_ROLLUPS = "DELETE FROM account_rollups WHERE account_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcAccountRollupAdapter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void add(AccountRollupDeltas deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<AccountRollupDeltas.Delta> increments = deltas.deltas();
+        List<Object[]> updates = new ArrayList<>(increments.size());
+        for (AccountRollupDeltas.Delta delta : increments) {
+            AccountRollupDeltas.Period period = delta.period();
+            updates.add(new Object[] { delta.transactionCount(), delta.amountMinorUnits(), period.accountId(),
+                    period.granularity().name(), Date.valueOf(period.periodStart()), period.type().name() });
+        }
+        int[] updated = jdbcTemplate.batchUpdate(INCREMENT_ROLLUP, updates);
+        List<AccountRollupDeltas.Delta> missing = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                missing.add(increments.get(i));
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ROLLUP, rows(missing));
+        }
+    }
+
+    @Override
+    public int replace(Collection<UUID> accountIds, AccountRollupDeltas deltas) {
+        jdbcTemplate.batchUpdate(DELETE_ROLLUPS, accountIds.stream().map(id -> new Object[] { id }).toList());
+        List<Object[]> rows = rows(deltas.deltas());
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ROLLUP, rows);
+        }
+        return rows.size();
+    }
+
+    private static List<Object[]> rows(List<AccountRollupDeltas.Delta> increments) {
+        List<Object[]> rows = new ArrayList<>(increments.size());
+        for (AccountRollupDeltas.Delta delta : increments) {
+            AccountRollupDeltas.Period period = delta.period();
+            rows.add(new Object[] { period.accountId(), period.granularity().name(),
+                    Date.valueOf(period.periodStart()), period.type().name(), delta.currency().getCurrencyCode(),
+                    delta.transactionCount(), delta.amountMinorUnits() });
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,37 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.timing.TimedCacheManager;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cache Instrumentation Configuration
+ *
+ * Wraps the cache managers in a {@link TimedCacheManager}, whose caches feed
+ * the {@code Server-Timing} breakdown and emit the {@code bank.CacheLookup}
+ * flight recorder events.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Configuration
+public class CacheInstrumentationConfig {
+
+    /**
+     * @return Post-processor of the cache managers
+     */
+    @Bean
+    public static BeanPostProcessor cacheInstrumentationPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof CacheManager cacheManager && !(bean instanceof TimedCacheManager)) {
+                    return new TimedCacheManager(cacheManager);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,100 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.idempotency.GraphQlServerErrorInterceptor;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.idempotency.IdempotencyFilter;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.idempotency.IdempotencyStore;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.idempotency.LocalIdempotencyStore;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.idempotency.RedisIdempotencyStore;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics.IdempotencyMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Idempotency Key Configuration
+ *
+ * Enabled unless {@code bank.idempotency.enabled=false}. POST, PUT and PATCH
+ * requests to {@code bank.idempotency.url-patterns} carrying an
+ * {@code Idempotency-Key} header go through {@link IdempotencyFilter}, which
+ * answers duplicates from the recorded response for
+ * {@code bank.idempotency.ttl-ms}. Their bodies are limited to
+ * {@code bank.idempotency.max-body-bytes}.
+ *
+ * Keys are held in memory, up to {@code bank.idempotency.max-keys}. With
+ * {@code bank.idempotency.redis.enabled=true} they are also shared through
+ * Redis, so that a retry routed to another instance is deduplicated too.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Configuration
+@ConditionalOnProperty(name = "bank.idempotency.enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyConfig {
+
+    @Bean
+    public LocalIdempotencyStore localIdempotencyStore(
+            @Value("${bank.idempotency.max-keys:100000}") int maxKeys,
+            @Value("${bank.idempotency.ttl-ms:86400000}") long ttlMillis) {
+        return new LocalIdempotencyStore(maxKeys, Duration.ofMillis(ttlMillis));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "bank.idempotency.redis.enabled", havingValue = "true")
+    public RedisIdempotencyStore redisIdempotencyStore(
+            LocalIdempotencyStore local,
+            StringRedisTemplate redis,
+            ObjectMapper objectMapper,
+            @Value("${bank.idempotency.ttl-ms:86400000}") long ttlMillis) {
+        return new RedisIdempotencyStore(local, redis, objectMapper, Duration.ofMillis(ttlMillis));
+    }
+
+    @Bean
+    public IdempotencyMetrics idempotencyMetrics(MeterRegistry registry, LocalIdempotencyStore local) {
+        IdempotencyMetrics metrics = new IdempotencyMetrics(registry);
+        metrics.monitorKeys(local::size);
+        return metrics;
+    }
+
+    @Bean
+    public GraphQlServerErrorInterceptor graphQlServerErrorInterceptor() {
+        return new GraphQlServerErrorInterceptor();
+    }
+
+    /**
+     * Registers the filter in front of the posting, client and GraphQL
+     * endpoints, using the Redis store when there is one.
+     *
+     * @param local        The in-memory store
+     * @param redis        The Redis store, if enabled
+     * @param metrics      The idempotency metrics
+     * @param urlPatterns  Servlet URL patterns the filter applies to
+     * @param maxBodyBytes Largest body of a keyed request
+     * @return Filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(
+            LocalIdempotencyStore local,
+            Optional<RedisIdempotencyStore> redis,
+            IdempotencyMetrics metrics,
+            @Value("${bank.idempotency.url-patterns:/api/v1/accounts/*,/api/v1/clients/*,/graphql}")
+            String[] urlPatterns,
+            @Value("${bank.idempotency.max-body-bytes:1048576}") int maxBodyBytes) {
+        IdempotencyStore store = redis.isPresent() ? redis.get() : local;
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(
+                new IdempotencyFilter(store, metrics, maxBodyBytes));
+        registration.addUrlPatterns(urlPatterns);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,77 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.jfr.JfrEndpoint;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.jfr.JfrEventStreamer;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.jfr.JfrEventsAspect;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.jfr.JfrRecordings;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics.JfrMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Flight Recorder Configuration
+ *
+ * Enabled unless {@code bank.jfr.enabled=false}. Recordings are started,
+ * stopped and downloaded on demand through the {@code jfr} actuator
+ * endpoint, with the limits of {@code bank.jfr.*}. {@code ClientService}
+ * operations, external rights calls and cache lookups are emitted as
+ * {@code bank.*} events, so that they show on the recording timeline next to
+ * GC and lock contention.
+ *
+ * With {@code bank.jfr.streaming.enabled=true}, the events of
+ * {@code bank.jfr.streaming.events}, a map of event names to duration
+ * thresholds in milliseconds, are also streamed into
+ * {@code bank.jfr.events}.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Configuration
+@ConditionalOnProperty(name = "bank.jfr.enabled", havingValue = "true", matchIfMissing = true)
+public class JfrConfig {
+
+    @Bean
+    public JfrEventsAspect jfrEventsAspect() {
+        return new JfrEventsAspect();
+    }
+
+    @Bean(destroyMethod = "closeAll")
+    public JfrRecordings jfrRecordings(
+            @Value("${bank.jfr.max-recordings:3}") int maxRecordings,
+            @Value("${bank.jfr.max-duration-ms:1800000}") long maxDurationMillis,
+            @Value("${bank.jfr.max-age-ms:3600000}") long maxAgeMillis,
+            @Value("${bank.jfr.max-size-mb:250}") long maxSizeMegabytes,
+            @Value("${bank.jfr.profile-directory:}") String profileDirectory,
+            @Value("${bank.jfr.dump-retention-ms:600000}") long dumpRetentionMillis) {
+        return new JfrRecordings(maxRecordings, Duration.ofMillis(maxDurationMillis), Duration.ofMillis(maxAgeMillis),
+                maxSizeMegabytes * 1024 * 1024,
+                profileDirectory.isBlank() ? null : Path.of(profileDirectory).toAbsolutePath().normalize(),
+                Duration.ofMillis(dumpRetentionMillis));
+    }
+
+    @Bean
+    public JfrEndpoint jfrEndpoint(JfrRecordings recordings) {
+        return new JfrEndpoint(recordings);
+    }
+
+    @Bean
+    public JfrMetrics jfrMetrics(MeterRegistry registry) {
+        return new JfrMetrics(registry);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(name = "bank.jfr.streaming.enabled", havingValue = "true")
+    public JfrEventStreamer jfrEventStreamer(
+            JfrMetrics metrics,
+            @Value("#{${bank.jfr.streaming.events:{:}}}") Map<String, Long> events) {
+        return new JfrEventStreamer(metrics, events);
+    }
+}
@@ -0,0 +1,75 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.rollups.ports.AccountRollupPort;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.out.journal.JournalProjector;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.out.journal.MappedTransactionJournal;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics.JournalMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Transaction Journal Configuration
+ *
+ * Enabled with {@code bank.ledger.journal.enabled=true}. Postings are then
+ * made durable by appending them to {@link MappedTransactionJournal} segments
+ * in {@code bank.ledger.journal.directory}, and {@link JournalProjector}
+ * copies them into the database every
+ * {@code bank.ledger.journal.projection-interval-ms}.
+ *
+ * Journal mode needs a persistent database: the projection checkpoint and the
+ * accounts live there, and replay only covers the segments not projected yet.
+ * Only one instance may write to a journal directory.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Configuration
+@ConditionalOnProperty(name = "bank.ledger.journal.enabled", havingValue = "true")
+public class JournalConfig {
+
+    @Bean
+    public JournalMetrics journalMetrics(MeterRegistry registry) {
+        return new JournalMetrics(registry);
+    }
+
+    /**
+     * Opens the journal, replaying it before the ledger accepts postings.
+     *
+     * @param directory        Directory of the segment files
+     * @param segmentBytes     Size of each segment file
+     * @param flushDelayMicros Wait before each group fsync to gather more appends
+     * @param metrics          The journal metrics
+     * @return The journal, closed on shutdown after its pending appends are durable
+     * @throws IOException if the journal cannot be opened or replayed
+     */
+    @Bean
+    public MappedTransactionJournal transactionJournal(
+            @Value("${bank.ledger.journal.directory:data/journal}") String directory,
+            @Value("${bank.ledger.journal.segment-bytes:67108864}") long segmentBytes,
+            @Value("${bank.ledger.journal.flush-delay-micros:0}") long flushDelayMicros,
+            JournalMetrics metrics) throws IOException {
+        return new MappedTransactionJournal(Path.of(directory), segmentBytes, flushDelayMicros, metrics);
+    }
+
+    @Bean
+    public JournalProjector journalProjector(
+            MappedTransactionJournal journal,
+            JdbcTemplate jdbcTemplate,
+            AccountRollupPort rollups,
+            PlatformTransactionManager transactionManager,
+            JournalMetrics metrics,
+            @Value("${bank.ledger.journal.projection-batch-size:1000}") int batchSize) {
+        return new JournalProjector(journal, jdbcTemplate, rollups, new TransactionTemplate(transactionManager), metrics,
+                batchSize);
+    }
+}
@@ -36,7 +36,10 @@ public class OpenApiConfig {
                 .title("Bank Client Management API")
                 .version("1.0.0")
                 .contact(contact)
-                .description("This API exposes endpoints to manage bank clients.")
+                .description("This API exposes endpoints to manage bank clients. POST requests to accounts, client "
+                        + "creation and GraphQL accept an optional Idempotency-Key header: a retry with the same key "
+                        + "and body returns the recorded response with Idempotent-Replayed: true instead of running "
+                        + "again.")
                 .license(mitLicense);
 
         return new OpenAPI().info(info).servers(List.of(devServer));
@@ -0,0 +1,18 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration class enabling Spring's scheduled task execution.
+ * Used by background jobs such as the periodic reconciliation of client
+ * counters.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+    // Scheduled tasks are declared with @Scheduled on the services owning them
+}
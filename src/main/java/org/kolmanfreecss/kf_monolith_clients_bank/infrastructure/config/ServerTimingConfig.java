@@ -0,0 +1,79 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config;
+
+import java.util.Arrays;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.database.DataSourceInstrumentationConfig;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.timing.ExternalRightsTimingAspect;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.timing.RequestTimings;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.timing.ServerTimingFilter;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.timing.TimedJackson2HttpMessageConverter;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics.ServerTimingMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Server-Timing Configuration
+ *
+ * Enabled unless {@code bank.server-timing.enabled=false}. Requests to
+ * {@code bank.server-timing.url-patterns} get a {@code Server-Timing} header
+ * with the time they spent in JDBC, cache operations, external rights calls
+ * and JSON writing, also recorded in {@code bank.http.server.timing}.
+ *
+ * The components are timed by the JDBC proxy of the primary data source (see
+ * {@link DataSourceInstrumentationConfig}), by the cache decorators (see
+ * {@link CacheInstrumentationConfig}), by an aspect on
+ * {@code ClientExternalRightsPort} and by the JSON converter.
+ * Outside of a request they only read a thread local, so the breakdown can
+ * stay on in production.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Configuration
+@ConditionalOnProperty(name = "bank.server-timing.enabled", havingValue = "true", matchIfMissing = true)
+public class ServerTimingConfig {
+
+    @Bean
+    public TimedJackson2HttpMessageConverter timedJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new TimedJackson2HttpMessageConverter(objectMapper);
+    }
+
+    @Bean
+    public ExternalRightsTimingAspect externalRightsTimingAspect() {
+        return new ExternalRightsTimingAspect();
+    }
+
+    @Bean
+    public ServerTimingMetrics serverTimingMetrics(MeterRegistry registry) {
+        return new ServerTimingMetrics(registry, Arrays.stream(RequestTimings.Component.values())
+                .map(RequestTimings.Component::metricName)
+                .toArray(String[]::new));
+    }
+
+    /**
+     * Registers the filter ahead of the others, so that the breakdown covers
+     * them and its header is added to the responses they send.
+     *
+     * @param metrics     The server timing metrics
+     * @param urlPatterns Servlet URL patterns the filter applies to
+     * @return Filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(
+            ServerTimingMetrics metrics,
+            @Value("${bank.server-timing.url-patterns:/api/*,/graphql}") String[] urlPatterns) {
+        FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(
+                new ServerTimingFilter(metrics));
+        registration.addUrlPatterns(urlPatterns);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+}
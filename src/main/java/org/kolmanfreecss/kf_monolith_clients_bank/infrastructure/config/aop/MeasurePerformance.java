@@ -29,7 +29,7 @@ import java.lang.annotation.Target;
  * }
  *
  * The metrics will be available through:
- * - Application logs
+ * - Application logs (calls slower than {@code bank.instrumentation.slow-call-ms})
  * - Actuator endpoints (/actuator/metrics)
  * - Prometheus format (/actuator/prometheus)
  *
@@ -0,0 +1,111 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.aop;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Meter handles of one measured method, resolved once by
+ * {@link PerformanceAspect} and reused on every call.
+ * <p>
+ * Recording a sampled call only updates the meters, without building meter
+ * ids, formatting or logging, so it does not allocate. Calls are timed
+ * whether sampled or not: a call slower than the threshold is always logged,
+ * while only a {@code sampleRate} fraction of the calls reach the meters.
+ * The failure meters are registered on the first failure, so methods that
+ * never fail publish no failure series.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0
+ */
+@Slf4j
+final class MethodMeters {
+
+    private final MeterRegistry registry;
+    private final String className;
+    private final String methodName;
+    private final String fullMethodName;
+    private final double sampleRate;
+    private final long slowCallNanos;
+    private final Timer successTimer;
+    private final DistributionSummary successHistogram;
+    private final Timer percentiles;
+    private volatile Timer failureTimer;
+    private volatile DistributionSummary failureHistogram;
+
+    /**
+     * @param registry      The registry
+     * @param className     Simple name of the measured class
+     * @param methodName    Name of the measured method
+     * @param sampleRate    Fraction of the calls recorded, between 0 and 1
+     * @param slowCallNanos Duration from which a call is logged
+     */
+    MethodMeters(MeterRegistry registry, String className, String methodName, double sampleRate,
+            long slowCallNanos) {
+        this.registry = registry;
+        this.className = className;
+        this.methodName = methodName;
+        this.fullMethodName = className + "." + methodName;
+        this.sampleRate = sampleRate;
+        this.slowCallNanos = slowCallNanos;
+        this.successTimer = timer(true);
+        this.successHistogram = histogram(true);
+        this.percentiles = registry.timer("method.execution.time.percentiles",
+                "class", className,
+                "method", methodName);
+    }
+
+    /**
+     * @param nanos   Duration of the call
+     * @param success false if the call threw
+     */
+    void record(long nanos, boolean success) {
+        if (nanos >= slowCallNanos) {
+            log.warn("Slow call: {} executed in {} ms (success: {})", fullMethodName, nanos / 1_000_000, success);
+        }
+        if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        if (success) {
+            successTimer.record(nanos, TimeUnit.NANOSECONDS);
+            successHistogram.record(nanos / 1_000_000.0);
+        } else {
+            failureTimer().record(nanos, TimeUnit.NANOSECONDS);
+            failureHistogram.record(nanos / 1_000_000.0);
+        }
+        percentiles.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer failureTimer() {
+        Timer timer = failureTimer;
+        if (timer == null) {
+            synchronized (this) {
+                if (failureTimer == null) {
+                    failureHistogram = histogram(false);
+                    failureTimer = timer(false);
+                }
+                timer = failureTimer;
+            }
+        }
+        return timer;
+    }
+
+    private Timer timer(boolean success) {
+        return Timer.builder("method.execution.time")
+                .tag("class", className)
+                .tag("method", methodName)
+                .tag("success", String.valueOf(success))
+                .register(registry);
+    }
+
+    private DistributionSummary histogram(boolean success) {
+        return registry.summary("method.execution.time.histogram",
+                "class", className,
+                "method", methodName,
+                "success", String.valueOf(success));
+    }
+}
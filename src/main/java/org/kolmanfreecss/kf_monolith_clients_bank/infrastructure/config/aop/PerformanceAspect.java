@@ -1,18 +1,18 @@
 package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.aop;
 
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Timer;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 
 /**
  * Aspect for measuring and monitoring method execution performance across the
@@ -29,20 +29,53 @@ import lombok.extern.slf4j.Slf4j;
  * - Percentiles for performance analysis
  *
  * All metrics are exposed through:
- * - Application logs
  * - Micrometer metrics (/actuator/metrics)
  * - Prometheus format (/actuator/prometheus)
  *
+ * The meters of a method are resolved on its first call into a
+ * {@link MethodMeters}, cached per target class and {@link Method}, so a
+ * call only pays for two clock reads, a cache lookup and the recording
+ * itself. Only calls slower than {@code bank.instrumentation.slow-call-ms}
+ * are logged. A fraction of the calls can be recorded instead of all of
+ * them, {@code bank.instrumentation.sample-rate} by default and per method
+ * through {@code bank.instrumentation.sample-rates}, keyed by
+ * {@code Class.method}.
+ *
  * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
  * @version 1.0
  */
 @Aspect
 @Component
-@Slf4j
-@RequiredArgsConstructor
 public class PerformanceAspect {
 
     private final MeterRegistry meterRegistry;
+    private final double defaultSampleRate;
+    private final Map<String, Double> sampleRates;
+    private final long slowCallNanos;
+
+    /**
+     * Meters per target class, then per method; the target class names the meters
+     */
+    private final ClassValue<Map<Method, MethodMeters>> meters = new ClassValue<>() {
+        @Override
+        protected Map<Method, MethodMeters> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    public PerformanceAspect(
+            MeterRegistry meterRegistry,
+            @Value("${bank.instrumentation.sample-rate:1.0}") double defaultSampleRate,
+            @Value("#{${bank.instrumentation.sample-rates:{:}}}") Map<String, Double> sampleRates,
+            @Value("${bank.instrumentation.slow-call-ms:500}") long slowCallMillis) {
+        if (!validRate(defaultSampleRate) || !sampleRates.values().stream().allMatch(PerformanceAspect::validRate)) {
+            throw new IllegalArgumentException("Sample rates must be between 0 and 1");
+        }
+        this.meterRegistry = meterRegistry;
+        this.defaultSampleRate = defaultSampleRate;
+        this.sampleRates = Map.copyOf(sampleRates);
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(slowCallMillis);
+    }
 
     /**
      * Measures the execution time of methods and records various performance
@@ -63,52 +96,33 @@ public class PerformanceAspect {
             "@within(org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.aop.MeasurePerformance) || " +
             "@annotation(org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.aop.MeasurePerformance)")
     public Object measureMethodExecutionTime(ProceedingJoinPoint joinPoint) throws Throwable {
-        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-        Method method = signature.getMethod();
-        String className = joinPoint.getTarget().getClass().getSimpleName();
-        String methodName = method.getName();
-        String fullMethodName = className + "." + methodName;
-
+        MethodMeters methodMeters = metersFor(joinPoint.getTarget().getClass(),
+                ((MethodSignature) joinPoint.getSignature()).getMethod());
         long startTime = System.nanoTime();
-        Object result = null;
-        boolean isSuccess = true;
+        boolean isSuccess = false;
         try {
-            result = joinPoint.proceed();
+            Object result = joinPoint.proceed();
+            isSuccess = true;
             return result;
-        } catch (Throwable throwable) {
-            isSuccess = false;
-            throw throwable;
         } finally {
-            long duration = System.nanoTime() - startTime;
-            double durationInMs = duration / 1_000_000.0;
-
-            // Log the execution time
-            log.info("Method {} executed in {} ms (success: {})",
-                    fullMethodName,
-                    String.format("%.2f", durationInMs),
-                    isSuccess);
-
-            // Record basic timing metrics with tags
-            Timer timer = Timer.builder("method.execution.time")
-                    .tag("class", className)
-                    .tag("method", methodName)
-                    .tag("success", String.valueOf(isSuccess))
-                    .register(meterRegistry);
-
-            timer.record(duration, TimeUnit.NANOSECONDS);
-
-            // Record detailed histogram for performance distribution analysis
-            meterRegistry.summary("method.execution.time.histogram",
-                    "class", className,
-                    "method", methodName,
-                    "success", String.valueOf(isSuccess))
-                    .record(durationInMs);
+            methodMeters.record(System.nanoTime() - startTime, isSuccess);
+        }
+    }
 
-            // Record percentile metrics for SLA analysis
-            meterRegistry.timer("method.execution.time.percentiles",
-                    "class", className,
-                    "method", methodName)
-                    .record(duration, TimeUnit.NANOSECONDS);
+    private MethodMeters metersFor(Class<?> targetClass, Method method) {
+        Map<Method, MethodMeters> classMeters = meters.get(targetClass);
+        MethodMeters methodMeters = classMeters.get(method);
+        if (methodMeters == null) {
+            methodMeters = classMeters.computeIfAbsent(method, key -> {
+                String className = targetClass.getSimpleName();
+                return new MethodMeters(meterRegistry, className, key.getName(),
+                        sampleRates.getOrDefault(className + "." + key.getName(), defaultSampleRate), slowCallNanos);
+            });
         }
+        return methodMeters;
+    }
+
+    private static boolean validRate(double rate) {
+        return rate >= 0 && rate <= 1;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,47 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.database;
+
+import javax.sql.DataSource;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.database.statistics.SqlExecutionListener;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.timing.TimedDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Data Source Instrumentation Configuration
+ *
+ * Wraps the primary {@code dataSource}, whichever of {@link HikariPoolConfig},
+ * {@link ReadReplicaDataSourceConfig} or {@link ShardingDataSourceConfig}
+ * defines it, in a {@link TimedDataSource}. Its JDBC time feeds the
+ * {@code Server-Timing} breakdown and its statements the
+ * {@link SqlExecutionListener}, if there is one.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Configuration
+public class DataSourceInstrumentationConfig {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    /**
+     * @param listener The statement listener, if any
+     * @return Post-processor of the primary data source
+     */
+    @Bean
+    public static BeanPostProcessor dataSourceInstrumentationPostProcessor(
+            ObjectProvider<SqlExecutionListener> listener) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && DATA_SOURCE_BEAN.equals(beanName)
+                        && !(bean instanceof TimedDataSource)) {
+                    return new TimedDataSource(dataSource, listener.getIfAvailable(() -> SqlExecutionListener.NONE));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -1,5 +1,6 @@
 package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.database;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -37,6 +38,11 @@ import io.micrometer.core.instrument.MeterRegistry;
  * - Connection pool statistics
  * - Performance metrics for both Hibernate and direct JDBC usage
  *
+ * When {@code bank.datasource.replica.enabled=true} this single pool is
+ * replaced by the primary/replica pair of {@link ReadReplicaDataSourceConfig},
+ * and when {@code bank.sharding.enabled=true} by the shard pools of
+ * {@link ShardingDataSourceConfig}.
+ *
  * @see com.zaxxer.hikari.HikariDataSource
  * @see org.hibernate.engine.jdbc.connections.spi.ConnectionProvider
  */
@@ -69,11 +75,25 @@ public class HikariPoolConfig {
      */
     @Bean
     @Primary
+    @ConditionalOnExpression("!${bank.datasource.replica.enabled:false} and !${bank.sharding.enabled:false}")
     public HikariDataSource dataSource(DataSourceProperties properties, MeterRegistry registry) {
         HikariDataSource dataSource = properties.initializeDataSourceBuilder()
                 .type(HikariDataSource.class)
                 .build();
 
+        return configurePool(dataSource, "HikariPool-Hibernate", registry);
+    }
+
+    /**
+     * Applies the settings shared by every application pool. Each pool reports
+     * its own Micrometer metrics, tagged with its pool name.
+     *
+     * @param dataSource The pool to configure
+     * @param poolName   The pool name, used as the {@code pool} metrics tag
+     * @param registry   Micrometer registry for metrics collection
+     * @return The configured pool
+     */
+    static HikariDataSource configurePool(HikariDataSource dataSource, String poolName, MeterRegistry registry) {
         // Configure metrics tracking with Micrometer
         dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
 
@@ -82,7 +102,7 @@ public class HikariPoolConfig {
         dataSource.setTransactionIsolation("TRANSACTION_READ_COMMITTED");
         dataSource.setValidationTimeout(5000); // 5 seconds
         dataSource.setConnectionTestQuery("SELECT 1"); // Validation query
-        dataSource.setPoolName("HikariPool-Hibernate");
+        dataSource.setPoolName(poolName);
 
         return dataSource;
     }
@@ -0,0 +1,72 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.database;
+
+import java.time.Duration;
+
+import org.hibernate.SessionFactory;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.database.statistics.QueryStatistics;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.database.statistics.QueryStatisticsEndpoint;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics.QueryMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Query Statistics Configuration
+ *
+ * Enabled unless {@code bank.query-statistics.enabled=false}. Every statement
+ * run through the primary data source is timed per normalized SQL in
+ * {@code bank.jpa.query.time}; those slower than
+ * {@code bank.query-statistics.slow-query-ms} are logged with their bind
+ * parameter count and call site, and the {@code top-n} slowest of each
+ * {@code window-ms} are listed by the {@code queries} actuator endpoint.
+ * Hibernate's own statistics ({@code generate_statistics}) are exported
+ * alongside, as {@code bank.jpa.*}.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Configuration
+@ConditionalOnProperty(name = "bank.query-statistics.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryStatisticsConfig {
+
+    @Bean
+    public QueryMetrics queryMetrics(MeterRegistry registry) {
+        return new QueryMetrics(registry);
+    }
+
+    @Bean
+    public QueryStatistics queryStatistics(
+            QueryMetrics metrics,
+            @Value("${bank.query-statistics.max-queries:500}") int maxQueries,
+            @Value("${bank.query-statistics.slow-query-ms:200}") long slowQueryMillis,
+            @Value("${bank.query-statistics.top-n:20}") int topN,
+            @Value("${bank.query-statistics.window-ms:300000}") long windowMillis) {
+        return new QueryStatistics(metrics, maxQueries, Duration.ofMillis(slowQueryMillis), topN,
+                Duration.ofMillis(windowMillis));
+    }
+
+    @Bean
+    public QueryStatisticsEndpoint queryStatisticsEndpoint(QueryStatistics statistics) {
+        return new QueryStatisticsEndpoint(statistics);
+    }
+
+    /**
+     * Exports Hibernate's statistics once started: the entity manager factory
+     * depends on the data source, which depends on {@link QueryStatistics}, so
+     * it cannot be injected here.
+     *
+     * @param event The ready event
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void monitorHibernateStatistics(ApplicationReadyEvent event) {
+        EntityManagerFactory entityManagerFactory = event.getApplicationContext().getBean(EntityManagerFactory.class);
+        event.getApplicationContext().getBean(QueryMetrics.class)
+                .monitorHibernate(entityManagerFactory.unwrap(SessionFactory.class).getStatistics());
+    }
+}
@@ -0,0 +1,122 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.database;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Read/Write Splitting Configuration
+ *
+ * Enabled with {@code bank.datasource.replica.enabled=true}. Replaces the single
+ * pool of {@link HikariPoolConfig} with two pools:
+ * - Primary pool: configured from {@code spring.datasource.*}, serves read-write transactions
+ * - Replica pool: configured from {@code bank.datasource.replica.*} (HikariCP
+ * property names), serves {@code @Transactional(readOnly = true)} methods
+ *
+ * Both pools publish their own Hikari metrics ({@code pool} tag
+ * {@code HikariPool-Primary} / {@code HikariPool-Replica}), so read and write
+ * traffic no longer compete for the same connections and can be sized and
+ * monitored separately.
+ *
+ * Read-your-writes: with {@code bank.datasource.read-your-writes.window-ms > 0},
+ * reads of a caller that has just written are kept on the primary for that
+ * window. Callers are identified by the header named in
+ * {@code bank.datasource.read-your-writes.caller-header}.
+ *
+ * Not applied when sharding is enabled; each shard pool is then the primary of
+ * its own data.
+ *
+ * @see ReadWriteRoutingDataSource
+ * @see ReadYourWritesFilter
+ */
+@Configuration
+@ConditionalOnExpression("${bank.datasource.replica.enabled:false} and !${bank.sharding.enabled:false}")
+public class ReadReplicaDataSourceConfig {
+
+    /**
+     * Creates the primary pool from the standard Spring datasource properties.
+     *
+     * @param properties DataSource properties from application.properties
+     * @param registry   Micrometer registry for metrics collection
+     * @return Primary HikariDataSource
+     */
+    @Bean
+    public HikariDataSource primaryDataSource(DataSourceProperties properties, MeterRegistry registry) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+
+        return HikariPoolConfig.configurePool(dataSource, "HikariPool-Primary", registry);
+    }
+
+    /**
+     * Creates the replica pool. Connection and sizing settings are bound from
+     * {@code bank.datasource.replica.*} (e.g. {@code jdbc-url},
+     * {@code maximum-pool-size}).
+     *
+     * @param registry Micrometer registry for metrics collection
+     * @return Replica HikariDataSource
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "bank.datasource.replica")
+    public HikariDataSource replicaDataSource(MeterRegistry registry) {
+        HikariDataSource dataSource = HikariPoolConfig.configurePool(new HikariDataSource(), "HikariPool-Replica", registry);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * Exposes the routing DataSource used by Hibernate and JDBC. The lazy proxy
+     * defers the routing decision until the first statement, after the
+     * transaction's read-only flag is known.
+     *
+     * @param primary  Primary pool
+     * @param replica  Replica pool
+     * @param registry Micrometer registry for routing metrics
+     * @return Routing DataSource
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            MeterRegistry registry) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica, registry));
+    }
+
+    /**
+     * Registers the read-your-writes filter when a window is configured.
+     *
+     * @param callerHeader      Header identifying the caller
+     * @param windowMillis      How long reads stay on the primary after a write
+     * @param maxTrackedCallers Upper bound on callers tracked at once
+     * @return Filter registration
+     */
+    @Bean
+    @ConditionalOnProperty(name = "bank.datasource.read-your-writes.window-ms")
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${bank.datasource.read-your-writes.caller-header:X-Client-Id}") String callerHeader,
+            @Value("${bank.datasource.read-your-writes.window-ms}") long windowMillis,
+            @Value("${bank.datasource.read-your-writes.max-tracked-callers:100000}") int maxTrackedCallers) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(
+                new ReadYourWritesFilter(callerHeader, windowMillis, maxTrackedCallers));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        registration.setEnabled(windowMillis > 0);
+        return registration;
+    }
+}
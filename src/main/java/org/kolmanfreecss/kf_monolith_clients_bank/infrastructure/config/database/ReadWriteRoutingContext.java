@@ -0,0 +1,56 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.database;
+
+/**
+ * Per-thread routing state shared by {@link ReadWriteRoutingDataSource} and
+ * {@link ReadYourWritesFilter}.
+ * <p>
+ * Tracks whether the current request has to read from the primary (because its
+ * caller wrote recently) and whether it has written itself.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public final class ReadWriteRoutingContext {
+
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> WROTE = new ThreadLocal<>();
+
+    private ReadWriteRoutingContext() {
+    }
+
+    /**
+     * Routes every read of the current thread to the primary until {@link #clear()}.
+     */
+    public static void forcePrimary() {
+        PRIMARY_FORCED.set(Boolean.TRUE);
+    }
+
+    /**
+     * @return true if reads of the current thread must go to the primary
+     */
+    public static boolean isPrimaryForced() {
+        return PRIMARY_FORCED.get() != null;
+    }
+
+    /**
+     * Records that the current thread obtained a read-write connection.
+     */
+    static void markWrite() {
+        WROTE.set(Boolean.TRUE);
+    }
+
+    /**
+     * @return true if the current thread obtained a read-write connection since the last {@link #clear()}
+     */
+    public static boolean hasWritten() {
+        return WROTE.get() != null;
+    }
+
+    /**
+     * Resets the routing state of the current thread.
+     */
+    public static void clear() {
+        PRIMARY_FORCED.remove();
+        WROTE.remove();
+    }
+}
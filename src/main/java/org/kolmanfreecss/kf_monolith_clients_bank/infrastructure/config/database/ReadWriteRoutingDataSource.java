@@ -0,0 +1,74 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.database;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * DataSource routing read-only transactions to a replica pool and everything
+ * else to the primary pool.
+ * <p>
+ * The routing decision is taken when a physical connection is requested, so
+ * this DataSource must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * transaction managers open the connection before the read-only flag of the
+ * transaction is published, and the proxy defers that until the first
+ * statement.
+ * <p>
+ * Reads are sent to the primary as well when {@link ReadWriteRoutingContext}
+ * says the caller wrote recently (read-your-writes).
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * Lookup keys of the routed pools
+     */
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private final Counter primaryRoutes;
+    private final Counter replicaRoutes;
+    private final Counter readYourWritesRoutes;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, MeterRegistry registry) {
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        this.primaryRoutes = routeCounter(registry, "primary", "read_write");
+        this.replicaRoutes = routeCounter(registry, "replica", "read_only");
+        this.readYourWritesRoutes = routeCounter(registry, "primary", "read_your_writes");
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            ReadWriteRoutingContext.markWrite();
+            primaryRoutes.increment();
+            return Route.PRIMARY;
+        }
+        if (ReadWriteRoutingContext.isPrimaryForced()) {
+            readYourWritesRoutes.increment();
+            return Route.PRIMARY;
+        }
+        replicaRoutes.increment();
+        return Route.REPLICA;
+    }
+
+    private static Counter routeCounter(MeterRegistry registry, String target, String reason) {
+        return Counter.builder("bank.datasource.routing")
+                .description("Connections obtained through the read/write routing DataSource")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(registry);
+    }
+}
@@ -0,0 +1,84 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.database;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Servlet filter implementing the optional read-your-writes window.
+ * <p>
+ * Callers are identified by a configurable request header, falling back to the
+ * remote address. When a request of a caller writes to the primary, reads of
+ * that caller are routed to the primary for the configured window so they do
+ * not observe a lagging replica.
+ * <p>
+ * The set of tracked callers is bounded: once it exceeds the configured
+ * maximum, expired entries are purged, and if that is not enough the oldest
+ * information is dropped by clearing the map (callers then simply read from the
+ * replica again).
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private final String callerHeader;
+    private final long windowNanos;
+    private final int maxTrackedCallers;
+
+    /**
+     * Caller key -> System.nanoTime() until which reads go to the primary
+     */
+    private final Map<String, Long> primaryUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesFilter(String callerHeader, long windowMillis, int maxTrackedCallers) {
+        this.callerHeader = callerHeader;
+        this.windowNanos = windowMillis * 1_000_000L;
+        this.maxTrackedCallers = maxTrackedCallers;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String caller = callerKey(request);
+        Long until = primaryUntil.get(caller);
+        if (until != null) {
+            if (System.nanoTime() - until < 0) {
+                ReadWriteRoutingContext.forcePrimary();
+            } else {
+                primaryUntil.remove(caller, until);
+            }
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (ReadWriteRoutingContext.hasWritten()) {
+                recordWrite(caller);
+            }
+            ReadWriteRoutingContext.clear();
+        }
+    }
+
+    private void recordWrite(String caller) {
+        long now = System.nanoTime();
+        if (primaryUntil.size() >= maxTrackedCallers) {
+            primaryUntil.values().removeIf(until -> now - until >= 0);
+            if (primaryUntil.size() >= maxTrackedCallers) {
+                primaryUntil.clear();
+            }
+        }
+        primaryUntil.put(caller, now + windowNanos);
+    }
+
+    private String callerKey(HttpServletRequest request) {
+        String caller = request.getHeader(callerHeader);
+        return caller == null || caller.isBlank() ? request.getRemoteAddr() : caller;
+    }
+}
@@ -0,0 +1,155 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.database;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.database.sharding.ShardExecutor;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.database.sharding.ShardRebalancer;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.database.sharding.ShardRouter;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.database.sharding.ShardRoutingDataSource;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.database.sharding.ShardSchemaInitializer;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.database.sharding.ShardedClientRepositoryAspect;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.database.sharding.ShardsEndpoint;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Hash Sharding Configuration
+ *
+ * Enabled with {@code bank.sharding.enabled=true} (see the {@code sharding}
+ * profile). Replaces the single pool of {@link HikariPoolConfig} with one pool
+ * per shard:
+ * - Shards are listed in {@code bank.sharding.shards}; the first one is the home
+ * shard holding non-sharded tables
+ * - Each shard is configured from {@code bank.sharding.shard.<name>.*} (HikariCP
+ * property names) and publishes its own Hikari metrics
+ * ({@code pool} tag {@code HikariPool-Shard-<name>})
+ * - Client aggregates are placed by consistent hash of their id
+ * ({@code bank.sharding.virtual-nodes} points per shard)
+ *
+ * Hibernate keeps a single persistence unit on top of a shard routing
+ * DataSource. Every transaction is pinned to the shard of the first client it
+ * touches, so each service transaction is a local transaction on one shard
+ * pool; list and scan operations fan out to all shards in parallel.
+ *
+ * Adding a shard: append it to {@code bank.sharding.shards}, list it in
+ * {@code bank.sharding.joining}, restart, then run the rebalancer
+ * ({@code POST /actuator/shards}).
+ *
+ * The second-level and query caches must be disabled in this mode: their keys
+ * do not include the shard, and status ids are only unique within a shard.
+ * So must open-in-view: the request's session would hold the connection of
+ * its first transaction, and run the following ones on the same shard.
+ *
+ * @see ShardedClientRepositoryAspect
+ * @see ShardRebalancer
+ */
+@Configuration
+@ConditionalOnProperty(name = "bank.sharding.enabled", havingValue = "true")
+public class ShardingDataSourceConfig {
+
+    /**
+     * Creates the shard pools and the hash ring placing clients on them.
+     *
+     * @param environment       Environment the shard settings are bound from
+     * @param registry          Micrometer registry for metrics collection
+     * @param shardNames        Shard names, home shard first
+     * @param joining           Shards that were just added and still have to receive their rows
+     * @param virtualNodes      Ring points per shard
+     * @param secondLevelCache  Whether Hibernate's second-level cache is enabled
+     * @param openInView        Whether sessions are kept open for the whole web request
+     * @return Shard router
+     * @throws IllegalStateException if the second-level cache or open-in-view is enabled
+     */
+    @Bean
+    public ShardRouter shardRouter(
+            Environment environment,
+            MeterRegistry registry,
+            @Value("${bank.sharding.shards}") List<String> shardNames,
+            @Value("${bank.sharding.joining:}") List<String> joining,
+            @Value("${bank.sharding.virtual-nodes:160}") int virtualNodes,
+            @Value("${spring.jpa.properties.hibernate.cache.use_second_level_cache:false}") boolean secondLevelCache,
+            @Value("${spring.jpa.open-in-view:true}") boolean openInView) {
+        if (secondLevelCache) {
+            throw new IllegalStateException(
+                    "Hibernate second-level cache must be disabled when bank.sharding.enabled=true");
+        }
+        if (openInView) {
+            throw new IllegalStateException("spring.jpa.open-in-view must be false when bank.sharding.enabled=true");
+        }
+        Binder binder = Binder.get(environment);
+        Map<String, DataSource> shards = new LinkedHashMap<>();
+        for (String name : shardNames) {
+            HikariDataSource pool = binder.bind("bank.sharding.shard." + name, Bindable.ofInstance(new HikariDataSource()))
+                    .orElseThrow(() -> new IllegalStateException("No settings for shard " + name));
+            shards.put(name, HikariPoolConfig.configurePool(pool, "HikariPool-Shard-" + name, registry));
+        }
+        return new ShardRouter(shards, joining, virtualNodes);
+    }
+
+    /**
+     * Exposes the shard routing DataSource used by Hibernate. The lazy proxy
+     * defers the routing decision until the first statement, after the first
+     * repository call has bound the shard.
+     *
+     * @param router Shard router
+     * @return Routing DataSource
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRouter router) {
+        return new LazyConnectionDataSourceProxy(new ShardRoutingDataSource(router));
+    }
+
+    /**
+     * @param transactionManager Transaction manager, resolved on first use
+     * @param router             Shard router
+     * @param threads            Worker threads, 0 for two per shard
+     * @return Executor running fan-out work on the shards
+     */
+    @Bean
+    public ShardExecutor shardExecutor(
+            ObjectProvider<PlatformTransactionManager> transactionManager,
+            ShardRouter router,
+            @Value("${bank.sharding.fan-out-threads:0}") int threads) {
+        return new ShardExecutor(transactionManager, threads > 0 ? threads : router.shardNames().size() * 2);
+    }
+
+    @Bean
+    public ShardedClientRepositoryAspect shardedClientRepositoryAspect(
+            ShardRouter router, ShardExecutor executor, MeterRegistry registry) {
+        return new ShardedClientRepositoryAspect(router, executor, registry);
+    }
+
+    @Bean
+    public ShardSchemaInitializer shardSchemaInitializer(ShardRouter router, EntityManagerFactory entityManagerFactory) {
+        return new ShardSchemaInitializer(router, entityManagerFactory);
+    }
+
+    @Bean
+    public ShardRebalancer shardRebalancer(ShardRouter router) {
+        return new ShardRebalancer(router);
+    }
+
+    @Bean
+    public ShardsEndpoint shardsEndpoint(ShardRebalancer rebalancer) {
+        return new ShardsEndpoint(rebalancer);
+    }
+}
@@ -0,0 +1,93 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.database.sharding;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Per-thread shard binding read by {@link ShardRoutingDataSource} when a
+ * physical connection is requested.
+ * <p>
+ * Inside a transaction the binding is set by the first routed repository call
+ * and kept until the transaction completes, so every statement of the
+ * transaction runs on the same shard. The shard the transaction's physical
+ * connection was actually opened on is recorded separately: a transaction
+ * that ran a statement before any routed call is on the home shard, whatever
+ * is bound afterwards.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Registered with the transaction that opened a connection, so that the
+     * record follows the transaction through suspension and ends with it.
+     */
+    private record Connection(String shard) implements TransactionSynchronization {
+    }
+
+    private ShardContext() {
+    }
+
+    /**
+     * @return The shard bound to the current thread, or null if none is
+     */
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds the current thread to a shard.
+     *
+     * @param shard The shard name
+     * @return The previous binding, to be passed to {@link #restore(String)}
+     */
+    public static String bind(String shard) {
+        String previous = CURRENT.get();
+        CURRENT.set(shard);
+        return previous;
+    }
+
+    /**
+     * @return The shard of the physical connection of the current transaction,
+     *         or null outside a transaction or before its first statement
+     */
+    public static String connection() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof Connection connection) {
+                return connection.shard();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Records the shard a physical connection was opened on, if the current
+     * transaction has none recorded yet.
+     *
+     * @param shard The shard name
+     */
+    static void connected(String shard) {
+        if (TransactionSynchronizationManager.isSynchronizationActive() && connection() == null) {
+            TransactionSynchronizationManager.registerSynchronization(new Connection(shard));
+        }
+    }
+
+    /**
+     * Restores a binding returned by {@link #bind(String)}.
+     *
+     * @param previous The previous shard name, or null to clear the binding
+     */
+    public static void restore(String previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.database.sharding;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs work on specific shards, each unit in its own transaction on a worker
+ * thread bound to the shard.
+ * <p>
+ * Used to fan list and scan operations out to every shard in parallel. Work
+ * submitted here never joins the caller's transaction, so it does not see the
+ * caller's uncommitted writes.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public class ShardExecutor implements DisposableBean {
+
+    /**
+     * Unit of work executed on a shard
+     */
+    @FunctionalInterface
+    public interface ShardWork<T> {
+
+        T run() throws Throwable;
+    }
+
+    private final ObjectProvider<PlatformTransactionManager> transactionManager;
+    private final ExecutorService executor;
+
+    private volatile TransactionTemplate readOnlyTemplate;
+    private volatile TransactionTemplate readWriteTemplate;
+
+    /**
+     * @param transactionManager Transaction manager of the sharded persistence unit, resolved lazily
+     * @param threads            Number of worker threads
+     */
+    public ShardExecutor(ObjectProvider<PlatformTransactionManager> transactionManager, int threads) {
+        this.transactionManager = transactionManager;
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "shard-worker-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.executor = Executors.newFixedThreadPool(threads, threadFactory);
+    }
+
+    /**
+     * Runs work on one shard and waits for its result.
+     *
+     * @param shard    The shard to run on
+     * @param readOnly Whether the transaction is read-only
+     * @param work     The work to run
+     * @return The result of the work
+     * @throws Throwable Whatever the work threw
+     */
+    public <T> T execute(String shard, boolean readOnly, ShardWork<T> work) throws Throwable {
+        return join(List.of(submit(shard, readOnly, work))).get(0);
+    }
+
+    /**
+     * Runs work on several shards in parallel and waits for every result.
+     *
+     * @param shards   The shards to run on
+     * @param readOnly Whether the transactions are read-only
+     * @param work     Builds the work for a shard
+     * @return The results, in the order of {@code shards}
+     * @throws Throwable The first failure, after every shard has finished
+     */
+    public <T> List<T> executeOnAll(List<String> shards, boolean readOnly,
+            Function<String, ShardWork<T>> work) throws Throwable {
+        List<CompletableFuture<T>> futures = new ArrayList<>(shards.size());
+        for (String shard : shards) {
+            futures.add(submit(shard, readOnly, work.apply(shard)));
+        }
+        return join(futures);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> CompletableFuture<T> submit(String shard, boolean readOnly, ShardWork<T> work) {
+        TransactionTemplate template = template(readOnly);
+        Supplier<T> task = () -> {
+            String previous = ShardContext.bind(shard);
+            try {
+                return template.execute(status -> {
+                    try {
+                        return work.run();
+                    } catch (RuntimeException | Error e) {
+                        throw e;
+                    } catch (Throwable e) {
+                        throw new CompletionException(e);
+                    }
+                });
+            } finally {
+                ShardContext.restore(previous);
+            }
+        };
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    private static <T> List<T> join(List<CompletableFuture<T>> futures) throws Throwable {
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof CompletionException nested && nested.getCause() != null ? nested.getCause() : cause;
+        }
+        List<T> results = new ArrayList<>(futures.size());
+        futures.forEach(future -> results.add(future.join()));
+        return results;
+    }
+
+    private TransactionTemplate template(boolean readOnly) {
+        TransactionTemplate template = readOnly ? readOnlyTemplate : readWriteTemplate;
+        if (template == null) {
+            template = new TransactionTemplate(transactionManager.getObject());
+            template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            template.setReadOnly(readOnly);
+            if (readOnly) {
+                readOnlyTemplate = template;
+            } else {
+                readWriteTemplate = template;
+            }
+        }
+        return template;
+    }
+}
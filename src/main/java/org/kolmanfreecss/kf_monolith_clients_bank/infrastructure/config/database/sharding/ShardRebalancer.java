@@ -0,0 +1,240 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.database.sharding;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves client rows to the shard that owns them after a shard was added.
+ * <p>
+ * Adding a shard to {@code bank.sharding.shards} (and listing it in
+ * {@code bank.sharding.joining}) changes the owner of roughly 1/N of the client
+ * ids. This tool scans every shard in id order, in batches, and moves each
+ * misplaced client together with its status row:
+ * 1. The client row is locked on the source shard
+ * 2. The status and client rows are inserted on the owner in a local transaction
+ * (skipped if a previous, interrupted run already copied the client)
+ * 3. Both rows are deleted on the source shard
+ * <p>
+ * Each step uses a plain JDBC transaction on the shard pools, so a crash
+ * between steps 2 and 3 leaves a duplicate that the next run removes, never a
+ * missing client. Status ids are identity values local to each shard, so the
+ * status row gets a new id on the owner.
+ * <p>
+ * Until a client has moved, reads of it fall back to its previous owner and
+ * writes to it fail with an optimistic-locking conflict. Once a run finds no
+ * misplaced client, the fallback is switched off; the joining flag can then be
+ * removed from the configuration.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Slf4j
+public class ShardRebalancer {
+
+    private static final String CLIENTS = "clients";
+    private static final String STATUSES = "client_statuses";
+    private static final String STATUS_ID = "status_id";
+    private static final String ID = "id";
+
+    /**
+     * Row counts of a shard
+     *
+     * @param shard     The shard name
+     * @param clients   Number of clients stored on the shard
+     * @param misplaced Number of those clients owned by another shard
+     * @param joining   Whether the shard is still joining
+     */
+    public record ShardStats(String shard, long clients, long misplaced, boolean joining) {
+    }
+
+    /**
+     * Outcome of a rebalancing run
+     *
+     * @param scanned    Number of client rows scanned
+     * @param moved      Number of clients moved to their owner
+     * @param perShard   Number of clients moved into each shard
+     * @param durationMs Duration of the run in milliseconds
+     */
+    public record RebalanceReport(long scanned, long moved, Map<String, Long> perShard, long durationMs) {
+    }
+
+    private final ShardRouter router;
+    private final Map<String, JdbcTemplate> jdbc = new LinkedHashMap<>();
+    private final Map<String, TransactionTemplate> transactions = new LinkedHashMap<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public ShardRebalancer(ShardRouter router) {
+        this.router = router;
+        router.dataSources().forEach((shard, dataSource) -> {
+            jdbc.put(shard, new JdbcTemplate(dataSource));
+            transactions.put(shard, new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+        });
+    }
+
+    /**
+     * Counts the clients stored on each shard and how many of them are misplaced.
+     *
+     * @param batchSize Number of ids read per query
+     * @return Statistics per shard
+     */
+    public List<ShardStats> describe(int batchSize) {
+        List<ShardStats> stats = new ArrayList<>();
+        for (String shard : router.shardNames()) {
+            long[] counts = new long[2];
+            scan(shard, batchSize, ids -> {
+                counts[0] += ids.size();
+                counts[1] += ids.stream().filter(id -> !router.shardFor(id).equals(shard)).count();
+            });
+            stats.add(new ShardStats(shard, counts[0], counts[1], router.isJoining(shard)));
+        }
+        return stats;
+    }
+
+    /**
+     * Moves every misplaced client to its owner.
+     *
+     * @param batchSize Number of ids read per query
+     * @return What was moved
+     * @throws IllegalStateException if a run is already in progress
+     */
+    public RebalanceReport rebalance(int batchSize) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A rebalancing run is already in progress");
+        }
+        try {
+            long start = System.nanoTime();
+            long[] scanned = new long[1];
+            Map<String, Long> perShard = new LinkedHashMap<>();
+            for (String source : router.shardNames()) {
+                scan(source, batchSize, ids -> {
+                    scanned[0] += ids.size();
+                    for (UUID id : ids) {
+                        String owner = router.shardFor(id);
+                        if (!owner.equals(source) && move(id, source, owner)) {
+                            perShard.merge(owner, 1L, Long::sum);
+                        }
+                    }
+                });
+            }
+            long moved = perShard.values().stream().mapToLong(Long::longValue).sum();
+            if (describe(batchSize).stream().allMatch(stats -> stats.misplaced() == 0)) {
+                router.completeJoin();
+            }
+            long durationMs = (System.nanoTime() - start) / 1_000_000;
+            log.info("Shard rebalancing scanned {} clients and moved {} in {} ms", scanned[0], moved, durationMs);
+            return new RebalanceReport(scanned[0], moved, perShard, durationMs);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Moves one client and its status row from {@code source} to {@code target}.
+     *
+     * @return false if the client disappeared from the source before it could be moved
+     */
+    private boolean move(UUID id, String source, String target) {
+        JdbcTemplate sourceJdbc = jdbc.get(source);
+        JdbcTemplate targetJdbc = jdbc.get(target);
+        Boolean moved = transactions.get(source).execute(sourceStatus -> {
+            List<Map<String, Object>> rows = sourceJdbc.queryForList(
+                    "SELECT * FROM " + CLIENTS + " WHERE " + ID + " = ? FOR UPDATE", id);
+            if (rows.isEmpty()) {
+                return false;
+            }
+            // Read through the case-insensitive row map before copying it
+            Object statusId = rows.get(0).get(STATUS_ID);
+            Map<String, Object> client = new LinkedHashMap<>(rows.get(0));
+            Map<String, Object> status = statusId == null ? null
+                    : new LinkedHashMap<>(sourceJdbc.queryForMap("SELECT * FROM " + STATUSES + " WHERE " + ID + " = ?", statusId));
+            transactions.get(target).executeWithoutResult(targetStatus -> {
+                Long copies = targetJdbc.queryForObject(
+                        "SELECT COUNT(*) FROM " + CLIENTS + " WHERE " + ID + " = ?", Long.class, id);
+                if (copies != null && copies > 0) {
+                    return;
+                }
+                if (status != null) {
+                    status.keySet().removeIf(ID::equalsIgnoreCase);
+                    client.put(columnName(client, STATUS_ID), insertReturningKey(targetJdbc, STATUSES, status));
+                }
+                insert(targetJdbc, CLIENTS, client);
+            });
+            sourceJdbc.update("DELETE FROM " + CLIENTS + " WHERE " + ID + " = ?", id);
+            if (statusId != null) {
+                sourceJdbc.update("DELETE FROM " + STATUSES + " WHERE " + ID + " = ?", statusId);
+            }
+            return true;
+        });
+        return Boolean.TRUE.equals(moved);
+    }
+
+    /**
+     * Reads the client ids of a shard in id order, one batch per transaction.
+     */
+    private void scan(String shard, int batchSize, Consumer<List<UUID>> consumer) {
+        JdbcTemplate template = jdbc.get(shard);
+        UUID after = null;
+        while (true) {
+            UUID lowerBound = after;
+            List<UUID> ids = transactions.get(shard).execute(status -> lowerBound == null
+                    ? template.queryForList("SELECT " + ID + " FROM " + CLIENTS + " ORDER BY " + ID + " LIMIT ?",
+                            UUID.class, batchSize)
+                    : template.queryForList("SELECT " + ID + " FROM " + CLIENTS + " WHERE " + ID + " > ? ORDER BY "
+                            + ID + " LIMIT ?", UUID.class, lowerBound, batchSize));
+            if (ids == null || ids.isEmpty()) {
+                return;
+            }
+            consumer.accept(ids);
+            if (ids.size() < batchSize) {
+                return;
+            }
+            after = ids.get(ids.size() - 1);
+        }
+    }
+
+    private static void insert(JdbcTemplate template, String table, Map<String, Object> row) {
+        template.update(insertSql(table, row), row.values().toArray());
+    }
+
+    private static Object insertReturningKey(JdbcTemplate template, String table, Map<String, Object> row) {
+        String sql = insertSql(table, row);
+        Object[] values = row.values().toArray();
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        template.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            for (int i = 0; i < values.length; i++) {
+                statement.setObject(i + 1, values[i]);
+            }
+            return statement;
+        }, keyHolder);
+        return keyHolder.getKey();
+    }
+
+    private static String insertSql(String table, Map<String, Object> row) {
+        return "INSERT INTO " + table + " (" + String.join(", ", row.keySet()) + ") VALUES ("
+                + String.join(", ", Collections.nCopies(row.size(), "?")) + ")";
+    }
+
+    /**
+     * Column labels come back in the database's case; reuse the existing key.
+     */
+    private static String columnName(Map<String, Object> row, String column) {
+        return row.keySet().stream().filter(column::equalsIgnoreCase).findFirst().orElse(column);
+    }
+}
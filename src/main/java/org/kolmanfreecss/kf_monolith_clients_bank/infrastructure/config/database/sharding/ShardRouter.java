@@ -0,0 +1,141 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.database.sharding;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.util.ConsistentHashRing;
+
+/**
+ * Shard topology: the shard pools and the consistent hash ring placing client
+ * ids on them.
+ * <p>
+ * The first configured shard is the home shard. It receives connections that
+ * are not bound to any shard (schema management, non-sharded entities).
+ * <p>
+ * Shards flagged as joining have just been added and do not hold their rows
+ * yet. While any shard is joining, the ring without the joining shards is kept
+ * as well so that reads missing on the new owner of an id can fall back to its
+ * previous owner until {@link ShardRebalancer} has moved the rows.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public class ShardRouter implements AutoCloseable {
+
+    private final Map<String, DataSource> shards;
+    private final ConsistentHashRing ring;
+    private final List<String> joining;
+
+    private volatile ConsistentHashRing previousRing;
+
+    /**
+     * @param shards       Shard pools by name, in configuration order
+     * @param joining      Names of the shards that were just added, may be empty
+     * @param virtualNodes Number of ring points per shard
+     * @throws IllegalArgumentException if a joining shard is unknown or every shard is joining
+     */
+    public ShardRouter(Map<String, DataSource> shards, List<String> joining, int virtualNodes) {
+        this.shards = Collections.unmodifiableMap(new LinkedHashMap<>(shards));
+        this.ring = new ConsistentHashRing(new ArrayList<>(shards.keySet()), virtualNodes);
+        this.joining = List.copyOf(joining);
+        if (!shards.keySet().containsAll(joining)) {
+            throw new IllegalArgumentException("Unknown joining shards " + joining + ", configured " + shards.keySet());
+        }
+        List<String> established = new ArrayList<>(shards.keySet());
+        established.removeAll(joining);
+        if (established.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard must not be joining");
+        }
+        this.previousRing = joining.isEmpty() ? null : new ConsistentHashRing(established, virtualNodes);
+    }
+
+    /**
+     * @param id The client id
+     * @return The name of the shard owning the id
+     */
+    public String shardFor(UUID id) {
+        return ring.nodeFor(id);
+    }
+
+    /**
+     * @param id The client id
+     * @return The shard that owned the id before the joining shards were added,
+     *         or null if no join is in progress or the owner did not change
+     */
+    public String previousShardFor(UUID id) {
+        ConsistentHashRing previous = previousRing;
+        if (previous == null) {
+            return null;
+        }
+        String before = previous.nodeFor(id);
+        return before.equals(ring.nodeFor(id)) ? null : before;
+    }
+
+    /**
+     * @return The shard names, in configuration order
+     */
+    public List<String> shardNames() {
+        return ring.nodes();
+    }
+
+    /**
+     * @return The shard receiving unbound connections
+     */
+    public String homeShard() {
+        return ring.nodes().get(0);
+    }
+
+    /**
+     * @param shard The shard name
+     * @return The pool of the shard
+     * @throws IllegalArgumentException if the shard is unknown
+     */
+    public DataSource dataSource(String shard) {
+        DataSource dataSource = shards.get(shard);
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Unknown shard " + shard);
+        }
+        return dataSource;
+    }
+
+    /**
+     * @return Shard pools by name
+     */
+    public Map<String, DataSource> dataSources() {
+        return shards;
+    }
+
+    /**
+     * @param shard The shard name
+     * @return true if the shard was configured as joining and its join has not completed
+     */
+    public boolean isJoining(String shard) {
+        return previousRing != null && joining.contains(shard);
+    }
+
+    /**
+     * Stops falling back to previous owners. Called once every row lives on its
+     * owner according to the full ring.
+     */
+    public void completeJoin() {
+        previousRing = null;
+    }
+
+    /**
+     * Closes the shard pools.
+     */
+    @Override
+    public void close() throws Exception {
+        for (DataSource dataSource : shards.values()) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.database.sharding;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * DataSource handing out connections of the shard bound in
+ * {@link ShardContext}, or of the home shard when none is bound.
+ * <p>
+ * As with the read/write routing DataSource, the decision is taken when a
+ * physical connection is requested, so this DataSource must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * the transaction manager opens its connection before the first repository
+ * call has bound the shard.
+ * <p>
+ * The shard of each connection handed out inside a transaction is recorded in
+ * {@link ShardContext#connection()}, for the repository aspect to reject
+ * writes to any other shard.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final String homeShard;
+
+    public ShardRoutingDataSource(ShardRouter router) {
+        this.homeShard = router.homeShard();
+        setTargetDataSources(new HashMap<>(router.dataSources()));
+        setDefaultTargetDataSource(router.dataSource(router.homeShard()));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = super.getConnection();
+        recordShard();
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Connection connection = super.getConnection(username, password);
+        recordShard();
+        return connection;
+    }
+
+    private void recordShard() {
+        String shard = ShardContext.current();
+        ShardContext.connected(shard == null ? homeShard : shard);
+    }
+}
@@ -0,0 +1,66 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.database.sharding;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.InitializingBean;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Creates the mapped tables on every shard other than the home shard.
+ * <p>
+ * {@code spring.jpa.hibernate.ddl-auto} only runs against the connection
+ * Hibernate obtains at startup, which is the home shard's. The other shards get
+ * the same schema exported through Hibernate's schema manager while the
+ * current thread is bound to them. Shards that already have a
+ * {@value #PROBE_TABLE} table are left untouched.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Slf4j
+public class ShardSchemaInitializer implements InitializingBean {
+
+    static final String PROBE_TABLE = "clients";
+
+    private final ShardRouter router;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public ShardSchemaInitializer(ShardRouter router, EntityManagerFactory entityManagerFactory) {
+        this.router = router;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws SQLException {
+        for (String shard : router.shardNames()) {
+            if (shard.equals(router.homeShard()) || hasSchema(shard)) {
+                continue;
+            }
+            String previous = ShardContext.bind(shard);
+            try {
+                entityManagerFactory.unwrap(SessionFactory.class).getSchemaManager().exportMappedObjects(true);
+                log.info("Created schema on shard {}", shard);
+            } finally {
+                ShardContext.restore(previous);
+            }
+        }
+    }
+
+    private boolean hasSchema(String shard) throws SQLException {
+        try (Connection connection = router.dataSource(shard).getConnection()) {
+            for (String name : new String[] { PROBE_TABLE, PROBE_TABLE.toUpperCase() }) {
+                try (ResultSet tables = connection.getMetaData().getTables(null, null, name, new String[] { "TABLE" })) {
+                    if (tables.next()) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+}
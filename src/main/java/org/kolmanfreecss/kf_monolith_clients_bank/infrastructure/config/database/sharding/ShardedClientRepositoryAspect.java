@@ -0,0 +1,347 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.database.sharding;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.Client;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Routes {@link org.kolmanfreecss.kf_monolith_clients_bank.domain.client.ClientRepository}
+ * calls to shards.
+ * <p>
+ * Calls are classified by their arguments:
+ * - Routed: the first argument is a client id or a {@link Client}. The call
+ * runs on the owning shard. Inside a transaction the shard is pinned until the
+ * transaction completes, so a service transaction always maps to exactly one
+ * local transaction. A transaction is bound to another shard once it pinned
+ * it, or once it ran a statement on it (the home shard, for a transaction
+ * that touched other tables first): writes to the client's shard are then
+ * rejected, and reads run on that shard in a transaction of their own.
+ * - Multi-key: the first argument is a collection of ids or clients. Keys are
+ * grouped by shard; reads spanning several shards run per shard in parallel,
+ * writes must resolve to a single shard, as above.
+ * - Scatter: anything else (lists, scans, counts, existence checks). Reads run
+ * on every shard in parallel through {@link ShardExecutor} and the results are
+ * merged according to the return type: lists and streams are concatenated
+ * (and re-sorted when a {@link Sort} or {@link Pageable} is given), counts are
+ * summed, existence checks are OR-ed. Scatter writes are rejected because
+ * they cannot be atomic across shards.
+ * <p>
+ * While a shard is joining, routed reads that find nothing on the new owner
+ * are retried on the previous owner.
+ * <p>
+ * Reads run on a shard other than the caller's, by a fallback or from a
+ * transaction bound to another shard, are loaded on a {@link ShardExecutor}
+ * thread: the entities they return are detached from the caller's
+ * persistence context.
+ * <p>
+ * Writes of other repositories in a transaction pinned here run on the pinned
+ * shard: such work belongs in a separate transaction.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Aspect
+public class ShardedClientRepositoryAspect {
+
+    private static final List<String> READ_PREFIXES = List.of("find", "get", "exists", "count", "stream", "read", "query");
+
+    private final ShardRouter router;
+    private final ShardExecutor executor;
+    private final Map<String, Map<String, Counter>> operations = new HashMap<>();
+
+    public ShardedClientRepositoryAspect(ShardRouter router, ShardExecutor executor, MeterRegistry registry) {
+        this.router = router;
+        this.executor = executor;
+        for (String shard : router.shardNames()) {
+            Map<String, Counter> byMode = new HashMap<>();
+            for (String mode : List.of("routed", "scatter", "fallback")) {
+                byMode.put(mode, Counter.builder("bank.sharding.operations")
+                        .description("Client repository operations executed per shard")
+                        .tag("shard", shard)
+                        .tag("mode", mode)
+                        .register(registry));
+            }
+            operations.put(shard, byMode);
+        }
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..)) "
+            + "&& target(org.kolmanfreecss.kf_monolith_clients_bank.domain.client.ClientRepository)")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Object[] args = joinPoint.getArgs();
+        if ("flush".equals(method.getName())) {
+            // Flushes the current persistence context, which is already bound to a shard
+            return joinPoint.proceed();
+        }
+        boolean read = isRead(method);
+        Object first = args.length == 0 ? null : args[0];
+        UUID key = keyOf(first);
+        if (key != null) {
+            return routed(joinPoint, method, router.shardFor(key), key, read, true);
+        }
+        if (first instanceof Iterable<?> keys && isKeyCollection(keys)) {
+            return multiKey(joinPoint, method, keys, read);
+        }
+        if (!read) {
+            throw new IllegalStateException("Cross-shard writes are not supported: " + method.getName());
+        }
+        return scatter(joinPoint, method, router.shardNames(), args);
+    }
+
+    private Object routed(ProceedingJoinPoint joinPoint, Method method, String shard, UUID key, boolean read,
+            boolean fallback) throws Throwable {
+        count(shard, "routed");
+        Object result;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            String bound = boundShard();
+            if (bound != null && !bound.equals(shard)) {
+                if (!read) {
+                    throw new IllegalStateException("Cross-shard writes are not supported: " + method.getName()
+                            + " writes to shard " + shard + " in a transaction bound to shard " + bound);
+                }
+                result = executor.execute(shard, true, () -> joinPoint.proceed());
+            } else {
+                pin(shard);
+                result = joinPoint.proceed();
+            }
+        } else {
+            String previous = ShardContext.bind(shard);
+            try {
+                result = joinPoint.proceed();
+            } finally {
+                ShardContext.restore(previous);
+            }
+        }
+        String previousOwner = fallback && read && isEmpty(result) ? router.previousShardFor(key) : null;
+        if (previousOwner != null) {
+            count(previousOwner, "fallback");
+            return executor.execute(previousOwner, true, () -> joinPoint.proceed());
+        }
+        return result;
+    }
+
+    private Object multiKey(ProceedingJoinPoint joinPoint, Method method, Iterable<?> keys, boolean read) throws Throwable {
+        Map<String, List<Object>> byShard = new LinkedHashMap<>();
+        for (Object element : keys) {
+            byShard.computeIfAbsent(router.shardFor(keyOf(element)), shard -> new ArrayList<>()).add(element);
+        }
+        if (byShard.isEmpty()) {
+            return joinPoint.proceed();
+        }
+        if (byShard.size() == 1) {
+            Map.Entry<String, List<Object>> only = byShard.entrySet().iterator().next();
+            UUID anyKey = keyOf(only.getValue().get(0));
+            return routed(joinPoint, method, only.getKey(), anyKey, read, false);
+        }
+        if (!read) {
+            throw new IllegalStateException("Cross-shard writes are not supported: " + method.getName()
+                    + " spans shards " + byShard.keySet());
+        }
+        List<String> shards = new ArrayList<>(byShard.keySet());
+        Object[] args = joinPoint.getArgs();
+        List<Object> results = executor.executeOnAll(shards, true, shard -> {
+            Object[] shardArgs = args.clone();
+            shardArgs[0] = byShard.get(shard);
+            return () -> joinPoint.proceed(shardArgs);
+        });
+        shards.forEach(shard -> count(shard, "scatter"));
+        return merge(method, args, results);
+    }
+
+    private Object scatter(ProceedingJoinPoint joinPoint, Method method, List<String> shards, Object[] args) throws Throwable {
+        Object[] shardArgs = widenPage(args);
+        List<Object> results = executor.executeOnAll(shards, true, shard -> () -> {
+            Object result = joinPoint.proceed(shardArgs);
+            // Streams must be consumed inside the shard transaction
+            if (result instanceof Stream<?> stream) {
+                try (stream) {
+                    return stream.collect(Collectors.toList());
+                }
+            }
+            return result;
+        });
+        shards.forEach(shard -> count(shard, "scatter"));
+        return merge(method, args, results);
+    }
+
+    /**
+     * @return The shard the current transaction is pinned to or runs its
+     *         statements on, null if it has not touched any yet
+     */
+    private static String boundShard() {
+        String pinned = ShardContext.current();
+        return pinned != null ? pinned : ShardContext.connection();
+    }
+
+    /**
+     * Binds the current transaction to a shard the first time a routed call
+     * runs in it, and unbinds it when the transaction completes.
+     */
+    private void pin(String shard) {
+        if (ShardContext.current() == null) {
+            ShardContext.bind(shard);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    ShardContext.restore(null);
+                }
+            });
+        }
+    }
+
+    private Object merge(Method method, Object[] args, List<Object> results) {
+        Class<?> returnType = method.getReturnType();
+        if (returnType == void.class) {
+            return null;
+        }
+        if (returnType == long.class || returnType == Long.class) {
+            return results.stream().mapToLong(result -> result == null ? 0L : (Long) result).sum();
+        }
+        if (returnType == int.class || returnType == Integer.class) {
+            return results.stream().mapToInt(result -> result == null ? 0 : (Integer) result).sum();
+        }
+        if (returnType == boolean.class || returnType == Boolean.class) {
+            return results.stream().anyMatch(Boolean.TRUE::equals);
+        }
+        if (returnType == Optional.class) {
+            return results.stream().map(result -> (Optional<?>) result).filter(Optional::isPresent).findFirst()
+                    .orElse(Optional.empty());
+        }
+        Pageable pageable = argument(args, Pageable.class);
+        Sort sort = pageable != null ? pageable.getSort() : argument(args, Sort.class);
+        if (Page.class.isAssignableFrom(returnType)) {
+            List<Object> content = new ArrayList<>();
+            long total = 0;
+            for (Object result : results) {
+                Page<?> page = (Page<?>) result;
+                content.addAll(page.getContent());
+                total += page.getTotalElements();
+            }
+            sort(content, sort);
+            if (pageable != null && pageable.isPaged()) {
+                int from = (int) Math.min(pageable.getOffset(), content.size());
+                int to = Math.min(from + pageable.getPageSize(), content.size());
+                content = content.subList(from, to);
+            }
+            return new PageImpl<>(content, pageable == null ? Pageable.unpaged() : pageable, total);
+        }
+        if (Iterable.class.isAssignableFrom(returnType) || Stream.class.isAssignableFrom(returnType)) {
+            List<Object> merged = new ArrayList<>();
+            for (Object result : results) {
+                if (result instanceof Iterable<?> iterable) {
+                    iterable.forEach(merged::add);
+                }
+            }
+            sort(merged, sort);
+            return Stream.class.isAssignableFrom(returnType) ? merged.stream() : merged;
+        }
+        // Single entity or projection lookups: the first shard holding a match wins
+        return results.stream().filter(result -> result != null).findFirst().orElse(null);
+    }
+
+    /**
+     * Every shard has to return the first {@code offset + size} rows so the
+     * requested page can be cut from the merged, re-sorted result.
+     */
+    private static Object[] widenPage(Object[] args) {
+        Object[] widened = args.clone();
+        for (int i = 0; i < widened.length; i++) {
+            if (widened[i] instanceof Pageable pageable && pageable.isPaged()) {
+                widened[i] = PageRequest.of(0, (int) pageable.getOffset() + pageable.getPageSize(), pageable.getSort());
+            }
+        }
+        return widened;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static void sort(List<Object> values, Sort sort) {
+        if (sort == null || sort.isUnsorted()) {
+            return;
+        }
+        Comparator<Object> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<Object> byProperty = Comparator.comparing(
+                    value -> (Comparable) new BeanWrapperImpl(value).getPropertyValue(order.getProperty()),
+                    Comparator.nullsLast(Comparator.naturalOrder()));
+            if (order.isDescending()) {
+                byProperty = byProperty.reversed();
+            }
+            comparator = comparator == null ? byProperty : comparator.thenComparing(byProperty);
+        }
+        values.sort(comparator);
+    }
+
+    private static <T> T argument(Object[] args, Class<T> type) {
+        for (Object arg : args) {
+            if (type.isInstance(arg)) {
+                return type.cast(arg);
+            }
+        }
+        return null;
+    }
+
+    private static boolean isRead(Method method) {
+        String name = method.getName();
+        return READ_PREFIXES.stream().anyMatch(name::startsWith);
+    }
+
+    private static boolean isEmpty(Object result) {
+        return result == null
+                || Boolean.FALSE.equals(result)
+                || (result instanceof Optional<?> optional && optional.isEmpty())
+                || (result instanceof Collection<?> collection && collection.isEmpty());
+    }
+
+    private static boolean isKeyCollection(Iterable<?> values) {
+        for (Object value : values) {
+            if (keyOf(value) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static UUID keyOf(Object value) {
+        if (value instanceof UUID id) {
+            return id;
+        }
+        if (value instanceof Client client) {
+            if (client.getId() == null) {
+                throw new IllegalArgumentException("A client must have an id before it can be placed on a shard");
+            }
+            return client.getId();
+        }
+        return null;
+    }
+
+    private void count(String shard, String mode) {
+        operations.get(shard).get(mode).increment();
+    }
+}
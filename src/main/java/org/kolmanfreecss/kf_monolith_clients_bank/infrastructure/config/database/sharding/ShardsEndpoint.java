@@ -0,0 +1,40 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.database.sharding;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+/**
+ * Actuator endpoint exposing the shard layout and the rebalancing tool.
+ *
+ * - GET /actuator/shards - Clients stored and misplaced per shard
+ * - POST /actuator/shards - Moves misplaced clients to their owner
+ * (optional JSON body {@code {"batchSize": 500}})
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Endpoint(id = "shards")
+public class ShardsEndpoint {
+
+    private static final int DEFAULT_BATCH_SIZE = 500;
+
+    private final ShardRebalancer rebalancer;
+
+    public ShardsEndpoint(ShardRebalancer rebalancer) {
+        this.rebalancer = rebalancer;
+    }
+
+    @ReadOperation
+    public List<ShardRebalancer.ShardStats> shards() {
+        return rebalancer.describe(DEFAULT_BATCH_SIZE);
+    }
+
+    @WriteOperation
+    public ShardRebalancer.RebalanceReport rebalance(@Nullable Integer batchSize) {
+        return rebalancer.rebalance(batchSize == null || batchSize <= 0 ? DEFAULT_BATCH_SIZE : batchSize);
+    }
+}
@@ -0,0 +1,211 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.database.statistics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics.QueryMetrics;
+
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Statistics of the statements executed against the primary database, fed
+ * by the JDBC proxy of the primary data source.
+ * <p>
+ * Every execution is recorded in the timer of its normalized SQL (see
+ * {@link SqlNormalizer}). Timers are looked up by the SQL as prepared, so
+ * the normalization only runs the first time a statement is seen; past
+ * {@code maxQueries} distinct statements, further ones share the
+ * {@code other} timer.
+ * <p>
+ * Executions slower than the threshold are logged and kept, with their bind
+ * parameter count and call site: the first frame of application code on the
+ * executing thread. The slowest executions are also ranked in windows of
+ * {@code window}; the ranking covers the current and the previous window,
+ * so it always spans at least one full window. Only executions that can
+ * enter the ranking or are slow pay for capturing their call site.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Slf4j
+public class QueryStatistics implements SqlExecutionListener {
+
+    private static final String OTHER_QUERY = "other";
+    private static final String APPLICATION_PACKAGE = "org.kolmanfreecss.kf_monolith_clients_bank.";
+    private static final String INSTRUMENTATION_PACKAGE = APPLICATION_PACKAGE + "infrastructure.config.";
+    private static final int MAX_QUERY_LENGTH = 1000;
+    private static final int MAX_RECENT_SLOW = 100;
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+    private static final Comparator<QueryExecution> BY_DURATION = Comparator
+            .comparingLong(QueryExecution::durationNanos);
+
+    private final QueryMetrics metrics;
+    private final int maxQueries;
+    private final long slowNanos;
+    private final int topN;
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+    private final Map<String, Timer> timersBySql = new ConcurrentHashMap<>();
+    private final Map<String, Timer> timersByQuery = new ConcurrentHashMap<>();
+    private final Timer otherTimer;
+
+    private final PriorityQueue<QueryExecution> slowest;
+    private List<QueryExecution> previousSlowest = List.of();
+    private final ArrayDeque<QueryExecution> recentSlow = new ArrayDeque<>();
+    private volatile long floorNanos;
+    private volatile long windowEndNanos;
+
+    /**
+     * @param metrics    The query metrics
+     * @param maxQueries Distinct statements given their own timer
+     * @param slowQuery  Duration from which an execution is slow
+     * @param topN       Slowest executions ranked
+     * @param window     Length of a ranking window
+     */
+    public QueryStatistics(QueryMetrics metrics, int maxQueries, Duration slowQuery, int topN, Duration window) {
+        this(metrics, maxQueries, slowQuery, topN, window, System::nanoTime);
+    }
+
+    QueryStatistics(QueryMetrics metrics, int maxQueries, Duration slowQuery, int topN, Duration window,
+            LongSupplier nanoClock) {
+        if (maxQueries <= 0 || topN <= 0 || slowQuery.isNegative() || window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("Invalid query statistics settings");
+        }
+        this.metrics = metrics;
+        this.maxQueries = maxQueries;
+        this.slowNanos = slowQuery.toNanos();
+        this.topN = topN;
+        this.windowNanos = window.toNanos();
+        this.nanoClock = nanoClock;
+        this.otherTimer = metrics.queryTimer(OTHER_QUERY);
+        this.slowest = new PriorityQueue<>(topN, BY_DURATION);
+        this.windowEndNanos = nanoClock.getAsLong() + windowNanos;
+    }
+
+    @Override
+    public void executed(String sql, long elapsedNanos) {
+        if (sql == null) {
+            return;
+        }
+        timer(sql).record(elapsedNanos, TimeUnit.NANOSECONDS);
+        boolean slow = elapsedNanos >= slowNanos;
+        if (slow || elapsedNanos > floorNanos || nanoClock.getAsLong() - windowEndNanos >= 0) {
+            capture(sql, elapsedNanos, slow);
+        }
+    }
+
+    /**
+     * @return The slowest executions of the current and previous windows, slowest first, and the latest slow
+     *         executions, newest first
+     */
+    public synchronized SlowQueriesReport report() {
+        rotateIfDue(nanoClock.getAsLong());
+        List<QueryExecution> ranked = new ArrayList<>(slowest);
+        ranked.addAll(previousSlowest);
+        ranked.sort(BY_DURATION.reversed());
+        List<QueryExecution> recent = new ArrayList<>(recentSlow);
+        return new SlowQueriesReport(slowNanos / 1_000_000, windowNanos / 1_000_000_000,
+                ranked.subList(0, Math.min(topN, ranked.size())), recent.reversed());
+    }
+
+    private Timer timer(String sql) {
+        Timer timer = timersBySql.get(sql);
+        if (timer != null) {
+            return timer;
+        }
+        String query = SqlNormalizer.normalize(sql, MAX_QUERY_LENGTH);
+        timer = timersByQuery.get(query);
+        if (timer == null) {
+            timer = timersByQuery.size() < maxQueries
+                    ? timersByQuery.computeIfAbsent(query, metrics::queryTimer)
+                    : otherTimer;
+        }
+        // Raw statements outnumber normalized ones, e.g. IN lists of every length
+        if (timersBySql.size() < maxQueries * 4) {
+            timersBySql.put(sql, timer);
+        }
+        return timer;
+    }
+
+    private void capture(String sql, long elapsedNanos, boolean slow) {
+        QueryExecution execution = new QueryExecution(SqlNormalizer.normalize(sql, MAX_QUERY_LENGTH),
+                elapsedNanos, elapsedNanos / 1_000_000.0, SqlNormalizer.countParameters(sql), callSite(),
+                Instant.now());
+        if (slow) {
+            metrics.recordSlowQuery();
+            log.warn("Slow query: {} ms, {} bind parameters, from {}: {}", elapsedNanos / 1_000_000,
+                    execution.bindParameters(), execution.callSite(), execution.query());
+        }
+        synchronized (this) {
+            if (slow) {
+                if (recentSlow.size() == MAX_RECENT_SLOW) {
+                    recentSlow.removeFirst();
+                }
+                recentSlow.addLast(execution);
+            }
+            rotateIfDue(nanoClock.getAsLong());
+            if (slowest.size() < topN) {
+                slowest.add(execution);
+            } else if (elapsedNanos > slowest.peek().durationNanos()) {
+                slowest.poll();
+                slowest.add(execution);
+            }
+            floorNanos = slowest.size() < topN ? 0 : slowest.peek().durationNanos();
+        }
+    }
+
+    private void rotateIfDue(long now) {
+        if (now - windowEndNanos >= 0) {
+            // After an idle spell longer than a window, the previous window is empty
+            previousSlowest = now - windowEndNanos < windowNanos ? List.copyOf(slowest) : List.of();
+            slowest.clear();
+            floorNanos = 0;
+            windowEndNanos = now + windowNanos;
+        }
+    }
+
+    private static String callSite() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE)
+                        && !frame.getClassName().startsWith(INSTRUMENTATION_PACKAGE)
+                        && !frame.getClassName().contains("$$"))
+                .findFirst())
+                .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1) + "."
+                        + frame.getMethodName() + ":" + frame.getLineNumber())
+                .orElse("unknown");
+    }
+
+    /**
+     * One statement execution.
+     *
+     * @param query          Normalized SQL
+     * @param durationNanos  Execution time
+     * @param durationMs     Execution time, in milliseconds
+     * @param bindParameters Bind parameters of the statement
+     * @param callSite       First application frame that led to it, as {@code Class.method:line}
+     * @param executedAt     When it completed
+     */
+    public record QueryExecution(String query, long durationNanos, double durationMs, int bindParameters,
+            String callSite, Instant executedAt) {
+    }
+
+    /**
+     * @param slowQueryThresholdMs Duration from which an execution is slow
+     * @param windowSeconds        Length of a ranking window
+     * @param slowest              Slowest executions, slowest first
+     * @param recentSlow           Latest slow executions, newest first
+     */
+    public record SlowQueriesReport(long slowQueryThresholdMs, long windowSeconds, List<QueryExecution> slowest,
+            List<QueryExecution> recentSlow) {
+    }
+}
@@ -0,0 +1,30 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.database.statistics;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * Actuator endpoint exposing the slowest statements run against the primary
+ * database.
+ *
+ * - GET /actuator/queries - Slowest executions of the last one or two
+ * ranking windows and latest executions over the slow-query threshold, with
+ * their normalized SQL, bind parameter count and call site
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Endpoint(id = "queries")
+public class QueryStatisticsEndpoint {
+
+    private final QueryStatistics statistics;
+
+    public QueryStatisticsEndpoint(QueryStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @ReadOperation
+    public QueryStatistics.SlowQueriesReport queries() {
+        return statistics.report();
+    }
+}
@@ -0,0 +1,21 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.database.statistics;
+
+/**
+ * Notified of each statement executed through the instrumented primary data
+ * source, on the thread that executed it.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@FunctionalInterface
+public interface SqlExecutionListener {
+
+    SqlExecutionListener NONE = (sql, elapsedNanos) -> {
+    };
+
+    /**
+     * @param sql          The statement, as prepared, or null if the driver call did not expose it
+     * @param elapsedNanos Time the execution took
+     */
+    void executed(String sql, long elapsedNanos);
+}
@@ -0,0 +1,210 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.database.statistics;
+
+/**
+ * Reduces SQL statements to a shape shared by all their executions, usable
+ * as a metric tag: comments dropped, whitespace collapsed, string and
+ * numeric literals replaced by {@code ?} and lists of parameters or
+ * literals, e.g. expanded {@code IN} lists, collapsed to a single {@code ?}.
+ * Lists of row values, e.g. {@code (a, b) IN ((1, 'x'), (2, 'y'))}, are
+ * collapsed to their first row, {@code ((?))}.
+ * <p>
+ * Single pass without regular expressions, since it may run on every
+ * statement executed.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public final class SqlNormalizer {
+
+    private SqlNormalizer() {
+    }
+
+    /**
+     * @param sql       The statement
+     * @param maxLength Length the result is truncated to
+     * @return The normalized statement
+     */
+    public static String normalize(String sql, int maxLength) {
+        int length = sql.length();
+        StringBuilder out = new StringBuilder(Math.min(length, maxLength));
+        boolean pendingSpace = false;
+        boolean skipValue = false;
+        int i = 0;
+        while (i < length && out.length() < maxLength) {
+            char c = sql.charAt(i);
+            if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+                pendingSpace = out.length() > 0;
+            } else if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+                int end = sql.indexOf('\n', i + 2);
+                i = end < 0 ? length : end + 1;
+                pendingSpace = out.length() > 0;
+            } else if (Character.isWhitespace(c)) {
+                pendingSpace = out.length() > 0;
+                i++;
+            } else if (c == ',' && endsWithValue(out) && startsValue(sql, skipWhitespace(sql, i + 1))) {
+                // Next list element: dropped along with the comma
+                skipValue = true;
+                i++;
+            } else if (c == ',' && endsWithRow(out) && startsRow(sql, skipWhitespace(sql, i + 1))) {
+                // Next row of a list of row values: dropped along with the comma
+                i = skipRow(sql, skipWhitespace(sql, i + 1));
+                pendingSpace = false;
+            } else if (c == '?' || c == '\'' || isNumber(sql, i)) {
+                i = skipLiteral(sql, i);
+                if (skipValue) {
+                    skipValue = false;
+                    pendingSpace = false;
+                } else {
+                    if (pendingSpace) {
+                        out.append(' ');
+                        pendingSpace = false;
+                    }
+                    out.append('?');
+                }
+            } else {
+                if (pendingSpace) {
+                    out.append(' ');
+                    pendingSpace = false;
+                }
+                // Identifiers are copied whole so that their digits are kept
+                int end = i + 1;
+                if (Character.isLetter(c) || c == '_') {
+                    while (end < length && (Character.isLetterOrDigit(sql.charAt(end)) || sql.charAt(end) == '_')) {
+                        end++;
+                    }
+                }
+                out.append(sql, i, end);
+                i = end;
+            }
+        }
+        if (out.length() > maxLength) {
+            out.setLength(maxLength);
+        }
+        return out.toString();
+    }
+
+    /**
+     * @param sql A prepared statement
+     * @return Bind parameters in it, i.e. {@code ?} outside literals and comments
+     */
+    public static int countParameters(String sql) {
+        int count = 0;
+        int length = sql.length();
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                i = skipLiteral(sql, i);
+            } else if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+            } else if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+                int end = sql.indexOf('\n', i + 2);
+                i = end < 0 ? length : end + 1;
+            } else {
+                if (c == '?') {
+                    count++;
+                }
+                i++;
+            }
+        }
+        return count;
+    }
+
+    private static boolean endsWithValue(StringBuilder out) {
+        return out.length() > 0 && out.charAt(out.length() - 1) == '?';
+    }
+
+    private static boolean endsWithRow(StringBuilder out) {
+        int length = out.length();
+        return length >= 3 && out.charAt(length - 1) == ')' && out.charAt(length - 2) == '?'
+                && out.charAt(length - 3) == '(';
+    }
+
+    private static boolean startsRow(String sql, int i) {
+        return i < sql.length() && sql.charAt(i) == '(' && startsValue(sql, skipWhitespace(sql, i + 1));
+    }
+
+    private static int skipRow(String sql, int i) {
+        int depth = 0;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                i = skipLiteral(sql, i);
+                continue;
+            }
+            if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return i + 1;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean startsValue(String sql, int i) {
+        return i < sql.length() && (sql.charAt(i) == '?' || sql.charAt(i) == '\'' || isNumber(sql, i));
+    }
+
+    private static int skipWhitespace(String sql, int i) {
+        while (i < sql.length() && Character.isWhitespace(sql.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isNumber(String sql, int i) {
+        char c = sql.charAt(i);
+        if (c == '-' && i + 1 < sql.length()) {
+            c = sql.charAt(i + 1);
+            if (!Character.isDigit(c) || (i > 0 && isIdentifierPart(sql.charAt(i - 1)))) {
+                return false;
+            }
+            return !endsWithOperand(sql, i);
+        }
+        return Character.isDigit(c) && (i == 0 || !isIdentifierPart(sql.charAt(i - 1)));
+    }
+
+    private static boolean endsWithOperand(String sql, int i) {
+        // A minus after a value or identifier is a subtraction, not a sign
+        int j = i - 1;
+        while (j >= 0 && Character.isWhitespace(sql.charAt(j))) {
+            j--;
+        }
+        return j >= 0 && (isIdentifierPart(sql.charAt(j)) || sql.charAt(j) == ')' || sql.charAt(j) == '?');
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '.';
+    }
+
+    private static int skipLiteral(String sql, int i) {
+        int length = sql.length();
+        char c = sql.charAt(i);
+        if (c == '?') {
+            return i + 1;
+        }
+        if (c == '\'') {
+            i++;
+            while (i < length) {
+                if (sql.charAt(i) == '\'') {
+                    if (i + 1 < length && sql.charAt(i + 1) == '\'') {
+                        i += 2;
+                        continue;
+                    }
+                    return i + 1;
+                }
+                i++;
+            }
+            return length;
+        }
+        i++;
+        while (i < length && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,28 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.idempotency;
+
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Flags GraphQL responses carrying internal errors as server errors for
+ * {@link IdempotencyFilter}: GraphQL answers them with HTTP 200, and they
+ * must release the idempotency key rather than be replayed to retries.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public class GraphQlServerErrorInterceptor implements WebGraphQlInterceptor {
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+        return chain.next(request).doOnNext(response -> {
+            if (response.getErrors().stream().anyMatch(error -> error.getErrorType() == ErrorType.INTERNAL_ERROR)) {
+                IdempotencyFilter.markServerError(request.getAttributes());
+            }
+        });
+    }
+}
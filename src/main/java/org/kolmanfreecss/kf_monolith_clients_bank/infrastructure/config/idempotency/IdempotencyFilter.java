@@ -0,0 +1,328 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.idempotency;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics.IdempotencyMetrics;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Servlet filter implementing {@code Idempotency-Key} for POST, PUT and PATCH
+ * requests.
+ * <p>
+ * The key is scoped to the method and URI of the request and claimed in the
+ * {@link IdempotencyStore} along with a SHA-256 hash of the body:
+ * - The first request with a key runs; its response is recorded unless it is
+ * a server error, in which case the key is released so the request can be
+ * retried. GraphQL internal errors, sent with status 200, are flagged by
+ * {@link GraphQlServerErrorInterceptor}
+ * - Duplicates received after it completed get the recorded status, content
+ * type and body back, marked with {@code Idempotent-Replayed: true}, without
+ * reaching the controllers or the database
+ * - Duplicates received while it runs get 409 Conflict
+ * - Reusing a key with a different body gets 422 Unprocessable Entity
+ * - Bodies over the size limit get 413 Content Too Large, as the body is
+ * held in memory to fingerprint it and run the request
+ * <p>
+ * Requests without the header are not affected. Responses completed
+ * asynchronously, like GraphQL ones, are recorded on their async dispatch.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Set<String> METHODS = Set.of("POST", "PUT", "PATCH");
+    private static final String PENDING_ATTRIBUTE = IdempotencyFilter.class.getName() + ".PENDING";
+    private static final String SERVER_ERROR_ATTRIBUTE = IdempotencyFilter.class.getName() + ".SERVER_ERROR";
+
+    private final IdempotencyStore store;
+    private final IdempotencyMetrics metrics;
+    private final int maxBodyBytes;
+
+    public IdempotencyFilter(IdempotencyStore store, IdempotencyMetrics metrics, int maxBodyBytes) {
+        if (maxBodyBytes <= 0 || maxBodyBytes == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Idempotent request body limit must be positive and bounded");
+        }
+        this.store = store;
+        this.metrics = metrics;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    /**
+     * Marks the response of a keyed request as a server error whatever its
+     * status, so that its key is released instead of the response recorded.
+     *
+     * @param attributes Attributes of the request, e.g. those of a GraphQL request
+     */
+    public static void markServerError(Map<String, Object> attributes) {
+        if (attributes.get(SERVER_ERROR_ATTRIBUTE) instanceof AtomicBoolean serverError) {
+            serverError.set(true);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !METHODS.contains(request.getMethod()) || request.getHeader(HEADER) == null;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Pending pending = (Pending) request.getAttribute(PENDING_ATTRIBUTE);
+        if (pending != null) {
+            // Async dispatch of a started request, already wrapped
+            proceed(pending, request, response, chain);
+            return;
+        }
+        if (isAsyncDispatch(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long start = System.nanoTime();
+        String idempotencyKey = request.getHeader(HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST,
+                    HEADER + " must have between 1 and " + MAX_KEY_LENGTH + " characters");
+            metrics.recordRequest("rejected", System.nanoTime() - start);
+            return;
+        }
+        // Sized reads avoid the 16 KiB buffer readAllBytes starts with, for bodies of a few dozen bytes;
+        // without a length, one byte past the limit tells an oversized body apart
+        int length = request.getContentLength();
+        byte[] body = length > maxBodyBytes ? null
+                : request.getInputStream().readNBytes(length >= 0 ? length : maxBodyBytes + 1);
+        if (body == null || body.length > maxBodyBytes) {
+            response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE,
+                    "Requests with an " + HEADER + " are limited to " + maxBodyBytes + " bytes");
+            metrics.recordRequest("rejected", System.nanoTime() - start);
+            return;
+        }
+        byte[] fingerprint = fingerprint(body);
+        String query = request.getQueryString();
+        String key = request.getMethod() + ' ' + request.getRequestURI() + (query == null ? "" : '?' + query)
+                + '\n' + idempotencyKey;
+        IdempotencyStore.Claim claim = store.claim(key, fingerprint);
+        switch (claim.state()) {
+            case COMPLETED -> {
+                replay(claim.response(), response);
+                metrics.recordRequest("replayed", System.nanoTime() - start);
+            }
+            case IN_FLIGHT -> {
+                response.sendError(HttpServletResponse.SC_CONFLICT,
+                        "A request with this " + HEADER + " is still being processed");
+                metrics.recordRequest("in_flight", System.nanoTime() - start);
+            }
+            case MISMATCH -> {
+                response.sendError(422, HEADER + " was already used for a different request");
+                metrics.recordRequest("mismatch", System.nanoTime() - start);
+            }
+            case STARTED -> {
+                pending = new Pending(key, fingerprint, new ContentCachingResponseWrapper(response));
+                pending.overheadNanos = System.nanoTime() - start;
+                request.setAttribute(PENDING_ATTRIBUTE, pending);
+                request.setAttribute(SERVER_ERROR_ATTRIBUTE, pending.serverError);
+                proceed(pending, new CachedBodyRequest(request, body), pending.response, chain);
+            }
+        }
+    }
+
+    /**
+     * Runs a started request, then records its response unless it continues
+     * on an async dispatch.
+     */
+    private void proceed(Pending pending, HttpServletRequest request, HttpServletResponse response,
+            FilterChain chain) throws ServletException, IOException {
+        boolean completed = false;
+        try {
+            chain.doFilter(request, response);
+            completed = true;
+        } finally {
+            if (!completed) {
+                store.release(pending.key);
+                metrics.recordRequest("released", pending.overheadNanos);
+            }
+        }
+        if (isAsyncStarted(request)) {
+            if (!pending.listening) {
+                pending.listening = true;
+                request.getAsyncContext().addListener(new ReleaseOnFailure(pending));
+            }
+            return;
+        }
+        long start = System.nanoTime();
+        ContentCachingResponseWrapper captured = pending.response;
+        int status = captured.getStatus();
+        boolean recorded = status < HttpServletResponse.SC_INTERNAL_SERVER_ERROR
+                && !pending.serverError.get();
+        if (recorded) {
+            store.complete(pending.key, pending.fingerprint,
+                    new IdempotentResponse(status, captured.getContentType(), captured.getContentAsByteArray()));
+        } else {
+            store.release(pending.key);
+        }
+        captured.copyBodyToResponse();
+        metrics.recordRequest(recorded ? "executed" : "released",
+                pending.overheadNanos + System.nanoTime() - start);
+    }
+
+    private static void replay(IdempotentResponse recorded, HttpServletResponse response) throws IOException {
+        response.setStatus(recorded.status());
+        if (recorded.contentType() != null) {
+            response.setContentType(recorded.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(recorded.body().length);
+        response.getOutputStream().write(recorded.body());
+    }
+
+    private static byte[] fingerprint(byte[] body) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(body);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * State of a started request, kept across its dispatches.
+     */
+    private static final class Pending {
+
+        private final String key;
+        private final byte[] fingerprint;
+        private final ContentCachingResponseWrapper response;
+        private final AtomicBoolean serverError = new AtomicBoolean();
+        private long overheadNanos;
+        private boolean listening;
+
+        private Pending(String key, byte[] fingerprint, ContentCachingResponseWrapper response) {
+            this.key = key;
+            this.fingerprint = fingerprint;
+            this.response = response;
+        }
+    }
+
+    /**
+     * Releases the key of an async request that times out or fails without
+     * dispatching back to the filter.
+     */
+    private final class ReleaseOnFailure implements AsyncListener {
+
+        private final Pending pending;
+
+        private ReleaseOnFailure(Pending pending) {
+            this.pending = pending;
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            store.release(pending.key);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            store.release(pending.key);
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+
+    /**
+     * Request whose body, already read to fingerprint it, is read again from
+     * memory.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException("Non-blocking reads are not supported");
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
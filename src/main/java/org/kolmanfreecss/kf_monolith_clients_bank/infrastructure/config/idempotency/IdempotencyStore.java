@@ -0,0 +1,66 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.idempotency;
+
+/**
+ * Store of the requests seen per idempotency key: in flight while the first
+ * request runs, then holding its response until the key expires.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Claims a key for a request, atomically: only one request per key is
+     * ever {@link Claim.State#STARTED started}.
+     *
+     * @param key         The scoped idempotency key
+     * @param fingerprint Hash of the request payload
+     * @return Whether the request must run, or what to answer instead
+     */
+    Claim claim(String key, byte[] fingerprint);
+
+    /**
+     * Records the response of a started request.
+     *
+     * @param key         The scoped idempotency key
+     * @param fingerprint Hash of the request payload
+     * @param response    The response to replay to duplicates
+     */
+    void complete(String key, byte[] fingerprint, IdempotentResponse response);
+
+    /**
+     * Forgets a started request that produced no replayable response, so
+     * that it can be retried.
+     *
+     * @param key The scoped idempotency key
+     */
+    void release(String key);
+
+    /**
+     * Outcome of claiming a key.
+     *
+     * @param state    What the key was in
+     * @param response The recorded response, only when {@link State#COMPLETED}
+     */
+    record Claim(State state, IdempotentResponse response) {
+
+        static final Claim STARTED = new Claim(State.STARTED, null);
+        static final Claim IN_FLIGHT = new Claim(State.IN_FLIGHT, null);
+        static final Claim MISMATCH = new Claim(State.MISMATCH, null);
+
+        static Claim completed(IdempotentResponse response) {
+            return new Claim(State.COMPLETED, response);
+        }
+
+        public enum State {
+            /** The key was free and is now held by this request, which must run */
+            STARTED,
+            /** Another request with the key is still running */
+            IN_FLIGHT,
+            /** A request with the key completed; its response is replayed */
+            COMPLETED,
+            /** The key was used for a different payload */
+            MISMATCH
+        }
+    }
+}
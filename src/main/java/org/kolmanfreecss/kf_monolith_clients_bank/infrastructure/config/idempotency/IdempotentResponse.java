@@ -0,0 +1,12 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.idempotency;
+
+/**
+ * Response recorded for an idempotency key, replayed to duplicates of the
+ * request.
+ *
+ * @param status      HTTP status
+ * @param contentType Content type, null if the response had none
+ * @param body        Response body
+ */
+public record IdempotentResponse(int status, String contentType, byte[] body) {
+}
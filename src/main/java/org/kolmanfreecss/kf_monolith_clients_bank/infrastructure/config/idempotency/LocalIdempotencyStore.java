@@ -0,0 +1,144 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.idempotency;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory {@link IdempotencyStore}, bounded in size and in time.
+ * <p>
+ * Every key lives for the same time to live, so keys expire in the order they
+ * were claimed: a FIFO queue of the claims is also the expiry schedule, and
+ * eviction only ever looks at its head. Each claim first drops the expired
+ * keys at the head, then, while the store is full, the oldest ones even if
+ * unexpired. Eviction is amortized O(1) and needs no background thread.
+ * <p>
+ * Under size pressure the oldest key may be evicted while its request is
+ * still running; a duplicate arriving after that runs again. The maximum
+ * should therefore cover the keys claimed within one time to live.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public class LocalIdempotencyStore implements IdempotencyStore {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> claims = new ConcurrentLinkedQueue<>();
+    private final int maxKeys;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    public LocalIdempotencyStore(int maxKeys, Duration ttl) {
+        this(maxKeys, ttl, System::nanoTime);
+    }
+
+    LocalIdempotencyStore(int maxKeys, Duration ttl, LongSupplier nanoClock) {
+        if (maxKeys <= 0 || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Idempotency store size and time to live must be positive");
+        }
+        this.maxKeys = maxKeys;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public Claim claim(String key, byte[] fingerprint) {
+        long now = nanoClock.getAsLong();
+        evict(now);
+        Entry claimed = new Entry(key, fingerprint, now + ttlNanos);
+        while (true) {
+            Entry existing = entries.putIfAbsent(key, claimed);
+            if (existing == null) {
+                claims.add(claimed);
+                return Claim.STARTED;
+            }
+            if (!existing.isExpired(now)) {
+                return existing.claimFor(fingerprint);
+            }
+            // Expired but not evicted yet
+            entries.remove(key, existing);
+        }
+    }
+
+    @Override
+    public void complete(String key, byte[] fingerprint, IdempotentResponse response) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            entry.response = response;
+        }
+    }
+
+    @Override
+    public void release(String key) {
+        // The claim stays queued until its expiry and is then dropped as stale
+        entries.remove(key);
+    }
+
+    /**
+     * Records a response for a key, whether or not it was claimed here, e.g.
+     * when it was completed on another instance.
+     *
+     * @param key         The scoped idempotency key
+     * @param fingerprint Hash of the request payload
+     * @param response    The recorded response
+     */
+    void put(String key, byte[] fingerprint, IdempotentResponse response) {
+        long now = nanoClock.getAsLong();
+        Entry entry = new Entry(key, fingerprint, now + ttlNanos);
+        entry.response = response;
+        evict(now);
+        entries.put(key, entry);
+        claims.add(entry);
+    }
+
+    /**
+     * @return Number of keys held, in flight or completed
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Drops expired and stale claims at the head of the queue, then the
+     * oldest claims until there is room for one more key.
+     */
+    private void evict(long now) {
+        Entry oldest;
+        while ((oldest = claims.peek()) != null
+                && (oldest.isExpired(now) || entries.size() >= maxKeys || entries.get(oldest.key) != oldest)) {
+            if (claims.remove(oldest)) {
+                entries.remove(oldest.key, oldest);
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        private final String key;
+        private final byte[] fingerprint;
+        private final long expiresAt;
+        private volatile IdempotentResponse response;
+
+        private Entry(String key, byte[] fingerprint, long expiresAt) {
+            this.key = key;
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+
+        private Claim claimFor(byte[] requestFingerprint) {
+            if (!Arrays.equals(fingerprint, requestFingerprint)) {
+                return Claim.MISMATCH;
+            }
+            IdempotentResponse completed = response;
+            return completed == null ? Claim.IN_FLIGHT : Claim.completed(completed);
+        }
+    }
+}
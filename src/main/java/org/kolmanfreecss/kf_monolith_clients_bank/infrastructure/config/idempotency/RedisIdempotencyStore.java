@@ -0,0 +1,140 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.idempotency;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link IdempotencyStore} shared by every instance through Redis, in front
+ * of which the {@link LocalIdempotencyStore} acts as a near cache.
+ * <p>
+ * A key is claimed locally first, so duplicates retried against the same
+ * instance are answered without a network round trip. A key new to this
+ * instance is then claimed in Redis with {@code SET NX PX}, which lets
+ * exactly one instance run the request; the others answer from the entry it
+ * stored. Entries expire in Redis after the same time to live as locally.
+ * <p>
+ * If Redis is unavailable the store falls back to the local claims, so
+ * postings keep flowing but duplicates sent to different instances are only
+ * caught once Redis is back.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Slf4j
+public class RedisIdempotencyStore implements IdempotencyStore {
+
+    private static final String PREFIX = "idempotency:";
+
+    private final LocalIdempotencyStore local;
+    private final StringRedisTemplate redis;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+
+    public RedisIdempotencyStore(LocalIdempotencyStore local, StringRedisTemplate redis, ObjectMapper objectMapper,
+            Duration ttl) {
+        this.local = local;
+        this.redis = redis;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public Claim claim(String key, byte[] fingerprint) {
+        Claim claim = local.claim(key, fingerprint);
+        if (claim.state() != Claim.State.STARTED) {
+            return claim;
+        }
+        try {
+            StoredEntry entry = new StoredEntry(encode(fingerprint), null, null, null);
+            for (int attempt = 0; attempt < 2; attempt++) {
+                if (Boolean.TRUE.equals(redis.opsForValue().setIfAbsent(PREFIX + key, write(entry), ttl))) {
+                    return claim;
+                }
+                String stored = redis.opsForValue().get(PREFIX + key);
+                if (stored != null) {
+                    return claimFor(key, fingerprint, read(stored));
+                }
+                // Expired between the two commands
+            }
+            return claim;
+        } catch (DataAccessException e) {
+            log.warn("Redis unavailable for idempotency key claims, using local claims only: {}", e.getMessage());
+            return claim;
+        }
+    }
+
+    @Override
+    public void complete(String key, byte[] fingerprint, IdempotentResponse response) {
+        local.complete(key, fingerprint, response);
+        try {
+            redis.opsForValue().set(PREFIX + key, write(new StoredEntry(encode(fingerprint), response.status(),
+                    response.contentType(), encode(response.body()))), ttl);
+        } catch (DataAccessException e) {
+            log.warn("Could not store idempotent response in Redis: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void release(String key) {
+        local.release(key);
+        try {
+            redis.delete(PREFIX + key);
+        } catch (DataAccessException e) {
+            log.warn("Could not release idempotency key in Redis: {}", e.getMessage());
+        }
+    }
+
+    private Claim claimFor(String key, byte[] fingerprint, StoredEntry stored) {
+        if (!Arrays.equals(fingerprint, decode(stored.fingerprint()))) {
+            local.release(key);
+            return Claim.MISMATCH;
+        }
+        if (stored.status() == null) {
+            local.release(key);
+            return Claim.IN_FLIGHT;
+        }
+        IdempotentResponse response = new IdempotentResponse(stored.status(), stored.contentType(),
+                decode(stored.body()));
+        local.put(key, fingerprint, response);
+        return Claim.completed(response);
+    }
+
+    private String write(StoredEntry entry) {
+        try {
+            return objectMapper.writeValueAsString(entry);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize idempotency entry", e);
+        }
+    }
+
+    private StoredEntry read(String value) {
+        try {
+            return objectMapper.readValue(value, StoredEntry.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Malformed idempotency entry in Redis", e);
+        }
+    }
+
+    private static String encode(byte[] bytes) {
+        return bytes == null ? null : Base64.getEncoder().encodeToString(bytes);
+    }
+
+    private static byte[] decode(String value) {
+        return value == null ? null : Base64.getDecoder().decode(value);
+    }
+
+    /**
+     * Entry as stored in Redis; the status is null while the request is in flight.
+     */
+    public record StoredEntry(String fingerprint, Integer status, String contentType, String body) {
+    }
+}
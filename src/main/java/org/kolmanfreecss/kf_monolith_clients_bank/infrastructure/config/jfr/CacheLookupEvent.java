@@ -0,0 +1,46 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of a cache lookup, e.g. in the client rights cache,
+ * emitted by the cache decorators.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Name(CacheLookupEvent.NAME)
+@Label("Cache Lookup")
+@Category({ "Bank", "Cache" })
+@Description("A lookup in an application cache")
+@StackTrace(false)
+public class CacheLookupEvent extends Event {
+
+    public static final String NAME = "bank.CacheLookup";
+
+    @Label("Cache")
+    private String cache;
+
+    @Label("Hit")
+    private boolean hit;
+
+    /**
+     * Ends the event and commits it if it passed the recording's threshold.
+     *
+     * @param cache Name of the cache
+     * @param hit   Whether the key was found
+     */
+    public void complete(String cache, boolean hit) {
+        end();
+        if (shouldCommit()) {
+            this.cache = cache;
+            this.hit = hit;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of a {@code ClientService} operation, emitted by
+ * {@link JfrEventsAspect}.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Name(ClientOperationEvent.NAME)
+@Label("Client Operation")
+@Category({ "Bank", "Clients" })
+@Description("A ClientService operation")
+@StackTrace(false)
+public class ClientOperationEvent extends Event {
+
+    public static final String NAME = "bank.ClientOperation";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Success")
+    boolean success;
+}
@@ -0,0 +1,34 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of a call to the external rights system through
+ * {@code ClientExternalRightsPort}, emitted by {@link JfrEventsAspect}.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Name(ExternalRightsCallEvent.NAME)
+@Label("External Rights Call")
+@Category({ "Bank", "Clients" })
+@Description("A call to the external rights system")
+@StackTrace(false)
+public class ExternalRightsCallEvent extends Event {
+
+    public static final String NAME = "bank.ExternalRightsCall";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Client Id")
+    String clientId;
+
+    @Label("Success")
+    boolean success;
+}
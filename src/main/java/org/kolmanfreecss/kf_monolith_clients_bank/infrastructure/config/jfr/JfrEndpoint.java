@@ -0,0 +1,111 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.jfr;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+
+/**
+ * Actuator endpoint managing flight recordings, a lighter and finer-grained
+ * alternative to heap and thread dumps.
+ *
+ * - GET /actuator/jfr - Recordings kept
+ * - POST /actuator/jfr - Starts a recording (optional JSON body
+ * {@code {"profile": "profile", "durationSeconds": 120, "name": "slow-rights"}})
+ * - POST /actuator/jfr/{id} - Stops a recording, keeping its data
+ * - GET /actuator/jfr/{id} - Downloads the data of a recording, so far if it is running
+ * - DELETE /actuator/jfr/{id} - Closes a recording, discarding its data
+ *
+ * Recordings include the {@code bank.*} events next to the JDK ones.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Endpoint(id = "jfr")
+public class JfrEndpoint {
+
+    private final JfrRecordings recordings;
+
+    public JfrEndpoint(JfrRecordings recordings) {
+        this.recordings = recordings;
+    }
+
+    @ReadOperation
+    public List<JfrRecordings.RecordingInfo> recordings() {
+        return recordings.list();
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Object> start(@Nullable String profile, @Nullable Long durationSeconds,
+            @Nullable String name) {
+        if (durationSeconds != null && durationSeconds <= 0) {
+            return error(WebEndpointResponse.STATUS_BAD_REQUEST, "durationSeconds must be positive");
+        }
+        try {
+            return new WebEndpointResponse<>(recordings.start(profile,
+                    durationSeconds == null ? null : Duration.ofSeconds(durationSeconds), name));
+        } catch (IllegalArgumentException e) {
+            return error(WebEndpointResponse.STATUS_BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            return error(409, e.getMessage());
+        }
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Object> stop(@Selector long id) {
+        return recordings.stop(id)
+                .<WebEndpointResponse<Object>>map(WebEndpointResponse::new)
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> download(@Selector long id) throws IOException {
+        Optional<Path> file = recordings.dump(id);
+        if (file.isEmpty()) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        return new WebEndpointResponse<>(new DumpResource(file.get()));
+    }
+
+    @DeleteOperation
+    public WebEndpointResponse<Void> close(@Selector long id) {
+        return new WebEndpointResponse<>(recordings.close(id)
+                ? WebEndpointResponse.STATUS_NO_CONTENT
+                : WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+
+    private static WebEndpointResponse<Object> error(int status, String message) {
+        return new WebEndpointResponse<>(Map.of("error", message), status);
+    }
+
+    /**
+     * A dumped recording, deleted once it has been read, or else by the dump
+     * sweep of {@link JfrRecordings}.
+     */
+    private static final class DumpResource extends FileSystemResource {
+
+        DumpResource(Path file) {
+            super(file);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(getFile().toPath(), StandardOpenOption.DELETE_ON_CLOSE);
+        }
+    }
+}
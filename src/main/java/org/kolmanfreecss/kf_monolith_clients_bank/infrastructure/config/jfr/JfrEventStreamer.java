@@ -0,0 +1,61 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.jfr;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics.JfrMetrics;
+
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams selected flight recorder events into {@code bank.jfr.events} as
+ * they happen.
+ * <p>
+ * Runs its own recording with only the selected events enabled, each with
+ * a duration threshold under which it is not recorded at all, so a
+ * threshold above zero also bounds the cost of frequent events such as
+ * {@code jdk.JavaMonitorEnter}. Events reach the metrics about a second
+ * after they happen, when the recorder flushes.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Slf4j
+public class JfrEventStreamer {
+
+    private final JfrMetrics metrics;
+    private final Map<String, Long> thresholdsMillis;
+    private RecordingStream stream;
+
+    /**
+     * @param metrics          The flight recorder metrics
+     * @param thresholdsMillis Names of the events streamed, with their duration threshold
+     */
+    public JfrEventStreamer(JfrMetrics metrics, Map<String, Long> thresholdsMillis) {
+        this.metrics = metrics;
+        this.thresholdsMillis = Map.copyOf(thresholdsMillis);
+    }
+
+    public synchronized void start() {
+        if (stream != null || thresholdsMillis.isEmpty()) {
+            return;
+        }
+        stream = new RecordingStream();
+        stream.setMaxAge(Duration.ofSeconds(10));
+        thresholdsMillis.forEach((event, threshold) -> {
+            stream.enable(event).withThreshold(Duration.ofMillis(threshold));
+            stream.onEvent(event, recorded -> metrics.recordEvent(event, recorded.getDuration().toNanos()));
+        });
+        stream.onError(e -> log.warn("Flight recorder event stream failed: {}", e.getMessage()));
+        stream.startAsync();
+        log.info("Streaming flight recorder events {} to metrics", thresholdsMillis.keySet());
+    }
+
+    public synchronized void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.jfr;
+
+import java.util.UUID;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Aspect emitting the {@link ClientOperationEvent} and
+ * {@link ExternalRightsCallEvent} flight recorder events. When no recording
+ * asks for an event, the call only checks that it is disabled.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Aspect
+public class JfrEventsAspect {
+
+    @Around("execution(public * org.kolmanfreecss.kf_monolith_clients_bank.application.client.services.ClientService.*(..))")
+    public Object recordClientOperation(ProceedingJoinPoint joinPoint) throws Throwable {
+        ClientOperationEvent event = new ClientOperationEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        boolean success = false;
+        try {
+            Object result = joinPoint.proceed();
+            success = true;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = joinPoint.getSignature().getName();
+                event.success = success;
+                event.commit();
+            }
+        }
+    }
+
+    @Around("execution(* org.kolmanfreecss.kf_monolith_clients_bank.application.client.usecases.permissions.ports.ClientExternalRightsPort.*(..))")
+    public Object recordExternalRightsCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        ExternalRightsCallEvent event = new ExternalRightsCallEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        boolean success = false;
+        try {
+            Object result = joinPoint.proceed();
+            success = true;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                Object[] args = joinPoint.getArgs();
+                event.operation = joinPoint.getSignature().getName();
+                event.clientId = args.length > 0 && args[0] instanceof UUID clientId ? clientId.toString() : null;
+                event.success = success;
+                event.commit();
+            }
+        }
+    }
+}
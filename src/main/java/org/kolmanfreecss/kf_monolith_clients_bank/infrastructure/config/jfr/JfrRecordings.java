@@ -0,0 +1,251 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.jfr;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Flight recordings started on demand through the {@code jfr} actuator
+ * endpoint.
+ * <p>
+ * A recording uses a profile: one of the JDK's configurations
+ * ({@code default}, about 1% overhead, or {@code profile}, about 2%), or a
+ * {@code <name>.jfc} file of the profile directory, if one is configured.
+ * Recordings keep at most {@code maxAge} and {@code maxSize} of data on disk
+ * and run for the duration asked, capped at {@code maxDuration}. They are
+ * kept once stopped, so they can still be downloaded, until closed; at most
+ * {@code maxRecordings} are kept at once.
+ * <p>
+ * Downloads are served from temporary dump files, deleted once read. A dump
+ * that is never read, e.g. because the client went away, is deleted by a
+ * sweep once older than {@code dumpRetention}, and at the latest on shutdown.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Slf4j
+public class JfrRecordings {
+
+    private static final String PROFILE_EXTENSION = ".jfc";
+
+    private final int maxRecordings;
+    private final Duration maxDuration;
+    private final Duration maxAge;
+    private final long maxSizeBytes;
+    private final Path profileDirectory;
+    private final Duration dumpRetention;
+    private final Map<Long, KeptRecording> recordings = new ConcurrentHashMap<>();
+    /**
+     * Dump files that may not have been read yet, with their creation time
+     */
+    private final Map<Path, Instant> dumps = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxRecordings    Recordings kept at once
+     * @param maxDuration      Longest recording, and duration of those started without one
+     * @param maxAge           Age of the oldest data kept by a recording
+     * @param maxSizeBytes     Size of the data kept by a recording
+     * @param profileDirectory Directory of custom {@code .jfc} profiles, or null
+     * @param dumpRetention    Age at which a dump file not read yet is deleted
+     */
+    public JfrRecordings(int maxRecordings, Duration maxDuration, Duration maxAge, long maxSizeBytes,
+            Path profileDirectory, Duration dumpRetention) {
+        this.maxRecordings = maxRecordings;
+        this.maxDuration = maxDuration;
+        this.maxAge = maxAge;
+        this.maxSizeBytes = maxSizeBytes;
+        this.profileDirectory = profileDirectory;
+        this.dumpRetention = dumpRetention;
+    }
+
+    /**
+     * Starts a recording.
+     *
+     * @param profile  Profile name, {@code default} if null
+     * @param duration How long to record, capped at the maximum duration; the maximum if null
+     * @param name     Name of the recording, or null
+     * @return The recording
+     * @throws IllegalArgumentException If the profile does not exist or cannot be read
+     * @throws IllegalStateException    If the flight recorder is unavailable or too many recordings are kept
+     */
+    public synchronized RecordingInfo start(String profile, Duration duration, String name) {
+        if (!FlightRecorder.isAvailable()) {
+            throw new IllegalStateException("The flight recorder is not available in this JVM");
+        }
+        if (recordings.size() >= maxRecordings) {
+            throw new IllegalStateException("Already keeping " + maxRecordings + " recordings; close one first");
+        }
+        String profileName = profile == null || profile.isBlank() ? "default" : profile;
+        Recording recording = new Recording(configuration(profileName));
+        recording.setName(name == null || name.isBlank() ? "bank-" + profileName : name);
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSizeBytes);
+        recording.setDuration(duration == null || duration.compareTo(maxDuration) > 0 ? maxDuration : duration);
+        recording.start();
+        KeptRecording kept = new KeptRecording(recording, profileName);
+        recordings.put(recording.getId(), kept);
+        log.info("Started flight recording {} ({}) with profile {} for {}", recording.getId(), recording.getName(),
+                profileName, recording.getDuration());
+        return kept.info();
+    }
+
+    /**
+     * @return The recordings kept, oldest first
+     */
+    public List<RecordingInfo> list() {
+        return recordings.values().stream()
+                .sorted(Comparator.comparingLong(kept -> kept.recording().getId()))
+                .map(KeptRecording::info)
+                .toList();
+    }
+
+    /**
+     * Stops a recording, keeping its data.
+     *
+     * @param id Id of the recording
+     * @return The recording, empty if not kept
+     */
+    public Optional<RecordingInfo> stop(long id) {
+        return Optional.ofNullable(recordings.get(id)).map(kept -> {
+            if (kept.recording().getState() == RecordingState.RUNNING) {
+                kept.recording().stop();
+                log.info("Stopped flight recording {}", id);
+            }
+            return kept.info();
+        });
+    }
+
+    /**
+     * Writes the data of a recording, so far if it is running, to a
+     * temporary file. The caller should delete the file once read; it is
+     * deleted anyway after the dump retention.
+     *
+     * @param id Id of the recording
+     * @return The file, empty if the recording is not kept
+     * @throws IOException If the data cannot be written
+     */
+    public Optional<Path> dump(long id) throws IOException {
+        KeptRecording kept = recordings.get(id);
+        if (kept == null) {
+            return Optional.empty();
+        }
+        Path file = Files.createTempFile("recording-" + id + "-", ".jfr");
+        try {
+            kept.recording().dump(file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        dumps.put(file, Instant.now());
+        return Optional.of(file);
+    }
+
+    /**
+     * Deletes the dump files older than the dump retention.
+     */
+    @Scheduled(initialDelayString = "${bank.jfr.dump-retention-ms:600000}", fixedDelayString = "${bank.jfr.dump-retention-ms:600000}")
+    public void purgeDumps() {
+        purgeDumpsBefore(Instant.now().minus(dumpRetention));
+    }
+
+    void purgeDumpsBefore(Instant before) {
+        dumps.forEach((file, dumpedAt) -> {
+            if (dumpedAt.isBefore(before)) {
+                delete(file);
+            }
+        });
+    }
+
+    /**
+     * Closes a recording, discarding its data.
+     *
+     * @param id Id of the recording
+     * @return false if the recording was not kept
+     */
+    public boolean close(long id) {
+        KeptRecording kept = recordings.remove(id);
+        if (kept == null) {
+            return false;
+        }
+        kept.recording().close();
+        log.info("Closed flight recording {}", id);
+        return true;
+    }
+
+    /**
+     * Closes every recording kept and deletes their dump files.
+     */
+    public void closeAll() {
+        recordings.keySet().forEach(this::close);
+        dumps.keySet().forEach(this::delete);
+    }
+
+    private void delete(Path file) {
+        try {
+            // Already gone if it was read
+            Files.deleteIfExists(file);
+            dumps.remove(file);
+        } catch (IOException e) {
+            log.warn("Could not delete flight recording dump {}: {}", file, e.getMessage());
+        }
+    }
+
+    private Configuration configuration(String profile) {
+        try {
+            if (profileDirectory != null) {
+                Path file = profileDirectory.resolve(profile + PROFILE_EXTENSION).normalize();
+                if (file.startsWith(profileDirectory) && Files.isRegularFile(file)) {
+                    return Configuration.create(file);
+                }
+            }
+            return Configuration.getConfiguration(profile);
+        } catch (NoSuchFileException e) {
+            throw new IllegalArgumentException("Unknown profile: " + profile);
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("Unreadable profile " + profile + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * A recording, along with the profile it was started with.
+     */
+    private record KeptRecording(Recording recording, String profile) {
+
+        RecordingInfo info() {
+            return new RecordingInfo(recording.getId(), recording.getName(), profile, recording.getState().name(),
+                    recording.getStartTime(), recording.getStopTime(), recording.getDuration(), recording.getSize());
+        }
+    }
+
+    /**
+     * @param id        Id of the recording
+     * @param name      Its name
+     * @param profile   Profile it was started with
+     * @param state     {@code RUNNING}, {@code STOPPED} or {@code CLOSED}
+     * @param startTime When it started
+     * @param stopTime  When it stopped or will stop
+     * @param duration  How long it records
+     * @param sizeBytes Data written to disk so far
+     */
+    public record RecordingInfo(long id, String name, String profile, String state, Instant startTime,
+            Instant stopTime, Duration duration, long sizeBytes) {
+    }
+}
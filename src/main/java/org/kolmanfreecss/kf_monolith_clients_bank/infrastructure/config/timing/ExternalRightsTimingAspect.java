@@ -0,0 +1,28 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.timing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.timing.RequestTimings.Component;
+
+/**
+ * Aspect adding the time of each call to the external rights system,
+ * through any {@code ClientExternalRightsPort} implementation, to the
+ * current request's {@link RequestTimings}.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@Aspect
+public class ExternalRightsTimingAspect {
+
+    @Around("execution(* org.kolmanfreecss.kf_monolith_clients_bank.application.client.usecases.permissions.ports.ClientExternalRightsPort.*(..))")
+    public Object timeExternalRightsCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            RequestTimings.record(Component.RIGHTS, System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.timing;
+
+/**
+ * Per-request breakdown of where the time of an HTTP request went: JDBC,
+ * cache operations, external rights calls and JSON writing.
+ * <p>
+ * {@link ServerTimingFilter} opens a breakdown for each request on its
+ * thread; instrumented components add to it through
+ * {@link #record(Component, long)}, which does nothing outside a request.
+ * Only the request thread is accounted for: work handed to other threads,
+ * e.g. a sharded fan-out, is not. Time is attributed to the innermost
+ * component that recorded it, so a component calling another one, e.g. an
+ * external call hitting the database, counts that time twice.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public final class RequestTimings {
+
+    /**
+     * Timed components, in {@code Server-Timing} order.
+     */
+    public enum Component {
+        DB("db", "JDBC"),
+        CACHE("cache", "Cache"),
+        RIGHTS("rights", "External rights"),
+        JSON("json", "JSON writing");
+
+        private final String metricName;
+        private final String description;
+
+        Component(String metricName, String description) {
+            this.metricName = metricName;
+            this.description = description;
+        }
+
+        /**
+         * @return The {@code Server-Timing} metric name and tag value
+         */
+        public String metricName() {
+            return metricName;
+        }
+    }
+
+    private static final Component[] COMPONENTS = Component.values();
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final long[] nanos = new long[COMPONENTS.length];
+    private final int[] calls = new int[COMPONENTS.length];
+
+    private RequestTimings() {
+    }
+
+    /**
+     * Adds time spent in a component to the breakdown of the current request.
+     *
+     * @param component    The component
+     * @param elapsedNanos Time spent in one call to it
+     */
+    public static void record(Component component, long elapsedNanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.nanos[component.ordinal()] += elapsedNanos;
+            timings.calls[component.ordinal()]++;
+        }
+    }
+
+    /**
+     * Opens the breakdown of a request on the current thread.
+     *
+     * @return The breakdown
+     */
+    static RequestTimings begin() {
+        RequestTimings timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    /**
+     * Closes the breakdown of the current thread's request.
+     */
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @param component The component
+     * @return Time spent in it so far
+     */
+    long nanos(Component component) {
+        return nanos[component.ordinal()];
+    }
+
+    /**
+     * @param component The component
+     * @return Calls to it so far
+     */
+    int calls(Component component) {
+        return calls[component.ordinal()];
+    }
+
+    /**
+     * @return Time since the request started
+     */
+    long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Formats the breakdown so far as a {@code Server-Timing} header value,
+     * e.g. {@code db;dur=3.20;desc="JDBC x4", total;dur=5.10}. Components not
+     * called are left out.
+     *
+     * @return The header value
+     */
+    String serverTiming() {
+        StringBuilder header = new StringBuilder(128);
+        for (Component component : COMPONENTS) {
+            int i = component.ordinal();
+            if (calls[i] > 0) {
+                header.append(component.metricName).append(";dur=").append(millis(nanos[i]))
+                        .append(";desc=\"").append(component.description).append(" x").append(calls[i])
+                        .append("\", ");
+            }
+        }
+        return header.append("total;dur=").append(millis(elapsedNanos())).toString();
+    }
+
+    private static String millis(long nanos) {
+        // Two decimals, without String.format
+        long hundredths = nanos / 10_000;
+        long fraction = hundredths % 100;
+        return hundredths / 100 + (fraction < 10 ? ".0" : ".") + fraction;
+    }
+}
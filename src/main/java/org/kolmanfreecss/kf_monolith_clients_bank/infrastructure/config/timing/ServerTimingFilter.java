@@ -0,0 +1,133 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.timing;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.timing.RequestTimings.Component;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics.ServerTimingMetrics;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Servlet filter sending the latency breakdown of each request in a
+ * {@code Server-Timing} header and recording it in
+ * {@code bank.http.server.timing}.
+ * <p>
+ * The header has to be set before the response is committed, so it is added
+ * when the body is first obtained, flushed or an error or redirect is sent,
+ * and at the end of the request if none of that happened, including when it
+ * failed and the error response is left to the container. JSON bodies are
+ * serialized before they are written (see
+ * {@link TimedJackson2HttpMessageConverter}), so their time is included. Time
+ * spent after the header was sent, e.g. streaming a large body, is still
+ * recorded in the metrics.
+ * <p>
+ * Responses completed asynchronously get the breakdown of their first
+ * dispatch only.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Server-Timing";
+
+    private static final Component[] COMPONENTS = Component.values();
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final ServerTimingMetrics metrics;
+
+    public ServerTimingFilter(ServerTimingMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestTimings timings = RequestTimings.begin();
+        TimingResponse timingResponse = new TimingResponse(response, timings);
+        try {
+            chain.doFilter(request, timingResponse);
+        } finally {
+            timingResponse.addTimingHeader();
+            RequestTimings.end();
+            record(request, timings);
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestTimings timings) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+        for (Component component : COMPONENTS) {
+            if (timings.calls(component) > 0) {
+                metrics.recordComponent(uri, component.ordinal(), timings.nanos(component));
+            }
+        }
+    }
+
+    /**
+     * Adds the header right before anything can commit the response.
+     */
+    private static final class TimingResponse extends HttpServletResponseWrapper {
+
+        private final RequestTimings timings;
+        private boolean headerAdded;
+
+        TimingResponse(HttpServletResponse response, RequestTimings timings) {
+            super(response);
+            this.timings = timings;
+        }
+
+        void addTimingHeader() {
+            if (!headerAdded) {
+                headerAdded = true;
+                if (!isCommitted()) {
+                    addHeader(HEADER, timings.serverTiming());
+                }
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addTimingHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addTimingHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addTimingHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addTimingHeader();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addTimingHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            addTimingHeader();
+            super.sendRedirect(location);
+        }
+    }
+}
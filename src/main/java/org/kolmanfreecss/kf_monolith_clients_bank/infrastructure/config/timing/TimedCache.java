@@ -0,0 +1,163 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.timing;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.jfr.CacheLookupEvent;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.timing.RequestTimings.Component;
+import org.springframework.cache.Cache;
+
+/**
+ * {@link Cache} decorator adding the time of each operation to the current
+ * request's {@link RequestTimings}. Loading a missing value through
+ * {@link #get(Object, Callable)} is not counted as cache time, and
+ * asynchronous retrievals are passed through untimed.
+ * <p>
+ * Lookups also emit a {@link CacheLookupEvent} when a flight recording
+ * asks for them.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+class TimedCache implements Cache {
+
+    private final Cache target;
+
+    TimedCache(Cache target) {
+        this.target = target;
+    }
+
+    @Override
+    public String getName() {
+        return target.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return target.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        CacheLookupEvent event = new CacheLookupEvent();
+        event.begin();
+        long start = System.nanoTime();
+        ValueWrapper value = null;
+        try {
+            value = target.get(key);
+            return value;
+        } finally {
+            RequestTimings.record(Component.CACHE, System.nanoTime() - start);
+            event.complete(getName(), value != null);
+        }
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        CacheLookupEvent event = new CacheLookupEvent();
+        event.begin();
+        long start = System.nanoTime();
+        T value = null;
+        try {
+            value = target.get(key, type);
+            return value;
+        } finally {
+            RequestTimings.record(Component.CACHE, System.nanoTime() - start);
+            event.complete(getName(), value != null);
+        }
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        // Loading time, -1 until the loader runs
+        long[] loading = { -1 };
+        CacheLookupEvent event = new CacheLookupEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            return target.get(key, () -> {
+                long loadStart = System.nanoTime();
+                try {
+                    return valueLoader.call();
+                } finally {
+                    loading[0] = System.nanoTime() - loadStart;
+                }
+            });
+        } finally {
+            boolean hit = loading[0] < 0;
+            RequestTimings.record(Component.CACHE, System.nanoTime() - start - (hit ? 0 : loading[0]));
+            event.complete(getName(), hit);
+        }
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        return target.retrieve(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return target.retrieve(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        long start = System.nanoTime();
+        try {
+            target.put(key, value);
+        } finally {
+            RequestTimings.record(Component.CACHE, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        long start = System.nanoTime();
+        try {
+            return target.putIfAbsent(key, value);
+        } finally {
+            RequestTimings.record(Component.CACHE, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        long start = System.nanoTime();
+        try {
+            target.evict(key);
+        } finally {
+            RequestTimings.record(Component.CACHE, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        long start = System.nanoTime();
+        try {
+            return target.evictIfPresent(key);
+        } finally {
+            RequestTimings.record(Component.CACHE, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void clear() {
+        long start = System.nanoTime();
+        try {
+            target.clear();
+        } finally {
+            RequestTimings.record(Component.CACHE, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public boolean invalidate() {
+        long start = System.nanoTime();
+        try {
+            return target.invalidate();
+        } finally {
+            RequestTimings.record(Component.CACHE, System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.timing;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * {@link CacheManager} decorator handing out {@link TimedCache}s, one per
+ * cache of the decorated manager.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public class TimedCacheManager implements CacheManager {
+
+    private final CacheManager target;
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public TimedCacheManager(CacheManager target) {
+        this.target = target;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache == null) {
+            Cache targetCache = target.getCache(name);
+            if (targetCache == null) {
+                return null;
+            }
+            cache = caches.computeIfAbsent(name, key -> new TimedCache(targetCache));
+        }
+        return cache;
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return target.getCacheNames();
+    }
+}
@@ -0,0 +1,127 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.timing;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.database.statistics.SqlExecutionListener;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.timing.RequestTimings.Component;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * {@link DataSource} proxy adding the time spent in JDBC to the current
+ * request's {@link RequestTimings}: waiting for a pooled connection and
+ * executing statements. Fetching rows from a result set is not timed; with
+ * the default fetch sizes most of it happens in the execution anyway.
+ * <p>
+ * Each execution is also passed, with its SQL, to a
+ * {@link SqlExecutionListener}. Connections and statements are wrapped in
+ * JDK proxies, which only time the {@code getConnection} and
+ * {@code execute*} calls and pass every other call through.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public class TimedDataSource extends DelegatingDataSource {
+
+    private final SqlExecutionListener listener;
+
+    public TimedDataSource(DataSource target, SqlExecutionListener listener) {
+        super(target);
+        this.listener = listener;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = super.getConnection();
+        RequestTimings.record(Component.DB, System.nanoTime() - start);
+        return proxy(Connection.class, new ConnectionHandler(connection, listener));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = super.getConnection(username, password);
+        RequestTimings.record(Component.DB, System.nanoTime() - start);
+        return proxy(Connection.class, new ConnectionHandler(connection, listener));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(TimedDataSource.class.getClassLoader(), new Class<?>[] { type },
+                handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Wraps the statements a connection creates, along with the SQL they
+     * were prepared with.
+     */
+    private record ConnectionHandler(Connection target, SqlExecutionListener listener)
+            implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> {
+                    Object result = TimedDataSource.invoke(target, method, args);
+                    yield result instanceof Statement statement && Statement.class.isAssignableFrom(
+                            method.getReturnType())
+                                    ? proxy(method.getReturnType().asSubclass(Statement.class),
+                                            new StatementHandler(statement, preparedSql(method, args), listener))
+                                    : result;
+                }
+            };
+        }
+    }
+
+    private static String preparedSql(Method method, Object[] args) {
+        return method.getName().startsWith("prepare") && args != null && args[0] instanceof String sql ? sql : null;
+    }
+
+    /**
+     * Times the executions of a statement.
+     */
+    private record StatementHandler(Statement target, String sql, SqlExecutionListener listener)
+            implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("equals")) {
+                return proxy == args[0];
+            }
+            if (name.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            if (!name.startsWith("execute")) {
+                return TimedDataSource.invoke(target, method, args);
+            }
+            long start = System.nanoTime();
+            try {
+                return TimedDataSource.invoke(target, method, args);
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                RequestTimings.record(Component.DB, elapsed);
+                // Plain statements get their SQL on execution
+                boolean sqlPassed = args != null && args.length > 0 && args[0] instanceof String;
+                listener.executed(sqlPassed ? (String) args[0] : sql, elapsed);
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.primary.graphql;
+
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.statements.models.StatementConversion;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.statements.models.StatementPage;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.statements.services.StatementService;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.primary.graphql.types.AccountStatementType;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.primary.graphql.types.AccountTransactionType;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.primary.graphql.types.StatementConversionType;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.stereotype.Controller;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * GraphQL queries for account statements. Amounts are exposed as decimal
+ * strings so they keep their exact value.
+ */
+@Controller
+@RequiredArgsConstructor
+public class AccountStatementController {
+
+    private final StatementService statementService;
+
+    @QueryMapping
+    public AccountStatementType getAccountStatement(
+            @Argument String accountId,
+            @Argument String from,
+            @Argument String to,
+            @Argument String after,
+            @Argument Integer first,
+            @Argument String currency) {
+        return statementService.getStatement(UUID.fromString(accountId), LocalDate.parse(from), LocalDate.parse(to),
+                after, first == null ? 50 : first, currency == null ? null : Currency.getInstance(currency))
+                .map(AccountStatementController::toType)
+                .orElse(null);
+    }
+
+    private static AccountStatementType toType(StatementPage page) {
+        return new AccountStatementType(
+                page.accountId().toString(),
+                page.openingBalance().currency().getCurrencyCode(),
+                page.from().toString(),
+                page.to().toString(),
+                page.openingBalance().toBigDecimal().toPlainString(),
+                page.closingBalance().toBigDecimal().toPlainString(),
+                page.transactions().stream().map(AccountTransactionType::from).toList(),
+                page.nextCursor() == null ? null : page.nextCursor().encode(),
+                page.nextCursor() != null,
+                page.conversion() == null ? null : toType(page.conversion()));
+    }
+
+    private static StatementConversionType toType(StatementConversion conversion) {
+        return new StatementConversionType(
+                conversion.openingBalance().currency().getCurrencyCode(),
+                conversion.rate().toPlainString(),
+                conversion.ratesAsOf().toString(),
+                conversion.openingBalance().toBigDecimal().toPlainString(),
+                conversion.closingBalance().toBigDecimal().toPlainString());
+    }
+}
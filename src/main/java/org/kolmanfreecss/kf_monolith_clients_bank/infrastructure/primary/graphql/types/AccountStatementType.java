@@ -0,0 +1,21 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.primary.graphql.types;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class AccountStatementType {
+    private String accountId;
+    private String currency;
+    private String from;
+    private String to;
+    private String openingBalance;
+    private String closingBalance;
+    private List<AccountTransactionType> transactions;
+    private String nextCursor;
+    private boolean hasNext;
+    private StatementConversionType conversion;
+}
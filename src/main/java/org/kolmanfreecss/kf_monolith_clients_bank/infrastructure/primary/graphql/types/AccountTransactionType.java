@@ -0,0 +1,31 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.primary.graphql.types;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Transaction;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class AccountTransactionType {
+    private String id;
+    private String accountId;
+    private String type;
+    private String amount;
+    private String currency;
+    private String balanceAfterTransaction;
+    private String description;
+    private String timestamp;
+
+    public static AccountTransactionType from(Transaction transaction) {
+        return new AccountTransactionType(
+                transaction.getId().toString(),
+                transaction.getAccountId().toString(),
+                transaction.getType().name(),
+                transaction.getAmount().toPlainString(),
+                transaction.getCurrency().getCurrencyCode(),
+                transaction.getBalanceAfterTransaction().toPlainString(),
+                transaction.getDescription(),
+                transaction.getTimestamp().toString());
+    }
+}
@@ -0,0 +1,14 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.primary.graphql.types;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class StatementConversionType {
+    private String currency;
+    private String rate;
+    private String ratesAsOf;
+    private String openingBalance;
+    private String closingBalance;
+}
@@ -1,11 +1,16 @@
 package org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 
 import org.springframework.stereotype.Component;
 
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 
@@ -15,6 +20,7 @@ import io.micrometer.core.instrument.Timer;
  * This class uses Micrometer to track various metrics including:
  * - Client creation/deletion/update counters
  * - Active clients count
+ * - Client counts per status and per type
  * - Operation duration measurements
  * - Statistical distribution of operation times
  *
@@ -27,9 +33,13 @@ public class ClientMetrics {
     private final Counter clientDeletionCounter;
     private final Counter clientUpdateCounter;
     private final Counter clientRightsUpdateCounter;
+    private final Counter conditionalNotModifiedCounter;
+    private final Counter conditionalModifiedCounter;
+    private final Counter preconditionFailedCounter;
     private final MeterRegistry registry;
     private final AtomicInteger activeClientsGauge;
     private final DistributionSummary clientOperationSummary;
+    private final Map<String, Counter> documentIdCheckCounters = new ConcurrentHashMap<>();
 
     /**
      * Initializes all metrics collectors with the provided registry.
@@ -62,6 +72,24 @@ public class ClientMetrics {
                 .baseUnit("operations")
                 .register(registry);
 
+        // Counters for conditional requests (304 ratio = not_modified / total)
+        this.conditionalNotModifiedCounter = Counter.builder("bank.clients.conditional.requests")
+                .description("Conditional client reads by outcome")
+                .tag("result", "not_modified")
+                .baseUnit("requests")
+                .register(registry);
+
+        this.conditionalModifiedCounter = Counter.builder("bank.clients.conditional.requests")
+                .description("Conditional client reads by outcome")
+                .tag("result", "modified")
+                .baseUnit("requests")
+                .register(registry);
+
+        this.preconditionFailedCounter = Counter.builder("bank.clients.precondition.failed")
+                .description("Client writes rejected because the If-Match ETag was stale")
+                .baseUnit("requests")
+                .register(registry);
+
         // Gauge for active clients
         this.activeClientsGauge = registry.gauge("bank.clients.active",
                 new AtomicInteger(0));
@@ -107,6 +135,27 @@ public class ClientMetrics {
         clientRightsUpdateCounter.increment();
     }
 
+    /**
+     * Records the outcome of a conditional (If-None-Match) client read.
+     *
+     * @param notModified true if the request was answered with 304 Not Modified
+     */
+    public void recordConditionalRead(boolean notModified) {
+        if (notModified) {
+            conditionalNotModifiedCounter.increment();
+        } else {
+            conditionalModifiedCounter.increment();
+        }
+    }
+
+    /**
+     * Increments the counter for client writes rejected by a stale If-Match
+     * precondition.
+     */
+    public void incrementPreconditionFailed() {
+        preconditionFailedCounter.increment();
+    }
+
     /**
      * Starts a new timer for measuring operation duration.
      * Use this method in conjunction with stopTimer() to measure operation
@@ -138,6 +187,80 @@ public class ClientMetrics {
         clientOperationSummary.record(durationMillis);
     }
 
+    /**
+     * Registers one gauge per client status and one per client type, backed by
+     * the given count suppliers. The suppliers must be cheap, as they are
+     * invoked on every scrape.
+     *
+     * @param byStatus Supplier of the number of clients, per status name
+     * @param byType   Supplier of the number of clients, per type name
+     */
+    public void registerClientCountGauges(Map<String, LongSupplier> byStatus, Map<String, LongSupplier> byType) {
+        byStatus.forEach((status, count) -> Gauge.builder("bank.clients.by.status", () -> count.getAsLong())
+                .description("Number of clients per status")
+                .tag("status", status)
+                .baseUnit("clients")
+                .register(registry));
+        byType.forEach((type, count) -> Gauge.builder("bank.clients.by.type", () -> count.getAsLong())
+                .description("Number of clients per type")
+                .tag("type", type)
+                .baseUnit("clients")
+                .register(registry));
+    }
+
+    /**
+     * Records the outcome of a document id uniqueness check.
+     *
+     * @param result One of negative (filter miss), false_positive (filter hit, no
+     *               client), duplicate (filter hit, client exists) or unfiltered
+     *               (filter not built yet)
+     */
+    public void recordDocumentIdCheck(String result) {
+        documentIdCheckCounters.computeIfAbsent(result, r -> Counter.builder("bank.clients.document_id.checks")
+                .description("Document id uniqueness checks by outcome")
+                .tag("result", r)
+                .baseUnit("checks")
+                .register(registry))
+                .increment();
+    }
+
+    /**
+     * Registers gauges describing the document id Bloom filter. The observed
+     * false-positive rate is derived from the recorded check outcomes.
+     *
+     * @param expectedFalsePositiveProbability Supplier of the estimated false-positive probability
+     * @param memoryBytes                      Supplier of the memory used by the filter
+     * @param elements                         Supplier of the number of entries in the filter
+     */
+    public void registerDocumentIdFilterGauges(
+            Supplier<Number> expectedFalsePositiveProbability, Supplier<Number> memoryBytes,
+            Supplier<Number> elements) {
+        Gauge.builder("bank.clients.document_id.filter.fpp.expected", expectedFalsePositiveProbability)
+                .description("Estimated false-positive probability of the document id filter")
+                .register(registry);
+        Gauge.builder("bank.clients.document_id.filter.fpp.observed", this, ClientMetrics::observedFalsePositiveRate)
+                .description("Share of absent document ids reported as possible duplicates")
+                .register(registry);
+        Gauge.builder("bank.clients.document_id.filter.memory", memoryBytes)
+                .description("Memory used by the document id filter")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("bank.clients.document_id.filter.elements", elements)
+                .description("Number of document ids in the filter")
+                .register(registry);
+    }
+
+    private double observedFalsePositiveRate() {
+        double falsePositives = countOf("false_positive");
+        double absent = falsePositives + countOf("negative");
+        return absent == 0 ? 0.0 : falsePositives / absent;
+    }
+
+    private double countOf(String result) {
+        Counter counter = documentIdCheckCounters.get(result);
+        return counter == null ? 0.0 : counter.count();
+    }
+
     /**
      * Updates the gauge that tracks the current number of active clients in the
      * system.
@@ -0,0 +1,56 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Metrics of the {@code Idempotency-Key} handling:
+ * - Keyed requests by outcome ({@code bank.idempotency.requests}): executed, replayed, in_flight,
+ * mismatch, released or rejected
+ * - Latency added to each keyed request by the key handling itself, excluding the request it
+ * guards ({@code bank.idempotency.overhead})
+ * - Keys held in memory, in flight or completed ({@code bank.idempotency.keys})
+ * <p>
+ * Created by the idempotency configuration.
+ */
+public class IdempotencyMetrics {
+
+    private final MeterRegistry registry;
+    private final Timer overhead;
+
+    public IdempotencyMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.overhead = Timer.builder("bank.idempotency.overhead")
+                .description("Time spent handling idempotency keys, excluding the guarded request")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+    }
+
+    /**
+     * @param outcome      What was done with the keyed request
+     * @param elapsedNanos Time added by the key handling
+     */
+    public void recordRequest(String outcome, long elapsedNanos) {
+        Counter.builder("bank.idempotency.requests")
+                .description("Requests carrying an idempotency key")
+                .tag("outcome", outcome)
+                .register(registry)
+                .increment();
+        overhead.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param keys Supplier of the number of keys held in memory
+     */
+    public void monitorKeys(IntSupplier keys) {
+        Gauge.builder("bank.idempotency.keys", keys, IntSupplier::getAsInt)
+                .description("Idempotency keys held in memory, in flight or completed")
+                .baseUnit("keys")
+                .register(registry);
+    }
+}
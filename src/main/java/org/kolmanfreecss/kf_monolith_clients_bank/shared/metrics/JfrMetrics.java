@@ -0,0 +1,41 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Metrics fed from the flight recorder event stream:
+ * - Occurrences and duration of each streamed event type ({@code bank.jfr.events}), tagged with the event
+ * name, e.g. {@code jdk.GarbageCollection} or {@code bank.ClientOperation}
+ * <p>
+ * Created by the flight recorder configuration.
+ */
+public class JfrMetrics {
+
+    private final MeterRegistry registry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public JfrMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * @param event         Name of the event type
+     * @param durationNanos Duration of the event, 0 for instant events
+     */
+    public void recordEvent(String event, long durationNanos) {
+        Timer timer = timers.get(event);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(event, name -> Timer.builder("bank.jfr.events")
+                    .description("Flight recorder events streamed, with their duration")
+                    .tag("event", name)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(registry));
+        }
+        timer.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,85 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Metrics of the transaction journal:
+ * - Appended postings ({@code bank.ledger.journal.appends})
+ * - Group fsyncs, their latency and the postings each one made durable
+ * ({@code bank.ledger.journal.fsync.time}, {@code bank.ledger.journal.fsync.postings})
+ * - Durable sequence and projection lag in journal slots
+ * ({@code bank.ledger.journal.durable.sequence}, {@code bank.ledger.journal.projection.lag})
+ * <p>
+ * Created by the journal configuration, only in journal mode.
+ */
+public class JournalMetrics {
+
+    private final MeterRegistry registry;
+    private final Counter appends;
+    private final Timer fsyncTime;
+    private final DistributionSummary postingsPerFsync;
+    private final AtomicLong projectedSequence = new AtomicLong();
+
+    public JournalMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.appends = Counter.builder("bank.ledger.journal.appends")
+                .description("Postings appended to the transaction journal")
+                .baseUnit("postings")
+                .register(registry);
+        this.fsyncTime = Timer.builder("bank.ledger.journal.fsync.time")
+                .description("Time taken by group fsyncs of the transaction journal")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+        this.postingsPerFsync = DistributionSummary.builder("bank.ledger.journal.fsync.postings")
+                .description("Postings made durable by each group fsync")
+                .baseUnit("postings")
+                .register(registry);
+    }
+
+    /**
+     * @param postings Number of postings appended in one group
+     */
+    public void recordAppend(int postings) {
+        appends.increment(postings);
+    }
+
+    /**
+     * @param postings     Number of postings made durable by the fsync
+     * @param elapsedNanos Time spent in the fsync
+     */
+    public void recordFsync(long postings, long elapsedNanos) {
+        fsyncTime.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        postingsPerFsync.record(postings);
+    }
+
+    /**
+     * Publishes the durable sequence and the projection lag behind it.
+     *
+     * @param durableSequence Supplier of the last durable journal sequence
+     */
+    public void monitorSequences(LongSupplier durableSequence) {
+        Gauge.builder("bank.ledger.journal.durable.sequence", durableSequence, LongSupplier::getAsLong)
+                .description("Last durable sequence of the transaction journal")
+                .register(registry);
+        Gauge.builder("bank.ledger.journal.projection.lag", this,
+                        metrics -> Math.max(0, durableSequence.getAsLong() - metrics.projectedSequence.get()))
+                .description("Journal slots durable but not projected into the transactions table yet")
+                .baseUnit("slots")
+                .register(registry);
+    }
+
+    /**
+     * @param sequence Last journal sequence projected into the database
+     */
+    public void recordProjected(long sequence) {
+        projectedSequence.set(sequence);
+    }
+}
@@ -0,0 +1,546 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.util.StripedLocks;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Metrics of the account ledger:
+ * - Postings by type and result ({@code bank.ledger.postings})
+ * - Posting latency including the wait for account locks ({@code bank.ledger.posting.time})
+ * - Lock acquisitions that had to wait for another posting ({@code bank.ledger.locks.contended})
+ * - Posting pipeline queue depth, queue wait, batch sizes and commit time, and rejections
+ * ({@code bank.ledger.pipeline.*})
+ * - Daily balance snapshots written, transaction lookups they needed, and chunk and run times
+ * ({@code bank.ledger.snapshots.*})
+ * - Monthly fee run accounts by outcome, progress, and chunk and run times ({@code bank.ledger.fees.*})
+ * - Monthly interest run accounts by outcome, interest credited, progress, accrual, chunk and run times
+ * ({@code bank.ledger.interest.*})
+ * - Account rollup rebuilds: accounts and rows rebuilt, and batch and rebuild times
+ * ({@code bank.ledger.rollups.*})
+ * - Debits rejected by velocity limits, by client type and window, debits whose limits could not be checked,
+ * by reason, and accounts tracked by them
+ * ({@code bank.ledger.velocity.*})
+ * - Holds placed, captured, released and expired, and active holds and accounts holding them
+ * ({@code bank.ledger.holds.*})
+ * - Ledger reconciliation accounts, transactions and discrepancies by kind, progress, throttling, and chunk and
+ * run times ({@code bank.ledger.reconciliation.*})
+ * - Transactions in the analytics store, refresh times and rows loaded, and query times and rows scanned
+ * ({@code bank.ledger.analytics.*})
+ * - Transfer sagas in flight and by outcome with their end-to-end latency, steps queued, and step batch sizes
+ * and times ({@code bank.ledger.transfers.saga.*})
+ */
+@Component
+public class LedgerMetrics {
+
+    private final MeterRegistry registry;
+
+    public LedgerMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Records a completed or rejected posting.
+     *
+     * @param type         The posting type, e.g. {@code deposit} or {@code transfer}
+     * @param result       {@code ok}, {@code rejected} (business rule), {@code not_found}, {@code conflict},
+     *                     {@code overloaded} (pipeline queue full) or {@code error}
+     * @param elapsedNanos Time spent in the posting, lock wait included
+     */
+    public void recordPosting(String type, String result, long elapsedNanos) {
+        Counter.builder("bank.ledger.postings")
+                .description("Ledger postings by type and result")
+                .tags("type", type, "result", result)
+                .baseUnit("postings")
+                .register(registry)
+                .increment();
+        Timer.builder("bank.ledger.posting.time")
+                .description("Time taken by ledger postings, including the wait for account locks")
+                .tags("type", type)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Publishes the contention of the account lock stripes.
+     *
+     * @param locks The ledger lock stripes
+     */
+    public void monitorLocks(StripedLocks locks) {
+        FunctionCounter.builder("bank.ledger.locks.contended", locks, StripedLocks::contendedAcquisitions)
+                .description("Account lock acquisitions that had to wait for another posting")
+                .baseUnit("acquisitions")
+                .register(registry);
+        Gauge.builder("bank.ledger.locks.stripes", locks, StripedLocks::stripes)
+                .description("Number of account lock stripes")
+                .register(registry);
+    }
+
+    /**
+     * Publishes the depth of the posting pipeline queue.
+     *
+     * @param queue    The pipeline queue
+     * @param capacity Its capacity
+     */
+    public void monitorPipeline(Collection<?> queue, int capacity) {
+        Gauge.builder("bank.ledger.pipeline.queue.size", queue, Collection::size)
+                .description("Postings waiting in the posting pipeline")
+                .baseUnit("postings")
+                .register(registry);
+        Gauge.builder("bank.ledger.pipeline.queue.capacity", () -> capacity)
+                .description("Capacity of the posting pipeline queue")
+                .baseUnit("postings")
+                .register(registry);
+    }
+
+    /**
+     * @param waitNanos Time a posting spent in the pipeline queue before its batch started
+     */
+    public void recordPipelineWait(long waitNanos) {
+        Timer.builder("bank.ledger.pipeline.queue.wait")
+                .description("Time postings wait in the pipeline queue before their batch starts")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry)
+                .record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param size         Number of postings in the batch
+     * @param result       {@code ok} if the batch committed, {@code failed} otherwise
+     * @param elapsedNanos Time spent posting and committing the batch
+     */
+    public void recordPipelineBatch(int size, String result, long elapsedNanos) {
+        DistributionSummary.builder("bank.ledger.pipeline.batch.size")
+                .description("Postings per pipeline batch")
+                .baseUnit("postings")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry)
+                .record(size);
+        Timer.builder("bank.ledger.pipeline.batch.time")
+                .description("Time taken to post and commit a pipeline batch")
+                .tags("result", result)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Counts a posting rejected because the pipeline queue stayed full.
+     */
+    public void recordPipelineRejection() {
+        Counter.builder("bank.ledger.pipeline.rejected")
+                .description("Postings rejected because the pipeline queue was full")
+                .baseUnit("postings")
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * @param accounts     Number of accounts snapshotted in the chunk
+     * @param probes       Accounts that needed a transaction lookup for their closing balance
+     * @param elapsedNanos Time spent writing the chunk
+     */
+    public void recordSnapshotChunk(int accounts, int probes, long elapsedNanos) {
+        Counter.builder("bank.ledger.snapshots.accounts")
+                .description("Daily balance snapshots written")
+                .baseUnit("snapshots")
+                .register(registry)
+                .increment(accounts);
+        Counter.builder("bank.ledger.snapshots.probes")
+                .description("Snapshots whose closing balance needed a transaction lookup")
+                .baseUnit("snapshots")
+                .register(registry)
+                .increment(probes);
+        Timer.builder("bank.ledger.snapshots.chunk.time")
+                .description("Time taken to write a chunk of balance snapshots")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param elapsedNanos Time taken by a completed daily snapshot run
+     */
+    public void recordSnapshotRun(long elapsedNanos) {
+        Timer.builder("bank.ledger.snapshots.run.time")
+                .description("Time taken to snapshot every account for a day")
+                .register(registry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Publishes the progress of the running fee run.
+     *
+     * @param progress Fraction of the accounts handled by the current run, 1 when none is running
+     */
+    public void monitorFeeRun(Supplier<Number> progress) {
+        Gauge.builder("bank.ledger.fees.run.progress", progress)
+                .description("Fraction of the accounts handled by the current monthly fee run")
+                .register(registry);
+    }
+
+    /**
+     * @param charged           Accounts charged in the chunk
+     * @param insufficientFunds Accounts that could not pay the fee
+     * @param exempt            Accounts without a fee
+     * @param alreadyCharged    Accounts charged by an earlier attempt of the run
+     * @param elapsedNanos      Time spent charging the chunk
+     */
+    public void recordFeeChunk(int charged, int insufficientFunds, int exempt, int alreadyCharged,
+            long elapsedNanos) {
+        recordFeeAccounts("charged", charged);
+        recordFeeAccounts("insufficient_funds", insufficientFunds);
+        recordFeeAccounts("exempt", exempt);
+        recordFeeAccounts("already_charged", alreadyCharged);
+        Timer.builder("bank.ledger.fees.chunk.time")
+                .description("Time taken to charge a chunk of accounts")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param elapsedNanos Time taken by a completed monthly fee run
+     */
+    public void recordFeeRun(long elapsedNanos) {
+        Timer.builder("bank.ledger.fees.run.time")
+                .description("Time taken to charge every account for a month")
+                .register(registry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Publishes the progress of the running interest run.
+     *
+     * @param progress Fraction of the accounts handled by the current run, 1 when none is running
+     */
+    public void monitorInterestRun(Supplier<Number> progress) {
+        Gauge.builder("bank.ledger.interest.run.progress", progress)
+                .description("Fraction of the accounts handled by the current monthly interest run")
+                .register(registry);
+    }
+
+    /**
+     * @param elapsedNanos Time spent accruing a chunk's interest over its balance columns
+     */
+    public void recordInterestAccrual(long elapsedNanos) {
+        Timer.builder("bank.ledger.interest.accrual.time")
+                .description("Time taken to accrue a month of interest for a chunk of accounts")
+                .register(registry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param credited           Accounts credited in the chunk
+     * @param nothingDue         Accounts that accrued less than one minor unit
+     * @param alreadyCredited    Accounts credited by an earlier attempt of the run
+     * @param interestMinorUnits Interest credited, in minor units
+     * @param elapsedNanos       Time spent crediting the chunk
+     */
+    public void recordInterestChunk(int credited, int nothingDue, int alreadyCredited, long interestMinorUnits,
+            long elapsedNanos) {
+        recordInterestAccounts("credited", credited);
+        recordInterestAccounts("nothing_due", nothingDue);
+        recordInterestAccounts("already_credited", alreadyCredited);
+        Counter.builder("bank.ledger.interest.credited")
+                .description("Interest credited by the monthly interest run, in minor units")
+                .baseUnit("minor_units")
+                .register(registry)
+                .increment(interestMinorUnits);
+        Timer.builder("bank.ledger.interest.chunk.time")
+                .description("Time taken to credit a chunk of accounts")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param elapsedNanos Time taken by a completed monthly interest run
+     */
+    public void recordInterestRun(long elapsedNanos) {
+        Timer.builder("bank.ledger.interest.run.time")
+                .description("Time taken to credit every account for a month")
+                .register(registry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param accounts     Number of accounts whose rollups a rebuild batch replaced
+     * @param rows         Number of rollup rows written
+     * @param elapsedNanos Time taken by the batch, including the wait for posting locks
+     */
+    public void recordRollupBatch(int accounts, int rows, long elapsedNanos) {
+        Counter.builder("bank.ledger.rollups.accounts")
+                .description("Accounts whose rollups were rebuilt")
+                .baseUnit("accounts")
+                .register(registry)
+                .increment(accounts);
+        Counter.builder("bank.ledger.rollups.rows")
+                .description("Rollup rows written by rebuilds")
+                .baseUnit("rows")
+                .register(registry)
+                .increment(rows);
+        Timer.builder("bank.ledger.rollups.batch.time")
+                .description("Time taken to rebuild the rollups of a batch of accounts")
+                .register(registry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param elapsedNanos Time taken by a completed rebuild of every account's rollups
+     */
+    public void recordRollupRebuild(long elapsedNanos) {
+        Timer.builder("bank.ledger.rollups.rebuild.time")
+                .description("Time taken to rebuild the rollups of every account")
+                .register(registry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param clientType Type of the client owning the account
+     * @param window     The window whose limit the debit would exceed, e.g. {@code minute}
+     */
+    public void recordVelocityRejection(String clientType, String window) {
+        Counter.builder("bank.ledger.velocity.rejected")
+                .description("Debits rejected for exceeding a velocity limit of their account")
+                .tags("client_type", clientType, "window", window)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * @param reason {@code unknown_client} or {@code no_rate}
+     */
+    public void recordVelocityUnchecked(String reason) {
+        Counter.builder("bank.ledger.velocity.unchecked")
+                .description("Debits rejected because their velocity limits could not be checked")
+                .tags("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * @param trackedAccounts Supplier of the number of accounts with velocity counters
+     */
+    public void monitorVelocity(Supplier<Number> trackedAccounts) {
+        Gauge.builder("bank.ledger.velocity.accounts", trackedAccounts)
+                .description("Accounts with debits in the longest velocity window")
+                .baseUnit("accounts")
+                .register(registry);
+    }
+
+    /**
+     * @param outcome {@code placed}, {@code captured}, {@code released} or {@code expired}
+     * @param holds   Number of holds
+     */
+    public void recordHolds(String outcome, int holds) {
+        Counter.builder("bank.ledger.holds")
+                .description("Holds on account funds placed and resolved, by outcome")
+                .tags("outcome", outcome)
+                .baseUnit("holds")
+                .register(registry)
+                .increment(holds);
+    }
+
+    /**
+     * @param activeHolds Supplier of the number of active holds
+     * @param accounts    Supplier of the number of accounts with active holds
+     */
+    public void monitorHolds(Supplier<Number> activeHolds, Supplier<Number> accounts) {
+        Gauge.builder("bank.ledger.holds.active", activeHolds)
+                .description("Active holds reserving account funds")
+                .baseUnit("holds")
+                .register(registry);
+        Gauge.builder("bank.ledger.holds.accounts", accounts)
+                .description("Accounts with active holds")
+                .baseUnit("accounts")
+                .register(registry);
+    }
+
+    /**
+     * Publishes the progress of the running reconciliation run.
+     *
+     * @param progress Fraction of the accounts verified by the current run, 1 when none is running
+     */
+    public void monitorReconciliation(Supplier<Number> progress) {
+        Gauge.builder("bank.ledger.reconciliation.run.progress", progress)
+                .description("Fraction of the accounts verified by the current ledger reconciliation run")
+                .register(registry);
+    }
+
+    /**
+     * @param accounts          Accounts verified in the chunk
+     * @param transactions      Transactions verified
+     * @param brokenChains      Broken balance chain links found
+     * @param balanceMismatches Account balances found not to match their chain
+     * @param elapsedNanos      Time spent verifying the chunk, including throttling
+     */
+    public void recordReconciliationChunk(int accounts, long transactions, int brokenChains, int balanceMismatches,
+            long elapsedNanos) {
+        Counter.builder("bank.ledger.reconciliation.accounts")
+                .description("Accounts verified by ledger reconciliation runs")
+                .baseUnit("accounts")
+                .register(registry)
+                .increment(accounts);
+        Counter.builder("bank.ledger.reconciliation.transactions")
+                .description("Transactions verified by ledger reconciliation runs")
+                .baseUnit("transactions")
+                .register(registry)
+                .increment(transactions);
+        recordDiscrepancies("broken_chain", brokenChains);
+        recordDiscrepancies("balance_mismatch", balanceMismatches);
+        Timer.builder("bank.ledger.reconciliation.chunk.time")
+                .description("Time taken to verify a chunk of accounts")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param waitNanos Time a reconciliation worker waited to stay within the database load budget
+     */
+    public void recordReconciliationThrottle(long waitNanos) {
+        Timer.builder("bank.ledger.reconciliation.throttle.time")
+                .description("Time reconciliation workers waited for the row budget")
+                .register(registry)
+                .record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param elapsedNanos Time taken by a completed reconciliation run
+     */
+    public void recordReconciliationRun(long elapsedNanos) {
+        Timer.builder("bank.ledger.reconciliation.run.time")
+                .description("Time taken to verify the balance chain of every account")
+                .register(registry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param rows Supplier of the number of transactions in the analytics store
+     */
+    public void monitorAnalytics(Supplier<Number> rows) {
+        Gauge.builder("bank.ledger.analytics.rows", rows)
+                .description("Transactions loaded in the analytics column store")
+                .baseUnit("transactions")
+                .register(registry);
+    }
+
+    /**
+     * @param rows         Transactions loaded by an analytics store refresh
+     * @param elapsedNanos Time taken by the refresh
+     */
+    public void recordAnalyticsRefresh(long rows, long elapsedNanos) {
+        Counter.builder("bank.ledger.analytics.loaded")
+                .description("Transactions loaded into the analytics column store")
+                .baseUnit("transactions")
+                .register(registry)
+                .increment(rows);
+        Timer.builder("bank.ledger.analytics.refresh.time")
+                .description("Time taken to load new transactions into the analytics column store")
+                .register(registry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param scannedRows  Transactions scanned by an analytics query
+     * @param elapsedNanos Time taken by the query
+     */
+    public void recordAnalyticsQuery(long scannedRows, long elapsedNanos) {
+        DistributionSummary.builder("bank.ledger.analytics.query.rows")
+                .description("Transactions scanned by analytics queries")
+                .baseUnit("transactions")
+                .register(registry)
+                .record(scannedRows);
+        Timer.builder("bank.ledger.analytics.query.time")
+                .description("Time taken by analytics queries")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param inFlight Supplier of the number of transfer sagas in flight
+     * @param queued   Supplier of the number of saga steps queued
+     */
+    public void monitorTransferSagas(Supplier<Number> inFlight, Supplier<Number> queued) {
+        Gauge.builder("bank.ledger.transfers.saga.in.flight", inFlight)
+                .description("Transfer sagas initiated and not completed, rejected or compensated yet")
+                .baseUnit("transfers")
+                .register(registry);
+        Gauge.builder("bank.ledger.transfers.saga.queue.size", queued)
+                .description("Transfer saga steps waiting for a worker")
+                .baseUnit("steps")
+                .register(registry);
+    }
+
+    /**
+     * @param outcome      {@code completed}, {@code rejected} or {@code compensated}
+     * @param elapsedNanos Time from the initiation of the saga to its outcome
+     */
+    public void recordTransferSaga(String outcome, long elapsedNanos) {
+        Timer.builder("bank.ledger.transfers.saga.time")
+                .description("End-to-end time of transfer sagas, by outcome")
+                .tags("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param steps        Number of saga steps run in the batch
+     * @param result       {@code ok} if the batch committed, {@code failed} otherwise
+     * @param elapsedNanos Time spent running and committing the batch
+     */
+    public void recordTransferSagaBatch(int steps, String result, long elapsedNanos) {
+        DistributionSummary.builder("bank.ledger.transfers.saga.batch.size")
+                .description("Transfer saga steps per account batch")
+                .baseUnit("steps")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry)
+                .record(steps);
+        Timer.builder("bank.ledger.transfers.saga.batch.time")
+                .description("Time taken to run and commit a batch of transfer saga steps")
+                .tags("result", result)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void recordDiscrepancies(String kind, int discrepancies) {
+        Counter.builder("bank.ledger.reconciliation.discrepancies")
+                .description("Ledger discrepancies found by reconciliation runs, by kind")
+                .tags("kind", kind)
+                .register(registry)
+                .increment(discrepancies);
+    }
+
+    private void recordInterestAccounts(String result, int accounts) {
+        Counter.builder("bank.ledger.interest.accounts")
+                .description("Accounts handled by the monthly interest run, by outcome")
+                .tags("result", result)
+                .baseUnit("accounts")
+                .register(registry)
+                .increment(accounts);
+    }
+
+    private void recordFeeAccounts(String result, int accounts) {
+        Counter.builder("bank.ledger.fees.accounts")
+                .description("Accounts handled by the monthly fee run, by outcome")
+                .tags("result", result)
+                .baseUnit("accounts")
+                .register(registry)
+                .increment(accounts);
+    }
+}
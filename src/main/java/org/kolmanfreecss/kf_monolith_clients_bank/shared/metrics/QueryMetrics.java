@@ -0,0 +1,108 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Metrics of the queries run against the primary database:
+ * - Executions and time per statement ({@code bank.jpa.query.time}), tagged with the normalized SQL
+ * ({@code query}), or {@code other} once the distinct statements tracked are exhausted
+ * - Statements slower than the slow-query threshold ({@code bank.jpa.query.slow})
+ * - Hibernate statistics: entity loads, fetches, inserts, updates and deletes ({@code bank.jpa.entities}),
+ * query executions and slowest execution ({@code bank.jpa.queries.*}), query cache hits, misses and puts
+ * ({@code bank.jpa.query.cache}), and second-level cache hits, misses and puts per region
+ * ({@code bank.jpa.second.level.cache})
+ * <p>
+ * Created by the query statistics configuration.
+ */
+public class QueryMetrics {
+
+    private final MeterRegistry registry;
+    private final Counter slowQueries;
+
+    public QueryMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.slowQueries = Counter.builder("bank.jpa.query.slow")
+                .description("Statements slower than the slow-query threshold")
+                .register(registry);
+    }
+
+    /**
+     * @param query Normalized SQL of a statement
+     * @return Timer of its executions
+     */
+    public Timer queryTimer(String query) {
+        return Timer.builder("bank.jpa.query.time")
+                .description("Executions and time of a statement")
+                .tag("query", query)
+                .register(registry);
+    }
+
+    public void recordSlowQuery() {
+        slowQueries.increment();
+    }
+
+    /**
+     * Exports Hibernate's statistics, read on each scrape.
+     *
+     * @param statistics Statistics of the session factory
+     */
+    public void monitorHibernate(Statistics statistics) {
+        entityCounter(statistics, "load", Statistics::getEntityLoadCount);
+        entityCounter(statistics, "fetch", Statistics::getEntityFetchCount);
+        entityCounter(statistics, "insert", Statistics::getEntityInsertCount);
+        entityCounter(statistics, "update", Statistics::getEntityUpdateCount);
+        entityCounter(statistics, "delete", Statistics::getEntityDeleteCount);
+        FunctionCounter.builder("bank.jpa.queries.executions", statistics, Statistics::getQueryExecutionCount)
+                .description("HQL and criteria queries executed")
+                .register(registry);
+        TimeGauge.builder("bank.jpa.queries.max.time", statistics, TimeUnit.MILLISECONDS,
+                Statistics::getQueryExecutionMaxTime)
+                .description("Slowest HQL or criteria query execution")
+                .register(registry);
+        queryCacheCounter(statistics, "hit", Statistics::getQueryCacheHitCount);
+        queryCacheCounter(statistics, "miss", Statistics::getQueryCacheMissCount);
+        queryCacheCounter(statistics, "put", Statistics::getQueryCachePutCount);
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+            regionCounter(region, regionStatistics, "hit", CacheRegionStatistics::getHitCount);
+            regionCounter(region, regionStatistics, "miss", CacheRegionStatistics::getMissCount);
+            regionCounter(region, regionStatistics, "put", CacheRegionStatistics::getPutCount);
+        }
+    }
+
+    private void entityCounter(Statistics statistics, String operation, ToDoubleFunction<Statistics> count) {
+        FunctionCounter.builder("bank.jpa.entities", statistics, count)
+                .description("Entity operations")
+                .tag("operation", operation)
+                .register(registry);
+    }
+
+    private void queryCacheCounter(Statistics statistics, String result, ToDoubleFunction<Statistics> count) {
+        FunctionCounter.builder("bank.jpa.query.cache", statistics, count)
+                .description("Query cache lookups and puts")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private void regionCounter(String region, CacheRegionStatistics statistics, String result,
+            ToDoubleFunction<CacheRegionStatistics> count) {
+        FunctionCounter.builder("bank.jpa.second.level.cache", statistics, count)
+                .description("Second-level cache lookups and puts")
+                .tag("region", region)
+                .tag("result", result)
+                .register(registry);
+    }
+}
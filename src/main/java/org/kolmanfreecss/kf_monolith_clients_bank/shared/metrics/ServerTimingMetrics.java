@@ -0,0 +1,59 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Metrics of the per-request latency breakdown sent as {@code Server-Timing}:
+ * - Time each request spent in a component ({@code bank.http.server.timing}), tagged with the
+ * component (db, cache, rights or json) and the route pattern, recorded only for the requests
+ * that called it
+ * <p>
+ * Timers are resolved once per route and component, so recording a request
+ * does not build meter ids. Created by the server timing configuration.
+ */
+public class ServerTimingMetrics {
+
+    private final MeterRegistry registry;
+    private final String[] components;
+    private final Map<String, Timer[]> timers = new ConcurrentHashMap<>();
+
+    /**
+     * @param registry   The registry
+     * @param components Tag values of the components, indexed as recorded
+     */
+    public ServerTimingMetrics(MeterRegistry registry, String... components) {
+        this.registry = registry;
+        this.components = components.clone();
+    }
+
+    /**
+     * @param uri          Route pattern of the request
+     * @param component    Index of the component
+     * @param elapsedNanos Time the request spent in it
+     */
+    public void recordComponent(String uri, int component, long elapsedNanos) {
+        Timer[] route = timers.get(uri);
+        if (route == null) {
+            route = timers.computeIfAbsent(uri, this::register);
+        }
+        route[component].record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer[] register(String uri) {
+        Timer[] route = new Timer[components.length];
+        for (int i = 0; i < components.length; i++) {
+            route[i] = Timer.builder("bank.http.server.timing")
+                    .description("Time spent by a request in a component")
+                    .tag("component", components[i])
+                    .tag("uri", uri)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+        return route;
+    }
+}
@@ -1,13 +1,13 @@
 package org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics.aspects;
 
-import java.util.List;
 import java.util.Optional;
 
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.Client;
 import org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics.ClientMetrics;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 
 import io.micrometer.core.instrument.Timer;
@@ -25,15 +25,14 @@ public class ClientMetricsAspect {
     private final ClientMetrics metrics;
 
     /**
-     * Measures execution time and updates metrics for getAllClients operation
+     * Measures execution time for getAllClients operation. The active clients
+     * gauge is maintained by ClientCountersService, not from this result.
      */
     @Around("execution(* org.kolmanfreecss.kf_monolith_clients_bank.application.client.services.ClientService.getAllClients())")
     public Object measureGetAllClients(ProceedingJoinPoint joinPoint) throws Throwable {
         Timer.Sample sample = metrics.startTimer();
         try {
-            List<Client> result = (List<Client>) joinPoint.proceed();
-            metrics.setActiveClients(result.size());
-            return result;
+            return joinPoint.proceed();
         } finally {
             metrics.stopTimer(sample, "get_all_clients");
         }
@@ -126,4 +125,29 @@ public class ClientMetricsAspect {
             metrics.stopTimer(sample, "update_client_rights");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Counts conditional client reads by outcome to expose the 304 ratio
+     */
+    @Around("execution(* org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.ClientController.getClientById(..)) && args(.., ifNoneMatch)")
+    public Object measureConditionalGetClient(ProceedingJoinPoint joinPoint, String ifNoneMatch) throws Throwable {
+        Object result = joinPoint.proceed();
+        if (ifNoneMatch != null && result instanceof ResponseEntity<?> response
+                && response.getStatusCode() != HttpStatus.NOT_FOUND) {
+            metrics.recordConditionalRead(response.getStatusCode() == HttpStatus.NOT_MODIFIED);
+        }
+        return result;
+    }
+
+    /**
+     * Counts client updates rejected by a stale If-Match precondition
+     */
+    @Around("execution(* org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest.ClientController.updateClient(..))")
+    public Object measureConditionalUpdateClient(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object result = joinPoint.proceed();
+        if (result instanceof ResponseEntity<?> response && response.getStatusCode() == HttpStatus.PRECONDITION_FAILED) {
+            metrics.incrementPreconditionFailed();
+        }
+        return result;
+    }
+}
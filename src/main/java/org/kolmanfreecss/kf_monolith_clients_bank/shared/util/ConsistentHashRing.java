@@ -0,0 +1,124 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.shared.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable consistent hash ring mapping UUID keys to named nodes.
+ * <p>
+ * Every node is placed on a 64-bit ring at a number of pseudo-random points
+ * (virtual nodes), and a key belongs to the first point at or after its own
+ * hash. Adding a node to a ring of N nodes therefore only moves about
+ * 1/(N+1) of the keys, all of them to the new node, which keeps rebalancing
+ * proportional to the capacity added.
+ * <p>
+ * Points are stored in two parallel sorted arrays and looked up with a binary
+ * search, so {@link #nodeFor(UUID)} allocates nothing.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public final class ConsistentHashRing {
+
+    private final List<String> nodes;
+    private final long[] points;
+    private final String[] owners;
+
+    /**
+     * Builds a ring over the given nodes.
+     *
+     * @param nodes        Node names, must be unique; their order does not affect placement
+     * @param virtualNodes Number of points per node, higher values give a more even spread
+     * @throws IllegalArgumentException if there are no nodes, duplicated names or no virtual nodes
+     */
+    public ConsistentHashRing(List<String> nodes, int virtualNodes) {
+        if (nodes == null || nodes.isEmpty()) {
+            throw new IllegalArgumentException("A hash ring needs at least one node");
+        }
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("Virtual nodes must be positive");
+        }
+        Set<String> unique = new LinkedHashSet<>(nodes);
+        if (unique.size() != nodes.size()) {
+            throw new IllegalArgumentException("Node names must be unique: " + nodes);
+        }
+        this.nodes = List.copyOf(nodes);
+
+        int size = nodes.size() * virtualNodes;
+        long[] hashes = new long[size];
+        int[] order = new int[size];
+        int i = 0;
+        for (int n = 0; n < nodes.size(); n++) {
+            for (int v = 0; v < virtualNodes; v++) {
+                hashes[i] = hash(nodes.get(n) + "#" + v);
+                order[i] = n;
+                i++;
+            }
+        }
+        Integer[] sorted = new Integer[size];
+        Arrays.setAll(sorted, k -> k);
+        // Ties (practically impossible) are broken by node name so placement never depends on input order
+        Arrays.sort(sorted, (a, b) -> {
+            int byHash = Long.compareUnsigned(hashes[a], hashes[b]);
+            return byHash != 0 ? byHash : nodes.get(order[a]).compareTo(nodes.get(order[b]));
+        });
+        this.points = new long[size];
+        this.owners = new String[size];
+        for (int k = 0; k < size; k++) {
+            points[k] = hashes[sorted[k]];
+            owners[k] = nodes.get(order[sorted[k]]);
+        }
+    }
+
+    /**
+     * @param key The key to place
+     * @return The name of the node owning the key
+     */
+    public String nodeFor(UUID key) {
+        long h = mix(key.getMostSignificantBits() ^ mix(key.getLeastSignificantBits()));
+        int low = 0;
+        int high = points.length - 1;
+        if (Long.compareUnsigned(h, points[high]) > 0) {
+            // Past the last point: wrap around to the first one
+            return owners[0];
+        }
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Long.compareUnsigned(points[mid], h) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return owners[low];
+    }
+
+    /**
+     * @return The node names, in the order they were given
+     */
+    public List<String> nodes() {
+        return nodes;
+    }
+
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
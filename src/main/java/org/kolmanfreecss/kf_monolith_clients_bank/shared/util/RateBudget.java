@@ -0,0 +1,72 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.shared.util;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate budget shared by threads, paced like a token bucket: permits are
+ * earned at a fixed rate, and up to {@code burst} worth of unused permits
+ * can be saved up.
+ * <p>
+ * Permits are paid after the fact, which suits work whose cost is only known
+ * once it is done, e.g. the rows a query returned: {@link #spend} charges the
+ * budget and makes the caller wait for the permits spent before it, so a
+ * large spend delays the next caller rather than the current one. Over time
+ * the callers together never exceed the rate by more than the burst.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public final class RateBudget {
+
+    private final double nanosPerPermit;
+    private final long burstNanos;
+    private long nextFreeNanos;
+
+    /**
+     * @param permitsPerSecond Permits earned per second
+     * @param burst            Longest stretch of unused permits saved up
+     * @throws IllegalArgumentException if the rate is not positive or the burst is negative
+     */
+    public RateBudget(double permitsPerSecond, Duration burst) {
+        if (!(permitsPerSecond > 0) || burst.isNegative()) {
+            throw new IllegalArgumentException("Rate budget must be positive and its burst not negative");
+        }
+        this.nanosPerPermit = TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+        this.burstNanos = burst.toNanos();
+        this.nextFreeNanos = System.nanoTime();
+    }
+
+    /**
+     * Charges permits to the budget, first waiting until the permits spent
+     * before are earned.
+     *
+     * @param permits Permits spent
+     * @return Nanoseconds waited
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public long spend(int permits) throws InterruptedException {
+        long waitNanos = reserve(permits, System.nanoTime());
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+        return waitNanos;
+    }
+
+    /**
+     * Charges permits at an instant without waiting.
+     *
+     * @param permits  Permits spent
+     * @param nowNanos The instant, from {@link System#nanoTime()}
+     * @return Nanoseconds to wait before going on
+     */
+    synchronized long reserve(int permits, long nowNanos) {
+        // Unused permits beyond the burst are lost
+        if (nextFreeNanos - (nowNanos - burstNanos) < 0) {
+            nextFreeNanos = nowNanos - burstNanos;
+        }
+        long waitNanos = Math.max(0, nextFreeNanos - nowNanos);
+        nextFreeNanos += (long) (permits * nanosPerPermit);
+        return waitNanos;
+    }
+}
@@ -0,0 +1,216 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.shared.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe scalable Bloom filter for strings.
+ * <p>
+ * The filter is a chain of classic Bloom filters (Almeida et al., "Scalable
+ * Bloom Filters"). When the newest stage reaches its capacity a new stage is
+ * appended with twice the capacity and half the false-positive probability, so
+ * the compound false-positive probability stays below the configured target no
+ * matter how many elements are added.
+ * <p>
+ * Bits are set with CAS on an {@link AtomicLongArray}, so {@link #put(String)}
+ * and {@link #mightContain(String)} never block; only appending a stage is
+ * synchronized. Elements cannot be removed.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public final class ScalableBloomFilter {
+
+    private static final int GROWTH_FACTOR = 2;
+    private static final double TIGHTENING_RATIO = 0.5;
+
+    private final double targetFalsePositiveProbability;
+
+    private volatile Stage[] stages;
+
+    /**
+     * Creates an empty filter.
+     *
+     * @param initialCapacity                Number of elements the first stage is sized for
+     * @param targetFalsePositiveProbability Upper bound for the compound false-positive probability
+     * @throws IllegalArgumentException if the capacity is not positive or the probability is not in (0, 1)
+     */
+    public ScalableBloomFilter(long initialCapacity, double targetFalsePositiveProbability) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be positive");
+        }
+        if (targetFalsePositiveProbability <= 0 || targetFalsePositiveProbability >= 1) {
+            throw new IllegalArgumentException("False positive probability must be between 0 and 1");
+        }
+        this.targetFalsePositiveProbability = targetFalsePositiveProbability;
+        // The stage error bounds form a geometric series p0 * r^i, which sums to p0 / (1 - r)
+        this.stages = new Stage[] {
+                new Stage(initialCapacity, targetFalsePositiveProbability * (1 - TIGHTENING_RATIO)) };
+    }
+
+    /**
+     * Adds an element to the filter.
+     *
+     * @param value The element to add
+     */
+    public void put(String value) {
+        long hash = hash(value);
+        Stage[] current = stages;
+        Stage last = current[current.length - 1];
+        if (last.count.get() >= last.capacity) {
+            last = grow(last);
+        }
+        last.put(hash);
+    }
+
+    /**
+     * Checks whether an element may have been added.
+     *
+     * @param value The element to check
+     * @return false if the element was definitely never added, true if it possibly was
+     */
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        for (Stage stage : stages) {
+            if (stage.mightContain(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return Number of {@link #put(String)} calls, including repeated values
+     */
+    public long approximateElementCount() {
+        long total = 0;
+        for (Stage stage : stages) {
+            total += stage.count.get();
+        }
+        return total;
+    }
+
+    /**
+     * @return Memory used by the bit arrays, in bytes
+     */
+    public long memoryBytes() {
+        long total = 0;
+        for (Stage stage : stages) {
+            total += (long) stage.bits.length() * Long.BYTES;
+        }
+        return total;
+    }
+
+    /**
+     * Estimates the current false-positive probability from the number of
+     * elements in each stage.
+     *
+     * @return The estimated probability that {@link #mightContain(String)} returns true for an absent element
+     */
+    public double expectedFalsePositiveProbability() {
+        double allNegative = 1.0;
+        for (Stage stage : stages) {
+            allNegative *= 1.0 - stage.expectedFalsePositiveProbability();
+        }
+        return 1.0 - allNegative;
+    }
+
+    /**
+     * @return The configured upper bound for the compound false-positive probability
+     */
+    public double getTargetFalsePositiveProbability() {
+        return targetFalsePositiveProbability;
+    }
+
+    private synchronized Stage grow(Stage full) {
+        Stage[] current = stages;
+        Stage last = current[current.length - 1];
+        if (last != full) {
+            // Another thread already appended a stage
+            return last;
+        }
+        Stage next = new Stage(full.capacity * GROWTH_FACTOR, full.falsePositiveProbability * TIGHTENING_RATIO);
+        Stage[] grown = new Stage[current.length + 1];
+        System.arraycopy(current, 0, grown, 0, current.length);
+        grown[current.length] = next;
+        stages = grown;
+        return next;
+    }
+
+    /**
+     * 64-bit hash of the UTF-16 code units (FNV-1a) finalized with the MurmurHash3
+     * mixer for avalanche.
+     */
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * A classic Bloom filter using double hashing (Kirsch-Mitzenmacher) to derive
+     * its k bit positions from one 64-bit hash.
+     */
+    private static final class Stage {
+
+        private final long capacity;
+        private final double falsePositiveProbability;
+        private final long bitCount;
+        private final int hashCount;
+        private final AtomicLongArray bits;
+        private final AtomicLong count = new AtomicLong();
+
+        private Stage(long capacity, double falsePositiveProbability) {
+            this.capacity = capacity;
+            this.falsePositiveProbability = falsePositiveProbability;
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+            int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (optimalBits + 63) >>> 6));
+            this.bitCount = (long) words << 6;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * Math.log(2)));
+            this.bits = new AtomicLongArray(words);
+        }
+
+        private void put(long hash) {
+            long h1 = hash;
+            long h2 = mix(hash) | 1L;
+            for (int i = 0; i < hashCount; i++) {
+                long index = Long.remainderUnsigned(h1 + i * h2, bitCount);
+                int word = (int) (index >>> 6);
+                long mask = 1L << index;
+                long previous = bits.get(word);
+                while ((previous & mask) == 0 && !bits.compareAndSet(word, previous, previous | mask)) {
+                    previous = bits.get(word);
+                }
+            }
+            count.incrementAndGet();
+        }
+
+        private boolean mightContain(long hash) {
+            long h1 = hash;
+            long h2 = mix(hash) | 1L;
+            for (int i = 0; i < hashCount; i++) {
+                long index = Long.remainderUnsigned(h1 + i * h2, bitCount);
+                if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private double expectedFalsePositiveProbability() {
+            return Math.pow(1.0 - Math.exp(-hashCount * (double) count.get() / bitCount), hashCount);
+        }
+    }
+}
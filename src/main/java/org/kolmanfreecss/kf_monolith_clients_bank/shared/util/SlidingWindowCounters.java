@@ -0,0 +1,347 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.shared.util;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free event counters over sliding time windows, per key.
+ * <p>
+ * Each key has, for every window, a ring of buckets that counts the events
+ * of its time slice and sums their weights (e.g. amounts). A window of one
+ * hour in 12 buckets counts the events of the current five-minute bucket and
+ * the 11 before it: between 55 and 60 minutes of history. Buckets are reused
+ * in turn, so a key takes the same memory however many events it has. All
+ * the rings of a key share one array, so that a check reads a few adjacent
+ * cache lines.
+ * <p>
+ * A bucket packs the slice it belongs to with its total in one long, so that
+ * moving it to a new slice and adding to it is a single compare-and-set and
+ * never loses a concurrent update:
+ * - Counts: slice number in the high 40 bits, count in the low 24 bits
+ * - Weights: slice number modulo 2^16 in the high 16 bits, weight in the low 47 bits,
+ * only read when the count bucket of the same slot is in the window
+ * <p>
+ * {@link #tryAcquire} adds first and checks the limits afterwards, undoing
+ * its own addition when one is exceeded. Concurrent acquisitions on a key
+ * may therefore reject each other near a limit, but can never both pass it.
+ * <p>
+ * Keys whose last event is older than the longest window only hold expired
+ * buckets and are dropped by {@link #evictIdle()}, so memory is bounded by
+ * the keys active within one window.
+ *
+ * @param <K> Type of the keys
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public final class SlidingWindowCounters<K> {
+
+    /** Largest count per bucket */
+    public static final long MAX_COUNT = (1L << 24) - 1;
+    /** Largest weight per bucket */
+    public static final long MAX_WEIGHT = (1L << 47) - 1;
+
+    private static final int COUNT_BITS = 24;
+    private static final int WEIGHT_BITS = 47;
+    private static final long WEIGHT_MASK = MAX_WEIGHT;
+    private static final long TAG_MASK = 0xFFFF;
+
+    private final Map<K, Rings> rings = new ConcurrentHashMap<>();
+    private final long[] bucketNanos;
+    private final int[] buckets;
+    /** Index of the count ring of each window in the buckets of a key, its weight ring follows */
+    private final int[] offsets;
+    private final int length;
+    private final long idleNanos;
+    private final LongSupplier nanoClock;
+    private final long origin;
+
+    /**
+     * Length and number of buckets of a window.
+     *
+     * @param length  Length of the window
+     * @param buckets Number of buckets it is split into; more buckets slide more smoothly
+     */
+    public record Window(Duration length, int buckets) {
+    }
+
+    /**
+     * @param windows The windows counted for every key
+     * @throws IllegalArgumentException if there are no windows, or one is shorter than its number of buckets in
+     *                                  nanoseconds
+     */
+    public SlidingWindowCounters(List<Window> windows) {
+        this(windows, System::nanoTime);
+    }
+
+    SlidingWindowCounters(List<Window> windows, LongSupplier nanoClock) {
+        if (windows.isEmpty()) {
+            throw new IllegalArgumentException("At least one window is required");
+        }
+        this.bucketNanos = new long[windows.size()];
+        this.buckets = new int[windows.size()];
+        this.offsets = new int[windows.size()];
+        long longest = 0;
+        int offset = 0;
+        for (int w = 0; w < windows.size(); w++) {
+            Window window = windows.get(w);
+            long lengthNanos = window.length().toNanos();
+            if (window.buckets() <= 0 || lengthNanos < window.buckets()) {
+                throw new IllegalArgumentException("Windows need a positive length and number of buckets");
+            }
+            bucketNanos[w] = lengthNanos / window.buckets();
+            buckets[w] = window.buckets();
+            offsets[w] = offset;
+            offset += 2 * window.buckets();
+            longest = Math.max(longest, bucketNanos[w] * buckets[w]);
+        }
+        this.idleNanos = longest;
+        this.length = offset;
+        this.nanoClock = nanoClock;
+        this.origin = nanoClock.getAsLong();
+    }
+
+    /**
+     * @return The current time of the counters, to pass to {@link #tryAcquire} and {@link #release}
+     */
+    public long now() {
+        return nanoClock.getAsLong() - origin;
+    }
+
+    /**
+     * Counts an event for a key unless it would exceed a limit of one of the
+     * windows, in which case nothing is counted.
+     *
+     * @param key        The key
+     * @param now        The current time, from {@link #now()}
+     * @param weight     The weight of the event, between 0 and {@link #MAX_WEIGHT}
+     * @param maxCounts  Most events allowed per window, in window order
+     * @param maxWeights Largest total weight allowed per window, in window order
+     * @return -1 if the event was counted, otherwise the index of the first window whose limit it exceeds
+     */
+    public int tryAcquire(K key, long now, long weight, long[] maxCounts, long[] maxWeights) {
+        if (weight < 0 || weight > MAX_WEIGHT) {
+            throw new IllegalArgumentException("Weight out of range: " + weight);
+        }
+        Rings keyRings = acquireRings(key, now);
+        for (int w = 0; w < buckets.length; w++) {
+            long slice = now / bucketNanos[w];
+            int slot = (int) (slice % buckets[w]);
+            long count = add(keyRings.buckets, offsets[w] + slot, slice, 1, true);
+            long total = add(keyRings.buckets, offsets[w] + buckets[w] + slot, slice, weight, false);
+            if (count + sumCounts(keyRings, w, slice, slot) > maxCounts[w]
+                    || total + sumWeights(keyRings, w, slice, slot) > maxWeights[w]) {
+                for (int undo = w; undo >= 0; undo--) {
+                    subtract(keyRings, undo, now, weight);
+                }
+                return w;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Takes back an event counted by {@link #tryAcquire}, e.g. because the
+     * operation it allowed failed. Buckets that moved on since are left as
+     * they are.
+     *
+     * @param key    The key
+     * @param now    The time passed to {@link #tryAcquire}
+     * @param weight The weight passed to {@link #tryAcquire}
+     */
+    public void release(K key, long now, long weight) {
+        Rings keyRings = rings.get(key);
+        if (keyRings != null) {
+            for (int w = 0; w < buckets.length; w++) {
+                subtract(keyRings, w, now, weight);
+            }
+        }
+    }
+
+    /**
+     * @param key    The key
+     * @param window Index of the window
+     * @return Events counted for the key in the window
+     */
+    public long count(K key, int window) {
+        Rings keyRings = rings.get(key);
+        if (keyRings == null) {
+            return 0;
+        }
+        long slice = now() / bucketNanos[window];
+        return sumCounts(keyRings, window, slice, -1);
+    }
+
+    /**
+     * @param key    The key
+     * @param window Index of the window
+     * @return Total weight of the events counted for the key in the window
+     */
+    public long weight(K key, int window) {
+        Rings keyRings = rings.get(key);
+        if (keyRings == null) {
+            return 0;
+        }
+        long slice = now() / bucketNanos[window];
+        return sumWeights(keyRings, window, slice, -1);
+    }
+
+    /**
+     * Drops the keys without events in the longest window.
+     *
+     * @return Number of keys dropped
+     */
+    public int evictIdle() {
+        long now = now();
+        int evicted = 0;
+        for (Map.Entry<K, Rings> entry : rings.entrySet()) {
+            Rings keyRings = entry.getValue();
+            if (now - keyRings.lastUsed < idleNanos) {
+                continue;
+            }
+            // Announce the eviction, then check that no acquisition touched the key meanwhile: an
+            // acquisition writes lastUsed before reading the flag, so one of the two sees the other
+            keyRings.evicted = true;
+            if (now - keyRings.lastUsed >= idleNanos && rings.remove(entry.getKey(), keyRings)) {
+                evicted++;
+            } else {
+                keyRings.evicted = false;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * @param key The key
+     * @return Whether the key has counters, i.e. had events and was not evicted since
+     */
+    public boolean contains(K key) {
+        return rings.containsKey(key);
+    }
+
+    /**
+     * @return Number of keys with counters
+     */
+    public int size() {
+        return rings.size();
+    }
+
+    private Rings acquireRings(K key, long now) {
+        while (true) {
+            // Looked up first: the capturing lambda of computeIfAbsent would be allocated on every event
+            Rings keyRings = rings.get(key);
+            if (keyRings == null) {
+                keyRings = rings.computeIfAbsent(key, k -> new Rings(length));
+            }
+            keyRings.lastUsed = now;
+            if (!keyRings.evicted) {
+                return keyRings;
+            }
+            // Being evicted: wait for it to be removed or kept
+            Thread.onSpinWait();
+        }
+    }
+
+    private static long add(AtomicLongArray keyBuckets, int index, long slice, long amount, boolean counts) {
+        long max = counts ? MAX_COUNT : MAX_WEIGHT;
+        while (true) {
+            long current = keyBuckets.get(index);
+            // Saturates rather than overflowing into the slice bits
+            long total = Math.min(max, sameSlice(current, slice, counts) ? value(current, counts) + amount : amount);
+            if (keyBuckets.compareAndSet(index, current, pack(slice, total, counts))) {
+                return total;
+            }
+        }
+    }
+
+    private void subtract(Rings keyRings, int window, long now, long weight) {
+        long slice = now / bucketNanos[window];
+        int slot = (int) (slice % buckets[window]);
+        subtract(keyRings.buckets, offsets[window] + slot, slice, 1, true);
+        subtract(keyRings.buckets, offsets[window] + buckets[window] + slot, slice, weight, false);
+    }
+
+    private static void subtract(AtomicLongArray keyBuckets, int index, long slice, long amount, boolean counts) {
+        while (true) {
+            long current = keyBuckets.get(index);
+            if (!sameSlice(current, slice, counts)) {
+                return;
+            }
+            long next = pack(slice, Math.max(0, value(current, counts) - amount), counts);
+            if (keyBuckets.compareAndSet(index, current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sums the count buckets of a window still inside it, skipping one slot.
+     */
+    private long sumCounts(Rings keyRings, int window, long slice, int skippedSlot) {
+        AtomicLongArray ring = keyRings.buckets;
+        long total = 0;
+        for (int slot = 0; slot < buckets[window]; slot++) {
+            if (slot != skippedSlot) {
+                long bucket = ring.get(offsets[window] + slot);
+                if (inWindow(bucket >>> COUNT_BITS, slice, window)) {
+                    total += bucket & MAX_COUNT;
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Sums the weight buckets of a window whose count bucket is still inside
+     * it, skipping one slot.
+     */
+    private long sumWeights(Rings keyRings, int window, long slice, int skippedSlot) {
+        AtomicLongArray ring = keyRings.buckets;
+        int counts = offsets[window];
+        int weights = counts + buckets[window];
+        long total = 0;
+        for (int slot = 0; slot < buckets[window]; slot++) {
+            if (slot != skippedSlot) {
+                long bucketSlice = ring.get(counts + slot) >>> COUNT_BITS;
+                long bucket = ring.get(weights + slot);
+                if (inWindow(bucketSlice, slice, window) && (bucket >>> WEIGHT_BITS) == (bucketSlice & TAG_MASK)) {
+                    total += bucket & WEIGHT_MASK;
+                }
+            }
+        }
+        return total;
+    }
+
+    private boolean inWindow(long bucketSlice, long slice, int window) {
+        return bucketSlice <= slice && slice - bucketSlice < buckets[window];
+    }
+
+    private static boolean sameSlice(long bucket, long slice, boolean counts) {
+        return counts ? bucket >>> COUNT_BITS == slice : bucket >>> WEIGHT_BITS == (slice & TAG_MASK);
+    }
+
+    private static long value(long bucket, boolean counts) {
+        return counts ? bucket & MAX_COUNT : bucket & WEIGHT_MASK;
+    }
+
+    private static long pack(long slice, long value, boolean counts) {
+        return counts ? slice << COUNT_BITS | value : (slice & TAG_MASK) << WEIGHT_BITS | value;
+    }
+
+    /**
+     * Buckets of one key: the count ring then the weight ring of each window.
+     */
+    private static final class Rings {
+
+        private final AtomicLongArray buckets;
+        private volatile long lastUsed;
+        private volatile boolean evicted;
+
+        private Rings(int length) {
+            this.buckets = new AtomicLongArray(length);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.shared.util;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Fixed set of locks shared by keys through hashing (lock striping).
+ * <p>
+ * Work on different keys runs in parallel unless both keys hash to the same
+ * stripe, while memory stays bounded no matter how many keys exist. Several
+ * keys are always locked in ascending stripe order, so two threads locking the
+ * same keys in different orders cannot deadlock.
+ * <p>
+ * Acquisitions that had to wait are counted, which gives a cheap contention
+ * signal for sizing the number of stripes.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public final class StripedLocks {
+
+    private final ReentrantLock[] locks;
+    private final int mask;
+    private final LongAdder contended = new LongAdder();
+
+    /**
+     * @param stripes Minimum number of stripes, rounded up to a power of two
+     * @throws IllegalArgumentException if stripes is not positive
+     */
+    public StripedLocks(int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("Stripes must be positive");
+        }
+        int size = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Runs an action while holding the stripe of a key.
+     *
+     * @param key    The key to lock
+     * @param action The action to run
+     * @return The result of the action
+     */
+    public <T> T withLock(Object key, Supplier<T> action) {
+        ReentrantLock lock = locks[stripeFor(key)];
+        acquire(lock);
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs an action while holding the stripes of two keys, acquired in
+     * ascending stripe order. Keys sharing a stripe take it only once.
+     *
+     * @param first  The first key
+     * @param second The second key
+     * @param action The action to run
+     * @return The result of the action
+     */
+    public <T> T withLocks(Object first, Object second, Supplier<T> action) {
+        int a = stripeFor(first);
+        int b = stripeFor(second);
+        if (a == b) {
+            return withLock(first, action);
+        }
+        ReentrantLock lower = locks[Math.min(a, b)];
+        ReentrantLock upper = locks[Math.max(a, b)];
+        acquire(lower);
+        try {
+            acquire(upper);
+            try {
+                return action.get();
+            } finally {
+                upper.unlock();
+            }
+        } finally {
+            lower.unlock();
+        }
+    }
+
+    /**
+     * Runs an action while holding the stripes of any number of keys,
+     * acquired in ascending stripe order like {@link #withLocks(Object, Object, Supplier)}.
+     *
+     * @param keys   The keys to lock
+     * @param action The action to run
+     * @return The result of the action
+     */
+    public <T> T withLocks(Collection<?> keys, Supplier<T> action) {
+        int[] stripes = keys.stream().mapToInt(this::stripeFor).distinct().sorted().toArray();
+        int held = 0;
+        try {
+            for (int stripe : stripes) {
+                acquire(locks[stripe]);
+                held++;
+            }
+            return action.get();
+        } finally {
+            for (int i = held - 1; i >= 0; i--) {
+                locks[stripes[i]].unlock();
+            }
+        }
+    }
+
+    /**
+     * @param key The key
+     * @return The index of the stripe guarding the key
+     */
+    public int stripeFor(Object key) {
+        int h = key.hashCode();
+        // Spread the high bits down, as HashMap does, so keys differing only there do not collide
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * @return The number of stripes
+     */
+    public int stripes() {
+        return locks.length;
+    }
+
+    /**
+     * @return Number of acquisitions that found the stripe held by another thread
+     */
+    public long contendedAcquisitions() {
+        return contended.sum();
+    }
+
+    private void acquire(ReentrantLock lock) {
+        if (!lock.tryLock()) {
+            contended.increment();
+            lock.lock();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.shared.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hashed timing wheel: schedules items to expire at a deadline with
+ * {@code O(1)} scheduling and cancellation, whatever the number of items.
+ * <p>
+ * Time is split into ticks, and the wheel into slots, one per tick, reused
+ * every revolution. An item is linked into the slot of its deadline tick,
+ * in a doubly linked list so that cancelling it only unlinks it. Each
+ * {@link #advance} visits the slots of the ticks elapsed since the previous
+ * one and returns their items whose deadline tick has passed; items due in a
+ * later revolution stay linked. Deadlines are rounded up to the next tick,
+ * so items expire at most one tick late, never early.
+ * <p>
+ * Ticking is left to the caller, e.g. a scheduled task calling
+ * {@link #advance} every tick. After a pause longer than a revolution every
+ * slot is visited once. The wheel is thread-safe; every operation holds its
+ * monitor for a few pointer updates, or for the visited slots in
+ * {@link #advance}.
+ *
+ * @param <T> Type of the items
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public final class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final Timeout<T>[] slots;
+    private long tick;
+    private int size;
+
+    /**
+     * Scheduled item, to {@link #cancel} it.
+     *
+     * @param <T> Type of the item
+     */
+    public static final class Timeout<T> {
+
+        private final T item;
+        private final long deadlineTick;
+        private Timeout<T> previous;
+        private Timeout<T> next;
+        private boolean linked;
+
+        private Timeout(T item, long deadlineTick) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+
+        /**
+         * @return The scheduled item
+         */
+        public T item() {
+            return item;
+        }
+    }
+
+    /**
+     * @param tick        Length of a tick, the precision of the deadlines
+     * @param slots       Number of slots; a revolution of {@code tick * slots} covers most deadlines in one pass
+     * @param startMillis Current time in milliseconds, the start of the first tick
+     * @throws IllegalArgumentException if the tick is shorter than a millisecond or there are no slots
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(Duration tick, int slots, long startMillis) {
+        if (tick.toMillis() < 1 || slots < 1) {
+            throw new IllegalArgumentException("The tick must last at least 1 ms and the wheel have slots");
+        }
+        this.tickMillis = tick.toMillis();
+        this.startMillis = startMillis;
+        this.slots = (Timeout<T>[]) new Timeout[slots];
+    }
+
+    /**
+     * Schedules an item. Deadlines already passed expire on the next tick.
+     *
+     * @param item           The item
+     * @param deadlineMillis Time in milliseconds at which it expires
+     * @return Handle to cancel it
+     */
+    public synchronized Timeout<T> schedule(T item, long deadlineMillis) {
+        long deadlineTick = Math.max(tick + 1, Math.ceilDiv(deadlineMillis - startMillis, tickMillis));
+        Timeout<T> timeout = new Timeout<>(item, deadlineTick);
+        int slot = (int) (deadlineTick % slots.length);
+        timeout.next = slots[slot];
+        if (timeout.next != null) {
+            timeout.next.previous = timeout;
+        }
+        slots[slot] = timeout;
+        timeout.linked = true;
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Cancels a scheduled item.
+     *
+     * @param timeout Handle returned by {@link #schedule}
+     * @return Whether it was still scheduled, i.e. neither expired nor cancelled
+     */
+    public synchronized boolean cancel(Timeout<T> timeout) {
+        if (!timeout.linked) {
+            return false;
+        }
+        unlink(timeout, (int) (timeout.deadlineTick % slots.length));
+        return true;
+    }
+
+    /**
+     * Moves the wheel to the current time.
+     *
+     * @param nowMillis Current time in milliseconds
+     * @return The items whose deadline passed since the previous call, no longer scheduled
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        long target = Math.floorDiv(nowMillis - startMillis, tickMillis);
+        if (target <= tick) {
+            return List.of();
+        }
+        List<T> expired = new ArrayList<>();
+        long visited = Math.min(target - tick, slots.length);
+        for (long t = tick + 1; t <= tick + visited; t++) {
+            int slot = (int) (t % slots.length);
+            Timeout<T> timeout = slots[slot];
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                if (timeout.deadlineTick <= target) {
+                    unlink(timeout, slot);
+                    expired.add(timeout.item);
+                }
+                timeout = next;
+            }
+        }
+        tick = target;
+        return expired;
+    }
+
+    /**
+     * @return Number of scheduled items
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    private void unlink(Timeout<T> timeout, int slot) {
+        if (timeout.previous == null) {
+            slots[slot] = timeout.next;
+        } else {
+            timeout.previous.next = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.previous = timeout.previous;
+        }
+        timeout.previous = null;
+        timeout.next = null;
+        timeout.linked = false;
+        size--;
+    }
+}
@@ -0,0 +1,172 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.analytics.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.analytics.models.AnalyticsGroup;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.analytics.models.AnalyticsQuery;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.analytics.models.AnalyticsQuery.Dimension;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.analytics.models.AnalyticsQuery.Measure;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.analytics.models.AnalyticsResult;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Transaction.TransactionType;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.TransactionRepository.FeedRow;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.vo.ClientType;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.Money;
+
+/**
+ * Unit tests for {@link TransactionColumnStore}.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+class TransactionColumnStoreTest {
+
+    private static final Currency EUR = Currency.getInstance("EUR");
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final LocalDateTime START = LocalDateTime.of(2026, 3, 1, 0, 0);
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(3);
+    // Segments of 4 rows, so that small tests span several
+    private final TransactionColumnStore store = new TransactionColumnStore(4, 1_000);
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+    private final UUID aliceAccount = UUID.randomUUID();
+    private final UUID bobAccount = UUID.randomUUID();
+    private final UUID bobUsdAccount = UUID.randomUUID();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void ordersAccountsByOutflow() {
+        load();
+
+        AnalyticsResult result = query(null, null, EnumSet.of(TransactionType.WITHDRAWAL, TransactionType.FEE),
+                Set.of(), null, EnumSet.of(Dimension.ACCOUNT), Measure.AMOUNT, 10);
+
+        assertEquals(List.of(
+                new AnalyticsGroup(bobAccount, null, null, null, 2, new Money(9_000, EUR)),
+                new AnalyticsGroup(aliceAccount, null, null, null, 3, new Money(1_200, EUR)),
+                new AnalyticsGroup(bobUsdAccount, null, null, null, 1, new Money(50, USD))),
+                result.groups());
+        assertEquals(12, result.scannedRows());
+    }
+
+    @Test
+    void groupsByCurrentClientTypeAndFiltersByIt() {
+        load();
+
+        assertEquals(List.of(new AnalyticsGroup(null, null, "INDIVIDUAL", null, 2, new Money(200, EUR))),
+                query(null, null, EnumSet.of(TransactionType.FEE), Set.of("INDIVIDUAL"), null,
+                        EnumSet.of(Dimension.CLIENT_TYPE), Measure.AMOUNT, 10).groups());
+
+        store.updateClientType(alice, ClientType.VIP);
+
+        assertEquals(List.of(new AnalyticsGroup(null, null, "VIP", null, 2, new Money(200, EUR))),
+                query(null, null, EnumSet.of(TransactionType.FEE), Set.of(), EUR,
+                        EnumSet.of(Dimension.CLIENT_TYPE), Measure.AMOUNT, 10).groups());
+    }
+
+    @Test
+    void bucketsByHourWithinTheRange() {
+        load();
+
+        AnalyticsResult result = query(START.plusHours(1), START.plusHours(3), Set.of(), Set.of(), EUR,
+                EnumSet.of(Dimension.HOUR), Measure.COUNT, 10);
+
+        assertEquals(List.of(
+                new AnalyticsGroup(null, null, null, START.plusHours(1), 4, new Money(10_500, EUR)),
+                new AnalyticsGroup(null, null, null, START.plusHours(2), 3, new Money(8_100, EUR))),
+                result.groups());
+        // The first segment ends before the range and is skipped
+        assertEquals(8, result.scannedRows());
+    }
+
+    @Test
+    void limitsAndCountsGroups() {
+        load();
+
+        AnalyticsResult result = query(null, null, Set.of(), Set.of(), null, EnumSet.of(Dimension.TYPE),
+                Measure.COUNT, 2);
+
+        // Five types in EUR, two in USD
+        assertEquals(7, result.totalGroups());
+        assertEquals(List.of(TransactionType.DEPOSIT, TransactionType.WITHDRAWAL),
+                result.groups().stream().map(AnalyticsGroup::type).toList());
+        assertNull(result.groups().get(0).accountId());
+    }
+
+    @Test
+    void dropsTheOldestSegmentsBeyondTheMaximum() {
+        TransactionColumnStore bounded = new TransactionColumnStore(4, 8);
+        bounded.addAccount(aliceAccount, alice, EUR, ClientType.INDIVIDUAL);
+        List<FeedRow> rows = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            rows.add(new FeedRow(aliceAccount, UUID.randomUUID(), START.plusMinutes(i), TransactionType.DEPOSIT, 1));
+        }
+        bounded.append(rows, START.plusHours(1));
+
+        assertEquals(6, bounded.rows());
+        AnalyticsResult result = bounded.query(new AnalyticsQuery(null, null, Set.of(), Set.of(), null,
+                EnumSet.noneOf(Dimension.class), Measure.COUNT, 10), executor, 2);
+        assertEquals(START.plusMinutes(4), result.coveredFrom());
+        assertEquals(START.plusHours(1), result.coveredTo());
+    }
+
+    @Test
+    void rejectsGroupingByHourAndDay() {
+        load();
+
+        assertThrows(IllegalArgumentException.class, () -> query(null, null, Set.of(), Set.of(), null,
+                EnumSet.of(Dimension.HOUR, Dimension.DAY), Measure.COUNT, 10));
+    }
+
+    /**
+     * Alice (individual) has an EUR account; Bob (business) an EUR and a USD
+     * account. Twelve transactions over three hours, in three segments.
+     */
+    private void load() {
+        store.addAccount(aliceAccount, alice, EUR, ClientType.INDIVIDUAL);
+        store.addAccount(bobAccount, bob, EUR, ClientType.BUSINESS);
+        store.addAccount(bobUsdAccount, bob, USD, ClientType.BUSINESS);
+        store.append(List.of(
+                row(aliceAccount, 0, TransactionType.DEPOSIT, 5_000),
+                row(bobAccount, 10, TransactionType.DEPOSIT, 20_000),
+                row(bobUsdAccount, 20, TransactionType.DEPOSIT, 1_000),
+                row(aliceAccount, 30, TransactionType.WITHDRAWAL, 1_000),
+                row(aliceAccount, 60, TransactionType.FEE, 100),
+                row(bobAccount, 70, TransactionType.WITHDRAWAL, 4_000),
+                row(bobAccount, 80, TransactionType.TRANSFER_OUT, 6_000),
+                row(bobUsdAccount, 90, TransactionType.WITHDRAWAL, 50),
+                row(aliceAccount, 100, TransactionType.INTEREST, 400)), START.plusMinutes(101));
+        store.append(List.of(
+                row(bobAccount, 120, TransactionType.WITHDRAWAL, 5_000),
+                row(aliceAccount, 130, TransactionType.FEE, 100),
+                row(bobAccount, 140, TransactionType.DEPOSIT, 3_000)), START.plusHours(3));
+    }
+
+    private FeedRow row(UUID accountId, int minute, TransactionType type, long amount) {
+        return new FeedRow(accountId, UUID.randomUUID(), START.plusMinutes(minute), type, amount);
+    }
+
+    private AnalyticsResult query(LocalDateTime from, LocalDateTime to, Set<TransactionType> types,
+            Set<String> clientTypes, Currency currency, Set<Dimension> groupBy, Measure orderBy, int limit) {
+        return store.query(new AnalyticsQuery(from, to, types, clientTypes, currency, groupBy, orderBy, limit),
+                executor, 3);
+    }
+}
@@ -0,0 +1,202 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.fees.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.posting.services.LedgerService;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Account;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.FeeCharge;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.FeeChargeRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.FeeRun;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.FeeRunRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Transaction;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.ClientRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.vo.ClientType;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics.LedgerMetrics;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for {@link FeeRunService}. The repositories keep their rows in
+ * memory and the ledger applies bulk postings straight to the accounts, so a
+ * fee shows in the balance of the account it was charged to.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+class FeeRunServiceTest {
+
+    private static final YearMonth PERIOD = YearMonth.now().minusMonths(1);
+    private static final Currency EUR = Currency.getInstance("EUR");
+    private static final BigDecimal OPENING = new BigDecimal("100.00");
+
+    private final AccountRepository accountRepository = mock(AccountRepository.class);
+    private final ClientRepository clientRepository = mock(ClientRepository.class);
+    private final FeeChargeRepository chargeRepository = mock(FeeChargeRepository.class);
+    private final FeeRunRepository runRepository = mock(FeeRunRepository.class);
+    private final LedgerService ledgerService = mock(LedgerService.class);
+    /**
+     * Accounts in database order: unsigned, unlike {@link UUID#compareTo}
+     */
+    private final TreeMap<UUID, Account> accounts = new TreeMap<>(Comparator.comparing(UUID::toString));
+    private final Map<UUID, ClientType> clientTypes = new HashMap<>();
+    private final Map<LocalDate, FeeRun> runs = new HashMap<>();
+    private final Set<UUID> charged = new HashSet<>();
+    private final List<UUID> chunkStarts = new ArrayList<>();
+    private final Set<UUID> failing = new HashSet<>();
+
+    private FeeRunService fees;
+
+    @BeforeEach
+    void setUp() {
+        when(accountRepository.countByOpenedAtBeforeAndStatusNot(any(), any()))
+                .thenAnswer(call -> (long) accounts.size());
+        when(accountRepository.findRefsAfter(any(), any(), any(), any())).thenAnswer(call -> {
+            UUID after = call.getArgument(0);
+            Limit limit = call.getArgument(3);
+            chunkStarts.add(after);
+            return accounts.tailMap(after, false).values().stream()
+                    .limit(limit.max())
+                    .map(account -> new AccountRepository.AccountRef(account.getId(), account.getClientId()))
+                    .toList();
+        });
+        when(clientRepository.findTypesByIdIn(anyCollection())).thenAnswer(call -> {
+            Collection<UUID> ids = call.getArgument(0);
+            return ids.stream().map(id -> new ClientRepository.ClientTypeRef(id, clientTypes.get(id))).toList();
+        });
+        when(runRepository.findById(any())).thenAnswer(call -> Optional.ofNullable(runs.get(call.getArgument(0))));
+        when(runRepository.save(any())).thenAnswer(call -> {
+            FeeRun run = call.getArgument(0);
+            runs.put(run.getBillingMonth(), run);
+            return run;
+        });
+        when(chargeRepository.findChargedAccountIds(any(), anyCollection())).thenAnswer(call -> {
+            Collection<UUID> ids = call.getArgument(1);
+            return ids.stream().filter(charged::contains).toList();
+        });
+        when(chargeRepository.saveAll(any())).thenAnswer(call -> {
+            Iterable<FeeCharge> charges = call.getArgument(0);
+            charges.forEach(charge -> charged.add(charge.getAccountId()));
+            return List.of();
+        });
+        when(ledgerService.lockStripe(any())).thenAnswer(call -> call.getArgument(0).hashCode() & 0xff);
+        when(ledgerService.postBulk(anyCollection(), any())).thenAnswer(call -> {
+            Collection<UUID> ids = call.getArgument(0);
+            if (ids.stream().anyMatch(failing::contains)) {
+                throw new IllegalStateException("Database unavailable");
+            }
+            Map<UUID, Account> loaded = new HashMap<>();
+            ids.forEach(id -> loaded.put(id, accounts.get(id)));
+            Function<Map<UUID, Account>, List<Transaction>> operation = call.getArgument(1);
+            return operation.apply(loaded);
+        });
+
+        fees = new FeeRunService(accountRepository, clientRepository, chargeRepository, runRepository,
+                ledgerService, new LedgerMetrics(new SimpleMeterRegistry()), mock(PlatformTransactionManager.class),
+                true, false, 2, 1);
+    }
+
+    @Test
+    void chargesEveryAccountOncePerPeriod() {
+        Account individual = open(ClientType.INDIVIDUAL);
+        Account business = open(ClientType.BUSINESS);
+        Account vip = open(ClientType.VIP);
+
+        assertTrue(fees.run(PERIOD));
+
+        assertEquals(new BigDecimal("95.00"), individual.getBalance().toBigDecimal());
+        assertEquals(new BigDecimal("85.00"), business.getBalance().toBigDecimal());
+        assertEquals(OPENING, vip.getBalance().toBigDecimal());
+        FeeRun run = runs.get(PERIOD.atDay(1));
+        assertEquals(2, run.getCharged());
+        assertEquals(1, run.getExempt());
+        // Once complete, the period is not charged again
+        assertFalse(fees.run(PERIOD));
+        assertEquals(new BigDecimal("95.00"), individual.getBalance().toBigDecimal());
+    }
+
+    @Test
+    void rerunOfAPeriodWithLostProgressChargesNothing() {
+        List<Account> opened = List.of(open(ClientType.INDIVIDUAL), open(ClientType.INDIVIDUAL),
+                open(ClientType.BUSINESS));
+        fees.run(PERIOD);
+        // The checkpoint is lost, but the fee charges recorded with the postings are not
+        runs.clear();
+
+        assertTrue(fees.run(PERIOD));
+
+        FeeRun rerun = runs.get(PERIOD.atDay(1));
+        assertEquals(0, rerun.getCharged());
+        assertEquals(3, rerun.getAlreadyCharged());
+        assertEquals(new BigDecimal("95.00"), opened.get(0).getBalance().toBigDecimal());
+        assertEquals(new BigDecimal("85.00"), opened.get(2).getBalance().toBigDecimal());
+    }
+
+    @Test
+    void interruptedRunResumesFromItsCheckpoint() {
+        for (int i = 0; i < 5; i++) {
+            open(ClientType.INDIVIDUAL);
+        }
+        List<UUID> ids = new ArrayList<>(accounts.keySet());
+        failing.add(ids.get(2));
+
+        assertThrows(IllegalStateException.class, () -> fees.run(PERIOD));
+        FeeRun interrupted = runs.get(PERIOD.atDay(1));
+        assertFalse(interrupted.isComplete());
+        assertEquals(ids.get(1), interrupted.getLastAccountId());
+        assertEquals(2, interrupted.getCharged());
+
+        failing.clear();
+        chunkStarts.clear();
+        assertTrue(fees.run(PERIOD));
+
+        // Reading restarts after the first chunk, and no account pays twice
+        assertEquals(ids.get(1), chunkStarts.get(0));
+        assertTrue(runs.get(PERIOD.atDay(1)).isComplete());
+        assertEquals(5, runs.get(PERIOD.atDay(1)).getAccounts());
+        accounts.values().forEach(account -> assertEquals(new BigDecimal("95.00"),
+                account.getBalance().toBigDecimal()));
+    }
+
+    @Test
+    void refusesPeriodsThatHaveNotEnded() {
+        assertThrows(IllegalArgumentException.class, () -> fees.run(YearMonth.now()));
+    }
+
+    private Account open(ClientType type) {
+        UUID clientId = UUID.randomUUID();
+        clientTypes.put(clientId, type);
+        Account account = new Account(clientId, EUR);
+        account.deposit(OPENING, null);
+        accounts.put(account.getId(), account);
+        return account;
+    }
+}
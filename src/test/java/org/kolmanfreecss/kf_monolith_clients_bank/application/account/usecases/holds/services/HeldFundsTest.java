@@ -0,0 +1,90 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.holds.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Account;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Hold;
+
+/**
+ * Unit tests for {@link HeldFunds}. The book is not loaded from the
+ * repository here, so none is given.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+class HeldFundsTest {
+
+    private static final Currency EUR = Currency.getInstance("EUR");
+
+    private final HeldFunds heldFunds = new HeldFunds(null, 10, 64);
+    private final Account account = new Account(UUID.randomUUID(), EUR);
+    private final Account other = new Account(UUID.randomUUID(), EUR);
+    private final LocalDateTime expiresAt = LocalDateTime.now().plusHours(1);
+
+    @Test
+    void keepsARunningTotalPerAccount() {
+        Hold first = hold(account, "30.00");
+        Hold second = hold(account, "20.00");
+        Hold elsewhere = hold(other, "5.00");
+        heldFunds.add(first);
+        heldFunds.add(second);
+        heldFunds.add(elsewhere);
+
+        assertEquals(5_000, heldFunds.held(account.getId()));
+        assertEquals(500, heldFunds.held(other.getId()));
+        assertEquals(2, heldFunds.accounts());
+
+        heldFunds.remove(first.getId());
+        assertEquals(2_000, heldFunds.held(account.getId()));
+        heldFunds.remove(second.getId());
+        assertEquals(0, heldFunds.held(account.getId()));
+        assertEquals(1, heldFunds.accounts());
+        assertEquals(Optional.empty(), heldFunds.accountOf(first.getId()));
+    }
+
+    @Test
+    void ignoresDuplicateAddsAndUnknownRemoves() {
+        Hold hold = hold(account, "30.00");
+        heldFunds.add(hold);
+        heldFunds.add(hold);
+        heldFunds.remove(UUID.randomUUID());
+
+        assertEquals(3_000, heldFunds.held(account.getId()));
+        assertEquals(1, heldFunds.size());
+        // The duplicate's expiry was cancelled: the hold comes due once
+        assertEquals(List.of(hold.getId()), heldFunds.due(millis(expiresAt) + 10));
+        assertEquals(List.of(), heldFunds.due(millis(expiresAt) + 20));
+    }
+
+    @Test
+    void retrySchedulesTheExpiryAgain() {
+        Hold hold = hold(account, "30.00");
+        heldFunds.add(hold);
+        long retryAt = System.currentTimeMillis() + 1_000;
+
+        heldFunds.retry(hold.getId(), retryAt);
+
+        assertEquals(List.of(hold.getId()), heldFunds.due(retryAt + 10));
+        assertTrue(heldFunds.due(millis(expiresAt) + 10).isEmpty());
+        assertEquals(3_000, heldFunds.held(account.getId()));
+    }
+
+    private Hold hold(Account holder, String amount) {
+        holder.deposit(new BigDecimal(amount), null);
+        return holder.placeHold(new BigDecimal(amount), heldFunds.held(holder.getId()), null, expiresAt);
+    }
+
+    private static long millis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,172 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.holds.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.posting.ports.TransactionJournalPort;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.posting.services.LedgerService;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.rollups.ports.AccountRollupPort;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.velocity.services.VelocityLimitService;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Account;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Hold;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.HoldRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.TransactionRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.Money;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics.LedgerMetrics;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for {@link HoldService} over the real {@link LedgerService} and
+ * {@link HeldFunds}, with mocked repositories and a transaction manager that
+ * only runs the synchronizations, so that the book is updated on commit as
+ * in production.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+class HoldServiceTest {
+
+    private static final Currency EUR = Currency.getInstance("EUR");
+    private static final long TICK_MILLIS = 1;
+
+    private final AccountRepository accountRepository = mock(AccountRepository.class);
+    private final TransactionRepository transactionRepository = mock(TransactionRepository.class);
+    private final HoldRepository holdRepository = mock(HoldRepository.class);
+    private final HeldFunds heldFunds = new HeldFunds(holdRepository, TICK_MILLIS, 4096);
+    private final Account account = new Account(UUID.randomUUID(), EUR);
+
+    private LedgerService ledgerService;
+    private HoldService holdService;
+
+    @BeforeEach
+    void setUp() {
+        LedgerMetrics metrics = new LedgerMetrics(new SimpleMeterRegistry());
+        VelocityLimitService velocityLimits = new VelocityLimitService(accountRepository, null, null, metrics, false,
+                EUR, Map.of(), Map.of(), Map.of(), Map.of(), 12);
+        ledgerService = new LedgerService(accountRepository, transactionRepository, metrics,
+                new StaticListableBeanFactory().getBeanProvider(TransactionJournalPort.class),
+                mock(AccountRollupPort.class), velocityLimits, heldFunds, new SynchronizingTransactionManager(), 16,
+                false, 1, 1, 0, 0, 1);
+        holdService = new HoldService(ledgerService, accountRepository, holdRepository, heldFunds, velocityLimits,
+                metrics, Duration.ofDays(7).toMillis(), Duration.ofDays(30).toMillis(), TICK_MILLIS, 500);
+        when(accountRepository.findById(account.getId())).thenReturn(Optional.of(account));
+        when(accountRepository.findAllById(anyIterable())).thenReturn(List.of(account));
+        when(holdRepository.save(any(Hold.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        account.deposit(new BigDecimal("100.00"), null);
+    }
+
+    @Test
+    void partialCaptureReleasesTheRemainder() {
+        Hold hold = place("60.00", Duration.ofHours(1));
+        assertEquals(6_000, heldFunds.held(account.getId()));
+
+        Hold captured = holdService.captureHold(hold.getId(), new BigDecimal("20.00")).orElseThrow();
+
+        assertEquals(Hold.Status.CAPTURED, captured.getStatus());
+        assertEquals(2_000, captured.getCapturedMinorUnits());
+        assertEquals(new Money(8_000, EUR), account.getBalance());
+        // The 40.00 not captured is available again
+        assertEquals(0, heldFunds.held(account.getId()));
+        assertEquals(new Money(8_000, EUR),
+                holdService.getAvailableBalance(account.getId()).orElseThrow().available());
+    }
+
+    @Test
+    void refusesDebitsOfHeldFunds() {
+        place("60.00", Duration.ofHours(1));
+
+        assertThrows(IllegalStateException.class,
+                () -> holdService.placeHold(account.getId(), new BigDecimal("40.01"), null, null));
+        assertEquals(6_000, heldFunds.held(account.getId()));
+        // Last: the refused withdrawal is only undone by the rollback of a real transaction
+        assertThrows(IllegalStateException.class,
+                () -> ledgerService.withdraw(account.getId(), new BigDecimal("40.01"), null));
+        verify(transactionRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void expiryReschedulesAHoldTakenOffTheWheelEarly() throws InterruptedException {
+        Hold hold = place("60.00", Duration.ofHours(1));
+        when(holdRepository.findAllById(List.of(hold.getId()))).thenReturn(List.of(hold));
+        // As if the wall clock had been set back: the wheel finds the hold due an hour early
+        heldFunds.retry(hold.getId(), System.currentTimeMillis());
+        Thread.sleep(5 * TICK_MILLIS);
+
+        holdService.expireHolds();
+
+        assertEquals(Hold.Status.ACTIVE, hold.getStatus());
+        assertEquals(6_000, heldFunds.held(account.getId()));
+        assertEquals(List.of(), heldFunds.due(System.currentTimeMillis()));
+        assertEquals(List.of(hold.getId()), heldFunds.due(millis(hold.getExpiresAt()) + TICK_MILLIS));
+    }
+
+    @Test
+    void expiresHoldsPastTheirExpiry() throws InterruptedException {
+        Hold hold = place("60.00", Duration.ofMillis(1));
+        when(holdRepository.findAllById(List.of(hold.getId()))).thenReturn(List.of(hold));
+        Thread.sleep(5 * TICK_MILLIS);
+
+        holdService.expireHolds();
+
+        assertEquals(Hold.Status.EXPIRED, hold.getStatus());
+        assertEquals(0, heldFunds.held(account.getId()));
+    }
+
+    private Hold place(String amount, Duration ttl) {
+        Hold hold = holdService.placeHold(account.getId(), new BigDecimal(amount), null, ttl).orElseThrow();
+        when(holdRepository.findById(hold.getId())).thenReturn(Optional.of(hold));
+        return hold;
+    }
+
+    private static long millis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Transaction manager without a resource: every transaction is new, and
+     * commits or rolls back by running its synchronizations.
+     */
+    private static final class SynchronizingTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.posting.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Account;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics.LedgerMetrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for {@link PostingPipeline}, with batch posters standing in for
+ * the ledger's database transaction.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+class PostingPipelineTest {
+
+    private static final int BATCH_SIZE = 3;
+    // Long enough for a whole batch to be queued before it is drained
+    private static final long MAX_WAIT_MICROS = TimeUnit.SECONDS.toMicros(5);
+
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    private PostingPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        pipeline.close();
+    }
+
+    @Test
+    void failsEveryPostingOfAFailedBatch() {
+        IllegalStateException failure = new IllegalStateException("Commit failed");
+        pipeline = pipeline(batch -> {
+            batchSizes.add(batch.size());
+            throw failure;
+        });
+
+        List<CompletableFuture<Optional<String>>> results = List.of(submit("a"), submit("b"), submit("c"));
+
+        for (CompletableFuture<Optional<String>> result : results) {
+            ExecutionException thrown = assertThrows(ExecutionException.class, () -> result.get(10, TimeUnit.SECONDS));
+            assertSame(failure, thrown.getCause());
+        }
+        assertEquals(List.of(BATCH_SIZE), batchSizes);
+    }
+
+    @Test
+    void completesEveryPostingOfACommittedBatch() throws Exception {
+        pipeline = pipeline(batch -> {
+            batchSizes.add(batch.size());
+            batch.forEach(posting -> {
+                posting.apply(Map.of());
+                posting.succeed();
+            });
+        });
+
+        List<CompletableFuture<Optional<String>>> results = List.of(submit("a"), submit("b"), submit("c"));
+
+        assertEquals(Optional.of("a"), results.get(0).get(10, TimeUnit.SECONDS));
+        assertEquals(Optional.of("c"), results.get(2).get(10, TimeUnit.SECONDS));
+        assertEquals(List.of(BATCH_SIZE), batchSizes);
+    }
+
+    @Test
+    void rejectsPostingsOnceClosed() {
+        pipeline = pipeline(batch -> batch.forEach(PostingPipeline.Posting::notFound));
+        pipeline.close();
+
+        assertThrows(RejectedExecutionException.class, () -> submit("late"));
+    }
+
+    private PostingPipeline pipeline(Consumer<List<PostingPipeline.Posting<?>>> batchPoster) {
+        return new PostingPipeline(16, BATCH_SIZE, MAX_WAIT_MICROS, 0, 1, batchPoster,
+                new LedgerMetrics(new SimpleMeterRegistry()));
+    }
+
+    private CompletableFuture<Optional<String>> submit(String outcome) {
+        return pipeline.submit(new PostingPipeline.Posting<>(List.of(UUID.randomUUID()),
+                (Map<UUID, Account> accounts) -> outcome, result -> List.of()));
+    }
+}
@@ -0,0 +1,141 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.rollups.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.rollups.models.AccountActivity;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.rollups.models.ActivityTotal;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.fx.services.ExchangeRateService;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Account;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRollup.Granularity;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRollupRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Transaction.TransactionType;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.Money;
+
+/**
+ * Unit tests for the range totals of {@link AccountActivityService}. The
+ * rollup repository sums in-memory postings per day or per month, and
+ * records the ranges it is asked for.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+class AccountActivityServiceTest {
+
+    private static final Currency EUR = Currency.getInstance("EUR");
+
+    private final AccountRepository accountRepository = mock(AccountRepository.class);
+    private final AccountRollupRepository rollupRepository = mock(AccountRollupRepository.class);
+    private final Account account = new Account(UUID.randomUUID(), EUR);
+    private final UUID accountId = account.getId();
+    private final List<Posting> postings = new ArrayList<>();
+    private final List<String> reads = new ArrayList<>();
+
+    private AccountActivityService activity;
+
+    @BeforeEach
+    void setUp() {
+        when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
+        when(rollupRepository.sumByType(eq(accountId), any(), any(), any())).thenAnswer(call -> {
+            Granularity granularity = call.getArgument(1);
+            LocalDate from = call.getArgument(2);
+            LocalDate to = call.getArgument(3);
+            reads.add(granularity + " " + from + ".." + to);
+            Map<TransactionType, long[]> totals = new EnumMap<>(TransactionType.class);
+            for (Posting posting : postings) {
+                LocalDate period = granularity.periodOf(posting.day());
+                if (!period.isBefore(from) && !period.isAfter(to)) {
+                    long[] sums = totals.computeIfAbsent(posting.type(), type -> new long[2]);
+                    sums[0]++;
+                    sums[1] += posting.amount();
+                }
+            }
+            List<AccountRollupRepository.TypeTotal> rows = new ArrayList<>();
+            totals.forEach((type, sums) -> rows.add(new AccountRollupRepository.TypeTotal(type, sums[0], sums[1])));
+            return rows;
+        });
+
+        activity = new AccountActivityService(accountRepository, rollupRepository, mock(ExchangeRateService.class),
+                400);
+        // One deposit a day and a withdrawal every tenth day, from December to May
+        for (LocalDate day = LocalDate.of(2025, 12, 1); day.isBefore(LocalDate.of(2026, 6, 1));
+                day = day.plusDays(1)) {
+            postings.add(new Posting(day, TransactionType.DEPOSIT, day.getDayOfMonth()));
+            if (day.getDayOfMonth() % 10 == 0) {
+                postings.add(new Posting(day, TransactionType.WITHDRAWAL, 100));
+            }
+        }
+    }
+
+    @Test
+    void readsTheWholeMonthsFromMonthlyRollupsAndTheEdgesFromDailyOnes() {
+        AccountActivity range = activity(LocalDate.of(2026, 1, 15), LocalDate.of(2026, 4, 10));
+
+        assertEquals(List.of("DAY 2026-01-15..2026-01-31", "MONTH 2026-02-01..2026-03-01",
+                "DAY 2026-04-01..2026-04-10"), reads);
+        assertEquals(expected(LocalDate.of(2026, 1, 15), LocalDate.of(2026, 4, 10)), range.totals());
+    }
+
+    @Test
+    void readsOnlyMonthlyRollupsForARangeOfWholeMonths() {
+        AccountActivity range = activity(LocalDate.of(2025, 12, 1), LocalDate.of(2026, 2, 28));
+
+        assertEquals(List.of("MONTH 2025-12-01..2026-02-01"), reads);
+        assertEquals(expected(LocalDate.of(2025, 12, 1), LocalDate.of(2026, 2, 28)), range.totals());
+    }
+
+    @Test
+    void readsOnlyDailyRollupsWithoutAWholeMonth() {
+        AccountActivity range = activity(LocalDate.of(2026, 1, 20), LocalDate.of(2026, 2, 27));
+
+        assertEquals(List.of("DAY 2026-01-20..2026-02-27"), reads);
+        assertEquals(expected(LocalDate.of(2026, 1, 20), LocalDate.of(2026, 2, 27)), range.totals());
+    }
+
+    @Test
+    void rejectsInvertedRanges() {
+        assertThrows(IllegalArgumentException.class,
+                () -> activity.getActivity(accountId, LocalDate.of(2026, 2, 1), LocalDate.of(2026, 1, 31)));
+    }
+
+    private AccountActivity activity(LocalDate from, LocalDate to) {
+        return activity.getActivity(accountId, from, to).orElseThrow();
+    }
+
+    /**
+     * Totals of the range summed straight from the postings.
+     */
+    private List<ActivityTotal> expected(LocalDate from, LocalDate to) {
+        Map<TransactionType, long[]> totals = new EnumMap<>(TransactionType.class);
+        postings.stream()
+                .filter(posting -> !posting.day().isBefore(from) && !posting.day().isAfter(to))
+                .forEach(posting -> {
+                    long[] sums = totals.computeIfAbsent(posting.type(), type -> new long[2]);
+                    sums[0]++;
+                    sums[1] += posting.amount();
+                });
+        List<ActivityTotal> expected = new ArrayList<>();
+        totals.forEach((type, sums) -> expected.add(new ActivityTotal(type, sums[0],
+                new Money(sums[1], EUR))));
+        return expected;
+    }
+
+    private record Posting(LocalDate day, TransactionType type, long amount) {
+    }
+}
@@ -0,0 +1,171 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.rollups.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.posting.services.LedgerService;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.rollups.models.RollupRebuild;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.rollups.ports.AccountRollupPort;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRollupDeltas;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.TransactionRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Transaction.TransactionType;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics.LedgerMetrics;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for {@link RollupRebuildService}. Accounts, daily totals and
+ * rollups are kept in memory; the ledger records which stripes each batch
+ * locks, so overlapping batches would show.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+class RollupRebuildServiceTest {
+
+    private static final Currency EUR = Currency.getInstance("EUR");
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 14);
+    private static final int STRIPES = 8;
+
+    private final AccountRepository accountRepository = mock(AccountRepository.class);
+    private final TransactionRepository transactionRepository = mock(TransactionRepository.class);
+    private final LedgerService ledgerService = mock(LedgerService.class);
+    /**
+     * Account ids in database order: unsigned, unlike {@link UUID#compareTo}
+     */
+    private final ConcurrentSkipListMap<UUID, Long> deposits = new ConcurrentSkipListMap<>(
+            Comparator.comparing(UUID::toString));
+    /**
+     * Rollup rows by account
+     */
+    private final Map<UUID, List<AccountRollupDeltas.Delta>> rollups = new ConcurrentHashMap<>();
+    /**
+     * Stripes locked by the batches in flight
+     */
+    private final Set<Integer> locked = ConcurrentHashMap.newKeySet();
+    private final Set<String> workers = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> failing = ConcurrentHashMap.newKeySet();
+
+    private RollupRebuildService rebuilds;
+
+    @BeforeEach
+    void setUp() {
+        when(accountRepository.findIdsAfter(any(), any())).thenAnswer(call -> {
+            UUID after = call.getArgument(0);
+            Limit limit = call.getArgument(1);
+            return deposits.tailMap(after, false).keySet().stream().limit(limit.max()).toList();
+        });
+        when(transactionRepository.sumByDay(anyCollection())).thenAnswer(call -> {
+            Collection<UUID> ids = call.getArgument(0);
+            if (ids.stream().anyMatch(failing::contains)) {
+                throw new IllegalStateException("Database unavailable");
+            }
+            return ids.stream()
+                    .map(id -> new TransactionRepository.DailyTotal(id, EUR, TransactionType.DEPOSIT, DAY,
+                            deposits.get(id), 100 * deposits.get(id)))
+                    .toList();
+        });
+        when(ledgerService.lockStripe(any())).thenAnswer(call -> Math.floorMod(call.getArgument(0).hashCode(),
+                STRIPES));
+        when(ledgerService.withPostingLocks(anyCollection(), any())).thenAnswer(call -> {
+            Collection<UUID> ids = call.getArgument(0);
+            Set<Integer> stripes = new HashSet<>();
+            ids.forEach(id -> stripes.add(ledgerService.lockStripe(id)));
+            for (Integer stripe : stripes) {
+                assertTrue(locked.add(stripe), "Stripe " + stripe + " locked by two batches");
+            }
+            workers.add(Thread.currentThread().getName());
+            try {
+                Supplier<?> operation = call.getArgument(1);
+                return operation.get();
+            } finally {
+                locked.removeAll(stripes);
+            }
+        });
+        AccountRollupPort port = new AccountRollupPort() {
+
+            @Override
+            public void add(AccountRollupDeltas deltas) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public int replace(Collection<UUID> accountIds, AccountRollupDeltas deltas) {
+                accountIds.forEach(rollups::remove);
+                List<AccountRollupDeltas.Delta> rows = deltas.deltas();
+                rows.forEach(delta -> rollups.merge(delta.period().accountId(), List.of(delta),
+                        (written, more) -> Stream.concat(written.stream(), more.stream()).toList()));
+                return rows.size();
+            }
+        };
+
+        rebuilds = new RollupRebuildService(accountRepository, transactionRepository, port, ledgerService,
+                new LedgerMetrics(new SimpleMeterRegistry()), mock(PlatformTransactionManager.class), 4, 3);
+    }
+
+    @Test
+    void rebuildsEveryAccountInParallelBatchesOfDisjointStripes() {
+        for (int i = 1; i <= 25; i++) {
+            deposits.put(UUID.randomUUID(), (long) i);
+        }
+        // Stale rows of an account are replaced
+        UUID first = deposits.firstKey();
+        AccountRollupDeltas stale = new AccountRollupDeltas();
+        stale.add(first, EUR, TransactionType.WITHDRAWAL, DAY.minusYears(1), 1, 1);
+        rollups.put(first, stale.deltas());
+
+        RollupRebuild rebuild = rebuilds.rebuild();
+
+        assertEquals(25, rebuild.accounts());
+        assertEquals(50, rebuild.rows());
+        assertEquals(deposits.keySet(), rollups.keySet());
+        deposits.forEach((id, count) -> {
+            List<AccountRollupDeltas.Delta> rows = rollups.get(id);
+            assertEquals(2, rows.size());
+            rows.forEach(row -> {
+                assertEquals(TransactionType.DEPOSIT, row.period().type());
+                assertEquals(count, row.transactionCount());
+                assertEquals(100 * count, row.amountMinorUnits());
+            });
+        });
+        assertTrue(workers.size() > 1, "Batches ran on " + workers);
+    }
+
+    @Test
+    void failedBatchFailsTheRebuildWhichCanBeStartedAgain() {
+        for (int i = 1; i <= 10; i++) {
+            deposits.put(UUID.randomUUID(), (long) i);
+        }
+        failing.add(deposits.lastKey());
+
+        assertThrows(IllegalStateException.class, rebuilds::rebuild);
+
+        failing.clear();
+        assertEquals(10, rebuilds.rebuild().accounts());
+        assertEquals(deposits.keySet(), rollups.keySet());
+    }
+}
@@ -0,0 +1,179 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.snapshots.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Account;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.BalanceSnapshot;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.BalanceSnapshotRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.BalanceSnapshotRun;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.BalanceSnapshotRunRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.TransactionRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics.LedgerMetrics;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for {@link BalanceSnapshotService}. The repositories keep their
+ * rows in memory; like the primary key, the snapshot store refuses a second
+ * snapshot of an account for the same day.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+class BalanceSnapshotServiceTest {
+
+    private static final Currency EUR = Currency.getInstance("EUR");
+    private static final LocalDate DAY = LocalDate.now().minusDays(2);
+    private static final LocalDateTime END = DAY.plusDays(1).atStartOfDay();
+
+    private final AccountRepository accountRepository = mock(AccountRepository.class);
+    private final TransactionRepository transactionRepository = mock(TransactionRepository.class);
+    private final BalanceSnapshotRepository snapshotRepository = mock(BalanceSnapshotRepository.class);
+    private final BalanceSnapshotRunRepository runRepository = mock(BalanceSnapshotRunRepository.class);
+    /**
+     * Accounts in database order: unsigned, unlike {@link UUID#compareTo}
+     */
+    private final ConcurrentSkipListMap<UUID, Account> accounts = new ConcurrentSkipListMap<>(
+            Comparator.comparing(UUID::toString));
+    /**
+     * Closing balance of the accounts that posted after the day ended
+     */
+    private final Map<UUID, Long> closing = new ConcurrentHashMap<>();
+    private final Map<BalanceSnapshot.Key, BalanceSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<LocalDate, BalanceSnapshotRun> runs = new ConcurrentHashMap<>();
+    private final List<UUID> chunkStarts = new CopyOnWriteArrayList<>();
+    private final Set<UUID> failing = ConcurrentHashMap.newKeySet();
+
+    private BalanceSnapshotService service;
+
+    @BeforeEach
+    void setUp() {
+        when(accountRepository.findChunkAfter(any(), any(), any())).thenAnswer(call -> {
+            UUID after = call.getArgument(0);
+            Limit limit = call.getArgument(2);
+            chunkStarts.add(after);
+            return accounts.tailMap(after, false).values().stream().limit(limit.max()).toList();
+        });
+        when(transactionRepository.findBalanceBefore(any(), any(), any()))
+                .thenAnswer(call -> Optional.ofNullable(closing.get(call.getArgument(0))).stream().toList());
+        when(snapshotRepository.saveAll(anyIterable())).thenAnswer(call -> {
+            Iterable<BalanceSnapshot> written = call.getArgument(0);
+            for (BalanceSnapshot snapshot : written) {
+                if (failing.contains(snapshot.getAccountId())) {
+                    throw new IllegalStateException("Database unavailable");
+                }
+                if (snapshots.putIfAbsent(snapshot.getId(), snapshot) != null) {
+                    throw new IllegalStateException("Duplicate snapshot of " + snapshot.getAccountId());
+                }
+            }
+            return List.of();
+        });
+        when(snapshotRepository.deleteChunk(any(), anyCollection())).thenAnswer(call -> {
+            LocalDate day = call.getArgument(0);
+            Collection<UUID> ids = call.getArgument(1);
+            return (int) ids.stream().filter(id -> snapshots.remove(new BalanceSnapshot.Key(id, day)) != null)
+                    .count();
+        });
+        when(runRepository.findById(any())).thenAnswer(call -> Optional.ofNullable(runs.get(call.getArgument(0))));
+        when(runRepository.save(any())).thenAnswer(call -> {
+            BalanceSnapshotRun run = call.getArgument(0);
+            runs.put(run.getSnapshotDate(), run);
+            return run;
+        });
+
+        service = new BalanceSnapshotService(accountRepository, transactionRepository, snapshotRepository,
+                runRepository, new LedgerMetrics(new SimpleMeterRegistry()), mock(PlatformTransactionManager.class),
+                true, 2, 1, 5, 31);
+    }
+
+    @Test
+    void takesTheClosingBalanceFromTheAccountOrItsLastTransactionOfTheDay() {
+        Account idle = open();
+        Account settled = open();
+        settled.deposit(new BigDecimal("100.00"), null);
+        ReflectionTestUtils.setField(settled, "lastPostedAt", END.minusHours(1));
+        Account busy = open();
+        busy.deposit(new BigDecimal("100.00"), null);
+        closing.put(busy.getId(), 4200L);
+
+        assertTrue(service.snapshot(DAY));
+
+        assertEquals(0, balance(idle));
+        assertEquals(10000, balance(settled));
+        assertEquals(4200, balance(busy));
+        assertTrue(runs.get(DAY).isComplete());
+        assertEquals(3, runs.get(DAY).getAccounts());
+        // Once complete, the day is not snapshotted again
+        assertFalse(service.snapshot(DAY));
+    }
+
+    @Test
+    void interruptedRunResumesFromItsCheckpoint() {
+        for (int i = 0; i < 6; i++) {
+            open();
+        }
+        List<UUID> ids = new ArrayList<>(accounts.keySet());
+        failing.add(ids.get(2));
+
+        assertThrows(IllegalStateException.class, () -> service.snapshot(DAY));
+        BalanceSnapshotRun interrupted = runs.get(DAY);
+        assertFalse(interrupted.isComplete());
+        assertEquals(ids.get(1), interrupted.getLastAccountId());
+        assertEquals(2, interrupted.getAccounts());
+
+        failing.clear();
+        chunkStarts.clear();
+        assertTrue(service.snapshot(DAY));
+
+        // Reading restarts after the checkpoint; chunks written past it are replaced, not duplicated
+        assertEquals(ids.get(1), chunkStarts.get(0));
+        assertTrue(runs.get(DAY).isComplete());
+        assertEquals(6, runs.get(DAY).getAccounts());
+        assertEquals(6, snapshots.size());
+    }
+
+    @Test
+    void refusesDaysThatHaveNotEnded() {
+        assertThrows(IllegalArgumentException.class, () -> service.snapshot(LocalDate.now()));
+    }
+
+    private Account open() {
+        Account account = new Account(UUID.randomUUID(), EUR);
+        accounts.put(account.getId(), account);
+        return account;
+    }
+
+    private long balance(Account account) {
+        return snapshots.get(new BalanceSnapshot.Key(account.getId(), DAY)).getBalanceMinorUnits();
+    }
+}
@@ -0,0 +1,149 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.snapshots.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.snapshots.models.PointInTimeBalance;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Account;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.BalanceSnapshot;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.BalanceSnapshotRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.TransactionRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.Money;
+
+/**
+ * Unit tests for {@link PointInTimeBalanceService}. The repositories answer
+ * from in-memory snapshots and postings, applying the same bounds as their
+ * queries.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+class PointInTimeBalanceServiceTest {
+
+    private static final Currency EUR = Currency.getInstance("EUR");
+    private static final LocalDate MONDAY = LocalDate.of(2026, 3, 2);
+
+    private final AccountRepository accountRepository = mock(AccountRepository.class);
+    private final BalanceSnapshotRepository snapshotRepository = mock(BalanceSnapshotRepository.class);
+    private final TransactionRepository transactionRepository = mock(TransactionRepository.class);
+    private final Account account = new Account(UUID.randomUUID(), EUR);
+    private final UUID accountId = account.getId();
+    private final List<BalanceSnapshot> snapshots = new ArrayList<>();
+    /**
+     * Postings as (timestamp, balance after) pairs
+     */
+    private final List<Posting> postings = new ArrayList<>();
+
+    private PointInTimeBalanceService balances;
+
+    @BeforeEach
+    void setUp() {
+        when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
+        when(snapshotRepository.findFirstByAccountIdAndSnapshotDateLessThanOrderBySnapshotDateDesc(eq(accountId),
+                any())).thenAnswer(call -> {
+                    LocalDate before = call.getArgument(1);
+                    return snapshots.stream()
+                            .filter(snapshot -> snapshot.getSnapshotDate().isBefore(before))
+                            .max(Comparator.comparing(BalanceSnapshot::getSnapshotDate));
+                });
+        when(transactionRepository.findBalanceBetween(eq(accountId), any(), any(), any()))
+                .thenAnswer(call -> latest(call.getArgument(1), call.getArgument(2)));
+        when(transactionRepository.findBalanceBefore(eq(accountId), any(), any()))
+                .thenAnswer(call -> latest(LocalDateTime.MIN, call.getArgument(1)));
+
+        balances = new PointInTimeBalanceService(accountRepository, snapshotRepository, transactionRepository);
+    }
+
+    @Test
+    void addsThePostingsSinceTheNearestEarlierSnapshot() {
+        post(MONDAY.atTime(10, 0), 1000);
+        snapshots.add(new BalanceSnapshot(accountId, MONDAY, 1000));
+        post(MONDAY.plusDays(1).atTime(9, 0), 1500);
+        snapshots.add(new BalanceSnapshot(accountId, MONDAY.plusDays(1), 1500));
+        post(MONDAY.plusDays(2).atTime(8, 0), 1700);
+        post(MONDAY.plusDays(2).atTime(12, 0), 2500);
+
+        PointInTimeBalance balance = balance(MONDAY.plusDays(2).atTime(11, 0));
+
+        assertEquals(new Money(1700, EUR), balance.balance());
+        assertEquals(MONDAY.plusDays(1), balance.snapshotDate());
+        // Only the postings after the snapshot are read
+        verify(transactionRepository).findBalanceBetween(eq(accountId), eq(MONDAY.plusDays(2).atStartOfDay()),
+                any(), any());
+        verify(transactionRepository, never()).findBalanceBefore(any(), any(), any());
+    }
+
+    @Test
+    void fallsBackToTheSnapshotWithoutLaterPostings() {
+        snapshots.add(new BalanceSnapshot(accountId, MONDAY, 1000));
+        post(MONDAY.plusDays(1).atTime(12, 0), 3000);
+
+        assertEquals(new Money(1000, EUR), balance(MONDAY.plusDays(1).atTime(11, 59)).balance());
+        // Postings at the instant are not included
+        assertEquals(new Money(1000, EUR), balance(MONDAY.plusDays(1).atTime(12, 0)).balance());
+    }
+
+    @Test
+    void ignoresSnapshotsOfTheInstantsOwnDay() {
+        post(MONDAY.atTime(10, 0), 1000);
+        post(MONDAY.atTime(18, 0), 1200);
+        snapshots.add(new BalanceSnapshot(accountId, MONDAY, 1200));
+
+        PointInTimeBalance balance = balance(MONDAY.atTime(12, 0));
+
+        assertEquals(new Money(1000, EUR), balance.balance());
+        assertNull(balance.snapshotDate());
+    }
+
+    @Test
+    void answersZeroBeforeTheFirstPosting() {
+        post(MONDAY.atTime(10, 0), 1000);
+
+        assertEquals(new Money(0, EUR), balance(MONDAY.atTime(9, 0)).balance());
+    }
+
+    @Test
+    void answersEmptyForUnknownAccountsAndRejectsAMissingInstant() {
+        assertTrue(balances.getBalanceAt(UUID.randomUUID(), MONDAY.atStartOfDay()).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> balances.getBalanceAt(accountId, null));
+    }
+
+    private PointInTimeBalance balance(LocalDateTime at) {
+        return balances.getBalanceAt(accountId, at).orElseThrow();
+    }
+
+    private void post(LocalDateTime timestamp, long balanceAfter) {
+        postings.add(new Posting(timestamp, balanceAfter));
+    }
+
+    private List<Long> latest(LocalDateTime from, LocalDateTime before) {
+        return postings.stream()
+                .filter(posting -> !posting.timestamp().isBefore(from) && posting.timestamp().isBefore(before))
+                .max(Comparator.comparing(Posting::timestamp))
+                .map(posting -> List.of(posting.balanceAfter()))
+                .orElse(List.of());
+    }
+
+    private record Posting(LocalDateTime timestamp, long balanceAfter) {
+    }
+}
@@ -0,0 +1,194 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.statements.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.statements.models.StatementCursor;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.statements.models.StatementPage;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Account;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Transaction;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.TransactionRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.Money;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for {@link StatementService}. The repository answers the
+ * statement queries from a list kept in {@code (timestamp, id)} order,
+ * applying the same keyset predicate as its JPQL.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+class StatementServiceTest {
+
+    private static final Currency EUR = Currency.getInstance("EUR");
+    private static final LocalDate FROM = LocalDate.of(2026, 3, 1);
+    private static final LocalDate TO = LocalDate.of(2026, 3, 31);
+    private static final Comparator<Transaction> KEYSET = Comparator.comparing(Transaction::getTimestamp)
+            .thenComparing(Transaction::getId);
+
+    private final UUID accountId = UUID.randomUUID();
+    private final List<Transaction> rows = new ArrayList<>();
+    private StatementService statements;
+
+    @BeforeEach
+    void setUp() {
+        AccountRepository accountRepository = mock(AccountRepository.class);
+        when(accountRepository.findById(accountId)).thenReturn(Optional.of(new Account(UUID.randomUUID(), EUR)));
+
+        TransactionRepository transactionRepository = mock(TransactionRepository.class);
+        when(transactionRepository.findStatementPage(eq(accountId), any(), any(), any()))
+                .thenAnswer(call -> page(call.getArgument(1), call.getArgument(2), call.getArgument(3), t -> true));
+        when(transactionRepository.findStatementPageAfter(eq(accountId), any(), any(), any(), any(), any()))
+                .thenAnswer(call -> {
+                    LocalDateTime lastTimestamp = call.getArgument(3);
+                    UUID lastId = call.getArgument(4);
+                    return page(call.getArgument(1), call.getArgument(2), call.getArgument(5),
+                            t -> t.getTimestamp().isAfter(lastTimestamp)
+                                    || t.getTimestamp().equals(lastTimestamp) && t.getId().compareTo(lastId) > 0);
+                });
+        when(transactionRepository.findBalanceBefore(eq(accountId), any(), any())).thenAnswer(call -> {
+            LocalDateTime before = call.getArgument(1);
+            return rows.stream()
+                    .filter(t -> t.getTimestamp().isBefore(before))
+                    .max(KEYSET)
+                    .map(t -> List.of(t.getBalanceAfterMinorUnits()))
+                    .orElse(List.of());
+        });
+
+        statements = new StatementService(accountRepository, transactionRepository, null, 500);
+    }
+
+    @Test
+    void pagesThroughEqualTimestampsWithoutSkippingOrRepeatingRows() {
+        LocalDateTime busy = FROM.atTime(12, 0);
+        post(FROM.minusDays(1).atTime(9, 0));
+        // Two pages of two break inside this group of five
+        for (int i = 0; i < 5; i++) {
+            post(busy);
+        }
+        post(FROM.atTime(18, 0));
+        post(FROM.atTime(18, 0));
+        post(TO.plusDays(1).atStartOfDay());
+        List<Transaction> period = rows.subList(1, 8);
+
+        List<Transaction> seen = new ArrayList<>();
+        List<Integer> sizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            StatementPage page = statements.getStatement(accountId, FROM, TO, cursor, 2, null).orElseThrow();
+            seen.addAll(page.transactions());
+            sizes.add(page.transactions().size());
+            cursor = page.nextCursor() == null ? null : page.nextCursor().encode();
+        } while (cursor != null);
+
+        assertEquals(List.of(2, 2, 2, 1), sizes);
+        assertEquals(period.stream().map(Transaction::getId).toList(), seen.stream().map(Transaction::getId).toList());
+    }
+
+    @Test
+    void lastFullPageHasNoCursor() {
+        post(FROM.atTime(12, 0));
+        post(FROM.atTime(12, 0));
+
+        StatementPage page = statements.getStatement(accountId, FROM, TO, null, 2, null).orElseThrow();
+
+        assertEquals(2, page.transactions().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void balancesComeFromTheLastRowsBeforeAndInThePeriod() {
+        LocalDateTime open = FROM.minusDays(1).atTime(23, 0);
+        post(open);
+        // Same timestamp as the first row: the tie-break by id picks the opening balance
+        post(open);
+        post(TO.atTime(23, 59));
+        post(TO.atTime(23, 59));
+        post(TO.plusDays(1).atStartOfDay());
+
+        StatementPage page = statements.getStatement(accountId, FROM, TO, null, 10, null).orElseThrow();
+
+        assertEquals(new Money(rows.get(1).getBalanceAfterMinorUnits(), EUR), page.openingBalance());
+        assertEquals(new Money(rows.get(3).getBalanceAfterMinorUnits(), EUR), page.closingBalance());
+        assertEquals(2, page.transactions().size());
+    }
+
+    @Test
+    void emptyHistoryHasZeroBalances() {
+        StatementPage page = statements.getStatement(accountId, FROM, TO, null, 10, null).orElseThrow();
+
+        assertTrue(page.transactions().isEmpty());
+        assertEquals(new Money(0, EUR), page.openingBalance());
+        assertEquals(new Money(0, EUR), page.closingBalance());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void cursorRoundTrips() {
+        LocalDateTime timestamp = LocalDateTime.of(2026, 3, 1, 12, 0, 0, 123_000);
+        StatementCursor cursor = new StatementCursor(timestamp, UUID.randomUUID());
+
+        assertEquals(cursor, StatementCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        String noSeparator = encode("2026-03-01T12:00");
+        String badId = encode("2026-03-01T12:00|x");
+        String badTimestamp = encode("yesterday|" + UUID.randomUUID());
+
+        for (String cursor : List.of("not base64!", noSeparator, badId, badTimestamp)) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> statements.getStatement(accountId, FROM, TO, cursor, 2, null), cursor);
+        }
+    }
+
+    private static String encode(String cursor) {
+        return Base64.getUrlEncoder().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Adds a row at the given time; balances grow by 10 in keyset order.
+     */
+    private void post(LocalDateTime timestamp) {
+        rows.add(new Transaction(accountId, Transaction.TransactionType.DEPOSIT, new Money(10, EUR), null,
+                new Money(0, EUR), timestamp));
+        rows.sort(KEYSET);
+        long balance = 0;
+        for (Transaction row : rows) {
+            balance += 10;
+            ReflectionTestUtils.setField(row, "balanceAfterMinorUnits", balance);
+        }
+    }
+
+    private List<Transaction> page(LocalDateTime from, LocalDateTime to, Limit limit, Predicate<Transaction> after) {
+        return rows.stream()
+                .filter(t -> !t.getTimestamp().isBefore(from) && t.getTimestamp().isBefore(to))
+                .filter(after)
+                .limit(limit.max())
+                .toList();
+    }
+}
@@ -0,0 +1,256 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.transfers.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.StreamSupport;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.posting.services.LedgerService;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Account;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Transaction;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.TransferSaga;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.TransferSagaRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics.LedgerMetrics;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for {@link TransferSagaService}. The repositories keep their
+ * rows in memory and the ledger runs bulk postings in a transaction whose
+ * synchronizations fire, so the sagas move on from step to step on the
+ * workers as they would against the database.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+class TransferSagaServiceTest {
+
+    private static final Currency EUR = Currency.getInstance("EUR");
+    private static final Duration WAIT = Duration.ofSeconds(5);
+
+    private final AccountRepository accountRepository = mock(AccountRepository.class);
+    private final TransferSagaRepository sagaRepository = mock(TransferSagaRepository.class);
+    private final LedgerService ledgerService = mock(LedgerService.class);
+    private final Map<UUID, Account> accounts = new ConcurrentHashMap<>();
+    private final Map<UUID, TransferSaga> sagas = new ConcurrentHashMap<>();
+    /**
+     * Accounts whose postings fail as if the database were unavailable
+     */
+    private final Set<UUID> failing = ConcurrentHashMap.newKeySet();
+
+    private TransferSagaService transfers;
+
+    @BeforeEach
+    void setUp() {
+        SynchronizingTransactionManager transactionManager = new SynchronizingTransactionManager();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        when(accountRepository.findById(any()))
+                .thenAnswer(call -> Optional.ofNullable(accounts.get(call.getArgument(0))));
+        when(sagaRepository.save(any())).thenAnswer(call -> {
+            TransferSaga saga = call.getArgument(0);
+            sagas.put(saga.getId(), saga);
+            return saga;
+        });
+        when(sagaRepository.findById(any())).thenAnswer(call -> Optional.ofNullable(sagas.get(call.getArgument(0))));
+        when(sagaRepository.findAllById(anyIterable())).thenAnswer(call -> {
+            Iterable<UUID> ids = call.getArgument(0);
+            return StreamSupport.stream(ids.spliterator(), false).map(sagas::get).toList();
+        });
+        when(sagaRepository.findStalledIds(any(), any())).thenAnswer(call -> {
+            LocalDateTime before = call.getArgument(0);
+            Limit limit = call.getArgument(1);
+            return sagas.values().stream()
+                    .filter(saga -> !saga.getStatus().isTerminal() && saga.getUpdatedAt().isBefore(before))
+                    .limit(limit.max())
+                    .map(TransferSaga::getId)
+                    .toList();
+        });
+        when(ledgerService.lockStripe(any())).thenAnswer(call -> call.getArgument(0).hashCode() & 0xff);
+        when(ledgerService.admitDebit(any(), any())).thenAnswer(call -> call.getArgument(1));
+        when(ledgerService.postBulk(anyCollection(), any())).thenAnswer(call -> {
+            Collection<UUID> ids = call.getArgument(0);
+            if (ids.stream().anyMatch(failing::contains)) {
+                throw new IllegalStateException("Database unavailable");
+            }
+            Function<Map<UUID, Account>, List<Transaction>> operation = call.getArgument(1);
+            return transactionTemplate.execute(status -> {
+                Map<UUID, Account> loaded = new HashMap<>();
+                ids.forEach(id -> loaded.put(id, accounts.get(id)));
+                return operation.apply(loaded);
+            });
+        });
+
+        transfers = new TransferSagaService(ledgerService, accountRepository, sagaRepository,
+                new LedgerMetrics(new SimpleMeterRegistry()), transactionManager, 2, 100, 10, 0, 100,
+                WAIT.toMillis());
+    }
+
+    @AfterEach
+    void tearDown() {
+        transfers.stop();
+    }
+
+    @Test
+    void debitsThenCreditsToComplete() throws Exception {
+        Account from = open("100.00");
+        Account to = open("0.00");
+
+        TransferSaga saga = initiate(from, to, "30.00");
+        TransferSaga outcome = await(saga);
+
+        assertEquals(TransferSaga.Status.COMPLETED, outcome.getStatus());
+        assertNotNull(outcome.getDebitTransactionId());
+        assertNotNull(outcome.getCreditTransactionId());
+        assertEquals(new BigDecimal("70.00"), from.getBalance().toBigDecimal());
+        assertEquals(new BigDecimal("30.00"), to.getBalance().toBigDecimal());
+        assertTrue(outcomes().isEmpty());
+    }
+
+    @Test
+    void refusedDebitRejectsWithoutPosting() throws Exception {
+        Account from = open("10.00");
+        Account to = open("0.00");
+
+        TransferSaga outcome = await(initiate(from, to, "30.00"));
+
+        assertEquals(TransferSaga.Status.REJECTED, outcome.getStatus());
+        assertEquals("Insufficient funds", outcome.getFailureReason());
+        assertEquals(new BigDecimal("10.00"), from.getBalance().toBigDecimal());
+        assertEquals(new BigDecimal("0.00"), to.getBalance().toBigDecimal());
+    }
+
+    @Test
+    void refusedCreditReversesTheDebit() throws Exception {
+        Account from = open("100.00");
+        Account to = open("0.00");
+        to.close();
+
+        TransferSaga outcome = await(initiate(from, to, "30.00"));
+
+        assertEquals(TransferSaga.Status.COMPENSATED, outcome.getStatus());
+        assertNotNull(outcome.getCompensationTransactionId());
+        assertEquals(new BigDecimal("100.00"), from.getBalance().toBigDecimal());
+    }
+
+    @Test
+    void duplicateStepsAreSkippedAndStalledSagasResumed() throws Exception {
+        Account from = open("100.00");
+        Account to = open("0.00");
+        failing.add(to.getId());
+        TransferSaga saga = initiate(from, to, "30.00");
+        awaitStatus(saga, TransferSaga.Status.DEBITED);
+
+        // A debit step queued twice, e.g. by the sweep while the first one ran
+        ReflectionTestUtils.invokeMethod(transfers, "runSteps", from.getId(), List.of(saga.getId()));
+
+        assertEquals(new BigDecimal("70.00"), from.getBalance().toBigDecimal());
+        assertEquals(TransferSaga.Status.DEBITED, saga.getStatus());
+
+        failing.clear();
+        Thread.sleep(5);
+        transfers.resumeStalled();
+
+        assertEquals(TransferSaga.Status.COMPLETED, await(saga).getStatus());
+        assertEquals(new BigDecimal("70.00"), from.getBalance().toBigDecimal());
+        assertEquals(new BigDecimal("30.00"), to.getBalance().toBigDecimal());
+    }
+
+    @Test
+    void waitTimesOutWithTheCurrentStateAndForgetsTheWaiter() throws Exception {
+        Account from = open("100.00");
+        Account to = open("0.00");
+        failing.add(from.getId());
+        TransferSaga saga = initiate(from, to, "30.00");
+
+        Optional<TransferSaga> current = transfers.awaitTransfer(saga.getId(), Duration.ofMillis(50))
+                .get(WAIT.toMillis(), TimeUnit.MILLISECONDS);
+
+        assertEquals(TransferSaga.Status.INITIATED, current.orElseThrow().getStatus());
+        assertTrue(outcomes().isEmpty());
+    }
+
+    private Account open(String balance) {
+        Account account = new Account(UUID.randomUUID(), EUR);
+        BigDecimal opening = new BigDecimal(balance);
+        if (opening.signum() > 0) {
+            account.deposit(opening, null);
+        }
+        accounts.put(account.getId(), account);
+        return account;
+    }
+
+    private TransferSaga initiate(Account from, Account to, String amount) {
+        return transfers.initiate(from.getId(), to.getId(), new BigDecimal(amount), "Rent").orElseThrow();
+    }
+
+    private TransferSaga await(TransferSaga saga) throws Exception {
+        return transfers.awaitTransfer(saga.getId(), WAIT).get(2 * WAIT.toMillis(), TimeUnit.MILLISECONDS)
+                .orElseThrow();
+    }
+
+    private static void awaitStatus(TransferSaga saga, TransferSaga.Status status) throws InterruptedException {
+        long deadline = System.nanoTime() + WAIT.toNanos();
+        while (saga.getStatus() != status && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(status, saga.getStatus());
+    }
+
+    private Map<?, ?> outcomes() {
+        return (Map<?, ?>) ReflectionTestUtils.getField(transfers, "outcomes");
+    }
+
+    /**
+     * Runs no real transaction but fires the synchronizations, so steps
+     * registered to run after the commit do.
+     */
+    private static final class SynchronizingTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.application.client.usecases.statistics.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.ClientRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.ClientStatus;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.events.ClientCreatedEvent;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.vo.ClientType;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics.ClientMetrics;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for {@link ClientCountersService}. Clients are created in
+ * transactions that insert into an in-memory row count on commit, before
+ * their events are applied, as with the database.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+class ClientCountersServiceTest {
+
+    private static final ClientStatus.Status ACTIVE = ClientStatus.Status.ACTIVE;
+
+    private final ClientRepository clientRepository = mock(ClientRepository.class);
+    private final SynchronizingTransactionManager transactionManager = new SynchronizingTransactionManager();
+    /**
+     * Committed active individual clients
+     */
+    private final AtomicInteger table = new AtomicInteger();
+    private ClientCountersService counters;
+
+    @BeforeEach
+    void setUp() {
+        counters = new ClientCountersService(clientRepository, new ClientMetrics(new SimpleMeterRegistry()));
+        transactionManager.onCommit = table::incrementAndGet;
+    }
+
+    @Test
+    void reconcileCorrectsDrift() {
+        create();
+        when(clientRepository.countByStatusAndType()).thenReturn(List.of(row(ClientType.BUSINESS, 3)));
+
+        counters.reconcile();
+
+        assertEquals(0, counters.countByType(ClientType.INDIVIDUAL));
+        assertEquals(3, counters.countByType(ClientType.BUSINESS));
+    }
+
+    @Test
+    void reconcileKeepsEventsAppliedDuringTheQuery() {
+        create();
+        AtomicInteger queries = new AtomicInteger();
+        when(clientRepository.countByStatusAndType()).thenAnswer(call -> {
+            int committed = table.get();
+            if (queries.incrementAndGet() == 1) {
+                // Committed after the query read the table
+                create();
+            }
+            return List.of(row(ClientType.INDIVIDUAL, committed));
+        });
+
+        counters.reconcile();
+
+        assertEquals(2, counters.countByType(ClientType.INDIVIDUAL));
+        assertEquals(2, counters.countByStatus(ACTIVE));
+        verify(clientRepository, times(2)).countByStatusAndType();
+    }
+
+    @Test
+    void reconcileDoesNotCountACommitSeenBeforeItsEvent() throws Exception {
+        create();
+        CountDownLatch committed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        transactionManager.onCommit = () -> {
+            table.incrementAndGet();
+            committed.countDown();
+            await(release);
+        };
+        Thread writer = new Thread(this::create);
+        writer.start();
+        assertTrue(committed.await(5, TimeUnit.SECONDS));
+        when(clientRepository.countByStatusAndType())
+                .thenAnswer(call -> List.of(row(ClientType.INDIVIDUAL, table.get())));
+
+        // The query sees the second client while its event is pending, so the correction waits
+        counters.reconcile();
+        release.countDown();
+        writer.join();
+
+        assertEquals(2, counters.countByType(ClientType.INDIVIDUAL));
+        verify(clientRepository, atLeast(2)).countByStatusAndType();
+        assertNull(counters.getSummary().lastReconciledAt());
+    }
+
+    private void create() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> counters.onClientCreated(new ClientCreatedEvent(UUID.randomUUID(), ACTIVE,
+                        ClientType.INDIVIDUAL)));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ClientRepository.StatusTypeCount row(ClientType type, long total) {
+        return new ClientRepository.StatusTypeCount() {
+            @Override
+            public ClientStatus.Status getStatus() {
+                return ACTIVE;
+            }
+
+            @Override
+            public ClientType getType() {
+                return type;
+            }
+
+            @Override
+            public long getTotal() {
+                return total;
+            }
+        };
+    }
+
+    /**
+     * Runs no real transaction but fires the synchronizations, after running
+     * {@link #onCommit} as the commit.
+     */
+    private static final class SynchronizingTransactionManager extends AbstractPlatformTransactionManager {
+
+        private volatile Runnable onCommit = () -> {
+        };
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            onCommit.run();
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
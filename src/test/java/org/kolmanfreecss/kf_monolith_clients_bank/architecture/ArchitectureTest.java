@@ -83,8 +83,10 @@ class ArchitectureTest {
             .mayOnlyBeAccessedByLayers("DomainRepositories", "ApplicationUseCases", "Domain")
             .whereLayer("DomainRepositories")
             .mayOnlyBeAccessedByLayers("InfrastructurePersistence", "ApplicationUseCases", "Domain")
+            /* Use cases live in "usecases" packages, which "ApplicationUseCases" does not match */
             .whereLayer("DomainValueObjects")
-            .mayOnlyBeAccessedByLayers("Domain", "DomainEntities", "ApplicationUseCases", "DomainRepositories")
+            .mayOnlyBeAccessedByLayers("Domain", "DomainEntities", "ApplicationUseCases", "DomainRepositories",
+                    "Application")
 
             /* Infrastructure layer rules */
             .whereLayer("InfrastructurePersistence").mayOnlyBeAccessedByLayers("InfrastructureConfig")
@@ -135,7 +137,11 @@ class ArchitectureTest {
                     /* Ports for external interactions */
                     "..application..client..usecases..permissions..ports..",
                     /* Permission-specific services */
-                    "..application..client..usecases..permissions..services..")
+                    "..application..client..usecases..permissions..services..",
+                    /* Services for account subdomain */
+                    "..application..account..services..",
+                    /* Ledger posting use cases */
+                    "..application..account..usecases..")
             .allowEmptyShould(true);
 
     /*
@@ -170,6 +176,8 @@ class ArchitectureTest {
                     "..infrastructure..adapters..in..rest..",
                     /* Outgoing external system adapters */
                     "..infrastructure..adapters..out..external..",
+                    /* Outgoing transaction journal adapter */
+                    "..infrastructure..adapters..out..journal..",
                     /* Infrastructure configuration */
                     "..infrastructure..config..")
             .allowEmptyShould(true);
@@ -0,0 +1,183 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.posting.services.LedgerService;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.rollups.models.AccountActivity;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.rollups.models.ActivityTotal;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.rollups.models.RollupRebuild;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.rollups.services.AccountActivityService;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.rollups.services.RollupRebuildService;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Transaction.TransactionType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Account rollup rebuild, incremental maintenance and range aggregations.
+ * <p>
+ * Boots the application on an in-memory H2 database and loads {@code -Ddays}
+ * days of history straight into the {@code transactions} table, bypassing the
+ * rollups: every account posts {@code -Dper.day} deposits or withdrawals on a
+ * day with probability {@code -Dactivity}. The rollups are then rebuilt, and
+ * {@code -Dpostings} live postings go through the ledger, which maintains
+ * them incrementally. Finally, random range aggregations are answered from
+ * the rollups and checked against the same aggregation over the transactions.
+ * The rollups answer in about the same time however busy the account is,
+ * while the scan grows with its transactions.
+ * <p>
+ * Run as described in {@link BenchmarkApplication}, with options
+ * {@code -Daccounts=20000 -Ddays=365 -Dactivity=0.2 -Dper.day=1 -Dpostings=20000 -Dqueries=20000 -Dchunk.size=1000 -Dparallelism=4}
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public final class AccountRollupBenchmark {
+
+    private static final String INSERT_ACCOUNT = "INSERT INTO accounts (id, client_id, balance_minor_units, "
+            + "balance_currency, status, opened_at, last_posted_at, version) VALUES (?, ?, ?, 'EUR', 'ACTIVE', ?, ?, 0)";
+    private static final String INSERT_TRANSACTION = "INSERT INTO transactions (id, account_id, type, "
+            + "amount_minor_units, currency, timestamp, description, balance_after_minor_units) "
+            + "VALUES (?, ?, ?, ?, 'EUR', ?, NULL, ?)";
+    private static final String SUM_TRANSACTIONS = "SELECT type, COUNT(*), SUM(amount_minor_units) FROM transactions "
+            + "WHERE account_id = ? AND timestamp >= ? AND timestamp < ? GROUP BY type";
+
+    private AccountRollupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int accountCount = Integer.getInteger("accounts", 20_000);
+        int days = Integer.getInteger("days", 365);
+        double activity = Double.parseDouble(System.getProperty("activity", "0.2"));
+        int perDay = Integer.getInteger("per.day", 1);
+        int postings = Integer.getInteger("postings", 20_000);
+        int queries = Integer.getInteger("queries", 20_000);
+        int chunkSize = Integer.getInteger("chunk.size", 1000);
+        int parallelism = Integer.getInteger("parallelism", 4);
+
+        System.out.printf("accounts=%d days=%d activity=%.2f per.day=%d postings=%d queries=%d chunk.size=%d "
+                + "parallelism=%d%n", accountCount, days, activity, perDay, postings, queries, chunkSize, parallelism);
+        try (ConfigurableApplicationContext context = BenchmarkApplication.boot("rollups",
+                "bank.rollups.rebuild.chunk-size=" + chunkSize,
+                "bank.rollups.rebuild.parallelism=" + parallelism)) {
+            LocalDate today = LocalDate.now();
+            LocalDate firstDay = today.minusDays(days);
+            Random random = new Random(42);
+            UUID[] accounts = new UUID[accountCount];
+            long start = System.nanoTime();
+            long rows = load(context, accounts, firstDay, days, activity, perDay, random);
+            System.out.printf("load: %d transactions in %.1f s%n", rows, (System.nanoTime() - start) / 1e9);
+
+            RollupRebuild rebuild = context.getBean(RollupRebuildService.class).rebuild();
+            System.out.printf("rebuild: %d accounts, %d rows in %d ms, %.0f transactions/s%n", rebuild.accounts(),
+                    rebuild.rows(), rebuild.elapsedMillis(), rows * 1000.0 / Math.max(1, rebuild.elapsedMillis()));
+
+            LedgerService ledger = context.getBean(LedgerService.class);
+            start = System.nanoTime();
+            for (int i = 0; i < postings; i++) {
+                ledger.deposit(accounts[random.nextInt(accountCount)], BigDecimal.valueOf(1 + random.nextInt(1000)),
+                        "Benchmark deposit");
+            }
+            System.out.printf("postings: %.1f us/posting including rollups%n",
+                    (System.nanoTime() - start) / 1e3 / postings);
+
+            AccountActivityService activityService = context.getBean(AccountActivityService.class);
+            JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+            UUID[] queried = new UUID[queries];
+            LocalDate[] froms = new LocalDate[queries];
+            LocalDate[] tos = new LocalDate[queries];
+            for (int i = 0; i < queries; i++) {
+                queried[i] = accounts[random.nextInt(accountCount)];
+                froms[i] = firstDay.plusDays(random.nextInt(days + 1));
+                tos[i] = froms[i].plusDays(random.nextInt((int) (today.toEpochDay() - froms[i].toEpochDay()) + 1));
+            }
+            start = System.nanoTime();
+            List<AccountActivity> answers = new ArrayList<>(queries);
+            for (int i = 0; i < queries; i++) {
+                answers.add(activityService.getActivity(queried[i], froms[i], tos[i]).orElseThrow());
+            }
+            double rollupMicros = (System.nanoTime() - start) / 1e3 / queries;
+            start = System.nanoTime();
+            List<Map<TransactionType, long[]>> expected = new ArrayList<>(queries);
+            for (int i = 0; i < queries; i++) {
+                Map<TransactionType, long[]> totals = new EnumMap<>(TransactionType.class);
+                jdbc.query(SUM_TRANSACTIONS, row -> {
+                    totals.put(TransactionType.values()[row.getInt(1)], new long[] { row.getLong(2), row.getLong(3) });
+                }, queried[i], Timestamp.valueOf(froms[i].atStartOfDay()),
+                        Timestamp.valueOf(tos[i].plusDays(1).atStartOfDay()));
+                expected.add(totals);
+            }
+            double scanMicros = (System.nanoTime() - start) / 1e3 / queries;
+            int mismatches = 0;
+            for (int i = 0; i < queries; i++) {
+                Map<TransactionType, long[]> totals = expected.get(i);
+                List<ActivityTotal> answer = answers.get(i).totals();
+                boolean same = answer.size() == totals.size();
+                for (ActivityTotal total : answer) {
+                    long[] sums = totals.get(total.type());
+                    same &= sums != null && sums[0] == total.transactionCount()
+                            && sums[1] == total.amount().minorUnits();
+                }
+                if (!same) {
+                    mismatches++;
+                }
+            }
+            System.out.printf("activity: %.1f us/query from rollups, %.1f us/query scanning transactions, "
+                    + "%d mismatches%n", rollupMicros, scanMicros, mismatches);
+        }
+    }
+
+    private static long load(ConfigurableApplicationContext context, UUID[] accounts, LocalDate firstDay, int days,
+            double activity, int perDay, Random random) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(
+                context.getBean(PlatformTransactionManager.class));
+        UUID clientId = UUID.randomUUID();
+        Timestamp openedAt = Timestamp.valueOf(firstDay.atStartOfDay().minusDays(1));
+        long rows = 0;
+        int batch = 2_000;
+        for (int from = 0; from < accounts.length; from += batch) {
+            List<Object[]> accountRows = new ArrayList<>(batch);
+            List<Object[]> transactionRows = new ArrayList<>();
+            for (int a = from; a < Math.min(from + batch, accounts.length); a++) {
+                UUID id = UUID.randomUUID();
+                accounts[a] = id;
+                long balance = 0;
+                Timestamp lastPostedAt = null;
+                for (int d = 0; d < days; d++) {
+                    if (random.nextDouble() >= activity) {
+                        continue;
+                    }
+                    for (int t = 0; t < perDay; t++) {
+                        long amount = 1 + random.nextInt(100_000);
+                        TransactionType type = balance >= amount && random.nextInt(3) == 0
+                                ? TransactionType.WITHDRAWAL
+                                : TransactionType.DEPOSIT;
+                        balance += type == TransactionType.DEPOSIT ? amount : -amount;
+                        // Postings of a day in order, so the last one carries the closing balance
+                        lastPostedAt = Timestamp.valueOf(firstDay.plusDays(d).atStartOfDay()
+                                .plusSeconds((86_400L * t + random.nextInt(86_400)) / perDay));
+                        transactionRows.add(new Object[] { UUID.randomUUID(), id, type.ordinal(), amount,
+                                lastPostedAt, balance });
+                    }
+                }
+                accountRows.add(new Object[] { id, clientId, balance, openedAt, lastPostedAt });
+            }
+            rows += transactionRows.size();
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbc.batchUpdate(INSERT_ACCOUNT, accountRows);
+                jdbc.batchUpdate(INSERT_TRANSACTION, transactionRows);
+            });
+        }
+        return rows;
+    }
+}
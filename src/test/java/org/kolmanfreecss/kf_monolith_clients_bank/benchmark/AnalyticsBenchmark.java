@@ -0,0 +1,193 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.benchmark;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.analytics.models.AnalyticsGroup;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.analytics.models.AnalyticsQuery;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.analytics.models.AnalyticsQuery.Dimension;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.analytics.models.AnalyticsQuery.Measure;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.analytics.services.TransactionAnalyticsService;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Transaction.TransactionType;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.Client;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.ClientRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.vo.ClientType;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.PersonalInformation;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Transaction analytics queries: column store against SQL.
+ * <p>
+ * Boots the application on an in-memory H2 database, loads {@code -Daccounts}
+ * EUR accounts, two per client of a random type, with
+ * {@code -Dtransactions.per.account} transactions each over the last thirty
+ * days, then loads the analytics store and times three queries both ways: the
+ * top ten accounts by outflow, fee totals by client type, and the hourly
+ * volume of one day. Each query runs {@code -Diterations} times after a
+ * warm-up, and the store's answers are checked against the SQL ones.
+ * <p>
+ * Run as described in {@link BenchmarkApplication}, with options
+ * {@code -Daccounts=20000 -Dtransactions.per.account=50 -Dparallelism=4 -Diterations=10}
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public final class AnalyticsBenchmark {
+
+    private static final String INSERT_ACCOUNT = "INSERT INTO accounts (id, client_id, balance_minor_units, "
+            + "balance_currency, status, opened_at, last_posted_at, version) VALUES (?, ?, 0, 'EUR', 'ACTIVE', ?, ?, 0)";
+    private static final String INSERT_TRANSACTION = "INSERT INTO transactions (id, account_id, type, "
+            + "amount_minor_units, currency, timestamp, description, balance_after_minor_units) "
+            + "VALUES (?, ?, ?, ?, 'EUR', ?, NULL, 0)";
+    private static final String TOP_OUTFLOW_SQL = """
+            SELECT account_id, COUNT(*), SUM(amount_minor_units) FROM transactions
+            WHERE type IN (1, 3, 4)
+            GROUP BY account_id ORDER BY SUM(amount_minor_units) DESC, account_id LIMIT 10""";
+    private static final String FEES_BY_CLIENT_TYPE_SQL = """
+            SELECT c.type, COUNT(*), SUM(t.amount_minor_units) FROM transactions t
+            JOIN accounts a ON a.id = t.account_id JOIN clients c ON c.id = a.client_id
+            WHERE t.type = 4
+            GROUP BY c.type ORDER BY SUM(t.amount_minor_units) DESC""";
+    private static final String HOURLY_VOLUME_SQL = """
+            SELECT DATE_TRUNC('HOUR', timestamp), COUNT(*), SUM(amount_minor_units) FROM transactions
+            WHERE timestamp >= ? AND timestamp < ?
+            GROUP BY DATE_TRUNC('HOUR', timestamp) ORDER BY COUNT(*) DESC, DATE_TRUNC('HOUR', timestamp) LIMIT 24""";
+
+    private AnalyticsBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int accountCount = Integer.getInteger("accounts", 20_000);
+        int transactionsPerAccount = Integer.getInteger("transactions.per.account", 50);
+        int parallelism = Integer.getInteger("parallelism", 4);
+        int iterations = Integer.getInteger("iterations", 10);
+
+        System.out.printf("accounts=%d transactions.per.account=%d parallelism=%d processors=%d%n", accountCount,
+                transactionsPerAccount, parallelism, Runtime.getRuntime().availableProcessors());
+        try (ConfigurableApplicationContext context = BenchmarkApplication.boot("analytics",
+                "bank.analytics.settle-ms=0",
+                "bank.analytics.initial-delay-ms=3600000",
+                "bank.analytics.parallelism=" + parallelism)) {
+            LocalDate today = LocalDate.now();
+            long start = System.nanoTime();
+            load(context, accountCount, transactionsPerAccount, today, new Random(42));
+            System.out.printf("load: %d transactions in %.1f s%n", (long) accountCount * transactionsPerAccount,
+                    (System.nanoTime() - start) / 1e9);
+
+            TransactionAnalyticsService analytics = context.getBean(TransactionAnalyticsService.class);
+            start = System.nanoTime();
+            long loaded = analytics.refresh();
+            System.out.printf("store: %d transactions loaded in %.1f s%n", loaded, (System.nanoTime() - start) / 1e9);
+
+            JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+            LocalDateTime day = today.minusDays(7).atStartOfDay();
+            compare("top outflow", iterations,
+                    () -> groups(analytics.query(new AnalyticsQuery(null, null,
+                            EnumSet.of(TransactionType.WITHDRAWAL, TransactionType.TRANSFER_OUT, TransactionType.FEE),
+                            Set.of(), null, EnumSet.of(Dimension.ACCOUNT), Measure.AMOUNT, 10)).groups()),
+                    () -> rows(jdbc.queryForList(TOP_OUTFLOW_SQL)));
+            compare("fees by client type", iterations,
+                    () -> groups(analytics.query(new AnalyticsQuery(null, null, EnumSet.of(TransactionType.FEE),
+                            Set.of(), null, EnumSet.of(Dimension.CLIENT_TYPE), Measure.AMOUNT, 10)).groups()),
+                    () -> rows(jdbc.queryForList(FEES_BY_CLIENT_TYPE_SQL)));
+            compare("hourly volume", iterations,
+                    () -> groups(analytics.query(new AnalyticsQuery(day, day.plusDays(1), Set.of(), Set.of(), null,
+                            EnumSet.of(Dimension.HOUR), Measure.COUNT, 24)).groups()),
+                    () -> rows(jdbc.queryForList(HOURLY_VOLUME_SQL, Timestamp.valueOf(day),
+                            Timestamp.valueOf(day.plusDays(1)))));
+        }
+    }
+
+    private static void compare(String name, int iterations, Supplier<List<String>> store,
+            Supplier<List<String>> sql) {
+        List<String> expected = sql.get();
+        List<String> actual = store.get();
+        long storeNanos = time(iterations, store);
+        long sqlNanos = time(iterations, sql);
+        System.out.printf("%-20s store %8.2f ms  sql %8.2f ms  x%.0f  %s%n", name, storeNanos / 1e6, sqlNanos / 1e6,
+                (double) sqlNanos / storeNanos, expected.equals(actual) ? "same result" : "MISMATCH");
+    }
+
+    private static long time(int iterations, Supplier<List<String>> query) {
+        for (int i = 0; i < 3; i++) {
+            query.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            query.get();
+        }
+        return (System.nanoTime() - start) / iterations;
+    }
+
+    /**
+     * Both sides as "key count sum" lines, the key being whichever dimension
+     * was grouped by.
+     */
+    private static List<String> groups(List<AnalyticsGroup> groups) {
+        return groups.stream()
+                .map(group -> (group.accountId() != null ? group.accountId()
+                        : group.clientType() != null ? group.clientType()
+                                : Timestamp.valueOf(group.periodStart()))
+                        + " " + group.transactionCount() + " " + group.amount().minorUnits())
+                .toList();
+    }
+
+    private static List<String> rows(List<Map<String, Object>> rows) {
+        return rows.stream()
+                .map(row -> row.values().stream().map(String::valueOf).reduce((a, b) -> a + " " + b).orElse(""))
+                .toList();
+    }
+
+    private static void load(ConfigurableApplicationContext context, int accountCount, int transactionsPerAccount,
+            LocalDate today, Random random) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        ClientRepository clients = context.getBean(ClientRepository.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(
+                context.getBean(PlatformTransactionManager.class));
+        ClientType[] types = ClientType.values();
+        TransactionType[] transactionTypes = TransactionType.values();
+        LocalDateTime first = today.minusDays(30).atStartOfDay();
+        Timestamp openedAt = Timestamp.valueOf(first);
+        int batch = Math.max(2, 100_000 / transactionsPerAccount) & ~1;
+        for (int from = 0; from < accountCount; from += batch) {
+            int to = Math.min(from + batch, accountCount);
+            List<Client> batchClients = new ArrayList<>();
+            for (int c = from; c < to; c += 2) {
+                batchClients.add(new Client(new PersonalInformation("Analytics", "Holder", "ANA-" + c,
+                        PersonalInformation.DocumentType.DNI, LocalDate.of(1980, 1, 1)), null, null,
+                        types[random.nextInt(types.length)]));
+            }
+            List<Object[]> accountRows = new ArrayList<>(to - from);
+            List<Object[]> transactionRows = new ArrayList<>((to - from) * transactionsPerAccount);
+            for (int a = from; a < to; a++) {
+                UUID accountId = UUID.randomUUID();
+                accountRows.add(new Object[] { accountId, batchClients.get((a - from) / 2).getId(), openedAt,
+                        openedAt });
+                for (int t = 0; t < transactionsPerAccount; t++) {
+                    // Whole seconds, the resolution of the store
+                    LocalDateTime timestamp = first.plusSeconds(random.nextInt(30 * 86_400));
+                    transactionRows.add(new Object[] { UUID.randomUUID(), accountId,
+                            transactionTypes[random.nextInt(transactionTypes.length)].ordinal(),
+                            1 + random.nextInt(100_000), Timestamp.valueOf(timestamp) });
+                }
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                clients.saveAll(batchClients);
+                jdbc.batchUpdate(INSERT_ACCOUNT, accountRows);
+                jdbc.batchUpdate(INSERT_TRANSACTION, transactionRows);
+            });
+        }
+    }
+}
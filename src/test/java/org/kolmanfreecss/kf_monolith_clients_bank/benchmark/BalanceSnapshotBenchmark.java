@@ -0,0 +1,155 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.benchmark;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.snapshots.services.BalanceSnapshotService;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.snapshots.services.PointInTimeBalanceService;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Transaction;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.TransactionRepository;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Daily balance snapshot runs and point-in-time balance lookups.
+ * <p>
+ * Boots the application on an in-memory H2 database and loads a history of
+ * {@code -Ddays} days ending yesterday: every account posts one deposit on a
+ * day with probability {@code -Dactivity}. Every day is then snapshotted,
+ * oldest first. Older days need a transaction lookup for each account that
+ * posted after them, while yesterday needs none. Finally, random
+ * point-in-time lookups are timed and checked against a lookup over all of
+ * the account's transactions.
+ * <p>
+ * Run as described in {@link BenchmarkApplication}, with options
+ * {@code -Daccounts=100000 -Ddays=30 -Dactivity=0.2 -Dqueries=100000 -Dchunk.size=1000 -Dparallelism=4}
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public final class BalanceSnapshotBenchmark {
+
+    private static final String INSERT_ACCOUNT = "INSERT INTO accounts (id, client_id, balance_minor_units, "
+            + "balance_currency, status, opened_at, last_posted_at, version) VALUES (?, ?, ?, 'EUR', 'ACTIVE', ?, ?, 0)";
+    private static final String INSERT_TRANSACTION = "INSERT INTO transactions (id, account_id, type, "
+            + "amount_minor_units, currency, timestamp, description, balance_after_minor_units) "
+            + "VALUES (?, ?, ?, ?, 'EUR', ?, NULL, ?)";
+
+    private BalanceSnapshotBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int accountCount = Integer.getInteger("accounts", 100_000);
+        int days = Integer.getInteger("days", 30);
+        double activity = Double.parseDouble(System.getProperty("activity", "0.2"));
+        int queries = Integer.getInteger("queries", 100_000);
+        int chunkSize = Integer.getInteger("chunk.size", 1000);
+        int parallelism = Integer.getInteger("parallelism", 4);
+
+        System.out.printf("accounts=%d days=%d activity=%.2f queries=%d chunk.size=%d parallelism=%d%n",
+                accountCount, days, activity, queries, chunkSize, parallelism);
+        try (ConfigurableApplicationContext context = BenchmarkApplication.boot("snapshots",
+                "bank.ledger.snapshots.chunk-size=" + chunkSize,
+                "bank.ledger.snapshots.parallelism=" + parallelism)) {
+            LocalDate today = LocalDate.now();
+            LocalDate firstDay = today.minusDays(days);
+            Random random = new Random(42);
+            UUID[] accounts = new UUID[accountCount];
+            long start = System.nanoTime();
+            long rows = load(context, accounts, firstDay, days, activity, random);
+            System.out.printf("load: %d transactions in %.1f s%n", rows, (System.nanoTime() - start) / 1e9);
+
+            BalanceSnapshotService snapshots = context.getBean(BalanceSnapshotService.class);
+            start = System.nanoTime();
+            for (LocalDate day = firstDay; day.isBefore(today); day = day.plusDays(1)) {
+                long dayStart = System.nanoTime();
+                snapshots.snapshot(day);
+                if (day.equals(firstDay) || day.equals(today.minusDays(1))) {
+                    System.out.printf("snapshot %s: %.0f accounts/s%n", day,
+                            accountCount / ((System.nanoTime() - dayStart) / 1e9));
+                }
+            }
+            double snapshotSeconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("snapshots: %d days in %.1f s, %.0f accounts/s%n", days, snapshotSeconds,
+                    (double) accountCount * days / snapshotSeconds);
+
+            PointInTimeBalanceService balances = context.getBean(PointInTimeBalanceService.class);
+            TransactionRepository transactions = context.getBean(TransactionRepository.class);
+            LocalDateTime[] instants = new LocalDateTime[queries];
+            UUID[] queried = new UUID[queries];
+            for (int i = 0; i < queries; i++) {
+                queried[i] = accounts[random.nextInt(accountCount)];
+                instants[i] = firstDay.atStartOfDay().plusSeconds(random.nextLong(days * 86_400L));
+            }
+            start = System.nanoTime();
+            long checksum = 0;
+            for (int i = 0; i < queries; i++) {
+                checksum += balances.getBalanceAt(queried[i], instants[i]).orElseThrow().balance().minorUnits();
+            }
+            double queryMicros = (System.nanoTime() - start) / 1e3 / queries;
+            Limit one = Limit.of(1);
+            long[] expected = new long[queries];
+            start = System.nanoTime();
+            for (int i = 0; i < queries; i++) {
+                List<Long> balance = transactions.findBalanceBefore(queried[i], instants[i], one);
+                expected[i] = balance.isEmpty() ? 0 : balance.get(0);
+            }
+            double probeMicros = (System.nanoTime() - start) / 1e3 / queries;
+            int mismatches = 0;
+            for (int i = 0; i < queries; i++) {
+                if (balances.getBalanceAt(queried[i], instants[i]).orElseThrow().balance().minorUnits() != expected[i]) {
+                    mismatches++;
+                }
+            }
+            System.out.printf("balance at: %.1f us/lookup (full history probe alone: %.1f us), %d mismatches "
+                    + "(checksum %d)%n", queryMicros, probeMicros, mismatches, checksum);
+        }
+    }
+
+    private static long load(ConfigurableApplicationContext context, UUID[] accounts, LocalDate firstDay, int days,
+            double activity, Random random) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(
+                context.getBean(PlatformTransactionManager.class));
+        UUID clientId = UUID.randomUUID();
+        Timestamp openedAt = Timestamp.valueOf(firstDay.atStartOfDay().minusDays(1));
+        long rows = 0;
+        int batch = 10_000;
+        for (int from = 0; from < accounts.length; from += batch) {
+            List<Object[]> accountRows = new ArrayList<>(batch);
+            List<Object[]> transactionRows = new ArrayList<>();
+            for (int a = from; a < Math.min(from + batch, accounts.length); a++) {
+                UUID id = UUID.randomUUID();
+                accounts[a] = id;
+                long balance = 0;
+                Timestamp lastPostedAt = null;
+                for (int d = 0; d < days; d++) {
+                    if (random.nextDouble() >= activity) {
+                        continue;
+                    }
+                    long amount = 1 + random.nextInt(100_000);
+                    balance += amount;
+                    lastPostedAt = Timestamp.valueOf(
+                            firstDay.plusDays(d).atStartOfDay().plusSeconds(random.nextInt(86_400)));
+                    transactionRows.add(new Object[] { UUID.randomUUID(), id,
+                            Transaction.TransactionType.DEPOSIT.ordinal(), amount, lastPostedAt, balance });
+                }
+                accountRows.add(new Object[] { id, clientId, balance, openedAt, lastPostedAt });
+            }
+            rows += transactionRows.size();
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbc.batchUpdate(INSERT_ACCOUNT, accountRows);
+                jdbc.batchUpdate(INSERT_TRANSACTION, transactionRows);
+            });
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,59 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.KfMonolithClientsBankApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots the application for the benchmarks that run against the ledger:
+ * without the web layer, on a fresh in-memory H2 database, with SQL logging,
+ * Hibernate statistics and the scheduled balance snapshots off, and logging
+ * at {@code WARN}.
+ * <p>
+ * A benchmark is run from its {@code main} method with:
+ * {@code java -cp target/classes:target/test-classes:<test classpath> org.kolmanfreecss.kf_monolith_clients_bank.benchmark.<Benchmark>}
+ * and configured with the {@code -D} options listed in its documentation.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+final class BenchmarkApplication {
+
+    private static final String[] DEFAULTS = {
+            "spring.jpa.show-sql=false",
+            "spring.jpa.properties.hibernate.generate_statistics=false",
+            "logging.level.root=WARN",
+            "logging.level.org.kolmanfreecss=WARN",
+            "bank.ledger.snapshots.enabled=false" };
+
+    private BenchmarkApplication() {
+    }
+
+    /**
+     * Boots the application on its own in-memory database.
+     *
+     * @param database   Name of the in-memory database, distinct per context
+     * @param properties Further {@code name=value} properties, overriding the defaults
+     * @return The running application, to close once measured
+     */
+    static ConfigurableApplicationContext boot(String database, String... properties) {
+        // DevTools would restart the application in a new class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        // Command line arguments, as they take precedence over application.properties
+        List<String> args = new ArrayList<>();
+        args.add("--spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1");
+        for (String property : DEFAULTS) {
+            args.add("--" + property);
+        }
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        return new SpringApplicationBuilder(KfMonolithClientsBankApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+    }
+}
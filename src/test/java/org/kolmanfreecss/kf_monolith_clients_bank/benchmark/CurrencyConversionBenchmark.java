@@ -0,0 +1,113 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.benchmark;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.Money;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.RateMatrix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark of a cross-currency total: a batch of amounts in mixed
+ * currencies converted to EUR and summed, with the precomputed
+ * {@link RateMatrix} against rates looked up by currency pair in a map and
+ * applied with {@link BigDecimal}. Both give the same, half-even rounded
+ * result.
+ * <p>
+ * Run with:
+ * {@code java -cp target/classes:target/test-classes:<test classpath> org.kolmanfreecss.kf_monolith_clients_bank.benchmark.CurrencyConversionBenchmark}
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CurrencyConversionBenchmark {
+
+    private static final Currency EUR = Currency.getInstance("EUR");
+
+    @Param({ "1024" })
+    private int amounts;
+
+    private RateMatrix matrix;
+    private Map<String, BigDecimal> pairRates;
+    private Money[] moneyAmounts;
+
+    @Setup
+    public void setUp() {
+        Map<Currency, BigDecimal> rates = new LinkedHashMap<>();
+        rates.put(Currency.getInstance("USD"), new BigDecimal("1.0842"));
+        rates.put(Currency.getInstance("GBP"), new BigDecimal("0.85315"));
+        rates.put(Currency.getInstance("JPY"), new BigDecimal("162.37"));
+        rates.put(Currency.getInstance("CHF"), new BigDecimal("0.9362"));
+        rates.put(Currency.getInstance("KWD"), new BigDecimal("0.33245"));
+        matrix = RateMatrix.of(EUR, Instant.now(), rates);
+        List<Currency> currencies = matrix.currencies();
+        pairRates = new HashMap<>();
+        for (Currency from : currencies) {
+            for (Currency to : currencies) {
+                pairRates.put(from.getCurrencyCode() + to.getCurrencyCode(), matrix.rate(from, to));
+            }
+        }
+        Random random = new Random(42);
+        moneyAmounts = new Money[amounts];
+        for (int i = 0; i < amounts; i++) {
+            moneyAmounts[i] = new Money(random.nextLong(1, 100_000_000),
+                    currencies.get(random.nextInt(currencies.size())));
+        }
+    }
+
+    @Benchmark
+    public long bigDecimal() {
+        long total = 0;
+        for (Money amount : moneyAmounts) {
+            BigDecimal rate = pairRates.get(amount.currency().getCurrencyCode() + EUR.getCurrencyCode());
+            total = Math.addExact(total, amount.toBigDecimal().multiply(rate)
+                    .setScale(EUR.getDefaultFractionDigits(), RoundingMode.HALF_EVEN)
+                    .unscaledValue().longValueExact());
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long rateMatrix() {
+        long total = 0;
+        for (Money amount : moneyAmounts) {
+            total = Math.addExact(total, matrix.convert(amount, EUR).minorUnits());
+        }
+        return total;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CurrencyConversionBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
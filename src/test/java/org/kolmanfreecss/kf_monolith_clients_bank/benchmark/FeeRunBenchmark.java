@@ -0,0 +1,129 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.benchmark;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.fees.services.FeeRunService;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.FeeRun;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.FeeRunRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.Client;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.ClientRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.vo.ClientType;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.PersonalInformation;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Monthly maintenance fee runs.
+ * <p>
+ * Boots the application on an in-memory H2 database and loads
+ * {@code -Daccounts} accounts spread over clients of every type, with
+ * balances low enough for some to lack the funds for the fee and a few
+ * closed. The previous month is then charged and the outcomes are checked
+ * against the {@code FEE} transactions and balances. Finally the run is
+ * repeated from scratch, as after a crash before its first checkpoint, to
+ * show that no account is charged twice.
+ * <p>
+ * Run as described in {@link BenchmarkApplication}, with options
+ * {@code -Daccounts=100000 -Daccounts.per.client=5 -Dchunk.size=1000 -Dparallelism=4}
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public final class FeeRunBenchmark {
+
+    private static final String INSERT_ACCOUNT = "INSERT INTO accounts (id, client_id, balance_minor_units, "
+            + "balance_currency, status, opened_at, last_posted_at, version) VALUES (?, ?, ?, 'EUR', ?, ?, NULL, 0)";
+
+    private FeeRunBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int accountCount = Integer.getInteger("accounts", 100_000);
+        int accountsPerClient = Integer.getInteger("accounts.per.client", 5);
+        int chunkSize = Integer.getInteger("chunk.size", 1000);
+        int parallelism = Integer.getInteger("parallelism", 4);
+
+        System.out.printf("accounts=%d accounts.per.client=%d chunk.size=%d parallelism=%d%n",
+                accountCount, accountsPerClient, chunkSize, parallelism);
+        try (ConfigurableApplicationContext context = BenchmarkApplication.boot("fees",
+                "bank.fees.enabled=false",
+                "bank.fees.chunk-size=" + chunkSize,
+                "bank.fees.parallelism=" + parallelism)) {
+            JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+            long start = System.nanoTime();
+            load(context, accountCount, accountsPerClient, new Random(42));
+            System.out.printf("load: %d accounts in %.1f s%n", accountCount, (System.nanoTime() - start) / 1e9);
+            long balanceBefore = jdbc.queryForObject("SELECT SUM(balance_minor_units) FROM accounts", Long.class);
+
+            FeeRunService fees = context.getBean(FeeRunService.class);
+            FeeRunRepository runs = context.getBean(FeeRunRepository.class);
+            YearMonth period = YearMonth.now().minusMonths(1);
+            start = System.nanoTime();
+            fees.run(period);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            FeeRun run = runs.findById(period.atDay(1)).orElseThrow();
+            System.out.printf("run: %d accounts in %.1f s, %.0f accounts/s (charged %d, insufficient funds %d, "
+                    + "exempt %d)%n", run.getAccounts(), seconds, run.getAccounts() / seconds, run.getCharged(),
+                    run.getInsufficientFunds(), run.getExempt());
+
+            long feeTransactions = jdbc.queryForObject("SELECT COUNT(*) FROM transactions WHERE type = 4", Long.class);
+            long charged = jdbc.queryForObject("SELECT COALESCE(SUM(amount_minor_units), 0) FROM fee_charges",
+                    Long.class);
+            long balanceAfter = jdbc.queryForObject("SELECT SUM(balance_minor_units) FROM accounts", Long.class);
+            System.out.printf("check: %d FEE transactions for %d charges, balances down by %d for %d charged%n",
+                    feeTransactions, run.getCharged(), balanceBefore - balanceAfter, charged);
+
+            // Forget the checkpoint, as if the run had crashed before its first one
+            runs.deleteById(period.atDay(1));
+            start = System.nanoTime();
+            fees.run(period);
+            seconds = (System.nanoTime() - start) / 1e9;
+            FeeRun rerun = runs.findById(period.atDay(1)).orElseThrow();
+            System.out.printf("rerun: %.1f s, charged %d, already charged %d, FEE transactions %d%n", seconds,
+                    rerun.getCharged(), rerun.getAlreadyCharged(),
+                    jdbc.queryForObject("SELECT COUNT(*) FROM transactions WHERE type = 4", Long.class));
+        }
+    }
+
+    private static void load(ConfigurableApplicationContext context, int accountCount, int accountsPerClient,
+            Random random) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        ClientRepository clients = context.getBean(ClientRepository.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(
+                context.getBean(PlatformTransactionManager.class));
+        ClientType[] types = { ClientType.INDIVIDUAL, ClientType.INDIVIDUAL, ClientType.INDIVIDUAL,
+                ClientType.BUSINESS, ClientType.VIP };
+        Timestamp openedAt = Timestamp.valueOf(LocalDate.now().minusMonths(2).atStartOfDay());
+        int batch = 10_000;
+        for (int from = 0; from < accountCount; from += batch) {
+            int to = Math.min(from + batch, accountCount);
+            List<Client> batchClients = new ArrayList<>();
+            for (int c = from; c < to; c += accountsPerClient) {
+                batchClients.add(new Client(new PersonalInformation("Fee", "Payer", "FEE-" + c,
+                        PersonalInformation.DocumentType.DNI, LocalDate.of(1980, 1, 1)), null, null,
+                        types[random.nextInt(types.length)]));
+            }
+            List<Object[]> accountRows = new ArrayList<>(batch);
+            for (int a = from; a < to; a++) {
+                UUID clientId = batchClients.get((a - from) / accountsPerClient).getId();
+                // Up to 20.00 EUR, so that some cannot pay the 5.00 or 15.00 fee
+                long balance = random.nextInt(2_001);
+                String status = random.nextInt(50) == 0 ? "CLOSED" : random.nextInt(20) == 0 ? "FROZEN" : "ACTIVE";
+                accountRows.add(new Object[] { UUID.randomUUID(), clientId, status.equals("CLOSED") ? 0 : balance,
+                        status, openedAt });
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                clients.saveAll(batchClients);
+                jdbc.batchUpdate(INSERT_ACCOUNT, accountRows);
+            });
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.benchmark;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.util.TimingWheel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark of the hold lifecycle on the expiry scheduler, with
+ * {@code holds} other holds pending: a hold is placed (scheduled) and then
+ * captured or released (cancelled), on
+ * - {@code timingWheel}: the {@link TimingWheel} of the hold book, 4096 slots of one second
+ * - {@code delayQueue}: a {@link DelayQueue}, the JDK's expiry queue, whose removal scans the heap
+ * <p>
+ * Run with:
+ * {@code java -cp target/classes:target/test-classes:<test classpath> org.kolmanfreecss.kf_monolith_clients_bank.benchmark.HoldExpiryBenchmark}
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HoldExpiryBenchmark {
+
+    private static final long WEEK_MILLIS = Duration.ofDays(7).toMillis();
+
+    @Param({ "10000", "1000000" })
+    public int holds;
+
+    private TimingWheel<UUID> wheel;
+    private DelayQueue<Expiry> queue;
+    private long now;
+
+    @Setup
+    public void setUp() {
+        now = System.currentTimeMillis();
+        wheel = new TimingWheel<>(Duration.ofSeconds(1), 4096, now);
+        queue = new DelayQueue<>();
+        for (int i = 0; i < holds; i++) {
+            UUID holdId = UUID.randomUUID();
+            long deadline = now + ThreadLocalRandom.current().nextLong(WEEK_MILLIS);
+            wheel.schedule(holdId, deadline);
+            queue.add(new Expiry(holdId, deadline));
+        }
+    }
+
+    @Benchmark
+    public boolean timingWheel() {
+        TimingWheel.Timeout<UUID> expiry = wheel.schedule(UUID.randomUUID(),
+                now + ThreadLocalRandom.current().nextLong(WEEK_MILLIS));
+        return wheel.cancel(expiry);
+    }
+
+    @Benchmark
+    public boolean delayQueue() {
+        Expiry expiry = new Expiry(UUID.randomUUID(), now + ThreadLocalRandom.current().nextLong(WEEK_MILLIS));
+        queue.add(expiry);
+        return queue.remove(expiry);
+    }
+
+    private record Expiry(UUID holdId, long deadlineMillis) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadlineMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(deadlineMillis, ((Expiry) other).deadlineMillis);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(HoldExpiryBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
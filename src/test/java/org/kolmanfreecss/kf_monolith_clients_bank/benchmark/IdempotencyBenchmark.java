@@ -0,0 +1,114 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.idempotency.IdempotencyFilter;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.idempotency.LocalIdempotencyStore;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics.IdempotencyMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+
+/**
+ * JMH benchmark of the latency {@link IdempotencyFilter} adds to a posting
+ * request, against a chain that writes a small JSON response in place of the
+ * controllers:
+ * - {@code withoutKey}: requests without the header, which pass through
+ * - {@code firstRequest}: a new key per request, claimed, run and recorded, in a store kept full so
+ * every claim also evicts the oldest key
+ * - {@code replay}: a duplicate answered from the recorded response
+ * <p>
+ * Run with:
+ * {@code java -cp target/classes:target/test-classes:<test classpath> org.kolmanfreecss.kf_monolith_clients_bank.benchmark.IdempotencyBenchmark}
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdempotencyBenchmark {
+
+    private static final String DEPOSIT = "/api/v1/accounts/3fa85f64-5717-4562-b3fc-2c963f66afa6/deposit";
+    private static final byte[] BODY = "{\"amount\":125.40,\"description\":\"Salary October\"}"
+            .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] RESPONSE = ("{\"id\":\"0b9d6f3e-4f1a-4c55-9b61-0f6b8f1d2a77\",\"type\":\"DEPOSIT\","
+            + "\"amount\":125.40,\"balanceAfter\":1830.15,\"currency\":\"EUR\"}").getBytes(StandardCharsets.UTF_8);
+    private static final int MAX_KEYS = 100_000;
+
+    private IdempotencyFilter filter;
+    private FilterChain postingChain;
+    private long nextKey;
+
+    @Setup
+    public void setUp() throws IOException, ServletException {
+        LocalIdempotencyStore store = new LocalIdempotencyStore(MAX_KEYS, Duration.ofHours(24));
+        filter = new IdempotencyFilter(store, new IdempotencyMetrics(new SimpleMeterRegistry()), 1 << 20);
+        postingChain = (request, response) -> {
+            request.getInputStream().readAllBytes();
+            response.setContentType("application/json");
+            response.getOutputStream().write(RESPONSE);
+        };
+        for (int i = 0; i < MAX_KEYS; i++) {
+            post("warm-" + i);
+        }
+        post("replayed");
+    }
+
+    @Benchmark
+    public int withoutKey() throws IOException, ServletException {
+        return post(null);
+    }
+
+    @Benchmark
+    public int firstRequest() throws IOException, ServletException {
+        return post("key-" + nextKey++);
+    }
+
+    @Benchmark
+    public int replay() throws IOException, ServletException {
+        return post("replayed");
+    }
+
+    private int post(String key) throws IOException, ServletException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", DEPOSIT);
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.HEADER, key);
+        }
+        request.setContentType("application/json");
+        request.setContent(BODY);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, postingChain);
+        return response.getContentAsByteArray().length;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(IdempotencyBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,174 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.benchmark;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.InterestAccrual;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark of a month of interest accrual for {@code accounts} accounts,
+ * processed in chunks as the interest run does: the columnar
+ * {@link InterestAccrual} loop against the same arithmetic one account at a
+ * time, and against a {@link BigDecimal} implementation.
+ * <p>
+ * Ten million accounts times 30 days of balances do not fit in memory, so the
+ * accounts cycle over a pool of about a million accounts' balances, which is
+ * still far larger than the CPU caches. Before the benchmarks run,
+ * {@link #main(String[])} cross-checks the interest of every account against
+ * the {@code BigDecimal} implementation.
+ * <p>
+ * Run with:
+ * {@code java -cp target/classes:target/test-classes:<test classpath> org.kolmanfreecss.kf_monolith_clients_bank.benchmark.InterestAccrualBenchmark}
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class InterestAccrualBenchmark {
+
+    private static final int DAYS = 30;
+    private static final BigDecimal DAYS_PER_YEAR = BigDecimal.valueOf(365);
+
+    @Param({ "10000000" })
+    private int accounts;
+
+    @Param({ "1000" })
+    private int chunkSize;
+
+    private int pool;
+    /** Balances by day, then account: one column per day */
+    private long[][] columns;
+    /** Balances by account, then day */
+    private long[][] rows;
+    private long[] ratesBps;
+    private BigDecimal[] rates;
+    private long[] accrued;
+
+    @Setup
+    public void setUp() {
+        pool = chunkSize * Math.max(1, (1 << 20) / chunkSize);
+        Random random = new Random(42);
+        long[] choices = { 0, 25, 50, 150 };
+        columns = new long[DAYS][pool];
+        rows = new long[pool][DAYS];
+        ratesBps = new long[pool];
+        rates = new BigDecimal[pool];
+        accrued = new long[pool];
+        for (int i = 0; i < pool; i++) {
+            ratesBps[i] = choices[random.nextInt(choices.length)];
+            rates[i] = BigDecimal.valueOf(ratesBps[i]).movePointLeft(4);
+            long balance = random.nextLong(10_000_000);
+            for (int d = 0; d < DAYS; d++) {
+                if (random.nextInt(5) == 0) {
+                    balance = random.nextLong(10_000_000);
+                }
+                columns[d][i] = balance;
+                rows[i][d] = balance;
+            }
+        }
+    }
+
+    @Benchmark
+    public long columnar() {
+        long total = 0;
+        for (int from = 0; from < accounts; from += chunkSize) {
+            int start = from % pool;
+            int end = start + Math.min(chunkSize, accounts - from);
+            Arrays.fill(accrued, start, end, 0);
+            for (long[] day : columns) {
+                InterestAccrual.accrueDay(day, ratesBps, accrued, start, end);
+            }
+            for (int i = start; i < end; i++) {
+                total += InterestAccrual.toMinorUnits(accrued[i]);
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long perAccount() {
+        long total = 0;
+        for (int a = 0; a < accounts; a++) {
+            int i = a % pool;
+            long[] balances = rows[i];
+            long rate = ratesBps[i];
+            long units = 0;
+            for (long balance : balances) {
+                units += balance * rate;
+            }
+            total += InterestAccrual.toMinorUnits(units);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long bigDecimal() {
+        long total = 0;
+        for (int a = 0; a < accounts; a++) {
+            total += bigDecimalInterest(a % pool);
+        }
+        return total;
+    }
+
+    /**
+     * Sum of the daily interest {@code balance * rate / 365}, truncated to
+     * whole minor units, dividing the exact sum once.
+     */
+    private long bigDecimalInterest(int i) {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (long balance : rows[i]) {
+            sum = sum.add(BigDecimal.valueOf(balance).multiply(rates[i]));
+        }
+        return sum.divide(DAYS_PER_YEAR, 0, RoundingMode.DOWN).longValueExact();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        InterestAccrualBenchmark check = new InterestAccrualBenchmark();
+        check.accounts = 10_000_000;
+        check.chunkSize = 1000;
+        check.setUp();
+        long mismatches = 0;
+        for (int from = 0; from < check.accounts; from += check.chunkSize) {
+            int start = from % check.pool;
+            int end = start + check.chunkSize;
+            Arrays.fill(check.accrued, start, end, 0);
+            for (long[] day : check.columns) {
+                InterestAccrual.accrueDay(day, check.ratesBps, check.accrued, start, end);
+            }
+            for (int i = start; i < end; i++) {
+                if (InterestAccrual.toMinorUnits(check.accrued[i]) != check.bigDecimalInterest(i)) {
+                    mismatches++;
+                }
+            }
+        }
+        System.out.printf("cross-check: %d accounts, %d mismatches against BigDecimal%n", check.accounts,
+                mismatches);
+        check = null;
+
+        new Runner(new OptionsBuilder()
+                .include(InterestAccrualBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,146 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.benchmark;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.interest.services.InterestRunService;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.InterestRun;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.InterestRunRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.Client;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.ClientRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.vo.ClientType;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.PersonalInformation;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Monthly interest runs, end to end.
+ * <p>
+ * Boots the application on an in-memory H2 database and loads
+ * {@code -Daccounts} accounts of clients of every type, with a daily balance
+ * snapshot for every day of the previous month, and marks the month's
+ * snapshot runs complete. The month's interest is then credited and every
+ * {@code INTEREST} transaction is cross-checked against a {@link BigDecimal}
+ * computation over the loaded balances, at the rates of
+ * {@code bank.interest.annual-rates-bps}.
+ * <p>
+ * Run as described in {@link BenchmarkApplication}, with options
+ * {@code -Daccounts=50000 -Dchunk.size=1000 -Dparallelism=4}
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public final class InterestRunBenchmark {
+
+    private static final String INSERT_ACCOUNT = "INSERT INTO accounts (id, client_id, balance_minor_units, "
+            + "balance_currency, status, opened_at, last_posted_at, version) "
+            + "VALUES (?, ?, ?, 'EUR', 'ACTIVE', ?, NULL, 0)";
+    private static final String INSERT_SNAPSHOT = "INSERT INTO account_balance_snapshots (account_id, snapshot_date, "
+            + "balance_minor_units, taken_at) VALUES (?, ?, ?, CURRENT_TIMESTAMP)";
+    private static final String INSERT_SNAPSHOT_RUN = "INSERT INTO balance_snapshot_runs (snapshot_date, accounts, "
+            + "started_at, completed_at) VALUES (?, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)";
+    private static final Map<ClientType, Long> RATES_BPS = Map.of(
+            ClientType.INDIVIDUAL, 50L, ClientType.BUSINESS, 25L, ClientType.VIP, 150L);
+
+    private InterestRunBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int accountCount = Integer.getInteger("accounts", 50_000);
+        int chunkSize = Integer.getInteger("chunk.size", 1000);
+        int parallelism = Integer.getInteger("parallelism", 4);
+
+        System.out.printf("accounts=%d chunk.size=%d parallelism=%d%n", accountCount, chunkSize, parallelism);
+        try (ConfigurableApplicationContext context = BenchmarkApplication.boot("interest",
+                "bank.interest.enabled=false",
+                "bank.interest.annual-rates-bps={INDIVIDUAL:50,BUSINESS:25,VIP:150}",
+                "bank.interest.chunk-size=" + chunkSize,
+                "bank.interest.parallelism=" + parallelism)) {
+            YearMonth period = YearMonth.now().minusMonths(1);
+            Map<UUID, Long> expected = new HashMap<>();
+            long start = System.nanoTime();
+            load(context, accountCount, period, expected, new Random(42));
+            System.out.printf("load: %d accounts in %.1f s%n", accountCount, (System.nanoTime() - start) / 1e9);
+
+            InterestRunService interest = context.getBean(InterestRunService.class);
+            start = System.nanoTime();
+            interest.run(period);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            InterestRun run = context.getBean(InterestRunRepository.class).findById(period.atDay(1)).orElseThrow();
+            System.out.printf("run: %d accounts in %.1f s, %.0f accounts/s (credited %d with %d minor units, "
+                    + "nothing due %d)%n", run.getAccounts(), seconds, run.getAccounts() / seconds,
+                    run.getCredited(), run.getInterestMinorUnits(), run.getNothingDue());
+
+            JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+            Map<UUID, Long> credited = new HashMap<>();
+            jdbc.query("SELECT account_id, amount_minor_units FROM transactions WHERE type = 5",
+                    row -> {
+                        credited.put(row.getObject(1, UUID.class), row.getLong(2));
+                    });
+            long mismatches = expected.entrySet().stream()
+                    .filter(entry -> !entry.getValue().equals(credited.getOrDefault(entry.getKey(), 0L)))
+                    .count();
+            System.out.printf("check: %d INTEREST transactions, %d mismatches against BigDecimal%n",
+                    credited.size(), mismatches);
+        }
+    }
+
+    private static void load(ConfigurableApplicationContext context, int accountCount, YearMonth period,
+            Map<UUID, Long> expected, Random random) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        ClientRepository clients = context.getBean(ClientRepository.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(
+                context.getBean(PlatformTransactionManager.class));
+        ClientType[] types = ClientType.values();
+        Timestamp openedAt = Timestamp.valueOf(period.atDay(1).atStartOfDay().minusDays(1));
+        int days = period.lengthOfMonth();
+        int batch = 5_000;
+        for (int from = 0; from < accountCount; from += batch) {
+            int to = Math.min(from + batch, accountCount);
+            List<Client> batchClients = new ArrayList<>();
+            List<Object[]> accountRows = new ArrayList<>(batch);
+            List<Object[]> snapshotRows = new ArrayList<>(batch * days);
+            for (int a = from; a < to; a++) {
+                Client client = new Client(new PersonalInformation("Interest", "Earner", "INT-" + a,
+                        PersonalInformation.DocumentType.DNI, LocalDate.of(1980, 1, 1)), null, null,
+                        types[random.nextInt(types.length)]);
+                batchClients.add(client);
+                UUID id = UUID.randomUUID();
+                BigDecimal rate = BigDecimal.valueOf(RATES_BPS.get(client.getType())).movePointLeft(4);
+                BigDecimal sum = BigDecimal.ZERO;
+                long balance = random.nextInt(4) == 0 ? 0 : random.nextLong(10_000_000);
+                for (int d = 1; d <= days; d++) {
+                    if (random.nextInt(5) == 0) {
+                        balance = random.nextLong(10_000_000);
+                    }
+                    snapshotRows.add(new Object[] { id, Date.valueOf(period.atDay(d)), balance });
+                    sum = sum.add(BigDecimal.valueOf(balance).multiply(rate));
+                }
+                expected.put(id, sum.divide(BigDecimal.valueOf(365), 0, RoundingMode.DOWN).longValueExact());
+                accountRows.add(new Object[] { id, client.getId(), balance, openedAt });
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                clients.saveAll(batchClients);
+                jdbc.batchUpdate(INSERT_ACCOUNT, accountRows);
+                jdbc.batchUpdate(INSERT_SNAPSHOT, snapshotRows);
+            });
+        }
+        List<Object[]> runRows = new ArrayList<>();
+        for (int d = 1; d <= days; d++) {
+            runRows.add(new Object[] { Date.valueOf(period.atDay(d)) });
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbc.batchUpdate(INSERT_SNAPSHOT_RUN, runRows));
+    }
+}
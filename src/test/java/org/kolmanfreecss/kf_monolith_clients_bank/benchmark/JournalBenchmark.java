@@ -0,0 +1,131 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Transaction;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.Money;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.out.journal.MappedTransactionJournal;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics.JournalMetrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Postings per second of {@link MappedTransactionJournal} and the time it
+ * takes to replay it.
+ * <p>
+ * Writer threads append single-posting groups and wait for each one to be
+ * durable, as the ledger does, so throughput comes from group fsyncs covering
+ * the postings of all waiting threads. Each thread owns its own accounts,
+ * which keeps appends per account serialized. After the append phase the
+ * journal is closed and reopened, and the replay is timed and checked against
+ * the expected balances.
+ * <p>
+ * Run with:
+ * {@code java -cp target/classes:target/test-classes:<test classpath> org.kolmanfreecss.kf_monolith_clients_bank.benchmark.JournalBenchmark}
+ * Options: {@code -Drecords=10000000 -Dthreads=64 -Daccounts=100000 -Dsegment.mb=1024 -Dflush.delay.micros=0
+ * -Ddirectory=<temp dir> -Dkeep=false}
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public final class JournalBenchmark {
+
+    private static final Currency EUR = Currency.getInstance("EUR");
+
+    private JournalBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        long records = Long.getLong("records", 10_000_000);
+        int threads = Integer.getInteger("threads", 64);
+        int accountCount = Integer.getInteger("accounts", 100_000);
+        long segmentBytes = Long.getLong("segment.mb", 1024) * 1024 * 1024;
+        long flushDelayMicros = Long.getLong("flush.delay.micros", 0);
+        Path directory = Path.of(System.getProperty("directory",
+                Files.createTempDirectory("journal-benchmark").toString()));
+        boolean keep = Boolean.getBoolean("keep");
+        if (accountCount < threads) {
+            throw new IllegalArgumentException("Need at least one account per thread");
+        }
+
+        System.out.printf("records=%d threads=%d accounts=%d segment.mb=%d flush.delay.micros=%d directory=%s%n",
+                records, threads, accountCount, segmentBytes >> 20, flushDelayMicros, directory);
+        UUID[] accounts = new UUID[accountCount];
+        for (int i = 0; i < accountCount; i++) {
+            accounts[i] = UUID.randomUUID();
+        }
+        long[] balances = new long[accountCount];
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MappedTransactionJournal journal = new MappedTransactionJournal(directory, segmentBytes, flushDelayMicros,
+                new JournalMetrics(registry));
+        AtomicLong remaining = new AtomicLong(records);
+        List<Thread> writers = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            int first = t;
+            Thread writer = new Thread(() -> {
+                int account = first;
+                while (remaining.getAndDecrement() > 0) {
+                    long amount = 1 + (account & 1023);
+                    balances[account] += amount;
+                    Transaction deposit = new Transaction(accounts[account], Transaction.TransactionType.DEPOSIT,
+                            new Money(amount, EUR), null, new Money(balances[account], EUR));
+                    journal.append(List.of(deposit)).join();
+                    account += threads;
+                    if (account >= accountCount) {
+                        account = first;
+                    }
+                }
+            }, "writer-" + t);
+            writer.start();
+            writers.add(writer);
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        double appendSeconds = (System.nanoTime() - start) / 1e9;
+        long fsyncs = registry.get("bank.ledger.journal.fsync.postings").summary().count();
+        double fsyncMillis = registry.get("bank.ledger.journal.fsync.time").timer().mean(TimeUnit.MILLISECONDS);
+        journal.close();
+        System.out.printf("append: %.1f s, %.0f postings/s, %d fsyncs, %.1f postings/fsync, %.3f ms/fsync%n",
+                appendSeconds, records / appendSeconds, fsyncs, (double) records / fsyncs, fsyncMillis);
+
+        start = System.nanoTime();
+        MappedTransactionJournal replayed = new MappedTransactionJournal(directory, segmentBytes, flushDelayMicros,
+                new JournalMetrics(new SimpleMeterRegistry()));
+        double replaySeconds = (System.nanoTime() - start) / 1e9;
+        int mismatches = 0;
+        for (int i = 0; i < accountCount; i++) {
+            long expected = balances[i];
+            long actual = replayed.balanceOf(accounts[i]).map(b -> b.balanceMinorUnits()).orElse(0L);
+            if (expected != actual) {
+                mismatches++;
+            }
+        }
+        replayed.close();
+        System.out.printf("replay: %.1f s, %.0f postings/s, %d balance mismatches%n",
+                replaySeconds, records / replaySeconds, mismatches);
+        if (!keep) {
+            delete(directory);
+        }
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+}
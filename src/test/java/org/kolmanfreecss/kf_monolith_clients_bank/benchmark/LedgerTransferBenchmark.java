@@ -0,0 +1,154 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Account;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.Money;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.util.StripedLocks;
+
+/**
+ * Transfers per second of the ledger locking scheme as threads are added.
+ * <p>
+ * Worker threads move random amounts between random pairs of in-memory
+ * {@link Account}s, exactly as
+ * {@link org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.posting.services.LedgerService}
+ * does, under two schemes:
+ * - {@code global}: one lock for the whole ledger
+ * - {@code striped}: {@link StripedLocks#withLocks} on both account ids
+ * <p>
+ * Each run checks that no money was created or lost. The database round-trip
+ * that the service performs while holding the locks is stood in for by
+ * {@code -Dhold.micros} (default 50); with {@code -Dhold.micros=0} the run
+ * measures the raw locking overhead, which only scales with real cores. Run
+ * with {@code -XX:ActiveProcessorCount=<n>} to pin the reported core count.
+ * <p>
+ * Run with:
+ * {@code java -cp target/classes:target/test-classes:<test classpath> org.kolmanfreecss.kf_monolith_clients_bank.benchmark.LedgerTransferBenchmark}
+ * Options: {@code -Daccounts=10000 -Dstripes=1024 -Dthreads=1,2,4,8 -Dseconds=5 -Dwarmup.seconds=2 -Dhold.micros=50}
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public final class LedgerTransferBenchmark {
+
+    private static final Currency EUR = Currency.getInstance("EUR");
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000.00");
+
+    private LedgerTransferBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int accountCount = Integer.getInteger("accounts", 10_000);
+        int stripes = Integer.getInteger("stripes", 1024);
+        int seconds = Integer.getInteger("seconds", 5);
+        int warmupSeconds = Integer.getInteger("warmup.seconds", 2);
+        long holdNanos = TimeUnit.MICROSECONDS.toNanos(Long.getLong("hold.micros", 50));
+        String[] threadCounts = System.getProperty("threads", defaultThreads(cores)).split(",");
+
+        System.out.printf("cores=%d accounts=%d stripes=%d hold.micros=%d seconds=%d%n",
+                cores, accountCount, stripes, TimeUnit.NANOSECONDS.toMicros(holdNanos), seconds);
+        System.out.printf("%-8s %14s %14s %10s%n", "threads", "global tx/s", "striped tx/s", "speedup");
+        for (String count : threadCounts) {
+            int threads = Integer.parseInt(count.trim());
+            Object globalLock = new Object();
+            double global = measure(accountCount, threads, warmupSeconds, seconds, holdNanos,
+                    (from, to, transfer) -> {
+                        synchronized (globalLock) {
+                            transfer.get();
+                        }
+                    });
+            StripedLocks locks = new StripedLocks(stripes);
+            double striped = measure(accountCount, threads, warmupSeconds, seconds, holdNanos,
+                    (from, to, transfer) -> locks.withLocks(from.getId(), to.getId(), transfer));
+            System.out.printf("%-8d %14.0f %14.0f %9.2fx%n", threads, global, striped, striped / global);
+        }
+    }
+
+    private static String defaultThreads(int cores) {
+        List<String> counts = new ArrayList<>();
+        for (int threads = 1; threads < cores * 2; threads *= 2) {
+            counts.add(String.valueOf(threads));
+        }
+        counts.add(String.valueOf(cores * 2));
+        return String.join(",", counts);
+    }
+
+    private static double measure(int accountCount, int threads, int warmupSeconds, int seconds, long holdNanos,
+            Locking locking) throws InterruptedException {
+        Account[] accounts = new Account[accountCount];
+        UUID clientId = UUID.randomUUID();
+        for (int i = 0; i < accountCount; i++) {
+            accounts[i] = new Account(clientId, EUR);
+            accounts[i].deposit(OPENING_BALANCE, "opening");
+        }
+        run(accounts, threads, warmupSeconds, holdNanos, locking);
+        double throughput = run(accounts, threads, seconds, holdNanos, locking) / (double) seconds;
+        BigDecimal total = BigDecimal.ZERO;
+        for (Account account : accounts) {
+            total = total.add(account.getBalance().toBigDecimal());
+        }
+        BigDecimal expected = OPENING_BALANCE.multiply(BigDecimal.valueOf(accountCount));
+        if (total.compareTo(expected) != 0) {
+            throw new IllegalStateException("Ledger total drifted: expected " + expected + " but was " + total);
+        }
+        return throughput;
+    }
+
+    private static long run(Account[] accounts, int threads, int seconds, long holdNanos, Locking locking)
+            throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder transfers = new LongAdder();
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    while (running.get()) {
+                        Account from = accounts[random.nextInt(accounts.length)];
+                        Account to = accounts[random.nextInt(accounts.length)];
+                        if (from == to) {
+                            continue;
+                        }
+                        Money amount = new Money(random.nextInt(1, 10_000), EUR);
+                        locking.transfer(from, to, () -> {
+                            if (from.getBalance().compareTo(amount) >= 0) {
+                                from.transferOut(amount, "benchmark");
+                                to.transferIn(amount, "benchmark");
+                            }
+                            if (holdNanos > 0) {
+                                LockSupport.parkNanos(holdNanos);
+                            }
+                            return null;
+                        });
+                        transfers.increment();
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+            worker.start();
+        }
+        TimeUnit.SECONDS.sleep(seconds);
+        running.set(false);
+        done.await();
+        return transfers.sum();
+    }
+
+    @FunctionalInterface
+    private interface Locking {
+
+        void transfer(Account from, Account to, Supplier<Object> transfer);
+    }
+}
@@ -0,0 +1,103 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.benchmark;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.vo.Balance;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark of a bulk posting run: a batch of credits and debits applied
+ * to one running balance, with the {@link BigDecimal}-based {@link Balance}
+ * against the {@code long} minor units {@link Money}.
+ * <p>
+ * Run with the GC profiler to see the allocation difference
+ * ({@code gc.alloc.rate.norm}, bytes per batch):
+ * {@code java -cp target/classes:target/test-classes:<test classpath> org.kolmanfreecss.kf_monolith_clients_bank.benchmark.MoneyArithmeticBenchmark}
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyArithmeticBenchmark {
+
+    private static final Currency EUR = Currency.getInstance("EUR");
+
+    @Param({ "1024" })
+    private int postings;
+
+    private BigDecimal[] decimalAmounts;
+    private Money[] moneyAmounts;
+    private long[] minorUnitAmounts;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        decimalAmounts = new BigDecimal[postings];
+        moneyAmounts = new Money[postings];
+        minorUnitAmounts = new long[postings];
+        for (int i = 0; i < postings; i++) {
+            long cents = random.nextInt(1, 1_000_000);
+            decimalAmounts[i] = BigDecimal.valueOf(cents, 2);
+            moneyAmounts[i] = new Money(cents, EUR);
+            minorUnitAmounts[i] = cents;
+        }
+    }
+
+    @Benchmark
+    public Balance balance() {
+        Balance balance = new Balance(BigDecimal.ZERO, EUR);
+        for (int i = 0; i < postings; i++) {
+            balance = (i & 1) == 0 ? balance.add(decimalAmounts[i]) : balance.subtract(decimalAmounts[i]);
+        }
+        return balance;
+    }
+
+    @Benchmark
+    public Money money() {
+        Money balance = Money.zero(EUR);
+        for (int i = 0; i < postings; i++) {
+            balance = (i & 1) == 0 ? balance.plus(moneyAmounts[i]) : balance.minus(moneyAmounts[i]);
+        }
+        return balance;
+    }
+
+    @Benchmark
+    public long minorUnits() {
+        long balance = 0;
+        for (int i = 0; i < postings; i++) {
+            balance = (i & 1) == 0 ? Math.addExact(balance, minorUnitAmounts[i])
+                    : Math.subtractExact(balance, minorUnitAmounts[i]);
+        }
+        return balance;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MoneyArithmeticBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,203 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.benchmark;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.aop.MeasurePerformance;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.aop.PerformanceAspect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * JMH benchmark of the overhead of {@link PerformanceAspect} on a trivial
+ * method, through the same CGLIB proxies the application uses.
+ * <p>
+ * Compares the method called directly, through an advice that only
+ * proceeds (the cost of the proxy itself), through the previous advice, which
+ * built its three meters, formatted the duration and logged on every call,
+ * and through the current one with every call recorded and with one call in
+ * ten sampled. The previous advice logs to a logger without appenders, so its
+ * figures leave out the log output itself.
+ * <p>
+ * Run with the GC profiler to see the allocation per call
+ * ({@code gc.alloc.rate.norm}):
+ * {@code java -cp target/classes:target/test-classes:<test classpath> org.kolmanfreecss.kf_monolith_clients_bank.benchmark.PerformanceAspectBenchmark}
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PerformanceAspectBenchmark {
+
+    private Measured direct;
+    private Measured bare;
+    private Measured previous;
+    private Measured cached;
+    private Measured sampled;
+    private long value;
+
+    @Setup
+    public void setUp() {
+        // Keep the previous advice's log events, but drop them instead of printing them
+        LoggerContext context = (LoggerContext) LogManager.getContext(false);
+        String logger = PreviousPerformanceAspect.class.getName();
+        context.getConfiguration().addLogger(logger, new LoggerConfig(logger, Level.INFO, false));
+        context.updateLoggers();
+
+        direct = new Measured();
+        bare = proxy(new ProceedingAspect());
+        previous = proxy(new PreviousPerformanceAspect(new SimpleMeterRegistry()));
+        cached = proxy(new PerformanceAspect(new SimpleMeterRegistry(), 1.0, Map.of(), Long.MAX_VALUE / 1_000_000));
+        sampled = proxy(new PerformanceAspect(new SimpleMeterRegistry(), 1.0, Map.of("Measured.work", 0.1),
+                Long.MAX_VALUE / 1_000_000));
+    }
+
+    @Benchmark
+    public long direct() {
+        return direct.work(value++);
+    }
+
+    @Benchmark
+    public long bare() {
+        return bare.work(value++);
+    }
+
+    @Benchmark
+    public long previous() {
+        return previous.work(value++);
+    }
+
+    @Benchmark
+    public long cached() {
+        return cached.work(value++);
+    }
+
+    @Benchmark
+    public long sampled() {
+        return sampled.work(value++);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PerformanceAspectBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+    private static Measured proxy(Object aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Measured());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    /**
+     * The measured method: too cheap to matter next to its instrumentation.
+     */
+    @MeasurePerformance
+    public static class Measured {
+
+        public long work(long value) {
+            return value * 31 + 7;
+        }
+    }
+
+    /**
+     * An advice measuring nothing.
+     */
+    @Aspect
+    public static class ProceedingAspect {
+
+        @Around("@within(org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.aop.MeasurePerformance)")
+        public Object proceed(ProceedingJoinPoint joinPoint) throws Throwable {
+            return joinPoint.proceed();
+        }
+    }
+
+    /**
+     * The advice {@link PerformanceAspect} had before meter handles were
+     * cached.
+     */
+    @Aspect
+    @Slf4j
+    public static class PreviousPerformanceAspect {
+
+        private final MeterRegistry meterRegistry;
+
+        PreviousPerformanceAspect(MeterRegistry meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Around("@within(org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.aop.MeasurePerformance)")
+        public Object measureMethodExecutionTime(ProceedingJoinPoint joinPoint) throws Throwable {
+            MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+            Method method = signature.getMethod();
+            String className = joinPoint.getTarget().getClass().getSimpleName();
+            String methodName = method.getName();
+            String fullMethodName = className + "." + methodName;
+
+            long startTime = System.nanoTime();
+            boolean isSuccess = true;
+            try {
+                return joinPoint.proceed();
+            } catch (Throwable throwable) {
+                isSuccess = false;
+                throw throwable;
+            } finally {
+                long duration = System.nanoTime() - startTime;
+                double durationInMs = duration / 1_000_000.0;
+                log.info("Method {} executed in {} ms (success: {})",
+                        fullMethodName,
+                        String.format("%.2f", durationInMs),
+                        isSuccess);
+                Timer.builder("method.execution.time")
+                        .tag("class", className)
+                        .tag("method", methodName)
+                        .tag("success", String.valueOf(isSuccess))
+                        .register(meterRegistry)
+                        .record(duration, TimeUnit.NANOSECONDS);
+                meterRegistry.summary("method.execution.time.histogram",
+                        "class", className,
+                        "method", methodName,
+                        "success", String.valueOf(isSuccess))
+                        .record(durationInMs);
+                meterRegistry.timer("method.execution.time.percentiles",
+                        "class", className,
+                        "method", methodName)
+                        .record(duration, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.posting.services.LedgerService;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Account;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRepository;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Deposits per second through {@link LedgerService}, posting each deposit in
+ * its own transaction versus through the posting pipeline (group commit).
+ * <p>
+ * Each mode boots the application on a fresh in-memory H2 database, opens the
+ * accounts and lets the worker threads deposit into random accounts for the
+ * measured period. In-memory H2 makes commits cheap, so the gain shown here
+ * comes from fewer transactions and JDBC batching alone; a remote database
+ * adds a round-trip and a log flush per commit that the pipeline saves as
+ * well.
+ * <p>
+ * Run as described in {@link BenchmarkApplication}, with options
+ * {@code -Dthreads=64 -Daccounts=1000 -Dseconds=10 -Dwarmup.seconds=5 -Dmax.batch.size=100
+ * -Dmax.wait.micros=0}
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public final class PostingPipelineBenchmark {
+
+    private static final Currency EUR = Currency.getInstance("EUR");
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    private PostingPipelineBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threads = Integer.getInteger("threads", 64);
+        int accountCount = Integer.getInteger("accounts", 1000);
+        int seconds = Integer.getInteger("seconds", 10);
+        int warmupSeconds = Integer.getInteger("warmup.seconds", 5);
+        int maxBatchSize = Integer.getInteger("max.batch.size", 100);
+        long maxWaitMicros = Long.getLong("max.wait.micros", 0);
+
+        System.out.printf("threads=%d accounts=%d seconds=%d max.batch.size=%d max.wait.micros=%d%n",
+                threads, accountCount, seconds, maxBatchSize, maxWaitMicros);
+        for (boolean pipeline : new boolean[] { false, true }) {
+            try (ConfigurableApplicationContext context = BenchmarkApplication.boot("pipeline-" + pipeline,
+                    "bank.ledger.pipeline.enabled=" + pipeline,
+                    "bank.ledger.pipeline.max-batch-size=" + maxBatchSize,
+                    "bank.ledger.pipeline.max-wait-micros=" + maxWaitMicros)) {
+                LedgerService ledger = context.getBean(LedgerService.class);
+                AccountRepository repository = context.getBean(AccountRepository.class);
+                MeterRegistry registry = context.getBean(MeterRegistry.class);
+                List<UUID> accounts = new ArrayList<>(accountCount);
+                UUID clientId = UUID.randomUUID();
+                for (int i = 0; i < accountCount; i++) {
+                    accounts.add(repository.save(new Account(clientId, EUR)).getId());
+                }
+
+                run(ledger, accounts, threads, warmupSeconds);
+                Timer postings = registry.get("bank.ledger.posting.time").tag("type", "deposit").timer();
+                long countBefore = postings.count();
+                double timeBefore = postings.totalTime(TimeUnit.MILLISECONDS);
+                double batchesBefore = pipeline ? registry.get("bank.ledger.pipeline.batch.size").summary().count() : 0;
+                long deposits = run(ledger, accounts, threads, seconds);
+                double latencyMillis = (postings.totalTime(TimeUnit.MILLISECONDS) - timeBefore)
+                        / (postings.count() - countBefore);
+                String batches = "";
+                if (pipeline) {
+                    double count = registry.get("bank.ledger.pipeline.batch.size").summary().count() - batchesBefore;
+                    batches = String.format(", %.1f postings/batch", deposits / count);
+                }
+                System.out.printf("%-8s %10.0f deposits/s, %.2f ms mean latency%s%n",
+                        pipeline ? "pipeline" : "direct", deposits / (double) seconds, latencyMillis, batches);
+            }
+        }
+    }
+
+    private static long run(LedgerService ledger, List<UUID> accounts, int threads, int seconds)
+            throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder deposits = new LongAdder();
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    while (running.get()) {
+                        ledger.deposit(accounts.get(random.nextInt(accounts.size())), AMOUNT, "benchmark");
+                        deposits.increment();
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+            worker.start();
+        }
+        TimeUnit.SECONDS.sleep(seconds);
+        running.set(false);
+        done.await();
+        return deposits.sum();
+    }
+}
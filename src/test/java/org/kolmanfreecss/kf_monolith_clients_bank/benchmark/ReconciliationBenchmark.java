@@ -0,0 +1,197 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.benchmark;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.reconciliation.services.ReconciliationService;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.BalanceChain;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.ReconciliationRun;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Transaction.TransactionType;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.TransactionRepository;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Ledger reconciliation runs.
+ * <p>
+ * Boots the application on an in-memory H2 database and loads
+ * {@code -Daccounts} accounts with {@code -Dtransactions.per.account}
+ * transactions each, then breaks the chain of one account in a thousand and
+ * the balance of another. The ledger is verified first by a sequential scan
+ * reading one account at a time, then by a reconciliation run, and the run's
+ * discrepancies are checked against the planted ones. A last run with
+ * {@code -Dbudget} rows per second shows the throttling.
+ * <p>
+ * Run as described in {@link BenchmarkApplication}, with options
+ * {@code -Daccounts=20000 -Dtransactions.per.account=50 -Dchunk.size=1000 -Dpage.size=1000 -Dparallelism=4 -Dbudget=100000}
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public final class ReconciliationBenchmark {
+
+    private static final String INSERT_ACCOUNT = "INSERT INTO accounts (id, client_id, balance_minor_units, "
+            + "balance_currency, status, opened_at, last_posted_at, version) VALUES (?, ?, ?, 'EUR', 'ACTIVE', ?, ?, 0)";
+    private static final String INSERT_TRANSACTION = "INSERT INTO transactions (id, account_id, type, "
+            + "amount_minor_units, currency, timestamp, description, balance_after_minor_units) "
+            + "VALUES (?, ?, ?, ?, 'EUR', ?, NULL, ?)";
+
+    private ReconciliationBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int accountCount = Integer.getInteger("accounts", 20_000);
+        int transactionsPerAccount = Integer.getInteger("transactions.per.account", 50);
+        int chunkSize = Integer.getInteger("chunk.size", 1000);
+        int pageSize = Integer.getInteger("page.size", 1000);
+        int parallelism = Integer.getInteger("parallelism", 4);
+        int budget = Integer.getInteger("budget", 100_000);
+
+        System.out.printf("accounts=%d transactions.per.account=%d chunk.size=%d page.size=%d parallelism=%d%n",
+                accountCount, transactionsPerAccount, chunkSize, pageSize, parallelism);
+        long planted;
+        try (ConfigurableApplicationContext context = boot("reconciliation", chunkSize, pageSize, parallelism,
+                Integer.MAX_VALUE)) {
+            long start = System.nanoTime();
+            planted = load(context, accountCount, transactionsPerAccount, new Random(42));
+            long rows = (long) accountCount * transactionsPerAccount;
+            System.out.printf("load: %d accounts, %d transactions in %.1f s, %d discrepancies planted%n",
+                    accountCount, rows, (System.nanoTime() - start) / 1e9, planted);
+
+            start = System.nanoTime();
+            long breaks = sequentialScan(context, pageSize);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("sequential: %.1f s, %.0f rows/s, %d broken links%n", seconds, rows / seconds, breaks);
+
+            ReconciliationService reconciliation = context.getBean(ReconciliationService.class);
+            start = System.nanoTime();
+            ReconciliationRun run = reconciliation.reconcile();
+            seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("run: %d accounts, %d transactions in %.1f s, %.0f rows/s, %d discrepancies (%s)%n",
+                    run.getAccounts(), run.getTransactions(), seconds, run.getTransactions() / seconds,
+                    run.getDiscrepancies(), run.getDiscrepancies() == planted ? "all found" : "MISMATCH");
+        }
+
+        // Same ledger shape, throttled to the budget
+        try (ConfigurableApplicationContext context = boot("reconciliation-budget", chunkSize, pageSize,
+                parallelism, budget)) {
+            load(context, accountCount, transactionsPerAccount, new Random(42));
+            long start = System.nanoTime();
+            ReconciliationRun run = context.getBean(ReconciliationService.class).reconcile();
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("budget %d rows/s: %d transactions in %.1f s, %.0f rows/s%n", budget,
+                    run.getTransactions(), seconds, run.getTransactions() / seconds);
+        }
+    }
+
+    /**
+     * Loads accounts with consistent chains, then breaks the balance after the
+     * third transaction of every thousandth account (two broken links) and the
+     * balance of every thousandth account from the 500th (a mismatch).
+     *
+     * @return The number of discrepancies planted
+     */
+    private static ConfigurableApplicationContext boot(String database, int chunkSize, int pageSize, int parallelism,
+            int budget) {
+        return BenchmarkApplication.boot(database,
+                "bank.reconciliation.enabled=false",
+                "bank.reconciliation.chunk-size=" + chunkSize,
+                "bank.reconciliation.page-size=" + pageSize,
+                "bank.reconciliation.parallelism=" + parallelism,
+                "bank.reconciliation.max-rows-per-second=" + budget);
+    }
+
+    private static long load(ConfigurableApplicationContext context, int accountCount, int transactionsPerAccount,
+            Random random) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(
+                context.getBean(PlatformTransactionManager.class));
+        LocalDateTime openedAt = LocalDateTime.now().minusYears(1);
+        long planted = 0;
+        int batch = Math.max(1, 100_000 / transactionsPerAccount);
+        for (int from = 0; from < accountCount; from += batch) {
+            int to = Math.min(from + batch, accountCount);
+            List<Object[]> accountRows = new ArrayList<>(to - from);
+            List<Object[]> transactionRows = new ArrayList<>((to - from) * transactionsPerAccount);
+            for (int a = from; a < to; a++) {
+                UUID accountId = UUID.randomUUID();
+                long balance = 0;
+                LocalDateTime timestamp = openedAt;
+                for (int t = 0; t < transactionsPerAccount; t++) {
+                    // Deposits until there is something to debit
+                    TransactionType type = balance < 10_000 ? TransactionType.DEPOSIT
+                            : TransactionType.values()[random.nextInt(TransactionType.values().length)];
+                    long amount = 1 + random.nextInt(type.isCredit() ? 50_000 : (int) Math.min(balance, 10_000));
+                    balance += type.isCredit() ? amount : -amount;
+                    timestamp = timestamp.plusMinutes(1 + random.nextInt(600));
+                    long recorded = balance;
+                    if (a % 1000 == 0 && t == 2 && transactionsPerAccount > 3) {
+                        recorded += 1;
+                        planted += 2;
+                    }
+                    transactionRows.add(new Object[] { UUID.randomUUID(), accountId, type.ordinal(), amount,
+                            Timestamp.valueOf(timestamp), recorded });
+                }
+                long accountBalance = balance;
+                if (a % 1000 == 500) {
+                    accountBalance += 7;
+                    planted++;
+                }
+                accountRows.add(new Object[] { accountId, UUID.randomUUID(), accountBalance,
+                        Timestamp.valueOf(openedAt), Timestamp.valueOf(timestamp) });
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbc.batchUpdate(INSERT_ACCOUNT, accountRows);
+                jdbc.batchUpdate(INSERT_TRANSACTION, transactionRows);
+            });
+        }
+        return planted;
+    }
+
+    /**
+     * The naive verification: one thread, one account at a time.
+     *
+     * @return The number of broken links
+     */
+    private static long sequentialScan(ConfigurableApplicationContext context, int pageSize) {
+        AccountRepository accounts = context.getBean(AccountRepository.class);
+        TransactionRepository transactions = context.getBean(TransactionRepository.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(
+                context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+        long breaks = 0;
+        UUID after = new UUID(0, 0);
+        while (true) {
+            UUID from = after;
+            List<UUID> chunk = transactionTemplate.execute(status -> accounts.findIdsAfter(from, Limit.of(1000)));
+            if (chunk.isEmpty()) {
+                return breaks;
+            }
+            after = chunk.get(chunk.size() - 1);
+            for (UUID accountId : chunk) {
+                BalanceChain chain = new BalanceChain(accountId);
+                List<TransactionRepository.ChainLink> page = transactionTemplate.execute(
+                        status -> transactions.findChainPage(accountId, Limit.of(pageSize)));
+                while (true) {
+                    page.forEach(link -> chain.append(link.type(), link.amountMinorUnits(),
+                            link.balanceAfterMinorUnits()));
+                    if (page.size() < pageSize) {
+                        break;
+                    }
+                    TransactionRepository.ChainLink last = page.get(page.size() - 1);
+                    page = transactionTemplate.execute(status -> transactions.findChainPageAfter(accountId,
+                            last.timestamp(), last.id(), Limit.of(pageSize)));
+                }
+                breaks += chain.getBreaks();
+            }
+        }
+    }
+}
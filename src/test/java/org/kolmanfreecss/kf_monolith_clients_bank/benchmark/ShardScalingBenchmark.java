@@ -0,0 +1,170 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.benchmark;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.database.sharding.ShardContext;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.database.sharding.ShardRouter;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.database.sharding.ShardRoutingDataSource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Throughput of the shard routing layer as shards are added.
+ * <p>
+ * Every shard is a separate in-memory H2 database behind its own Hikari pool,
+ * reached through {@link ShardRoutingDataSource} exactly as the application
+ * does. Worker threads run short transactions on random client ids: insert a
+ * client row, read it back by id, commit.
+ * <p>
+ * The H2 shards all run inside this JVM and share its CPUs, unlike real
+ * database servers. Each transaction therefore holds its connection for
+ * {@code -Dlatency.ms} (default 2) to stand in for the network round-trip and
+ * commit of a remote database; the benchmark then shows how throughput grows
+ * with the connections that every added shard brings. Run with
+ * {@code -Dlatency.ms=0} to measure the raw in-process cost instead.
+ * <p>
+ * Run with:
+ * {@code java -cp target/classes:target/test-classes:<test classpath> org.kolmanfreecss.kf_monolith_clients_bank.benchmark.ShardScalingBenchmark}
+ * Options: {@code -Dshards=1,2,4,8 -Dthreads=64 -Dpool.size=4 -Dseconds=5 -Dwarmup.seconds=2 -Dlatency.ms=2}
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+public final class ShardScalingBenchmark {
+
+    private ShardScalingBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threads = Integer.getInteger("threads", 64);
+        int poolSize = Integer.getInteger("pool.size", 4);
+        int seconds = Integer.getInteger("seconds", 5);
+        int warmupSeconds = Integer.getInteger("warmup.seconds", 2);
+        long latencyMillis = Long.getLong("latency.ms", 2);
+        String[] shardCounts = System.getProperty("shards", "1,2,4,8").split(",");
+
+        System.out.printf("threads=%d pool.size=%d latency.ms=%d seconds=%d%n", threads, poolSize, latencyMillis, seconds);
+        System.out.printf("%-8s %14s %12s %12s%n", "shards", "tx/s", "p50 (ms)", "p99 (ms)");
+        double baseline = 0;
+        for (String count : shardCounts) {
+            int shards = Integer.parseInt(count.trim());
+            try (ShardRouter router = router(shards, poolSize)) {
+                DataSource dataSource = new ShardRoutingDataSource(router);
+                run(router, dataSource, threads, warmupSeconds, latencyMillis);
+                Result result = run(router, dataSource, threads, seconds, latencyMillis);
+                if (baseline == 0) {
+                    baseline = result.throughput();
+                }
+                System.out.printf("%-8d %14.0f %12.2f %12.2f   x%.2f%n", shards, result.throughput(),
+                        result.p50Millis(), result.p99Millis(), result.throughput() / baseline);
+            }
+        }
+    }
+
+    private static ShardRouter router(int shards, int poolSize) throws SQLException {
+        Map<String, DataSource> pools = new LinkedHashMap<>();
+        for (int i = 0; i < shards; i++) {
+            HikariConfig config = new HikariConfig();
+            config.setJdbcUrl("jdbc:h2:mem:bench-" + shards + "-" + i + ";DB_CLOSE_DELAY=-1");
+            config.setUsername("sa");
+            config.setMaximumPoolSize(poolSize);
+            config.setMinimumIdle(poolSize);
+            config.setAutoCommit(false);
+            config.setPoolName("bench-shard-" + i);
+            HikariDataSource pool = new HikariDataSource(config);
+            try (Connection connection = pool.getConnection(); Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE clients (id UUID PRIMARY KEY, document_id VARCHAR(64), version BIGINT)");
+                connection.commit();
+            }
+            pools.put("shard-" + i, pool);
+        }
+        return new ShardRouter(pools, List.of(), 160);
+    }
+
+    private static Result run(ShardRouter router, DataSource dataSource, int threads, int seconds, long latencyMillis)
+            throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder transactions = new LongAdder();
+        ConcurrentLinkedQueue<long[]> latencies = new ConcurrentLinkedQueue<>();
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                long[] samples = new long[1 << 16];
+                int sampleCount = 0;
+                try {
+                    while (running.get()) {
+                        long start = System.nanoTime();
+                        transaction(router, dataSource, latencyMillis);
+                        transactions.increment();
+                        samples[sampleCount++ & (samples.length - 1)] = System.nanoTime() - start;
+                    }
+                } catch (SQLException | InterruptedException e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    long[] kept = new long[Math.min(sampleCount, samples.length)];
+                    System.arraycopy(samples, 0, kept, 0, kept.length);
+                    latencies.add(kept);
+                    done.countDown();
+                }
+            });
+            worker.start();
+        }
+        TimeUnit.SECONDS.sleep(seconds);
+        running.set(false);
+        done.await();
+        long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(transactions.sum() / (double) seconds,
+                percentile(all, 0.50) / 1e6, percentile(all, 0.99) / 1e6);
+    }
+
+    private static void transaction(ShardRouter router, DataSource dataSource, long latencyMillis)
+            throws SQLException, InterruptedException {
+        UUID id = new UUID(ThreadLocalRandom.current().nextLong(), ThreadLocalRandom.current().nextLong());
+        String previous = ShardContext.bind(router.shardFor(id));
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO clients (id, document_id, version) VALUES (?, ?, 0)")) {
+                insert.setObject(1, id);
+                insert.setString(2, id.toString());
+                insert.executeUpdate();
+            }
+            try (PreparedStatement select = connection.prepareStatement("SELECT version FROM clients WHERE id = ?")) {
+                select.setObject(1, id);
+                try (ResultSet resultSet = select.executeQuery()) {
+                    resultSet.next();
+                }
+            }
+            if (latencyMillis > 0) {
+                Thread.sleep(latencyMillis);
+            }
+            connection.commit();
+        } finally {
+            ShardContext.restore(previous);
+        }
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        return sorted.length == 0 ? 0 : sorted[(int) Math.min(sorted.length - 1, Math.round(percentile * (sorted.length - 1)))];
+    }
+
+    private record Result(double throughput, double p50Millis, double p99Millis) {
+    }
+}
@@ -0,0 +1,98 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.benchmark;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.util.SlidingWindowCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark of the velocity check of a debit, {@link SlidingWindowCounters#tryAcquire} over a minute and an hour
+ * window of 12 buckets each, from 32 threads at once:
+ * - {@code spreadAccounts}: each debit on a random one of {@code accounts} accounts, as in production
+ * - {@code hotAccount}: every debit on the same account, the worst case for contention; its limits are never reached
+ * so that every acquisition updates the rings
+ * - {@code rejected}: every debit on an account over its limit, which adds and undoes
+ * <p>
+ * Run with:
+ * {@code java -cp target/classes:target/test-classes:<test classpath> org.kolmanfreecss.kf_monolith_clients_bank.benchmark.VelocityLimitBenchmark}
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(32)
+@Fork(1)
+public class VelocityLimitBenchmark {
+
+    private static final long[] UNLIMITED = { Long.MAX_VALUE, Long.MAX_VALUE };
+    private static final long[] ONE_PER_HOUR = { Long.MAX_VALUE, 1 };
+
+    @Param({ "100000" })
+    public int accounts;
+
+    private SlidingWindowCounters<UUID> counters;
+    private UUID[] accountIds;
+    private UUID hot;
+    private UUID limited;
+
+    @Setup
+    public void setUp() {
+        counters = new SlidingWindowCounters<>(List.of(
+                new SlidingWindowCounters.Window(Duration.ofMinutes(1), 12),
+                new SlidingWindowCounters.Window(Duration.ofHours(1), 12)));
+        accountIds = new UUID[accounts];
+        for (int i = 0; i < accounts; i++) {
+            accountIds[i] = UUID.randomUUID();
+            counters.tryAcquire(accountIds[i], counters.now(), 1_000, UNLIMITED, UNLIMITED);
+        }
+        hot = accountIds[0];
+        limited = UUID.randomUUID();
+        counters.tryAcquire(limited, counters.now(), 1_000, ONE_PER_HOUR, UNLIMITED);
+    }
+
+    @Benchmark
+    public int spreadAccounts() {
+        UUID accountId = accountIds[ThreadLocalRandom.current().nextInt(accounts)];
+        return counters.tryAcquire(accountId, counters.now(), 2_500, UNLIMITED, UNLIMITED);
+    }
+
+    @Benchmark
+    public int hotAccount() {
+        return counters.tryAcquire(hot, counters.now(), 2_500, UNLIMITED, UNLIMITED);
+    }
+
+    @Benchmark
+    public int rejected() {
+        return counters.tryAcquire(limited, counters.now(), 2_500, ONE_PER_HOUR, UNLIMITED);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(VelocityLimitBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
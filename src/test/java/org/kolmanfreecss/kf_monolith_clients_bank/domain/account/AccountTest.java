@@ -0,0 +1,73 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.domain.account;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.vo.AccountStatus;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.Money;
+
+/**
+ * Unit tests for the posting rules of {@link Account}.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+class AccountTest {
+
+    private static final Currency EUR = Currency.getInstance("EUR");
+
+    private final Account account = new Account(UUID.randomUUID(), EUR);
+
+    @Test
+    void frozenAccountsAcceptDepositsButNoDebits() {
+        account.deposit(new BigDecimal("100.00"), null);
+        account.freeze();
+
+        assertEquals(Transaction.TransactionType.DEPOSIT, account.deposit(new BigDecimal("5.00"), null).getType());
+        assertThrows(IllegalStateException.class, () -> account.withdraw(new BigDecimal("1.00"), null));
+        assertThrows(IllegalStateException.class, () -> account.transferOut(new BigDecimal("1.00"), null));
+        assertEquals(new Money(10_500, EUR), account.getBalance());
+    }
+
+    @Test
+    void closedAccountsAcceptNothing() {
+        account.close();
+
+        assertEquals(AccountStatus.CLOSED, account.getStatus());
+        assertThrows(IllegalStateException.class, () -> account.deposit(new BigDecimal("1.00"), null));
+        assertThrows(IllegalStateException.class, () -> account.transferIn(new BigDecimal("1.00"), null));
+        assertThrows(IllegalStateException.class, () -> account.withdraw(new BigDecimal("1.00"), null));
+    }
+
+    @Test
+    void debitsCannotOverdrawTheAccount() {
+        account.deposit(new BigDecimal("10.00"), null);
+
+        assertThrows(IllegalStateException.class, () -> account.withdraw(new BigDecimal("10.01"), null));
+        assertThrows(IllegalStateException.class, () -> account.transferOut(new BigDecimal("10.01"), null));
+        assertEquals(new Money(1_000, EUR), account.getBalance());
+        assertEquals(0, account.withdraw(new BigDecimal("10.00"), null).getBalanceAfterMinorUnits());
+    }
+
+    @Test
+    void rejectsInvalidAmounts() {
+        assertThrows(IllegalArgumentException.class, () -> account.deposit(BigDecimal.ZERO, null));
+        assertThrows(IllegalArgumentException.class, () -> account.deposit(new BigDecimal("-1.00"), null));
+        assertThrows(IllegalArgumentException.class,
+                () -> account.deposit(new Money(100, Currency.getInstance("USD")), null));
+        assertEquals(Money.zero(EUR), account.getBalance());
+    }
+
+    @Test
+    void onlyEmptyAccountsCanBeClosed() {
+        account.deposit(new BigDecimal("1.00"), null);
+
+        assertThrows(IllegalStateException.class, account::close);
+        assertEquals(AccountStatus.ACTIVE, account.getStatus());
+    }
+}
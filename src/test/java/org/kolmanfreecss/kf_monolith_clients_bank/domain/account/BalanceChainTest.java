@@ -0,0 +1,52 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.domain.account;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Transaction.TransactionType;
+
+/**
+ * Unit tests for {@link BalanceChain}.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+class BalanceChainTest {
+
+    @Test
+    void creditsAddAndDebitsSubtract() {
+        BalanceChain chain = new BalanceChain(UUID.randomUUID());
+        assertEquals(10_000, chain.append(TransactionType.DEPOSIT, 10_000, 10_000));
+        assertEquals(7_500, chain.append(TransactionType.WITHDRAWAL, 2_500, 7_500));
+        assertEquals(9_000, chain.append(TransactionType.TRANSFER_IN, 1_500, 9_000));
+        assertEquals(8_000, chain.append(TransactionType.TRANSFER_OUT, 1_000, 8_000));
+        assertEquals(7_995, chain.append(TransactionType.FEE, 5, 7_995));
+        assertEquals(8_000, chain.append(TransactionType.INTEREST, 5, 8_000));
+        assertEquals(6, chain.getLinks());
+        assertEquals(0, chain.getBreaks());
+        assertEquals(8_000, chain.getBalanceMinorUnits());
+    }
+
+    @Test
+    void continuesFromTheRecordedBalanceAfterABreak() {
+        BalanceChain chain = new BalanceChain(UUID.randomUUID());
+        chain.append(TransactionType.DEPOSIT, 10_000, 10_000);
+        // A withdrawal of 1,000 recording 9,500 instead of 9,000
+        assertEquals(9_000, chain.append(TransactionType.WITHDRAWAL, 1_000, 9_500));
+        // The next row is consistent with the recorded balance, so only one break is found
+        assertEquals(9_000, chain.append(TransactionType.WITHDRAWAL, 500, 9_000));
+        assertEquals(1, chain.getBreaks());
+        assertEquals(9_000, chain.getBalanceMinorUnits());
+    }
+
+    @Test
+    void startsAtZero() {
+        BalanceChain chain = new BalanceChain(UUID.randomUUID());
+        assertEquals(0, chain.getBalanceMinorUnits());
+        // A first transaction recording a balance the account never had
+        assertEquals(100, chain.append(TransactionType.DEPOSIT, 100, 200));
+        assertEquals(1, chain.getBreaks());
+    }
+}
@@ -0,0 +1,91 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.domain.account;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link InterestAccrual}, cross-checked against a
+ * {@link BigDecimal} implementation of the same accrual rules.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+class InterestAccrualTest {
+
+    private static final int DAYS = 31;
+
+    @Test
+    void matchesBigDecimalReferenceOnRandomBalances() {
+        Random random = new Random(42);
+        int accounts = 10_000;
+        long[][] balances = new long[DAYS][accounts];
+        long[] rates = new long[accounts];
+        for (int i = 0; i < accounts; i++) {
+            rates[i] = random.nextLong(InterestAccrual.MAX_RATE_BPS + 1);
+            // Mostly everyday balances, some at the very top of the range
+            long bound = random.nextInt(100) == 0 ? InterestAccrual.MAX_BALANCE : 100_000_000L;
+            for (int d = 0; d < DAYS; d++) {
+                balances[d][i] = random.nextInt(10) == 0 ? 0 : random.nextLong(bound + 1);
+            }
+        }
+        long[] accrued = new long[accounts];
+        for (long[] day : balances) {
+            InterestAccrual.accrueDay(day, rates, accrued, 0, accounts);
+        }
+        for (int i = 0; i < accounts; i++) {
+            assertEquals(reference(balances, rates[i], i), InterestAccrual.toMinorUnits(accrued[i]),
+                    "account " + i);
+        }
+    }
+
+    @Test
+    void accruesBalanceTimesRateOverYearAndTruncatesToMinorUnits() {
+        // 1,000.00 at 365 bps for one day: 100,000 * 0.0365 / 365 = exactly 10 minor units
+        long[] accrued = new long[1];
+        InterestAccrual.accrueDay(new long[] { 100_000 }, new long[] { 365 }, accrued, 0, 1);
+        assertEquals(10, InterestAccrual.toMinorUnits(accrued[0]));
+        // 999.99 accrues 9.9999 minor units, paid as 9
+        accrued[0] = 0;
+        InterestAccrual.accrueDay(new long[] { 99_999 }, new long[] { 365 }, accrued, 0, 1);
+        assertEquals(9, InterestAccrual.toMinorUnits(accrued[0]));
+    }
+
+    @Test
+    void onlyAccruesTheRequestedRange() {
+        long[] accrued = new long[3];
+        InterestAccrual.accrueDay(new long[] { 1, 1, 1 }, new long[] { 1, 1, 1 }, accrued, 1, 2);
+        assertEquals(0, accrued[0]);
+        assertEquals(1, accrued[1]);
+        assertEquals(0, accrued[2]);
+    }
+
+    @Test
+    void rejectsBalancesAndRatesThatCouldOverflow() {
+        assertThrows(IllegalArgumentException.class, () -> InterestAccrual.requireBalance(-1));
+        assertThrows(IllegalArgumentException.class,
+                () -> InterestAccrual.requireBalance(InterestAccrual.MAX_BALANCE + 1));
+        assertThrows(IllegalArgumentException.class, () -> InterestAccrual.requireRate(-1));
+        assertThrows(IllegalArgumentException.class,
+                () -> InterestAccrual.requireRate(InterestAccrual.MAX_RATE_BPS + 1));
+    }
+
+    /**
+     * Sum of the daily interest {@code balance * rate / 365}, with the rate as
+     * a decimal fraction, truncated to whole minor units. The division is
+     * done once, on the exact sum, so the reference has no rounding error.
+     */
+    private static long reference(long[][] balances, long rateBps, int account) {
+        BigDecimal rate = BigDecimal.valueOf(rateBps).movePointLeft(4);
+        BigDecimal total = BigDecimal.ZERO;
+        for (long[] day : balances) {
+            total = total.add(BigDecimal.valueOf(day[account]).multiply(rate));
+        }
+        return total.divide(BigDecimal.valueOf(365), 0, RoundingMode.DOWN).longValueExact();
+    }
+}
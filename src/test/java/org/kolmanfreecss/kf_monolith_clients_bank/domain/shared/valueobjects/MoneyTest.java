@@ -0,0 +1,45 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link Money}.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+class MoneyTest {
+
+    private static final Currency EUR = Currency.getInstance("EUR");
+    private static final Currency JPY = Currency.getInstance("JPY");
+
+    @Test
+    void convertsDecimalsLosslesslyUsingCurrencyScale() {
+        assertEquals(12345, Money.of(new BigDecimal("123.45"), EUR).minorUnits());
+        assertEquals(new BigDecimal("123.45"), Money.of(new BigDecimal("123.450"), EUR).toBigDecimal());
+        assertEquals(500, Money.of(new BigDecimal("500"), JPY).minorUnits());
+        assertEquals(new BigDecimal("500"), new Money(500, JPY).toBigDecimal());
+    }
+
+    @Test
+    void rejectsAmountsThatWouldBeRounded() {
+        assertThrows(IllegalArgumentException.class, () -> Money.of(new BigDecimal("1.005"), EUR));
+        assertThrows(IllegalArgumentException.class, () -> Money.of(new BigDecimal("0.5"), JPY));
+        assertThrows(IllegalArgumentException.class, () -> Money.of(new BigDecimal("1e30"), EUR));
+    }
+
+    @Test
+    void arithmeticIsOverflowCheckedAndCurrencySafe() {
+        assertEquals(new Money(150, EUR), new Money(100, EUR).plus(new Money(50, EUR)));
+        assertEquals(new Money(-50, EUR), new Money(0, EUR).minus(new Money(50, EUR)));
+        assertThrows(ArithmeticException.class, () -> new Money(Long.MAX_VALUE, EUR).plus(new Money(1, EUR)));
+        assertThrows(ArithmeticException.class, () -> new Money(Long.MIN_VALUE, EUR).negate());
+        assertThrows(IllegalArgumentException.class, () -> new Money(1, EUR).plus(new Money(1, JPY)));
+    }
+}
@@ -0,0 +1,100 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link RateMatrix}, cross-checked against a
+ * {@link BigDecimal} implementation of the same conversion.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+class RateMatrixTest {
+
+    private static final Currency EUR = Currency.getInstance("EUR");
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final Currency JPY = Currency.getInstance("JPY");
+    private static final Currency KWD = Currency.getInstance("KWD");
+    private static final Instant AS_OF = Instant.parse("2026-10-16T16:00:00Z");
+
+    private static final RateMatrix RATES = RateMatrix.of(EUR, AS_OF, Map.of(
+            USD, new BigDecimal("1.0842"),
+            JPY, new BigDecimal("162.37"),
+            KWD, new BigDecimal("0.33245")));
+
+    @Test
+    void matchesBigDecimalReferenceOnRandomAmounts() {
+        Random random = new Random(42);
+        List<Currency> currencies = RATES.currencies();
+        for (int i = 0; i < 100_000; i++) {
+            Currency from = currencies.get(random.nextInt(currencies.size()));
+            Currency to = currencies.get(random.nextInt(currencies.size()));
+            // Mostly everyday amounts, some large enough to need the 128-bit product
+            long bound = random.nextInt(10) == 0 ? Long.MAX_VALUE / 1_000 : 10_000_000L;
+            long minorUnits = random.nextLong(bound) * (random.nextBoolean() ? 1 : -1);
+            Money amount = new Money(minorUnits, from);
+            assertEquals(reference(amount, to), RATES.convert(amount, to).minorUnits(), amount + " to " + to);
+        }
+    }
+
+    @Test
+    void foldsCurrencyDecimalsIntoTheRate() {
+        // 100.00 EUR = 108.42 USD = 16,237 JPY = 33.245 KWD
+        assertEquals(new Money(10_842, USD), RATES.convert(new Money(10_000, EUR), USD));
+        assertEquals(new Money(16_237, JPY), RATES.convert(new Money(10_000, EUR), JPY));
+        assertEquals(new Money(33_245, KWD), RATES.convert(new Money(10_000, EUR), KWD));
+        assertEquals(new BigDecimal("162.37"), RATES.rate(EUR, JPY));
+        assertEquals(new BigDecimal("0.33245"), RATES.rate(EUR, KWD));
+    }
+
+    @Test
+    void roundsTiesToEven() {
+        RateMatrix half = RateMatrix.of(EUR, AS_OF, Map.of(USD, new BigDecimal("0.5")));
+        assertEquals(0, half.convert(new Money(1, EUR), USD).minorUnits());
+        assertEquals(2, half.convert(new Money(3, EUR), USD).minorUnits());
+        assertEquals(-2, half.convert(new Money(-3, EUR), USD).minorUnits());
+        assertEquals(2, half.convert(new Money(5, EUR), USD).minorUnits());
+        // Quotient close to the long range, through the full 128-bit division
+        assertEquals(Long.MAX_VALUE / 2 + 1, half.convert(new Money(Long.MAX_VALUE, EUR), USD).minorUnits());
+    }
+
+    @Test
+    void leavesAmountsInTheTargetCurrencyUntouched() {
+        Money amount = new Money(Long.MAX_VALUE, USD);
+        assertSame(amount, RATES.convert(amount, USD));
+    }
+
+    @Test
+    void rejectsUnknownCurrenciesInvalidRatesAndOverflow() {
+        Currency chf = Currency.getInstance("CHF");
+        assertFalse(RATES.supports(chf));
+        assertThrows(IllegalArgumentException.class, () -> RATES.convert(new Money(1, chf), EUR));
+        assertThrows(IllegalArgumentException.class, () -> RATES.convert(new Money(1, EUR), chf));
+        assertThrows(IllegalArgumentException.class,
+                () -> RateMatrix.of(EUR, AS_OF, Map.of(USD, BigDecimal.ZERO)));
+        assertThrows(IllegalArgumentException.class,
+                () -> RateMatrix.of(EUR, AS_OF, Map.of(EUR, new BigDecimal("2"))));
+        assertThrows(ArithmeticException.class, () -> RATES.convert(new Money(Long.MAX_VALUE, EUR), USD));
+    }
+
+    private static long reference(Money amount, Currency to) {
+        BigDecimal converted = amount.toBigDecimal().multiply(RATES.rate(amount.currency(), to))
+                .setScale(to.getDefaultFractionDigits(), RoundingMode.HALF_EVEN);
+        BigInteger minorUnits = converted.unscaledValue();
+        return minorUnits.longValueExact();
+    }
+}
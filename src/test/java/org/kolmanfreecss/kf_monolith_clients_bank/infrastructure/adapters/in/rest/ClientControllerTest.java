@@ -0,0 +1,125 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.client.services.ClientService;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.Client;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.vo.ClientType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+/**
+ * Conditional request tests for {@link ClientController}: {@code 304} on
+ * {@code If-None-Match} and {@code 412} on {@code If-Match}, over a mocked
+ * {@link ClientService}.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+class ClientControllerTest {
+
+    private final ClientService clientService = mock(ClientService.class);
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new ClientController(clientService)).build();
+    private final UUID id = UUID.randomUUID();
+    private final Client client = client(3L);
+    private final String eTag = ClientETag.of(id, 3L);
+
+    @Test
+    void answersNotModifiedFromTheVersionAlone() throws Exception {
+        when(clientService.getClientVersion(id)).thenReturn(Optional.of(3L));
+
+        mockMvc.perform(get("/api/v1/clients/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "W/" + eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+        verify(clientService, never()).getClientById(any());
+    }
+
+    @Test
+    void returnsTheClientWhenItsTagChanged() throws Exception {
+        when(clientService.getClientVersion(id)).thenReturn(Optional.of(3L));
+        when(clientService.getClientById(id)).thenReturn(Optional.of(client));
+
+        mockMvc.perform(get("/api/v1/clients/{id}", id).header(HttpHeaders.IF_NONE_MATCH, ClientETag.of(id, 2L)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+    }
+
+    @Test
+    void answersNotFoundForAConditionalGetOfAMissingClient() throws Exception {
+        when(clientService.getClientVersion(id)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/v1/clients/{id}", id).header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void rejectsMalformedAndForeignIfMatchBeforeLoading() throws Exception {
+        for (String ifMatch : new String[] { ClientETag.of(UUID.randomUUID(), 3L), "W/" + eTag, "3",
+                "W/" + eTag + ", " + ClientETag.of(UUID.randomUUID(), 3L) }) {
+            update(ifMatch).andExpect(status().isPreconditionFailed());
+        }
+        verify(clientService, never()).updateClient(any(), any(), any());
+    }
+
+    @Test
+    void rejectsStaleIfMatch() throws Exception {
+        when(clientService.updateClient(eq(id), any(), eq(Set.of(2L))))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Client.class, id));
+
+        update(ClientETag.of(id, 2L)).andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void updatesWithACurrentOrWildcardIfMatch() throws Exception {
+        Client updated = client(4L);
+        when(clientService.updateClient(eq(id), any(), eq(Set.of(3L)))).thenReturn(Optional.of(updated));
+        when(clientService.updateClient(eq(id), any(), isNull())).thenReturn(Optional.of(updated));
+
+        update(eTag).andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ClientETag.of(id, 4L)));
+        update("*").andExpect(status().isOk());
+        verify(clientService).updateClient(eq(id), any(), eq(Set.of(3L)));
+        verify(clientService).updateClient(eq(id), any(), isNull());
+    }
+
+    @Test
+    void updatesWhenTheClientIsAtAnyVersionOfAnIfMatchList() throws Exception {
+        when(clientService.updateClient(eq(id), any(), eq(Set.of(2L, 3L)))).thenReturn(Optional.of(client(4L)));
+
+        update(ClientETag.of(id, 2L) + ", W/" + ClientETag.of(id, 1L) + ", " + eTag).andExpect(status().isOk());
+    }
+
+    private ResultActions update(String ifMatch) throws Exception {
+        return mockMvc.perform(put("/api/v1/clients/{id}", id)
+                .header(HttpHeaders.IF_MATCH, ifMatch)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"type\":\"INDIVIDUAL\"}"));
+    }
+
+    private Client client(long version) {
+        Client built = new Client(null, null, null, ClientType.INDIVIDUAL);
+        ReflectionTestUtils.setField(built, "id", id);
+        ReflectionTestUtils.setField(built, "version", version);
+        return built;
+    }
+}
@@ -0,0 +1,67 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.in.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ClientETag}.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+class ClientETagTest {
+
+    private final UUID id = UUID.randomUUID();
+    private final String current = ClientETag.of(id, 3L);
+
+    @Test
+    void buildsQuotedTagsFromIdAndVersion() {
+        assertEquals("\"" + id + "-3\"", current);
+        assertEquals("\"" + id + "-0\"", ClientETag.of(id, null));
+    }
+
+    @Test
+    void ifNoneMatchComparesWeakly() {
+        assertTrue(ClientETag.matchesIfNoneMatch(current, current));
+        assertTrue(ClientETag.matchesIfNoneMatch("W/" + current, current));
+        assertFalse(ClientETag.matchesIfNoneMatch(ClientETag.of(id, 2L), current));
+        assertFalse(ClientETag.matchesIfNoneMatch("W/" + ClientETag.of(id, 2L), current));
+    }
+
+    @Test
+    void ifNoneMatchAcceptsWildcardsAndLists() {
+        assertTrue(ClientETag.matchesIfNoneMatch("*", current));
+        assertTrue(ClientETag.matchesIfNoneMatch(ClientETag.of(id, 1L) + ", W/" + current, current));
+        assertTrue(ClientETag.matchesIfNoneMatch(ClientETag.of(id, 1L) + " ,*", current));
+        assertFalse(ClientETag.matchesIfNoneMatch(ClientETag.of(id, 1L) + "," + ClientETag.of(id, 2L), current));
+        assertFalse(ClientETag.matchesIfNoneMatch(null, current));
+        assertFalse(ClientETag.matchesIfNoneMatch(" ", current));
+    }
+
+    @Test
+    void ifMatchYieldsTheVersionsOfTheStrongTagsOfTheClient() {
+        assertEquals(Set.of(3L), ClientETag.parseVersions(current, id));
+        assertEquals(Set.of(3L), ClientETag.parseVersions("  " + current + " ", id));
+        assertEquals(Set.of(3L, 4L), ClientETag.parseVersions(current + ", " + ClientETag.of(id, 4L), id));
+        // Weak and foreign members of a list are skipped
+        assertEquals(Set.of(3L), ClientETag.parseVersions("W/" + ClientETag.of(id, 2L) + ","
+                + ClientETag.of(UUID.randomUUID(), 1L) + " , " + current, id));
+    }
+
+    @Test
+    void ifMatchRejectsMalformedWeakAndForeignTags() {
+        assertTrue(ClientETag.parseVersions(null, id).isEmpty());
+        assertTrue(ClientETag.parseVersions(ClientETag.of(UUID.randomUUID(), 3L), id).isEmpty());
+        assertTrue(ClientETag.parseVersions("W/" + current, id).isEmpty());
+        assertTrue(ClientETag.parseVersions(id + "-3", id).isEmpty());
+        assertTrue(ClientETag.parseVersions("\"" + id + "-\"", id).isEmpty());
+        assertTrue(ClientETag.parseVersions("\"" + id + "-three\"", id).isEmpty());
+        assertTrue(ClientETag.parseVersions("\"" + id + "-99999999999999999999\"", id).isEmpty());
+    }
+}
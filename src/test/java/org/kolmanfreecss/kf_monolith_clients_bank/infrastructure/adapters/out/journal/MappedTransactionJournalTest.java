@@ -0,0 +1,249 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.out.journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kolmanfreecss.kf_monolith_clients_bank.application.account.usecases.posting.models.JournaledBalance;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Transaction;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.shared.valueobjects.Money;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics.JournalMetrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for {@link MappedTransactionJournal}, on segment files in a
+ * temporary directory. Damage is done to the files between a close and a
+ * reopen, as a crash would leave them.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+class MappedTransactionJournalTest {
+
+    private static final Currency EUR = Currency.getInstance("EUR");
+    // The smallest segment: 16 slots
+    private static final long SEGMENT_BYTES = MappedTransactionJournal.SLOT_SIZE * 16L;
+    private static final int FLAGS_OFFSET = 9;
+    private static final int CRC_OFFSET = MappedTransactionJournal.SLOT_SIZE - Integer.BYTES;
+
+    @TempDir
+    Path directory;
+
+    private final UUID account = UUID.randomUUID();
+    private final UUID other = UUID.randomUUID();
+
+    @Test
+    void reopenAfterCloseRestoresBalancesAndSequence() throws Exception {
+        Transaction last;
+        try (MappedTransactionJournal journal = open()) {
+            journal.append(List.of(posting(account, 100, 100, null))).join();
+            last = posting(other, 50, 50, null);
+            assertEquals(3L, journal.append(List.of(posting(account, 20, 80, null), last)).join());
+        }
+
+        try (MappedTransactionJournal journal = open()) {
+            assertEquals(3, journal.durableSequence());
+            assertEquals(80, journal.balanceOf(account).orElseThrow().balanceMinorUnits());
+            assertEquals(new JournaledBalance(50, last.getTimestamp()), journal.balanceOf(other).orElseThrow());
+            assertEquals(4L, journal.append(List.of(posting(account, 5, 85, null))).join());
+        }
+    }
+
+    @Test
+    void discardsTornGroupWithoutItsLastSlot() throws Exception {
+        try (MappedTransactionJournal journal = open()) {
+            journal.append(List.of(posting(account, 100, 100, null))).join();
+            journal.append(List.of(posting(account, 30, 70, null), posting(other, 30, 30, null))).join();
+        }
+        // The group's last slot lost its end flag, with a valid checksum: the group never finished
+        rewriteSlot(segment(1), 3, slot -> slot.put(FLAGS_OFFSET, (byte) 0));
+
+        try (MappedTransactionJournal journal = open()) {
+            assertEquals(1, journal.durableSequence());
+            assertEquals(100, journal.balanceOf(account).orElseThrow().balanceMinorUnits());
+            assertTrue(journal.balanceOf(other).isEmpty());
+            assertEquals(2L, journal.append(List.of(posting(other, 10, 10, null))).join());
+            assertEquals(List.of(1L, 2L), sequences(journal));
+        }
+    }
+
+    @Test
+    void stopsReplayAtChecksumMismatchInTheMiddleOfASegment() throws Exception {
+        try (MappedTransactionJournal journal = open()) {
+            for (int i = 1; i <= 4; i++) {
+                journal.append(List.of(posting(account, 10, 10L * i, null))).join();
+            }
+        }
+        rewriteSlotWithoutChecksum(segment(1), 2);
+
+        try (MappedTransactionJournal journal = open()) {
+            assertEquals(1, journal.durableSequence());
+            assertEquals(10, journal.balanceOf(account).orElseThrow().balanceMinorUnits());
+            // The valid slots after the damaged one were zeroed, so they cannot come back once 2 is rewritten
+            journal.append(List.of(posting(account, 5, 15, null))).join();
+        }
+        try (MappedTransactionJournal journal = open()) {
+            assertEquals(2, journal.durableSequence());
+            assertEquals(15, journal.balanceOf(account).orElseThrow().balanceMinorUnits());
+        }
+    }
+
+    @Test
+    void readsDescriptionsSpanningContinuationSlots() throws Exception {
+        // 255 characters of 3 bytes: the posting slot and 7 continuations
+        String euros = "€".repeat(MappedTransactionJournal.MAX_DESCRIPTION_LENGTH);
+        // 127 surrogate pairs of 4 bytes and one ASCII character, 255 characters in all
+        String emoji = "😀".repeat(127) + "!";
+        String inline = "Coffee";
+
+        try (MappedTransactionJournal journal = open()) {
+            journal.append(List.of(posting(account, 1, 1, euros), posting(account, 1, 2, emoji),
+                    posting(account, 1, 3, inline), posting(account, 1, 4, null))).join();
+            assertDescriptions(journal, euros, emoji, inline);
+        }
+        try (MappedTransactionJournal journal = open()) {
+            assertDescriptions(journal, euros, emoji, inline);
+            assertEquals(4, journal.balanceOf(account).orElseThrow().balanceMinorUnits());
+        }
+    }
+
+    @Test
+    void rejectsDescriptionsOverTheLimit() throws Exception {
+        try (MappedTransactionJournal journal = open()) {
+            String description = "x".repeat(MappedTransactionJournal.MAX_DESCRIPTION_LENGTH + 1);
+            Transaction tooLong = posting(account, 1, 1, description);
+
+            assertThrows(IllegalArgumentException.class, () -> journal.append(List.of(tooLong)));
+            assertEquals(0, journal.durableSequence());
+        }
+    }
+
+    @Test
+    void rollsOverToNewSegments() throws Exception {
+        try (MappedTransactionJournal journal = open()) {
+            appendSingles(journal, 40);
+
+            assertEquals(List.of("journal-1.seg", "journal-17.seg", "journal-33.seg"), segmentFiles());
+            assertEquals(40, sequences(journal).size());
+        }
+        try (MappedTransactionJournal journal = open()) {
+            assertEquals(40, journal.durableSequence());
+            assertEquals(40, journal.balanceOf(account).orElseThrow().balanceMinorUnits());
+        }
+    }
+
+    @Test
+    void releaseKeepsTheActiveSegment() throws Exception {
+        try (MappedTransactionJournal journal = open()) {
+            appendSingles(journal, 40);
+
+            assertEquals(2, journal.release(40));
+            assertEquals(List.of("journal-33.seg"), segmentFiles());
+            assertEquals(33L, sequences(journal).get(0));
+            assertEquals(41L, journal.append(List.of(posting(account, 1, 41, null))).join());
+        }
+        try (MappedTransactionJournal journal = open()) {
+            assertEquals(41, journal.durableSequence());
+            assertEquals(41, journal.balanceOf(account).orElseThrow().balanceMinorUnits());
+        }
+    }
+
+    private MappedTransactionJournal open() throws IOException {
+        return new MappedTransactionJournal(directory, SEGMENT_BYTES, 0, new JournalMetrics(new SimpleMeterRegistry()));
+    }
+
+    private void appendSingles(MappedTransactionJournal journal, int postings) {
+        for (int i = 1; i <= postings; i++) {
+            journal.append(List.of(posting(account, 1, i, null))).join();
+        }
+    }
+
+    private static Transaction posting(UUID accountId, long amount, long balanceAfter, String description) {
+        return new Transaction(accountId, Transaction.TransactionType.DEPOSIT, new Money(amount, EUR), description,
+                new Money(balanceAfter, EUR));
+    }
+
+    private static void assertDescriptions(MappedTransactionJournal journal, String... descriptions) {
+        List<JournalRecord> records = new ArrayList<>();
+        journal.read(1, 10, records::add);
+
+        assertEquals(4, records.size());
+        for (int i = 0; i < descriptions.length; i++) {
+            assertEquals(descriptions[i], records.get(i).description());
+        }
+        assertNull(records.get(3).description());
+        // Each record carries the sequence of its last slot: 765 bytes take 1 + 7 slots, 509 bytes 1 + 5
+        assertEquals(List.of(8L, 14L, 15L, 16L), records.stream().map(JournalRecord::sequence).toList());
+    }
+
+    private static List<Long> sequences(MappedTransactionJournal journal) {
+        List<Long> sequences = new ArrayList<>();
+        journal.read(1, 100, record -> sequences.add(record.sequence()));
+        return sequences;
+    }
+
+    private Path segment(long firstSequence) {
+        return directory.resolve("journal-" + firstSequence + ".seg");
+    }
+
+    private List<String> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .sorted((a, b) -> Long.compare(firstSequence(a), firstSequence(b)))
+                    .toList();
+        }
+    }
+
+    private static long firstSequence(String name) {
+        return Long.parseLong(name.substring("journal-".length(), name.length() - ".seg".length()));
+    }
+
+    /**
+     * Changes a slot and recomputes its checksum, so that it still reads as
+     * valid.
+     */
+    private static void rewriteSlot(Path segment, long sequence, Consumer<ByteBuffer> change)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long position = (sequence - 1) * MappedTransactionJournal.SLOT_SIZE;
+            ByteBuffer slot = ByteBuffer.allocate(MappedTransactionJournal.SLOT_SIZE);
+            channel.read(slot, position);
+            change.accept(slot);
+            CRC32C crc = new CRC32C();
+            crc.update(slot.array(), 0, CRC_OFFSET);
+            slot.putInt(CRC_OFFSET, (int) crc.getValue());
+            channel.write(slot.rewind(), position);
+        }
+    }
+
+    /**
+     * Flips a byte of a slot's amount, leaving its checksum stale.
+     */
+    private static void rewriteSlotWithoutChecksum(Path segment, long sequence) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long position = (sequence - 1) * MappedTransactionJournal.SLOT_SIZE + 48;
+            ByteBuffer amount = ByteBuffer.allocate(1);
+            channel.read(amount, position);
+            amount.put(0, (byte) (amount.get(0) ^ 0x55));
+            channel.write(amount.rewind(), position);
+        }
+    }
+}
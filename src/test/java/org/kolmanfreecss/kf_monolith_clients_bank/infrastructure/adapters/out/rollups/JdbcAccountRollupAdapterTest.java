@@ -0,0 +1,110 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.adapters.out.rollups;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.AccountRollupDeltas;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.account.Transaction.TransactionType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Unit tests for {@link JdbcAccountRollupAdapter} against an in-memory H2
+ * {@code account_rollups} table, whose primary key refuses a second insert
+ * of a rollup row.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+class JdbcAccountRollupAdapterTest {
+
+    private static final Currency EUR = Currency.getInstance("EUR");
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 14);
+
+    private final JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource(
+            "jdbc:h2:mem:account_rollups;DB_CLOSE_DELAY=-1", "sa", ""));
+    private final JdbcAccountRollupAdapter rollups = new JdbcAccountRollupAdapter(jdbc);
+    private final UUID accountId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        jdbc.execute("""
+                CREATE TABLE account_rollups (account_id UUID, granularity VARCHAR(8), period_start DATE,
+                    type VARCHAR(16), currency VARCHAR(3) NOT NULL, transaction_count BIGINT NOT NULL,
+                    amount_minor_units BIGINT NOT NULL, PRIMARY KEY (account_id, granularity, period_start, type))""");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.execute("DROP TABLE account_rollups");
+    }
+
+    @Test
+    void insertsTheFirstIncrementOfEveryPeriod() {
+        rollups.add(deltas(DAY, TransactionType.DEPOSIT, 2, 1500));
+
+        assertEquals(List.of(
+                row("DAY", DAY, "DEPOSIT", 2, 1500),
+                row("MONTH", DAY.withDayOfMonth(1), "DEPOSIT", 2, 1500)), rows());
+    }
+
+    @Test
+    void incrementsExistingRowsAndInsertsOnlyTheMissingOnes() {
+        rollups.add(deltas(DAY, TransactionType.DEPOSIT, 2, 1500));
+
+        AccountRollupDeltas deltas = deltas(DAY, TransactionType.DEPOSIT, 1, 500);
+        // A new day of the same month, and a new type on the same day
+        deltas.add(accountId, EUR, TransactionType.DEPOSIT, DAY.plusDays(1), 1, 100);
+        deltas.add(accountId, EUR, TransactionType.WITHDRAWAL, DAY, 1, 300);
+        rollups.add(deltas);
+
+        assertEquals(List.of(
+                row("DAY", DAY, "DEPOSIT", 3, 2000),
+                row("DAY", DAY, "WITHDRAWAL", 1, 300),
+                row("DAY", DAY.plusDays(1), "DEPOSIT", 1, 100),
+                row("MONTH", DAY.withDayOfMonth(1), "DEPOSIT", 4, 2100),
+                row("MONTH", DAY.withDayOfMonth(1), "WITHDRAWAL", 1, 300)), rows());
+    }
+
+    @Test
+    void replacesEveryRollupOfTheAccounts() {
+        rollups.add(deltas(DAY, TransactionType.DEPOSIT, 2, 1500));
+        rollups.add(deltas(DAY.minusMonths(1), TransactionType.WITHDRAWAL, 1, 100));
+
+        int written = rollups.replace(List.of(accountId), deltas(DAY, TransactionType.DEPOSIT, 3, 1800));
+
+        assertEquals(2, written);
+        assertEquals(List.of(
+                row("DAY", DAY, "DEPOSIT", 3, 1800),
+                row("MONTH", DAY.withDayOfMonth(1), "DEPOSIT", 3, 1800)), rows());
+    }
+
+    private AccountRollupDeltas deltas(LocalDate day, TransactionType type, long count, long amount) {
+        AccountRollupDeltas deltas = new AccountRollupDeltas();
+        deltas.add(accountId, EUR, type, day, count, amount);
+        return deltas;
+    }
+
+    private static List<Object> row(String granularity, LocalDate periodStart, String type, long count,
+            long amount) {
+        return List.of(granularity, periodStart, type, count, amount);
+    }
+
+    private List<List<Object>> rows() {
+        return jdbc.queryForList("SELECT granularity, period_start, type, transaction_count, amount_minor_units "
+                + "FROM account_rollups ORDER BY granularity, period_start, type").stream()
+                .map(Map::values)
+                .map(values -> values.stream().map(value -> value instanceof Date date
+                        ? (Object) date.toLocalDate() : value).toList())
+                .toList();
+    }
+}
@@ -0,0 +1,177 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.aop;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Property;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for {@link PerformanceAspect} and the {@link MethodMeters} it
+ * resolves, through a proxy of a class annotated with
+ * {@link MeasurePerformance}. Slow-call logs are captured by an appender on
+ * the {@link MethodMeters} logger.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0
+ */
+class PerformanceAspectTest {
+
+    private static final long SLOW_CALL_MILLIS = 20;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CapturingAppender logs = new CapturingAppender();
+    private final Logger logger = ((LoggerContext) LogManager.getContext(false))
+            .getLogger(MethodMeters.class.getName());
+
+    @BeforeEach
+    void setUp() {
+        logs.start();
+        logger.addAppender(logs);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.removeAppender(logs);
+        logs.stop();
+    }
+
+    @Test
+    void samplesEachMethodAtTheRateOfItsClassAndMethodName() {
+        Measured measured = proxy(1.0, Map.of("Measured.rare", 0.0));
+
+        for (int i = 0; i < 10; i++) {
+            measured.often();
+            measured.rare();
+        }
+
+        assertEquals(10, timer("often", true).count());
+        assertEquals(0, timer("rare", true).count());
+    }
+
+    @Test
+    void logsOnlyCallsSlowerThanTheThreshold() throws Exception {
+        Measured measured = proxy(1.0, Map.of());
+
+        measured.often();
+        measured.slow();
+
+        assertEquals(1, logs.messages.size());
+        assertTrue(logs.messages.get(0).startsWith("Slow call: Measured.slow executed in "),
+                logs.messages.get(0));
+    }
+
+    @Test
+    void slowCallsAreLoggedEvenWhenNotSampled() throws Exception {
+        Measured measured = proxy(0.0, Map.of());
+
+        measured.slow();
+
+        assertEquals(1, logs.messages.size());
+        assertEquals(0, timer("slow", true).count());
+    }
+
+    @Test
+    void registersTheFailureMetersOnTheFirstFailure() {
+        Measured measured = proxy(1.0, Map.of());
+
+        measured.often();
+        assertNull(registry.find("method.execution.time").tag("success", "false").timer());
+        assertNull(registry.find("method.execution.time.histogram").tag("success", "false").summary());
+
+        assertThrows(IllegalStateException.class, measured::failing);
+        assertThrows(IllegalStateException.class, measured::failing);
+
+        assertEquals(2, timer("failing", false).count());
+        assertEquals(2, registry.get("method.execution.time.histogram").tag("method", "failing")
+                .tag("success", "false").summary().count());
+    }
+
+    @Test
+    void keepsTheMeterNamesAndTags() {
+        Measured measured = proxy(1.0, Map.of());
+
+        measured.often();
+        assertThrows(IllegalStateException.class, measured::failing);
+
+        Set<String> meters = registry.getMeters().stream()
+                .map(Meter::getId)
+                .map(id -> id.getName() + id.getTags().stream().map(Tag::getKey).sorted().toList())
+                .collect(Collectors.toSet());
+        assertEquals(Set.of(
+                "method.execution.time[class, method, success]",
+                "method.execution.time.histogram[class, method, success]",
+                "method.execution.time.percentiles[class, method]"), meters);
+        assertNotNull(registry.find("method.execution.time")
+                .tags("class", "Measured", "method", "often", "success", "true").timer());
+        assertEquals(1, registry.get("method.execution.time.percentiles").tags("class", "Measured", "method",
+                "failing").timer().count());
+    }
+
+    private Measured proxy(double defaultSampleRate, Map<String, Double> sampleRates) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Measured());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new PerformanceAspect(registry, defaultSampleRate, sampleRates, SLOW_CALL_MILLIS));
+        return factory.getProxy();
+    }
+
+    private Timer timer(String method, boolean success) {
+        return registry.get("method.execution.time")
+                .tags("method", method, "success", String.valueOf(success))
+                .timer();
+    }
+
+    @MeasurePerformance
+    static class Measured {
+
+        void often() {
+        }
+
+        void rare() {
+        }
+
+        void slow() throws InterruptedException {
+            Thread.sleep(2 * SLOW_CALL_MILLIS);
+        }
+
+        void failing() {
+            throw new IllegalStateException("Failed");
+        }
+    }
+
+    private static final class CapturingAppender extends AbstractAppender {
+
+        private final List<String> messages = new CopyOnWriteArrayList<>();
+
+        private CapturingAppender() {
+            super("captured", null, null, true, Property.EMPTY_ARRAY);
+        }
+
+        @Override
+        public void append(LogEvent event) {
+            messages.add(event.getMessage().getFormattedMessage());
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.database.sharding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.Client;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.ClientRepository;
+import org.kolmanfreecss.kf_monolith_clients_bank.domain.client.vo.ClientType;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for {@link ShardedClientRepositoryAspect}, on two in-memory H2
+ * shards behind a {@link ShardRoutingDataSource}. Each shard holds a marker
+ * row naming itself, so a query reveals which shard served a repository call.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+class ShardedClientRepositoryAspectTest {
+
+    private static final String WHO_AM_I = "SELECT name FROM marker";
+
+    private final List<String> served = new ArrayList<>();
+    private ShardRouter router;
+    private ShardExecutor executor;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private ClientRepository target;
+    private ClientRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, DataSource> shards = new LinkedHashMap<>();
+        shards.put("a", database("shard_a"));
+        shards.put("b", database("shard_b"));
+        router = new ShardRouter(shards, List.of(), 16);
+        DataSource routing = new LazyConnectionDataSourceProxy(new ShardRoutingDataSource(router));
+        PlatformTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        jdbcTemplate = new JdbcTemplate(routing);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("transactionManager", transactionManager);
+        executor = new ShardExecutor(beanFactory.getBeanProvider(PlatformTransactionManager.class), 2);
+
+        target = mock(ClientRepository.class);
+        when(target.findVersionById(any())).thenAnswer(call -> {
+            served.add(whoAmI());
+            return Optional.of(0L);
+        });
+        when(target.findTypesByIdIn(any())).thenAnswer(call -> {
+            served.add(whoAmI());
+            return List.of();
+        });
+        when(target.save(any())).thenAnswer(call -> {
+            served.add(whoAmI());
+            return call.getArgument(0);
+        });
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(new ShardedClientRepositoryAspect(router, executor, new SimpleMeterRegistry()));
+        repository = factory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+        ShardContext.restore(null);
+    }
+
+    @Test
+    void rejectsWritesToAnotherShardThanTheTransactionRunsOn() {
+        Client client = client("b");
+
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            // A statement on other tables opens the transaction's connection on the home shard
+            whoAmI();
+            repository.save(client);
+        }));
+        verify(target, never()).save(any());
+    }
+
+    @Test
+    void rejectsWritesToAnotherShardThanThePinnedOne() {
+        UUID onB = idOn("b");
+        Client client = client("a");
+
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            repository.findVersionById(onB);
+            repository.save(client);
+        }));
+        assertEquals(List.of("shard_b"), served);
+        verify(target, never()).save(any());
+    }
+
+    @Test
+    void readsOfAnotherShardRunOnThatShard() {
+        UUID onB = idOn("b");
+
+        String caller = transactionTemplate.execute(status -> {
+            whoAmI();
+            repository.findVersionById(onB);
+            repository.findTypesByIdIn(List.of(onB));
+            return whoAmI();
+        });
+
+        assertEquals(List.of("shard_b", "shard_b"), served);
+        assertEquals("shard_a", caller);
+    }
+
+    @Test
+    void pinsTheTransactionToTheShardOfItsFirstClient() {
+        Client client = client("b");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            repository.findVersionById(client.getId());
+            repository.save(client);
+            assertEquals("b", ShardContext.connection());
+        });
+
+        assertEquals(List.of("shard_b", "shard_b"), served);
+        assertNull(ShardContext.current());
+        // The next transaction starts unbound
+        transactionTemplate.executeWithoutResult(status -> repository.save(client("a")));
+        assertEquals("shard_a", served.get(2));
+    }
+
+    private String whoAmI() {
+        return jdbcTemplate.queryForObject(WHO_AM_I, String.class);
+    }
+
+    private UUID idOn(String shard) {
+        UUID id;
+        do {
+            id = UUID.randomUUID();
+        } while (!router.shardFor(id).equals(shard));
+        return id;
+    }
+
+    private Client client(String shard) {
+        Client client = new Client(null, null, null, ClientType.INDIVIDUAL);
+        ReflectionTestUtils.setField(client, "id", idOn(shard));
+        return client;
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS marker (name VARCHAR(64))");
+        jdbc.update("DELETE FROM marker");
+        jdbc.update("INSERT INTO marker (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,70 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.database.statistics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics.QueryMetrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for {@link QueryStatistics} on a manual clock.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+class QueryStatisticsTest {
+
+    private static final Duration WINDOW = Duration.ofMinutes(1);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicLong clock = new AtomicLong();
+    private final QueryStatistics statistics = new QueryStatistics(new QueryMetrics(registry), 10,
+            Duration.ofHours(1), 2, WINDOW, clock::get);
+
+    @Test
+    void ranksTheSlowestOfTheCurrentAndPreviousWindows() {
+        statistics.executed("SELECT 1", millis(5));
+        statistics.executed("SELECT 2", millis(9));
+        statistics.executed("SELECT 3", millis(7));
+        assertEquals(List.of(9.0, 7.0), slowest());
+
+        clock.addAndGet(WINDOW.toNanos() + WINDOW.toNanos() / 2);
+        statistics.executed("SELECT 4", millis(8));
+
+        assertEquals(List.of(9.0, 8.0), slowest());
+    }
+
+    @Test
+    void forgetsThePreviousWindowAfterAnIdleWindow() {
+        statistics.executed("SELECT 1", millis(9));
+
+        clock.addAndGet(3 * WINDOW.toNanos());
+        assertTrue(slowest().isEmpty());
+
+        statistics.executed("SELECT 2", millis(1));
+        assertEquals(List.of(1.0), slowest());
+    }
+
+    @Test
+    void sharesOneTimerAcrossListLengths() {
+        statistics.executed("SELECT * FROM t WHERE id IN (?)", millis(1));
+        statistics.executed("SELECT * FROM t WHERE id IN (?, ?, ?)", millis(1));
+
+        assertEquals(2, registry.get("bank.jpa.query.time").tag("query", "SELECT * FROM t WHERE id IN (?)")
+                .timer().count());
+    }
+
+    private List<Double> slowest() {
+        return statistics.report().slowest().stream().map(QueryStatistics.QueryExecution::durationMs).toList();
+    }
+
+    private static long millis(long millis) {
+        return Duration.ofMillis(millis).toNanos();
+    }
+}
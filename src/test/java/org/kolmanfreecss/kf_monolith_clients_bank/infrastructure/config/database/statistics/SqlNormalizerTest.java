@@ -0,0 +1,62 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.database.statistics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link SqlNormalizer}.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+class SqlNormalizerTest {
+
+    @Test
+    void replacesLiteralsButKeepsIdentifiersAndOperators() {
+        assertEquals("SELECT c.id FROM clients c2 WHERE c.age > ? AND c.name = ? AND c.score = ? - ?",
+                normalize("SELECT c.id FROM clients c2 WHERE c.age > 42 AND c.name = 'O''Brien' "
+                        + "AND c.score = -3.5 - 1"));
+    }
+
+    @Test
+    void readsQuestionMarksAndDashesInStringsAsText() {
+        String sql = "SELECT * FROM notes WHERE body = 'why? -- not a comment' AND id = ? /* ? */";
+
+        assertEquals("SELECT * FROM notes WHERE body = ? AND id = ?", normalize(sql));
+        assertEquals(1, SqlNormalizer.countParameters(sql));
+    }
+
+    @Test
+    void dropsCommentsAndCollapsesWhitespace() {
+        assertEquals("SELECT a FROM t WHERE b = ?",
+                normalize("/* hint */ SELECT a\n\t FROM t -- the table\n   WHERE b = ?  "));
+    }
+
+    @Test
+    void collapsesListsWhateverTheirLength() {
+        String shape = "SELECT * FROM t WHERE id IN (?) AND kind IN (?)";
+
+        assertEquals(shape, normalize("SELECT * FROM t WHERE id IN (?) AND kind IN ('a')"));
+        assertEquals(shape, normalize("SELECT * FROM t WHERE id IN (?, ?, ?) AND kind IN ('a', 'b')"));
+        assertEquals(shape, normalize("SELECT * FROM t WHERE id IN (?,?) AND kind IN ('a,b', 'c')"));
+    }
+
+    @Test
+    void collapsesNestedLists() {
+        assertEquals("SELECT * FROM t WHERE a IN (SELECT b FROM u WHERE c IN (?)) AND d IN (?)",
+                normalize("SELECT * FROM t WHERE a IN (SELECT b FROM u WHERE c IN (1, 2, 3)) AND d IN (?, ?)"));
+        assertEquals("SELECT * FROM t WHERE (a, b) IN ((?))",
+                normalize("SELECT * FROM t WHERE (a, b) IN ((1, 'x'), (2, 'y)'), ( 3, 'z'))"));
+        assertEquals("INSERT INTO t (a, b) VALUES (?)", normalize("INSERT INTO t (a, b) VALUES (?, ?), (?, ?)"));
+    }
+
+    @Test
+    void truncatesToTheMaximumLength() {
+        assertEquals("SELECT * F", SqlNormalizer.normalize("SELECT * FROM t WHERE a = 1", 10));
+    }
+
+    private static String normalize(String sql) {
+        return SqlNormalizer.normalize(sql, 1000);
+    }
+}
@@ -0,0 +1,194 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.idempotency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics.IdempotencyMetrics;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Unit tests for {@link IdempotencyFilter} over a {@link LocalIdempotencyStore},
+ * with a chain standing in for the controllers that counts its executions.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+class IdempotencyFilterTest {
+
+    private static final String DEPOSIT = "/api/v1/accounts/42/deposit";
+    private static final String RIGHTS = "/api/v1/clients/42/rights";
+    private static final String BODY = "{\"amount\":10.00,\"reference\":\"salary\"}";
+    private static final int MAX_BODY_BYTES = 64;
+
+    private final AtomicLong clock = new AtomicLong();
+    private final LocalIdempotencyStore store = new LocalIdempotencyStore(2, Duration.ofMinutes(10), clock::get);
+    private final IdempotencyFilter filter = new IdempotencyFilter(store,
+            new IdempotencyMetrics(new SimpleMeterRegistry()), MAX_BODY_BYTES);
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @Test
+    void replaysTheRecordedResponseWithoutRunningTheRequestAgain() throws Exception {
+        FilterChain deposit = respondWith(200, "{\"balance\":10.00}");
+
+        MockHttpServletResponse first = post(DEPOSIT, "key-1", BODY, deposit);
+        MockHttpServletResponse retry = post(DEPOSIT, "key-1", BODY, deposit);
+
+        assertEquals(1, executions.get());
+        assertEquals(200, retry.getStatus());
+        assertEquals("application/json", retry.getContentType());
+        assertEquals(first.getContentAsString(), retry.getContentAsString());
+        assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void scopesKeysToTheRequestUri() throws Exception {
+        FilterChain deposit = respondWith(200, "{}");
+
+        post(DEPOSIT, "key-1", BODY, deposit);
+        post("/api/v1/accounts/43/deposit", "key-1", BODY, deposit);
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void rejectsAKeyReusedWithADifferentBody() throws Exception {
+        FilterChain deposit = respondWith(200, "{}");
+
+        post(DEPOSIT, "key-1", BODY, deposit);
+        MockHttpServletResponse reused = post(DEPOSIT, "key-1", BODY.replace("10.00", "99.00"), deposit);
+
+        assertEquals(1, executions.get());
+        assertEquals(422, reused.getStatus());
+    }
+
+    @Test
+    void conflictsWhileTheFirstRequestIsInFlight() throws Exception {
+        MockHttpServletResponse[] concurrent = new MockHttpServletResponse[1];
+        FilterChain slowDeposit = (request, response) -> {
+            executions.incrementAndGet();
+            concurrent[0] = post(DEPOSIT, "key-1", BODY, respondWith(200, "{}"));
+            response.getWriter().write(new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+        };
+
+        MockHttpServletResponse first = post(DEPOSIT, "key-1", BODY, slowDeposit);
+
+        assertEquals(1, executions.get());
+        assertEquals(409, concurrent[0].getStatus());
+        // The guarded request still read the body the filter had consumed
+        assertEquals(BODY, first.getContentAsString());
+    }
+
+    @Test
+    void releasesTheKeyOfServerErrorsSoTheyCanBeRetried() throws Exception {
+        post(DEPOSIT, "key-1", BODY, respondWith(503, ""));
+        MockHttpServletResponse retry = post(DEPOSIT, "key-1", BODY, respondWith(200, "{}"));
+
+        assertEquals(2, executions.get());
+        assertEquals(200, retry.getStatus());
+        assertNull(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void evictsExpiredKeysAndTheOldestOnceFull() throws Exception {
+        FilterChain deposit = respondWith(200, "{}");
+        post(DEPOSIT, "key-1", BODY, deposit);
+        post(DEPOSIT, "key-2", BODY, deposit);
+
+        post(DEPOSIT, "key-3", BODY, deposit);
+        assertEquals(2, store.size());
+        post(DEPOSIT, "key-1", BODY, deposit);
+        assertEquals(4, executions.get());
+
+        clock.addAndGet(Duration.ofMinutes(10).toNanos());
+        post(DEPOSIT, "key-3", BODY, deposit);
+        assertEquals(5, executions.get());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void ignoresRequestsWithoutAKeyAndRejectsOversizedKeys() throws Exception {
+        FilterChain deposit = respondWith(200, "{}");
+
+        post(DEPOSIT, null, BODY, deposit);
+        post(DEPOSIT, null, BODY, deposit);
+        MockHttpServletResponse oversized = post(DEPOSIT, "k".repeat(256), BODY, deposit);
+
+        assertEquals(2, executions.get());
+        assertEquals(400, oversized.getStatus());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void guardsPutRequestsToo() throws Exception {
+        FilterChain updateRights = respondWith(200, "{}");
+
+        send("PUT", RIGHTS, "key-1", "[\"VIEW_ACCOUNT\"]", true, updateRights);
+        MockHttpServletResponse retry = send("PUT", RIGHTS, "key-1", "[\"VIEW_ACCOUNT\"]", true, updateRights);
+
+        assertEquals(1, executions.get());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void rejectsBodiesOverTheLimitWithOrWithoutALength() throws Exception {
+        FilterChain deposit = respondWith(200, "{}");
+        String oversized = "x".repeat(MAX_BODY_BYTES + 1);
+
+        MockHttpServletResponse declared = send("POST", DEPOSIT, "key-1", oversized, true, deposit);
+        MockHttpServletResponse chunked = send("POST", DEPOSIT, "key-2", oversized, false, deposit);
+        MockHttpServletResponse atTheLimit = send("POST", DEPOSIT, "key-3", "x".repeat(MAX_BODY_BYTES), false,
+                deposit);
+
+        assertEquals(413, declared.getStatus());
+        assertEquals(413, chunked.getStatus());
+        assertEquals(200, atTheLimit.getStatus());
+        assertEquals(1, executions.get());
+        assertEquals(1, store.size());
+    }
+
+    private FilterChain respondWith(int status, String body) {
+        return (request, response) -> {
+            executions.incrementAndGet();
+            response.setContentType("application/json");
+            ((HttpServletResponse) response).setStatus(status);
+            response.getWriter().write(body);
+        };
+    }
+
+    private MockHttpServletResponse post(String uri, String key, String body, FilterChain chain)
+            throws IOException, ServletException {
+        return send("POST", uri, key, body, true, chain);
+    }
+
+    private MockHttpServletResponse send(String method, String uri, String key, String body, boolean withLength,
+            FilterChain chain) throws IOException, ServletException {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri) {
+            @Override
+            public int getContentLength() {
+                return withLength ? super.getContentLength() : -1;
+            }
+        };
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.HEADER, key);
+        }
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,68 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics.JfrMetrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.FlightRecorder;
+
+/**
+ * Unit tests for {@link JfrEventStreamer}, streaming the events committed
+ * in the test JVM.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+class JfrEventStreamerTest {
+
+    private static final long WAIT_MILLIS = 10_000;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private JfrEventStreamer streamer;
+
+    @AfterEach
+    void tearDown() {
+        if (streamer != null) {
+            streamer.stop();
+        }
+    }
+
+    @Test
+    void recordsTheStreamedEventsAboveTheirThreshold() throws Exception {
+        assumeTrue(FlightRecorder.isAvailable());
+        streamer = new JfrEventStreamer(new JfrMetrics(registry), Map.of(ClientOperationEvent.NAME, 0L));
+        streamer.start();
+
+        long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+        Timer timer = null;
+        // Events committed before the stream started recording are not seen, so keep committing
+        while (timer == null && System.currentTimeMillis() < deadline) {
+            ClientOperationEvent event = new ClientOperationEvent();
+            event.operation = "createClient";
+            event.success = true;
+            event.commit();
+            Thread.sleep(100);
+            timer = registry.find("bank.jfr.events").tag("event", ClientOperationEvent.NAME).timer();
+        }
+
+        assertTrue(timer != null && timer.count() > 0, "No event streamed within " + WAIT_MILLIS + " ms");
+    }
+
+    @Test
+    void streamsNothingWithoutEvents() {
+        streamer = new JfrEventStreamer(new JfrMetrics(registry), Map.of());
+
+        streamer.start();
+        streamer.stop();
+
+        assertNull(registry.find("bank.jfr.events").timer());
+    }
+}
@@ -0,0 +1,122 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Unit tests for {@link JfrRecordings}, recording in the test JVM. Custom
+ * profiles are copies of the JDK's {@code default} configuration.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+class JfrRecordingsTest {
+
+    private static final Duration MAX_DURATION = Duration.ofMinutes(5);
+
+    @TempDir
+    Path directory;
+
+    private Path profiles;
+    private JfrRecordings recordings;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        assumeTrue(FlightRecorder.isAvailable());
+        profiles = Files.createDirectory(directory.resolve("profiles"));
+        String contents = Configuration.getConfiguration("default").getContents();
+        Files.writeString(profiles.resolve("custom.jfc"), contents);
+        // Next to the profile directory, not in it
+        Files.writeString(directory.resolve("outside.jfc"), contents);
+        recordings = new JfrRecordings(2, MAX_DURATION, Duration.ofMinutes(1), 10 * 1024 * 1024, profiles,
+                Duration.ofMinutes(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (recordings != null) {
+            recordings.closeAll();
+        }
+    }
+
+    @Test
+    void keepsAtMostTheMaximumNumberOfRecordings() {
+        JfrRecordings.RecordingInfo first = recordings.start(null, null, null);
+        recordings.start("profile", Duration.ofSeconds(30), "second");
+
+        assertThrows(IllegalStateException.class, () -> recordings.start(null, null, null));
+
+        // Stopped recordings are still kept
+        recordings.stop(first.id());
+        assertThrows(IllegalStateException.class, () -> recordings.start(null, null, null));
+        assertTrue(recordings.close(first.id()));
+        recordings.start(null, null, null);
+        assertEquals(2, recordings.list().size());
+    }
+
+    @Test
+    void capsTheDurationAndNamesRecordingsAfterTheirProfile() {
+        JfrRecordings.RecordingInfo recording = recordings.start("custom", Duration.ofHours(2), " ");
+
+        assertEquals("custom", recording.profile());
+        assertEquals("bank-custom", recording.name());
+        assertEquals(MAX_DURATION, recording.duration());
+        assertEquals("RUNNING", recording.state());
+        assertEquals(List.of(recording.id()), recordings.list().stream().map(JfrRecordings.RecordingInfo::id)
+                .toList());
+    }
+
+    @Test
+    void rejectsUnknownProfilesAndProfilesOutsideTheDirectory() {
+        assertThrows(IllegalArgumentException.class, () -> recordings.start("missing", null, null));
+        assertThrows(IllegalArgumentException.class, () -> recordings.start("../outside", null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> recordings.start(directory.resolve("outside").toString(), null, null));
+        assertTrue(recordings.list().isEmpty());
+    }
+
+    @Test
+    void dumpsRecordingsAndSweepsDumpsNotRead() throws Exception {
+        JfrRecordings.RecordingInfo recording = recordings.start(null, null, null);
+
+        Path dump = recordings.dump(recording.id()).orElseThrow();
+
+        assertFalse(RecordingFile.readAllEvents(dump).isEmpty());
+        // Not old enough yet
+        recordings.purgeDumpsBefore(Instant.now().minus(Duration.ofMinutes(10)));
+        assertTrue(Files.exists(dump));
+        recordings.purgeDumpsBefore(Instant.now().plusSeconds(1));
+        assertFalse(Files.exists(dump));
+        assertTrue(recordings.dump(recording.id() + 1000).isEmpty());
+    }
+
+    @Test
+    void closingTheRecordingsDeletesTheirDumps() throws Exception {
+        JfrRecordings.RecordingInfo recording = recordings.start(null, null, null);
+        Path dump = recordings.dump(recording.id()).orElseThrow();
+
+        recordings.closeAll();
+
+        assertFalse(Files.exists(dump));
+        assertTrue(recordings.list().isEmpty());
+        assertFalse(recordings.close(recording.id()));
+    }
+}
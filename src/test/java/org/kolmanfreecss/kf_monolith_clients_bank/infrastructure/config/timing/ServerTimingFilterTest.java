@@ -0,0 +1,120 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.timing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.kolmanfreecss.kf_monolith_clients_bank.infrastructure.config.database.statistics.SqlExecutionListener;
+import org.kolmanfreecss.kf_monolith_clients_bank.shared.metrics.ServerTimingMetrics;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Unit tests for {@link ServerTimingFilter} in front of a controller that
+ * queries an H2 database through a {@link TimedDataSource}, reads a
+ * {@link TimedCache} and answers JSON written by a
+ * {@link TimedJackson2HttpMessageConverter}.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+class ServerTimingFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ServerTimingFilter filter = new ServerTimingFilter(new ServerTimingMetrics(registry,
+            Arrays.stream(RequestTimings.Component.values()).map(RequestTimings.Component::metricName)
+                    .toArray(String[]::new)));
+
+    @Test
+    void breaksTheRequestDownIntoDbCacheAndJson() throws Exception {
+        JdbcTemplate jdbc = new JdbcTemplate(new TimedDataSource(new DriverManagerDataSource(
+                "jdbc:h2:mem:server_timing;DB_CLOSE_DELAY=-1", "sa", ""), SqlExecutionListener.NONE));
+        CacheManager caches = new TimedCacheManager(new ConcurrentMapCacheManager("balances"));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new TimedController(jdbc, caches.getCache("balances")))
+                .setMessageConverters(new TimedJackson2HttpMessageConverter(new ObjectMapper()))
+                .addFilters(filter)
+                .build();
+
+        MvcResult result = mockMvc.perform(get("/timed")).andExpect(status().isOk()).andReturn();
+
+        List<String> entries = Arrays.stream(result.getResponse().getHeader(ServerTimingFilter.HEADER).split(", "))
+                .map(entry -> entry.substring(0, entry.indexOf(';')))
+                .toList();
+        assertEquals(List.of("db", "cache", "json", "total"), entries);
+        assertTrue(result.getResponse().getHeader(ServerTimingFilter.HEADER).contains("desc=\"Cache x2\""));
+        assertEquals(1, registry.get("bank.http.server.timing").tags("component", "json", "uri", "/timed")
+                .timer().count());
+        assertFalse(registry.find("bank.http.server.timing").tag("component", "rights").timers().stream()
+                .anyMatch(timer -> timer.count() > 0));
+    }
+
+    @Test
+    void leavesAResponseCommittedBehindItsBackWithoutHeader() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Committed through the wrapped response, which the filter does not see
+        filter.doFilter(new MockHttpServletRequest("GET", "/timed"), response,
+                (request, wrapped) -> ((HttpServletResponseWrapper) wrapped).getResponse().flushBuffer());
+
+        assertTrue(response.isCommitted());
+        assertNull(response.getHeader(ServerTimingFilter.HEADER));
+    }
+
+    @Test
+    void addsTheHeaderBeforeTheBodyCommitsTheResponse() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/timed"), response, (request, wrapped) -> {
+            wrapped.getWriter().write("{}");
+            wrapped.flushBuffer();
+        });
+
+        assertTrue(response.getHeader(ServerTimingFilter.HEADER).startsWith("total;dur="));
+    }
+
+    /**
+     * Inner rather than nested, so that component scanning skips it when the
+     * application boots with the test classes on its classpath.
+     */
+    @RestController
+    class TimedController {
+
+        private final JdbcTemplate jdbc;
+        private final Cache cache;
+
+        TimedController(JdbcTemplate jdbc, Cache cache) {
+            this.jdbc = jdbc;
+            this.cache = cache;
+        }
+
+        @GetMapping("/timed")
+        Map<String, Object> timed() {
+            Integer balance = cache.get("balance", () -> jdbc.queryForObject("SELECT 42", Integer.class));
+            cache.get("balance", Integer.class);
+            return Map.of("balance", balance);
+        }
+    }
+}
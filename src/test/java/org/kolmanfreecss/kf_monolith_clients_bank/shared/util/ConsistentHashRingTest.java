@@ -0,0 +1,71 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.shared.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ConsistentHashRing}.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 100_000;
+
+    @Test
+    void spreadsKeysEvenlyAcrossNodes() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("shard-0", "shard-1", "shard-2", "shard-3"), 160);
+        Map<String, Integer> counts = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < KEYS; i++) {
+            counts.merge(ring.nodeFor(new UUID(random.nextLong(), random.nextLong())), 1, Integer::sum);
+        }
+        double expected = KEYS / 4.0;
+        counts.values().forEach(count -> assertTrue(Math.abs(count - expected) / expected < 0.15,
+                "unbalanced distribution " + counts));
+    }
+
+    @Test
+    void addingNodeOnlyMovesKeysToTheNewNode() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of("shard-0", "shard-1", "shard-2"), 160);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("shard-0", "shard-1", "shard-2", "shard-3"), 160);
+        Random random = new Random(7);
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            UUID key = new UUID(random.nextLong(), random.nextLong());
+            String owner = after.nodeFor(key);
+            if (!before.nodeFor(key).equals(owner)) {
+                assertEquals("shard-3", owner);
+                moved++;
+            }
+        }
+        double movedRatio = (double) moved / KEYS;
+        assertTrue(movedRatio > 0.18 && movedRatio < 0.32, "moved ratio " + movedRatio);
+    }
+
+    @Test
+    void placementDoesNotDependOnNodeOrder() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("a", "b", "c"), 64);
+        ConsistentHashRing reordered = new ConsistentHashRing(List.of("c", "a", "b"), 64);
+        Random random = new Random(1);
+        for (int i = 0; i < 10_000; i++) {
+            UUID key = new UUID(random.nextLong(), random.nextLong());
+            assertEquals(ring.nodeFor(key), reordered.nodeFor(key));
+        }
+    }
+
+    @Test
+    void rejectsDuplicateNodes() {
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing(List.of("a", "a"), 16));
+    }
+}
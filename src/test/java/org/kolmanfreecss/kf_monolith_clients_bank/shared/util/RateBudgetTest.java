@@ -0,0 +1,48 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.shared.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link RateBudget}, on a simulated clock.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+class RateBudgetTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void makesTheNextCallerWaitForWhatWasSpent() {
+        RateBudget budget = new RateBudget(1_000, Duration.ZERO);
+        long now = System.nanoTime();
+        assertEquals(0, budget.reserve(500, now));
+        // 500 permits take half a second to earn
+        assertEquals(SECOND / 2, budget.reserve(500, now));
+        assertEquals(SECOND, budget.reserve(1, now));
+        // Time passing pays off the debt
+        assertEquals(0, budget.reserve(1, now + 2 * SECOND));
+    }
+
+    @Test
+    void savesUpToTheBurstOfUnusedPermits() {
+        RateBudget budget = new RateBudget(1_000, Duration.ofSeconds(1));
+        long now = System.nanoTime();
+        // Idle for ten seconds, but only one second (1,000 permits) is saved
+        long later = now + 10 * SECOND;
+        assertEquals(0, budget.reserve(1_000, later));
+        assertEquals(0, budget.reserve(1_000, later));
+        assertEquals(SECOND, budget.reserve(1, later));
+    }
+
+    @Test
+    void rejectsANonPositiveRate() {
+        assertThrows(IllegalArgumentException.class, () -> new RateBudget(0, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new RateBudget(10, Duration.ofSeconds(-1)));
+    }
+}
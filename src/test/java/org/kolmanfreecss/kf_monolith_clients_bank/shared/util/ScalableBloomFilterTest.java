@@ -0,0 +1,59 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.shared.util;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ScalableBloomFilter}.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+class ScalableBloomFilterTest {
+
+    @Test
+    void neverReportsAddedValuesAsAbsent() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("DOC-" + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("DOC-" + i));
+        }
+    }
+
+    @Test
+    void keepsFalsePositiveRateBelowTargetWhenGrowingPastInitialCapacity() {
+        double target = 0.01;
+        ScalableBloomFilter filter = new ScalableBloomFilter(1_000, target);
+        for (int i = 0; i < 20_000; i++) {
+            filter.put("DOC-" + i);
+        }
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("OTHER-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue((double) falsePositives / probes <= target,
+                "observed false positive rate " + (double) falsePositives / probes);
+        assertTrue(filter.expectedFalsePositiveProbability() <= target);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        ScalableBloomFilter filter = new ScalableBloomFilter(100, 0.001);
+        assertFalse(filter.mightContain("DOC-1"));
+        assertTrue(filter.memoryBytes() > 0);
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new ScalableBloomFilter(100, 1.0));
+    }
+}
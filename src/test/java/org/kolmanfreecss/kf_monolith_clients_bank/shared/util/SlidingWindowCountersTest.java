@@ -0,0 +1,127 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.shared.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link SlidingWindowCounters}, on a manual clock.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+class SlidingWindowCountersTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+    private static final long UNLIMITED = Long.MAX_VALUE;
+
+    private final AtomicLong clock = new AtomicLong();
+    // One minute in 6 buckets of 10 s, one hour in 6 buckets of 10 min
+    private final SlidingWindowCounters<String> counters = new SlidingWindowCounters<>(List.of(
+            new SlidingWindowCounters.Window(Duration.ofMinutes(1), 6),
+            new SlidingWindowCounters.Window(Duration.ofHours(1), 6)), clock::get);
+
+    @Test
+    void rejectsEventsOverTheCountOfAWindowWithoutCountingThem() {
+        long[] maxCounts = { 3, UNLIMITED };
+        long[] maxWeights = { UNLIMITED, UNLIMITED };
+        for (int i = 0; i < 3; i++) {
+            assertEquals(-1, counters.tryAcquire("a", counters.now(), 100, maxCounts, maxWeights));
+        }
+        assertEquals(0, counters.tryAcquire("a", counters.now(), 100, maxCounts, maxWeights));
+        assertEquals(3, counters.count("a", 0));
+        assertEquals(3, counters.count("a", 1));
+        assertEquals(300, counters.weight("a", 1));
+        // Other keys are counted on their own
+        assertEquals(-1, counters.tryAcquire("b", counters.now(), 100, maxCounts, maxWeights));
+    }
+
+    @Test
+    void slidesOutOldBucketsOnly() {
+        long[] maxCounts = { UNLIMITED, UNLIMITED };
+        long[] maxWeights = { 1_000, 1_500 };
+        assertEquals(-1, counters.tryAcquire("a", counters.now(), 600, maxCounts, maxWeights));
+        clock.addAndGet(30 * SECOND);
+        assertEquals(-1, counters.tryAcquire("a", counters.now(), 400, maxCounts, maxWeights));
+        // 1,000 within the minute
+        assertEquals(0, counters.tryAcquire("a", counters.now(), 1, maxCounts, maxWeights));
+
+        clock.addAndGet(30 * SECOND);
+        // The first bucket left the minute, but not the hour
+        assertEquals(400, counters.weight("a", 0));
+        assertEquals(1, counters.tryAcquire("a", counters.now(), 501, maxCounts, maxWeights));
+        assertEquals(-1, counters.tryAcquire("a", counters.now(), 500, maxCounts, maxWeights));
+
+        clock.addAndGet(Duration.ofHours(1).toNanos());
+        assertEquals(0, counters.weight("a", 1));
+        assertEquals(-1, counters.tryAcquire("a", counters.now(), 1_000, maxCounts, maxWeights));
+    }
+
+    @Test
+    void releasesAcquiredEvents() {
+        long[] maxCounts = { 1, UNLIMITED };
+        long[] maxWeights = { UNLIMITED, UNLIMITED };
+        long now = counters.now();
+        assertEquals(-1, counters.tryAcquire("a", now, 250, maxCounts, maxWeights));
+        counters.release("a", now, 250);
+        assertEquals(0, counters.count("a", 0));
+        assertEquals(0, counters.weight("a", 1));
+        assertEquals(-1, counters.tryAcquire("a", counters.now(), 250, maxCounts, maxWeights));
+    }
+
+    @Test
+    void evictsKeysIdleForTheLongestWindow() {
+        long[] unlimited = { UNLIMITED, UNLIMITED };
+        counters.tryAcquire("idle", counters.now(), 1, unlimited, unlimited);
+        clock.addAndGet(Duration.ofMinutes(30).toNanos());
+        counters.tryAcquire("active", counters.now(), 1, unlimited, unlimited);
+
+        assertEquals(0, counters.evictIdle());
+        clock.addAndGet(Duration.ofMinutes(30).toNanos());
+        assertEquals(1, counters.evictIdle());
+        assertEquals(1, counters.size());
+        assertEquals(1, counters.count("active", 1));
+    }
+
+    @Test
+    void neverLetsConcurrentEventsPastTheLimit() throws InterruptedException {
+        long[] maxCounts = { 1_000, UNLIMITED };
+        long[] maxWeights = { UNLIMITED, 50_000 };
+        int threads = 16;
+        AtomicInteger acquired = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < 1_000; i++) {
+                    if (counters.tryAcquire("hot", counters.now(), 10, maxCounts, maxWeights) < 0) {
+                        acquired.incrementAndGet();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+
+        // The count limit of the minute binds before the weight limit of the hour, 50,000 / 10
+        assertEquals(1_000, counters.count("hot", 0));
+        assertEquals(acquired.get(), counters.count("hot", 0));
+        assertEquals(acquired.get() * 10L, counters.weight("hot", 1));
+    }
+}
@@ -0,0 +1,93 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.shared.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link StripedLocks}.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+class StripedLocksTest {
+
+    private static final int ROUNDS = 20_000;
+
+    private final StripedLocks locks = new StripedLocks(16);
+
+    @Test
+    void roundsStripesUpToAPowerOfTwo() {
+        assertEquals(16, locks.stripes());
+        assertEquals(1, new StripedLocks(1).stripes());
+        assertEquals(8, new StripedLocks(5).stripes());
+    }
+
+    @Test
+    void oppositeTransfersDoNotDeadlock() {
+        // Two keys on different stripes, locked A then B by one thread and B then A by the other
+        Integer a = 1;
+        Integer b = 2;
+        assertNotEquals(locks.stripeFor(a), locks.stripeFor(b));
+        long[] balances = new long[2];
+
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            CountDownLatch start = new CountDownLatch(1);
+            CompletableFuture<Void> aToB = CompletableFuture.runAsync(() -> transfer(start, a, b, balances, 0, 1));
+            CompletableFuture<Void> bToA = CompletableFuture.runAsync(() -> transfer(start, b, a, balances, 1, 0));
+            start.countDown();
+            CompletableFuture.allOf(aToB, bToA).join();
+        });
+        // Every move happened under both stripes, so none was lost
+        assertEquals(0, balances[0]);
+        assertEquals(0, balances[1]);
+    }
+
+    @Test
+    void keyListsInAnyOrderDoNotDeadlock() {
+        List<Integer> forward = List.of(1, 2, 3);
+        List<Integer> backward = List.of(3, 2, 1);
+        int[] counter = new int[1];
+
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            CompletableFuture<Void> first = CompletableFuture.runAsync(() -> increment(forward, counter));
+            CompletableFuture<Void> second = CompletableFuture.runAsync(() -> increment(backward, counter));
+            CompletableFuture.allOf(first, second).join();
+        });
+        assertEquals(2 * ROUNDS, counter[0]);
+    }
+
+    private void transfer(CountDownLatch start, Integer from, Integer to, long[] balances, int debited,
+            int credited) {
+        await(start);
+        for (int i = 0; i < ROUNDS; i++) {
+            locks.withLocks(from, to, () -> {
+                balances[debited]--;
+                Thread.yield();
+                balances[credited]++;
+                return null;
+            });
+        }
+    }
+
+    private void increment(List<Integer> keys, int[] counter) {
+        for (int i = 0; i < ROUNDS; i++) {
+            locks.withLocks(keys, () -> counter[0]++);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.kolmanfreecss.kf_monolith_clients_bank.shared.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link TimingWheel}.
+ *
+ * @author Kolman-Freecss (@https://github.com/Kolman-Freecss)
+ * @version 1.0.0
+ */
+class TimingWheelTest {
+
+    // 8 slots of 100 ms: one revolution every 800 ms
+    private final TimingWheel<String> wheel = new TimingWheel<>(Duration.ofMillis(100), 8, 0);
+
+    @Test
+    void expiresItemsOnTheTickOfTheirDeadline() {
+        wheel.schedule("a", 250);
+        wheel.schedule("b", 300);
+
+        assertEquals(List.of(), wheel.advance(299));
+        assertEquals(List.of("a", "b"), wheel.advance(300).stream().sorted().toList());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void keepsItemsDueInLaterRevolutions() {
+        wheel.schedule("later", 1_000);
+        wheel.schedule("soon", 200);
+
+        assertEquals(List.of("soon"), wheel.advance(900));
+        assertEquals(List.of(), wheel.advance(999));
+        assertEquals(List.of("later"), wheel.advance(1_000));
+    }
+
+    @Test
+    void visitsEverySlotOnceAfterALongPause() {
+        for (int i = 1; i <= 20; i++) {
+            wheel.schedule("item-" + i, i * 100L);
+        }
+        wheel.schedule("after", 50_000);
+
+        assertEquals(20, wheel.advance(10_000).size());
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void cancelsItemsOnce() {
+        TimingWheel.Timeout<String> cancelled = wheel.schedule("cancelled", 100);
+        wheel.schedule("kept", 100);
+
+        assertTrue(wheel.cancel(cancelled));
+        assertFalse(wheel.cancel(cancelled));
+        assertEquals(List.of("kept"), wheel.advance(100));
+    }
+
+    @Test
+    void expiresPastDeadlinesOnTheNextTick() {
+        wheel.advance(500);
+        TimingWheel.Timeout<String> late = wheel.schedule("late", 100);
+
+        assertEquals(List.of("late"), wheel.advance(600));
+        assertFalse(wheel.cancel(late));
+    }
+}